@@ -0,0 +1,291 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceStatus;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Compares {@link ExperienceAttributes} with the per-DAO mapping it replaced.
+ *
+ * <p>{@link #legacyRead} and {@link #legacyWrite} reproduce the old {@code
+ * ExperienceDao.fromAttributeMap}/{@code toAttributeMap}: a containsKey + get pair per attribute,
+ * the JDK date/time parsers and a default-sized HashMap. Run with {@code mvn -pl yas-core
+ * -Pbenchmarks -DskipTests integration-test -Djmh.args="ExperienceAttributes -prof gc"} to see the
+ * bytes allocated per item next to the time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExperienceAttributesBenchmark {
+
+  private Experience experience;
+  private Map<String, AttributeValue> item;
+
+  @Setup
+  public void setUp() {
+    experience = new Experience();
+    experience.setExperienceId("0f8fad5b-d9cb-469f-a165-70867728950e");
+    experience.setCreatedBy("user-1");
+    experience.setTitle("Jazz night at the riverside");
+    experience.setDescription("Live quartet, two sets");
+    experience.setType(ExperienceType.EVENT);
+    experience.setStatus(ExperienceStatus.PUBLISHED);
+    experience.setAddress("1 Riverside Walk");
+    experience.setCity("London");
+    experience.setCountry("GB");
+    experience.setLatitude(51.5072);
+    experience.setLongitude(-0.1276);
+    experience.setVenueId("venue-1");
+    experience.setVenueName("Riverside Hall");
+    experience.setExperienceDate(LocalDate.of(2025, 6, 1));
+    experience.setStartTime(LocalTime.of(19, 30));
+    experience.setEndTime(LocalTime.of(22, 0));
+    experience.setPricePerPerson(new BigDecimal("25.50"));
+    experience.setMaxCapacity(120);
+    experience.setTags(List.of("music", "jazz", "live"));
+    experience.setCreatedAt(Instant.parse("2025-01-10T09:15:30.123Z"));
+    experience.setUpdatedAt(Instant.parse("2025-02-11T10:16:31.456Z"));
+    item = codecWrite();
+  }
+
+  @Benchmark
+  public Experience codecRead() {
+    Experience read = ExperienceAttributes.read(item);
+    read.setExperienceId(AttributeValues.getString(item, "experienceId"));
+    read.setCreatedAt(AttributeValues.getInstant(item, "createdAt"));
+    return read;
+  }
+
+  @Benchmark
+  public Experience legacyRead() {
+    Experience experience = new Experience();
+    if (item.containsKey("experienceId")) {
+      experience.setExperienceId(item.get("experienceId").s());
+    }
+    if (item.containsKey("createdBy")) {
+      experience.setCreatedBy(item.get("createdBy").s());
+    }
+    if (item.containsKey("title")) {
+      experience.setTitle(item.get("title").s());
+    }
+    if (item.containsKey("description")) {
+      experience.setDescription(item.get("description").s());
+    }
+    if (item.containsKey("type")) {
+      experience.setType(ExperienceType.fromValue(item.get("type").s()));
+    }
+    if (item.containsKey("status")) {
+      experience.setStatus(ExperienceStatus.fromValue(item.get("status").s()));
+    }
+    if (item.containsKey("location")) {
+      experience.setLocation(item.get("location").s());
+    }
+    if (item.containsKey("address")) {
+      experience.setAddress(item.get("address").s());
+    }
+    if (item.containsKey("city")) {
+      experience.setCity(item.get("city").s());
+    }
+    if (item.containsKey("country")) {
+      experience.setCountry(item.get("country").s());
+    }
+    if (item.containsKey("latitude")) {
+      experience.setLatitude(Double.parseDouble(item.get("latitude").n()));
+    }
+    if (item.containsKey("longitude")) {
+      experience.setLongitude(Double.parseDouble(item.get("longitude").n()));
+    }
+    if (item.containsKey("venueId")) {
+      experience.setVenueId(item.get("venueId").s());
+    }
+    if (item.containsKey("venueName")) {
+      experience.setVenueName(item.get("venueName").s());
+    }
+    if (item.containsKey("experienceDate")) {
+      experience.setExperienceDate(LocalDate.parse(item.get("experienceDate").s()));
+    }
+    if (item.containsKey("startTime")) {
+      experience.setStartTime(LocalTime.parse(item.get("startTime").s()));
+    }
+    if (item.containsKey("endTime")) {
+      experience.setEndTime(LocalTime.parse(item.get("endTime").s()));
+    }
+    if (item.containsKey("pricePerPerson")) {
+      experience.setPricePerPerson(new BigDecimal(item.get("pricePerPerson").n()));
+    }
+    if (item.containsKey("currency")) {
+      experience.setCurrency(item.get("currency").s());
+    }
+    if (item.containsKey("maxCapacity")) {
+      experience.setMaxCapacity(Integer.parseInt(item.get("maxCapacity").n()));
+    }
+    if (item.containsKey("currentBookings")) {
+      experience.setCurrentBookings(Integer.parseInt(item.get("currentBookings").n()));
+    }
+    if (item.containsKey("interestCount")) {
+      experience.setInterestCount(Integer.parseInt(item.get("interestCount").n()));
+    }
+    if (item.containsKey("tags")) {
+      experience.setTags(new ArrayList<>(item.get("tags").ss()));
+    }
+    if (item.containsKey("images")) {
+      experience.setImages(new ArrayList<>(item.get("images").ss()));
+    }
+    if (item.containsKey("contactInfo")) {
+      experience.setContactInfo(item.get("contactInfo").s());
+    }
+    if (item.containsKey("requirements")) {
+      experience.setRequirements(item.get("requirements").s());
+    }
+    if (item.containsKey("cancellationPolicy")) {
+      experience.setCancellationPolicy(item.get("cancellationPolicy").s());
+    }
+    if (item.containsKey("averageRating")) {
+      experience.setAverageRating(Double.parseDouble(item.get("averageRating").n()));
+    }
+    if (item.containsKey("totalReviews")) {
+      experience.setTotalReviews(Integer.parseInt(item.get("totalReviews").n()));
+    }
+    if (item.containsKey("createdAt")) {
+      experience.setCreatedAt(Instant.parse(item.get("createdAt").s()));
+    }
+    if (item.containsKey("updatedAt")) {
+      experience.setUpdatedAt(Instant.parse(item.get("updatedAt").s()));
+    }
+    return experience;
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> codecWrite() {
+    Map<String, AttributeValue> written =
+        AttributeValues.newItem(ExperienceAttributes.ATTRIBUTE_COUNT + 2);
+    written.put("experienceId", AttributeValue.fromS(experience.getExperienceId()));
+    written.put("createdAt", AttributeValue.fromS(experience.getCreatedAt().toString()));
+    ExperienceAttributes.write(experience, written);
+    return written;
+  }
+
+  @Benchmark
+  public Map<String, AttributeValue> legacyWrite() {
+    Map<String, AttributeValue> written = new HashMap<>();
+    written.put("experienceId", AttributeValue.builder().s(experience.getExperienceId()).build());
+    written.put(
+        "createdAt", AttributeValue.builder().s(experience.getCreatedAt().toString()).build());
+    if (experience.getCreatedBy() != null) {
+      written.put("createdBy", AttributeValue.builder().s(experience.getCreatedBy()).build());
+    }
+    if (experience.getTitle() != null) {
+      written.put("title", AttributeValue.builder().s(experience.getTitle()).build());
+    }
+    if (experience.getDescription() != null) {
+      written.put("description", AttributeValue.builder().s(experience.getDescription()).build());
+    }
+    if (experience.getType() != null) {
+      written.put("type", AttributeValue.builder().s(experience.getType().getValue()).build());
+    }
+    if (experience.getStatus() != null) {
+      written.put("status", AttributeValue.builder().s(experience.getStatus().getValue()).build());
+    }
+    if (experience.getAddress() != null) {
+      written.put("address", AttributeValue.builder().s(experience.getAddress()).build());
+    }
+    if (experience.getCity() != null) {
+      written.put("city", AttributeValue.builder().s(experience.getCity()).build());
+    }
+    if (experience.getCountry() != null) {
+      written.put("country", AttributeValue.builder().s(experience.getCountry()).build());
+    }
+    if (experience.getLatitude() != null) {
+      written.put(
+          "latitude", AttributeValue.builder().n(experience.getLatitude().toString()).build());
+    }
+    if (experience.getLongitude() != null) {
+      written.put(
+          "longitude", AttributeValue.builder().n(experience.getLongitude().toString()).build());
+    }
+    if (experience.getExperienceDate() != null) {
+      written.put(
+          "experienceDate",
+          AttributeValue.builder().s(experience.getExperienceDate().toString()).build());
+    }
+    if (experience.getStartTime() != null) {
+      written.put(
+          "startTime", AttributeValue.builder().s(experience.getStartTime().toString()).build());
+    }
+    if (experience.getEndTime() != null) {
+      written.put(
+          "endTime", AttributeValue.builder().s(experience.getEndTime().toString()).build());
+    }
+    if (experience.getPricePerPerson() != null) {
+      written.put(
+          "pricePerPerson",
+          AttributeValue.builder().n(experience.getPricePerPerson().toString()).build());
+    }
+    if (experience.getCurrency() != null) {
+      written.put("currency", AttributeValue.builder().s(experience.getCurrency()).build());
+    }
+    if (experience.getMaxCapacity() != null) {
+      written.put(
+          "maxCapacity",
+          AttributeValue.builder().n(experience.getMaxCapacity().toString()).build());
+    }
+    if (experience.getCurrentBookings() != null) {
+      written.put(
+          "currentBookings",
+          AttributeValue.builder().n(experience.getCurrentBookings().toString()).build());
+    }
+    if (experience.getInterestCount() != null) {
+      written.put(
+          "interestCount",
+          AttributeValue.builder().n(experience.getInterestCount().toString()).build());
+    }
+    if (experience.getTags() != null && !experience.getTags().isEmpty()) {
+      written.put(
+          "tags", AttributeValue.builder().ss(experience.getTags().toArray(new String[0])).build());
+    }
+    if (experience.getAverageRating() != null) {
+      written.put(
+          "averageRating",
+          AttributeValue.builder().n(experience.getAverageRating().toString()).build());
+    }
+    if (experience.getTotalReviews() != null) {
+      written.put(
+          "totalReviews",
+          AttributeValue.builder().n(experience.getTotalReviews().toString()).build());
+    }
+    if (experience.getUpdatedAt() != null) {
+      written.put(
+          "updatedAt", AttributeValue.builder().s(experience.getUpdatedAt().toString()).build());
+    }
+    if (experience.getVenueId() != null) {
+      written.put("venueId", AttributeValue.builder().s(experience.getVenueId()).build());
+    }
+    if (experience.getVenueName() != null) {
+      written.put("venueName", AttributeValue.builder().s(experience.getVenueName()).build());
+    }
+    return written;
+  }
+}
@@ -0,0 +1,183 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the route trie of the Lambda handler with the if/else chain it replaced.
+ *
+ * <p>Only the dispatch decision is measured: both sides resolve a path to a route number and its
+ * path variables. {@link #legacyChain} reproduces the string checks of the old {@code
+ * ApiGatewayHandler.routeRequest} in their original order. Run with {@code mvn -Pbenchmarks
+ * -DskipTests integration-test} (add {@code -Djmh.args="-prof gc"} to see allocation rates).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathRouterBenchmark {
+
+  private static final int NOT_FOUND = 0;
+
+  private static final PathRouter<Integer> ROUTER =
+      PathRouter.<Integer>builder()
+          .route("GET", "/health", 1)
+          .route("GET", "/api/auth/me", 2)
+          .route("GET", "/api/auth/status", 3)
+          .route("GET", "/users/profile", 4)
+          .route("PUT", "/users/profile", 5)
+          .route("GET", "/users/profile/{userId}", 6)
+          .route("GET", "/users", 7)
+          .route("GET", "/groups", 8)
+          .route("GET", "/groups/{groupId}", 9)
+          .route("PUT", "/groups/{groupId}", 10)
+          .route("GET", "/experiences", 11)
+          .route("PUT", "/experiences", 12)
+          .route("GET", "/experiences/{experienceId}", 13)
+          .route("PUT", "/experiences/{experienceId}", 14)
+          .route("GET", "/experiences/{experienceId}/interested-users", 15)
+          .route("GET", "/experiences/{experienceId}/attended-users", 16)
+          .route("PUT", "/users/{userId}/experiences/{experienceId}/interest", 17)
+          .route("PUT", "/users/{userId}/experiences/{experienceId}/payment", 18)
+          .build();
+
+  @Param({
+    "GET /health",
+    "GET /groups/group-1",
+    "GET /experiences/exp-1/attended-users",
+    "PUT /users/user-1/experiences/exp-1/payment",
+    "GET /unknown/path"
+  })
+  public String request;
+
+  private String method;
+  private String path;
+  private PathRouter.Match match;
+
+  @Setup
+  public void setUp() {
+    int space = request.indexOf(' ');
+    method = request.substring(0, space);
+    path = request.substring(space + 1);
+    match = ROUTER.newMatch();
+  }
+
+  @Benchmark
+  public int trie() {
+    Integer route = ROUTER.match(method, path, match);
+    return route != null ? route : NOT_FOUND;
+  }
+
+  @Benchmark
+  public String trieWithVariable() {
+    ROUTER.match(method, path, match);
+    return match.variable("experienceId");
+  }
+
+  @Benchmark
+  public int legacyChain() {
+    return legacyRoute(method, path);
+  }
+
+  /** The dispatch decisions of the previous routeRequest, with the handler calls stubbed out. */
+  private static int legacyRoute(String httpMethod, String normalizedPath) {
+    if (normalizedPath.equals("/health") && "GET".equals(httpMethod)) {
+      return 1;
+    }
+    if (normalizedPath.startsWith("/api")) {
+      if ("/api/auth/me".equals(normalizedPath) && "GET".equals(httpMethod)) {
+        return 2;
+      }
+      if ("/api/auth/status".equals(normalizedPath) && "GET".equals(httpMethod)) {
+        return 3;
+      }
+    }
+    if (normalizedPath.startsWith("/users")) {
+      if ("/users/profile".equals(normalizedPath)) {
+        if ("GET".equals(httpMethod)) {
+          return 4;
+        } else if ("PUT".equals(httpMethod)) {
+          return 5;
+        }
+      }
+      if (normalizedPath.startsWith("/users/profile/") && "GET".equals(httpMethod)) {
+        return normalizedPath.substring("/users/profile/".length()).isBlank() ? NOT_FOUND : 6;
+      }
+      if ("/users".equals(normalizedPath) && "GET".equals(httpMethod)) {
+        return 7;
+      }
+    }
+    if (normalizedPath.startsWith("/groups")) {
+      if (normalizedPath.matches("/groups/[^/]+") && "GET".equals(httpMethod)) {
+        return normalizedPath.substring("/groups/".length()).isEmpty() ? NOT_FOUND : 9;
+      }
+      if ("/groups".equals(normalizedPath) && "GET".equals(httpMethod)) {
+        return 8;
+      }
+      if (normalizedPath.matches("/groups/[^/]+") && "PUT".equals(httpMethod)) {
+        return normalizedPath.substring("/groups/".length()).isEmpty() ? NOT_FOUND : 10;
+      }
+    }
+    if (normalizedPath.startsWith("/experiences")) {
+      if (normalizedPath.contains("/interested-users") && "GET".equals(httpMethod)) {
+        String pathWithSuffix = normalizedPath.substring("/experiences/".length());
+        int index = pathWithSuffix.indexOf("/interested-users");
+        if (index > 0 && !pathWithSuffix.substring(0, index).isBlank()) {
+          return 15;
+        }
+      }
+      if (normalizedPath.contains("/attended-users") && "GET".equals(httpMethod)) {
+        String pathWithSuffix = normalizedPath.substring("/experiences/".length());
+        int index = pathWithSuffix.indexOf("/attended-users");
+        if (index > 0 && !pathWithSuffix.substring(0, index).isBlank()) {
+          return 16;
+        }
+      }
+      if (normalizedPath.startsWith("/experiences/") && "GET".equals(httpMethod)) {
+        String pathAfterExperiences = normalizedPath.substring("/experiences/".length());
+        String experienceId =
+            pathAfterExperiences.endsWith("/")
+                ? pathAfterExperiences.substring(0, pathAfterExperiences.length() - 1)
+                : pathAfterExperiences;
+        if (!experienceId.isBlank() && !experienceId.contains("/")) {
+          return 13;
+        }
+      }
+      if ("/experiences".equals(normalizedPath) && "GET".equals(httpMethod)) {
+        return 11;
+      }
+      if (normalizedPath.startsWith("/experiences") && "PUT".equals(httpMethod)) {
+        return normalizedPath.equals("/experiences") || normalizedPath.equals("/experiences/")
+            ? 12
+            : 14;
+      }
+    }
+    if (normalizedPath.startsWith("/users/")
+        && normalizedPath.contains("/experiences/")
+        && normalizedPath.endsWith("/interest")
+        && "PUT".equals(httpMethod)) {
+      String[] pathParts = normalizedPath.split("/");
+      return pathParts.length >= 5 ? 17 : NOT_FOUND;
+    }
+    if (normalizedPath.startsWith("/users/")
+        && normalizedPath.contains("/experiences/")
+        && normalizedPath.endsWith("/payment")
+        && "PUT".equals(httpMethod)) {
+      String[] pathParts = normalizedPath.split("/");
+      return pathParts.length >= 5 ? 18 : NOT_FOUND;
+    }
+    return NOT_FOUND;
+  }
+}
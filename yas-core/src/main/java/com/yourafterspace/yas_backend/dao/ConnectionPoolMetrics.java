@@ -0,0 +1,134 @@
+package com.yourafterspace.yas_backend.dao;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * Follows the connection pool of a DynamoDB client from the HTTP metrics the SDK reports with each
+ * call attempt.
+ *
+ * <p>Keeps the pool state seen by the latest attempt (leased, available and maximum connections,
+ * callers waiting for one), the peaks since creation, and the count and total time of connection
+ * acquisitions. Clients without a pool (the URL connection client) report none of these, so all
+ * values stay 0. Thread safe; the SDK publishes from the calling threads.
+ */
+public final class ConnectionPoolMetrics implements MetricPublisher {
+
+  private final AtomicLong maxConnections = new AtomicLong();
+  private final AtomicLong leased = new AtomicLong();
+  private final AtomicLong available = new AtomicLong();
+  private final AtomicLong pending = new AtomicLong();
+  private final LongAccumulator peakLeased = new LongAccumulator(Math::max, 0);
+  private final LongAccumulator peakPending = new LongAccumulator(Math::max, 0);
+  private final LongAdder acquireCount = new LongAdder();
+  private final LongAdder acquireNanos = new LongAdder();
+
+  @Override
+  public void publish(MetricCollection metrics) {
+    record(metrics);
+  }
+
+  private void record(MetricCollection metrics) {
+    Integer max = last(metrics, HttpMetric.MAX_CONCURRENCY);
+    if (max != null) {
+      maxConnections.set(max);
+    }
+    Integer leasedNow = last(metrics, HttpMetric.LEASED_CONCURRENCY);
+    if (leasedNow != null) {
+      leased.set(leasedNow);
+      peakLeased.accumulate(leasedNow);
+    }
+    Integer availableNow = last(metrics, HttpMetric.AVAILABLE_CONCURRENCY);
+    if (availableNow != null) {
+      available.set(availableNow);
+    }
+    Integer pendingNow = last(metrics, HttpMetric.PENDING_CONCURRENCY_ACQUIRES);
+    if (pendingNow != null) {
+      pending.set(pendingNow);
+      peakPending.accumulate(pendingNow);
+    }
+    for (Duration duration : metrics.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION)) {
+      acquireCount.increment();
+      acquireNanos.add(duration.toNanos());
+    }
+    // The HTTP metrics are reported by the children (attempts) of the call collection
+    for (MetricCollection child : metrics.children()) {
+      record(child);
+    }
+  }
+
+  private static <T> T last(MetricCollection metrics, SdkMetric<T> metric) {
+    T value = null;
+    for (T each : metrics.metricValues(metric)) {
+      value = each;
+    }
+    return value;
+  }
+
+  @Override
+  public void close() {
+    // Nothing to release
+  }
+
+  /** Pool size reported by the HTTP client. */
+  public long getMaxConnections() {
+    return maxConnections.get();
+  }
+
+  public long getLeased() {
+    return leased.get();
+  }
+
+  public long getAvailable() {
+    return available.get();
+  }
+
+  /** Callers waiting for a connection of the exhausted pool. */
+  public long getPending() {
+    return pending.get();
+  }
+
+  public long getPeakLeased() {
+    return peakLeased.get();
+  }
+
+  public long getPeakPending() {
+    return peakPending.get();
+  }
+
+  public long getAcquireCount() {
+    return acquireCount.sum();
+  }
+
+  /** Total time spent acquiring connections, in nanoseconds. */
+  public long getAcquireNanos() {
+    return acquireNanos.sum();
+  }
+
+  @Override
+  public String toString() {
+    long count = getAcquireCount();
+    return "max="
+        + getMaxConnections()
+        + ", leased="
+        + getLeased()
+        + ", available="
+        + getAvailable()
+        + ", pending="
+        + getPending()
+        + ", peakLeased="
+        + getPeakLeased()
+        + ", peakPending="
+        + getPeakPending()
+        + ", acquires="
+        + count
+        + ", meanAcquireMicros="
+        + (count > 0 ? getAcquireNanos() / count / 1_000 : 0);
+  }
+}
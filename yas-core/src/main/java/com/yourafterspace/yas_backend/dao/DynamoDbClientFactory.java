@@ -0,0 +1,289 @@
+package com.yourafterspace.yas_backend.dao;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+
+/**
+ * Builds the DynamoDB clients of the Spring application and the Lambda handler from one set of
+ * HTTP, timeout and retry settings.
+ *
+ * <p>Settings left unset keep the SDK defaults. The connection pool settings apply to the Apache
+ * client and to the Netty client of {@link #createAsyncClient}; the URL connection client has no
+ * pool of its own (it relies on the JDK keep-alive cache) and starts faster, which suits a Lambda
+ * function that makes few calls per invocation. Pass a {@link ConnectionPoolMetrics} to a create
+ * method to follow the utilisation of the pool.
+ */
+public final class DynamoDbClientFactory {
+
+  /** HTTP client implementation of the synchronous client */
+  public enum HttpClientType {
+    APACHE,
+    URL_CONNECTION;
+
+    /**
+     * Parse a configured client type, e.g. "apache" or "url-connection".
+     *
+     * @throws IllegalArgumentException If the value names no client type
+     */
+    public static HttpClientType parse(String value) {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+  }
+
+  private final Region region;
+  private final AwsCredentialsProvider credentialsProvider;
+  private final HttpClientType httpClientType;
+  private final Integer maxConnections;
+  private final Duration connectionTimeout;
+  private final Duration connectionAcquisitionTimeout;
+  private final Duration connectionTimeToLive;
+  private final Duration connectionMaxIdleTime;
+  private final Duration apiCallTimeout;
+  private final Duration apiCallAttemptTimeout;
+  private final RetryMode retryMode;
+  private final URI endpointOverride;
+
+  private DynamoDbClientFactory(Builder builder) {
+    this.region = builder.region;
+    this.credentialsProvider =
+        builder.credentialsProvider != null
+            ? builder.credentialsProvider
+            : DefaultCredentialsProvider.create();
+    this.httpClientType = builder.httpClientType;
+    this.maxConnections = builder.maxConnections;
+    this.connectionTimeout = builder.connectionTimeout;
+    this.connectionAcquisitionTimeout = builder.connectionAcquisitionTimeout;
+    this.connectionTimeToLive = builder.connectionTimeToLive;
+    this.connectionMaxIdleTime = builder.connectionMaxIdleTime;
+    this.apiCallTimeout = builder.apiCallTimeout;
+    this.apiCallAttemptTimeout = builder.apiCallAttemptTimeout;
+    this.retryMode = builder.retryMode;
+    this.endpointOverride = builder.endpointOverride;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public DynamoDbClient createClient() {
+    return createClient(null);
+  }
+
+  /**
+   * Build a synchronous client.
+   *
+   * @param metricPublisher Receives the metrics of every call (e.g. {@link ConnectionPoolMetrics}),
+   *     or null
+   */
+  public DynamoDbClient createClient(MetricPublisher metricPublisher) {
+    DynamoDbClientBuilder client =
+        DynamoDbClient.builder()
+            .region(region)
+            .credentialsProvider(credentialsProvider)
+            .httpClient(createHttpClient())
+            .overrideConfiguration(overrideConfiguration(metricPublisher));
+    if (endpointOverride != null) {
+      client.endpointOverride(endpointOverride);
+    }
+    return client.build();
+  }
+
+  public DynamoDbAsyncClient createAsyncClient() {
+    return createAsyncClient(null);
+  }
+
+  /**
+   * Build an asynchronous client on the Netty client, whatever the {@link HttpClientType}.
+   *
+   * @param metricPublisher Receives the metrics of every call, or null
+   */
+  public DynamoDbAsyncClient createAsyncClient(MetricPublisher metricPublisher) {
+    DynamoDbAsyncClientBuilder client =
+        DynamoDbAsyncClient.builder()
+            .region(region)
+            .credentialsProvider(credentialsProvider)
+            .httpClient(createAsyncHttpClient())
+            .overrideConfiguration(overrideConfiguration(metricPublisher));
+    if (endpointOverride != null) {
+      client.endpointOverride(endpointOverride);
+    }
+    return client.build();
+  }
+
+  private SdkHttpClient createHttpClient() {
+    if (httpClientType == HttpClientType.URL_CONNECTION) {
+      UrlConnectionHttpClient.Builder http = UrlConnectionHttpClient.builder();
+      if (connectionTimeout != null) {
+        http.connectionTimeout(connectionTimeout);
+      }
+      return http.build();
+    }
+    ApacheHttpClient.Builder http = ApacheHttpClient.builder();
+    if (maxConnections != null) {
+      http.maxConnections(maxConnections);
+    }
+    if (connectionTimeout != null) {
+      http.connectionTimeout(connectionTimeout);
+    }
+    if (connectionAcquisitionTimeout != null) {
+      http.connectionAcquisitionTimeout(connectionAcquisitionTimeout);
+    }
+    if (connectionTimeToLive != null) {
+      http.connectionTimeToLive(connectionTimeToLive);
+    }
+    if (connectionMaxIdleTime != null) {
+      http.connectionMaxIdleTime(connectionMaxIdleTime);
+    }
+    return http.build();
+  }
+
+  private SdkAsyncHttpClient createAsyncHttpClient() {
+    NettyNioAsyncHttpClient.Builder http = NettyNioAsyncHttpClient.builder();
+    if (maxConnections != null) {
+      http.maxConcurrency(maxConnections);
+    }
+    if (connectionTimeout != null) {
+      http.connectionTimeout(connectionTimeout);
+    }
+    if (connectionAcquisitionTimeout != null) {
+      http.connectionAcquisitionTimeout(connectionAcquisitionTimeout);
+    }
+    if (connectionTimeToLive != null) {
+      http.connectionTimeToLive(connectionTimeToLive);
+    }
+    if (connectionMaxIdleTime != null) {
+      http.connectionMaxIdleTime(connectionMaxIdleTime);
+    }
+    return http.build();
+  }
+
+  private ClientOverrideConfiguration overrideConfiguration(MetricPublisher metricPublisher) {
+    ClientOverrideConfiguration.Builder config = ClientOverrideConfiguration.builder();
+    if (apiCallTimeout != null) {
+      config.apiCallTimeout(apiCallTimeout);
+    }
+    if (apiCallAttemptTimeout != null) {
+      config.apiCallAttemptTimeout(apiCallAttemptTimeout);
+    }
+    if (retryMode != null) {
+      config.retryPolicy(retryMode);
+    }
+    if (metricPublisher != null) {
+      config.addMetricPublisher(metricPublisher);
+    }
+    return config.build();
+  }
+
+  /** Settings of a {@link DynamoDbClientFactory}; a null value keeps the SDK default. */
+  public static final class Builder {
+
+    private Region region;
+    private AwsCredentialsProvider credentialsProvider;
+    private HttpClientType httpClientType = HttpClientType.APACHE;
+    private Integer maxConnections;
+    private Duration connectionTimeout;
+    private Duration connectionAcquisitionTimeout;
+    private Duration connectionTimeToLive;
+    private Duration connectionMaxIdleTime;
+    private Duration apiCallTimeout;
+    private Duration apiCallAttemptTimeout;
+    private RetryMode retryMode;
+    private URI endpointOverride;
+
+    private Builder() {}
+
+    public Builder region(Region region) {
+      this.region = region;
+      return this;
+    }
+
+    /** Credentials of the clients; the default provider chain when unset. */
+    public Builder credentialsProvider(AwsCredentialsProvider credentialsProvider) {
+      this.credentialsProvider = credentialsProvider;
+      return this;
+    }
+
+    public Builder httpClientType(HttpClientType httpClientType) {
+      this.httpClientType = httpClientType != null ? httpClientType : HttpClientType.APACHE;
+      return this;
+    }
+
+    /** Size of the connection pool (maximum concurrency of the async client). */
+    public Builder maxConnections(Integer maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    public Builder connectionTimeout(Duration connectionTimeout) {
+      this.connectionTimeout = connectionTimeout;
+      return this;
+    }
+
+    /** How long a call waits for a connection of an exhausted pool. */
+    public Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+      this.connectionAcquisitionTimeout = connectionAcquisitionTimeout;
+      return this;
+    }
+
+    /** Age after which a pooled connection is closed, so that DNS changes are picked up. */
+    public Builder connectionTimeToLive(Duration connectionTimeToLive) {
+      this.connectionTimeToLive = connectionTimeToLive;
+      return this;
+    }
+
+    public Builder connectionMaxIdleTime(Duration connectionMaxIdleTime) {
+      this.connectionMaxIdleTime = connectionMaxIdleTime;
+      return this;
+    }
+
+    /** Time limit of a call including its retries. */
+    public Builder apiCallTimeout(Duration apiCallTimeout) {
+      this.apiCallTimeout = apiCallTimeout;
+      return this;
+    }
+
+    /** Time limit of each attempt of a call. */
+    public Builder apiCallAttemptTimeout(Duration apiCallAttemptTimeout) {
+      this.apiCallAttemptTimeout = apiCallAttemptTimeout;
+      return this;
+    }
+
+    /**
+     * Retry mode; {@link RetryMode#ADAPTIVE} also slows the client down while DynamoDB throttles
+     * it.
+     */
+    public Builder retryMode(RetryMode retryMode) {
+      this.retryMode = retryMode;
+      return this;
+    }
+
+    /** Endpoint of a local stand-in such as DynamoDB Local, or null for the regional endpoint. */
+    public Builder endpointOverride(URI endpointOverride) {
+      this.endpointOverride = endpointOverride;
+      return this;
+    }
+
+    public DynamoDbClientFactory build() {
+      if (region == null) {
+        throw new IllegalArgumentException("region is required");
+      }
+      return new DynamoDbClientFactory(this);
+    }
+  }
+}
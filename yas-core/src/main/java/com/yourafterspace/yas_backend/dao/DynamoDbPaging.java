@@ -0,0 +1,520 @@
+package com.yourafterspace.yas_backend.dao;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+/**
+ * Pagination helpers shared by the DAOs.
+ *
+ * <p>A single Query or Scan call returns at most 1 MB; the rest is behind {@code LastEvaluatedKey}.
+ * The streams returned here follow it lazily, one DynamoDB page at a time, so callers that stop
+ * early never read the remaining pages. The {@code page} methods return a bounded {@link Page}
+ * whose cursor is the encoded key of the last item on it (the table key, plus the index key when
+ * the request reads an index), so the next page resumes right after it however far DynamoDB read
+ * ahead. Cursors are checked against that key schema before they are used. The {@code Async}
+ * methods do the same over the async client, chaining each page request on the completion of the
+ * previous one.
+ */
+final class DynamoDbPaging {
+
+  /** Key attributes of the table. */
+  private static final List<String> TABLE_KEY = List.of("pk", "sk");
+
+  /** Key attributes of the table's indexes (see {@code InMemoryDynamoDb.yasTable}). */
+  private static final Map<String, List<String>> INDEX_KEYS =
+      Map.of(
+          "GSI1", List.of("GSI1PK", "GSI1SK"),
+          "GSI2", List.of("GSI2PK", "GSI2SK"),
+          "GSI3", List.of("geohash_prefix"),
+          "GSI4", List.of("GSI4PK", "GSI4SK"),
+          "GSI5", List.of("GSI5PK", "GSI5SK"),
+          "GSI6", List.of("GSI6PK", "GSI6SK"));
+
+  private DynamoDbPaging() {}
+
+  /** Lazily stream every item matched by a query, across all pages. */
+  static Stream<Map<String, AttributeValue>> queryItems(
+      DynamoDbClient dynamoDbClient, QueryRequest request) {
+    return stream(queryFetcher(dynamoDbClient, request));
+  }
+
+  /** Lazily stream every item matched by a scan, across all pages. */
+  static Stream<Map<String, AttributeValue>> scanItems(
+      DynamoDbClient dynamoDbClient, ScanRequest request) {
+    return stream(scanFetcher(dynamoDbClient, request));
+  }
+
+  /**
+   * Read one page of a query.
+   *
+   * @param dynamoDbClient DynamoDB client
+   * @param request Query to page through (its own limit and start key are ignored)
+   * @param mapper Converts an item; returning null skips it
+   * @param filter Items to keep
+   * @param limit Maximum number of items on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return The page
+   * @throws IllegalArgumentException If the cursor is malformed
+   */
+  static <T> Page<T> queryPage(
+      DynamoDbClient dynamoDbClient,
+      QueryRequest request,
+      Function<Map<String, AttributeValue>, T> mapper,
+      Predicate<? super T> filter,
+      int limit,
+      String cursor) {
+    Set<String> key = keyAttributes(request.indexName());
+    return page(
+        queryFetcher(dynamoDbClient, request),
+        key,
+        mapper,
+        filter,
+        limit,
+        cursor(limit, cursor, key));
+  }
+
+  /**
+   * Read one page of a scan.
+   *
+   * @see #queryPage(DynamoDbClient, QueryRequest, Function, Predicate, int, String)
+   */
+  static <T> Page<T> scanPage(
+      DynamoDbClient dynamoDbClient,
+      ScanRequest request,
+      Function<Map<String, AttributeValue>, T> mapper,
+      Predicate<? super T> filter,
+      int limit,
+      String cursor) {
+    Set<String> key = keyAttributes(request.indexName());
+    return page(
+        scanFetcher(dynamoDbClient, request),
+        key,
+        mapper,
+        filter,
+        limit,
+        cursor(limit, cursor, key));
+  }
+
+  /** Read every item matched by a query, across all pages, over the async client. */
+  static CompletableFuture<List<Map<String, AttributeValue>>> queryItemsAsync(
+      DynamoDbAsyncClient dynamoDbAsyncClient, QueryRequest request) {
+    return allItemsAsync(asyncQueryFetcher(dynamoDbAsyncClient, request), null, new ArrayList<>());
+  }
+
+  /** Read every item matched by a scan, across all pages, over the async client. */
+  static CompletableFuture<List<Map<String, AttributeValue>>> scanItemsAsync(
+      DynamoDbAsyncClient dynamoDbAsyncClient, ScanRequest request) {
+    return allItemsAsync(asyncScanFetcher(dynamoDbAsyncClient, request), null, new ArrayList<>());
+  }
+
+  /**
+   * Read one page of a query over the async client. A malformed cursor fails the returned future
+   * with an IllegalArgumentException.
+   *
+   * @see #queryPage(DynamoDbClient, QueryRequest, Function, Predicate, int, String)
+   */
+  static <T> CompletableFuture<Page<T>> queryPageAsync(
+      DynamoDbAsyncClient dynamoDbAsyncClient,
+      QueryRequest request,
+      Function<Map<String, AttributeValue>, T> mapper,
+      Predicate<? super T> filter,
+      int limit,
+      String cursor) {
+    Set<String> key = keyAttributes(request.indexName());
+    Map<String, AttributeValue> startKey;
+    try {
+      startKey = cursor(limit, cursor, key);
+    } catch (IllegalArgumentException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return pageAsync(
+        asyncQueryFetcher(dynamoDbAsyncClient, request),
+        key,
+        mapper,
+        filter,
+        limit,
+        startKey,
+        new ArrayList<>());
+  }
+
+  /**
+   * Read one page of a scan over the async client.
+   *
+   * @see #queryPageAsync(DynamoDbAsyncClient, QueryRequest, Function, Predicate, int, String)
+   */
+  static <T> CompletableFuture<Page<T>> scanPageAsync(
+      DynamoDbAsyncClient dynamoDbAsyncClient,
+      ScanRequest request,
+      Function<Map<String, AttributeValue>, T> mapper,
+      Predicate<? super T> filter,
+      int limit,
+      String cursor) {
+    Set<String> key = keyAttributes(request.indexName());
+    Map<String, AttributeValue> startKey;
+    try {
+      startKey = cursor(limit, cursor, key);
+    } catch (IllegalArgumentException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return pageAsync(
+        asyncScanFetcher(dynamoDbAsyncClient, request),
+        key,
+        mapper,
+        filter,
+        limit,
+        startKey,
+        new ArrayList<>());
+  }
+
+  private static <T> Page<T> page(
+      PageFetcher fetcher,
+      Set<String> keyAttributes,
+      Function<Map<String, AttributeValue>, T> mapper,
+      Predicate<? super T> filter,
+      int limit,
+      Map<String, AttributeValue> startKey) {
+    List<T> items = new ArrayList<>();
+    do {
+      FetchedPage fetched = fetcher.fetch(startKey, limit);
+      Map<String, AttributeValue> pageEnd =
+          addMatching(fetched, keyAttributes, mapper, filter, limit, items);
+      if (pageEnd != null) {
+        return new Page<>(items, encodeCursor(pageEnd));
+      }
+      startKey = fetched.lastEvaluatedKey;
+    } while (startKey != null);
+
+    return new Page<>(items, null);
+  }
+
+  private static <T> CompletableFuture<Page<T>> pageAsync(
+      AsyncPageFetcher fetcher,
+      Set<String> keyAttributes,
+      Function<Map<String, AttributeValue>, T> mapper,
+      Predicate<? super T> filter,
+      int limit,
+      Map<String, AttributeValue> startKey,
+      List<T> items) {
+    return fetcher
+        .fetch(startKey, limit)
+        .thenCompose(
+            fetched -> {
+              Map<String, AttributeValue> pageEnd =
+                  addMatching(fetched, keyAttributes, mapper, filter, limit, items);
+              if (pageEnd == null && fetched.lastEvaluatedKey != null) {
+                return pageAsync(
+                    fetcher, keyAttributes, mapper, filter, limit, fetched.lastEvaluatedKey, items);
+              }
+              return CompletableFuture.completedFuture(new Page<>(items, encodeCursor(pageEnd)));
+            });
+  }
+
+  private static CompletableFuture<List<Map<String, AttributeValue>>> allItemsAsync(
+      AsyncPageFetcher fetcher,
+      Map<String, AttributeValue> startKey,
+      List<Map<String, AttributeValue>> items) {
+    return fetcher
+        .fetch(startKey, null)
+        .thenCompose(
+            fetched -> {
+              items.addAll(fetched.items);
+              if (fetched.lastEvaluatedKey != null) {
+                return allItemsAsync(fetcher, fetched.lastEvaluatedKey, items);
+              }
+              return CompletableFuture.completedFuture(items);
+            });
+  }
+
+  /**
+   * Start key of a page.
+   *
+   * @throws IllegalArgumentException If the limit is not positive or the cursor is malformed
+   */
+  private static Map<String, AttributeValue> cursor(
+      int limit, String cursor, Set<String> keyAttributes) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive");
+    }
+    return decodeCursor(cursor, keyAttributes);
+  }
+
+  /**
+   * Key attributes of the table, or of the table and an index.
+   *
+   * @throws IllegalArgumentException If the index is not one of the table's
+   */
+  private static Set<String> keyAttributes(String indexName) {
+    Set<String> key = new HashSet<>(TABLE_KEY);
+    if (indexName != null) {
+      List<String> indexKey = INDEX_KEYS.get(indexName);
+      if (indexKey == null) {
+        throw new IllegalArgumentException("Unknown index: " + indexName);
+      }
+      key.addAll(indexKey);
+    }
+    return key;
+  }
+
+  /**
+   * Add the matching items of a fetched DynamoDB page until the page is full. Each fetch asks
+   * DynamoDB for a whole page's worth of items rather than only the ones still missing, so a filter
+   * that rejects some never shrinks later requests to a handful of items; what is read past the
+   * last item on the page is read again by the next page.
+   *
+   * @return Key of the last item on the page if the page is full (empty if nothing can follow it),
+   *     or null if the fetched items are used up
+   */
+  private static <T> Map<String, AttributeValue> addMatching(
+      FetchedPage fetched,
+      Set<String> keyAttributes,
+      Function<Map<String, AttributeValue>, T> mapper,
+      Predicate<? super T> filter,
+      int limit,
+      List<T> items) {
+    for (int i = 0; i < fetched.items.size(); i++) {
+      Map<String, AttributeValue> item = fetched.items.get(i);
+      T value = mapper.apply(item);
+      if (value != null && filter.test(value)) {
+        items.add(value);
+        if (items.size() == limit) {
+          boolean last = i == fetched.items.size() - 1 && fetched.lastEvaluatedKey == null;
+          return last ? Map.of() : keyOf(item, keyAttributes);
+        }
+      }
+    }
+    return null;
+  }
+
+  private static Map<String, AttributeValue> keyOf(
+      Map<String, AttributeValue> item, Set<String> keyAttributes) {
+    Map<String, AttributeValue> key = new HashMap<>();
+    for (String name : keyAttributes) {
+      AttributeValue value = item.get(name);
+      if (value == null) {
+        // The request's projection left out a key attribute the cursor needs
+        throw new IllegalStateException("Paged item has no key attribute " + name);
+      }
+      key.put(name, value);
+    }
+    return key;
+  }
+
+  private static Stream<Map<String, AttributeValue>> stream(PageFetcher fetcher) {
+    Iterator<Map<String, AttributeValue>> iterator =
+        new Iterator<>() {
+          private Iterator<Map<String, AttributeValue>> current = Collections.emptyIterator();
+          private Map<String, AttributeValue> startKey;
+          private boolean exhausted;
+
+          @Override
+          public boolean hasNext() {
+            while (!current.hasNext() && !exhausted) {
+              FetchedPage fetched = fetcher.fetch(startKey, null);
+              current = fetched.items.iterator();
+              startKey = fetched.lastEvaluatedKey;
+              exhausted = startKey == null;
+            }
+            return current.hasNext();
+          }
+
+          @Override
+          public Map<String, AttributeValue> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            return current.next();
+          }
+        };
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+        false);
+  }
+
+  private static PageFetcher queryFetcher(DynamoDbClient dynamoDbClient, QueryRequest request) {
+    return (startKey, limit) ->
+        fetchedPage(dynamoDbClient.query(pageRequest(request, startKey, limit)));
+  }
+
+  private static PageFetcher scanFetcher(DynamoDbClient dynamoDbClient, ScanRequest request) {
+    return (startKey, limit) ->
+        fetchedPage(dynamoDbClient.scan(pageRequest(request, startKey, limit)));
+  }
+
+  private static AsyncPageFetcher asyncQueryFetcher(
+      DynamoDbAsyncClient dynamoDbAsyncClient, QueryRequest request) {
+    return (startKey, limit) ->
+        dynamoDbAsyncClient
+            .query(pageRequest(request, startKey, limit))
+            .thenApply(DynamoDbPaging::fetchedPage);
+  }
+
+  private static AsyncPageFetcher asyncScanFetcher(
+      DynamoDbAsyncClient dynamoDbAsyncClient, ScanRequest request) {
+    return (startKey, limit) ->
+        dynamoDbAsyncClient
+            .scan(pageRequest(request, startKey, limit))
+            .thenApply(DynamoDbPaging::fetchedPage);
+  }
+
+  private static QueryRequest pageRequest(
+      QueryRequest request, Map<String, AttributeValue> startKey, Integer limit) {
+    return request.toBuilder()
+        .exclusiveStartKey(startKey)
+        .limit(limit != null ? limit : request.limit())
+        .build();
+  }
+
+  private static ScanRequest pageRequest(
+      ScanRequest request, Map<String, AttributeValue> startKey, Integer limit) {
+    return request.toBuilder()
+        .exclusiveStartKey(startKey)
+        .limit(limit != null ? limit : request.limit())
+        .build();
+  }
+
+  private static FetchedPage fetchedPage(QueryResponse response) {
+    return new FetchedPage(
+        response.items(), response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null);
+  }
+
+  private static FetchedPage fetchedPage(ScanResponse response) {
+    return new FetchedPage(
+        response.items(), response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null);
+  }
+
+  /**
+   * Encode a LastEvaluatedKey as an opaque, URL-safe cursor.
+   *
+   * @param key Key to encode (null or empty for "no more pages")
+   * @return The cursor, or null if there are no more pages
+   */
+  static String encodeCursor(Map<String, AttributeValue> key) {
+    if (key == null || key.isEmpty()) {
+      return null;
+    }
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeShort(key.size());
+      for (Map.Entry<String, AttributeValue> entry : key.entrySet()) {
+        AttributeValue value = entry.getValue();
+        out.writeUTF(entry.getKey());
+        if (value.s() != null) {
+          out.writeByte('S');
+          out.writeUTF(value.s());
+        } else if (value.n() != null) {
+          out.writeByte('N');
+          out.writeUTF(value.n());
+        } else if (value.b() != null) {
+          byte[] binary = value.b().asByteArray();
+          out.writeByte('B');
+          out.writeInt(binary.length);
+          out.write(binary);
+        } else {
+          // Key attributes are always S, N or B
+          throw new IllegalArgumentException("Unsupported key attribute: " + entry.getKey());
+        }
+      }
+      out.flush();
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Decode a cursor produced by {@link #encodeCursor(Map)}.
+   *
+   * @param cursor Cursor (null or blank for the first page)
+   * @param keyAttributes Key attributes the request pages by; a cursor with any other attributes is
+   *     rejected rather than passed to DynamoDB as ExclusiveStartKey
+   * @return The ExclusiveStartKey, or null for the first page
+   * @throws IllegalArgumentException If the cursor is malformed
+   */
+  static Map<String, AttributeValue> decodeCursor(String cursor, Set<String> keyAttributes) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      DataInputStream in =
+          new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)));
+      int size = in.readShort();
+      Map<String, AttributeValue> key = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        String name = in.readUTF();
+        byte type = in.readByte();
+        if (type == 'S') {
+          key.put(name, AttributeValue.builder().s(in.readUTF()).build());
+        } else if (type == 'N') {
+          key.put(name, AttributeValue.builder().n(in.readUTF()).build());
+        } else if (type == 'B') {
+          byte[] binary = new byte[in.readInt()];
+          in.readFully(binary);
+          key.put(name, AttributeValue.builder().b(SdkBytes.fromByteArray(binary)).build());
+        } else {
+          throw new IllegalArgumentException("Invalid cursor");
+        }
+      }
+      if (in.available() > 0 || !key.keySet().equals(keyAttributes)) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return key;
+    } catch (IOException | IllegalArgumentException | NegativeArraySizeException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  /** Fetches one DynamoDB page starting at a key (null for the first page). */
+  @FunctionalInterface
+  private interface PageFetcher {
+    FetchedPage fetch(Map<String, AttributeValue> startKey, Integer limit);
+  }
+
+  /** Async counterpart of {@link PageFetcher}. */
+  @FunctionalInterface
+  private interface AsyncPageFetcher {
+    CompletableFuture<FetchedPage> fetch(Map<String, AttributeValue> startKey, Integer limit);
+  }
+
+  private static final class FetchedPage {
+
+    private final List<Map<String, AttributeValue>> items;
+    private final Map<String, AttributeValue> lastEvaluatedKey;
+
+    FetchedPage(
+        List<Map<String, AttributeValue>> items, Map<String, AttributeValue> lastEvaluatedKey) {
+      this.items = items;
+      this.lastEvaluatedKey =
+          lastEvaluatedKey == null || lastEvaluatedKey.isEmpty() ? null : lastEvaluatedKey;
+    }
+  }
+}
@@ -0,0 +1,1216 @@
+package com.yourafterspace.yas_backend.dao;
+
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.dao.mapping.ExperienceAttributes;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.util.AsyncFanOut;
+import com.yourafterspace.yas_backend.util.Futures;
+import com.yourafterspace.yas_backend.util.GeohashUtil;
+import com.yourafterspace.yas_backend.util.LruTtlCache;
+import com.yourafterspace.yas_backend.util.RequestLog;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Data Access Object (DAO) for Experience entity operations in DynamoDB.
+ *
+ * <p>Why DAO? - Encapsulates all DynamoDB operations for experiences - Handles complex queries
+ * including venue-based lookups - Reusable and testable
+ *
+ * <p>Table structure: PK: EXPERIENCE#{experienceId}, SK: METADATA GSI1-PK: venueId, GSI1-SK:
+ * experienceId GSI4-PK: EXPERIENCE_GEO#{4-char geohash}, GSI4-SK: {9-char geohash}#{experienceId}
+ * GSI6-PK: GEO_UPDATED#{yyyy-MM-ddTHH of the save}, GSI6-SK: {updatedAt}#{experienceId}
+ *
+ * <p>GSI4 is the geo index for nearby search. Only located experiences get GSI4 keys, and the index
+ * projects just the attributes in {@link #GEO_PROJECTION}, so a cell query returns compact
+ * experiences without going through VenueLocation. Deleted experiences stay in the index (with
+ * their DELETED status).
+ *
+ * <p>GSI6 is the change feed of the geo index, projecting the same attributes: every save files the
+ * experience under the UTC hour it was saved in, including saves that clear its coordinates (and
+ * with them its GSI4 keys). Incremental readers such as {@link NearbyExperienceIndex} query only
+ * the hours since they last read, and see moves, clears and deletions alike. Experiences last saved
+ * before the feed existed are only in GSI4, which the full load reads.
+ *
+ * <p>Experiences used to be keyed with SK = createdAt, which made the key unknowable without a
+ * query. They are now written with the fixed SK {@value #ITEM_SK}, so lookups are GetItem /
+ * BatchGetItem. Items still under the old key are found with the previous begins_with query, and
+ * never written on a read: {@link #migrateLegacyExperiences()} moves them to the fixed key offline
+ * (the legacy-experiences migration of {@code TableMigrations} in yas-lambda).
+ *
+ * <p>Items read by id can be kept in an optional {@link LruTtlCache}. The cache holds the raw items
+ * (each read converts a fresh Experience, so callers may mutate what they get), is invalidated by
+ * {@link #save(Experience)}, and revalidates expired items by reading only their updatedAt.
+ *
+ * <p>Finders and writers have {@code Async} twins, as in {@link GroupDao}; they share the cache
+ * with the blocking methods.
+ */
+public class ExperienceDao {
+
+  /** Sort key of every experience item. */
+  static final String ITEM_SK = "METADATA";
+
+  /**
+   * Maximum number of keys in one BatchGetItem request; {@link #findByExperienceIds} reads larger
+   * collections in chunks of this size, one after the other.
+   */
+  public static final int BATCH_GET_MAX_KEYS = 100;
+
+  /** Attempts for a BatchGetItem chunk before giving up on its unprocessed keys. */
+  private static final int BATCH_GET_MAX_ATTEMPTS = 5;
+
+  /** Initial backoff before retrying unprocessed keys (doubles on every retry). */
+  private static final long BATCH_GET_BASE_BACKOFF_MILLIS = 50;
+
+  /** Maximum number of per-venue queries in flight at once. */
+  private static final int MAX_CONCURRENT_VENUE_QUERIES = 8;
+
+  /** Deadline for a single per-venue query. */
+  private static final Duration VENUE_QUERY_TIMEOUT = Duration.ofSeconds(2);
+
+  /** Maximum number of legacy key lookups in flight at once. */
+  private static final int MAX_CONCURRENT_LEGACY_QUERIES = 8;
+
+  /** Deadline for a single legacy key lookup. */
+  private static final Duration LEGACY_QUERY_TIMEOUT = Duration.ofSeconds(2);
+
+  /** Geo index for nearby search. */
+  private static final String GEO_INDEX_NAME = "GSI4";
+
+  private static final String GEO_INDEX_PK_PREFIX = "EXPERIENCE_GEO#";
+
+  /** Change feed of the geo index, one partition per UTC hour of saves. */
+  private static final String GEO_FEED_INDEX_NAME = "GSI6";
+
+  private static final String GEO_FEED_PK_PREFIX = "GEO_UPDATED#";
+
+  private static final DateTimeFormatter GEO_FEED_HOUR =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH").withZone(ZoneOffset.UTC);
+
+  /** Counters maintained with atomic ADDs; {@link #save(Experience)} only initializes them. */
+  private static final Set<String> COUNTER_ATTRIBUTES =
+      Set.of(UserExperienceDao.CURRENT_BOOKINGS, UserExperienceDao.INTEREST_COUNT);
+
+  /** Optional attributes written by {@link #save(Experience)}, removed when no longer set. */
+  private static final List<String> SAVED_ATTRIBUTES =
+      List.of(
+          "createdBy",
+          "title",
+          "description",
+          "type",
+          "status",
+          "location",
+          "address",
+          "city",
+          "country",
+          "latitude",
+          "longitude",
+          "experienceDate",
+          "startTime",
+          "endTime",
+          "pricePerPerson",
+          "currency",
+          "maxCapacity",
+          "tags",
+          "images",
+          "contactInfo",
+          "requirements",
+          "cancellationPolicy",
+          "averageRating",
+          "totalReviews",
+          "updatedAt",
+          "venueId",
+          "GSI1PK",
+          "GSI1SK",
+          "venueName",
+          "GSI4PK",
+          "GSI4SK",
+          "GSI6PK",
+          "GSI6SK");
+
+  /** Attributes projected into the geo index (and read back by geo queries). */
+  static final String GEO_PROJECTION =
+      "experienceId, title, #type, #status, latitude, longitude, experienceDate, startTime,"
+          + " address, city, venueId, venueName, updatedAt";
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final String tableName;
+  private final LruTtlCache<String, Map<String, AttributeValue>> itemCache;
+
+  public ExperienceDao(DynamoDbClient dynamoDbClient, String tableName) {
+    this(dynamoDbClient, null, tableName);
+  }
+
+  /**
+   * Create a DAO that fans multi-venue queries out concurrently over the async client.
+   *
+   * @param dynamoDbClient Sync client used by the blocking methods
+   * @param dynamoDbAsyncClient Async client used for multi-venue queries and the {@code Async}
+   *     methods (null to query serially)
+   * @param tableName DynamoDB table name
+   */
+  public ExperienceDao(
+      DynamoDbClient dynamoDbClient, DynamoDbAsyncClient dynamoDbAsyncClient, String tableName) {
+    this(dynamoDbClient, dynamoDbAsyncClient, tableName, null);
+  }
+
+  /**
+   * Create a DAO that serves lookups by id from a read-through cache.
+   *
+   * @param dynamoDbClient Sync client used by the blocking methods
+   * @param dynamoDbAsyncClient Async client used for multi-venue queries and the {@code Async}
+   *     methods (null to query serially)
+   * @param tableName DynamoDB table name
+   * @param itemCache Cache of experience items keyed by normalized experienceId (null to disable)
+   */
+  public ExperienceDao(
+      DynamoDbClient dynamoDbClient,
+      DynamoDbAsyncClient dynamoDbAsyncClient,
+      String tableName,
+      LruTtlCache<String, Map<String, AttributeValue>> itemCache) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.tableName = tableName;
+    this.itemCache = itemCache;
+  }
+
+  /**
+   * Save an experience.
+   *
+   * <p>The item is written with UpdateItem rather than PutItem: the booking and interest counters
+   * are maintained with atomic ADDs by {@link UserExperienceDao}, so save only initializes them and
+   * never overwrites a count that changed since the experience was read.
+   *
+   * @param experience Experience to save
+   * @return Saved experience
+   */
+  public Experience save(Experience experience) {
+    experience.setUpdatedAt(Instant.now());
+    if (experience.getCreatedAt() == null) {
+      experience.setCreatedAt(Instant.now());
+    }
+
+    dynamoDbClient.updateItem(buildSaveRequest(toAttributeMap(experience)));
+    return saved(experience);
+  }
+
+  /**
+   * Async twin of {@link #save(Experience)}.
+   *
+   * @param experience Experience to save
+   * @return Future of the saved experience
+   */
+  public CompletableFuture<Experience> saveAsync(Experience experience) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> save(experience));
+    }
+    experience.setUpdatedAt(Instant.now());
+    if (experience.getCreatedAt() == null) {
+      experience.setCreatedAt(Instant.now());
+    }
+
+    return dynamoDbAsyncClient
+        .updateItem(buildSaveRequest(toAttributeMap(experience)))
+        .thenApply(response -> saved(experience));
+  }
+
+  private Experience saved(Experience experience) {
+    if (itemCache != null) {
+      itemCache.invalidate(normalizeExperienceId(experience.getExperienceId()));
+    }
+    return experience;
+  }
+
+  /**
+   * Find an experience by experienceId.
+   *
+   * @param experienceId Experience ID
+   * @return Optional containing the experience if found, empty for a null or blank id
+   */
+  public Optional<Experience> findByExperienceId(String experienceId) {
+    experienceId = normalizeExperienceId(experienceId);
+    if (experienceId == null || experienceId.isEmpty()) {
+      return Optional.empty();
+    }
+    if (itemCache != null) {
+      Map<String, AttributeValue> cached = itemCache.getIfPresent(experienceId);
+      if (cached == null) {
+        cached = revalidate(experienceId);
+      }
+      if (cached != null) {
+        return Optional.of(fromAttributeMap(cached));
+      }
+    }
+
+    GetItemResponse response = dynamoDbClient.getItem(itemRequest(experienceId));
+    if (response.hasItem() && !response.item().isEmpty()) {
+      return Optional.of(cached(experienceId, response.item()));
+    }
+
+    return findLegacyByExperienceId(experienceId);
+  }
+
+  /**
+   * Async twin of {@link #findByExperienceId(String)}, served from the same cache.
+   *
+   * @param experienceId Experience ID
+   * @return Future of the experience, empty if not found or for a null or blank id
+   */
+  public CompletableFuture<Optional<Experience>> findByExperienceIdAsync(String experienceId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByExperienceId(experienceId));
+    }
+    String normalizedId = normalizeExperienceId(experienceId);
+    if (normalizedId == null || normalizedId.isEmpty()) {
+      return CompletableFuture.completedFuture(Optional.empty());
+    }
+    CompletableFuture<Map<String, AttributeValue>> cached = CompletableFuture.completedFuture(null);
+    if (itemCache != null) {
+      Map<String, AttributeValue> fresh = itemCache.getIfPresent(normalizedId);
+      cached =
+          fresh != null ? CompletableFuture.completedFuture(fresh) : revalidateAsync(normalizedId);
+    }
+    return cached.thenCompose(
+        item -> {
+          if (item != null) {
+            return CompletableFuture.completedFuture(Optional.of(fromAttributeMap(item)));
+          }
+          return dynamoDbAsyncClient
+              .getItem(itemRequest(normalizedId))
+              .thenCompose(
+                  response ->
+                      response.hasItem() && !response.item().isEmpty()
+                          ? CompletableFuture.completedFuture(
+                              Optional.of(cached(normalizedId, response.item())))
+                          : findLegacyByExperienceIdAsync(normalizedId));
+        });
+  }
+
+  private GetItemRequest itemRequest(String experienceId) {
+    return GetItemRequest.builder().tableName(tableName).key(buildKey(experienceId)).build();
+  }
+
+  /** Put an item read by id into the cache, if any, and convert it. */
+  private Experience cached(String experienceId, Map<String, AttributeValue> item) {
+    if (itemCache != null) {
+      itemCache.put(experienceId, item);
+    }
+    return fromAttributeMap(item);
+  }
+
+  /**
+   * Keep an expired cached item if its updatedAt is unchanged. Only updatedAt is read back, so this
+   * moves a few bytes instead of the whole item.
+   *
+   * @return The revalidated item, or null if there was none or it changed
+   */
+  private Map<String, AttributeValue> revalidate(String experienceId) {
+    Map<String, AttributeValue> expired = itemCache.getExpired(experienceId);
+    if (expired == null || !expired.containsKey("updatedAt")) {
+      return null;
+    }
+    return renewIfUnchanged(
+        experienceId, expired, dynamoDbClient.getItem(revalidateRequest(experienceId)));
+  }
+
+  private CompletableFuture<Map<String, AttributeValue>> revalidateAsync(String experienceId) {
+    Map<String, AttributeValue> expired = itemCache.getExpired(experienceId);
+    if (expired == null || !expired.containsKey("updatedAt")) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return dynamoDbAsyncClient
+        .getItem(revalidateRequest(experienceId))
+        .thenApply(response -> renewIfUnchanged(experienceId, expired, response));
+  }
+
+  private GetItemRequest revalidateRequest(String experienceId) {
+    return GetItemRequest.builder()
+        .tableName(tableName)
+        .key(buildKey(experienceId))
+        .projectionExpression("updatedAt")
+        .build();
+  }
+
+  private Map<String, AttributeValue> renewIfUnchanged(
+      String experienceId, Map<String, AttributeValue> expired, GetItemResponse response) {
+    if (response.hasItem() && expired.get("updatedAt").equals(response.item().get("updatedAt"))) {
+      itemCache.renew(experienceId, expired);
+      return expired;
+    }
+    return null;
+  }
+
+  /**
+   * Find several experiences by experienceId using BatchGetItem.
+   *
+   * <p>Ids are deduplicated and fetched in chunks of {@value #BATCH_GET_MAX_KEYS}. Unprocessed keys
+   * (throttling) are retried with exponential backoff. Ids not found under the fixed key are looked
+   * up under the legacy key, concurrently on the async client if there is one; they are not
+   * migrated here (see {@link #migrateLegacyExperiences()}).
+   *
+   * @param experienceIds Experience IDs (null/blank ids and duplicates are ignored)
+   * @return Found experiences keyed by experienceId, in the order the ids were given
+   */
+  public Map<String, Experience> findByExperienceIds(Collection<String> experienceIds) {
+    Set<String> uniqueIds = uniqueIds(experienceIds);
+    Map<String, Map<String, AttributeValue>> found = new HashMap<>();
+    List<String> ids = new ArrayList<>(cachedOrMissing(uniqueIds, found));
+    for (int start = 0; start < ids.size(); start += BATCH_GET_MAX_KEYS) {
+      List<String> chunk = ids.subList(start, Math.min(start + BATCH_GET_MAX_KEYS, ids.size()));
+      batchGetChunk(chunk, found);
+    }
+
+    return experiencesById(uniqueIds, found, legacyLookups(uniqueIds, found)::get);
+  }
+
+  /** Look the ids not found under the fixed key up under the legacy key. */
+  private Map<String, Optional<Experience>> legacyLookups(
+      Set<String> uniqueIds, Map<String, Map<String, AttributeValue>> found) {
+    List<String> missing = new ArrayList<>();
+    for (String experienceId : uniqueIds) {
+      String normalizedId = normalizeExperienceId(experienceId);
+      if (!found.containsKey(normalizedId) && !missing.contains(normalizedId)) {
+        missing.add(normalizedId);
+      }
+    }
+    Map<String, Optional<Experience>> legacy = new HashMap<>();
+    if (dynamoDbAsyncClient != null && missing.size() > 1) {
+      AsyncFanOut.Result<Map.Entry<String, Optional<Experience>>> result =
+          AsyncFanOut.run(
+              missing,
+              experienceId ->
+                  findLegacyByExperienceIdAsync(experienceId)
+                      .thenApply(experience -> Map.entry(experienceId, experience)),
+              MAX_CONCURRENT_LEGACY_QUERIES,
+              LEGACY_QUERY_TIMEOUT);
+      for (Map.Entry<String, Optional<Experience>> entry : result.getResults()) {
+        legacy.put(entry.getKey(), entry.getValue());
+      }
+    }
+    // Without an async client, or for the lookups that failed, look up one by one
+    for (String experienceId : missing) {
+      if (!legacy.containsKey(experienceId)) {
+        legacy.put(experienceId, findLegacyByExperienceId(experienceId));
+      }
+    }
+    return legacy;
+  }
+
+  /**
+   * Async twin of {@link #findByExperienceIds(Collection)}; the chunks are read concurrently, and
+   * so are the legacy lookups of the ids not found.
+   *
+   * @param experienceIds Experience IDs (null/blank ids and duplicates are ignored)
+   * @return Future of the found experiences keyed by experienceId, in the order the ids were given
+   */
+  public CompletableFuture<Map<String, Experience>> findByExperienceIdsAsync(
+      Collection<String> experienceIds) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByExperienceIds(experienceIds));
+    }
+    Set<String> uniqueIds = uniqueIds(experienceIds);
+    Map<String, Map<String, AttributeValue>> found = new ConcurrentHashMap<>();
+    List<String> ids = new ArrayList<>(cachedOrMissing(uniqueIds, found));
+    List<CompletableFuture<Void>> chunks = new ArrayList<>();
+    for (int start = 0; start < ids.size(); start += BATCH_GET_MAX_KEYS) {
+      List<String> chunk = ids.subList(start, Math.min(start + BATCH_GET_MAX_KEYS, ids.size()));
+      chunks.add(batchGetChunkAsync(batchGetItems(chunk), 1, found));
+    }
+
+    return Futures.allOf(chunks)
+        .thenCompose(
+            done -> {
+              Map<String, CompletableFuture<Optional<Experience>>> legacy = new LinkedHashMap<>();
+              for (String experienceId : uniqueIds) {
+                String normalizedId = normalizeExperienceId(experienceId);
+                if (!found.containsKey(normalizedId) && !legacy.containsKey(normalizedId)) {
+                  legacy.put(normalizedId, findLegacyByExperienceIdAsync(normalizedId));
+                }
+              }
+              return Futures.allOf(legacy)
+                  .thenApply(legacyFound -> experiencesById(uniqueIds, found, legacyFound::get));
+            });
+  }
+
+  private static Set<String> uniqueIds(Collection<String> experienceIds) {
+    Set<String> uniqueIds = new LinkedHashSet<>();
+    for (String experienceId : experienceIds) {
+      if (experienceId != null && !experienceId.isBlank()) {
+        uniqueIds.add(experienceId);
+      }
+    }
+    return uniqueIds;
+  }
+
+  /**
+   * Put the fresh cached items into {@code found} and return the normalized ids to fetch. Expired
+   * items are simply re-read, as a batch read costs no more than revalidating them.
+   */
+  private Set<String> cachedOrMissing(
+      Set<String> uniqueIds, Map<String, Map<String, AttributeValue>> found) {
+    Set<String> missing = new LinkedHashSet<>();
+    for (String experienceId : uniqueIds) {
+      String normalizedId = normalizeExperienceId(experienceId);
+      Map<String, AttributeValue> cached =
+          itemCache != null && !found.containsKey(normalizedId)
+              ? itemCache.getIfPresent(normalizedId)
+              : null;
+      if (cached != null) {
+        found.put(normalizedId, cached);
+      } else if (!found.containsKey(normalizedId)) {
+        missing.add(normalizedId);
+      }
+    }
+    return missing;
+  }
+
+  /** Experiences by the ids given, from the items found or else the legacy lookup. */
+  private Map<String, Experience> experiencesById(
+      Set<String> uniqueIds,
+      Map<String, Map<String, AttributeValue>> found,
+      Function<String, Optional<Experience>> legacy) {
+    Map<String, Experience> experiences = new LinkedHashMap<>();
+    for (String experienceId : uniqueIds) {
+      String normalizedId = normalizeExperienceId(experienceId);
+      Map<String, AttributeValue> item = found.get(normalizedId);
+      Experience experience = item != null ? fromAttributeMap(item) : null;
+      if (experience == null) {
+        experience = legacy.apply(normalizedId).orElse(null);
+      }
+      if (experience != null) {
+        experiences.put(experienceId, experience);
+      }
+    }
+    return experiences;
+  }
+
+  private void batchGetChunk(
+      List<String> experienceIds, Map<String, Map<String, AttributeValue>> found) {
+    Map<String, KeysAndAttributes> requestItems = batchGetItems(experienceIds);
+
+    for (int attempt = 1; !requestItems.isEmpty(); attempt++) {
+      BatchGetItemResponse response =
+          dynamoDbClient.batchGetItem(
+              BatchGetItemRequest.builder().requestItems(requestItems).build());
+      requestItems = collectBatch(response, found);
+      if (requestItems.isEmpty()) {
+        return;
+      }
+      if (attempt >= BATCH_GET_MAX_ATTEMPTS) {
+        warnUnprocessed(requestItems, attempt);
+        return;
+      }
+      try {
+        Thread.sleep(BATCH_GET_BASE_BACKOFF_MILLIS << (attempt - 1));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /** Async counterpart of {@link #batchGetChunk}, waiting on a delayed executor between retries. */
+  private CompletableFuture<Void> batchGetChunkAsync(
+      Map<String, KeysAndAttributes> requestItems,
+      int attempt,
+      Map<String, Map<String, AttributeValue>> found) {
+    return dynamoDbAsyncClient
+        .batchGetItem(BatchGetItemRequest.builder().requestItems(requestItems).build())
+        .thenCompose(
+            response -> {
+              Map<String, KeysAndAttributes> unprocessed = collectBatch(response, found);
+              if (unprocessed.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+              }
+              if (attempt >= BATCH_GET_MAX_ATTEMPTS) {
+                warnUnprocessed(unprocessed, attempt);
+                return CompletableFuture.completedFuture(null);
+              }
+              return CompletableFuture.runAsync(
+                      () -> {},
+                      CompletableFuture.delayedExecutor(
+                          BATCH_GET_BASE_BACKOFF_MILLIS << (attempt - 1), TimeUnit.MILLISECONDS))
+                  .thenCompose(ready -> batchGetChunkAsync(unprocessed, attempt + 1, found));
+            });
+  }
+
+  private Map<String, KeysAndAttributes> batchGetItems(List<String> experienceIds) {
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(experienceIds.size());
+    for (String experienceId : experienceIds) {
+      keys.add(buildKey(experienceId));
+    }
+    return Map.of(tableName, KeysAndAttributes.builder().keys(keys).build());
+  }
+
+  /** Add (and cache) the items of a BatchGetItem response and return the unprocessed keys. */
+  private Map<String, KeysAndAttributes> collectBatch(
+      BatchGetItemResponse response, Map<String, Map<String, AttributeValue>> found) {
+    for (Map<String, AttributeValue> item :
+        response.responses().getOrDefault(tableName, List.of())) {
+      String experienceId = normalizeExperienceId(item.get("pk").s());
+      found.put(experienceId, item);
+      if (itemCache != null) {
+        itemCache.put(experienceId, item);
+      }
+    }
+    return response.hasUnprocessedKeys() ? response.unprocessedKeys() : Map.of();
+  }
+
+  private void warnUnprocessed(Map<String, KeysAndAttributes> requestItems, int attempt) {
+    RequestLog.warn(
+        "BatchGetItem left "
+            + requestItems.get(tableName).keys().size()
+            + " experience keys unprocessed after "
+            + attempt
+            + " attempts");
+  }
+
+  /**
+   * Look an experience up under the legacy key (SK = createdAt). Read paths never migrate it; that
+   * is {@link #migrateLegacyExperiences()}.
+   */
+  private Optional<Experience> findLegacyByExperienceId(String experienceId) {
+    QueryResponse response = dynamoDbClient.query(legacyQuery(experienceId, "2"));
+
+    // If no results with "2" prefix (years 2000+), try "1" prefix (years 1000-1999)
+    if (response.items().isEmpty()) {
+      response = dynamoDbClient.query(legacyQuery(experienceId, "1"));
+    }
+
+    return response.items().isEmpty()
+        ? Optional.empty()
+        : Optional.of(fromAttributeMap(response.items().get(0)));
+  }
+
+  private CompletableFuture<Optional<Experience>> findLegacyByExperienceIdAsync(
+      String experienceId) {
+    return dynamoDbAsyncClient
+        .query(legacyQuery(experienceId, "2"))
+        .thenCompose(
+            response ->
+                response.items().isEmpty()
+                    ? dynamoDbAsyncClient.query(legacyQuery(experienceId, "1"))
+                    : CompletableFuture.completedFuture(response))
+        .thenApply(
+            response ->
+                response.items().isEmpty()
+                    ? Optional.<Experience>empty()
+                    : Optional.of(fromAttributeMap(response.items().get(0))));
+  }
+
+  /**
+   * Move every experience still stored under the legacy key (SK = createdAt) to the fixed key,
+   * deleting the legacy item in the same transaction. Scans the whole table, so it runs as an
+   * offline migration, never inside a request; it is idempotent and can be run again after an
+   * interruption.
+   *
+   * @return Number of experiences migrated
+   */
+  public int migrateLegacyExperiences() {
+    ScanRequest scanRequest =
+        ScanRequest.builder()
+            .tableName(tableName)
+            .filterExpression("begins_with(pk, :pkPrefix) AND sk <> :itemSk")
+            .expressionAttributeValues(
+                Map.of(
+                    ":pkPrefix", AttributeValue.builder().s("EXPERIENCE#").build(),
+                    ":itemSk", AttributeValue.builder().s(ITEM_SK).build()))
+            .build();
+    // The latest legacy item of each experience, as the legacy lookup reads it
+    Map<String, Map<String, AttributeValue>> latest = new LinkedHashMap<>();
+    DynamoDbPaging.scanItems(dynamoDbClient, scanRequest)
+        .filter(item -> item.get("sk").s().startsWith("1") || item.get("sk").s().startsWith("2"))
+        .forEach(
+            item ->
+                latest.merge(
+                    item.get("pk").s(),
+                    item,
+                    (a, b) -> a.get("sk").s().compareTo(b.get("sk").s()) >= 0 ? a : b));
+
+    int migrated = 0;
+    for (Map<String, AttributeValue> legacyItem : latest.values()) {
+      Experience experience = fromAttributeMap(legacyItem);
+      try {
+        dynamoDbClient.transactWriteItems(migrateRequest(experience, legacyItem.get("sk")));
+        migrated++;
+      } catch (TransactionCanceledException e) {
+        // Already under the fixed key; the legacy item is never read again
+      }
+    }
+    return migrated;
+  }
+
+  /**
+   * Query for the latest item of an experience under the legacy key.
+   *
+   * <p>PK = "EXPERIENCE#experienceId", SK = createdAt. For composite keys DynamoDB requires both PK
+   * and SK conditions, hence the begins_with on the sort key: "2" matches the years 2000+, "1" the
+   * years 1000-1999.
+   */
+  private QueryRequest legacyQuery(String experienceId, String skPrefix) {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(
+        ":pk", AttributeValue.builder().s("EXPERIENCE#" + experienceId).build());
+    expressionAttributeValues.put(":skPrefix", AttributeValue.builder().s(skPrefix).build());
+
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression("pk = :pk AND begins_with(sk, :skPrefix)") // pk is PK, sk is SK
+        .expressionAttributeValues(expressionAttributeValues)
+        .scanIndexForward(false) // Sort descending (latest first)
+        .limit(1)
+        .build();
+  }
+
+  /** Rewrite a legacy item under the fixed key and delete the old one, in one transaction. */
+  private TransactWriteItemsRequest migrateRequest(Experience experience, AttributeValue legacySk) {
+    Map<String, AttributeValue> legacyKey = new HashMap<>();
+    legacyKey.put(
+        "pk", AttributeValue.builder().s("EXPERIENCE#" + experience.getExperienceId()).build());
+    legacyKey.put("sk", legacySk);
+
+    return TransactWriteItemsRequest.builder()
+        .transactItems(
+            TransactWriteItem.builder()
+                .put(
+                    Put.builder()
+                        .tableName(tableName)
+                        .item(toAttributeMap(experience))
+                        .conditionExpression("attribute_not_exists(pk)")
+                        .build())
+                .build(),
+            TransactWriteItem.builder()
+                .delete(Delete.builder().tableName(tableName).key(legacyKey).build())
+                .build())
+        .build();
+  }
+
+  /**
+   * Build the UpdateItem that writes an item produced by {@link #toAttributeMap(Experience)}:
+   * attributes of the item are SET (counters only if absent) and the other attributes save owns are
+   * REMOVEd, so the result matches a PutItem of the item except for the counters.
+   */
+  private UpdateItemRequest buildSaveRequest(Map<String, AttributeValue> item) {
+    List<String> setClauses = new ArrayList<>();
+    List<String> removeClauses = new ArrayList<>();
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> values = new HashMap<>();
+    int i = 0;
+    for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+      if (attribute.getKey().equals("pk") || attribute.getKey().equals("sk")) {
+        continue;
+      }
+      String name = "#a" + i;
+      String value = ":a" + i;
+      i++;
+      names.put(name, attribute.getKey());
+      values.put(value, attribute.getValue());
+      setClauses.add(
+          COUNTER_ATTRIBUTES.contains(attribute.getKey())
+              ? name + " = if_not_exists(" + name + ", " + value + ")"
+              : name + " = " + value);
+    }
+    for (String attribute : SAVED_ATTRIBUTES) {
+      if (!item.containsKey(attribute)) {
+        String name = "#a" + i++;
+        names.put(name, attribute);
+        removeClauses.add(name);
+      }
+    }
+
+    String updateExpression = "SET " + String.join(", ", setClauses);
+    if (!removeClauses.isEmpty()) {
+      updateExpression += " REMOVE " + String.join(", ", removeClauses);
+    }
+    return UpdateItemRequest.builder()
+        .tableName(tableName)
+        .key(Map.of("pk", item.get("pk"), "sk", item.get("sk")))
+        .updateExpression(updateExpression)
+        .expressionAttributeNames(names)
+        .expressionAttributeValues(values)
+        .build();
+  }
+
+  /** Cache and key form of an experience id: trimmed, without the EXPERIENCE# prefix. */
+  private static String normalizeExperienceId(String experienceId) {
+    if (experienceId == null) {
+      return null;
+    }
+    String trimmed = experienceId.trim();
+    return trimmed.startsWith("EXPERIENCE#") ? trimmed.substring("EXPERIENCE#".length()) : trimmed;
+  }
+
+  static Map<String, AttributeValue> buildKey(String experienceId) {
+    Map<String, AttributeValue> key = new HashMap<>();
+    key.put("pk", AttributeValue.builder().s("EXPERIENCE#" + experienceId).build());
+    key.put("sk", AttributeValue.builder().s(ITEM_SK).build());
+    return key;
+  }
+
+  /**
+   * Find all experiences for a venue (using GSI1).
+   *
+   * @param venueId Venue ID
+   * @return List of experiences at that venue
+   */
+  public List<Experience> findByVenueId(String venueId) {
+    try {
+      QueryResponse response = dynamoDbClient.query(buildVenueQuery(venueId));
+
+      RequestLog.debug(
+          () ->
+              "GSI1 query for venueId "
+                  + venueId
+                  + " returned "
+                  + response.items().size()
+                  + " items");
+
+      return toExperiences(response);
+    } catch (Exception e) {
+      // Log error but don't throw - return empty list instead
+      return venueQueryFailed(venueId, e);
+    }
+  }
+
+  /**
+   * Async twin of {@link #findByVenueId(String)}; a failed query also gives an empty list.
+   *
+   * @param venueId Venue ID
+   * @return Future of the experiences at that venue
+   */
+  public CompletableFuture<List<Experience>> findByVenueIdAsync(String venueId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByVenueId(venueId));
+    }
+    return dynamoDbAsyncClient
+        .query(buildVenueQuery(venueId))
+        .thenApply(this::toExperiences)
+        .exceptionally(e -> venueQueryFailed(venueId, Futures.unwrap(e)));
+  }
+
+  private static List<Experience> venueQueryFailed(String venueId, Throwable e) {
+    RequestLog.error("Error querying GSI1 for venueId " + venueId + ": " + e.getMessage(), e);
+    return new ArrayList<>();
+  }
+
+  /**
+   * Find the experiences for several venues at once (using GSI1).
+   *
+   * <p>When an async client is configured the venues are queried concurrently (at most {@value
+   * #MAX_CONCURRENT_VENUE_QUERIES} at a time, each with its own deadline). Venues whose query fails
+   * or times out are left out of the result instead of failing the whole lookup.
+   *
+   * @param venueIds Venue IDs (duplicates are ignored)
+   * @return Experiences keyed by venueId, in the order the venues were given
+   */
+  public Map<String, List<Experience>> findByVenueIds(Collection<String> venueIds) {
+    if (dynamoDbAsyncClient == null) {
+      Map<String, List<Experience>> experiencesByVenue = new LinkedHashMap<>();
+      for (String venueId : new LinkedHashSet<>(venueIds)) {
+        experiencesByVenue.put(venueId, findByVenueId(venueId));
+      }
+      return experiencesByVenue;
+    }
+    return findByVenueIdsAsync(venueIds).join();
+  }
+
+  /**
+   * Async twin of {@link #findByVenueIds(Collection)}; the returned future does not fail.
+   *
+   * @param venueIds Venue IDs (duplicates are ignored)
+   * @return Future of the experiences keyed by venueId, in the order the venues were given
+   */
+  public CompletableFuture<Map<String, List<Experience>>> findByVenueIdsAsync(
+      Collection<String> venueIds) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByVenueIds(venueIds));
+    }
+    List<String> uniqueVenueIds = new ArrayList<>(new LinkedHashSet<>(venueIds));
+    return AsyncFanOut.runAsync(
+            uniqueVenueIds,
+            venueId ->
+                dynamoDbAsyncClient
+                    .query(buildVenueQuery(venueId))
+                    .thenApply(response -> Map.entry(venueId, toExperiences(response))),
+            MAX_CONCURRENT_VENUE_QUERIES,
+            VENUE_QUERY_TIMEOUT)
+        .thenApply(result -> mergeVenues(uniqueVenueIds, result));
+  }
+
+  private static Map<String, List<Experience>> mergeVenues(
+      List<String> uniqueVenueIds, AsyncFanOut.Result<Map.Entry<String, List<Experience>>> result) {
+    Map<String, List<Experience>> experiencesByVenue = new LinkedHashMap<>();
+    for (Map.Entry<String, List<Experience>> entry : result.getResults()) {
+      experiencesByVenue.put(entry.getKey(), entry.getValue());
+    }
+    if (result.isPartial()) {
+      RequestLog.warn(
+          ""
+              + result.getFailures().size()
+              + " of "
+              + uniqueVenueIds.size()
+              + " venue queries failed, returning partial results: "
+              + result.getFailures().get(0).getMessage());
+    }
+
+    return experiencesByVenue;
+  }
+
+  /**
+   * Find the experiences located in the given geohash cells (using the GSI4 geo index).
+   *
+   * <p>Each cell is a single query returning the compact geo projection ({@link #GEO_PROJECTION}),
+   * so the returned experiences only have those fields set. When an async client is configured the
+   * cells are queried concurrently; cells whose query fails or times out are skipped.
+   *
+   * @param geohashCells Geohash cells of at least {@value
+   *     GeohashUtil#GEO_INDEX_PARTITION_PRECISION} characters, e.g. from {@link
+   *     GeohashUtil#coverCircle}
+   * @return Experiences in those cells
+   */
+  public List<Experience> findByGeohashCells(List<String> geohashCells) {
+    if (dynamoDbAsyncClient == null) {
+      List<Experience> experiences = new ArrayList<>();
+      for (String cell : geohashCells) {
+        try {
+          QueryRequest queryRequest = buildGeoCellQuery(cell);
+          QueryResponse response;
+          do {
+            response = dynamoDbClient.query(queryRequest);
+            experiences.addAll(toExperiences(response));
+            queryRequest =
+                queryRequest.toBuilder().exclusiveStartKey(response.lastEvaluatedKey()).build();
+          } while (response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty());
+        } catch (Exception e) {
+          RequestLog.error("Error querying GSI4 for geohash " + cell + ": " + e.getMessage());
+        }
+      }
+      return experiences;
+    }
+    return findByGeohashCellsAsync(geohashCells).join();
+  }
+
+  /**
+   * Async twin of {@link #findByGeohashCells(List)}; the returned future does not fail.
+   *
+   * @param geohashCells Geohash cells of at least {@value
+   *     GeohashUtil#GEO_INDEX_PARTITION_PRECISION} characters
+   * @return Future of the experiences in those cells
+   */
+  public CompletableFuture<List<Experience>> findByGeohashCellsAsync(List<String> geohashCells) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByGeohashCells(geohashCells));
+    }
+    return AsyncFanOut.runAsync(
+            geohashCells,
+            cell -> queryAllPagesAsync(buildGeoCellQuery(cell), new ArrayList<>()),
+            MAX_CONCURRENT_VENUE_QUERIES,
+            VENUE_QUERY_TIMEOUT)
+        .thenApply(result -> mergeCells(geohashCells, result));
+  }
+
+  private static List<Experience> mergeCells(
+      List<String> geohashCells, AsyncFanOut.Result<List<Experience>> result) {
+    List<Experience> experiences = new ArrayList<>();
+    for (List<Experience> cellExperiences : result.getResults()) {
+      experiences.addAll(cellExperiences);
+    }
+    if (result.isPartial()) {
+      RequestLog.warn(
+          ""
+              + result.getFailures().size()
+              + " of "
+              + geohashCells.size()
+              + " geohash cell queries failed, returning partial results: "
+              + result.getFailures().get(0).getMessage());
+    }
+
+    return experiences;
+  }
+
+  /**
+   * Read every experience in the geo index (Scan on GSI4), to load an in-memory spatial index.
+   *
+   * @return Compact experiences (geo projection)
+   */
+  public List<Experience> findGeoIndexed() {
+    return DynamoDbPaging.scanItems(dynamoDbClient, geoIndexScan())
+        .map(this::fromAttributeMap)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Async twin of {@link #findGeoIndexed()}.
+   *
+   * @return Future of the compact experiences
+   */
+  public CompletableFuture<List<Experience>> findGeoIndexedAsync() {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(this::findGeoIndexed);
+    }
+    return DynamoDbPaging.scanItemsAsync(dynamoDbAsyncClient, geoIndexScan())
+        .thenApply(items -> toExperiences(List.of(items)));
+  }
+
+  /**
+   * Read every experience saved at or after a watermark from the geo change feed (one Query on GSI6
+   * per UTC hour since the watermark), to refresh an in-memory spatial index. Experiences whose
+   * coordinates were cleared or that were deleted are included, so callers can drop them.
+   *
+   * @param savedSince Watermark
+   * @return Compact experiences (geo projection) saved since the watermark
+   */
+  public List<Experience> findGeoChangedSince(Instant savedSince) {
+    List<Experience> experiences = new ArrayList<>();
+    for (QueryRequest hourQuery : geoFeedQueries(savedSince, Instant.now())) {
+      DynamoDbPaging.queryItems(dynamoDbClient, hourQuery)
+          .map(this::fromAttributeMap)
+          .forEach(experiences::add);
+    }
+    return experiences;
+  }
+
+  /**
+   * Async twin of {@link #findGeoChangedSince(Instant)}; the hours are queried concurrently.
+   *
+   * @param savedSince Watermark
+   * @return Future of the compact experiences saved since the watermark
+   */
+  public CompletableFuture<List<Experience>> findGeoChangedSinceAsync(Instant savedSince) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findGeoChangedSince(savedSince));
+    }
+    List<CompletableFuture<List<Map<String, AttributeValue>>>> hours = new ArrayList<>();
+    for (QueryRequest hourQuery : geoFeedQueries(savedSince, Instant.now())) {
+      hours.add(DynamoDbPaging.queryItemsAsync(dynamoDbAsyncClient, hourQuery));
+    }
+    return CompletableFuture.allOf(hours.toArray(new CompletableFuture<?>[0]))
+        .thenApply(done -> toExperiences(hours.stream().map(CompletableFuture::join).toList()));
+  }
+
+  private List<Experience> toExperiences(List<List<Map<String, AttributeValue>>> pages) {
+    List<Experience> experiences = new ArrayList<>();
+    for (List<Map<String, AttributeValue>> items : pages) {
+      for (Map<String, AttributeValue> item : items) {
+        experiences.add(fromAttributeMap(item));
+      }
+    }
+    return experiences;
+  }
+
+  private ScanRequest geoIndexScan() {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(
+        ":geoPkPrefix", AttributeValue.builder().s(GEO_INDEX_PK_PREFIX).build());
+
+    return ScanRequest.builder()
+        .tableName(tableName)
+        .indexName(GEO_INDEX_NAME)
+        .filterExpression("begins_with(GSI4PK, :geoPkPrefix)")
+        .projectionExpression(GEO_PROJECTION)
+        .expressionAttributeNames(geoProjectionNames())
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  /** One query per UTC hour partition of the change feed from the watermark's hour to now's. */
+  private List<QueryRequest> geoFeedQueries(Instant savedSince, Instant now) {
+    List<QueryRequest> queries = new ArrayList<>();
+    Instant hour = savedSince.truncatedTo(ChronoUnit.HOURS);
+    for (; !hour.isAfter(now); hour = hour.plus(1, ChronoUnit.HOURS)) {
+      Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+      expressionAttributeValues.put(
+          ":hour",
+          AttributeValue.builder().s(GEO_FEED_PK_PREFIX + GEO_FEED_HOUR.format(hour)).build());
+      String keyCondition = "GSI6PK = :hour";
+      if (queries.isEmpty()) {
+        expressionAttributeValues.put(
+            ":savedSince", AttributeValue.builder().s(savedSince.toString()).build());
+        keyCondition += " AND GSI6SK >= :savedSince";
+      }
+      queries.add(
+          QueryRequest.builder()
+              .tableName(tableName)
+              .indexName(GEO_FEED_INDEX_NAME)
+              .keyConditionExpression(keyCondition)
+              .projectionExpression(GEO_PROJECTION)
+              .expressionAttributeNames(geoProjectionNames())
+              .expressionAttributeValues(expressionAttributeValues)
+              .build());
+    }
+    return queries;
+  }
+
+  private static Map<String, String> geoProjectionNames() {
+    Map<String, String> expressionAttributeNames = new HashMap<>();
+    expressionAttributeNames.put("#type", "type");
+    expressionAttributeNames.put("#status", "status");
+    return expressionAttributeNames;
+  }
+
+  private QueryRequest buildGeoCellQuery(String cell) {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(
+        ":geoPk",
+        AttributeValue.builder()
+            .s(GEO_INDEX_PK_PREFIX + cell.substring(0, GeohashUtil.GEO_INDEX_PARTITION_PRECISION))
+            .build());
+    expressionAttributeValues.put(":cell", AttributeValue.builder().s(cell).build());
+
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .indexName(GEO_INDEX_NAME)
+        .keyConditionExpression("GSI4PK = :geoPk AND begins_with(GSI4SK, :cell)")
+        .projectionExpression(GEO_PROJECTION)
+        .expressionAttributeNames(geoProjectionNames())
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  private CompletableFuture<List<Experience>> queryAllPagesAsync(
+      QueryRequest queryRequest, List<Experience> experiences) {
+    return dynamoDbAsyncClient
+        .query(queryRequest)
+        .thenCompose(
+            response -> {
+              experiences.addAll(toExperiences(response));
+              if (response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()) {
+                return queryAllPagesAsync(
+                    queryRequest.toBuilder().exclusiveStartKey(response.lastEvaluatedKey()).build(),
+                    experiences);
+              }
+              return CompletableFuture.completedFuture(experiences);
+            });
+  }
+
+  private QueryRequest buildVenueQuery(String venueId) {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(":venueId", AttributeValue.builder().s(venueId).build());
+
+    // GSI1 partition key is GSI1PK (must match venueId value)
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .indexName("GSI1") // VenueId-ExperienceId index
+        .keyConditionExpression("GSI1PK = :venueId")
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  private List<Experience> toExperiences(QueryResponse response) {
+    List<Experience> experiences = new ArrayList<>(response.items().size());
+    for (Map<String, AttributeValue> item : response.items()) {
+      experiences.add(fromAttributeMap(item));
+    }
+    return experiences;
+  }
+
+  /** Convert Experience to DynamoDB AttributeValue map. */
+  private Map<String, AttributeValue> toAttributeMap(Experience experience) {
+    Map<String, AttributeValue> item =
+        AttributeValues.newItem(ExperienceAttributes.ATTRIBUTE_COUNT + 8);
+
+    // Use entity type prefix for single-table design
+    // PK = "EXPERIENCE#experienceId", SK = sk
+    String pk = "EXPERIENCE#" + experience.getExperienceId();
+    item.put("pk", AttributeValue.builder().s(pk).build()); // pk is the PK field
+    item.put("sk", AttributeValue.builder().s(ITEM_SK).build());
+
+    item.put("experienceId", AttributeValue.builder().s(experience.getExperienceId()).build());
+    item.put("createdAt", AttributeValue.builder().s(experience.getCreatedAt().toString()).build());
+    ExperienceAttributes.write(experience, item);
+
+    // Link to VenueLocation (GSI1: venueId -> experienceId)
+    if (experience.getVenueId() != null) {
+      item.put("GSI1PK", AttributeValue.builder().s(experience.getVenueId()).build());
+      item.put("GSI1SK", AttributeValue.builder().s(experience.getExperienceId()).build());
+    }
+
+    // GSI4 geo index keys - only for located experiences (sparse index)
+    if (experience.getLatitude() != null && experience.getLongitude() != null) {
+      String geohash =
+          GeohashUtil.calculateGeohash(
+              experience.getLatitude(),
+              experience.getLongitude(),
+              GeohashUtil.GEO_INDEX_SORT_PRECISION);
+      item.put(
+          "GSI4PK",
+          AttributeValue.builder()
+              .s(
+                  GEO_INDEX_PK_PREFIX
+                      + geohash.substring(0, GeohashUtil.GEO_INDEX_PARTITION_PRECISION))
+              .build());
+      item.put(
+          "GSI4SK",
+          AttributeValue.builder().s(geohash + "#" + experience.getExperienceId()).build());
+    }
+
+    // GSI6 geo change feed keys - on every save, so moves and clears are seen incrementally
+    Instant updatedAt = experience.getUpdatedAt();
+    if (updatedAt != null) {
+      item.put(
+          "GSI6PK",
+          AttributeValue.builder().s(GEO_FEED_PK_PREFIX + GEO_FEED_HOUR.format(updatedAt)).build());
+      item.put(
+          "GSI6SK",
+          AttributeValue.builder().s(updatedAt + "#" + experience.getExperienceId()).build());
+    }
+
+    return item;
+  }
+
+  /** Convert DynamoDB AttributeValue map to Experience. */
+  private Experience fromAttributeMap(Map<String, AttributeValue> item) {
+    Experience experience = ExperienceAttributes.read(item);
+
+    String experienceId = AttributeValues.getString(item, "experienceId");
+    if (experienceId != null) {
+      experience.setExperienceId(experienceId);
+    }
+    // Read from createdAt, or from sk for legacy items keyed by creation time
+    String createdAt = AttributeValues.getString(item, "createdAt");
+    if (createdAt == null) {
+      String sk = AttributeValues.getString(item, "sk");
+      createdAt = ITEM_SK.equals(sk) ? null : sk;
+    }
+    if (createdAt != null) {
+      experience.setCreatedAt(AttributeValues.parseInstant(createdAt));
+    }
+
+    return experience;
+  }
+}
@@ -0,0 +1,1240 @@
+package com.yourafterspace.yas_backend.dao;
+
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.dao.mapping.GroupAttributes;
+import com.yourafterspace.yas_backend.exception.BadRequestException;
+import com.yourafterspace.yas_backend.model.Group;
+import com.yourafterspace.yas_backend.util.Futures;
+import com.yourafterspace.yas_backend.util.RequestLog;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Data Access Object (DAO) for Group entity operations in DynamoDB.
+ *
+ * <p>Why DAO? - Separation of concerns: Business logic separated from data access - Reusability:
+ * Can be used in Lambda handlers, Spring services, etc. - Testability: Easy to mock for unit
+ * testing - Maintainability: Changes to DynamoDB schema only affect this class
+ *
+ * <p>Table structure: PK: GROUP#{group_id}, SK: UserId GSI1-PK: UserId, GSI1-SK: groupId
+ *
+ * <p>Every member and the creator of a group also has a membership item, PK: USER#{userId}, SK:
+ * GROUP#{groupId}, holding the key of the group item. They are written in the same
+ * TransactWriteItems as the group, so the groups of a user are one Query on the user's partition
+ * plus a BatchGetItem of the group items, regardless of table size.
+ *
+ * <p>Every finder and writer has an {@code Async} twin returning a CompletableFuture, so that a
+ * caller can overlap independent lookups (see {@link Futures}). The twins use the async client when
+ * one is configured and otherwise run the blocking method on the caller's thread.
+ */
+public class GroupDao {
+
+  /** Partition key prefix of membership items. */
+  static final String MEMBER_PK_PREFIX = "USER#";
+
+  private static final String MEMBER_RECORD_TYPE = "GROUP_MEMBER";
+
+  /** DynamoDB limit of items per TransactWriteItems call. */
+  private static final int TRANSACT_MAX_ITEMS = 100;
+
+  /** Attempts of a save whose group changed between the read and the write. */
+  private static final int MAX_SAVE_ATTEMPTS = 3;
+
+  /** DynamoDB limit of keys per BatchGetItem call. */
+  private static final int BATCH_GET_MAX_KEYS = 100;
+
+  /** DynamoDB limit of items per BatchWriteItem call. */
+  private static final int BATCH_WRITE_MAX_ITEMS = 25;
+
+  /** Maximum number of BatchGetItem/BatchWriteItem attempts for unprocessed items. */
+  private static final int BATCH_MAX_ATTEMPTS = 5;
+
+  /** Backoff before the first retry of unprocessed items, doubled on each further retry. */
+  private static final long BATCH_BASE_BACKOFF_MILLIS = 50;
+
+  /** Marker item written once the membership items of all existing groups have been created. */
+  private static final Map<String, AttributeValue> BACKFILL_MARKER_KEY =
+      Map.of(
+          "pk", AttributeValue.builder().s("GROUP_MEMBER#META").build(),
+          "sk", AttributeValue.builder().s("BACKFILL").build());
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final String tableName;
+
+  public GroupDao(DynamoDbClient dynamoDbClient, String tableName) {
+    this(dynamoDbClient, null, tableName);
+  }
+
+  /**
+   * Create a DAO whose {@code Async} methods run on the async client.
+   *
+   * @param dynamoDbClient Sync client used by the blocking methods
+   * @param dynamoDbAsyncClient Async client used by the {@code Async} methods (null to run them on
+   *     the sync client)
+   * @param tableName DynamoDB table name
+   */
+  public GroupDao(
+      DynamoDbClient dynamoDbClient, DynamoDbAsyncClient dynamoDbAsyncClient, String tableName) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.tableName = tableName;
+  }
+
+  /**
+   * Save a group. Creates a new group or updates existing one. Uses UpdateItem for updates to
+   * preserve existing attributes not in the Group model.
+   *
+   * <p>Membership items of added members are put, and those of removed members deleted, in the same
+   * transaction as the group item. A save changes at most {@value #TRANSACT_MAX_ITEMS} - 1
+   * memberships at once, so the group and all its memberships always change together.
+   *
+   * <p>The update is conditioned on the group's updatedAt being the one read just before, so a
+   * concurrent {@link #addMembers} or {@link #removeMembers} (which bump updatedAt) is never
+   * overwritten: on a conflict the group is read again and the members the caller added to and
+   * removed from the group it read are applied to the current members, up to {@value
+   * #MAX_SAVE_ATTEMPTS} times.
+   *
+   * @param group Group to save
+   * @return Saved group
+   * @throws BadRequestException If the save would change more than 99 memberships
+   * @throws IllegalStateException If the group kept changing concurrently
+   */
+  public Group save(Group group) {
+    String normalizedGroupId = prepareSave(group);
+    List<String> wanted = memberList(group);
+
+    // Check if group exists
+    Optional<Group> read = findForSave(normalizedGroupId);
+    Optional<Group> existing = read;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        transactWrite(saveWrites(group, normalizedGroupId, existing));
+        return group;
+      } catch (TransactionCanceledException e) {
+        if (!isConditionalCheckFailure(e) || attempt == MAX_SAVE_ATTEMPTS) {
+          throw saveFailure(normalizedGroupId, e);
+        }
+      }
+      existing = findForSave(normalizedGroupId);
+      group.setMemberUserIds(rebasedMembers(wanted, read, existing));
+    }
+  }
+
+  /**
+   * Async twin of {@link #save(Group)}: reads the existing group, then writes the transaction,
+   * reading again and retrying on a conflict like the blocking save.
+   *
+   * @param group Group to save
+   * @return Future of the saved group
+   */
+  public CompletableFuture<Group> saveAsync(Group group) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> save(group));
+    }
+    String normalizedGroupId = prepareSave(group);
+    List<String> wanted = memberList(group);
+    return findForSaveAsync(normalizedGroupId)
+        .thenCompose(read -> saveAsync(group, normalizedGroupId, wanted, read, read, 1));
+  }
+
+  private CompletableFuture<Group> saveAsync(
+      Group group,
+      String normalizedGroupId,
+      List<String> wanted,
+      Optional<Group> read,
+      Optional<Group> existing,
+      int attempt) {
+    return transactWriteAsync(saveWrites(group, normalizedGroupId, existing))
+        .thenApply(done -> group)
+        .exceptionallyCompose(
+            error -> {
+              Throwable cause = Futures.unwrap(error);
+              if (!(cause instanceof TransactionCanceledException)) {
+                return CompletableFuture.failedFuture(error);
+              }
+              TransactionCanceledException canceled = (TransactionCanceledException) cause;
+              if (!isConditionalCheckFailure(canceled) || attempt == MAX_SAVE_ATTEMPTS) {
+                return CompletableFuture.failedFuture(saveFailure(normalizedGroupId, canceled));
+              }
+              return findForSaveAsync(normalizedGroupId)
+                  .thenCompose(
+                      current -> {
+                        group.setMemberUserIds(rebasedMembers(wanted, read, current));
+                        return saveAsync(
+                            group, normalizedGroupId, wanted, read, current, attempt + 1);
+                      });
+            });
+  }
+
+  /** Consistent read of the group a save is about to update. */
+  private Optional<Group> findForSave(String normalizedGroupId) {
+    QueryResponse response = dynamoDbClient.query(latestGroupQuery(normalizedGroupId, "2", true));
+    if (response.items().isEmpty()) {
+      response = dynamoDbClient.query(latestGroupQuery(normalizedGroupId, "1", true));
+    }
+    return latestGroup(response);
+  }
+
+  private CompletableFuture<Optional<Group>> findForSaveAsync(String normalizedGroupId) {
+    return dynamoDbAsyncClient
+        .query(latestGroupQuery(normalizedGroupId, "2", true))
+        .thenCompose(
+            response ->
+                response.items().isEmpty()
+                    ? dynamoDbAsyncClient.query(latestGroupQuery(normalizedGroupId, "1", true))
+                    : CompletableFuture.completedFuture(response))
+        .thenApply(this::latestGroup);
+  }
+
+  /**
+   * The members a save writes after a conflict: the members of the group as stored now, plus those
+   * the caller added to and minus those it removed from the group it read.
+   */
+  private static List<String> rebasedMembers(
+      List<String> wanted, Optional<Group> read, Optional<Group> current) {
+    List<String> before = read.map(GroupDao::memberList).orElse(List.of());
+    Set<String> members = new LinkedHashSet<>(current.map(GroupDao::memberList).orElse(List.of()));
+    members.removeIf(userId -> before.contains(userId) && !wanted.contains(userId));
+    for (String userId : wanted) {
+      if (!before.contains(userId)) {
+        members.add(userId);
+      }
+    }
+    return new ArrayList<>(members);
+  }
+
+  private static List<String> memberList(Group group) {
+    return group.getMemberUserIds() != null
+        ? new ArrayList<>(group.getMemberUserIds())
+        : new ArrayList<>();
+  }
+
+  /** Whether the group item (the first write of a save) failed its condition. */
+  private static boolean isConditionalCheckFailure(TransactionCanceledException e) {
+    return e.hasCancellationReasons()
+        && !e.cancellationReasons().isEmpty()
+        && "ConditionalCheckFailed".equals(e.cancellationReasons().get(0).code());
+  }
+
+  private static RuntimeException saveFailure(
+      String normalizedGroupId, TransactionCanceledException e) {
+    if (!isConditionalCheckFailure(e)) {
+      return e;
+    }
+    return new IllegalStateException(
+        "Group "
+            + normalizedGroupId
+            + " kept changing concurrently; not saved after "
+            + MAX_SAVE_ATTEMPTS
+            + " attempts",
+        e);
+  }
+
+  /** Set the timestamps of a group about to be saved and return its normalized groupId. */
+  private static String prepareSave(Group group) {
+    group.setUpdatedAt(Instant.now());
+    if (group.getCreatedAt() == null) {
+      group.setCreatedAt(Instant.now());
+    }
+    return normalizeGroupId(group.getGroupId());
+  }
+
+  /** Writes of a save: the group item plus the membership items of added and removed members. */
+  private List<TransactWriteItem> saveWrites(
+      Group group, String normalizedGroupId, Optional<Group> existing) {
+    List<TransactWriteItem> writes = new ArrayList<>();
+    Map<String, AttributeValue> groupKey;
+    if (existing.isPresent()) {
+      // Use UpdateItem to preserve existing attributes (like experienceId if present), only if
+      // the group is still as read
+      Update update = buildGroupUpdate(group, existing.get());
+      groupKey = update.key();
+      writes.add(TransactWriteItem.builder().update(update).build());
+    } else {
+      // Use PutItem for new groups
+      Map<String, AttributeValue> item = toAttributeMap(group);
+      groupKey = Map.of("pk", item.get("pk"), "sk", item.get("sk"));
+      writes.add(
+          TransactWriteItem.builder()
+              .put(Put.builder().tableName(tableName).item(item).build())
+              .build());
+    }
+
+    Set<String> before = existing.map(GroupDao::membersAndCreator).orElse(Set.of());
+    Set<String> after = membersAndCreator(group);
+    for (String userId : after) {
+      if (!before.contains(userId)) {
+        writes.add(putMembership(userId, normalizedGroupId, groupKey));
+      }
+    }
+    for (String userId : before) {
+      if (!after.contains(userId)) {
+        writes.add(deleteMembership(userId, normalizedGroupId));
+      }
+    }
+    return writes;
+  }
+
+  /**
+   * Add members to a group with an atomic ADD on memberUserIds, putting their membership items in
+   * the same transaction. Concurrent additions never overwrite each other.
+   *
+   * @param group Group as read (a creator set on it is stored if the group has none yet)
+   * @param userIds Users to add
+   * @return The group
+   * @throws BadRequestException If more than 99 members are added at once
+   */
+  public Group addMembers(Group group, Collection<String> userIds) {
+    Set<String> added = trimmedUserIds(userIds);
+    if (added.isEmpty()) {
+      return group;
+    }
+    transactWrite(addMembersWrites(group, added));
+    return group;
+  }
+
+  /**
+   * Async twin of {@link #addMembers(Group, Collection)}.
+   *
+   * @param group Group as read
+   * @param userIds Users to add
+   * @return Future of the group
+   */
+  public CompletableFuture<Group> addMembersAsync(Group group, Collection<String> userIds) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> addMembers(group, userIds));
+    }
+    Set<String> added = trimmedUserIds(userIds);
+    if (added.isEmpty()) {
+      return CompletableFuture.completedFuture(group);
+    }
+    return transactWriteAsync(addMembersWrites(group, added)).thenApply(done -> group);
+  }
+
+  private List<TransactWriteItem> addMembersWrites(Group group, Set<String> added) {
+    group.setUpdatedAt(Instant.now());
+    String normalizedGroupId = normalizeGroupId(group.getGroupId());
+    Map<String, AttributeValue> key = groupItemKey(group);
+
+    String updateExpression = "ADD memberUserIds :members SET updatedAt = :updatedAt";
+    Map<String, AttributeValue> values = new HashMap<>();
+    values.put(":members", AttributeValue.builder().ss(added).build());
+    values.put(":updatedAt", AttributeValue.builder().s(group.getUpdatedAt().toString()).build());
+    Set<String> memberships = new LinkedHashSet<>(added);
+    if (group.getUserId() != null && !group.getUserId().isBlank()) {
+      updateExpression += ", creatorUserId = if_not_exists(creatorUserId, :creator)";
+      values.put(":creator", AttributeValue.builder().s(group.getUserId()).build());
+      memberships.add(group.getUserId().trim());
+    }
+
+    List<TransactWriteItem> writes = new ArrayList<>();
+    writes.add(
+        TransactWriteItem.builder()
+            .update(
+                Update.builder()
+                    .tableName(tableName)
+                    .key(key)
+                    .updateExpression(updateExpression)
+                    .conditionExpression("attribute_exists(pk)")
+                    .expressionAttributeValues(values)
+                    .build())
+            .build());
+    for (String userId : memberships) {
+      writes.add(putMembership(userId, normalizedGroupId, key));
+    }
+    return writes;
+  }
+
+  /**
+   * Remove members from a group with an atomic DELETE on memberUserIds, deleting their membership
+   * items in the same transaction. The creator keeps its membership item.
+   *
+   * @param group Group as read
+   * @param userIds Users to remove, exactly as stored in memberUserIds
+   * @return The group
+   * @throws BadRequestException If more than 99 members are removed at once
+   */
+  public Group removeMembers(Group group, Collection<String> userIds) {
+    Set<String> removed = removedUserIds(userIds);
+    if (removed.isEmpty()) {
+      return group;
+    }
+    transactWrite(removeMembersWrites(group, removed));
+    return group;
+  }
+
+  /**
+   * Async twin of {@link #removeMembers(Group, Collection)}.
+   *
+   * @param group Group as read
+   * @param userIds Users to remove, exactly as stored in memberUserIds
+   * @return Future of the group
+   */
+  public CompletableFuture<Group> removeMembersAsync(Group group, Collection<String> userIds) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> removeMembers(group, userIds));
+    }
+    Set<String> removed = removedUserIds(userIds);
+    if (removed.isEmpty()) {
+      return CompletableFuture.completedFuture(group);
+    }
+    return transactWriteAsync(removeMembersWrites(group, removed)).thenApply(done -> group);
+  }
+
+  private static Set<String> removedUserIds(Collection<String> userIds) {
+    Set<String> removed = new LinkedHashSet<>(userIds);
+    removed.removeIf(userId -> userId == null || userId.isEmpty());
+    return removed;
+  }
+
+  private List<TransactWriteItem> removeMembersWrites(Group group, Set<String> removed) {
+    group.setUpdatedAt(Instant.now());
+    String normalizedGroupId = normalizeGroupId(group.getGroupId());
+    String creator = group.getUserId() != null ? group.getUserId().trim() : null;
+
+    List<TransactWriteItem> writes = new ArrayList<>();
+    writes.add(
+        TransactWriteItem.builder()
+            .update(
+                Update.builder()
+                    .tableName(tableName)
+                    .key(groupItemKey(group))
+                    .updateExpression("DELETE memberUserIds :members SET updatedAt = :updatedAt")
+                    .conditionExpression("attribute_exists(pk)")
+                    .expressionAttributeValues(
+                        Map.of(
+                            ":members", AttributeValue.builder().ss(removed).build(),
+                            ":updatedAt",
+                                AttributeValue.builder()
+                                    .s(group.getUpdatedAt().toString())
+                                    .build()))
+                    .build())
+            .build());
+    for (String userId : trimmedUserIds(removed)) {
+      if (!userId.equals(creator)) {
+        writes.add(deleteMembership(userId, normalizedGroupId));
+      }
+    }
+    return writes;
+  }
+
+  /**
+   * Build the update of an existing group that preserves attributes not in the Group model.
+   *
+   * @param group Group with updated values
+   * @param existing Existing group from database
+   * @return Update of the group item
+   */
+  private Update buildGroupUpdate(Group group, Group existing) {
+    // Build key
+    String normalizedGroupId =
+        group.getGroupId().startsWith("GROUP#")
+            ? group.getGroupId()
+            : "GROUP#" + group.getGroupId();
+
+    Map<String, AttributeValue> key = new HashMap<>();
+    key.put("pk", AttributeValue.builder().s(normalizedGroupId).build());
+    key.put("sk", AttributeValue.builder().s(existing.getCreatedAt().toString()).build());
+
+    // Build update expression
+    // Use expression attribute names for reserved keywords (like "status")
+    Map<String, String> expressionAttributeNames = new HashMap<>();
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    List<String> updateParts = new ArrayList<>();
+
+    // Update memberUserIds
+    List<String> memberUserIds = group.getMemberUserIds();
+    if (memberUserIds == null) {
+      memberUserIds = new ArrayList<>();
+    }
+    if (memberUserIds.isEmpty()) {
+      updateParts.add("memberUserIds = :memberUserIds");
+      expressionAttributeValues.put(
+          ":memberUserIds", AttributeValue.builder().ss(new String[0]).build());
+    } else {
+      updateParts.add("memberUserIds = :memberUserIds");
+      expressionAttributeValues.put(
+          ":memberUserIds",
+          AttributeValue.builder().ss(memberUserIds.toArray(new String[0])).build());
+    }
+
+    // Update groupName if provided
+    if (group.getGroupName() != null) {
+      updateParts.add("groupName = :groupName");
+      expressionAttributeValues.put(
+          ":groupName", AttributeValue.builder().s(group.getGroupName()).build());
+    }
+
+    // Update description if provided
+    if (group.getDescription() != null) {
+      updateParts.add("description = :description");
+      expressionAttributeValues.put(
+          ":description", AttributeValue.builder().s(group.getDescription()).build());
+    }
+
+    // Update status if provided - use expression attribute name since "status" is a reserved
+    // keyword
+    if (group.getStatus() != null) {
+      expressionAttributeNames.put("#status", "status");
+      updateParts.add("#status = :status");
+      expressionAttributeValues.put(
+          ":status", AttributeValue.builder().s(group.getStatus().getValue()).build());
+    }
+
+    // Always update updatedAt
+    updateParts.add("updatedAt = :updatedAt");
+    expressionAttributeValues.put(
+        ":updatedAt", AttributeValue.builder().s(group.getUpdatedAt().toString()).build());
+
+    // Update GSI5 attributes if userId is present
+    if (group.getUserId() != null && !group.getUserId().isBlank()) {
+      updateParts.add("GSI5PK = :gsi5pk");
+      updateParts.add("GSI5SK = :gsi5sk");
+      expressionAttributeValues.put(
+          ":gsi5pk", AttributeValue.builder().s(group.getUserId()).build());
+      expressionAttributeValues.put(
+          ":gsi5sk", AttributeValue.builder().s(normalizedGroupId).build());
+    }
+
+    // Build update expression
+    String updateExpression = "SET " + String.join(", ", updateParts);
+
+    // Only update the group as read: addMembers/removeMembers and other saves bump updatedAt
+    String conditionExpression;
+    if (existing.getUpdatedAt() != null) {
+      conditionExpression = "updatedAt = :readUpdatedAt";
+      expressionAttributeValues.put(
+          ":readUpdatedAt", AttributeValue.builder().s(existing.getUpdatedAt().toString()).build());
+    } else {
+      conditionExpression = "attribute_exists(pk) AND attribute_not_exists(updatedAt)";
+    }
+
+    // Update item (this preserves attributes not mentioned in the update expression)
+    Update.Builder updateBuilder =
+        Update.builder()
+            .tableName(tableName)
+            .key(key)
+            .updateExpression(updateExpression)
+            .conditionExpression(conditionExpression)
+            .expressionAttributeValues(expressionAttributeValues);
+
+    // Only add expressionAttributeNames if we have reserved keywords
+    if (!expressionAttributeNames.isEmpty()) {
+      updateBuilder.expressionAttributeNames(expressionAttributeNames);
+    }
+
+    return updateBuilder.build();
+  }
+
+  /**
+   * Find a group by groupId. Returns the first group found (groups can have multiple users).
+   *
+   * <p>Note: The table uses "userId" as the partition key attribute name, and groups are stored
+   * with the groupId (with GROUP# prefix) as the partition key value.
+   *
+   * @param groupId Group ID (with or without GROUP# prefix)
+   * @return Optional containing the group if found
+   */
+  public Optional<Group> findByGroupId(String groupId) {
+    String normalizedGroupId = normalizeGroupId(groupId);
+
+    QueryResponse response = dynamoDbClient.query(latestGroupQuery(normalizedGroupId, "2"));
+    logItems("GroupDao.findByGroupId - Found", normalizedGroupId, response);
+
+    // If no results with "2" prefix (years 2000+), try "1" prefix (years 1000-1999)
+    if (response.items().isEmpty()) {
+      response = dynamoDbClient.query(latestGroupQuery(normalizedGroupId, "1"));
+      logItems("GroupDao.findByGroupId - Fallback query found", normalizedGroupId, response);
+    }
+
+    return latestGroup(response);
+  }
+
+  /** Log the sort keys of the items a group lookup found, if debug lines are written. */
+  private static void logItems(String label, String normalizedGroupId, QueryResponse response) {
+    if (!RequestLog.isDebugEnabled()) {
+      return;
+    }
+    List<Map<String, AttributeValue>> items = response.items();
+    RequestLog.debug(() -> label + " " + items.size() + " items for groupId: " + normalizedGroupId);
+    for (int i = 0; i < items.size(); i++) {
+      Map<String, AttributeValue> item = items.get(i);
+      int index = i;
+      RequestLog.debug(
+          () ->
+              "Item "
+                  + index
+                  + " - sk: "
+                  + (item.containsKey("sk") ? item.get("sk").s() : "null")
+                  + ", has memberUserIds: "
+                  + item.containsKey("memberUserIds"));
+    }
+  }
+
+  /**
+   * Async twin of {@link #findByGroupId(String)}.
+   *
+   * @param groupId Group ID (with or without GROUP# prefix)
+   * @return Future of the group, empty if not found
+   */
+  public CompletableFuture<Optional<Group>> findByGroupIdAsync(String groupId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByGroupId(groupId));
+    }
+    String normalizedGroupId = normalizeGroupId(groupId);
+    return dynamoDbAsyncClient
+        .query(latestGroupQuery(normalizedGroupId, "2"))
+        .thenCompose(
+            response ->
+                response.items().isEmpty()
+                    ? dynamoDbAsyncClient.query(latestGroupQuery(normalizedGroupId, "1"))
+                    : CompletableFuture.completedFuture(response))
+        .thenApply(this::latestGroup);
+  }
+
+  /**
+   * Query for the latest item of a group.
+   *
+   * <p>Note: The table uses "pk" as the partition key attribute and the createdAt timestamp as the
+   * sort key "sk". For composite keys DynamoDB requires both PK and SK conditions, hence the
+   * begins_with on the sort key: ISO 8601 timestamps start with the year, so "2" matches the years
+   * 2000-2999 and "1" the years 1000-1999.
+   *
+   * @param normalizedGroupId Group ID with GROUP# prefix
+   * @param skPrefix Prefix of the sort key
+   */
+  private QueryRequest latestGroupQuery(String normalizedGroupId, String skPrefix) {
+    return latestGroupQuery(normalizedGroupId, skPrefix, false);
+  }
+
+  private QueryRequest latestGroupQuery(
+      String normalizedGroupId, String skPrefix, boolean consistentRead) {
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression("pk = :pk AND begins_with(sk, :skPrefix)")
+        .expressionAttributeValues(
+            Map.of(
+                ":pk", AttributeValue.builder().s(normalizedGroupId).build(),
+                ":skPrefix", AttributeValue.builder().s(skPrefix).build()))
+        .scanIndexForward(false) // Get latest first
+        .limit(1)
+        .consistentRead(consistentRead)
+        .build();
+  }
+
+  private Optional<Group> latestGroup(QueryResponse response) {
+    if (response.items().isEmpty()) {
+      return Optional.empty();
+    }
+
+    // Return the first item (should be the latest due to scanIndexForward(false))
+    Map<String, AttributeValue> selectedItem = response.items().get(0);
+    RequestLog.debug(
+        () ->
+            "GroupDao.findByGroupId - Returning item with sk: "
+                + (selectedItem.containsKey("sk") ? selectedItem.get("sk").s() : "null"));
+    return Optional.of(fromAttributeMap(selectedItem));
+  }
+
+  /**
+   * Find all groups a user created or is a member of.
+   *
+   * <p>Queries the user's membership items and batch-gets the groups they point to.
+   *
+   * @param userId User ID
+   * @return List of groups the user belongs to
+   */
+  public List<Group> findByUserId(String userId) {
+    List<Map<String, AttributeValue>> groupKeys =
+        DynamoDbPaging.queryItems(dynamoDbClient, membershipQuery(userId))
+            .map(GroupDao::toGroupKey)
+            .collect(Collectors.toList());
+
+    List<Group> groups = findByKeys(groupKeys);
+    RequestLog.debug(
+        () -> "GroupDao.findByUserId - found " + groups.size() + " groups for user: " + userId);
+    return groups;
+  }
+
+  /**
+   * Read one page of the groups a user created or is a member of.
+   *
+   * <p>Pages through the user's membership items, so the cursor stays valid across pages.
+   *
+   * @param userId User ID
+   * @param limit Maximum number of groups on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return Page of groups
+   * @throws IllegalArgumentException If the cursor is malformed
+   */
+  public Page<Group> findByUserId(String userId, int limit, String cursor) {
+    Page<Map<String, AttributeValue>> groupKeys =
+        DynamoDbPaging.queryPage(
+            dynamoDbClient,
+            membershipQuery(userId),
+            GroupDao::toGroupKey,
+            key -> true,
+            limit,
+            cursor);
+
+    return new Page<>(findByKeys(groupKeys.getItems()), groupKeys.getNextCursor());
+  }
+
+  /**
+   * Async twin of {@link #findByUserId(String)}.
+   *
+   * @param userId User ID
+   * @return Future of the groups the user belongs to
+   */
+  public CompletableFuture<List<Group>> findByUserIdAsync(String userId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByUserId(userId));
+    }
+    return DynamoDbPaging.queryItemsAsync(dynamoDbAsyncClient, membershipQuery(userId))
+        .thenCompose(
+            memberships ->
+                findByKeysAsync(
+                    memberships.stream().map(GroupDao::toGroupKey).collect(Collectors.toList())));
+  }
+
+  /**
+   * Async twin of {@link #findByUserId(String, int, String)}.
+   *
+   * @param userId User ID
+   * @param limit Maximum number of groups on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return Future of the page of groups; fails with IllegalArgumentException if the cursor is
+   *     malformed
+   */
+  public CompletableFuture<Page<Group>> findByUserIdAsync(String userId, int limit, String cursor) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByUserId(userId, limit, cursor));
+    }
+    return DynamoDbPaging.queryPageAsync(
+            dynamoDbAsyncClient,
+            membershipQuery(userId),
+            GroupDao::toGroupKey,
+            key -> true,
+            limit,
+            cursor)
+        .thenCompose(
+            groupKeys ->
+                findByKeysAsync(groupKeys.getItems())
+                    .thenApply(groups -> new Page<>(groups, groupKeys.getNextCursor())));
+  }
+
+  private QueryRequest membershipQuery(String userId) {
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression("pk = :pk AND begins_with(sk, :groupPrefix)")
+        .expressionAttributeValues(
+            Map.of(
+                ":pk", AttributeValue.builder().s(MEMBER_PK_PREFIX + userId.trim()).build(),
+                ":groupPrefix", AttributeValue.builder().s("GROUP#").build()))
+        .build();
+  }
+
+  /** Key of the group item a membership item points to. */
+  private static Map<String, AttributeValue> toGroupKey(Map<String, AttributeValue> membership) {
+    return Map.of("pk", membership.get("groupPk"), "sk", membership.get("groupSk"));
+  }
+
+  /**
+   * Batch-get group items by key, in chunks of 100, retrying unprocessed keys with exponential
+   * backoff. Groups are returned in the order of their keys; missing ones are skipped.
+   */
+  private List<Group> findByKeys(List<Map<String, AttributeValue>> keys) {
+    Map<String, Group> found = new HashMap<>();
+    for (int start = 0; start < keys.size(); start += BATCH_GET_MAX_KEYS) {
+      Map<String, KeysAndAttributes> requestItems = batchGetItems(keys, start);
+      for (int attempt = 1; !requestItems.isEmpty(); attempt++) {
+        if (attempt > BATCH_MAX_ATTEMPTS) {
+          throw batchGetFailure(requestItems);
+        }
+        if (attempt > 1) {
+          sleepBeforeRetry(attempt);
+        }
+        BatchGetItemResponse response =
+            dynamoDbClient.batchGetItem(
+                BatchGetItemRequest.builder().requestItems(requestItems).build());
+        requestItems = collectGroups(response, found);
+      }
+    }
+    return inKeyOrder(keys, found);
+  }
+
+  /**
+   * Async counterpart of {@link #findByKeys}; the chunks of 100 keys are read concurrently, and
+   * retries wait on a delayed executor instead of sleeping.
+   */
+  private CompletableFuture<List<Group>> findByKeysAsync(List<Map<String, AttributeValue>> keys) {
+    Map<String, Group> found = new ConcurrentHashMap<>();
+    List<CompletableFuture<Void>> chunks = new ArrayList<>();
+    for (int start = 0; start < keys.size(); start += BATCH_GET_MAX_KEYS) {
+      chunks.add(batchGetAsync(batchGetItems(keys, start), 1, found));
+    }
+    return Futures.allOf(chunks).thenApply(done -> inKeyOrder(keys, found));
+  }
+
+  private CompletableFuture<Void> batchGetAsync(
+      Map<String, KeysAndAttributes> requestItems, int attempt, Map<String, Group> found) {
+    if (requestItems.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    if (attempt > BATCH_MAX_ATTEMPTS) {
+      return CompletableFuture.failedFuture(batchGetFailure(requestItems));
+    }
+    CompletableFuture<Void> backoff =
+        attempt > 1
+            ? CompletableFuture.runAsync(
+                () -> {},
+                CompletableFuture.delayedExecutor(backoffMillis(attempt), TimeUnit.MILLISECONDS))
+            : CompletableFuture.completedFuture(null);
+    return backoff
+        .thenCompose(
+            ready ->
+                dynamoDbAsyncClient.batchGetItem(
+                    BatchGetItemRequest.builder().requestItems(requestItems).build()))
+        .thenCompose(response -> batchGetAsync(collectGroups(response, found), attempt + 1, found));
+  }
+
+  /** Request items of the chunk of at most 100 keys starting at an index. */
+  private Map<String, KeysAndAttributes> batchGetItems(
+      List<Map<String, AttributeValue>> keys, int start) {
+    return Map.of(
+        tableName,
+        KeysAndAttributes.builder()
+            .keys(keys.subList(start, Math.min(keys.size(), start + BATCH_GET_MAX_KEYS)))
+            .build());
+  }
+
+  /** Add the groups of a BatchGetItem response by key and return the unprocessed keys. */
+  private Map<String, KeysAndAttributes> collectGroups(
+      BatchGetItemResponse response, Map<String, Group> found) {
+    for (Map<String, AttributeValue> item :
+        response.responses().getOrDefault(tableName, List.of())) {
+      Group group = toGroup(item);
+      if (group != null) {
+        found.put(item.get("pk").s() + "|" + item.get("sk").s(), group);
+      }
+    }
+    return response.hasUnprocessedKeys() ? response.unprocessedKeys() : Map.of();
+  }
+
+  private IllegalStateException batchGetFailure(Map<String, KeysAndAttributes> requestItems) {
+    return new IllegalStateException(
+        "Failed to read "
+            + requestItems.get(tableName).keys().size()
+            + " groups after "
+            + BATCH_MAX_ATTEMPTS
+            + " attempts");
+  }
+
+  /** Groups found, in the order of their keys; missing ones are skipped. */
+  private static List<Group> inKeyOrder(
+      List<Map<String, AttributeValue>> keys, Map<String, Group> found) {
+    List<Group> groups = new ArrayList<>(found.size());
+    for (Map<String, AttributeValue> key : keys) {
+      Group group = found.get(key.get("pk").s() + "|" + key.get("sk").s());
+      if (group != null) {
+        groups.add(group);
+      }
+    }
+    return groups;
+  }
+
+  /**
+   * Whether {@link #backfillMemberships()} has completed on this table. Groups written before
+   * membership items existed are missing from {@link #findByUserId} until it has.
+   *
+   * @return true once the backfill marker item exists
+   */
+  public boolean isMembershipsBackfilled() {
+    return dynamoDbClient
+        .getItem(
+            GetItemRequest.builder()
+                .tableName(tableName)
+                .key(BACKFILL_MARKER_KEY)
+                .consistentRead(true)
+                .build())
+        .hasItem();
+  }
+
+  /**
+   * Create the membership items of groups written before membership items existed and record it
+   * with a marker item. Scans the whole table, so it runs as an offline migration, never inside a
+   * request; it is idempotent and can be run again after an interruption.
+   *
+   * @return Number of membership items written
+   */
+  public int backfillMemberships() {
+    ScanRequest scanRequest =
+        ScanRequest.builder()
+            .tableName(tableName)
+            .filterExpression(
+                "begins_with(groupId, :groupPrefix) AND attribute_exists(memberUserIds)")
+            .projectionExpression("pk, sk, groupId, memberUserIds, creatorUserId")
+            .expressionAttributeValues(
+                Map.of(":groupPrefix", AttributeValue.builder().s("GROUP#").build()))
+            .build();
+    List<WriteRequest> writes = new ArrayList<>();
+    DynamoDbPaging.scanItems(dynamoDbClient, scanRequest)
+        .forEach(
+            item -> {
+              Group group = fromAttributeMap(item);
+              Map<String, AttributeValue> groupKey =
+                  Map.of("pk", item.get("pk"), "sk", item.get("sk"));
+              for (String userId : membersAndCreator(group)) {
+                writes.add(
+                    WriteRequest.builder()
+                        .putRequest(
+                            PutRequest.builder()
+                                .item(
+                                    toMembershipItem(
+                                        userId, normalizeGroupId(group.getGroupId()), groupKey))
+                                .build())
+                        .build());
+              }
+            });
+    writeAll(writes);
+
+    Map<String, AttributeValue> marker = new HashMap<>(BACKFILL_MARKER_KEY);
+    marker.put("completedAt", AttributeValue.builder().s(Instant.now().toString()).build());
+    dynamoDbClient.putItem(PutItemRequest.builder().tableName(tableName).item(marker).build());
+    return writes.size();
+  }
+
+  /** Convert an item, or return null if it is not a Group item. */
+  private Group toGroup(Map<String, AttributeValue> item) {
+    // Filter to only include Group items (check for groupId attribute)
+    if (item.containsKey("groupId") && item.get("groupId").s().startsWith("GROUP#")) {
+      return fromAttributeMap(item);
+    }
+    return null;
+  }
+
+  /**
+   * Check if a group exists.
+   *
+   * @param groupId Group ID
+   * @return true if group exists, false otherwise
+   */
+  public boolean exists(String groupId) {
+    return findByGroupId(groupId).isPresent();
+  }
+
+  /**
+   * Async twin of {@link #exists(String)}.
+   *
+   * @param groupId Group ID
+   * @return Future of whether the group exists
+   */
+  public CompletableFuture<Boolean> existsAsync(String groupId) {
+    return findByGroupIdAsync(groupId).thenApply(Optional::isPresent);
+  }
+
+  /**
+   * Delete a group permanently from DynamoDB (hard delete).
+   *
+   * <p>The group item is deleted in one transaction with the membership items of its first 99
+   * members. The membership items of any further members are batch-deleted afterwards: one left
+   * behind by a failure is harmless, as lookups skip memberships whose group is gone.
+   *
+   * @param group Group to delete
+   */
+  public void delete(Group group) {
+    List<TransactWriteItem> writes = deleteWrites(group);
+    transactWrite(writes.subList(0, Math.min(writes.size(), TRANSACT_MAX_ITEMS)));
+    if (writes.size() > TRANSACT_MAX_ITEMS) {
+      writeAll(
+          writes.subList(TRANSACT_MAX_ITEMS, writes.size()).stream()
+              .map(
+                  write ->
+                      WriteRequest.builder()
+                          .deleteRequest(DeleteRequest.builder().key(write.delete().key()).build())
+                          .build())
+              .collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Async twin of {@link #delete(Group)}. Groups with more than 99 members are deleted on the sync
+   * client.
+   *
+   * @param group Group to delete
+   * @return Future completed once the group and its membership items are deleted
+   */
+  public CompletableFuture<Void> deleteAsync(Group group) {
+    List<TransactWriteItem> writes = deleteWrites(group);
+    if (dynamoDbAsyncClient == null || writes.size() > TRANSACT_MAX_ITEMS) {
+      return Futures.completed(
+          () -> {
+            delete(group);
+            return null;
+          });
+    }
+    return transactWriteAsync(writes);
+  }
+
+  private List<TransactWriteItem> deleteWrites(Group group) {
+    String normalizedGroupId =
+        group.getGroupId().startsWith("GROUP#")
+            ? group.getGroupId()
+            : "GROUP#" + group.getGroupId();
+
+    // Build the composite key (PK: pk = groupId, SK: sk)
+    Map<String, AttributeValue> key = new HashMap<>();
+    key.put("pk", AttributeValue.builder().s(normalizedGroupId).build());
+    if (group.getCreatedAt() != null) {
+      key.put("sk", AttributeValue.builder().s(group.getCreatedAt().toString()).build());
+    } else {
+      // If sk is missing, we can't delete (need both PK and SK)
+      throw new IllegalArgumentException(
+          "Cannot delete group: sk (sort key) is required for deletion");
+    }
+
+    List<TransactWriteItem> writes = new ArrayList<>();
+    writes.add(
+        TransactWriteItem.builder()
+            .delete(Delete.builder().tableName(tableName).key(key).build())
+            .build());
+    for (String userId : membersAndCreator(group)) {
+      writes.add(deleteMembership(userId, normalizedGroupId));
+    }
+    return writes;
+  }
+
+  /** Members and creator of a group, trimmed. */
+  private static Set<String> membersAndCreator(Group group) {
+    Set<String> userIds =
+        trimmedUserIds(
+            group.getMemberUserIds() != null ? group.getMemberUserIds() : List.<String>of());
+    if (group.getUserId() != null && !group.getUserId().isBlank()) {
+      userIds.add(group.getUserId().trim());
+    }
+    return userIds;
+  }
+
+  private static Set<String> trimmedUserIds(Collection<String> userIds) {
+    Set<String> trimmed = new LinkedHashSet<>();
+    for (String userId : userIds) {
+      if (userId != null && !userId.isBlank()) {
+        trimmed.add(userId.trim());
+      }
+    }
+    return trimmed;
+  }
+
+  private static String normalizeGroupId(String groupId) {
+    return groupId.startsWith("GROUP#") ? groupId : "GROUP#" + groupId;
+  }
+
+  /** Key of the group item of a group that was read from the table. */
+  private static Map<String, AttributeValue> groupItemKey(Group group) {
+    if (group.getCreatedAt() == null) {
+      throw new IllegalArgumentException("Cannot update group: sk (sort key) is required");
+    }
+    return Map.of(
+        "pk", AttributeValue.builder().s(normalizeGroupId(group.getGroupId())).build(),
+        "sk", AttributeValue.builder().s(group.getCreatedAt().toString()).build());
+  }
+
+  private Map<String, AttributeValue> toMembershipItem(
+      String userId, String normalizedGroupId, Map<String, AttributeValue> groupKey) {
+    Map<String, AttributeValue> item = new HashMap<>();
+    item.put("pk", AttributeValue.builder().s(MEMBER_PK_PREFIX + userId).build());
+    item.put("sk", AttributeValue.builder().s(normalizedGroupId).build());
+    item.put("recordType", AttributeValue.builder().s(MEMBER_RECORD_TYPE).build());
+    item.put("memberUserId", AttributeValue.builder().s(userId).build());
+    item.put("memberGroupId", AttributeValue.builder().s(normalizedGroupId).build());
+    item.put("groupPk", groupKey.get("pk"));
+    item.put("groupSk", groupKey.get("sk"));
+    return item;
+  }
+
+  private TransactWriteItem putMembership(
+      String userId, String normalizedGroupId, Map<String, AttributeValue> groupKey) {
+    return TransactWriteItem.builder()
+        .put(
+            Put.builder()
+                .tableName(tableName)
+                .item(toMembershipItem(userId, normalizedGroupId, groupKey))
+                .build())
+        .build();
+  }
+
+  private TransactWriteItem deleteMembership(String userId, String normalizedGroupId) {
+    return TransactWriteItem.builder()
+        .delete(
+            Delete.builder()
+                .tableName(tableName)
+                .key(
+                    Map.of(
+                        "pk", AttributeValue.builder().s(MEMBER_PK_PREFIX + userId).build(),
+                        "sk", AttributeValue.builder().s(normalizedGroupId).build()))
+                .build())
+        .build();
+  }
+
+  /**
+   * Run writes as one TransactWriteItems call, so they all apply or none do.
+   *
+   * @throws BadRequestException If there are more than 100 writes, which DynamoDB cannot apply
+   *     atomically
+   */
+  private void transactWrite(List<TransactWriteItem> writes) {
+    dynamoDbClient.transactWriteItems(transactRequest(writes));
+  }
+
+  /** Async counterpart of {@link #transactWrite}. */
+  private CompletableFuture<Void> transactWriteAsync(List<TransactWriteItem> writes) {
+    TransactWriteItemsRequest request;
+    try {
+      request = transactRequest(writes);
+    } catch (BadRequestException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return dynamoDbAsyncClient.transactWriteItems(request).thenAccept(response -> {});
+  }
+
+  private static TransactWriteItemsRequest transactRequest(List<TransactWriteItem> writes) {
+    if (writes.size() > TRANSACT_MAX_ITEMS) {
+      throw new BadRequestException(
+          "A group change can add or remove at most "
+              + (TRANSACT_MAX_ITEMS - 1)
+              + " members at once");
+    }
+    return TransactWriteItemsRequest.builder().transactItems(writes).build();
+  }
+
+  /** Write requests in batches of 25, retrying unprocessed items with exponential backoff. */
+  private void writeAll(List<WriteRequest> writes) {
+    for (int start = 0; start < writes.size(); start += BATCH_WRITE_MAX_ITEMS) {
+      List<WriteRequest> pending =
+          writes.subList(start, Math.min(writes.size(), start + BATCH_WRITE_MAX_ITEMS));
+      for (int attempt = 1; !pending.isEmpty(); attempt++) {
+        if (attempt > BATCH_MAX_ATTEMPTS) {
+          throw new IllegalStateException(
+              "Failed to write " + pending.size() + " group membership items");
+        }
+        if (attempt > 1) {
+          sleepBeforeRetry(attempt);
+        }
+        BatchWriteItemResponse response =
+            dynamoDbClient.batchWriteItem(
+                BatchWriteItemRequest.builder().requestItems(Map.of(tableName, pending)).build());
+        pending = response.unprocessedItems().getOrDefault(tableName, List.of());
+      }
+    }
+  }
+
+  private static long backoffMillis(int attempt) {
+    return BATCH_BASE_BACKOFF_MILLIS << (attempt - 2);
+  }
+
+  private static void sleepBeforeRetry(int attempt) {
+    try {
+      Thread.sleep(backoffMillis(attempt));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while retrying batch request", e);
+    }
+  }
+
+  /** Convert Group to DynamoDB AttributeValue map. */
+  private Map<String, AttributeValue> toAttributeMap(Group group) {
+    Map<String, AttributeValue> item = AttributeValues.newItem(GroupAttributes.ATTRIBUTE_COUNT + 5);
+
+    // PK: pk attribute = groupId value (e.g., "GROUP#my-group-001")
+    // This allows querying by groupId using the pk partition key
+    String normalizedGroupId =
+        group.getGroupId().startsWith("GROUP#")
+            ? group.getGroupId()
+            : "GROUP#" + group.getGroupId();
+    item.put("pk", AttributeValue.builder().s(normalizedGroupId).build());
+
+    // Store groupId as regular attribute for reference
+    item.put("groupId", AttributeValue.builder().s(normalizedGroupId).build());
+    GroupAttributes.write(group, item);
+    // sk is required as it's the sort key - save method ensures it's never null
+    if (group.getCreatedAt() != null) {
+      item.put("sk", AttributeValue.builder().s(group.getCreatedAt().toString()).build());
+    } else {
+      // Fallback: set sk if somehow null (shouldn't happen due to save method)
+      item.put("sk", AttributeValue.builder().s(Instant.now().toString()).build());
+    }
+
+    // GSI5 attributes: GSI5PK = creator userId, GSI5SK = GROUP#{groupId}
+    // Groups of a member are found through the membership items (see class comment)
+    List<String> memberUserIds = group.getMemberUserIds();
+    if (memberUserIds != null && !memberUserIds.isEmpty()) {
+      if (group.getUserId() != null && !group.getUserId().isBlank()) {
+        item.put("GSI5PK", AttributeValue.builder().s(group.getUserId()).build());
+        item.put("GSI5SK", AttributeValue.builder().s(normalizedGroupId).build());
+      }
+    }
+
+    return item;
+  }
+
+  /** Convert DynamoDB AttributeValue map to Group. */
+  private Group fromAttributeMap(Map<String, AttributeValue> item) {
+    Group group = GroupAttributes.read(item);
+
+    // PK (pk attribute) contains the groupId value; the groupId attribute takes precedence
+    String pk = AttributeValues.getString(item, "pk");
+    String groupId = AttributeValues.getString(item, "groupId");
+    if (groupId != null) {
+      group.setGroupId(groupId);
+    } else if (pk != null) {
+      // Legacy: if pk doesn't start with GROUP#, it is the creator user ID
+      group.setGroupId(pk.startsWith("GROUP#") ? pk : "GROUP#" + pk);
+    }
+    // The creatorUserId attribute takes precedence over a legacy creator pk
+    if (group.getUserId() == null && pk != null && !pk.startsWith("GROUP#")) {
+      group.setUserId(pk);
+    }
+    // If pk starts with GROUP# but no creatorUserId exists, group.getUserId() will be null
+    // This is a data integrity issue - groups should always have creatorUserId
+    String sk = AttributeValues.getString(item, "sk");
+    if (sk != null) {
+      group.setCreatedAt(AttributeValues.parseInstant(sk));
+    }
+
+    return group;
+  }
+}
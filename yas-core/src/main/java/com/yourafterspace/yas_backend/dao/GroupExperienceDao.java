@@ -0,0 +1,530 @@
+package com.yourafterspace.yas_backend.dao;
+
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.dao.mapping.GroupExperienceAttributes;
+import com.yourafterspace.yas_backend.model.GroupExperience;
+import com.yourafterspace.yas_backend.util.Futures;
+import com.yourafterspace.yas_backend.util.RequestLog;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+
+/**
+ * Data Access Object (DAO) for GroupExperience entity operations in DynamoDB.
+ *
+ * <p>Why DAO? - Handles the many-to-many relationship between Groups and Experiences - Provides
+ * clean query methods for both directions (group->experiences, experience->groups) - Reusable
+ * across different contexts
+ *
+ * <p>Table structure: PK: userId (GROUP#{groupId}), SK: createdAt GSI2-PK:
+ * EXPERIENCE#{experienceId}, GSI2-SK: GROUP#{groupId}
+ *
+ * <p>Finders and writers have {@code Async} twins, as in {@link GroupDao}.
+ */
+public class GroupExperienceDao {
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final String tableName;
+
+  public GroupExperienceDao(DynamoDbClient dynamoDbClient, String tableName) {
+    this(dynamoDbClient, null, tableName);
+  }
+
+  /**
+   * Create a DAO whose {@code Async} methods run on the async client.
+   *
+   * @param dynamoDbClient Sync client used by the blocking methods
+   * @param dynamoDbAsyncClient Async client used by the {@code Async} methods (null to run them on
+   *     the sync client)
+   * @param tableName DynamoDB table name
+   */
+  public GroupExperienceDao(
+      DynamoDbClient dynamoDbClient, DynamoDbAsyncClient dynamoDbAsyncClient, String tableName) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.tableName = tableName;
+  }
+
+  /**
+   * Save a group-experience relationship.
+   *
+   * @param groupExperience GroupExperience to save
+   * @return Saved GroupExperience
+   */
+  public GroupExperience save(GroupExperience groupExperience) {
+    dynamoDbClient.putItem(saveRequest(groupExperience));
+    return groupExperience;
+  }
+
+  /**
+   * Async twin of {@link #save(GroupExperience)}.
+   *
+   * @param groupExperience GroupExperience to save
+   * @return Future of the saved GroupExperience
+   */
+  public CompletableFuture<GroupExperience> saveAsync(GroupExperience groupExperience) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> save(groupExperience));
+    }
+    return dynamoDbAsyncClient
+        .putItem(saveRequest(groupExperience))
+        .thenApply(response -> groupExperience);
+  }
+
+  private PutItemRequest saveRequest(GroupExperience groupExperience) {
+    groupExperience.setUpdatedAt(Instant.now());
+    if (groupExperience.getCreatedAt() == null) {
+      groupExperience.setCreatedAt(Instant.now());
+    }
+
+    Map<String, AttributeValue> item = toAttributeMap(groupExperience);
+    return PutItemRequest.builder().tableName(tableName).item(item).build();
+  }
+
+  /**
+   * Find all experiences for a group.
+   *
+   * <p>Note: Since GroupExperience is stored in the same table (YourAfterSpace) with PK: userId,
+   * SK: createdAt, we need to use userId as the partition key attribute name. The groupId value is
+   * stored in the userId attribute (with GROUP# prefix).
+   *
+   * @param groupId Group ID
+   * @return List of GroupExperience relationships
+   */
+  public List<GroupExperience> findByGroupId(String groupId) {
+    return streamByGroupId(groupId).collect(Collectors.toList());
+  }
+
+  /**
+   * Lazily stream all experiences for a group, one DynamoDB page at a time.
+   *
+   * @param groupId Group ID
+   * @return Stream of GroupExperience relationships
+   */
+  public Stream<GroupExperience> streamByGroupId(String groupId) {
+    // The second query only runs once the first is exhausted
+    return Stream.of("2", "1")
+        .flatMap(
+            skPrefix ->
+                toGroupExperiences(
+                    DynamoDbPaging.queryItems(
+                        dynamoDbClient, byGroupIdRequest(groupId, skPrefix))));
+  }
+
+  /**
+   * Async twin of {@link #findByGroupId(String)}; both sort key ranges are queried concurrently.
+   *
+   * @param groupId Group ID
+   * @return Future of the GroupExperience relationships
+   */
+  public CompletableFuture<List<GroupExperience>> findByGroupIdAsync(String groupId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByGroupId(groupId));
+    }
+    return Futures.allOf(
+            Stream.of("2", "1")
+                .map(
+                    skPrefix ->
+                        DynamoDbPaging.queryItemsAsync(
+                            dynamoDbAsyncClient, byGroupIdRequest(groupId, skPrefix)))
+                .collect(Collectors.toList()))
+        .thenApply(
+            pages ->
+                toGroupExperiences(pages.stream().flatMap(List::stream))
+                    .collect(Collectors.toList()));
+  }
+
+  /**
+   * Query on pk with begins_with on the createdAt sort key: "2" matches years 2000+, "1" years
+   * 1000-1999.
+   */
+  private QueryRequest byGroupIdRequest(String groupId, String skPrefix) {
+    // Normalize groupId (add GROUP# prefix if not present)
+    String normalizedGroupId = groupId.startsWith("GROUP#") ? groupId : "GROUP#" + groupId;
+
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(":pk", AttributeValue.builder().s(normalizedGroupId).build());
+    expressionAttributeValues.put(":skPrefix", AttributeValue.builder().s(skPrefix).build());
+
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression("pk = :pk AND begins_with(sk, :skPrefix)")
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  /**
+   * Find all groups for an experience (using GSI1).
+   *
+   * <p>Note: Since GroupExperience is stored in the same table, we need to query using the table's
+   * structure. The experienceId is stored as a regular attribute, not as a key. We'll need to scan
+   * or use a filter expression. However, if GSI1 exists with experienceId as PK, we can use it.
+   *
+   * @param experienceId Experience ID (can be with or without EXPERIENCE# prefix)
+   * @return List of GroupExperience relationships
+   */
+  public List<GroupExperience> findByExperienceId(String experienceId) {
+    // Normalize experienceId - ensure it has EXPERIENCE# prefix for GSI1PK
+    // GSI1 uses GSI1PK as partition key, which should contain the full experienceId with prefix
+    String normalizedExperienceId =
+        experienceId.startsWith("EXPERIENCE#") ? experienceId : "EXPERIENCE#" + experienceId;
+
+    RequestLog.debug(
+        () ->
+            "GroupExperienceDao.findByExperienceId - querying for experienceId: "
+                + experienceId
+                + " (normalized for GSI1PK: "
+                + normalizedExperienceId
+                + ")");
+
+    // Try GSI2 query first (for experience-group relationships)
+    // GSI2: GSI2PK = EXPERIENCE#{experienceId}, GSI2SK = GROUP#{groupId}
+    try {
+      List<GroupExperience> groupExperiences =
+          streamByExperienceId(normalizedExperienceId).collect(Collectors.toList());
+
+      if (!groupExperiences.isEmpty()) {
+        RequestLog.debug(
+            () -> "GSI2 query found " + groupExperiences.size() + " GroupExperience relationships");
+        return groupExperiences;
+      }
+    } catch (Exception e) {
+      RequestLog.debug(() -> "GSI2 query failed, falling back to scan: " + e.getMessage());
+    }
+
+    // Fallback to scan if GSI2 doesn't exist or query fails
+    RequestLog.debug("Using scan method (GSI2 may not be available)");
+
+    try {
+      List<Map<String, AttributeValue>> items =
+          DynamoDbPaging.scanItems(dynamoDbClient, byExperienceIdScan(experienceId))
+              .collect(Collectors.toList());
+      return fromScanItems(experienceId, items);
+    } catch (Throwable scanException) {
+      return scanFailed(scanException);
+    }
+  }
+
+  /**
+   * Async twin of {@link #findByExperienceId(String)}, with the same scan fallback.
+   *
+   * @param experienceId Experience ID (can be with or without EXPERIENCE# prefix)
+   * @return Future of the GroupExperience relationships
+   */
+  public CompletableFuture<List<GroupExperience>> findByExperienceIdAsync(String experienceId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByExperienceId(experienceId));
+    }
+    return DynamoDbPaging.queryItemsAsync(dynamoDbAsyncClient, byExperienceIdRequest(experienceId))
+        .handle(
+            (items, error) -> {
+              if (error != null) {
+                RequestLog.debug(
+                    () -> "GSI2 query failed, falling back to scan: " + error.getMessage());
+                return List.<GroupExperience>of();
+              }
+              return toGroupExperiences(items.stream()).collect(Collectors.toList());
+            })
+        .thenCompose(
+            groupExperiences -> {
+              if (!groupExperiences.isEmpty()) {
+                return CompletableFuture.completedFuture(groupExperiences);
+              }
+              return DynamoDbPaging.scanItemsAsync(
+                      dynamoDbAsyncClient, byExperienceIdScan(experienceId))
+                  .handle(
+                      (items, error) ->
+                          error != null
+                              ? scanFailed(Futures.unwrap(error))
+                              : fromScanItems(experienceId, items));
+            });
+  }
+
+  /**
+   * Scan for the relationships of an experience, matching experienceId with and without the
+   * EXPERIENCE# prefix (in case it was stored without prefix).
+   */
+  private ScanRequest byExperienceIdScan(String experienceId) {
+    String normalizedExperienceId =
+        experienceId.startsWith("EXPERIENCE#") ? experienceId : "EXPERIENCE#" + experienceId;
+    Map<String, AttributeValue> scanExpressionValues = new HashMap<>();
+    // Try multiple variations: with EXPERIENCE# prefix, without prefix, and original
+    scanExpressionValues.put(":expId1", AttributeValue.builder().s(normalizedExperienceId).build());
+    scanExpressionValues.put(":expId2", AttributeValue.builder().s(experienceId).build());
+    // Also try without EXPERIENCE# prefix (in case it was stored without prefix)
+    String withoutPrefix =
+        experienceId.startsWith("EXPERIENCE#")
+            ? experienceId.replace("EXPERIENCE#", "")
+            : experienceId;
+    scanExpressionValues.put(":expId3", AttributeValue.builder().s(withoutPrefix).build());
+
+    return ScanRequest.builder()
+        .tableName(tableName)
+        .filterExpression(
+            "attribute_exists(experienceId) AND attribute_exists(groupId) AND (experienceId = :expId1 OR experienceId = :expId2 OR experienceId = :expId3)")
+        .expressionAttributeValues(scanExpressionValues)
+        .build();
+  }
+
+  /** Process scan results */
+  private List<GroupExperience> fromScanItems(
+      String experienceId, List<Map<String, AttributeValue>> items) {
+    RequestLog.debug(() -> "Scan found " + items.size() + " items with experienceId filter");
+    RequestLog.debug(() -> "Searching for experienceId variations of: " + experienceId);
+
+    List<GroupExperience> groupExperiences = new ArrayList<>();
+    for (Map<String, AttributeValue> item : items) {
+      if (item.containsKey("experienceId") && item.containsKey("groupId")) {
+        String itemExperienceId = item.get("experienceId").s();
+        String itemGroupId = item.get("groupId").s();
+        RequestLog.debug(
+            () ->
+                "Found GroupExperience - experienceId: "
+                    + itemExperienceId
+                    + ", groupId: "
+                    + itemGroupId);
+        groupExperiences.add(fromAttributeMap(item));
+      } else {
+        RequestLog.debug(() -> "Item missing experienceId or groupId - keys: " + item.keySet());
+      }
+    }
+    RequestLog.debug(
+        () ->
+            "GroupExperienceDao.findByExperienceId - returning "
+                + groupExperiences.size()
+                + " relationships");
+    return groupExperiences;
+  }
+
+  private static List<GroupExperience> scanFailed(Throwable scanException) {
+    RequestLog.error(
+        "Scan failed: "
+            + scanException.getClass().getSimpleName()
+            + " - "
+            + scanException.getMessage(),
+        scanException);
+    // Return empty list if scan fails
+    return new ArrayList<>();
+  }
+
+  /**
+   * Lazily stream all groups for an experience (using GSI2), one DynamoDB page at a time.
+   *
+   * @param experienceId Experience ID (can be with or without EXPERIENCE# prefix)
+   * @return Stream of GroupExperience relationships
+   */
+  public Stream<GroupExperience> streamByExperienceId(String experienceId) {
+    return toGroupExperiences(
+        DynamoDbPaging.queryItems(dynamoDbClient, byExperienceIdRequest(experienceId)));
+  }
+
+  /**
+   * Read one page of the groups for an experience (using GSI2).
+   *
+   * @param experienceId Experience ID (can be with or without EXPERIENCE# prefix)
+   * @param limit Maximum number of relationships on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return Page of GroupExperience relationships
+   * @throws IllegalArgumentException If the cursor is malformed
+   */
+  public Page<GroupExperience> findByExperienceId(String experienceId, int limit, String cursor) {
+    return DynamoDbPaging.queryPage(
+        dynamoDbClient,
+        byExperienceIdRequest(experienceId),
+        this::toGroupExperience,
+        ge -> true,
+        limit,
+        cursor);
+  }
+
+  /**
+   * Async twin of {@link #findByExperienceId(String, int, String)}.
+   *
+   * @param experienceId Experience ID (can be with or without EXPERIENCE# prefix)
+   * @param limit Maximum number of relationships on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return Future of the page; fails with IllegalArgumentException if the cursor is malformed
+   */
+  public CompletableFuture<Page<GroupExperience>> findByExperienceIdAsync(
+      String experienceId, int limit, String cursor) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByExperienceId(experienceId, limit, cursor));
+    }
+    return DynamoDbPaging.queryPageAsync(
+        dynamoDbAsyncClient,
+        byExperienceIdRequest(experienceId),
+        this::toGroupExperience,
+        ge -> true,
+        limit,
+        cursor);
+  }
+
+  private QueryRequest byExperienceIdRequest(String experienceId) {
+    String gsi2PK =
+        experienceId.startsWith("EXPERIENCE#") ? experienceId : "EXPERIENCE#" + experienceId;
+
+    Map<String, AttributeValue> gsi2Values = new HashMap<>();
+    gsi2Values.put(":expId", AttributeValue.builder().s(gsi2PK).build());
+
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .indexName("GSI2")
+        .keyConditionExpression("GSI2PK = :expId")
+        .expressionAttributeValues(gsi2Values)
+        .build();
+  }
+
+  private Stream<GroupExperience> toGroupExperiences(Stream<Map<String, AttributeValue>> items) {
+    return items.map(this::toGroupExperience).filter(Objects::nonNull);
+  }
+
+  /** Convert an item, or return null if it is not a GroupExperience item. */
+  private GroupExperience toGroupExperience(Map<String, AttributeValue> item) {
+    // Filter to only include GroupExperience items (check for experienceId attribute)
+    if (item.containsKey("experienceId") && item.containsKey("groupId")) {
+      return fromAttributeMap(item);
+    }
+    return null;
+  }
+
+  /**
+   * Delete a group-experience relationship.
+   *
+   * <p>Note: Since GroupExperience is stored in the same table with PK: userId, SK: createdAt, we
+   * need to find the item first to get its createdAt, then delete using the composite key.
+   *
+   * @param groupId Group ID
+   * @param experienceId Experience ID
+   */
+  public void delete(String groupId, String experienceId) {
+    // Find the relationship to get its createdAt (sort key)
+    List<GroupExperience> relationships = findByGroupId(groupId);
+    dynamoDbClient.deleteItem(deleteRequest(groupId, experienceId, relationships));
+  }
+
+  /**
+   * Async twin of {@link #delete(String, String)}.
+   *
+   * @param groupId Group ID
+   * @param experienceId Experience ID
+   * @return Future completed once deleted; fails with IllegalArgumentException if the relationship
+   *     does not exist
+   */
+  public CompletableFuture<Void> deleteAsync(String groupId, String experienceId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(
+          () -> {
+            delete(groupId, experienceId);
+            return null;
+          });
+    }
+    return findByGroupIdAsync(groupId)
+        .thenCompose(
+            relationships ->
+                dynamoDbAsyncClient.deleteItem(deleteRequest(groupId, experienceId, relationships)))
+        .thenAccept(response -> {});
+  }
+
+  private DeleteItemRequest deleteRequest(
+      String groupId, String experienceId, List<GroupExperience> relationships) {
+    // Normalize IDs
+    String normalizedGroupId = groupId.startsWith("GROUP#") ? groupId : "GROUP#" + groupId;
+
+    Optional<GroupExperience> toDelete =
+        relationships.stream().filter(ge -> ge.getExperienceId().equals(experienceId)).findFirst();
+
+    if (toDelete.isEmpty()) {
+      throw new IllegalArgumentException(
+          "GroupExperience relationship not found: groupId="
+              + normalizedGroupId
+              + ", experienceId="
+              + experienceId);
+    }
+
+    GroupExperience ge = toDelete.get();
+    if (ge.getCreatedAt() == null) {
+      throw new IllegalArgumentException(
+          "Cannot delete GroupExperience: createdAt (sort key) is required for deletion");
+    }
+
+    // Build composite key (PK: pk, SK: sk)
+    Map<String, AttributeValue> key = new HashMap<>();
+    key.put("pk", AttributeValue.builder().s(normalizedGroupId).build());
+    key.put("sk", AttributeValue.builder().s(ge.getCreatedAt().toString()).build());
+
+    return DeleteItemRequest.builder().tableName(tableName).key(key).build();
+  }
+
+  /** Convert GroupExperience to DynamoDB AttributeValue map. */
+  private Map<String, AttributeValue> toAttributeMap(GroupExperience groupExperience) {
+    Map<String, AttributeValue> item =
+        AttributeValues.newItem(GroupExperienceAttributes.ATTRIBUTE_COUNT + 5);
+
+    // PK: pk attribute = groupId value (e.g., "GROUP#my-group-001")
+    // This allows querying by groupId using the pk partition key
+    String normalizedGroupId =
+        groupExperience.getGroupId().startsWith("GROUP#")
+            ? groupExperience.getGroupId()
+            : "GROUP#" + groupExperience.getGroupId();
+    item.put("pk", AttributeValue.builder().s(normalizedGroupId).build());
+
+    // SK: sk attribute (required for composite key)
+    if (groupExperience.getCreatedAt() != null) {
+      item.put("sk", AttributeValue.builder().s(groupExperience.getCreatedAt().toString()).build());
+    } else {
+      // Fallback: set sk if somehow null
+      item.put("sk", AttributeValue.builder().s(Instant.now().toString()).build());
+    }
+
+    // Store groupId as regular attribute for reference
+    item.put("groupId", AttributeValue.builder().s(normalizedGroupId).build());
+    GroupExperienceAttributes.write(groupExperience, item);
+
+    // GSI2 attributes: GSI2PK = EXPERIENCE#{experienceId}, GSI2SK = GROUP#{groupId}
+    // These are required for querying GSI2 by experienceId
+    String normalizedExperienceId =
+        groupExperience.getExperienceId().startsWith("EXPERIENCE#")
+            ? groupExperience.getExperienceId()
+            : "EXPERIENCE#" + groupExperience.getExperienceId();
+    item.put("GSI2PK", AttributeValue.builder().s(normalizedExperienceId).build());
+    item.put("GSI2SK", AttributeValue.builder().s(normalizedGroupId).build());
+
+    return item;
+  }
+
+  /** Convert DynamoDB AttributeValue map to GroupExperience. */
+  private GroupExperience fromAttributeMap(Map<String, AttributeValue> item) {
+    GroupExperience groupExperience = GroupExperienceAttributes.read(item);
+
+    // The groupId attribute, or the pk when it holds a GROUP# id
+    String groupId = AttributeValues.getString(item, "groupId");
+    if (groupId == null) {
+      String pk = AttributeValues.getString(item, "pk");
+      groupId = pk != null && pk.startsWith("GROUP#") ? pk : null;
+    }
+    if (groupId != null) {
+      groupExperience.setGroupId(groupId);
+    }
+    String sk = AttributeValues.getString(item, "sk");
+    if (sk != null) {
+      groupExperience.setCreatedAt(AttributeValues.parseInstant(sk));
+    }
+
+    return groupExperience;
+  }
+}
@@ -0,0 +1,186 @@
+package com.yourafterspace.yas_backend.dao;
+
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceStatus;
+import com.yourafterspace.yas_backend.util.RequestLog;
+import com.yourafterspace.yas_backend.util.SpatialGridIndex;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process spatial index of experiences, kept warm across invocations of a Lambda container.
+ *
+ * <p>Why? - Venues and experiences change rarely, but every nearby search used to hit DynamoDB.
+ * This index loads the compact geo projection of all located experiences (which carries the venue
+ * id and name) once, lazily on first use, and answers radius and k-nearest queries from memory.
+ *
+ * <p>Freshness: a daemon thread refreshes the index every {@code refreshInterval} by reading only
+ * the experiences saved since the previous refresh started (the watermark) from the geo change
+ * feed, which also carries the saves that cleared an experience's coordinates. Lambda freezes the
+ * container between invocations, so a query that finds the index older than {@code maxStaleness}
+ * refreshes it synchronously first. DynamoDB is therefore only read on a cold miss or when stale.
+ */
+public class NearbyExperienceIndex {
+
+  /** How far before the watermark an incremental refresh starts reading. */
+  private static final Duration WATERMARK_OVERLAP = Duration.ofSeconds(5);
+
+  private final ExperienceDao experienceDao;
+  private final Duration refreshInterval;
+  private final Duration maxStaleness;
+  private final Object refreshLock = new Object();
+
+  private ScheduledExecutorService scheduler;
+  private volatile Snapshot snapshot;
+
+  public NearbyExperienceIndex(
+      ExperienceDao experienceDao, Duration refreshInterval, Duration maxStaleness) {
+    this.experienceDao = experienceDao;
+    this.refreshInterval = refreshInterval;
+    this.maxStaleness = maxStaleness;
+  }
+
+  /**
+   * Find experiences within a radius, closest first.
+   *
+   * @param latitude Center latitude
+   * @param longitude Center longitude
+   * @param radiusKm Radius in kilometers
+   * @return Hits sorted by distance
+   */
+  public List<SpatialGridIndex.Hit<Experience>> findWithinRadius(
+      double latitude, double longitude, double radiusKm) {
+    return currentSnapshot().grid.withinRadius(latitude, longitude, radiusKm);
+  }
+
+  /**
+   * Find the k experiences nearest to a location.
+   *
+   * @param latitude Center latitude
+   * @param longitude Center longitude
+   * @param k Number of experiences to return
+   * @param maxRadiusKm Maximum search radius in kilometers
+   * @return Up to k hits sorted by distance
+   */
+  public List<SpatialGridIndex.Hit<Experience>> findNearest(
+      double latitude, double longitude, int k, double maxRadiusKm) {
+    return currentSnapshot().grid.nearest(latitude, longitude, k, maxRadiusKm);
+  }
+
+  /** Refresh the index now, loading it fully if it has not been loaded yet. */
+  public void refresh() {
+    synchronized (refreshLock) {
+      Snapshot current = snapshot;
+      // The next refresh reads the change feed from when this one started; a save that commits
+      // while this one runs is read again then, and applying an item twice is harmless
+      Instant refreshStartedAt = Instant.now();
+      if (current == null) {
+        snapshot = buildSnapshot(new HashMap<>(), experienceDao.findGeoIndexed(), refreshStartedAt);
+        return;
+      }
+      // Re-read a small overlap so saves stamped by a writer whose clock runs behind, or that
+      // committed late, are not missed
+      List<Experience> changed =
+          experienceDao.findGeoChangedSince(current.watermark.minus(WATERMARK_OVERLAP));
+      snapshot =
+          changed.isEmpty()
+              ? current.refreshedAt(refreshStartedAt)
+              : buildSnapshot(new HashMap<>(current.byId), changed, refreshStartedAt);
+    }
+  }
+
+  private Snapshot currentSnapshot() {
+    Snapshot current = snapshot;
+    if (current == null || current.isOlderThan(maxStaleness)) {
+      synchronized (refreshLock) {
+        // Another request may have refreshed while this one waited for the lock
+        if (snapshot == null || snapshot.isOlderThan(maxStaleness)) {
+          refresh();
+        }
+        startBackgroundRefresh();
+        current = snapshot;
+      }
+    }
+    return current;
+  }
+
+  private void startBackgroundRefresh() {
+    synchronized (refreshLock) {
+      if (scheduler != null) {
+        return;
+      }
+      scheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "nearby-experience-index-refresh");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    scheduler.scheduleWithFixedDelay(
+        () -> {
+          try {
+            refresh();
+          } catch (RuntimeException e) {
+            // Keep serving the current snapshot; the next run (or a stale query) retries
+            RequestLog.error("Error refreshing nearby experience index: " + e.getMessage());
+          }
+        },
+        refreshInterval.toMillis(),
+        refreshInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private static Snapshot buildSnapshot(
+      Map<String, Experience> byId, List<Experience> changed, Instant watermark) {
+    for (Experience experience : changed) {
+      if (experience.getStatus() == ExperienceStatus.DELETED
+          || experience.getLatitude() == null
+          || experience.getLongitude() == null) {
+        byId.remove(experience.getExperienceId());
+      } else {
+        byId.put(experience.getExperienceId(), experience);
+      }
+    }
+
+    SpatialGridIndex<Experience> grid =
+        SpatialGridIndex.build(
+            new ArrayList<>(byId.values()), Experience::getLatitude, Experience::getLongitude);
+    return new Snapshot(byId, grid, watermark, Instant.now());
+  }
+
+  /** Immutable view of the index at one point in time. */
+  private static final class Snapshot {
+
+    private final Map<String, Experience> byId;
+    private final SpatialGridIndex<Experience> grid;
+    private final Instant watermark;
+    private final Instant loadedAt;
+
+    Snapshot(
+        Map<String, Experience> byId,
+        SpatialGridIndex<Experience> grid,
+        Instant watermark,
+        Instant loadedAt) {
+      this.byId = byId;
+      this.grid = grid;
+      this.watermark = watermark;
+      this.loadedAt = loadedAt;
+    }
+
+    Snapshot refreshedAt(Instant time) {
+      return new Snapshot(byId, grid, watermark, time);
+    }
+
+    boolean isOlderThan(Duration age) {
+      return loadedAt.plus(age).isBefore(Instant.now());
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.yourafterspace.yas_backend.dao;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of results from a paginated DAO finder.
+ *
+ * <p>The cursor is opaque to callers: pass {@link #getNextCursor()} back to the same finder (with
+ * the same arguments) to read the next page. It is null once the last page has been read.
+ *
+ * @param <T> Type of the items on the page
+ */
+public final class Page<T> {
+
+  private final List<T> items;
+  private final String nextCursor;
+
+  public Page(List<T> items, String nextCursor) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public boolean hasMore() {
+    return nextCursor != null;
+  }
+
+  /** Convert the items of this page, keeping its cursor. */
+  public <R> Page<R> map(Function<? super T, ? extends R> mapper) {
+    return new Page<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+  }
+}
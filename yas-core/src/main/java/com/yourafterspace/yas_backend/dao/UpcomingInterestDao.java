@@ -0,0 +1,526 @@
+package com.yourafterspace.yas_backend.dao;
+
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import com.yourafterspace.yas_backend.util.AsyncFanOut;
+import com.yourafterspace.yas_backend.util.RequestLog;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * Data Access Object (DAO) for the write-maintained "upcoming interest" index.
+ *
+ * <p>Every UserExperience with exp-interest = true for an experience that has a start date and time
+ * gets one index item, bucketed by the month the experience starts in. Reading all upcoming
+ * interest is then one Query per month from the current one up to {@link #HORIZON_MONTHS} ahead, so
+ * its cost follows the amount of upcoming interest instead of the size of the table. A month
+ * further out is listed in the META partition (SK: MONTH#yyyy-MM) whenever interest is filed under
+ * it, and a read queries the listed months beyond the horizon too, so no interest is dropped.
+ *
+ * <p>Item structure: PK: UPCOMING_INTEREST#yyyy-MM (UTC month of the start), SK:
+ * startsAt#experienceId#userId. The sort key starts with the ISO start instant, so the current
+ * month is narrowed to the experiences that have not started yet with a key condition.
+ *
+ * <p>Interest flips write their index item in the same transaction as the record (see {@link
+ * UserExperienceDao#updateInterest(String, String, boolean, Double, Instant)}); the experience
+ * handler re-files an experience's items with {@link #fileExperience} before it saves a new start
+ * and {@link #unfileExperience} after. Every index item carries the start it was filed under, and
+ * readers skip items whose start is no longer their experience's, so an item left behind by a
+ * failed re-filing is never listed. {@link #backfill} copies in the interest written before the
+ * index existed, once, and records that it has.
+ */
+public class UpcomingInterestDao {
+
+  static final String PK_PREFIX = "UPCOMING_INTEREST#";
+  static final String RECORD_TYPE = "UPCOMING_INTEREST";
+
+  /** How many month buckets, including the current one, a read always covers. */
+  static final int HORIZON_MONTHS = 24;
+
+  private static final String META_PK = PK_PREFIX + "META";
+
+  /** Sort key prefix of the items listing the months beyond the horizon that have index items. */
+  private static final String FAR_MONTH_SK_PREFIX = "MONTH#";
+
+  private static final Map<String, AttributeValue> BACKFILL_MARKER_KEY =
+      Map.of(
+          "pk", AttributeValue.builder().s(META_PK).build(),
+          "sk", AttributeValue.builder().s("BACKFILL").build());
+
+  /** Interest records whose experiences are loaded together during {@link #backfill}. */
+  private static final int BACKFILL_CHUNK = 100;
+
+  private static final int BATCH_WRITE_MAX_ITEMS = 25;
+  private static final int BATCH_WRITE_MAX_ATTEMPTS = 5;
+  private static final long BATCH_WRITE_BASE_BACKOFF_MILLIS = 50;
+  private static final int MAX_CONCURRENT_BUCKET_QUERIES = 8;
+  private static final Duration BUCKET_QUERY_TIMEOUT = Duration.ofSeconds(5);
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final String tableName;
+  private volatile boolean backfilled;
+
+  public UpcomingInterestDao(DynamoDbClient dynamoDbClient, String tableName) {
+    this(dynamoDbClient, null, tableName);
+  }
+
+  public UpcomingInterestDao(
+      DynamoDbClient dynamoDbClient, DynamoDbAsyncClient dynamoDbAsyncClient, String tableName) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.tableName = tableName;
+  }
+
+  /**
+   * Start of an experience, in the zone the upcoming-interest endpoint has always used.
+   *
+   * @param experience Experience
+   * @return Start instant, or null if the experience has no date or start time
+   */
+  public static Instant startsAt(Experience experience) {
+    if (experience == null
+        || experience.getExperienceDate() == null
+        || experience.getStartTime() == null) {
+      return null;
+    }
+    return experience
+        .getExperienceDate()
+        .atTime(experience.getStartTime())
+        .atZone(ZoneId.systemDefault())
+        .toInstant();
+  }
+
+  /**
+   * Index item of one interest record, to write in the transaction that sets its exp-interest.
+   *
+   * @param tableName Table name
+   * @param userExperience Interest record (with exp-interest = true)
+   * @param startsAt Start of the experience
+   */
+  static Put indexPut(String tableName, UserExperience userExperience, Instant startsAt) {
+    return Put.builder()
+        .tableName(tableName)
+        .item(toAttributeMap(userExperience, startsAt))
+        .build();
+  }
+
+  /**
+   * Listing of the month of a start beyond the read horizon, to write before the first index item
+   * of that month (it is idempotent, so it is simply written before every such item).
+   *
+   * @param tableName Table name
+   * @param startsAt Start of the experience
+   * @return The request, or null if the start's month is within the horizon of a read made now
+   */
+  static PutItemRequest farMonthPut(String tableName, Instant startsAt) {
+    Map<String, AttributeValue> item = farMonthItem(startsAt);
+    return item != null ? PutItemRequest.builder().tableName(tableName).item(item).build() : null;
+  }
+
+  /**
+   * Removal of the index item of one interest record, to write in the transaction that clears its
+   * exp-interest.
+   *
+   * @param tableName Table name
+   * @param userId User ID
+   * @param experienceId Experience ID
+   * @param startsAt Start of the experience
+   */
+  static Delete indexDelete(
+      String tableName, String userId, String experienceId, Instant startsAt) {
+    return Delete.builder()
+        .tableName(tableName)
+        .key(buildKey(startsAt, experienceId, userId))
+        .build();
+  }
+
+  /**
+   * File an experience's interest under its new start. Run this before the experience is saved with
+   * that start: if it fails, nothing has changed and the whole update can be retried, and if the
+   * save then fails, the items filed here are skipped by readers because their start is not the
+   * experience's.
+   *
+   * @param experience The experience with its new start (nothing is filed without a start)
+   * @param interests Interest records of the experience (exp-interest = true)
+   */
+  public void fileExperience(Experience experience, Collection<UserExperience> interests) {
+    Instant startsAt = startsAt(experience);
+    if (startsAt == null) {
+      return;
+    }
+    List<WriteRequest> writes = new ArrayList<>(interests.size() + 1);
+    for (UserExperience ue : interests) {
+      writes.add(
+          WriteRequest.builder()
+              .putRequest(PutRequest.builder().item(toAttributeMap(ue, startsAt)).build())
+              .build());
+    }
+    // Readers skip these items until the experience is saved with this start, which is after this
+    Map<String, AttributeValue> farMonth = farMonthItem(startsAt);
+    if (farMonth != null && !interests.isEmpty()) {
+      writes.add(
+          WriteRequest.builder().putRequest(PutRequest.builder().item(farMonth).build()).build());
+    }
+    writeAll(writes);
+  }
+
+  /**
+   * Remove an experience's interest from the start it was filed under, after the experience was
+   * saved with a new start.
+   *
+   * @param previousStartsAt Start the items were filed under (nothing is removed if null)
+   * @param experienceId Experience ID
+   * @param interests Interest records of the experience (exp-interest = true)
+   */
+  public void unfileExperience(
+      Instant previousStartsAt, String experienceId, Collection<UserExperience> interests) {
+    if (previousStartsAt == null) {
+      return;
+    }
+    List<WriteRequest> writes = new ArrayList<>(interests.size());
+    for (UserExperience ue : interests) {
+      writes.add(
+          WriteRequest.builder()
+              .deleteRequest(
+                  DeleteRequest.builder()
+                      .key(buildKey(previousStartsAt, experienceId, ue.getUserId()))
+                      .build())
+              .build());
+    }
+    writeAll(writes);
+  }
+
+  /**
+   * Index many interest records at once (used to backfill).
+   *
+   * @param interests Interest records
+   * @param experiencesById Experiences the records refer to
+   * @return Number of index items written
+   */
+  public int putAll(Collection<UserExperience> interests, Map<String, Experience> experiencesById) {
+    List<WriteRequest> writes = new ArrayList<>();
+    Map<String, Map<String, AttributeValue>> farMonths = new HashMap<>();
+    for (UserExperience ue : interests) {
+      Instant startsAt = startsAt(experiencesById.get(ue.getExperienceId()));
+      if (startsAt != null) {
+        writes.add(
+            WriteRequest.builder()
+                .putRequest(PutRequest.builder().item(toAttributeMap(ue, startsAt)).build())
+                .build());
+        Map<String, AttributeValue> farMonth = farMonthItem(startsAt);
+        if (farMonth != null) {
+          farMonths.putIfAbsent(farMonth.get("sk").s(), farMonth);
+        }
+      }
+    }
+    int indexed = writes.size();
+    for (Map<String, AttributeValue> farMonth : farMonths.values()) {
+      writes.add(
+          WriteRequest.builder().putRequest(PutRequest.builder().item(farMonth).build()).build());
+    }
+    writeAll(writes);
+    return indexed;
+  }
+
+  /**
+   * Find all interest in experiences that start at or after {@code now}, earliest start first. The
+   * {@link #HORIZON_MONTHS} month buckets from the current one are read, and so are the listed
+   * months beyond them.
+   *
+   * @param now Current time
+   * @return Interest records (userId, experienceId, exp-interest, interestScore, createdAt), with
+   *     experienceTime set to the start each was filed under
+   */
+  public List<UserExperience> findUpcoming(Instant now) {
+    YearMonth currentMonth = YearMonth.from(now.atOffset(ZoneOffset.UTC));
+    List<YearMonth> farMonths = farMonths(currentMonth.plusMonths(HORIZON_MONTHS));
+    List<QueryRequest> bucketQueries = new ArrayList<>(HORIZON_MONTHS + farMonths.size());
+    for (int i = 0; i < HORIZON_MONTHS; i++) {
+      bucketQueries.add(bucketQuery(currentMonth.plusMonths(i), i == 0 ? now : null));
+    }
+    for (YearMonth month : farMonths) {
+      bucketQueries.add(bucketQuery(month, null));
+    }
+
+    List<List<Map<String, AttributeValue>>> buckets;
+    if (dynamoDbAsyncClient == null) {
+      buckets = bucketQueries.stream().map(this::queryBucket).collect(Collectors.toList());
+    } else {
+      buckets = queryBucketsAsync(bucketQueries);
+    }
+
+    List<UserExperience> upcoming = new ArrayList<>();
+    for (List<Map<String, AttributeValue>> bucket : buckets) {
+      for (Map<String, AttributeValue> item : bucket) {
+        upcoming.add(fromAttributeMap(item));
+      }
+    }
+
+    RequestLog.debug(
+        () ->
+            "UpcomingInterestDao.findUpcoming - found "
+                + upcoming.size()
+                + " items in "
+                + bucketQueries.size()
+                + " month buckets");
+
+    return upcoming;
+  }
+
+  /**
+   * Copy all interest records into the index, then mark the index as backfilled. This is the
+   * one-off migration of the interest written before the index existed: a full scan of the table,
+   * run offline (see {@code TableMigrations} in yas-lambda) and never inside a request. Index
+   * writes are idempotent, so an interrupted run is simply started again.
+   *
+   * @param userExperienceDao Source of the interest records
+   * @param experienceDao Source of the experiences the records refer to
+   * @return Number of index items written
+   */
+  public int backfill(UserExperienceDao userExperienceDao, ExperienceDao experienceDao) {
+    int indexed = 0;
+    List<UserExperience> chunk = new ArrayList<>(BACKFILL_CHUNK);
+    try (Stream<UserExperience> interests = userExperienceDao.streamAllInterestedUsers()) {
+      Iterator<UserExperience> iterator = interests.iterator();
+      while (iterator.hasNext()) {
+        chunk.add(iterator.next());
+        if (chunk.size() == BACKFILL_CHUNK || !iterator.hasNext()) {
+          List<String> experienceIds =
+              chunk.stream().map(UserExperience::getExperienceId).collect(Collectors.toList());
+          indexed += putAll(chunk, experienceDao.findByExperienceIds(experienceIds));
+          chunk.clear();
+        }
+      }
+    }
+    markBackfilled();
+
+    RequestLog.info("Upcoming interest index backfilled: " + indexed + " items");
+    return indexed;
+  }
+
+  /** Whether the interest written before the index existed has been copied into it. */
+  public boolean isBackfilled() {
+    if (!backfilled) {
+      backfilled =
+          dynamoDbClient
+              .getItem(
+                  GetItemRequest.builder()
+                      .tableName(tableName)
+                      .key(BACKFILL_MARKER_KEY)
+                      .consistentRead(true)
+                      .build())
+              .hasItem();
+    }
+    return backfilled;
+  }
+
+  /** Record that the backfill has completed. */
+  public void markBackfilled() {
+    Map<String, AttributeValue> item = new HashMap<>(BACKFILL_MARKER_KEY);
+    item.put("completedAt", AttributeValue.builder().s(Instant.now().toString()).build());
+    dynamoDbClient.putItem(PutItemRequest.builder().tableName(tableName).item(item).build());
+    backfilled = true;
+  }
+
+  /**
+   * Query all bucket partitions concurrently; buckets whose async query failed are re-read
+   * synchronously, so the result is never silently incomplete.
+   */
+  private List<List<Map<String, AttributeValue>>> queryBucketsAsync(
+      List<QueryRequest> bucketQueries) {
+    List<Integer> indexes = new ArrayList<>(bucketQueries.size());
+    for (int i = 0; i < bucketQueries.size(); i++) {
+      indexes.add(i);
+    }
+    Map<Integer, List<Map<String, AttributeValue>>> byIndex = new HashMap<>();
+    AsyncFanOut.Result<Map.Entry<Integer, List<Map<String, AttributeValue>>>> result =
+        AsyncFanOut.run(
+            indexes,
+            i ->
+                queryBucketAsync(bucketQueries.get(i), new ArrayList<>())
+                    .thenApply(items -> Map.entry(i, items)),
+            MAX_CONCURRENT_BUCKET_QUERIES,
+            BUCKET_QUERY_TIMEOUT);
+    for (Map.Entry<Integer, List<Map<String, AttributeValue>>> entry : result.getResults()) {
+      byIndex.put(entry.getKey(), entry.getValue());
+    }
+
+    List<List<Map<String, AttributeValue>>> buckets = new ArrayList<>(bucketQueries.size());
+    for (int i = 0; i < bucketQueries.size(); i++) {
+      List<Map<String, AttributeValue>> items = byIndex.get(i);
+      buckets.add(items != null ? items : queryBucket(bucketQueries.get(i)));
+    }
+    return buckets;
+  }
+
+  private CompletableFuture<List<Map<String, AttributeValue>>> queryBucketAsync(
+      QueryRequest queryRequest, List<Map<String, AttributeValue>> items) {
+    return dynamoDbAsyncClient
+        .query(queryRequest)
+        .thenCompose(
+            response -> {
+              items.addAll(response.items());
+              if (response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()) {
+                return queryBucketAsync(
+                    queryRequest.toBuilder().exclusiveStartKey(response.lastEvaluatedKey()).build(),
+                    items);
+              }
+              return CompletableFuture.completedFuture(items);
+            });
+  }
+
+  private List<Map<String, AttributeValue>> queryBucket(QueryRequest queryRequest) {
+    return DynamoDbPaging.queryItems(dynamoDbClient, queryRequest).collect(Collectors.toList());
+  }
+
+  /** The months from {@code from} on that are listed as having index items. */
+  private List<YearMonth> farMonths(YearMonth from) {
+    QueryRequest queryRequest =
+        QueryRequest.builder()
+            .tableName(tableName)
+            .keyConditionExpression("pk = :pk AND sk BETWEEN :from AND :to")
+            .expressionAttributeValues(
+                Map.of(
+                    ":pk", AttributeValue.builder().s(META_PK).build(),
+                    ":from", AttributeValue.builder().s(FAR_MONTH_SK_PREFIX + from).build(),
+                    ":to", AttributeValue.builder().s(FAR_MONTH_SK_PREFIX + "9999-12").build()))
+            .build();
+    List<YearMonth> months = new ArrayList<>();
+    for (Map<String, AttributeValue> item : queryBucket(queryRequest)) {
+      months.add(YearMonth.parse(item.get("sk").s().substring(FAR_MONTH_SK_PREFIX.length())));
+    }
+    return months;
+  }
+
+  /** The item listing the month of a start, or null if it is within the horizon of a read now. */
+  private static Map<String, AttributeValue> farMonthItem(Instant startsAt) {
+    YearMonth month = YearMonth.from(startsAt.atOffset(ZoneOffset.UTC));
+    YearMonth horizonEnd = YearMonth.now(ZoneOffset.UTC).plusMonths(HORIZON_MONTHS);
+    if (month.isBefore(horizonEnd)) {
+      return null;
+    }
+    Map<String, AttributeValue> item = new HashMap<>();
+    item.put("pk", AttributeValue.builder().s(META_PK).build());
+    item.put("sk", AttributeValue.builder().s(FAR_MONTH_SK_PREFIX + month).build());
+    return item;
+  }
+
+  private QueryRequest bucketQuery(YearMonth month, Instant notBefore) {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(":pk", AttributeValue.builder().s(PK_PREFIX + month).build());
+    String keyCondition = "pk = :pk";
+    if (notBefore != null) {
+      expressionAttributeValues.put(
+          ":notBefore", AttributeValue.builder().s(notBefore.toString()).build());
+      keyCondition += " AND sk >= :notBefore";
+    }
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression(keyCondition)
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  /** Write requests in batches of 25, retrying unprocessed items with exponential backoff. */
+  private void writeAll(List<WriteRequest> writes) {
+    for (int start = 0; start < writes.size(); start += BATCH_WRITE_MAX_ITEMS) {
+      List<WriteRequest> pending =
+          writes.subList(start, Math.min(writes.size(), start + BATCH_WRITE_MAX_ITEMS));
+      for (int attempt = 1; !pending.isEmpty(); attempt++) {
+        if (attempt > BATCH_WRITE_MAX_ATTEMPTS) {
+          throw new IllegalStateException(
+              "Failed to write " + pending.size() + " upcoming interest items");
+        }
+        if (attempt > 1) {
+          sleepBeforeRetry(attempt);
+        }
+        BatchWriteItemResponse response =
+            dynamoDbClient.batchWriteItem(
+                BatchWriteItemRequest.builder().requestItems(Map.of(tableName, pending)).build());
+        pending = response.unprocessedItems().getOrDefault(tableName, List.of());
+      }
+    }
+  }
+
+  private static void sleepBeforeRetry(int attempt) {
+    try {
+      Thread.sleep(BATCH_WRITE_BASE_BACKOFF_MILLIS << (attempt - 2));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while retrying batch write", e);
+    }
+  }
+
+  private static Map<String, AttributeValue> buildKey(
+      Instant startsAt, String experienceId, String userId) {
+    Map<String, AttributeValue> key = new HashMap<>();
+    key.put(
+        "pk",
+        AttributeValue.builder()
+            .s(PK_PREFIX + YearMonth.from(startsAt.atOffset(ZoneOffset.UTC)))
+            .build());
+    key.put("sk", AttributeValue.builder().s(startsAt + "#" + experienceId + "#" + userId).build());
+    return key;
+  }
+
+  /**
+   * Convert an interest record to an index item. The ids are stored under their own attribute names
+   * so scans that look for UserExperience items (by experienceId) never pick index items up.
+   */
+  private static Map<String, AttributeValue> toAttributeMap(
+      UserExperience userExperience, Instant startsAt) {
+    Map<String, AttributeValue> item =
+        buildKey(startsAt, userExperience.getExperienceId(), userExperience.getUserId());
+    item.put("recordType", AttributeValue.builder().s(RECORD_TYPE).build());
+    item.put("interestUserId", AttributeValue.builder().s(userExperience.getUserId()).build());
+    item.put(
+        "interestExperienceId",
+        AttributeValue.builder().s(userExperience.getExperienceId()).build());
+    item.put("startsAt", AttributeValue.builder().s(startsAt.toString()).build());
+    AttributeValues.putNumber(item, "interestScore", userExperience.getInterestScore());
+    AttributeValues.putTemporal(item, "interestedAt", userExperience.getCreatedAt());
+    return item;
+  }
+
+  private static UserExperience fromAttributeMap(Map<String, AttributeValue> item) {
+    UserExperience userExperience =
+        new UserExperience(
+            AttributeValues.getString(item, "interestUserId"),
+            AttributeValues.getString(item, "interestExperienceId"));
+    userExperience.setExpInterest(true);
+    Double interestScore = AttributeValues.getDouble(item, "interestScore");
+    if (interestScore != null) {
+      userExperience.setInterestScore(interestScore);
+    }
+    userExperience.setCreatedAt(AttributeValues.getInstant(item, "interestedAt"));
+    userExperience.setExperienceTime(AttributeValues.getInstant(item, "startsAt"));
+    return userExperience;
+  }
+}
@@ -0,0 +1,1681 @@
+package com.yourafterspace.yas_backend.dao;
+
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.dao.mapping.UserExperienceAttributes;
+import com.yourafterspace.yas_backend.exception.ExperienceFullyBookedException;
+import com.yourafterspace.yas_backend.exception.ResourceNotFoundException;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import com.yourafterspace.yas_backend.model.UserExperience.UserExperienceStatus;
+import com.yourafterspace.yas_backend.util.Futures;
+import com.yourafterspace.yas_backend.util.RequestLog;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+/**
+ * Data Access Object (DAO) for UserExperience entity operations in DynamoDB.
+ *
+ * <p>Why DAO? - Handles user-experience relationships with additional metadata (interest, payment)
+ * - Provides query methods filtered by status (interested, paid) - Encapsulates complex DynamoDB
+ * operations
+ *
+ * <p>Table structure: PK: userId, SK: EXPERIENCE#experienceId GSI1-PK: experienceId, GSI1-SK:
+ * userId
+ *
+ * <p>A user has one record per experience, at a key derived from both ids, so interest and payment
+ * changes are conditional UpdateItems on that key with no read first, setting only their own
+ * attributes; concurrent writers never overwrite each other's fields or create a second record.
+ * Records written before were keyed by their creation time (SK: createdAt); they are still read,
+ * and moved to the derived key the first time they are updated.
+ *
+ * <p>Interest and payment flips move the experience's interestCount and currentBookings in the same
+ * transaction. Records written before the counters existed are counted once by {@link
+ * #recountCounters()}, and no flip may be written before that has run.
+ *
+ * <p>Finders and writers have {@code Async} twins, as in {@link GroupDao}.
+ */
+public class UserExperienceDao {
+
+  /** Experience counter of paid users, kept within maxCapacity. */
+  static final String CURRENT_BOOKINGS = "currentBookings";
+
+  /** Experience counter of interested users. */
+  static final String INTEREST_COUNT = "interestCount";
+
+  /** Sort key prefix of a user's record for an experience. */
+  static final String RECORD_SK_PREFIX = "EXPERIENCE#";
+
+  /** Attempts of a record change that keeps losing races with concurrent changes. */
+  private static final int MAX_UPDATE_ATTEMPTS = 3;
+
+  private static final int TRANSACT_MAX_ITEMS = 100;
+
+  /** Marker item written once the counters of all experiences have been recounted. */
+  private static final Map<String, AttributeValue> COUNTERS_MARKER_KEY =
+      Map.of(
+          "pk", AttributeValue.builder().s("EXPERIENCE_COUNTERS#META").build(),
+          "sk", AttributeValue.builder().s("RECOUNT").build());
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final String tableName;
+  private volatile boolean countersRecounted;
+
+  public UserExperienceDao(DynamoDbClient dynamoDbClient, String tableName) {
+    this(dynamoDbClient, null, tableName);
+  }
+
+  /**
+   * Create a DAO whose {@code Async} methods run on the async client.
+   *
+   * @param dynamoDbClient Sync client used by the blocking methods
+   * @param dynamoDbAsyncClient Async client used by the {@code Async} methods (null to run them on
+   *     the sync client)
+   * @param tableName DynamoDB table name
+   */
+  public UserExperienceDao(
+      DynamoDbClient dynamoDbClient, DynamoDbAsyncClient dynamoDbAsyncClient, String tableName) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.tableName = tableName;
+  }
+
+  /**
+   * Save a user-experience relationship.
+   *
+   * @param userExperience UserExperience to save
+   * @return Saved UserExperience
+   */
+  public UserExperience save(UserExperience userExperience) {
+    dynamoDbClient.putItem(saveRequest(userExperience));
+    RequestLog.debug("UserExperienceDao.save - Record saved successfully");
+
+    return userExperience;
+  }
+
+  /**
+   * Async twin of {@link #save(UserExperience)}.
+   *
+   * @param userExperience UserExperience to save
+   * @return Future of the saved UserExperience
+   */
+  public CompletableFuture<UserExperience> saveAsync(UserExperience userExperience) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> save(userExperience));
+    }
+    return dynamoDbAsyncClient
+        .putItem(saveRequest(userExperience))
+        .thenApply(response -> userExperience);
+  }
+
+  private PutItemRequest saveRequest(UserExperience userExperience) {
+    userExperience.setUpdatedAt(Instant.now());
+    if (userExperience.getCreatedAt() == null) {
+      userExperience.setCreatedAt(Instant.now());
+    }
+
+    Map<String, AttributeValue> item = toAttributeMap(userExperience);
+    RequestLog.debug(
+        () ->
+            "UserExperienceDao.save - userId=["
+                + userExperience.getUserId()
+                + "], experienceId=["
+                + userExperience.getExperienceId()
+                + "], status=["
+                + (userExperience.getStatus() != null
+                    ? userExperience.getStatus().getValue()
+                    : "null")
+                + "]");
+    return PutItemRequest.builder().tableName(tableName).item(item).build();
+  }
+
+  /**
+   * Find one user's record for one experience: a consistent GetItem on the record's key, then a
+   * GSI1 point lookup for a record written before records were keyed by experience.
+   *
+   * @param userId User ID
+   * @param experienceId Experience ID (with or without EXPERIENCE# prefix)
+   * @return The UserExperience, if the user has one for the experience
+   */
+  public Optional<UserExperience> findByUserIdAndExperienceId(String userId, String experienceId) {
+    String normalizedExperienceId = normalizeExperienceId(experienceId);
+    GetItemResponse response =
+        dynamoDbClient.getItem(recordGetRequest(userId, normalizedExperienceId));
+    if (response.hasItem() && !response.item().isEmpty()) {
+      return Optional.of(fromAttributeMap(response.item()));
+    }
+    return toUserExperiences(
+            DynamoDbPaging.queryItems(
+                dynamoDbClient, byUserIdAndExperienceIdRequest(userId, normalizedExperienceId)))
+        .findFirst();
+  }
+
+  /**
+   * Async twin of {@link #findByUserIdAndExperienceId(String, String)}.
+   *
+   * @param userId User ID
+   * @param experienceId Experience ID (with or without EXPERIENCE# prefix)
+   * @return Future of the UserExperience, empty if the user has none for the experience
+   */
+  public CompletableFuture<Optional<UserExperience>> findByUserIdAndExperienceIdAsync(
+      String userId, String experienceId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByUserIdAndExperienceId(userId, experienceId));
+    }
+    String normalizedExperienceId = normalizeExperienceId(experienceId);
+    return dynamoDbAsyncClient
+        .getItem(recordGetRequest(userId, normalizedExperienceId))
+        .thenCompose(
+            response -> {
+              if (response.hasItem() && !response.item().isEmpty()) {
+                return CompletableFuture.completedFuture(
+                    Optional.of(fromAttributeMap(response.item())));
+              }
+              return queryAsync(byUserIdAndExperienceIdRequest(userId, normalizedExperienceId))
+                  .thenApply(userExperiences -> userExperiences.stream().findFirst());
+            });
+  }
+
+  private GetItemRequest recordGetRequest(String userId, String experienceId) {
+    return GetItemRequest.builder()
+        .tableName(tableName)
+        .key(recordKey(userId, experienceId))
+        .consistentRead(true)
+        .build();
+  }
+
+  private QueryRequest byUserIdAndExperienceIdRequest(String userId, String experienceId) {
+    Map<String, AttributeValue> userValue = new HashMap<>();
+    userValue.put(":userId", AttributeValue.builder().s(userId).build());
+
+    return byExperienceIdRequest(experienceId, userValue).toBuilder()
+        .keyConditionExpression("GSI1PK = :experienceId AND GSI1SK = :userId")
+        .build();
+  }
+
+  /**
+   * Set a user's interest in an experience, creating the record if needed.
+   *
+   * <p>Only the interest attributes are written (status stays as it is on existing records). When
+   * exp-interest does not change this is a single conditional UpdateItem; when it does, the record
+   * update and an atomic ADD to the experience's interestCount run in one TransactWriteItems,
+   * conditioned on the previous exp-interest value so a concurrent duplicate cannot count twice.
+   * See {@link #apply} for the details.
+   *
+   * @param userId User ID
+   * @param experienceId Experience ID
+   * @param interested New exp-interest value
+   * @param interestScore Interest score to store, or null to leave it unchanged
+   * @return The record after the update
+   * @throws ResourceNotFoundException if the experience does not exist
+   */
+  public UserExperience updateInterest(
+      String userId, String experienceId, boolean interested, Double interestScore) {
+    return updateInterest(userId, experienceId, interested, interestScore, null);
+  }
+
+  /**
+   * Set a user's interest in an experience and keep its {@link UpcomingInterestDao upcoming
+   * interest} index item in step: a flip puts or deletes the index item in the same
+   * TransactWriteItems as the record and the counter, so the three never disagree, and a new score
+   * on an unchanged interest refreshes the index item after the record update.
+   *
+   * @param userId User ID
+   * @param experienceId Experience ID
+   * @param interested New exp-interest value
+   * @param interestScore Interest score to store, or null to leave it unchanged
+   * @param upcomingStartsAt Start the experience's interest is indexed under (see {@link
+   *     UpcomingInterestDao#startsAt}), or null if it is not indexed
+   * @return The record after the update
+   * @throws ResourceNotFoundException if the experience does not exist
+   */
+  public UserExperience updateInterest(
+      String userId,
+      String experienceId,
+      boolean interested,
+      Double interestScore,
+      Instant upcomingStartsAt) {
+    return Futures.join(
+        applyInterest(
+            interestChange(
+                userId,
+                normalizeExperienceId(experienceId),
+                interested,
+                interestScore,
+                upcomingStartsAt),
+            interested ? upcomingStartsAt : null,
+            new BlockingCalls()));
+  }
+
+  /**
+   * Async twin of {@link #updateInterest(String, String, boolean, Double)}.
+   *
+   * @return Future of the record after the update
+   */
+  public CompletableFuture<UserExperience> updateInterestAsync(
+      String userId, String experienceId, boolean interested, Double interestScore) {
+    return updateInterestAsync(userId, experienceId, interested, interestScore, null);
+  }
+
+  /**
+   * Async twin of {@link #updateInterest(String, String, boolean, Double, Instant)}.
+   *
+   * @return Future of the record after the update
+   */
+  public CompletableFuture<UserExperience> updateInterestAsync(
+      String userId,
+      String experienceId,
+      boolean interested,
+      Double interestScore,
+      Instant upcomingStartsAt) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(
+          () -> updateInterest(userId, experienceId, interested, interestScore, upcomingStartsAt));
+    }
+    return applyInterest(
+        interestChange(
+            userId,
+            normalizeExperienceId(experienceId),
+            interested,
+            interestScore,
+            upcomingStartsAt),
+        interested ? upcomingStartsAt : null,
+        new AsyncCalls());
+  }
+
+  /**
+   * Apply an interest change, first listing the month it is indexed under if that is beyond the
+   * upcoming interest read horizon (see {@link UpcomingInterestDao#farMonthPut}).
+   */
+  private CompletableFuture<UserExperience> applyInterest(
+      RecordChange change, Instant indexedStartsAt, RecordCalls calls) {
+    PutItemRequest farMonthPut =
+        indexedStartsAt != null
+            ? UpcomingInterestDao.farMonthPut(tableName, indexedStartsAt)
+            : null;
+    if (farMonthPut == null) {
+      return apply(change, calls, 1);
+    }
+    return calls.putItem(farMonthPut).thenCompose(response -> apply(change, calls, 1));
+  }
+
+  private RecordChange interestChange(
+      String userId,
+      String experienceId,
+      boolean interested,
+      Double interestScore,
+      Instant upcomingStartsAt) {
+    RecordChange change =
+        new RecordChange(userId, experienceId, "#expInterest", ":expInterest", interested);
+    change.set("#expInterest = :expInterest");
+    change.names.put("#expInterest", "exp-interest");
+    change.values.put(":expInterest", AttributeValue.builder().bool(interested).build());
+    change.set("#status = if_not_exists(#status, :status)");
+    change.values.put(
+        ":status", AttributeValue.builder().s(UserExperienceStatus.INTERESTED.getValue()).build());
+    if (interestScore != null) {
+      change.set("interestScore = :interestScore");
+      change.values.put(
+          ":interestScore", AttributeValue.builder().n(interestScore.toString()).build());
+    }
+
+    change.counter =
+        interested
+            ? counterUpdate(experienceId, INTEREST_COUNT, 1, "attribute_exists(pk)")
+            : counterUpdate(experienceId, INTEREST_COUNT, -1, "#counter > :zero");
+    change.changes =
+        ue -> {
+          ue.setExpInterest(interested);
+          if (interestScore != null) {
+            ue.setInterestScore(interestScore);
+          }
+        };
+    if (upcomingStartsAt != null) {
+      change.indexWrite =
+          ue ->
+              interested
+                  ? TransactWriteItem.builder()
+                      .put(UpcomingInterestDao.indexPut(tableName, ue, upcomingStartsAt))
+                      .build()
+                  : TransactWriteItem.builder()
+                      .delete(
+                          UpcomingInterestDao.indexDelete(
+                              tableName, userId, experienceId, upcomingStartsAt))
+                      .build();
+      // An unchanged interest is already indexed; only a new score needs the item rewritten
+      change.refreshesIndex = interested && interestScore != null;
+    }
+    return change;
+  }
+
+  /**
+   * Set a user's payment status for an experience, creating the record if needed.
+   *
+   * <p>Only status, PAID and (when given) paymentDetails are written; exp-interest and the interest
+   * score are left untouched. When PAID flips to true the record update and {@code ADD
+   * currentBookings :1} on the experience run in one TransactWriteItems, conditioned on {@code
+   * currentBookings < maxCapacity}, so an experience can never be overbooked; flipping PAID back
+   * releases the booking the same way. Other changes are a single conditional UpdateItem.
+   *
+   * @param userId User ID
+   * @param experienceId Experience ID
+   * @param status New status (PAID and ATTENDED imply PAID = true), or null to leave status, PAID
+   *     and the booking as they are
+   * @param paymentDetails Payment details to store, or null to leave them unchanged
+   * @return The record after the update
+   * @throws ExperienceFullyBookedException if the payment would exceed the experience's capacity
+   * @throws ResourceNotFoundException if the experience does not exist
+   */
+  public UserExperience updatePayment(
+      String userId,
+      String experienceId,
+      UserExperienceStatus status,
+      UserExperience.PaymentDetails paymentDetails) {
+    return Futures.join(
+        apply(
+            paymentChange(userId, normalizeExperienceId(experienceId), status, paymentDetails),
+            new BlockingCalls(),
+            1));
+  }
+
+  /**
+   * Async twin of {@link #updatePayment(String, String, UserExperienceStatus,
+   * UserExperience.PaymentDetails)}.
+   *
+   * @return Future of the record after the update; fails with ExperienceFullyBookedException if the
+   *     payment would exceed the experience's capacity, ResourceNotFoundException if the experience
+   *     does not exist
+   */
+  public CompletableFuture<UserExperience> updatePaymentAsync(
+      String userId,
+      String experienceId,
+      UserExperienceStatus status,
+      UserExperience.PaymentDetails paymentDetails) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> updatePayment(userId, experienceId, status, paymentDetails));
+    }
+    return apply(
+        paymentChange(userId, normalizeExperienceId(experienceId), status, paymentDetails),
+        new AsyncCalls(),
+        1);
+  }
+
+  private RecordChange paymentChange(
+      String userId,
+      String experienceId,
+      UserExperienceStatus status,
+      UserExperience.PaymentDetails paymentDetails) {
+    if (status == null) {
+      return paymentDetailsChange(userId, experienceId, paymentDetails);
+    }
+    boolean paid = status == UserExperienceStatus.PAID || status == UserExperienceStatus.ATTENDED;
+    RecordChange change = new RecordChange(userId, experienceId, "PAID", ":paid", paid);
+    change.set("#status = :status");
+    change.values.put(":status", AttributeValue.builder().s(status.getValue()).build());
+    change.set("PAID = :paid");
+    change.values.put(":paid", AttributeValue.builder().bool(paid).build());
+    if (paymentDetails != null) {
+      change.set("paymentDetails = :paymentDetails");
+      change.values.put(":paymentDetails", UserExperienceAttributes.paymentDetails(paymentDetails));
+    }
+
+    change.counter =
+        paid
+            ? counterUpdate(
+                experienceId,
+                CURRENT_BOOKINGS,
+                1,
+                "attribute_exists(pk) AND (attribute_not_exists(maxCapacity)"
+                    + " OR #counter < maxCapacity"
+                    + " OR (attribute_not_exists(#counter) AND maxCapacity > :zero))")
+            : counterUpdate(experienceId, CURRENT_BOOKINGS, -1, "#counter > :zero");
+    change.booking = paid;
+    change.changes =
+        ue -> {
+          ue.setStatus(status);
+          ue.setPaid(paid);
+          if (paymentDetails != null) {
+            ue.setPaymentDetails(paymentDetails);
+          }
+        };
+    return change;
+  }
+
+  /** A change of the payment details alone, which flips no flag and moves no counter. */
+  private RecordChange paymentDetailsChange(
+      String userId, String experienceId, UserExperience.PaymentDetails paymentDetails) {
+    RecordChange change = new RecordChange(userId, experienceId, null, null, false);
+    change.set("#status = if_not_exists(#status, :status)");
+    change.values.put(
+        ":status", AttributeValue.builder().s(UserExperienceStatus.INTERESTED.getValue()).build());
+    if (paymentDetails != null) {
+      change.set("paymentDetails = :paymentDetails");
+      change.values.put(":paymentDetails", UserExperienceAttributes.paymentDetails(paymentDetails));
+    }
+    change.changes =
+        ue -> {
+          if (paymentDetails != null) {
+            ue.setPaymentDetails(paymentDetails);
+          }
+        };
+    return change;
+  }
+
+  /**
+   * Recompute every experience's interestCount and currentBookings from the user records, then
+   * record it with a marker item. Records written before the counters existed never moved them, so
+   * until this has run a counter under-counts: releasing such an interest or booking fails its
+   * floor check, and the capacity check sells seats that are already paid.
+   *
+   * <p>Scans the whole table, so it runs as an offline migration (see {@code TableMigrations} in
+   * yas-lambda) while interest and payment writes are refused, after legacy experiences have been
+   * moved to their fixed key. It is idempotent and can be run again after an interruption.
+   *
+   * @return Number of experiences whose counters were written
+   */
+  public int recountCounters() {
+    List<String> experienceIds = new ArrayList<>();
+    Map<String, Map<String, AttributeValue>> records = new HashMap<>();
+    ScanRequest scanRequest =
+        ScanRequest.builder()
+            .tableName(tableName)
+            .projectionExpression("pk, sk, experienceId, GSI1SK, updatedAt, #expInterest, PAID")
+            .expressionAttributeNames(Map.of("#expInterest", "exp-interest"))
+            .build();
+    DynamoDbPaging.scanItems(dynamoDbClient, scanRequest)
+        .forEach(
+            item -> {
+              String pk = AttributeValues.getString(item, "pk");
+              String sk = AttributeValues.getString(item, "sk");
+              if (pk == null || sk == null) {
+                return;
+              }
+              if (pk.startsWith("EXPERIENCE#") && ExperienceDao.ITEM_SK.equals(sk)) {
+                experienceIds.add(pk.substring("EXPERIENCE#".length()));
+              } else if (isValidUserExperienceItem(item)
+                  && pk.equals(AttributeValues.getString(item, "GSI1SK"))) {
+                // A user's record, keyed by experience or legacy; the one a change would use wins
+                records.merge(
+                    pk + "|" + normalizeExperienceId(item.get("experienceId").s()),
+                    item,
+                    UserExperienceDao::currentRecord);
+              }
+            });
+
+    Map<String, int[]> counts = new HashMap<>();
+    for (Map<String, AttributeValue> record : records.values()) {
+      int[] count =
+          counts.computeIfAbsent(
+              normalizeExperienceId(record.get("experienceId").s()), id -> new int[2]);
+      if (Boolean.TRUE.equals(AttributeValues.getBoolean(record, "exp-interest"))) {
+        count[0]++;
+      }
+      if (Boolean.TRUE.equals(AttributeValues.getBoolean(record, "PAID"))) {
+        count[1]++;
+      }
+    }
+
+    int recounted = 0;
+    for (String experienceId : experienceIds) {
+      int[] count = counts.getOrDefault(experienceId, new int[2]);
+      try {
+        dynamoDbClient.updateItem(
+            UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(ExperienceDao.buildKey(experienceId))
+                .updateExpression(
+                    "SET #interest = :interest, #bookings = :bookings, updatedAt = :now")
+                .conditionExpression("attribute_exists(pk)")
+                .expressionAttributeNames(
+                    Map.of("#interest", INTEREST_COUNT, "#bookings", CURRENT_BOOKINGS))
+                .expressionAttributeValues(
+                    Map.of(
+                        ":interest",
+                        AttributeValue.builder().n(Integer.toString(count[0])).build(),
+                        ":bookings",
+                        AttributeValue.builder().n(Integer.toString(count[1])).build(),
+                        ":now",
+                        AttributeValue.builder().s(Instant.now().toString()).build()))
+                .build());
+        recounted++;
+      } catch (ConditionalCheckFailedException e) {
+        // Deleted since the scan
+      }
+    }
+
+    Map<String, AttributeValue> marker = new HashMap<>(COUNTERS_MARKER_KEY);
+    marker.put("completedAt", AttributeValue.builder().s(Instant.now().toString()).build());
+    dynamoDbClient.putItem(PutItemRequest.builder().tableName(tableName).item(marker).build());
+    countersRecounted = true;
+
+    RequestLog.info("Experience counters recounted: " + recounted + " experiences");
+    return recounted;
+  }
+
+  /**
+   * Whether {@link #recountCounters()} has completed on this table. Interest and payment changes
+   * must not be written before it has, as the counters they move are not yet right.
+   *
+   * @return true once the recount marker item exists
+   */
+  public boolean isCountersRecounted() {
+    if (!countersRecounted) {
+      countersRecounted =
+          dynamoDbClient
+              .getItem(
+                  GetItemRequest.builder()
+                      .tableName(tableName)
+                      .key(COUNTERS_MARKER_KEY)
+                      .consistentRead(true)
+                      .build())
+              .hasItem();
+    }
+    return countersRecounted;
+  }
+
+  /** Of two items of the same user's record, the one a change applies to (see {@link #apply}). */
+  private static Map<String, AttributeValue> currentRecord(
+      Map<String, AttributeValue> a, Map<String, AttributeValue> b) {
+    boolean aKeyed = a.get("sk").s().startsWith(RECORD_SK_PREFIX);
+    boolean bKeyed = b.get("sk").s().startsWith(RECORD_SK_PREFIX);
+    if (aKeyed != bKeyed) {
+      return aKeyed ? a : b;
+    }
+    String aUpdatedAt = Objects.toString(AttributeValues.getString(a, "updatedAt"), "");
+    String bUpdatedAt = Objects.toString(AttributeValues.getString(b, "updatedAt"), "");
+    return aUpdatedAt.compareTo(bUpdatedAt) >= 0 ? a : b;
+  }
+
+  /**
+   * Apply a change to the user's record for the experience, without reading it first.
+   *
+   * <p>The first attempt is one UpdateItem conditioned on the change leaving the flag (exp-interest
+   * or PAID) as it is; it returns the whole record. If that condition fails, the record returned
+   * with the failure shows the flag flips, so the record update and the counter move together in
+   * one TransactWriteItems conditioned on the old value. If there is no record at all, a legacy
+   * record is moved to the record's key first, or the record is created.
+   *
+   * <p>Every transition is decided on the record at its key, never on an index read, and a record
+   * change that moves a counter is only ever written together with it: when the record changed in
+   * between, the change starts over, up to {@link #MAX_UPDATE_ATTEMPTS} times.
+   */
+  private CompletableFuture<UserExperience> apply(
+      RecordChange change, RecordCalls calls, int attempt) {
+    UpdateItemRequest request =
+        updateRequest(
+            change,
+            change.flag != null
+                ? "attribute_exists(pk) AND (" + change.unchanged() + ")"
+                : "attribute_exists(pk)");
+    return calls
+        .updateItem(request)
+        .thenCompose(response -> refreshIndex(change, upserted(change, response), calls))
+        .exceptionallyCompose(
+            error -> {
+              Throwable cause = Futures.unwrap(error);
+              if (!(cause instanceof ConditionalCheckFailedException)) {
+                return CompletableFuture.failedFuture(error);
+              }
+              ConditionalCheckFailedException failure = (ConditionalCheckFailedException) cause;
+              if (failure.hasItem() && !failure.item().isEmpty()) {
+                return transact(
+                    change,
+                    failure.item(),
+                    "attribute_exists(pk) AND (" + change.flips() + ")",
+                    calls,
+                    attempt);
+              }
+              return migrateLegacyRecord(change, calls)
+                  .thenCompose(
+                      migrated ->
+                          migrated && attempt < MAX_UPDATE_ATTEMPTS
+                              ? apply(change, calls, attempt + 1)
+                              : create(change, calls, attempt));
+            });
+  }
+
+  /** Rewrite the index item of a record whose interest did not flip, if its change asks for it. */
+  private CompletableFuture<UserExperience> refreshIndex(
+      RecordChange change, UserExperience userExperience, RecordCalls calls) {
+    if (!change.refreshesIndex) {
+      return CompletableFuture.completedFuture(userExperience);
+    }
+    Put put = change.indexWrite.apply(userExperience).put();
+    return calls
+        .putItem(PutItemRequest.builder().tableName(put.tableName()).item(put.item()).build())
+        .thenApply(response -> userExperience);
+  }
+
+  /** Create the record of a user who has none for the experience. */
+  private CompletableFuture<UserExperience> create(
+      RecordChange change, RecordCalls calls, int attempt) {
+    if (change.target) {
+      return transact(change, null, "attribute_not_exists(pk)", calls, attempt);
+    }
+    // A new record with the flag false leaves the counter as it is
+    return calls
+        .updateItem(updateRequest(change, "attribute_not_exists(pk)"))
+        .thenApply(response -> upserted(change, response))
+        .exceptionallyCompose(
+            error ->
+                Futures.unwrap(error) instanceof ConditionalCheckFailedException
+                        && attempt < MAX_UPDATE_ATTEMPTS
+                    ? apply(change, calls, attempt + 1) // Created concurrently
+                    : CompletableFuture.failedFuture(error));
+  }
+
+  private UpdateItemRequest updateRequest(RecordChange change, String condition) {
+    Update update = recordUpdate(change, condition);
+    return UpdateItemRequest.builder()
+        .tableName(tableName)
+        .key(update.key())
+        .updateExpression(update.updateExpression())
+        .conditionExpression(update.conditionExpression())
+        .expressionAttributeNames(update.expressionAttributeNames())
+        .expressionAttributeValues(update.expressionAttributeValues())
+        .returnValues(ReturnValue.ALL_NEW)
+        .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+        .build();
+  }
+
+  private UserExperience upserted(RecordChange change, UpdateItemResponse response) {
+    RequestLog.debug(
+        () ->
+            "UserExperienceDao.upsert - userId=["
+                + change.userId
+                + "], experienceId=["
+                + change.experienceId
+                + "]");
+
+    return fromAttributeMap(response.attributes());
+  }
+
+  /**
+   * Apply the SET clauses of a change to a user's record and its counter change to the experience
+   * (and, for interest, the upcoming interest index item) in one TransactWriteItems. Transactions
+   * return no attributes, so the returned record is the one returned with the failed condition (or
+   * a new one) with the changes applied locally.
+   */
+  private CompletableFuture<UserExperience> transact(
+      RecordChange change,
+      Map<String, AttributeValue> current,
+      String condition,
+      RecordCalls calls,
+      int attempt) {
+    Update update = recordUpdate(change, condition);
+    UserExperience updated = transacted(change, current, update);
+    List<TransactWriteItem> items = new ArrayList<>(3);
+    items.add(TransactWriteItem.builder().update(update).build());
+    items.add(TransactWriteItem.builder().update(change.counter).build());
+    if (change.indexWrite != null) {
+      items.add(change.indexWrite.apply(updated));
+    }
+    return calls
+        .transactWriteItems(TransactWriteItemsRequest.builder().transactItems(items).build())
+        .thenApply(
+            response -> {
+              RequestLog.debug(
+                  () ->
+                      "UserExperienceDao.transactUpsert - userId=["
+                          + change.userId
+                          + "], experienceId=["
+                          + change.experienceId
+                          + "], counter=["
+                          + change.counter.expressionAttributeNames().get("#counter")
+                          + "]");
+              return updated;
+            })
+        .exceptionallyCompose(
+            error -> {
+              Throwable cause = Futures.unwrap(error);
+              if (!(cause instanceof TransactionCanceledException)) {
+                return CompletableFuture.failedFuture(error);
+              }
+              TransactionCanceledException canceled = (TransactionCanceledException) cause;
+              if (isConditionalCheckFailure(canceled, 1)
+                  && !isConditionalCheckFailure(canceled, 0)) {
+                return CompletableFuture.failedFuture(
+                    counterFailure(change, canceled.cancellationReasons().get(1)));
+              }
+              // The record changed since it was returned, or the transaction conflicted with
+              // another one: start over from the record as it is now. The record is never written
+              // without its counter.
+              return attempt < MAX_UPDATE_ATTEMPTS
+                  ? apply(change, calls, attempt + 1)
+                  : CompletableFuture.failedFuture(error);
+            });
+  }
+
+  /**
+   * The error of a change whose counter condition failed, told apart by the experience returned
+   * with the failure.
+   */
+  private static RuntimeException counterFailure(RecordChange change, CancellationReason reason) {
+    if (!reason.hasItem() || reason.item().isEmpty()) {
+      return new ResourceNotFoundException("Experience not found: " + change.experienceId);
+    }
+    if (change.booking) {
+      return new ExperienceFullyBookedException(
+          "Experience is fully booked: " + change.experienceId);
+    }
+    // A release that would take the counter below zero; the counter does not match the records
+    return new IllegalStateException(
+        change.counter.expressionAttributeNames().get("#counter")
+            + " of experience "
+            + change.experienceId
+            + " is already 0");
+  }
+
+  private UserExperience transacted(
+      RecordChange change, Map<String, AttributeValue> current, Update update) {
+    Instant now = Instant.parse(update.expressionAttributeValues().get(":now").s());
+    UserExperience userExperience;
+    if (current != null) {
+      userExperience = fromAttributeMap(current);
+    } else {
+      userExperience = new UserExperience(change.userId, change.experienceId);
+      userExperience.setCreatedAt(now);
+    }
+    change.changes.accept(userExperience);
+    userExperience.setUpdatedAt(now);
+    return userExperience;
+  }
+
+  /**
+   * Move a record written before records were keyed by experience (SK = createdAt, found through
+   * GSI1) to the record's key. Quick toggles under the old scheme could leave more than one; the
+   * most recently updated one is kept, and all of them are deleted in the same transaction.
+   *
+   * @return Future of whether there was a legacy record to move
+   */
+  private CompletableFuture<Boolean> migrateLegacyRecord(RecordChange change, RecordCalls calls) {
+    return calls
+        .query(byUserIdAndExperienceIdRequest(change.userId, change.experienceId))
+        .thenCompose(
+            items -> {
+              List<Map<String, AttributeValue>> legacy =
+                  items.stream()
+                      .filter(this::isLegacyRecord)
+                      .limit(TRANSACT_MAX_ITEMS - 1)
+                      .collect(Collectors.toList());
+              if (legacy.isEmpty()) {
+                return CompletableFuture.completedFuture(false);
+              }
+              return calls
+                  .transactWriteItems(migrateRequest(change, legacy))
+                  .thenApply(response -> true)
+                  .exceptionallyCompose(
+                      error ->
+                          Futures.unwrap(error) instanceof TransactionCanceledException
+                              ? CompletableFuture.completedFuture(true) // Moved concurrently
+                              : CompletableFuture.failedFuture(error));
+            });
+  }
+
+  private TransactWriteItemsRequest migrateRequest(
+      RecordChange change, List<Map<String, AttributeValue>> legacy) {
+    Map<String, AttributeValue> latest =
+        legacy.stream()
+            .max(
+                Comparator.comparing(
+                    item -> Objects.toString(AttributeValues.getString(item, "updatedAt"), "")))
+            .orElseThrow();
+    Map<String, AttributeValue> item = new HashMap<>(latest);
+    item.putAll(recordKey(change.userId, change.experienceId));
+    item.putIfAbsent("createdAt", latest.get("sk"));
+
+    List<TransactWriteItem> writes = new ArrayList<>(legacy.size() + 1);
+    writes.add(
+        TransactWriteItem.builder()
+            .put(
+                Put.builder()
+                    .tableName(tableName)
+                    .item(item)
+                    .conditionExpression("attribute_not_exists(pk)")
+                    .build())
+            .build());
+    for (Map<String, AttributeValue> legacyItem : legacy) {
+      writes.add(
+          TransactWriteItem.builder()
+              .delete(
+                  Delete.builder()
+                      .tableName(tableName)
+                      .key(Map.of("pk", legacyItem.get("pk"), "sk", legacyItem.get("sk")))
+                      .conditionExpression("attribute_exists(pk)")
+                      .build())
+              .build());
+    }
+    return TransactWriteItemsRequest.builder().transactItems(writes).build();
+  }
+
+  private boolean isLegacyRecord(Map<String, AttributeValue> item) {
+    String sk = AttributeValues.getString(item, "sk");
+    return isValidUserExperienceItem(item) && sk != null && !sk.startsWith(RECORD_SK_PREFIX);
+  }
+
+  /**
+   * Build the update of a user's record for an experience, at the key derived from both ids. The
+   * identity, GSI1 and createdAt attributes are only written when absent.
+   */
+  private Update recordUpdate(RecordChange change, String condition) {
+    String now = Instant.now().toString();
+
+    List<String> clauses = new ArrayList<>(change.setClauses);
+    clauses.add("updatedAt = :now");
+    clauses.add("createdAt = if_not_exists(createdAt, :now)");
+    clauses.add("userId = if_not_exists(userId, :userId)");
+    clauses.add("experienceId = if_not_exists(experienceId, :experienceId)");
+    clauses.add("GSI1PK = if_not_exists(GSI1PK, :experienceId)");
+    clauses.add("GSI1SK = if_not_exists(GSI1SK, :userId)");
+    Map<String, String> names = new HashMap<>(change.names);
+    Map<String, AttributeValue> values = new HashMap<>(change.values);
+    names.put("#status", "status");
+    values.put(":now", AttributeValue.builder().s(now).build());
+    values.put(":userId", AttributeValue.builder().s(change.userId).build());
+    values.put(":experienceId", AttributeValue.builder().s(change.experienceId).build());
+    values.put(":flagWas", AttributeValue.builder().bool(!change.target).build());
+
+    // Only the names and values the expressions use may be sent
+    String expressions = "SET " + String.join(", ", clauses) + (condition != null ? condition : "");
+    names.keySet().removeIf(name -> !expressions.contains(name));
+    values.keySet().removeIf(value -> !expressions.contains(value));
+
+    return Update.builder()
+        .tableName(tableName)
+        .key(recordKey(change.userId, change.experienceId))
+        .updateExpression("SET " + String.join(", ", clauses))
+        .conditionExpression(condition)
+        .expressionAttributeNames(names)
+        .expressionAttributeValues(values)
+        .build();
+  }
+
+  /** Key of a user's record for an experience: PK userId, SK EXPERIENCE#experienceId. */
+  private static Map<String, AttributeValue> recordKey(String userId, String experienceId) {
+    Map<String, AttributeValue> key = new HashMap<>();
+    key.put("pk", AttributeValue.builder().s(userId).build());
+    key.put("sk", AttributeValue.builder().s(RECORD_SK_PREFIX + experienceId).build());
+    return key;
+  }
+
+  /**
+   * A change to a user's record for an experience: the SET clauses with their names and values, the
+   * flag whose flips move a counter of the experience (null if the change flips none), the counter
+   * update, how to apply the change to a record read and the index write that goes with a flip.
+   */
+  private static final class RecordChange {
+
+    private final String userId;
+    private final String experienceId;
+    private final String flag;
+    private final String flagValue;
+    private final boolean target;
+    private final List<String> setClauses = new ArrayList<>();
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<String, AttributeValue> values = new HashMap<>();
+    private Update counter;
+    private boolean booking;
+    private Consumer<UserExperience> changes;
+    private Function<UserExperience, TransactWriteItem> indexWrite;
+    private boolean refreshesIndex;
+
+    RecordChange(
+        String userId, String experienceId, String flag, String flagValue, boolean target) {
+      this.userId = userId;
+      this.experienceId = experienceId;
+      this.flag = flag;
+      this.flagValue = flagValue;
+      this.target = target;
+    }
+
+    void set(String clause) {
+      setClauses.add(clause);
+    }
+
+    /** Condition that the flag already has its new value (a missing flag counts as false). */
+    String unchanged() {
+      return target
+          ? flag + " = " + flagValue
+          : "attribute_not_exists(" + flag + ") OR " + flag + " = " + flagValue;
+    }
+
+    /** Condition that the flag still has its old value, so the change flips it. */
+    String flips() {
+      return target
+          ? "attribute_not_exists(" + flag + ") OR " + flag + " = :flagWas"
+          : flag + " = :flagWas";
+    }
+  }
+
+  /** The calls a record change makes, on the sync client or on the async one. */
+  private interface RecordCalls {
+
+    CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request);
+
+    CompletableFuture<PutItemResponse> putItem(PutItemRequest request);
+
+    CompletableFuture<TransactWriteItemsResponse> transactWriteItems(
+        TransactWriteItemsRequest request);
+
+    CompletableFuture<List<Map<String, AttributeValue>>> query(QueryRequest request);
+  }
+
+  /** Calls on the sync client, returned as completed futures. */
+  private final class BlockingCalls implements RecordCalls {
+
+    @Override
+    public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+      return Futures.completed(() -> dynamoDbClient.updateItem(request));
+    }
+
+    @Override
+    public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+      return Futures.completed(() -> dynamoDbClient.putItem(request));
+    }
+
+    @Override
+    public CompletableFuture<TransactWriteItemsResponse> transactWriteItems(
+        TransactWriteItemsRequest request) {
+      return Futures.completed(() -> dynamoDbClient.transactWriteItems(request));
+    }
+
+    @Override
+    public CompletableFuture<List<Map<String, AttributeValue>>> query(QueryRequest request) {
+      return Futures.completed(
+          () -> DynamoDbPaging.queryItems(dynamoDbClient, request).collect(Collectors.toList()));
+    }
+  }
+
+  /** Calls on the async client. */
+  private final class AsyncCalls implements RecordCalls {
+
+    @Override
+    public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+      return dynamoDbAsyncClient.updateItem(request);
+    }
+
+    @Override
+    public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+      return dynamoDbAsyncClient.putItem(request);
+    }
+
+    @Override
+    public CompletableFuture<TransactWriteItemsResponse> transactWriteItems(
+        TransactWriteItemsRequest request) {
+      return dynamoDbAsyncClient.transactWriteItems(request);
+    }
+
+    @Override
+    public CompletableFuture<List<Map<String, AttributeValue>>> query(QueryRequest request) {
+      return DynamoDbPaging.queryItemsAsync(dynamoDbAsyncClient, request);
+    }
+  }
+
+  /**
+   * Build an atomic ADD to one of an experience's counters. The experience's updatedAt is bumped
+   * too, so cached copies revalidated by updatedAt pick up the new count. A failed condition
+   * returns the experience, so a missing one is told apart from a full one.
+   */
+  private Update counterUpdate(String experienceId, String counter, int delta, String condition) {
+    Map<String, String> names = new HashMap<>();
+    names.put("#counter", counter);
+    Map<String, AttributeValue> values = new HashMap<>();
+    values.put(":delta", AttributeValue.builder().n(Integer.toString(delta)).build());
+    values.put(":now", AttributeValue.builder().s(Instant.now().toString()).build());
+    if (condition.contains(":zero")) {
+      values.put(":zero", AttributeValue.builder().n("0").build());
+    }
+
+    return Update.builder()
+        .tableName(tableName)
+        .key(ExperienceDao.buildKey(experienceId))
+        .updateExpression("ADD #counter :delta SET updatedAt = :now")
+        .conditionExpression(condition)
+        .expressionAttributeNames(names)
+        .expressionAttributeValues(values)
+        .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+        .build();
+  }
+
+  /** Whether the transaction item at the given index failed its condition. */
+  private static boolean isConditionalCheckFailure(TransactionCanceledException e, int index) {
+    return e.hasCancellationReasons()
+        && e.cancellationReasons().size() > index
+        && "ConditionalCheckFailed".equals(e.cancellationReasons().get(index).code());
+  }
+
+  /**
+   * Find all experiences for a user.
+   *
+   * @param userId User ID
+   * @return List of UserExperience relationships
+   */
+  public List<UserExperience> findByUserId(String userId) {
+    List<UserExperience> userExperiences = streamByUserId(userId).collect(Collectors.toList());
+
+    RequestLog.debug(
+        () ->
+            "UserExperienceDao.findByUserId - userId=["
+                + userId
+                + "], found "
+                + userExperiences.size()
+                + " items");
+
+    return userExperiences;
+  }
+
+  /**
+   * Lazily stream all experiences for a user, reading one DynamoDB page at a time.
+   *
+   * @param userId User ID
+   * @return Stream of UserExperience relationships
+   */
+  public Stream<UserExperience> streamByUserId(String userId) {
+    return toUserExperiences(DynamoDbPaging.queryItems(dynamoDbClient, byUserIdRequest(userId)));
+  }
+
+  /**
+   * Async twin of {@link #findByUserId(String)}.
+   *
+   * @param userId User ID
+   * @return Future of the UserExperience relationships
+   */
+  public CompletableFuture<List<UserExperience>> findByUserIdAsync(String userId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByUserId(userId));
+    }
+    return queryAsync(byUserIdRequest(userId));
+  }
+
+  private QueryRequest byUserIdRequest(String userId) {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(":userId", AttributeValue.builder().s(userId).build());
+
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression("pk = :userId")
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  /**
+   * Find all experiences for a user filtered by status.
+   *
+   * @param userId User ID
+   * @param status Status to filter by (INTERESTED, PAID, etc.)
+   * @return List of UserExperience relationships matching the status
+   */
+  public List<UserExperience> findByUserIdAndStatus(String userId, UserExperienceStatus status) {
+    return streamByUserIdAndStatus(userId, status).collect(Collectors.toList());
+  }
+
+  /**
+   * Lazily stream all experiences for a user filtered by status.
+   *
+   * @param userId User ID
+   * @param status Status to filter by (INTERESTED, PAID, etc.)
+   * @return Stream of UserExperience relationships matching the status
+   */
+  public Stream<UserExperience> streamByUserIdAndStatus(
+      String userId, UserExperienceStatus status) {
+    return toUserExperiences(
+        DynamoDbPaging.queryItems(dynamoDbClient, byUserIdAndStatusRequest(userId, status)));
+  }
+
+  /**
+   * Async twin of {@link #findByUserIdAndStatus(String, UserExperienceStatus)}.
+   *
+   * @param userId User ID
+   * @param status Status to filter by
+   * @return Future of the UserExperience relationships matching the status
+   */
+  public CompletableFuture<List<UserExperience>> findByUserIdAndStatusAsync(
+      String userId, UserExperienceStatus status) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByUserIdAndStatus(userId, status));
+    }
+    return queryAsync(byUserIdAndStatusRequest(userId, status));
+  }
+
+  private QueryRequest byUserIdAndStatusRequest(String userId, UserExperienceStatus status) {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(":userId", AttributeValue.builder().s(userId).build());
+    expressionAttributeValues.put(":status", AttributeValue.builder().s(status.getValue()).build());
+
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression("pk = :userId")
+        .filterExpression("#status = :status")
+        .expressionAttributeNames(Map.of("#status", "status"))
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  /**
+   * Find all users for an experience (using GSI1).
+   *
+   * @param experienceId Experience ID
+   * @return List of UserExperience relationships
+   */
+  public List<UserExperience> findByExperienceId(String experienceId) {
+    // Try GSI1 query first, but use scan as fallback if GSI1 doesn't exist or is misconfigured
+    try {
+      return streamByExperienceId(experienceId).collect(Collectors.toList());
+    } catch (Exception e) {
+      // If GSI1 query fails, fall back to scan
+      warnScanFallback(experienceId, e);
+      return toUserExperiences(
+              DynamoDbPaging.scanItems(dynamoDbClient, byExperienceIdScan(experienceId)))
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Async twin of {@link #findByExperienceId(String)}, with the same scan fallback.
+   *
+   * @param experienceId Experience ID
+   * @return Future of the UserExperience relationships
+   */
+  public CompletableFuture<List<UserExperience>> findByExperienceIdAsync(String experienceId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByExperienceId(experienceId));
+    }
+    return queryAsync(byExperienceIdRequest(experienceId, null))
+        .exceptionallyCompose(
+            error -> {
+              warnScanFallback(experienceId, Futures.unwrap(error));
+              return DynamoDbPaging.scanItemsAsync(
+                      dynamoDbAsyncClient, byExperienceIdScan(experienceId))
+                  .thenApply(
+                      items -> toUserExperiences(items.stream()).collect(Collectors.toList()));
+            });
+  }
+
+  private static void warnScanFallback(String experienceId, Throwable error) {
+    // If GSI1 query fails, fall back to scan
+    RequestLog.warn(
+        "GSI1 query failed for experienceId "
+            + experienceId
+            + ", falling back to scan: "
+            + error.getMessage());
+  }
+
+  /** Scan with filter expression, matching experienceId with and without EXPERIENCE# prefix. */
+  private ScanRequest byExperienceIdScan(String experienceId) {
+    String normalizedExperienceId = normalizeExperienceId(experienceId);
+    Map<String, AttributeValue> scanExpressionValues = new HashMap<>();
+    scanExpressionValues.put(":expId1", AttributeValue.builder().s(normalizedExperienceId).build());
+    String withPrefix = "EXPERIENCE#" + normalizedExperienceId;
+    scanExpressionValues.put(":expId2", AttributeValue.builder().s(withPrefix).build());
+
+    return ScanRequest.builder()
+        .tableName(tableName)
+        .filterExpression(
+            "attribute_exists(experienceId) AND (experienceId = :expId1 OR experienceId = :expId2)")
+        .expressionAttributeValues(scanExpressionValues)
+        .build();
+  }
+
+  /**
+   * Lazily stream all users for an experience (using GSI1), one DynamoDB page at a time.
+   *
+   * @param experienceId Experience ID (with or without EXPERIENCE# prefix)
+   * @return Stream of UserExperience relationships
+   */
+  public Stream<UserExperience> streamByExperienceId(String experienceId) {
+    return toUserExperiences(
+        DynamoDbPaging.queryItems(dynamoDbClient, byExperienceIdRequest(experienceId, null)));
+  }
+
+  /**
+   * Read one page of the users for an experience (using GSI1).
+   *
+   * @param experienceId Experience ID (with or without EXPERIENCE# prefix)
+   * @param filter Relationships to keep (e.g. only paid ones)
+   * @param limit Maximum number of relationships on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return Page of UserExperience relationships
+   * @throws IllegalArgumentException If the cursor is malformed
+   */
+  public Page<UserExperience> findByExperienceId(
+      String experienceId, Predicate<UserExperience> filter, int limit, String cursor) {
+    return DynamoDbPaging.queryPage(
+        dynamoDbClient,
+        byExperienceIdRequest(experienceId, null),
+        this::toUserExperience,
+        filter,
+        limit,
+        cursor);
+  }
+
+  /**
+   * Async twin of {@link #findByExperienceId(String, Predicate, int, String)}.
+   *
+   * @return Future of the page; fails with IllegalArgumentException if the cursor is malformed
+   */
+  public CompletableFuture<Page<UserExperience>> findByExperienceIdAsync(
+      String experienceId, Predicate<UserExperience> filter, int limit, String cursor) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByExperienceId(experienceId, filter, limit, cursor));
+    }
+    return DynamoDbPaging.queryPageAsync(
+        dynamoDbAsyncClient,
+        byExperienceIdRequest(experienceId, null),
+        this::toUserExperience,
+        filter,
+        limit,
+        cursor);
+  }
+
+  /**
+   * Find all users for an experience filtered by status (using GSI1).
+   *
+   * @param experienceId Experience ID
+   * @param status Status to filter by
+   * @return List of UserExperience relationships matching the status
+   */
+  public List<UserExperience> findByExperienceIdAndStatus(
+      String experienceId, UserExperienceStatus status) {
+    return toUserExperiences(
+            DynamoDbPaging.queryItems(
+                dynamoDbClient, byExperienceIdAndStatusRequest(experienceId, status)))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Async twin of {@link #findByExperienceIdAndStatus(String, UserExperienceStatus)}.
+   *
+   * @param experienceId Experience ID
+   * @param status Status to filter by
+   * @return Future of the UserExperience relationships matching the status
+   */
+  public CompletableFuture<List<UserExperience>> findByExperienceIdAndStatusAsync(
+      String experienceId, UserExperienceStatus status) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByExperienceIdAndStatus(experienceId, status));
+    }
+    return queryAsync(byExperienceIdAndStatusRequest(experienceId, status));
+  }
+
+  private QueryRequest byExperienceIdAndStatusRequest(
+      String experienceId, UserExperienceStatus status) {
+    Map<String, AttributeValue> filterValues = new HashMap<>();
+    filterValues.put(":status", AttributeValue.builder().s(status.getValue()).build());
+
+    return byExperienceIdRequest(experienceId, filterValues).toBuilder()
+        .filterExpression("#status = :status")
+        .expressionAttributeNames(Map.of("#status", "status"))
+        .build();
+  }
+
+  /**
+   * Find all users who are interested in an experience (using GSI1, filtered by exp-interest =
+   * true).
+   *
+   * @param experienceId Experience ID
+   * @return List of UserExperience relationships where exp-interest = true
+   */
+  public List<UserExperience> findInterestedUsersByExperienceId(String experienceId) {
+    List<UserExperience> userExperiences =
+        toUserExperiences(
+                DynamoDbPaging.queryItems(
+                    dynamoDbClient, interestedUsersByExperienceIdRequest(experienceId)))
+            .collect(Collectors.toList());
+
+    RequestLog.debug(
+        () ->
+            "UserExperienceDao.findInterestedUsersByExperienceId - experienceId=["
+                + experienceId
+                + "], found "
+                + userExperiences.size()
+                + " items");
+
+    return userExperiences;
+  }
+
+  /**
+   * Async twin of {@link #findInterestedUsersByExperienceId(String)}.
+   *
+   * @param experienceId Experience ID
+   * @return Future of the UserExperience relationships where exp-interest = true
+   */
+  public CompletableFuture<List<UserExperience>> findInterestedUsersByExperienceIdAsync(
+      String experienceId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findInterestedUsersByExperienceId(experienceId));
+    }
+    return queryAsync(interestedUsersByExperienceIdRequest(experienceId));
+  }
+
+  /**
+   * Read one page of the users who are interested in an experience.
+   *
+   * @param experienceId Experience ID
+   * @param limit Maximum number of relationships on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return Page of UserExperience relationships where exp-interest = true
+   * @throws IllegalArgumentException If the cursor is malformed
+   */
+  public Page<UserExperience> findInterestedUsersByExperienceId(
+      String experienceId, int limit, String cursor) {
+    return DynamoDbPaging.queryPage(
+        dynamoDbClient,
+        interestedUsersByExperienceIdRequest(experienceId),
+        this::toUserExperience,
+        ue -> true,
+        limit,
+        cursor);
+  }
+
+  /**
+   * Async twin of {@link #findInterestedUsersByExperienceId(String, int, String)}.
+   *
+   * @return Future of the page; fails with IllegalArgumentException if the cursor is malformed
+   */
+  public CompletableFuture<Page<UserExperience>> findInterestedUsersByExperienceIdAsync(
+      String experienceId, int limit, String cursor) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(
+          () -> findInterestedUsersByExperienceId(experienceId, limit, cursor));
+    }
+    return DynamoDbPaging.queryPageAsync(
+        dynamoDbAsyncClient,
+        interestedUsersByExperienceIdRequest(experienceId),
+        this::toUserExperience,
+        ue -> true,
+        limit,
+        cursor);
+  }
+
+  /**
+   * Find all UserExperience records where exp-interest = true (scan all records). Note: This is
+   * expensive for large tables; prefer {@link #streamAllInterestedUsers()} or the paged variant.
+   *
+   * @return List of UserExperience relationships where exp-interest = true
+   */
+  public List<UserExperience> findAllInterestedUsers() {
+    List<UserExperience> userExperiences = streamAllInterestedUsers().collect(Collectors.toList());
+
+    RequestLog.debug(
+        () ->
+            "UserExperienceDao.findAllInterestedUsers - found "
+                + userExperiences.size()
+                + " items");
+
+    return userExperiences;
+  }
+
+  /**
+   * Lazily stream all UserExperience records where exp-interest = true, one scan page at a time.
+   *
+   * @return Stream of UserExperience relationships where exp-interest = true
+   */
+  public Stream<UserExperience> streamAllInterestedUsers() {
+    return toUserExperiences(DynamoDbPaging.scanItems(dynamoDbClient, allInterestedUsersRequest()));
+  }
+
+  /**
+   * Async twin of {@link #findAllInterestedUsers()}; as expensive as the scan it runs.
+   *
+   * @return Future of the UserExperience relationships where exp-interest = true
+   */
+  public CompletableFuture<List<UserExperience>> findAllInterestedUsersAsync() {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(this::findAllInterestedUsers);
+    }
+    return DynamoDbPaging.scanItemsAsync(dynamoDbAsyncClient, allInterestedUsersRequest())
+        .thenApply(items -> toUserExperiences(items.stream()).collect(Collectors.toList()));
+  }
+
+  /**
+   * Read one page of all UserExperience records where exp-interest = true.
+   *
+   * @param limit Maximum number of relationships on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return Page of UserExperience relationships where exp-interest = true
+   * @throws IllegalArgumentException If the cursor is malformed
+   */
+  public Page<UserExperience> findAllInterestedUsers(int limit, String cursor) {
+    return DynamoDbPaging.scanPage(
+        dynamoDbClient,
+        allInterestedUsersRequest(),
+        this::toUserExperience,
+        ue -> true,
+        limit,
+        cursor);
+  }
+
+  /**
+   * Async twin of {@link #findAllInterestedUsers(int, String)}.
+   *
+   * @return Future of the page; fails with IllegalArgumentException if the cursor is malformed
+   */
+  public CompletableFuture<Page<UserExperience>> findAllInterestedUsersAsync(
+      int limit, String cursor) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findAllInterestedUsers(limit, cursor));
+    }
+    return DynamoDbPaging.scanPageAsync(
+        dynamoDbAsyncClient,
+        allInterestedUsersRequest(),
+        this::toUserExperience,
+        ue -> true,
+        limit,
+        cursor);
+  }
+
+  /**
+   * Read one page of all UserExperience records with a status (scan).
+   *
+   * @param status Status to filter by
+   * @param limit Maximum number of relationships on the page
+   * @param cursor Cursor from the previous page, or null for the first page
+   * @return Page of UserExperience relationships matching the status
+   * @throws IllegalArgumentException If the cursor is malformed
+   */
+  public Page<UserExperience> findAllByStatus(
+      UserExperienceStatus status, int limit, String cursor) {
+    return DynamoDbPaging.scanPage(
+        dynamoDbClient, byStatusScan(status), this::toUserExperience, ue -> true, limit, cursor);
+  }
+
+  /**
+   * Async twin of {@link #findAllByStatus(UserExperienceStatus, int, String)}.
+   *
+   * @return Future of the page; fails with IllegalArgumentException if the cursor is malformed
+   */
+  public CompletableFuture<Page<UserExperience>> findAllByStatusAsync(
+      UserExperienceStatus status, int limit, String cursor) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findAllByStatus(status, limit, cursor));
+    }
+    return DynamoDbPaging.scanPageAsync(
+        dynamoDbAsyncClient,
+        byStatusScan(status),
+        this::toUserExperience,
+        ue -> true,
+        limit,
+        cursor);
+  }
+
+  private ScanRequest byStatusScan(UserExperienceStatus status) {
+    return ScanRequest.builder()
+        .tableName(tableName)
+        .filterExpression("#status = :status")
+        .expressionAttributeNames(Map.of("#status", "status"))
+        .expressionAttributeValues(
+            Map.of(":status", AttributeValue.builder().s(status.getValue()).build()))
+        .build();
+  }
+
+  /** Run a query over the async client and convert the UserExperience items of all pages. */
+  private CompletableFuture<List<UserExperience>> queryAsync(QueryRequest queryRequest) {
+    return DynamoDbPaging.queryItemsAsync(dynamoDbAsyncClient, queryRequest)
+        .thenApply(items -> toUserExperiences(items.stream()).collect(Collectors.toList()));
+  }
+
+  /** Query on GSI1 for all relationships of an experience, plus any extra filter values. */
+  private QueryRequest byExperienceIdRequest(
+      String experienceId, Map<String, AttributeValue> extraValues) {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    // UserExperience stores experienceId without the EXPERIENCE# prefix in GSI1PK
+    expressionAttributeValues.put(
+        ":experienceId", AttributeValue.builder().s(normalizeExperienceId(experienceId)).build());
+    if (extraValues != null) {
+      expressionAttributeValues.putAll(extraValues);
+    }
+
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .indexName("GSI1") // ExperienceId-UserId index
+        .keyConditionExpression("GSI1PK = :experienceId") // Use GSI1PK as partition key name
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  private QueryRequest interestedUsersByExperienceIdRequest(String experienceId) {
+    Map<String, AttributeValue> filterValues = new HashMap<>();
+    filterValues.put(":expInterest", AttributeValue.builder().bool(true).build());
+
+    return byExperienceIdRequest(experienceId, filterValues).toBuilder()
+        .filterExpression("#expInterest = :expInterest")
+        .expressionAttributeNames(Map.of("#expInterest", "exp-interest"))
+        .build();
+  }
+
+  private ScanRequest allInterestedUsersRequest() {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(":expInterest", AttributeValue.builder().bool(true).build());
+
+    return ScanRequest.builder()
+        .tableName(tableName)
+        .filterExpression("#expInterest = :expInterest")
+        .expressionAttributeNames(Map.of("#expInterest", "exp-interest"))
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  private static String normalizeExperienceId(String experienceId) {
+    return experienceId.startsWith("EXPERIENCE#")
+        ? experienceId.substring("EXPERIENCE#".length())
+        : experienceId;
+  }
+
+  private Stream<UserExperience> toUserExperiences(Stream<Map<String, AttributeValue>> items) {
+    return items.map(this::toUserExperience).filter(Objects::nonNull);
+  }
+
+  /** Convert an item, or return null if it is not a UserExperience (e.g. a UserProfile item). */
+  private UserExperience toUserExperience(Map<String, AttributeValue> item) {
+    return isValidUserExperienceItem(item) ? fromAttributeMap(item) : null;
+  }
+
+  /** Convert UserExperience to DynamoDB AttributeValue map. */
+  private Map<String, AttributeValue> toAttributeMap(UserExperience userExperience) {
+    Map<String, AttributeValue> item =
+        AttributeValues.newItem(UserExperienceAttributes.ATTRIBUTE_COUNT + 7);
+
+    // PK: pk attribute = userId value (actual user ID)
+    item.put("pk", AttributeValue.builder().s(userExperience.getUserId()).build());
+    // Store userId as regular attribute for reference
+    item.put("userId", AttributeValue.builder().s(userExperience.getUserId()).build());
+    item.put("experienceId", AttributeValue.builder().s(userExperience.getExperienceId()).build());
+
+    // Set GSI1 attributes for querying by experienceId
+    // GSI1-PK: experienceId (as GSI1PK), GSI1-SK: userId (as GSI1SK)
+    // Store experienceId as-is (without EXPERIENCE# prefix) in GSI1PK
+    item.put("GSI1PK", AttributeValue.builder().s(userExperience.getExperienceId()).build());
+    item.put("GSI1SK", AttributeValue.builder().s(userExperience.getUserId()).build());
+
+    UserExperienceAttributes.write(userExperience, item);
+    // SK: the experience, so a user has one record per experience
+    item.put(
+        "sk",
+        AttributeValue.builder().s(RECORD_SK_PREFIX + userExperience.getExperienceId()).build());
+    AttributeValues.putTemporal(item, "createdAt", userExperience.getCreatedAt());
+
+    return item;
+  }
+
+  /**
+   * Check if an item is a valid UserExperience item (has a non-null, non-blank experienceId). This
+   * filters out UserProfile items and other items that share the same table/partition key but are
+   * not UserExperience items.
+   *
+   * @param item DynamoDB item map
+   * @return true if the item has a valid experienceId, false otherwise
+   */
+  private boolean isValidUserExperienceItem(Map<String, AttributeValue> item) {
+    if (!item.containsKey("experienceId")) {
+      return false;
+    }
+    AttributeValue experienceIdValue = item.get("experienceId");
+    if (experienceIdValue == null || experienceIdValue.s() == null) {
+      return false;
+    }
+    String experienceId = experienceIdValue.s();
+    return !experienceId.isBlank();
+  }
+
+  /** Convert DynamoDB AttributeValue map to UserExperience. */
+  private UserExperience fromAttributeMap(Map<String, AttributeValue> item) {
+    UserExperience userExperience = UserExperienceAttributes.read(item);
+
+    // Read userId from pk (partition key) or userId attribute
+    String userId = AttributeValues.getString(item, "pk");
+    if (userId == null) {
+      userId = AttributeValues.getString(item, "userId");
+    }
+    if (userId != null) {
+      userExperience.setUserId(userId);
+    }
+    String experienceId = AttributeValues.getString(item, "experienceId");
+    if (experienceId != null) {
+      userExperience.setExperienceId(experienceId);
+    }
+    // Records keyed by experience store createdAt; legacy records have it as their sort key
+    String createdAt = AttributeValues.getString(item, "createdAt");
+    String sk = AttributeValues.getString(item, "sk");
+    if (createdAt == null && sk != null && !sk.startsWith(RECORD_SK_PREFIX)) {
+      createdAt = sk;
+    }
+    if (createdAt != null) {
+      userExperience.setCreatedAt(AttributeValues.parseInstant(createdAt));
+    }
+
+    return userExperience;
+  }
+}
@@ -0,0 +1,411 @@
+package com.yourafterspace.yas_backend.dao;
+
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.dao.mapping.VenueLocationAttributes;
+import com.yourafterspace.yas_backend.model.VenueLocation;
+import com.yourafterspace.yas_backend.util.AsyncFanOut;
+import com.yourafterspace.yas_backend.util.Futures;
+import com.yourafterspace.yas_backend.util.GeohashUtil;
+import com.yourafterspace.yas_backend.util.RequestLog;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+/**
+ * Data Access Object (DAO) for VenueLocation entity operations in DynamoDB.
+ *
+ * <p>Why DAO? - Encapsulates all DynamoDB operations for venues - Handles geohash calculations
+ * automatically - Can be reused across different contexts (Lambda, Spring, etc.) - Easy to test and
+ * mock
+ *
+ * <p>Table structure: PK: venueId, SK: creationTime GSI3-PK: geohash_prefix (for nearby venue
+ * queries) GSI4-PK: VENUE_GEO#{4-char geohash}, GSI4-SK: {9-char geohash}#{venueId} (for cells
+ * coarser than geohash_prefix, queried with begins_with on the sort key)
+ *
+ * <p>Finders and writers have {@code Async} twins, as in {@link GroupDao}.
+ */
+public class VenueLocationDao {
+
+  /** Maximum number of geohash cell queries in flight at once. */
+  private static final int MAX_CONCURRENT_CELL_QUERIES = 8;
+
+  /** Deadline for a single geohash cell query. */
+  private static final Duration CELL_QUERY_TIMEOUT = Duration.ofSeconds(2);
+
+  /** Geo index used for cells coarser than the 6-character GSI3 partition key. */
+  private static final String GEO_INDEX_NAME = "GSI4";
+
+  private static final String GEO_INDEX_PK_PREFIX = "VENUE_GEO#";
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final String tableName;
+
+  public VenueLocationDao(DynamoDbClient dynamoDbClient, String tableName) {
+    this(dynamoDbClient, null, tableName);
+  }
+
+  /**
+   * Create a DAO that fans multi-cell queries out concurrently over the async client.
+   *
+   * @param dynamoDbClient Sync client used by the blocking methods
+   * @param dynamoDbAsyncClient Async client used for multi-cell queries and the {@code Async}
+   *     methods (null to query serially)
+   * @param tableName DynamoDB table name
+   */
+  public VenueLocationDao(
+      DynamoDbClient dynamoDbClient, DynamoDbAsyncClient dynamoDbAsyncClient, String tableName) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+    this.tableName = tableName;
+  }
+
+  /**
+   * Save a venue location. Automatically calculates and stores geohash_prefix.
+   *
+   * @param venue Venue location to save
+   * @return Saved venue location
+   */
+  public VenueLocation save(VenueLocation venue) {
+    dynamoDbClient.putItem(saveRequest(venue));
+    return venue;
+  }
+
+  /**
+   * Async twin of {@link #save(VenueLocation)}.
+   *
+   * @param venue Venue location to save
+   * @return Future of the saved venue location
+   */
+  public CompletableFuture<VenueLocation> saveAsync(VenueLocation venue) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> save(venue));
+    }
+    return dynamoDbAsyncClient.putItem(saveRequest(venue)).thenApply(response -> venue);
+  }
+
+  private PutItemRequest saveRequest(VenueLocation venue) {
+    venue.setUpdatedAt(Instant.now());
+    if (venue.getCreationTime() == null) {
+      venue.setCreationTime(Instant.now());
+    }
+    if (venue.getCreatedAt() == null) {
+      venue.setCreatedAt(Instant.now());
+    }
+
+    // Calculate and store geohash prefix if lat/lon are provided
+    if (venue.getLatitude() != null && venue.getLongitude() != null) {
+      venue.setGeohashPrefix(
+          GeohashUtil.getGeohashPrefix(venue.getLatitude(), venue.getLongitude()));
+    }
+
+    Map<String, AttributeValue> item = toAttributeMap(venue);
+    return PutItemRequest.builder().tableName(tableName).item(item).build();
+  }
+
+  /**
+   * Find a venue by venueId.
+   *
+   * @param venueId Venue ID
+   * @return Optional containing the venue if found
+   */
+  public Optional<VenueLocation> findByVenueId(String venueId) {
+    return latestVenue(dynamoDbClient.query(byVenueIdRequest(venueId)));
+  }
+
+  /**
+   * Async twin of {@link #findByVenueId(String)}.
+   *
+   * @param venueId Venue ID
+   * @return Future of the venue, empty if not found
+   */
+  public CompletableFuture<Optional<VenueLocation>> findByVenueIdAsync(String venueId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByVenueId(venueId));
+    }
+    return dynamoDbAsyncClient.query(byVenueIdRequest(venueId)).thenApply(this::latestVenue);
+  }
+
+  private QueryRequest byVenueIdRequest(String venueId) {
+    // Use entity type prefix for single-table design
+    // PK = "VENUE#venueId", SK = creationTime
+    String pk = "VENUE#" + venueId;
+
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+    expressionAttributeValues.put(":pk", AttributeValue.builder().s(pk).build());
+
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression("pk = :pk") // pk is the PK field in the table
+        .expressionAttributeValues(expressionAttributeValues)
+        .scanIndexForward(false) // Sort descending (latest first)
+        .limit(1)
+        .build();
+  }
+
+  private Optional<VenueLocation> latestVenue(QueryResponse response) {
+    if (response.items().isEmpty()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(fromAttributeMap(response.items().get(0)));
+  }
+
+  /**
+   * Find venues by geohash prefix (for nearby venue queries). Uses GSI3 for 6-character prefixes
+   * and the GSI4 geo index for coarser ones.
+   *
+   * @param geohashPrefix Geohash cell of 4 to 6 characters
+   * @return List of venues in that geohash cell
+   */
+  public List<VenueLocation> findByGeohashPrefix(String geohashPrefix) {
+    try {
+      List<VenueLocation> venues =
+          streamByGeohashPrefix(geohashPrefix).collect(Collectors.toList());
+
+      RequestLog.debug(
+          () -> "geohash query for " + geohashPrefix + " returned " + venues.size() + " items");
+
+      return venues;
+    } catch (Exception e) {
+      return cellQueryFailed(geohashPrefix, e);
+    }
+  }
+
+  /**
+   * Async twin of {@link #findByGeohashPrefix(String)}; a failed query also completes with an empty
+   * list.
+   *
+   * @param geohashPrefix Geohash cell of 4 to 6 characters
+   * @return Future of the venues in that geohash cell
+   */
+  public CompletableFuture<List<VenueLocation>> findByGeohashPrefixAsync(String geohashPrefix) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByGeohashPrefix(geohashPrefix));
+    }
+    return queryCellAsync(geohashPrefix)
+        .exceptionally(error -> cellQueryFailed(geohashPrefix, Futures.unwrap(error)));
+  }
+
+  private static List<VenueLocation> cellQueryFailed(String geohashPrefix, Throwable e) {
+    // Log error but don't throw - return empty list instead
+    RequestLog.error(
+        "Error querying venues for geohash " + geohashPrefix + ": " + e.getMessage(), e);
+    return new ArrayList<>();
+  }
+
+  /**
+   * Lazily stream the venues in a geohash cell, one DynamoDB page at a time. Unlike {@link
+   * #findByGeohashPrefix}, query errors are thrown to the caller.
+   *
+   * @param geohashPrefix Geohash cell of 4 to 6 characters
+   * @return Stream of venues in that geohash cell
+   */
+  public Stream<VenueLocation> streamByGeohashPrefix(String geohashPrefix) {
+    return DynamoDbPaging.queryItems(dynamoDbClient, buildGeohashQuery(geohashPrefix))
+        .map(this::fromAttributeMap);
+  }
+
+  /**
+   * Find venues in multiple geohash cells, e.g. the 9 neighboring cells or a {@link
+   * GeohashUtil#coverCircle} cover.
+   *
+   * <p>When an async client is configured the cells are queried concurrently (at most {@value
+   * #MAX_CONCURRENT_CELL_QUERIES} at a time, each with its own deadline). A cell that fails or
+   * times out is logged and skipped, so the caller gets the venues from the remaining cells.
+   *
+   * @param geohashPrefixes List of geohash prefixes to query
+   * @return List of all venues found in those cells
+   */
+  public List<VenueLocation> findByGeohashPrefixes(List<String> geohashPrefixes) {
+    List<VenueLocation> allVenues = new ArrayList<>();
+
+    if (dynamoDbAsyncClient == null) {
+      // Query each geohash cell
+      for (String geohashPrefix : geohashPrefixes) {
+        allVenues.addAll(findByGeohashPrefix(geohashPrefix));
+      }
+      return allVenues;
+    }
+
+    return mergeCells(
+        geohashPrefixes,
+        AsyncFanOut.run(
+            geohashPrefixes,
+            this::queryCellAsync,
+            MAX_CONCURRENT_CELL_QUERIES,
+            CELL_QUERY_TIMEOUT));
+  }
+
+  /**
+   * Async twin of {@link #findByGeohashPrefixes(List)}: the same bounded fan-out, without waiting
+   * for it.
+   *
+   * @param geohashPrefixes List of geohash prefixes to query
+   * @return Future of all venues found in those cells
+   */
+  public CompletableFuture<List<VenueLocation>> findByGeohashPrefixesAsync(
+      List<String> geohashPrefixes) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByGeohashPrefixes(geohashPrefixes));
+    }
+    return AsyncFanOut.runAsync(
+            geohashPrefixes, this::queryCellAsync, MAX_CONCURRENT_CELL_QUERIES, CELL_QUERY_TIMEOUT)
+        .thenApply(result -> mergeCells(geohashPrefixes, result));
+  }
+
+  /** Venues of all cells that answered; failed cells are logged and skipped. */
+  private static List<VenueLocation> mergeCells(
+      List<String> geohashPrefixes, AsyncFanOut.Result<List<VenueLocation>> result) {
+    List<VenueLocation> allVenues = new ArrayList<>();
+    for (List<VenueLocation> venues : result.getResults()) {
+      allVenues.addAll(venues);
+    }
+    if (result.isPartial()) {
+      RequestLog.warn(
+          ""
+              + result.getFailures().size()
+              + " of "
+              + geohashPrefixes.size()
+              + " geohash cell queries failed, returning partial results: "
+              + result.getFailures().get(0).getMessage());
+    }
+
+    return allVenues;
+  }
+
+  private CompletableFuture<List<VenueLocation>> queryCellAsync(String geohashPrefix) {
+    return queryAllPagesAsync(buildGeohashQuery(geohashPrefix), new ArrayList<>());
+  }
+
+  private CompletableFuture<List<VenueLocation>> queryAllPagesAsync(
+      QueryRequest queryRequest, List<VenueLocation> venues) {
+    return dynamoDbAsyncClient
+        .query(queryRequest)
+        .thenCompose(
+            response -> {
+              venues.addAll(toVenues(response));
+              if (response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()) {
+                return queryAllPagesAsync(
+                    queryRequest.toBuilder().exclusiveStartKey(response.lastEvaluatedKey()).build(),
+                    venues);
+              }
+              return CompletableFuture.completedFuture(venues);
+            });
+  }
+
+  private QueryRequest buildGeohashQuery(String geohashPrefix) {
+    Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
+
+    if (geohashPrefix.length() < GeohashUtil.getGeohashPrecision()) {
+      // Coarse cell: one geo index partition, narrowed with begins_with on the full geohash
+      expressionAttributeValues.put(
+          ":geoPk",
+          AttributeValue.builder()
+              .s(
+                  GEO_INDEX_PK_PREFIX
+                      + geohashPrefix.substring(0, GeohashUtil.GEO_INDEX_PARTITION_PRECISION))
+              .build());
+      expressionAttributeValues.put(
+          ":geohashPrefix", AttributeValue.builder().s(geohashPrefix).build());
+      return QueryRequest.builder()
+          .tableName(tableName)
+          .indexName(GEO_INDEX_NAME)
+          .keyConditionExpression("GSI4PK = :geoPk AND begins_with(GSI4SK, :geohashPrefix)")
+          .expressionAttributeValues(expressionAttributeValues)
+          .build();
+    }
+
+    expressionAttributeValues.put(
+        ":geohashPrefix", AttributeValue.builder().s(geohashPrefix).build());
+
+    // GSI3 partition key is geohash_prefix (matches existing index structure)
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .indexName("GSI3") // Geohash index
+        .keyConditionExpression("geohash_prefix = :geohashPrefix")
+        .expressionAttributeValues(expressionAttributeValues)
+        .build();
+  }
+
+  private List<VenueLocation> toVenues(QueryResponse response) {
+    List<VenueLocation> venues = new ArrayList<>(response.items().size());
+    for (Map<String, AttributeValue> item : response.items()) {
+      venues.add(fromAttributeMap(item));
+    }
+    return venues;
+  }
+
+  /** Convert VenueLocation to DynamoDB AttributeValue map. */
+  private Map<String, AttributeValue> toAttributeMap(VenueLocation venue) {
+    Map<String, AttributeValue> item =
+        AttributeValues.newItem(VenueLocationAttributes.ATTRIBUTE_COUNT + 7);
+
+    // Use entity type prefix for single-table design
+    // PK = "VENUE#venueId", SK = sk
+    String pk = "VENUE#" + venue.getVenueId();
+    item.put("pk", AttributeValue.builder().s(pk).build()); // pk is the PK field
+    item.put("sk", AttributeValue.builder().s(venue.getCreationTime().toString()).build());
+
+    item.put("venueId", AttributeValue.builder().s(venue.getVenueId()).build());
+    item.put(
+        "creationTime", AttributeValue.builder().s(venue.getCreationTime().toString()).build());
+    VenueLocationAttributes.write(venue, item);
+    if (venue.getLatitude() != null && venue.getLongitude() != null) {
+      // GSI4 geo index keys for radius searches that need cells coarser than geohash_prefix
+      String geohash =
+          GeohashUtil.calculateGeohash(
+              venue.getLatitude(), venue.getLongitude(), GeohashUtil.GEO_INDEX_SORT_PRECISION);
+      item.put(
+          "GSI4PK",
+          AttributeValue.builder()
+              .s(
+                  GEO_INDEX_PK_PREFIX
+                      + geohash.substring(0, GeohashUtil.GEO_INDEX_PARTITION_PRECISION))
+              .build());
+      item.put("GSI4SK", AttributeValue.builder().s(geohash + "#" + venue.getVenueId()).build());
+    }
+    if (venue.getCreatedAt() != null) {
+      item.put("createdAt", AttributeValue.builder().s(venue.getCreatedAt().toString()).build());
+    }
+
+    return item;
+  }
+
+  /** Convert DynamoDB AttributeValue map to VenueLocation. */
+  private VenueLocation fromAttributeMap(Map<String, AttributeValue> item) {
+    VenueLocation venue = VenueLocationAttributes.read(item);
+
+    String venueId = AttributeValues.getString(item, "venueId");
+    if (venueId != null) {
+      venue.setVenueId(venueId);
+    }
+    Instant creationTime = AttributeValues.getInstant(item, "creationTime");
+    if (creationTime != null) {
+      venue.setCreationTime(creationTime);
+    }
+    // Read from sk (sort key) or createdAt (for backward compatibility)
+    String createdAt = AttributeValues.getString(item, "sk");
+    if (createdAt == null) {
+      createdAt = AttributeValues.getString(item, "createdAt");
+    }
+    if (createdAt != null) {
+      venue.setCreatedAt(AttributeValues.parseInstant(createdAt));
+    }
+
+    return venue;
+  }
+}
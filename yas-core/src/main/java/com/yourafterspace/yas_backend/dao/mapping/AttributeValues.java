@@ -0,0 +1,285 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Reads and writes single attributes of a DynamoDB item for the entity codecs of this package.
+ *
+ * <p>Readers do one map lookup (no containsKey + get) and return null when the attribute is
+ * missing; writers skip null values. Timestamps are stored in the canonical {@code toString} form
+ * of {@link Instant}, {@link LocalDate} and {@link LocalTime}, which {@link #parseInstant}, {@link
+ * #parseDate} and {@link #parseTime} decode digit by digit; any other form goes through the JDK
+ * parsers, so the accepted inputs and the exceptions thrown are those of {@code Instant.parse} and
+ * friends.
+ */
+public final class AttributeValues {
+
+  private static final int[] NANOS_SCALE = {
+    0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+  };
+
+  private AttributeValues() {}
+
+  /**
+   * New item map sized so that the given number of attributes fits without rehashing.
+   *
+   * @param attributes Expected number of attributes
+   * @return Empty mutable map
+   */
+  public static Map<String, AttributeValue> newItem(int attributes) {
+    return new HashMap<>(attributes * 4 / 3 + 1);
+  }
+
+  public static String getString(Map<String, AttributeValue> item, String name) {
+    AttributeValue value = item.get(name);
+    return value != null ? value.s() : null;
+  }
+
+  public static Integer getInteger(Map<String, AttributeValue> item, String name) {
+    String number = getNumber(item, name);
+    return number != null ? Integer.valueOf(number) : null;
+  }
+
+  public static Double getDouble(Map<String, AttributeValue> item, String name) {
+    String number = getNumber(item, name);
+    return number != null ? Double.valueOf(number) : null;
+  }
+
+  public static BigDecimal getDecimal(Map<String, AttributeValue> item, String name) {
+    String number = getNumber(item, name);
+    return number != null ? new BigDecimal(number) : null;
+  }
+
+  public static Boolean getBoolean(Map<String, AttributeValue> item, String name) {
+    AttributeValue value = item.get(name);
+    return value != null ? value.bool() : null;
+  }
+
+  public static Instant getInstant(Map<String, AttributeValue> item, String name) {
+    String text = getString(item, name);
+    return text != null ? parseInstant(text) : null;
+  }
+
+  public static LocalDate getDate(Map<String, AttributeValue> item, String name) {
+    String text = getString(item, name);
+    return text != null ? parseDate(text) : null;
+  }
+
+  public static LocalTime getTime(Map<String, AttributeValue> item, String name) {
+    String text = getString(item, name);
+    return text != null ? parseTime(text) : null;
+  }
+
+  public static Map<String, AttributeValue> getMap(Map<String, AttributeValue> item, String name) {
+    AttributeValue value = item.get(name);
+    return value != null && value.hasM() ? value.m() : null;
+  }
+
+  /**
+   * Read a list of strings stored either as a string set (SS) or as a list (L) of strings.
+   *
+   * @return Mutable copy, empty if the attribute has another type, or null if it is missing
+   */
+  public static List<String> getStringList(Map<String, AttributeValue> item, String name) {
+    AttributeValue value = item.get(name);
+    if (value == null) {
+      return null;
+    }
+    if (value.hasSs()) {
+      return new ArrayList<>(value.ss());
+    }
+    if (!value.hasL()) {
+      return new ArrayList<>();
+    }
+    List<AttributeValue> elements = value.l();
+    List<String> strings = new ArrayList<>(elements.size());
+    for (AttributeValue element : elements) {
+      strings.add(element.s());
+    }
+    return strings;
+  }
+
+  public static void putString(Map<String, AttributeValue> item, String name, String value) {
+    if (value != null) {
+      item.put(name, AttributeValue.fromS(value));
+    }
+  }
+
+  public static void putNumber(Map<String, AttributeValue> item, String name, Number value) {
+    if (value != null) {
+      item.put(name, AttributeValue.fromN(value.toString()));
+    }
+  }
+
+  public static void putBoolean(Map<String, AttributeValue> item, String name, Boolean value) {
+    if (value != null) {
+      item.put(name, AttributeValue.fromBool(value));
+    }
+  }
+
+  /** Write an Instant, LocalDate or LocalTime in its canonical toString form. */
+  public static void putTemporal(
+      Map<String, AttributeValue> item, String name, TemporalAccessor value) {
+    if (value != null) {
+      item.put(name, AttributeValue.fromS(value.toString()));
+    }
+  }
+
+  /** Write a string set (SS); DynamoDB rejects empty sets, so empty collections are skipped. */
+  public static void putStringSet(
+      Map<String, AttributeValue> item, String name, Collection<String> values) {
+    if (values != null && !values.isEmpty()) {
+      item.put(name, AttributeValue.builder().ss(values).build());
+    }
+  }
+
+  /** Write a list (L) of strings; empty collections are skipped like string sets. */
+  public static void putStringList(
+      Map<String, AttributeValue> item, String name, Collection<String> values) {
+    if (values != null && !values.isEmpty()) {
+      List<AttributeValue> elements = new ArrayList<>(values.size());
+      for (String value : values) {
+        elements.add(AttributeValue.fromS(value));
+      }
+      item.put(name, AttributeValue.fromL(elements));
+    }
+  }
+
+  /**
+   * Build an UpdateItem expression that SETs every attribute of a codec-written map, for updates
+   * that overwrite the same attributes a put would write. The placeholders are {@code #name} and
+   * {@code :name}, so attribute names must be alphanumeric.
+   *
+   * @param attributes Attributes to set, non-empty
+   * @param expressionAttributeNames Receives the name placeholders
+   * @param expressionAttributeValues Receives the value placeholders
+   * @return The update expression
+   */
+  public static String setExpression(
+      Map<String, AttributeValue> attributes,
+      Map<String, String> expressionAttributeNames,
+      Map<String, AttributeValue> expressionAttributeValues) {
+    StringBuilder expression = new StringBuilder("SET ");
+    for (Map.Entry<String, AttributeValue> attribute : attributes.entrySet()) {
+      String name = attribute.getKey();
+      if (expression.length() > 4) {
+        expression.append(", ");
+      }
+      expression.append('#').append(name).append(" = :").append(name);
+      expressionAttributeNames.put("#" + name, name);
+      expressionAttributeValues.put(":" + name, attribute.getValue());
+    }
+    return expression.toString();
+  }
+
+  /**
+   * Parse an Instant, decoding the {@code yyyy-MM-ddTHH:mm:ss[.fraction]Z} form written by {@link
+   * Instant#toString} without a DateTimeFormatter.
+   *
+   * @param text Timestamp
+   * @return The instant
+   * @throws java.time.format.DateTimeParseException If the text is not an ISO-8601 instant
+   */
+  public static Instant parseInstant(String text) {
+    int length = text.length();
+    if (length >= 20
+        && length <= 30
+        && length != 21
+        && text.charAt(length - 1) == 'Z'
+        && text.charAt(10) == 'T'
+        && text.charAt(13) == ':'
+        && text.charAt(16) == ':'
+        && (length == 20 || text.charAt(19) == '.')) {
+      int hour = digits(text, 11, 13);
+      int minute = digits(text, 14, 16);
+      int second = digits(text, 17, 19);
+      int fraction = length > 20 ? digits(text, 20, length - 1) : 0;
+      if (hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+        LocalDate date = fastDate(text);
+        if (date != null && fraction >= 0) {
+          long secondOfDay = hour * 3600L + minute * 60L + second;
+          int nanos = length > 20 ? fraction * NANOS_SCALE[length - 21] : 0;
+          return Instant.ofEpochSecond(date.toEpochDay() * 86_400L + secondOfDay, nanos);
+        }
+      }
+    }
+    return Instant.parse(text);
+  }
+
+  /**
+   * Parse a LocalDate, decoding the {@code yyyy-MM-dd} form without a DateTimeFormatter.
+   *
+   * @throws java.time.format.DateTimeParseException If the text is not an ISO-8601 date
+   */
+  public static LocalDate parseDate(String text) {
+    LocalDate date = text.length() == 10 ? fastDate(text) : null;
+    return date != null ? date : LocalDate.parse(text);
+  }
+
+  /**
+   * Parse a LocalTime, decoding the {@code HH:mm} and {@code HH:mm:ss} forms without a
+   * DateTimeFormatter.
+   *
+   * @throws java.time.format.DateTimeParseException If the text is not an ISO-8601 time
+   */
+  public static LocalTime parseTime(String text) {
+    int length = text.length();
+    if ((length == 5 || (length == 8 && text.charAt(5) == ':')) && text.charAt(2) == ':') {
+      int hour = digits(text, 0, 2);
+      int minute = digits(text, 3, 5);
+      int second = length == 8 ? digits(text, 6, 8) : 0;
+      if (hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+        return LocalTime.of(hour, minute, second);
+      }
+    }
+    return LocalTime.parse(text);
+  }
+
+  private static String getNumber(Map<String, AttributeValue> item, String name) {
+    AttributeValue value = item.get(name);
+    return value != null ? value.n() : null;
+  }
+
+  /** Date in the first ten characters ({@code yyyy-MM-dd}), or null if they are not one. */
+  private static LocalDate fastDate(String text) {
+    if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+      return null;
+    }
+    int year = digits(text, 0, 4);
+    int month = digits(text, 5, 7);
+    int day = digits(text, 8, 10);
+    if (year < 0 || month < 1 || month > 12 || day < 1) {
+      return null;
+    }
+    try {
+      return LocalDate.of(year, month, day);
+    } catch (DateTimeException e) {
+      // e.g. February 30th: leave the error message to the JDK parser
+      return null;
+    }
+  }
+
+  /** Decimal value of the digits in [from, to), or -1 if any character is not a digit. */
+  private static int digits(String text, int from, int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+}
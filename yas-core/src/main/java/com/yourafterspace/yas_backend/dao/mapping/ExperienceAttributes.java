@@ -0,0 +1,204 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getDate;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getDecimal;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getDouble;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getInstant;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getInteger;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getStringList;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getTime;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putNumber;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putStringSet;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putTemporal;
+
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceStatus;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Attribute codec of {@link Experience}, shared by ExperienceDao and the server's
+ * ExperienceRepository.
+ *
+ * <p>The id and createdAt are key material whose attribute names differ per table layout, so the
+ * caller maps them (and any index keys); this class maps every other field. Tags and images are
+ * written as string sets and read from string sets or lists.
+ */
+public final class ExperienceAttributes {
+
+  /** Attributes written by {@link #write}, for presizing item maps. */
+  public static final int ATTRIBUTE_COUNT = 30;
+
+  private ExperienceAttributes() {}
+
+  public static void write(Experience experience, Map<String, AttributeValue> item) {
+    putString(item, "createdBy", experience.getCreatedBy());
+    putString(item, "title", experience.getTitle());
+    putString(item, "description", experience.getDescription());
+    if (experience.getType() != null) {
+      putString(item, "type", experience.getType().getValue());
+    }
+    if (experience.getStatus() != null) {
+      putString(item, "status", experience.getStatus().getValue());
+    }
+    putString(item, "location", experience.getLocation());
+    putString(item, "address", experience.getAddress());
+    putString(item, "city", experience.getCity());
+    putString(item, "country", experience.getCountry());
+    putNumber(item, "latitude", experience.getLatitude());
+    putNumber(item, "longitude", experience.getLongitude());
+    putString(item, "venueId", experience.getVenueId());
+    putString(item, "venueName", experience.getVenueName());
+    putTemporal(item, "experienceDate", experience.getExperienceDate());
+    putTemporal(item, "startTime", experience.getStartTime());
+    putTemporal(item, "endTime", experience.getEndTime());
+    putNumber(item, "pricePerPerson", experience.getPricePerPerson());
+    putString(item, "currency", experience.getCurrency());
+    putNumber(item, "maxCapacity", experience.getMaxCapacity());
+    putNumber(item, "currentBookings", experience.getCurrentBookings());
+    putNumber(item, "interestCount", experience.getInterestCount());
+    putStringSet(item, "tags", experience.getTags());
+    putStringSet(item, "images", experience.getImages());
+    putString(item, "contactInfo", experience.getContactInfo());
+    putString(item, "requirements", experience.getRequirements());
+    putString(item, "cancellationPolicy", experience.getCancellationPolicy());
+    putNumber(item, "averageRating", experience.getAverageRating());
+    putNumber(item, "totalReviews", experience.getTotalReviews());
+    putTemporal(item, "updatedAt", experience.getUpdatedAt());
+  }
+
+  /**
+   * Read every field but the id and createdAt. Fields missing from the item keep the defaults of
+   * {@code new Experience()}.
+   */
+  public static Experience read(Map<String, AttributeValue> item) {
+    Experience experience = new Experience();
+
+    String createdBy = getString(item, "createdBy");
+    if (createdBy != null) {
+      experience.setCreatedBy(createdBy);
+    }
+    String title = getString(item, "title");
+    if (title != null) {
+      experience.setTitle(title);
+    }
+    String description = getString(item, "description");
+    if (description != null) {
+      experience.setDescription(description);
+    }
+    String type = getString(item, "type");
+    if (type != null) {
+      experience.setType(ExperienceType.fromValue(type));
+    }
+    String status = getString(item, "status");
+    if (status != null) {
+      experience.setStatus(ExperienceStatus.fromValue(status));
+    }
+    String location = getString(item, "location");
+    if (location != null) {
+      experience.setLocation(location);
+    }
+    String address = getString(item, "address");
+    if (address != null) {
+      experience.setAddress(address);
+    }
+    String city = getString(item, "city");
+    if (city != null) {
+      experience.setCity(city);
+    }
+    String country = getString(item, "country");
+    if (country != null) {
+      experience.setCountry(country);
+    }
+    Double latitude = getDouble(item, "latitude");
+    if (latitude != null) {
+      experience.setLatitude(latitude);
+    }
+    Double longitude = getDouble(item, "longitude");
+    if (longitude != null) {
+      experience.setLongitude(longitude);
+    }
+    String venueId = getString(item, "venueId");
+    if (venueId != null) {
+      experience.setVenueId(venueId);
+    }
+    String venueName = getString(item, "venueName");
+    if (venueName != null) {
+      experience.setVenueName(venueName);
+    }
+    LocalDate experienceDate = getDate(item, "experienceDate");
+    if (experienceDate != null) {
+      experience.setExperienceDate(experienceDate);
+    }
+    LocalTime startTime = getTime(item, "startTime");
+    if (startTime != null) {
+      experience.setStartTime(startTime);
+    }
+    LocalTime endTime = getTime(item, "endTime");
+    if (endTime != null) {
+      experience.setEndTime(endTime);
+    }
+    BigDecimal pricePerPerson = getDecimal(item, "pricePerPerson");
+    if (pricePerPerson != null) {
+      experience.setPricePerPerson(pricePerPerson);
+    }
+    String currency = getString(item, "currency");
+    if (currency != null) {
+      experience.setCurrency(currency);
+    }
+    Integer maxCapacity = getInteger(item, "maxCapacity");
+    if (maxCapacity != null) {
+      experience.setMaxCapacity(maxCapacity);
+    }
+    Integer currentBookings = getInteger(item, "currentBookings");
+    if (currentBookings != null) {
+      experience.setCurrentBookings(currentBookings);
+    }
+    Integer interestCount = getInteger(item, "interestCount");
+    if (interestCount != null) {
+      experience.setInterestCount(interestCount);
+    }
+    List<String> tags = getStringList(item, "tags");
+    if (tags != null) {
+      experience.setTags(tags);
+    }
+    List<String> images = getStringList(item, "images");
+    if (images != null) {
+      experience.setImages(images);
+    }
+    String contactInfo = getString(item, "contactInfo");
+    if (contactInfo != null) {
+      experience.setContactInfo(contactInfo);
+    }
+    String requirements = getString(item, "requirements");
+    if (requirements != null) {
+      experience.setRequirements(requirements);
+    }
+    String cancellationPolicy = getString(item, "cancellationPolicy");
+    if (cancellationPolicy != null) {
+      experience.setCancellationPolicy(cancellationPolicy);
+    }
+    Double averageRating = getDouble(item, "averageRating");
+    if (averageRating != null) {
+      experience.setAverageRating(averageRating);
+    }
+    Integer totalReviews = getInteger(item, "totalReviews");
+    if (totalReviews != null) {
+      experience.setTotalReviews(totalReviews);
+    }
+    Instant updatedAt = getInstant(item, "updatedAt");
+    if (updatedAt != null) {
+      experience.setUpdatedAt(updatedAt);
+    }
+
+    return experience;
+  }
+}
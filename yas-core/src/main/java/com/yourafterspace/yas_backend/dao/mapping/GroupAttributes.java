@@ -0,0 +1,80 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getInstant;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getStringList;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putTemporal;
+
+import com.yourafterspace.yas_backend.model.Group;
+import com.yourafterspace.yas_backend.model.Group.GroupStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Attribute codec of {@link Group}, used by GroupDao.
+ *
+ * <p>The group id and createdAt are the table keys (with a legacy layout keyed by the creator), so
+ * the DAO maps them; this class maps the creator, the descriptive fields and the members.
+ */
+public final class GroupAttributes {
+
+  /** Attributes written by {@link #write}, for presizing item maps. */
+  public static final int ATTRIBUTE_COUNT = 6;
+
+  private GroupAttributes() {}
+
+  /**
+   * Write the fields other than the keys. memberUserIds is always written, as an empty string set
+   * for a group without members, so that updates of the member list find the attribute.
+   */
+  public static void write(Group group, Map<String, AttributeValue> item) {
+    putString(item, "creatorUserId", group.getUserId());
+    putString(item, "groupName", group.getGroupName());
+    putString(item, "description", group.getDescription());
+    if (group.getStatus() != null) {
+      putString(item, "status", group.getStatus().getValue());
+    }
+    List<String> memberUserIds = group.getMemberUserIds();
+    item.put(
+        "memberUserIds",
+        AttributeValue.builder().ss(memberUserIds != null ? memberUserIds : List.of()).build());
+    putTemporal(item, "updatedAt", group.getUpdatedAt());
+  }
+
+  /**
+   * Read the fields other than the keys. A group read without a member list (legacy items) gets an
+   * empty one.
+   */
+  public static Group read(Map<String, AttributeValue> item) {
+    Group group = new Group();
+
+    String creatorUserId = getString(item, "creatorUserId");
+    if (creatorUserId != null) {
+      group.setUserId(creatorUserId);
+    }
+    String groupName = getString(item, "groupName");
+    if (groupName != null) {
+      group.setGroupName(groupName);
+    }
+    String description = getString(item, "description");
+    if (description != null) {
+      group.setDescription(description);
+    }
+    String status = getString(item, "status");
+    if (status != null) {
+      group.setStatus(GroupStatus.fromValue(status));
+    }
+    List<String> memberUserIds = getStringList(item, "memberUserIds");
+    group.setMemberUserIds(memberUserIds != null ? memberUserIds : new ArrayList<>());
+    Instant updatedAt = getInstant(item, "updatedAt");
+    if (updatedAt != null) {
+      group.setUpdatedAt(updatedAt);
+    }
+
+    return group;
+  }
+}
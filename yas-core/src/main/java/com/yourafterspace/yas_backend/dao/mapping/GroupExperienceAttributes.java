@@ -0,0 +1,45 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getInstant;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putTemporal;
+
+import com.yourafterspace.yas_backend.model.GroupExperience;
+import java.time.Instant;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Attribute codec of {@link GroupExperience}, used by GroupExperienceDao.
+ *
+ * <p>The group id and createdAt are the table keys, so the DAO maps them (together with the GSI2
+ * keys); this class maps the plain experienceId and updatedAt attributes.
+ */
+public final class GroupExperienceAttributes {
+
+  /** Attributes written by {@link #write}, for presizing item maps. */
+  public static final int ATTRIBUTE_COUNT = 2;
+
+  private GroupExperienceAttributes() {}
+
+  public static void write(GroupExperience groupExperience, Map<String, AttributeValue> item) {
+    putString(item, "experienceId", groupExperience.getExperienceId());
+    putTemporal(item, "updatedAt", groupExperience.getUpdatedAt());
+  }
+
+  public static GroupExperience read(Map<String, AttributeValue> item) {
+    GroupExperience groupExperience = new GroupExperience();
+
+    String experienceId = getString(item, "experienceId");
+    if (experienceId != null) {
+      groupExperience.setExperienceId(experienceId);
+    }
+    Instant updatedAt = getInstant(item, "updatedAt");
+    if (updatedAt != null) {
+      groupExperience.setUpdatedAt(updatedAt);
+    }
+
+    return groupExperience;
+  }
+}
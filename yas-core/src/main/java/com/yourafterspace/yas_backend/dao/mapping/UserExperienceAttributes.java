@@ -0,0 +1,128 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getBoolean;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getDecimal;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getDouble;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getInstant;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getMap;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putBoolean;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putNumber;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putTemporal;
+
+import com.yourafterspace.yas_backend.model.UserExperience;
+import com.yourafterspace.yas_backend.model.UserExperience.PaymentDetails;
+import com.yourafterspace.yas_backend.model.UserExperience.UserExperienceStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Attribute codec of {@link UserExperience}, used by UserExperienceDao.
+ *
+ * <p>The user id and experience id make up the table and GSI1 keys and createdAt is the sort key of
+ * legacy records, so the DAO maps them; this class maps the interest, status and payment fields.
+ */
+public final class UserExperienceAttributes {
+
+  /** Attributes written by {@link #write}, for presizing item maps. */
+  public static final int ATTRIBUTE_COUNT = 7;
+
+  private UserExperienceAttributes() {}
+
+  public static void write(UserExperience userExperience, Map<String, AttributeValue> item) {
+    putTemporal(item, "experienceTime", userExperience.getExperienceTime());
+    putNumber(item, "interestScore", userExperience.getInterestScore());
+    putBoolean(item, "exp-interest", userExperience.getExpInterest());
+    if (userExperience.getStatus() != null) {
+      putString(item, "status", userExperience.getStatus().getValue());
+    }
+    putBoolean(item, "PAID", userExperience.getPaid());
+    if (userExperience.getPaymentDetails() != null) {
+      item.put("paymentDetails", paymentDetails(userExperience.getPaymentDetails()));
+    }
+    putTemporal(item, "updatedAt", userExperience.getUpdatedAt());
+  }
+
+  /**
+   * Read the interest, status and payment fields. Fields missing from the item keep the defaults of
+   * {@code new UserExperience()}; a stored PAID flag wins over the one implied by the status.
+   */
+  public static UserExperience read(Map<String, AttributeValue> item) {
+    UserExperience userExperience = new UserExperience();
+
+    Instant experienceTime = getInstant(item, "experienceTime");
+    if (experienceTime != null) {
+      userExperience.setExperienceTime(experienceTime);
+    }
+    Double interestScore = getDouble(item, "interestScore");
+    if (interestScore != null) {
+      userExperience.setInterestScore(interestScore);
+    }
+    Boolean expInterest = getBoolean(item, "exp-interest");
+    if (expInterest != null) {
+      userExperience.setExpInterest(expInterest);
+    }
+    String status = getString(item, "status");
+    if (status != null) {
+      userExperience.setStatus(UserExperienceStatus.fromValue(status));
+    }
+    Boolean paid = getBoolean(item, "PAID");
+    if (paid != null) {
+      userExperience.setPaid(paid);
+    }
+    Map<String, AttributeValue> paymentDetails = getMap(item, "paymentDetails");
+    if (paymentDetails != null) {
+      userExperience.setPaymentDetails(paymentDetails(paymentDetails));
+    }
+    Instant updatedAt = getInstant(item, "updatedAt");
+    if (updatedAt != null) {
+      userExperience.setUpdatedAt(updatedAt);
+    }
+
+    return userExperience;
+  }
+
+  /**
+   * Payment details as a map attribute (M), as stored in the paymentDetails attribute.
+   *
+   * @param paymentDetails Payment details
+   * @return Map attribute
+   */
+  public static AttributeValue paymentDetails(PaymentDetails paymentDetails) {
+    Map<String, AttributeValue> map = AttributeValues.newItem(5);
+    putNumber(map, "amount", paymentDetails.getAmount());
+    putString(map, "currency", paymentDetails.getCurrency());
+    putString(map, "paymentMethod", paymentDetails.getPaymentMethod());
+    putTemporal(map, "paymentDate", paymentDetails.getPaymentDate());
+    putString(map, "transactionId", paymentDetails.getTransactionId());
+    return AttributeValue.fromM(map);
+  }
+
+  private static PaymentDetails paymentDetails(Map<String, AttributeValue> map) {
+    PaymentDetails paymentDetails = new PaymentDetails();
+    BigDecimal amount = getDecimal(map, "amount");
+    if (amount != null) {
+      paymentDetails.setAmount(amount);
+    }
+    String currency = getString(map, "currency");
+    if (currency != null) {
+      paymentDetails.setCurrency(currency);
+    }
+    String paymentMethod = getString(map, "paymentMethod");
+    if (paymentMethod != null) {
+      paymentDetails.setPaymentMethod(paymentMethod);
+    }
+    Instant paymentDate = getInstant(map, "paymentDate");
+    if (paymentDate != null) {
+      paymentDetails.setPaymentDate(paymentDate);
+    }
+    String transactionId = getString(map, "transactionId");
+    if (transactionId != null) {
+      paymentDetails.setTransactionId(transactionId);
+    }
+    return paymentDetails;
+  }
+}
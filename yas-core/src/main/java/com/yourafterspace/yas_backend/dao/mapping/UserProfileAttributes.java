@@ -0,0 +1,119 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getDate;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getDouble;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getInstant;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putNumber;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putTemporal;
+
+import com.yourafterspace.yas_backend.model.UserProfile;
+import com.yourafterspace.yas_backend.model.UserProfile.UserStatus;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Attribute codec of {@link UserProfile}, shared by the server's UserProfileRepository and the
+ * Lambda handler.
+ *
+ * <p>The user id and createdAt are the table keys, named userId/createdAt in one layout and pk/sk
+ * in the other, so the caller maps them; this class maps every other field.
+ */
+public final class UserProfileAttributes {
+
+  /** Attributes written by {@link #write}, for presizing item maps. */
+  public static final int ATTRIBUTE_COUNT = 15;
+
+  private UserProfileAttributes() {}
+
+  public static void write(UserProfile profile, Map<String, AttributeValue> item) {
+    putTemporal(item, "dateOfBirth", profile.getDateOfBirth());
+    putString(item, "address", profile.getAddress());
+    putString(item, "city", profile.getCity());
+    putString(item, "state", profile.getState());
+    putString(item, "zipCode", profile.getZipCode());
+    putString(item, "country", profile.getCountry());
+    putNumber(item, "latitude", profile.getLatitude());
+    putNumber(item, "longitude", profile.getLongitude());
+    putString(item, "gender", profile.getGender());
+    putString(item, "profession", profile.getProfession());
+    putString(item, "company", profile.getCompany());
+    putString(item, "bio", profile.getBio());
+    putString(item, "phoneNumber", profile.getPhoneNumber());
+    if (profile.getStatus() != null) {
+      putString(item, "status", profile.getStatus().getValue());
+    }
+    putTemporal(item, "updatedAt", profile.getUpdatedAt());
+  }
+
+  /**
+   * Read every field but the user id and createdAt. Profiles stored before the status attribute
+   * existed are ACTIVE.
+   */
+  public static UserProfile read(Map<String, AttributeValue> item) {
+    UserProfile profile = new UserProfile();
+
+    LocalDate dateOfBirth = getDate(item, "dateOfBirth");
+    if (dateOfBirth != null) {
+      profile.setDateOfBirth(dateOfBirth);
+    }
+    String address = getString(item, "address");
+    if (address != null) {
+      profile.setAddress(address);
+    }
+    String city = getString(item, "city");
+    if (city != null) {
+      profile.setCity(city);
+    }
+    String state = getString(item, "state");
+    if (state != null) {
+      profile.setState(state);
+    }
+    String zipCode = getString(item, "zipCode");
+    if (zipCode != null) {
+      profile.setZipCode(zipCode);
+    }
+    String country = getString(item, "country");
+    if (country != null) {
+      profile.setCountry(country);
+    }
+    Double latitude = getDouble(item, "latitude");
+    if (latitude != null) {
+      profile.setLatitude(latitude);
+    }
+    Double longitude = getDouble(item, "longitude");
+    if (longitude != null) {
+      profile.setLongitude(longitude);
+    }
+    String gender = getString(item, "gender");
+    if (gender != null) {
+      profile.setGender(gender);
+    }
+    String profession = getString(item, "profession");
+    if (profession != null) {
+      profile.setProfession(profession);
+    }
+    String company = getString(item, "company");
+    if (company != null) {
+      profile.setCompany(company);
+    }
+    String bio = getString(item, "bio");
+    if (bio != null) {
+      profile.setBio(bio);
+    }
+    String phoneNumber = getString(item, "phoneNumber");
+    if (phoneNumber != null) {
+      profile.setPhoneNumber(phoneNumber);
+    }
+    profile.setStatus(UserStatus.fromValue(getString(item, "status")));
+    Instant updatedAt = getInstant(item, "updatedAt");
+    if (updatedAt != null) {
+      profile.setUpdatedAt(updatedAt);
+    }
+
+    return profile;
+  }
+}
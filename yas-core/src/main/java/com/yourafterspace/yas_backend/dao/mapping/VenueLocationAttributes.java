@@ -0,0 +1,78 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getDouble;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getInstant;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.getString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putNumber;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putString;
+import static com.yourafterspace.yas_backend.dao.mapping.AttributeValues.putTemporal;
+
+import com.yourafterspace.yas_backend.model.VenueLocation;
+import java.time.Instant;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Attribute codec of {@link VenueLocation}, used by VenueLocationDao.
+ *
+ * <p>The venue id, creation time and createdAt make up (or fall back to) the table keys, so the DAO
+ * maps them together with the geo index keys; this class maps the name, position and address.
+ */
+public final class VenueLocationAttributes {
+
+  /** Attributes written by {@link #write}, for presizing item maps. */
+  public static final int ATTRIBUTE_COUNT = 8;
+
+  private VenueLocationAttributes() {}
+
+  public static void write(VenueLocation venue, Map<String, AttributeValue> item) {
+    putString(item, "name", venue.getName());
+    putNumber(item, "latitude", venue.getLatitude());
+    putNumber(item, "longitude", venue.getLongitude());
+    putString(item, "address", venue.getAddress());
+    putString(item, "city", venue.getCity());
+    putString(item, "country", venue.getCountry());
+    // GSI3 uses geohash_prefix as partition key (not GSI3PK)
+    putString(item, "geohash_prefix", venue.getGeohashPrefix());
+    putTemporal(item, "updatedAt", venue.getUpdatedAt());
+  }
+
+  public static VenueLocation read(Map<String, AttributeValue> item) {
+    VenueLocation venue = new VenueLocation();
+
+    String name = getString(item, "name");
+    if (name != null) {
+      venue.setName(name);
+    }
+    Double latitude = getDouble(item, "latitude");
+    if (latitude != null) {
+      venue.setLatitude(latitude);
+    }
+    Double longitude = getDouble(item, "longitude");
+    if (longitude != null) {
+      venue.setLongitude(longitude);
+    }
+    String address = getString(item, "address");
+    if (address != null) {
+      venue.setAddress(address);
+    }
+    String city = getString(item, "city");
+    if (city != null) {
+      venue.setCity(city);
+    }
+    String country = getString(item, "country");
+    if (country != null) {
+      venue.setCountry(country);
+    }
+    String geohashPrefix = getString(item, "geohash_prefix");
+    if (geohashPrefix != null) {
+      venue.setGeohashPrefix(geohashPrefix);
+    }
+    Instant updatedAt = getInstant(item, "updatedAt");
+    if (updatedAt != null) {
+      venue.setUpdatedAt(updatedAt);
+    }
+
+    return venue;
+  }
+}
@@ -0,0 +1,87 @@
+package com.yourafterspace.yas_backend.dto;
+
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceStatus;
+
+/**
+ * Maps experience DTOs to and from the {@link Experience} entity with plain getter/setter calls, so
+ * the mapping is checked by the compiler and costs no reflection per element of a listing.
+ */
+public final class ExperienceMapper {
+
+  private ExperienceMapper() {}
+
+  /**
+   * Copy every field of a request onto an experience, nulls included: a field left out of an update
+   * request is cleared. The id and creator are never taken from a request. A missing status becomes
+   * DRAFT and a missing currency USD.
+   *
+   * @param request Create or update request
+   * @param experience Experience to update
+   */
+  public static void applyRequest(ExperienceRequest request, Experience experience) {
+    experience.setTitle(request.getTitle());
+    experience.setDescription(request.getDescription());
+    experience.setType(request.getType());
+    experience.setStatus(
+        request.getStatus() != null ? request.getStatus() : ExperienceStatus.DRAFT);
+    experience.setLocation(request.getLocation());
+    experience.setAddress(request.getAddress());
+    experience.setCity(request.getCity());
+    experience.setCountry(request.getCountry());
+    experience.setLatitude(request.getLatitude());
+    experience.setLongitude(request.getLongitude());
+    experience.setExperienceDate(request.getExperienceDate());
+    experience.setStartTime(request.getStartTime());
+    experience.setEndTime(request.getEndTime());
+    experience.setPricePerPerson(request.getPricePerPerson());
+    experience.setCurrency(request.getCurrency() != null ? request.getCurrency() : "USD");
+    experience.setMaxCapacity(request.getMaxCapacity());
+    experience.setTags(request.getTags());
+    experience.setImages(request.getImages());
+    experience.setContactInfo(request.getContactInfo());
+    experience.setRequirements(request.getRequirements());
+    experience.setCancellationPolicy(request.getCancellationPolicy());
+  }
+
+  /**
+   * Build the response for an experience, including the derived capacity fields.
+   *
+   * @param experience Experience
+   * @return Response DTO
+   */
+  public static ExperienceResponse toResponse(Experience experience) {
+    ExperienceResponse response = new ExperienceResponse();
+    response.setExperienceId(experience.getExperienceId());
+    response.setCreatedBy(experience.getCreatedBy());
+    response.setTitle(experience.getTitle());
+    response.setDescription(experience.getDescription());
+    response.setType(experience.getType());
+    response.setStatus(experience.getStatus());
+    response.setLocation(experience.getLocation());
+    response.setAddress(experience.getAddress());
+    response.setCity(experience.getCity());
+    response.setCountry(experience.getCountry());
+    response.setLatitude(experience.getLatitude());
+    response.setLongitude(experience.getLongitude());
+    response.setExperienceDate(experience.getExperienceDate());
+    response.setStartTime(experience.getStartTime());
+    response.setEndTime(experience.getEndTime());
+    response.setPricePerPerson(experience.getPricePerPerson());
+    response.setCurrency(experience.getCurrency());
+    response.setMaxCapacity(experience.getMaxCapacity());
+    response.setCurrentBookings(experience.getCurrentBookings());
+    response.setRemainingCapacity(experience.getRemainingCapacity());
+    response.setTags(experience.getTags());
+    response.setImages(experience.getImages());
+    response.setContactInfo(experience.getContactInfo());
+    response.setRequirements(experience.getRequirements());
+    response.setCancellationPolicy(experience.getCancellationPolicy());
+    response.setAverageRating(experience.getAverageRating());
+    response.setTotalReviews(experience.getTotalReviews());
+    response.setHasAvailableSpots(experience.hasAvailableSpots());
+    response.setCreatedAt(experience.getCreatedAt());
+    response.setUpdatedAt(experience.getUpdatedAt());
+    return response;
+  }
+}
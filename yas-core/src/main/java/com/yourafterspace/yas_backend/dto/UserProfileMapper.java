@@ -0,0 +1,88 @@
+package com.yourafterspace.yas_backend.dto;
+
+import com.yourafterspace.yas_backend.model.UserProfile;
+
+/**
+ * Maps user profile DTOs to and from the {@link UserProfile} entity, shared by the server's
+ * UserProfileService and the Lambda handler.
+ */
+public final class UserProfileMapper {
+
+  private UserProfileMapper() {}
+
+  /**
+   * Copy the fields set in a request onto a profile; fields left null keep their current value.
+   *
+   * @param request Create or update request
+   * @param profile Profile to update
+   */
+  public static void applyRequest(UserProfileRequest request, UserProfile profile) {
+    if (request.getDateOfBirth() != null) {
+      profile.setDateOfBirth(request.getDateOfBirth());
+    }
+    if (request.getAddress() != null) {
+      profile.setAddress(request.getAddress());
+    }
+    if (request.getCity() != null) {
+      profile.setCity(request.getCity());
+    }
+    if (request.getState() != null) {
+      profile.setState(request.getState());
+    }
+    if (request.getZipCode() != null) {
+      profile.setZipCode(request.getZipCode());
+    }
+    if (request.getCountry() != null) {
+      profile.setCountry(request.getCountry());
+    }
+    if (request.getLatitude() != null) {
+      profile.setLatitude(request.getLatitude());
+    }
+    if (request.getLongitude() != null) {
+      profile.setLongitude(request.getLongitude());
+    }
+    if (request.getGender() != null) {
+      profile.setGender(request.getGender());
+    }
+    if (request.getProfession() != null) {
+      profile.setProfession(request.getProfession());
+    }
+    if (request.getCompany() != null) {
+      profile.setCompany(request.getCompany());
+    }
+    if (request.getBio() != null) {
+      profile.setBio(request.getBio());
+    }
+    if (request.getPhoneNumber() != null) {
+      profile.setPhoneNumber(request.getPhoneNumber());
+    }
+  }
+
+  /**
+   * Build the response for a profile.
+   *
+   * @param profile User profile
+   * @return Response DTO
+   */
+  public static UserProfileResponse toResponse(UserProfile profile) {
+    UserProfileResponse response = new UserProfileResponse();
+    response.setUserId(profile.getUserId());
+    response.setDateOfBirth(profile.getDateOfBirth());
+    response.setAddress(profile.getAddress());
+    response.setCity(profile.getCity());
+    response.setState(profile.getState());
+    response.setZipCode(profile.getZipCode());
+    response.setCountry(profile.getCountry());
+    response.setLatitude(profile.getLatitude());
+    response.setLongitude(profile.getLongitude());
+    response.setGender(profile.getGender());
+    response.setProfession(profile.getProfession());
+    response.setCompany(profile.getCompany());
+    response.setBio(profile.getBio());
+    response.setPhoneNumber(profile.getPhoneNumber());
+    response.setStatus(profile.getStatus());
+    response.setCreatedAt(profile.getCreatedAt());
+    response.setUpdatedAt(profile.getUpdatedAt());
+    return response;
+  }
+}
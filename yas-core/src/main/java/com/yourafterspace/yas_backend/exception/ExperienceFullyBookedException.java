@@ -0,0 +1,15 @@
+package com.yourafterspace.yas_backend.exception;
+
+/**
+ * Exception thrown when a booking would take an experience beyond its maximum capacity.
+ *
+ * <p>It results in a 409 Conflict HTTP response.
+ */
+public class ExperienceFullyBookedException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ExperienceFullyBookedException(String message) {
+    super(message);
+  }
+}
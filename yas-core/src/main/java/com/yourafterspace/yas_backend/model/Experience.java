@@ -29,6 +29,8 @@ public class Experience extends BaseEntity {
   private String country;
   private Double latitude;
   private Double longitude;
+  private String venueId; // GSI1 partition key (VenueLocation this experience takes place at)
+  private String venueName; // Denormalized from VenueLocation for the geo index projection
 
   // Timing details
   @JsonFormat(pattern = "yyyy-MM-dd")
@@ -45,6 +47,7 @@ public class Experience extends BaseEntity {
   private String currency;
   private Integer maxCapacity;
   private Integer currentBookings;
+  private Integer interestCount;
 
   // Additional details
   private List<String> tags;
@@ -68,6 +71,7 @@ public class Experience extends BaseEntity {
     super();
     this.status = ExperienceStatus.DRAFT;
     this.currentBookings = 0;
+    this.interestCount = 0;
     this.averageRating = 0.0;
     this.totalReviews = 0;
     this.currency = "USD"; // Default currency
@@ -177,6 +181,22 @@ public class Experience extends BaseEntity {
     this.longitude = longitude;
   }
 
+  public String getVenueId() {
+    return venueId;
+  }
+
+  public void setVenueId(String venueId) {
+    this.venueId = venueId;
+  }
+
+  public String getVenueName() {
+    return venueName;
+  }
+
+  public void setVenueName(String venueName) {
+    this.venueName = venueName;
+  }
+
   public LocalDate getExperienceDate() {
     return experienceDate;
   }
@@ -233,6 +253,14 @@ public class Experience extends BaseEntity {
     this.currentBookings = currentBookings;
   }
 
+  public Integer getInterestCount() {
+    return interestCount;
+  }
+
+  public void setInterestCount(Integer interestCount) {
+    this.interestCount = interestCount;
+  }
+
   public List<String> getTags() {
     return tags;
   }
@@ -0,0 +1,170 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Utility for running many independent async calls with bounded parallelism.
+ *
+ * <p>Used by the DAOs to fan out per-cell / per-key DynamoDB queries. At most {@code
+ * maxConcurrency} calls are in flight at once, each call gets its own deadline, and a failed or
+ * timed-out call does not fail the whole batch: its result is simply missing from {@link
+ * Result#getResults()} and the error is recorded in {@link Result#getFailures()}.
+ */
+public final class AsyncFanOut {
+
+  private AsyncFanOut() {}
+
+  /**
+   * Run {@code call} for every input and wait for all of them to finish.
+   *
+   * @param inputs Inputs to fan out over
+   * @param call Function starting the async call for one input
+   * @param maxConcurrency Maximum number of calls in flight at the same time
+   * @param perCallTimeout Deadline applied to each individual call
+   * @return Successful results in input order plus the failures
+   */
+  public static <T, R> Result<R> run(
+      List<T> inputs,
+      Function<? super T, CompletableFuture<R>> call,
+      int maxConcurrency,
+      Duration perCallTimeout) {
+    return runAsync(inputs, call, maxConcurrency, perCallTimeout).join();
+  }
+
+  /**
+   * Run {@code call} for every input without waiting; the async counterpart of {@link #run}.
+   *
+   * @param inputs Inputs to fan out over
+   * @param call Function starting the async call for one input
+   * @param maxConcurrency Maximum number of calls in flight at the same time
+   * @param perCallTimeout Deadline applied to each individual call
+   * @return Future of the successful results in input order plus the failures; never fails
+   */
+  public static <T, R> CompletableFuture<Result<R>> runAsync(
+      List<T> inputs,
+      Function<? super T, CompletableFuture<R>> call,
+      int maxConcurrency,
+      Duration perCallTimeout) {
+    if (inputs.isEmpty()) {
+      return CompletableFuture.completedFuture(
+          new Result<>(Collections.emptyList(), Collections.emptyList()));
+    }
+
+    int size = inputs.size();
+    AtomicReferenceArray<R> results = new AtomicReferenceArray<>(size);
+    AtomicReferenceArray<Throwable> failures = new AtomicReferenceArray<>(size);
+    AtomicInteger cursor = new AtomicInteger();
+
+    // Each lane keeps one call in flight and picks up the next input when it completes
+    int lanes = Math.max(1, Math.min(maxConcurrency, size));
+    List<CompletableFuture<Void>> laneFutures = new ArrayList<>(lanes);
+    for (int i = 0; i < lanes; i++) {
+      CompletableFuture<Void> laneDone = new CompletableFuture<>();
+      runNext(inputs, call, perCallTimeout, cursor, results, failures, laneDone);
+      laneFutures.add(laneDone);
+    }
+    return CompletableFuture.allOf(laneFutures.toArray(new CompletableFuture<?>[0]))
+        .thenApply(done -> collect(results, failures));
+  }
+
+  private static <R> Result<R> collect(
+      AtomicReferenceArray<R> results, AtomicReferenceArray<Throwable> failures) {
+    int size = results.length();
+    List<R> successful = new ArrayList<>(size);
+    List<Throwable> errors = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      if (failures.get(i) != null) {
+        errors.add(failures.get(i));
+      } else if (results.get(i) != null) {
+        successful.add(results.get(i));
+      }
+    }
+    return new Result<>(successful, errors);
+  }
+
+  private static <T, R> void runNext(
+      List<T> inputs,
+      Function<? super T, CompletableFuture<R>> call,
+      Duration perCallTimeout,
+      AtomicInteger cursor,
+      AtomicReferenceArray<R> results,
+      AtomicReferenceArray<Throwable> failures,
+      CompletableFuture<Void> laneDone) {
+    while (true) {
+      int index = cursor.getAndIncrement();
+      if (index >= inputs.size()) {
+        laneDone.complete(null);
+        return;
+      }
+
+      CompletableFuture<R> future;
+      try {
+        future = call.apply(inputs.get(index));
+      } catch (RuntimeException e) {
+        future = CompletableFuture.failedFuture(e);
+      }
+      future = future.orTimeout(perCallTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+      if (!future.isDone()) {
+        future.whenComplete(
+            (result, error) -> {
+              record(index, result, error, results, failures);
+              runNext(inputs, call, perCallTimeout, cursor, results, failures, laneDone);
+            });
+        return;
+      }
+      // A call that completed at once (cached, or failed to start) is recorded here and the lane
+      // moves on in this loop; starting the next call from its callback would add a stack frame
+      // per such call
+      future.whenComplete((result, error) -> record(index, result, error, results, failures));
+    }
+  }
+
+  private static <R> void record(
+      int index,
+      R result,
+      Throwable error,
+      AtomicReferenceArray<R> results,
+      AtomicReferenceArray<Throwable> failures) {
+    if (error != null) {
+      failures.set(index, Futures.unwrap(error));
+    } else {
+      results.set(index, result);
+    }
+  }
+
+  /** Outcome of a fan-out: the successful results and the calls that failed or timed out. */
+  public static final class Result<R> {
+
+    private final List<R> results;
+    private final List<Throwable> failures;
+
+    Result(List<R> results, List<Throwable> failures) {
+      this.results = results;
+      this.failures = failures;
+    }
+
+    /** Successful results, in the same order as the inputs. */
+    public List<R> getResults() {
+      return results;
+    }
+
+    /** Errors for calls that failed or exceeded their deadline. */
+    public List<Throwable> getFailures() {
+      return failures;
+    }
+
+    /** Whether at least one call failed, i.e. the results are incomplete. */
+    public boolean isPartial() {
+      return !failures.isEmpty();
+    }
+  }
+}
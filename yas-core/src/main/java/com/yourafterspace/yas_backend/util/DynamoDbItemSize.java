@@ -0,0 +1,56 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Estimates the size of DynamoDB items, following DynamoDB's own item size rules (attribute names
+ * plus values, strings counted in characters). Used to weigh items held in memory.
+ */
+public final class DynamoDbItemSize {
+
+  private DynamoDbItemSize() {}
+
+  /**
+   * Estimate the size of an item in bytes.
+   *
+   * @param item DynamoDB item
+   * @return Estimated size in bytes
+   */
+  public static int estimate(Map<String, AttributeValue> item) {
+    long size = 0;
+    for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+      size += attribute.getKey().length() + estimate(attribute.getValue());
+    }
+    return (int) Math.min(Integer.MAX_VALUE, size);
+  }
+
+  private static long estimate(AttributeValue value) {
+    if (value.s() != null) {
+      return value.s().length();
+    }
+    if (value.n() != null) {
+      return value.n().length();
+    }
+    if (value.b() != null) {
+      return value.b().asByteArray().length;
+    }
+    if (value.hasSs()) {
+      return value.ss().stream().mapToLong(String::length).sum();
+    }
+    if (value.hasNs()) {
+      return value.ns().stream().mapToLong(String::length).sum();
+    }
+    if (value.hasL()) {
+      return 3 + value.l().stream().mapToLong(element -> 1 + estimate(element)).sum();
+    }
+    if (value.hasM()) {
+      return 3
+          + value.m().entrySet().stream()
+              .mapToLong(entry -> 1 + entry.getKey().length() + estimate(entry.getValue()))
+              .sum();
+    }
+    // BOOL, NULL
+    return 1;
+  }
+}
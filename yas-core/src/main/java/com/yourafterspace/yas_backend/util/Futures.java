@@ -0,0 +1,109 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Composition helpers for the {@code CompletableFuture} twins of the DAO and repository methods.
+ *
+ * <p>A handler starts its independent lookups first and joins them afterwards, so the DynamoDB
+ * calls overlap on the async client's event loop instead of running one after the other, without a
+ * thread per call. {@link #join} rethrows the exception a call failed with (a
+ * ConditionalCheckFailedException stays a ConditionalCheckFailedException), so the error handling
+ * written for the blocking methods keeps working.
+ */
+public final class Futures {
+
+  private Futures() {}
+
+  /**
+   * Run a blocking call and return its outcome as a completed future. Used by the async twins of a
+   * DAO that has no async client: the call then runs on the caller's thread.
+   *
+   * @param call Blocking call
+   * @return Future completed with the result, or failed with the RuntimeException thrown
+   */
+  public static <T> CompletableFuture<T> completed(Supplier<T> call) {
+    try {
+      return CompletableFuture.completedFuture(call.get());
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Wait for all futures and collect their results in order.
+   *
+   * @param futures Futures, typically started back to back
+   * @return Future of the results; fails with the first failure once all have completed
+   */
+  public static <T> CompletableFuture<List<T>> allOf(
+      List<? extends CompletableFuture<? extends T>> futures) {
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .thenApply(
+            done -> {
+              List<T> results = new ArrayList<>(futures.size());
+              for (CompletableFuture<? extends T> future : futures) {
+                results.add(future.join());
+              }
+              return results;
+            });
+  }
+
+  /**
+   * Wait for all futures and collect their results by key, in the iteration order of the map.
+   *
+   * @param futures Futures by key
+   * @return Future of the results by key; fails with the first failure once all have completed
+   */
+  public static <K, V> CompletableFuture<Map<K, V>> allOf(
+      Map<K, ? extends CompletableFuture<? extends V>> futures) {
+    return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+        .thenApply(
+            done -> {
+              Map<K, V> results = new LinkedHashMap<>();
+              futures.forEach((key, future) -> results.put(key, future.join()));
+              return results;
+            });
+  }
+
+  /**
+   * Wait for a future and return its result, rethrowing the RuntimeException or Error it failed
+   * with rather than the CompletionException wrapping it.
+   *
+   * @param future Future to wait for
+   * @return The result
+   */
+  public static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      Throwable cause = unwrap(e);
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * The exception a future failed with, without CompletionException/ExecutionException wrappers.
+   */
+  public static Throwable unwrap(Throwable error) {
+    Throwable cause = error;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+}
@@ -0,0 +1,225 @@
+package com.yourafterspace.yas_backend.util;
+
+import ch.hsr.geohash.BoundingBox;
+import ch.hsr.geohash.GeoHash;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for geohashing operations. Used for location-based queries to find nearby venues
+ * and experiences.
+ */
+public class GeohashUtil {
+
+  private static final int GEOHASH_PRECISION = 6; // ~1.2km x 0.6km for NYC area
+
+  /**
+   * Coarsest precision a circle cover may use (~39km x 19.5km). Cells shorter than {@link
+   * #GEOHASH_PRECISION} are served by the geo index, whose partition key is this many characters.
+   */
+  public static final int GEO_INDEX_PARTITION_PRECISION = 4;
+
+  /** Precision of the full geohash stored in the geo index sort key (~5m x 5m). */
+  public static final int GEO_INDEX_SORT_PRECISION = 9;
+
+  /**
+   * Default cap on the number of cells returned by {@link #coverCircle(double, double, double)}.
+   */
+  public static final int MAX_COVER_CELLS = 32;
+
+  /** Largest radius for which a cover stays within {@link #MAX_COVER_CELLS} cells. */
+  public static final double MAX_SEARCH_RADIUS_KM = 40.0;
+
+  private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+  /**
+   * Calculate geohash for given latitude and longitude.
+   *
+   * @param latitude Latitude
+   * @param longitude Longitude
+   * @return Geohash string
+   */
+  public static String calculateGeohash(double latitude, double longitude) {
+    GeoHash geoHash = GeoHash.withCharacterPrecision(latitude, longitude, GEOHASH_PRECISION);
+    return geoHash.toBase32();
+  }
+
+  /**
+   * Calculate geohash for given latitude and longitude at a specific precision.
+   *
+   * @param latitude Latitude
+   * @param longitude Longitude
+   * @param precision Number of geohash characters
+   * @return Geohash string
+   */
+  public static String calculateGeohash(double latitude, double longitude, int precision) {
+    return GeoHash.geoHashStringWithCharacterPrecision(latitude, longitude, precision);
+  }
+
+  /**
+   * Get the precision (number of characters) of the stored geohash prefix.
+   *
+   * @return Geohash prefix precision
+   */
+  public static int getGeohashPrecision() {
+    return GEOHASH_PRECISION;
+  }
+
+  /**
+   * Get geohash prefix (first 6 characters) for storing in database.
+   *
+   * @param latitude Latitude
+   * @param longitude Longitude
+   * @return Geohash prefix (6 characters)
+   */
+  public static String getGeohashPrefix(double latitude, double longitude) {
+    return calculateGeohash(latitude, longitude);
+  }
+
+  /**
+   * Get the 9 neighboring geohash cells (3x3 grid) including the center cell. This is used for
+   * finding nearby venues/experiences.
+   *
+   * @param latitude Center latitude
+   * @param longitude Center longitude
+   * @return List of 9 geohash prefixes (center + 8 neighbors)
+   */
+  public static List<String> getNeighboringGeohashes(double latitude, double longitude) {
+    GeoHash center = GeoHash.withCharacterPrecision(latitude, longitude, GEOHASH_PRECISION);
+    List<String> neighbors = new ArrayList<>();
+
+    // Add center
+    neighbors.add(center.toBase32());
+
+    // Add 8 neighbors
+    GeoHash[] adjacent = center.getAdjacent();
+    for (GeoHash neighbor : adjacent) {
+      neighbors.add(neighbor.toBase32());
+    }
+
+    return neighbors;
+  }
+
+  /**
+   * Get the smallest set of geohash cells that covers a circle, capped at {@link #MAX_COVER_CELLS}.
+   *
+   * @param latitude Center latitude
+   * @param longitude Center longitude
+   * @param radiusKm Circle radius in kilometers
+   * @return Geohash cells (all of the same precision) intersecting the circle
+   * @see #coverCircle(double, double, double, int)
+   */
+  public static List<String> coverCircle(double latitude, double longitude, double radiusKm) {
+    return coverCircle(latitude, longitude, radiusKm, MAX_COVER_CELLS);
+  }
+
+  /**
+   * Get the smallest set of geohash cells that covers a circle.
+   *
+   * <p>Starts at the storage precision ({@value #GEOHASH_PRECISION} characters) and only keeps the
+   * cells whose bounding box actually intersects the circle, so a small radius reads one or two
+   * cells instead of a fixed 3x3 neighbourhood. If that needs more than {@code maxCells} cells the
+   * next coarser precision is tried, down to {@value #GEO_INDEX_PARTITION_PRECISION} characters. At
+   * the coarsest precision the cover is returned even if it exceeds the cap, so callers should
+   * bound the radius (see {@link #MAX_SEARCH_RADIUS_KM}). Circles crossing the poles or the 180th
+   * meridian are clipped.
+   *
+   * @param latitude Center latitude
+   * @param longitude Center longitude
+   * @param radiusKm Circle radius in kilometers
+   * @param maxCells Maximum number of cells to return
+   * @return Geohash cells (all of the same precision) intersecting the circle
+   */
+  public static List<String> coverCircle(
+      double latitude, double longitude, double radiusKm, int maxCells) {
+    List<String> cells = null;
+    for (int precision = GEOHASH_PRECISION;
+        precision >= GEO_INDEX_PARTITION_PRECISION;
+        precision--) {
+      int limit = precision == GEO_INDEX_PARTITION_PRECISION ? Integer.MAX_VALUE : maxCells;
+      cells = coverCircleAtPrecision(latitude, longitude, radiusKm, precision, limit);
+      if (cells != null) {
+        break;
+      }
+    }
+    return cells;
+  }
+
+  /**
+   * Collect the cells of one precision that intersect the circle, walking the circle's bounding box
+   * row by row.
+   *
+   * @return The cells, or null if there are more than {@code limit}
+   */
+  private static List<String> coverCircleAtPrecision(
+      double latitude, double longitude, double radiusKm, int precision, int limit) {
+    double latDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+    double lonDelta =
+        radiusKm / (KM_PER_DEGREE_LATITUDE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+    double minLat = Math.max(latitude - latDelta, -90.0);
+    double maxLat = Math.min(latitude + latDelta, 90.0);
+    double minLon = Math.max(longitude - lonDelta, -180.0);
+    double maxLon = Math.min(longitude + lonDelta, 180.0);
+
+    List<String> cells = new ArrayList<>();
+    GeoHash rowStart = GeoHash.withCharacterPrecision(minLat, minLon, precision);
+    while (true) {
+      GeoHash cell = rowStart;
+      while (true) {
+        BoundingBox box = cell.getBoundingBox();
+        if (intersectsCircle(box, latitude, longitude, radiusKm)) {
+          if (cells.size() == limit) {
+            return null;
+          }
+          cells.add(cell.toBase32());
+        }
+        if (box.getEastLongitude() >= maxLon || box.getEastLongitude() >= 180.0) {
+          break;
+        }
+        cell = cell.getEasternNeighbour();
+      }
+      BoundingBox rowBox = rowStart.getBoundingBox();
+      if (rowBox.getNorthLatitude() >= maxLat || rowBox.getNorthLatitude() >= 90.0) {
+        break;
+      }
+      rowStart = rowStart.getNorthernNeighbour();
+    }
+    return cells;
+  }
+
+  private static boolean intersectsCircle(
+      BoundingBox box, double latitude, double longitude, double radiusKm) {
+    // Closest point of the cell to the circle center
+    double closestLat =
+        Math.max(box.getSouthLatitude(), Math.min(latitude, box.getNorthLatitude()));
+    double closestLon =
+        Math.max(box.getWestLongitude(), Math.min(longitude, box.getEastLongitude()));
+    return calculateDistance(latitude, longitude, closestLat, closestLon) <= radiusKm;
+  }
+
+  /**
+   * Calculate distance between two points using Haversine formula.
+   *
+   * @param lat1 Latitude of first point
+   * @param lon1 Longitude of first point
+   * @param lat2 Latitude of second point
+   * @param lon2 Longitude of second point
+   * @return Distance in kilometers
+   */
+  public static double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
+    final int R = 6371; // Radius of the earth in km
+
+    double latDistance = Math.toRadians(lat2 - lat1);
+    double lonDistance = Math.toRadians(lon2 - lon1);
+    double a =
+        Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+            + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2))
+                * Math.sin(lonDistance / 2)
+                * Math.sin(lonDistance / 2);
+    double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    double distance = R * c;
+
+    return distance;
+  }
+}
@@ -0,0 +1,266 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded in-memory LRU cache whose entries expire after a fixed time to live.
+ *
+ * <p>The cache is bounded both by entry count and by total weight (an estimate of each value's size
+ * in bytes); the least recently used entries are evicted when either bound is exceeded. Expired
+ * entries are not dropped straight away: {@link #getExpired(Object)} hands them to the caller so it
+ * can check cheaply whether the value is still current and, if so, {@link #renew(Object, Object)}
+ * it instead of reloading it.
+ *
+ * <p>Values are shared between callers, so they should be immutable. All operations are
+ * synchronized; they are O(1) and never call out while holding the lock.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public final class LruTtlCache<K, V> {
+
+  private final int maxEntries;
+  private final long maxWeight;
+  private final long ttlNanos;
+  private final ToIntFunction<? super V> weigher;
+  private final LongSupplier nanoTime;
+
+  private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long weight;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong revalidations = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong invalidations = new AtomicLong();
+
+  /**
+   * Create a cache.
+   *
+   * @param maxEntries Maximum number of entries
+   * @param maxWeight Maximum total weight of all entries
+   * @param ttl Time to live of an entry after it was put or renewed
+   * @param weigher Weight of a value (e.g. its estimated size in bytes)
+   */
+  public LruTtlCache(
+      int maxEntries, long maxWeight, Duration ttl, ToIntFunction<? super V> weigher) {
+    this(maxEntries, maxWeight, ttl, weigher, System::nanoTime);
+  }
+
+  LruTtlCache(
+      int maxEntries,
+      long maxWeight,
+      Duration ttl,
+      ToIntFunction<? super V> weigher,
+      LongSupplier nanoTime) {
+    if (maxEntries <= 0 || maxWeight <= 0 || ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("Cache bounds and time to live must be positive");
+    }
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+    this.ttlNanos = ttl.toNanos();
+    this.weigher = weigher;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * Get a value that has not expired yet, counting a hit or a miss.
+   *
+   * @param key Key
+   * @return The value, or null if it is absent or expired
+   */
+  public synchronized V getIfPresent(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null && !entry.isExpired(nanoTime.getAsLong())) {
+      hits.incrementAndGet();
+      return entry.value;
+    }
+    misses.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Get an expired value so the caller can revalidate it.
+   *
+   * @param key Key
+   * @return The expired value, or null if it is absent or still fresh
+   */
+  public synchronized V getExpired(K key) {
+    Entry<V> entry = entries.get(key);
+    return entry != null && entry.isExpired(nanoTime.getAsLong()) ? entry.value : null;
+  }
+
+  /**
+   * Give an entry a new time to live after the caller checked it is still current.
+   *
+   * @param key Key
+   * @param value The value that was revalidated
+   * @return false if the entry was replaced or removed in the meantime
+   */
+  public synchronized boolean renew(K key, V value) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null || entry.value != value) {
+      return false;
+    }
+    entry.expiresAtNanos = nanoTime.getAsLong() + ttlNanos;
+    revalidations.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Add or replace a value. Values heavier than the whole cache are not cached.
+   *
+   * @param key Key
+   * @param value Value
+   */
+  public synchronized void put(K key, V value) {
+    int valueWeight = weigher.applyAsInt(value);
+    Entry<V> previous = entries.remove(key);
+    if (previous != null) {
+      weight -= previous.weight;
+    }
+    if (valueWeight > maxWeight) {
+      return;
+    }
+    entries.put(key, new Entry<>(value, valueWeight, nanoTime.getAsLong() + ttlNanos));
+    weight += valueWeight;
+    evictIfNeeded();
+  }
+
+  /**
+   * Remove a value, e.g. because it was just written.
+   *
+   * @param key Key
+   */
+  public synchronized void invalidate(K key) {
+    Entry<V> removed = entries.remove(key);
+    if (removed != null) {
+      weight -= removed.weight;
+      invalidations.incrementAndGet();
+    }
+  }
+
+  /** Snapshot of the counters and current size. */
+  public synchronized Stats stats() {
+    return new Stats(
+        hits.get(),
+        misses.get(),
+        revalidations.get(),
+        evictions.get(),
+        invalidations.get(),
+        entries.size(),
+        weight);
+  }
+
+  private void evictIfNeeded() {
+    Iterator<Entry<V>> eldest = entries.values().iterator();
+    while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+      Entry<V> entry = eldest.next();
+      eldest.remove();
+      weight -= entry.weight;
+      evictions.incrementAndGet();
+    }
+  }
+
+  private static final class Entry<V> {
+
+    private final V value;
+    private final int weight;
+    private long expiresAtNanos;
+
+    Entry(V value, int weight, long expiresAtNanos) {
+      this.value = value;
+      this.weight = weight;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+
+    boolean isExpired(long now) {
+      return now - expiresAtNanos >= 0;
+    }
+  }
+
+  /** Point-in-time cache statistics. */
+  public static final class Stats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long revalidationCount;
+    private final long evictionCount;
+    private final long invalidationCount;
+    private final int size;
+    private final long weight;
+
+    Stats(
+        long hitCount,
+        long missCount,
+        long revalidationCount,
+        long evictionCount,
+        long invalidationCount,
+        int size,
+        long weight) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.revalidationCount = revalidationCount;
+      this.evictionCount = evictionCount;
+      this.invalidationCount = invalidationCount;
+      this.size = size;
+      this.weight = weight;
+    }
+
+    /** Lookups answered with a fresh value. */
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    /** Lookups that found no fresh value (including expired ones that were then revalidated). */
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /** Expired values found unchanged and kept for another time to live. */
+    public long getRevalidationCount() {
+      return revalidationCount;
+    }
+
+    /** Values evicted to stay within the entry or weight bound. */
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    /** Values removed because they were written. */
+    public long getInvalidationCount() {
+      return invalidationCount;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public long getWeight() {
+      return weight;
+    }
+
+    @Override
+    public String toString() {
+      return "hits="
+          + hitCount
+          + ", misses="
+          + missCount
+          + ", revalidations="
+          + revalidationCount
+          + ", evictions="
+          + evictionCount
+          + ", invalidations="
+          + invalidationCount
+          + ", size="
+          + size
+          + ", weightBytes="
+          + weight;
+    }
+  }
+}
@@ -0,0 +1,275 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Route table compiled into a trie of path segments.
+ *
+ * <p>Routes are patterns such as {@code /groups/{groupId}} where a {@code {name}} segment captures
+ * one non-empty path segment. Literal segments take precedence over variables, and matching
+ * backtracks to the variable branch when the literal branch does not lead to a route, so {@code
+ * /users/profile/{userId}} and {@code /users/{userId}/experiences/{experienceId}/interest} can live
+ * side by side. One trailing slash is ignored.
+ *
+ * <p>The table is immutable once built and safe to share between threads. Matching walks the path
+ * in place without splitting it, compiling regular expressions or allocating: variables are
+ * recorded as offsets in a caller-supplied {@link Match} and only turned into strings when asked
+ * for.
+ *
+ * @param <H> Handler type
+ */
+public final class PathRouter<H> {
+
+  private static final String[] METHODS = {
+    "GET", "PUT", "POST", "DELETE", "PATCH", "HEAD", "OPTIONS"
+  };
+
+  private final Node<H> root;
+  private final int maxVariables;
+
+  private PathRouter(Node<H> root, int maxVariables) {
+    this.root = root;
+    this.maxVariables = maxVariables;
+  }
+
+  public static <H> Builder<H> builder() {
+    return new Builder<>();
+  }
+
+  /** Create a match holder sized for this table; it can be reused for consecutive lookups. */
+  public Match newMatch() {
+    return new Match(maxVariables);
+  }
+
+  /**
+   * Find the handler of a request.
+   *
+   * @param method HTTP method (e.g. "GET")
+   * @param path Request path, starting with '/'
+   * @param match Receives the path variables of the matched route
+   * @return The handler, or null if no route matches the path and method
+   */
+  public H match(String method, String path, Match match) {
+    match.clear();
+    int methodIndex = methodIndex(method);
+    if (methodIndex < 0 || path == null || path.isEmpty() || path.charAt(0) != '/') {
+      return null;
+    }
+    int end = path.length();
+    if (end > 1 && path.charAt(end - 1) == '/') {
+      end--;
+    }
+    Endpoint<H> endpoint =
+        end == 1 ? root.endpoints[methodIndex] : find(root, path, 1, end, methodIndex, match, 0);
+    if (endpoint == null) {
+      return null;
+    }
+    match.path = path;
+    match.names = endpoint.variableNames;
+    return endpoint.handler;
+  }
+
+  private static <H> Endpoint<H> find(
+      Node<H> node, String path, int start, int end, int methodIndex, Match match, int captured) {
+    if (start > end) {
+      // The whole path has been consumed
+      return node.endpoints[methodIndex];
+    }
+    int segmentEnd = path.indexOf('/', start);
+    if (segmentEnd < 0 || segmentEnd > end) {
+      segmentEnd = end;
+    }
+    int length = segmentEnd - start;
+    for (int i = 0; i < node.literals.length; i++) {
+      String literal = node.literals[i];
+      if (literal.length() == length && path.regionMatches(start, literal, 0, length)) {
+        Endpoint<H> endpoint =
+            find(node.literalChildren[i], path, segmentEnd + 1, end, methodIndex, match, captured);
+        if (endpoint != null) {
+          return endpoint;
+        }
+        break;
+      }
+    }
+    if (node.variableChild != null && length > 0) {
+      Endpoint<H> endpoint =
+          find(node.variableChild, path, segmentEnd + 1, end, methodIndex, match, captured + 1);
+      if (endpoint != null) {
+        match.starts[captured] = start;
+        match.ends[captured] = segmentEnd;
+        return endpoint;
+      }
+    }
+    return null;
+  }
+
+  private static int methodIndex(String method) {
+    if (method == null) {
+      return -1;
+    }
+    for (int i = 0; i < METHODS.length; i++) {
+      if (METHODS[i].equals(method)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Path variables of a matched route. */
+  public static final class Match {
+
+    private final int[] starts;
+    private final int[] ends;
+    private String path;
+    private String[] names;
+
+    Match(int maxVariables) {
+      this.starts = new int[maxVariables];
+      this.ends = new int[maxVariables];
+    }
+
+    /**
+     * Get a path variable by the name used in the route pattern.
+     *
+     * @param name Variable name, without braces
+     * @return The segment the variable captured, or null if the route has no such variable
+     */
+    public String variable(String name) {
+      if (names == null) {
+        return null;
+      }
+      for (int i = 0; i < names.length; i++) {
+        if (names[i].equals(name)) {
+          return path.substring(starts[i], ends[i]);
+        }
+      }
+      return null;
+    }
+
+    void clear() {
+      path = null;
+      names = null;
+    }
+  }
+
+  /** Collects routes and compiles them into a {@link PathRouter}. */
+  public static final class Builder<H> {
+
+    private final MutableNode<H> root = new MutableNode<>();
+    private int maxVariables;
+
+    private Builder() {}
+
+    /**
+     * Add a route.
+     *
+     * @param method HTTP method (e.g. "GET")
+     * @param pattern Path pattern, e.g. {@code /groups/{groupId}}
+     * @param handler Handler of the route
+     * @return This builder
+     * @throws IllegalArgumentException If the method or pattern is invalid or the route is declared
+     *     twice
+     */
+    public Builder<H> route(String method, String pattern, H handler) {
+      int methodIndex = methodIndex(method);
+      if (methodIndex < 0) {
+        throw new IllegalArgumentException("Unsupported HTTP method: " + method);
+      }
+      if (pattern == null || !pattern.startsWith("/")) {
+        throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+      }
+
+      MutableNode<H> node = root;
+      List<String> variableNames = new ArrayList<>();
+      String trimmed = pattern.length() > 1 ? pattern.substring(1) : "";
+      if (!trimmed.isEmpty()) {
+        for (String segment : trimmed.split("/", -1)) {
+          if (segment.isEmpty()) {
+            throw new IllegalArgumentException("Empty segment in route pattern: " + pattern);
+          }
+          if (segment.startsWith("{") && segment.endsWith("}") && segment.length() > 2) {
+            String name = segment.substring(1, segment.length() - 1);
+            if (variableNames.contains(name)) {
+              throw new IllegalArgumentException(
+                  "Duplicate variable " + name + " in route pattern: " + pattern);
+            }
+            variableNames.add(name);
+            if (node.variableChild == null) {
+              node.variableChild = new MutableNode<>();
+            }
+            node = node.variableChild;
+          } else {
+            node = node.literalChildren.computeIfAbsent(segment, s -> new MutableNode<>());
+          }
+        }
+      }
+
+      if (node.endpoints[methodIndex] != null) {
+        throw new IllegalArgumentException("Route declared twice: " + method + " " + pattern);
+      }
+      node.endpoints[methodIndex] = new Endpoint<>(handler, variableNames.toArray(new String[0]));
+      maxVariables = Math.max(maxVariables, variableNames.size());
+      return this;
+    }
+
+    public PathRouter<H> build() {
+      return new PathRouter<>(root.compile(), maxVariables);
+    }
+  }
+
+  private static final class MutableNode<H> {
+
+    private final LinkedHashMap<String, MutableNode<H>> literalChildren = new LinkedHashMap<>();
+    private MutableNode<H> variableChild;
+
+    @SuppressWarnings("unchecked")
+    private final Endpoint<H>[] endpoints = (Endpoint<H>[]) new Endpoint<?>[METHODS.length];
+
+    Node<H> compile() {
+      String[] literals = literalChildren.keySet().toArray(new String[0]);
+      @SuppressWarnings("unchecked")
+      Node<H>[] children = (Node<H>[]) new Node<?>[literals.length];
+      for (int i = 0; i < literals.length; i++) {
+        children[i] = literalChildren.get(literals[i]).compile();
+      }
+      return new Node<>(
+          literals,
+          children,
+          variableChild != null ? variableChild.compile() : null,
+          Arrays.copyOf(endpoints, endpoints.length));
+    }
+  }
+
+  private static final class Node<H> {
+
+    private final String[] literals;
+    private final Node<H>[] literalChildren;
+    private final Node<H> variableChild;
+    private final Endpoint<H>[] endpoints;
+
+    Node(
+        String[] literals,
+        Node<H>[] literalChildren,
+        Node<H> variableChild,
+        Endpoint<H>[] endpoints) {
+      this.literals = literals;
+      this.literalChildren = literalChildren;
+      this.variableChild = variableChild;
+      this.endpoints = endpoints;
+    }
+  }
+
+  private static final class Endpoint<H> {
+
+    private final H handler;
+    private final String[] variableNames;
+
+    Endpoint(H handler, String[] variableNames) {
+      this.handler = handler;
+      this.variableNames = variableNames;
+    }
+  }
+}
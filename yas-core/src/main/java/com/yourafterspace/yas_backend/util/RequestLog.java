@@ -0,0 +1,235 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Level-gated logging for the Lambda handler and the DAOs, with a per-invocation ring buffer for
+ * debug lines.
+ *
+ * <p>Lines at or above the configured level ({@code LOG_LEVEL}, default INFO) are written straight
+ * away. Debug lines below it are only kept while an {@link Invocation} is open: the most recent
+ * {@code LOG_BUFFER_LINES} (default 256) are held in a ring buffer and written out when the
+ * invocation fails or was sampled ({@code LOG_SAMPLE_RATE}, default 0). Otherwise they are dropped
+ * when it closes. Messages given as a {@link Supplier} are only built if they are written, so a
+ * debug line that is never flushed costs a lambda and a slot in the buffer.
+ *
+ * <p>A Lambda container runs one invocation at a time, so the open invocation is process-wide:
+ * lines logged from fan-out threads land in the same buffer. Outside an invocation lines are
+ * written to standard output.
+ */
+public final class RequestLog {
+
+  /** Log levels, in increasing severity */
+  public enum Level {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR
+  }
+
+  private static final Level LEVEL = parseLevel(System.getenv("LOG_LEVEL"));
+  private static final boolean DEBUG_ENABLED = LEVEL == Level.DEBUG;
+  private static final int BUFFER_LINES = parseInt(System.getenv("LOG_BUFFER_LINES"), 256);
+  private static final double SAMPLE_RATE = parseDouble(System.getenv("LOG_SAMPLE_RATE"), 0.0);
+
+  private static final Consumer<String> STDOUT = System.out::println;
+
+  private static volatile Invocation current;
+
+  private RequestLog() {}
+
+  /**
+   * Open the log of an invocation. Close it when the invocation ends, after {@link
+   * Invocation#markFailed()} if it failed.
+   *
+   * @param sink Where the lines of this invocation are written (e.g. the Lambda logger)
+   * @return The open invocation
+   */
+  public static Invocation begin(Consumer<String> sink) {
+    boolean sampled = SAMPLE_RATE > 0 && ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE;
+    return begin(sink, BUFFER_LINES, sampled);
+  }
+
+  static Invocation begin(Consumer<String> sink, int bufferLines, boolean sampled) {
+    Invocation invocation =
+        new Invocation(sink != null ? sink : STDOUT, bufferLines, sampled, current);
+    current = invocation;
+    return invocation;
+  }
+
+  /**
+   * Whether debug lines will be written: the level is DEBUG, or the open invocation was sampled.
+   * Guard loops or other work done only to log debug lines with this; lines logged without the
+   * guard are still buffered and written if the invocation fails.
+   */
+  public static boolean isDebugEnabled() {
+    if (DEBUG_ENABLED) {
+      return true;
+    }
+    Invocation invocation = current;
+    return invocation != null && invocation.sampled && invocation.messages.length > 0;
+  }
+
+  public static void debug(Supplier<String> message) {
+    if (DEBUG_ENABLED) {
+      write(Level.DEBUG, message.get());
+      return;
+    }
+    Invocation invocation = current;
+    if (invocation != null) {
+      invocation.buffer(message);
+    }
+  }
+
+  public static void debug(String message) {
+    if (DEBUG_ENABLED) {
+      write(Level.DEBUG, message);
+      return;
+    }
+    Invocation invocation = current;
+    if (invocation != null) {
+      invocation.buffer(message);
+    }
+  }
+
+  public static void info(String message) {
+    log(Level.INFO, message);
+  }
+
+  public static void warn(String message) {
+    log(Level.WARN, message);
+  }
+
+  public static void error(String message) {
+    log(Level.ERROR, message);
+  }
+
+  /** Log an error with the stack trace of its cause. */
+  public static void error(String message, Throwable cause) {
+    StringWriter trace = new StringWriter();
+    cause.printStackTrace(new PrintWriter(trace));
+    log(Level.ERROR, message + System.lineSeparator() + trace);
+  }
+
+  private static void log(Level level, String message) {
+    if (level == Level.ERROR) {
+      // An error makes the invocation write its buffered debug lines when it closes
+      Invocation invocation = current;
+      if (invocation != null) {
+        invocation.markFailed();
+      }
+    }
+    if (LEVEL.compareTo(level) <= 0) {
+      write(level, message);
+    }
+  }
+
+  private static void write(Level level, String message) {
+    Invocation invocation = current;
+    (invocation != null ? invocation.sink : STDOUT).accept(level + " " + message);
+  }
+
+  private static Level parseLevel(String value) {
+    if (value != null && !value.isBlank()) {
+      try {
+        return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        // Unknown level: keep the default
+      }
+    }
+    return Level.INFO;
+  }
+
+  private static int parseInt(String value, int defaultValue) {
+    try {
+      return value != null && !value.isBlank() ? Integer.parseInt(value.trim()) : defaultValue;
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  private static double parseDouble(String value, double defaultValue) {
+    try {
+      return value != null && !value.isBlank() ? Double.parseDouble(value.trim()) : defaultValue;
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  /** The log of one invocation; buffers its debug lines until it is closed. */
+  public static final class Invocation implements AutoCloseable {
+
+    private final Consumer<String> sink;
+    private final boolean sampled;
+    private final Invocation previous;
+    private final long startNanos = System.nanoTime();
+
+    // Ring buffer of String or Supplier<String> messages
+    private final Object[] messages;
+    private final long[] nanos;
+    private int next;
+    private long buffered;
+    private volatile boolean failed;
+
+    Invocation(Consumer<String> sink, int bufferLines, boolean sampled, Invocation previous) {
+      this.sink = sink;
+      this.sampled = sampled;
+      this.previous = previous;
+      this.messages = new Object[Math.max(0, bufferLines)];
+      this.nanos = new long[messages.length];
+    }
+
+    /** Have the buffered debug lines written when the invocation closes. */
+    public void markFailed() {
+      failed = true;
+    }
+
+    private synchronized void buffer(Object message) {
+      if (messages.length == 0) {
+        return;
+      }
+      messages[next] = message;
+      nanos[next] = System.nanoTime();
+      next = (next + 1) % messages.length;
+      buffered++;
+    }
+
+    @Override
+    public void close() {
+      if (current == this) {
+        current = previous;
+      }
+      if (failed || sampled) {
+        flush();
+      }
+    }
+
+    private synchronized void flush() {
+      int size = (int) Math.min(buffered, messages.length);
+      if (buffered > size) {
+        sink.accept("DEBUG (" + (buffered - size) + " earlier debug lines dropped)");
+      }
+      int first = buffered > messages.length ? next : 0;
+      for (int i = 0; i < size; i++) {
+        int slot = (first + i) % messages.length;
+        Object message = messages[slot];
+        String text;
+        try {
+          text =
+              message instanceof Supplier<?>
+                  ? String.valueOf(((Supplier<?>) message).get())
+                  : String.valueOf(message);
+        } catch (RuntimeException e) {
+          text = "(failed to build log message: " + e + ")";
+        }
+        long offsetMillis = (nanos[slot] - startNanos) / 1_000_000;
+        sink.accept("DEBUG +" + offsetMillis + "ms " + text);
+      }
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable in-memory grid index over points on the earth, answering radius and k-nearest queries.
+ *
+ * <p>Points are bucketed into fixed-size lat/lon cells. Coordinates live in primitive {@code
+ * double[]} arrays sorted by cell, and each non-empty cell is found by binary search over a sorted
+ * {@code long[]} of cell keys, so a query touches only the cells overlapping its bounding box and
+ * allocates nothing per point except for the hits it returns.
+ *
+ * @param <T> Type of the item attached to each point
+ */
+public final class SpatialGridIndex<T> {
+
+  /** Default cell size in degrees (~5.5km of latitude). */
+  public static final double DEFAULT_CELL_SIZE_DEGREES = 0.05;
+
+  private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+  private final double cellSizeDegrees;
+  private final int columns;
+  private final long[] cellKeys; // sorted, one entry per non-empty cell
+  private final int[] cellOffsets; // start of each cell in the point arrays (+ trailing end)
+  private final double[] latitudes;
+  private final double[] longitudes;
+  private final T[] items;
+
+  private SpatialGridIndex(
+      double cellSizeDegrees,
+      long[] cellKeys,
+      int[] cellOffsets,
+      double[] latitudes,
+      double[] longitudes,
+      T[] items) {
+    this.cellSizeDegrees = cellSizeDegrees;
+    this.columns = (int) Math.ceil(360.0 / cellSizeDegrees) + 1;
+    this.cellKeys = cellKeys;
+    this.cellOffsets = cellOffsets;
+    this.latitudes = latitudes;
+    this.longitudes = longitudes;
+    this.items = items;
+  }
+
+  /**
+   * Build an index with the default cell size.
+   *
+   * @see #build(List, ToDoubleFunction, ToDoubleFunction, double)
+   */
+  public static <T> SpatialGridIndex<T> build(
+      List<T> items, ToDoubleFunction<T> latitude, ToDoubleFunction<T> longitude) {
+    return build(items, latitude, longitude, DEFAULT_CELL_SIZE_DEGREES);
+  }
+
+  /**
+   * Build an index over the given items.
+   *
+   * @param items Items to index
+   * @param latitude Function extracting an item's latitude
+   * @param longitude Function extracting an item's longitude
+   * @param cellSizeDegrees Grid cell size in degrees
+   * @return The index
+   */
+  public static <T> SpatialGridIndex<T> build(
+      List<T> items,
+      ToDoubleFunction<T> latitude,
+      ToDoubleFunction<T> longitude,
+      double cellSizeDegrees) {
+    int size = items.size();
+    int columns = (int) Math.ceil(360.0 / cellSizeDegrees) + 1;
+
+    // Sort point positions by cell key
+    long[] keys = new long[size];
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      T item = items.get(i);
+      keys[i] =
+          cellKey(
+              latitude.applyAsDouble(item),
+              longitude.applyAsDouble(item),
+              cellSizeDegrees,
+              columns);
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+
+    double[] latitudes = new double[size];
+    double[] longitudes = new double[size];
+    @SuppressWarnings("unchecked")
+    T[] sortedItems = (T[]) new Object[size];
+    long[] cellKeys = new long[size];
+    int[] cellOffsets = new int[size + 1];
+    int cells = 0;
+    for (int i = 0; i < size; i++) {
+      int source = order[i];
+      T item = items.get(source);
+      latitudes[i] = latitude.applyAsDouble(item);
+      longitudes[i] = longitude.applyAsDouble(item);
+      sortedItems[i] = item;
+      if (cells == 0 || cellKeys[cells - 1] != keys[source]) {
+        cellKeys[cells] = keys[source];
+        cellOffsets[cells] = i;
+        cells++;
+      }
+    }
+    cellOffsets[cells] = size;
+
+    return new SpatialGridIndex<>(
+        cellSizeDegrees,
+        Arrays.copyOf(cellKeys, cells),
+        Arrays.copyOf(cellOffsets, cells + 1),
+        latitudes,
+        longitudes,
+        sortedItems);
+  }
+
+  /** Number of indexed points. */
+  public int size() {
+    return items.length;
+  }
+
+  /**
+   * Find all points within a radius, closest first.
+   *
+   * @param latitude Center latitude
+   * @param longitude Center longitude
+   * @param radiusKm Radius in kilometers
+   * @return Hits sorted by distance
+   */
+  public List<Hit<T>> withinRadius(double latitude, double longitude, double radiusKm) {
+    if (items.length == 0) {
+      return Collections.emptyList();
+    }
+    double latDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+    double lonDelta =
+        radiusKm / (KM_PER_DEGREE_LATITUDE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+    int minRow = row(Math.max(latitude - latDelta, -90.0));
+    int maxRow = row(Math.min(latitude + latDelta, 90.0));
+    int minColumn = column(Math.max(longitude - lonDelta, -180.0));
+    int maxColumn = column(Math.min(longitude + lonDelta, 180.0));
+
+    List<Hit<T>> hits = new ArrayList<>();
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        int cell = Arrays.binarySearch(cellKeys, (long) row * columns + column);
+        if (cell < 0) {
+          continue;
+        }
+        for (int i = cellOffsets[cell]; i < cellOffsets[cell + 1]; i++) {
+          double distance =
+              GeohashUtil.calculateDistance(latitude, longitude, latitudes[i], longitudes[i]);
+          if (distance <= radiusKm) {
+            hits.add(new Hit<>(items[i], distance));
+          }
+        }
+      }
+    }
+    hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+    return hits;
+  }
+
+  /**
+   * Find the k points nearest to a location, searching at most {@code maxRadiusKm} away.
+   *
+   * <p>Searches a growing radius until at least k points are found; every point within that radius
+   * is examined, so the k closest of them are the k nearest overall.
+   *
+   * @param latitude Center latitude
+   * @param longitude Center longitude
+   * @param k Number of points to return
+   * @param maxRadiusKm Maximum search radius in kilometers
+   * @return Up to k hits sorted by distance
+   */
+  public List<Hit<T>> nearest(double latitude, double longitude, int k, double maxRadiusKm) {
+    if (k <= 0 || items.length == 0) {
+      return Collections.emptyList();
+    }
+    double radiusKm = Math.min(cellSizeDegrees * KM_PER_DEGREE_LATITUDE, maxRadiusKm);
+    while (true) {
+      List<Hit<T>> hits = withinRadius(latitude, longitude, radiusKm);
+      if (hits.size() >= k || radiusKm >= maxRadiusKm) {
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+      }
+      radiusKm = Math.min(radiusKm * 2, maxRadiusKm);
+    }
+  }
+
+  private int row(double latitude) {
+    return (int) Math.floor((latitude + 90.0) / cellSizeDegrees);
+  }
+
+  private int column(double longitude) {
+    return (int) Math.floor((longitude + 180.0) / cellSizeDegrees);
+  }
+
+  private static long cellKey(
+      double latitude, double longitude, double cellSizeDegrees, int columns) {
+    long row = (long) Math.floor((latitude + 90.0) / cellSizeDegrees);
+    long column = (long) Math.floor((longitude + 180.0) / cellSizeDegrees);
+    return row * columns + column;
+  }
+
+  /** A point found by a query, with its distance from the query location. */
+  public static final class Hit<T> {
+
+    private final T item;
+    private final double distanceKm;
+
+    public Hit(T item, double distanceKm) {
+      this.item = item;
+      this.distanceKm = distanceKm;
+    }
+
+    public T getItem() {
+      return item;
+    }
+
+    public double getDistanceKm() {
+      return distanceKm;
+    }
+  }
+}
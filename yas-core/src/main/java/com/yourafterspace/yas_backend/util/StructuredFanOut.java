@@ -0,0 +1,105 @@
+package com.yourafterspace.yas_backend.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs a blocking call for each input on an executor, with bounded concurrency, and waits for all
+ * of them: no call outlives {@link #map}.
+ *
+ * <p>Meant for per-item lookups of a service on a virtual-thread executor, where a blocked call
+ * costs no platform thread, but works on any executor. Unlike {@link AsyncFanOut}, which keeps the
+ * results of the calls that succeeded, the first failure is rethrown as it was thrown and the calls
+ * still running are cancelled (interrupted); the same happens when the deadline passes.
+ */
+public final class StructuredFanOut {
+
+  private StructuredFanOut() {}
+
+  /**
+   * Apply a blocking call to every input concurrently.
+   *
+   * @param inputs Inputs, one call each
+   * @param call Blocking call
+   * @param executor Executor running the calls, e.g. one starting a virtual thread per task
+   * @param maxConcurrency Maximum number of calls running at once
+   * @param timeout Deadline of the whole fan-out
+   * @return The results, in input order
+   * @throws CompletionException Wrapping a TimeoutException when the deadline passes
+   * @throws CancellationException When the calling thread is interrupted (its flag is kept)
+   */
+  public static <T, R> List<R> map(
+      List<T> inputs,
+      Function<? super T, ? extends R> call,
+      Executor executor,
+      int maxConcurrency,
+      Duration timeout) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive");
+    }
+    int size = inputs.size();
+    if (size == 0) {
+      return new ArrayList<>();
+    }
+
+    ExecutorCompletionService<R> completions = new ExecutorCompletionService<>(executor);
+    Map<Future<R>, Integer> indexes = new IdentityHashMap<>();
+    List<R> results = new ArrayList<>(Collections.nCopies(size, null));
+    long deadline = System.nanoTime() + timeout.toNanos();
+    int completed = 0;
+    try {
+      // A new call is started each time one completes, so at most maxConcurrency run at once
+      int next = 0;
+      while (next < Math.min(size, maxConcurrency)) {
+        T input = inputs.get(next);
+        indexes.put(completions.submit(() -> call.apply(input)), next++);
+      }
+      while (completed < size) {
+        Future<R> done = completions.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (done == null) {
+          throw new CompletionException(
+              new TimeoutException(
+                  (size - completed) + " of " + size + " calls still running after " + timeout));
+        }
+        results.set(indexes.get(done), done.get());
+        completed++;
+        if (next < size) {
+          T input = inputs.get(next);
+          indexes.put(completions.submit(() -> call.apply(input)), next++);
+        }
+      }
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new CompletionException(cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("interrupted while waiting for " + size + " calls");
+    } finally {
+      if (completed < size) {
+        for (Future<R> future : indexes.keySet()) {
+          future.cancel(true);
+        }
+      }
+    }
+    return results;
+  }
+}
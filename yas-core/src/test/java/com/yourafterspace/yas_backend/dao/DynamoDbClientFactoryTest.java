@@ -0,0 +1,142 @@
+package com.yourafterspace.yas_backend.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+
+class DynamoDbClientFactoryTest {
+
+  private static final GetItemRequest GET_ITEM =
+      GetItemRequest.builder()
+          .tableName("yas-table")
+          .key(Map.of("pk", AttributeValue.builder().s("EXPERIENCE#exp-1").build()))
+          .build();
+
+  private HttpServer server;
+  private final AtomicInteger requests = new AtomicInteger();
+
+  @BeforeEach
+  void startServer() throws Exception {
+    // Local stand-in for DynamoDB answering every call with an empty GetItem response
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          requests.incrementAndGet();
+          exchange.getRequestBody().readAllBytes();
+          byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.0");
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void clientsCallTheOverriddenEndpointAndReportThePool() {
+    ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics();
+
+    try (DynamoDbClient client =
+        factory(DynamoDbClientFactory.HttpClientType.APACHE).createClient(poolMetrics)) {
+      assertThat(client.getItem(GET_ITEM).hasItem()).isFalse();
+      client.getItem(GET_ITEM);
+    }
+
+    assertThat(requests).hasValue(2);
+    assertThat(poolMetrics.getMaxConnections()).isEqualTo(4);
+    assertThat(poolMetrics.getPeakLeased()).isEqualTo(1);
+    assertThat(poolMetrics.getAcquireCount()).isEqualTo(2);
+  }
+
+  @Test
+  void urlConnectionClientHasNoPoolToReport() {
+    ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics();
+
+    try (DynamoDbClient client =
+        factory(DynamoDbClientFactory.HttpClientType.URL_CONNECTION).createClient(poolMetrics)) {
+      client.getItem(GET_ITEM);
+    }
+
+    assertThat(requests).hasValue(1);
+    assertThat(poolMetrics.getMaxConnections()).isZero();
+  }
+
+  @Test
+  void poolMetricsKeepTheLatestStateAndThePeaks() {
+    ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics();
+
+    poolMetrics.publish(call(10, 8, 2, 3));
+    poolMetrics.publish(call(10, 1, 9, 0));
+
+    assertThat(poolMetrics.getLeased()).isEqualTo(1);
+    assertThat(poolMetrics.getAvailable()).isEqualTo(9);
+    assertThat(poolMetrics.getPending()).isZero();
+    assertThat(poolMetrics.getPeakLeased()).isEqualTo(8);
+    assertThat(poolMetrics.getPeakPending()).isEqualTo(3);
+    assertThat(poolMetrics.getAcquireCount()).isEqualTo(2);
+    assertThat(poolMetrics.getAcquireNanos()).isEqualTo(Duration.ofMillis(10).toNanos());
+  }
+
+  @Test
+  void parsesConfiguredClientTypesAndRequiresARegion() {
+    assertThat(DynamoDbClientFactory.HttpClientType.parse(" url-connection "))
+        .isEqualTo(DynamoDbClientFactory.HttpClientType.URL_CONNECTION);
+    assertThatThrownBy(() -> DynamoDbClientFactory.HttpClientType.parse("crt"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DynamoDbClientFactory.builder().build())
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private DynamoDbClientFactory factory(DynamoDbClientFactory.HttpClientType httpClientType) {
+    return DynamoDbClientFactory.builder()
+        .region(Region.EU_WEST_2)
+        .credentialsProvider(
+            StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+        .httpClientType(httpClientType)
+        .maxConnections(4)
+        .connectionTimeToLive(Duration.ofSeconds(30))
+        .apiCallTimeout(Duration.ofSeconds(5))
+        .apiCallAttemptTimeout(Duration.ofSeconds(2))
+        .retryMode(RetryMode.ADAPTIVE)
+        .endpointOverride(URI.create("http://127.0.0.1:" + server.getAddress().getPort()))
+        .build();
+  }
+
+  /** Metrics of one call whose single attempt saw the given pool state */
+  private static MetricCollection call(int max, int leased, int available, int pending) {
+    MetricCollector call = MetricCollector.create("ApiCall");
+    MetricCollector http = call.createChild("ApiCallAttempt").createChild("HttpClient");
+    http.reportMetric(HttpMetric.MAX_CONCURRENCY, max);
+    http.reportMetric(HttpMetric.LEASED_CONCURRENCY, leased);
+    http.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, available);
+    http.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pending);
+    http.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, Duration.ofMillis(5));
+    return call.collect();
+  }
+}
@@ -0,0 +1,225 @@
+package com.yourafterspace.yas_backend.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+@ExtendWith(MockitoExtension.class)
+class DynamoDbPagingTest {
+
+  private static final QueryRequest QUERY =
+      QueryRequest.builder().tableName("yas-table").keyConditionExpression("pk = :pk").build();
+
+  @Mock private DynamoDbClient dynamoDbClient;
+  @Mock private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+  @Test
+  void cursor_RoundTripsStringAndNumberKeys() {
+    Map<String, AttributeValue> key = new HashMap<>();
+    key.put("pk", AttributeValue.builder().s("GROUP#g-1").build());
+    key.put("sk", AttributeValue.builder().s("2024-05-01T10:00:00Z").build());
+    key.put("GSI1SK", AttributeValue.builder().n("42").build());
+
+    String cursor = DynamoDbPaging.encodeCursor(key);
+
+    assertThat(cursor).doesNotContain("+", "/", "=");
+    assertThat(DynamoDbPaging.decodeCursor(cursor, key.keySet())).isEqualTo(key);
+    assertThat(DynamoDbPaging.encodeCursor(Map.of())).isNull();
+    assertThat(DynamoDbPaging.decodeCursor(null, key.keySet())).isNull();
+  }
+
+  @Test
+  void decodeCursor_RejectsGarbage() {
+    assertThatThrownBy(() -> DynamoDbPaging.decodeCursor("not-a-cursor", Set.of("pk", "sk")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void queryPage_RejectsACursorWithAttributesOutsideTheKeySchema() {
+    String forged =
+        DynamoDbPaging.encodeCursor(
+            Map.of(
+                "pk", AttributeValue.builder().s("USER#someone-else").build(),
+                "sk", AttributeValue.builder().s("PROFILE").build()));
+
+    assertThatThrownBy(
+            () ->
+                DynamoDbPaging.queryPage(
+                    dynamoDbClient,
+                    QUERY.toBuilder().indexName("GSI1").build(),
+                    item -> item,
+                    item -> true,
+                    2,
+                    forged))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid cursor");
+    verifyNoInteractions(dynamoDbClient);
+  }
+
+  @Test
+  void queryItems_FollowsLastEvaluatedKeyLazily() {
+    stubPages(List.of(items(0, 3), items(3, 6), items(6, 9)));
+
+    List<String> firstFour =
+        DynamoDbPaging.queryItems(dynamoDbClient, QUERY)
+            .limit(4)
+            .map(item -> item.get("pk").s())
+            .collect(Collectors.toList());
+
+    assertThat(firstFour).containsExactly("item-0", "item-1", "item-2", "item-3");
+    // The third page is never read
+    verify(dynamoDbClient, times(2)).query(any(QueryRequest.class));
+  }
+
+  @Test
+  void queryPage_StopsAtLimitAndResumesFromCursor() {
+    List<Map<String, AttributeValue>> table = items(0, 5);
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenAnswer(invocation -> evaluate(table, invocation.getArgument(0)));
+
+    Page<String> first =
+        DynamoDbPaging.queryPage(
+            dynamoDbClient, QUERY, item -> item.get("pk").s(), pk -> !"item-1".equals(pk), 2, null);
+    Page<String> second =
+        DynamoDbPaging.queryPage(
+            dynamoDbClient,
+            QUERY,
+            item -> item.get("pk").s(),
+            pk -> !"item-1".equals(pk),
+            2,
+            first.getNextCursor());
+
+    assertThat(first.getItems()).containsExactly("item-0", "item-2");
+    assertThat(first.hasMore()).isTrue();
+    assertThat(second.getItems()).containsExactly("item-3", "item-4");
+    assertThat(second.hasMore()).isFalse();
+  }
+
+  @Test
+  void queryPage_AsksForWholePagesAndResumesAfterTheLastItemOnThePage() {
+    List<Map<String, AttributeValue>> table = items(0, 10);
+    List<QueryRequest> requests = new ArrayList<>();
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              requests.add(invocation.getArgument(0));
+              return evaluate(table, invocation.getArgument(0));
+            });
+
+    Page<String> first =
+        DynamoDbPaging.queryPage(
+            dynamoDbClient, QUERY, item -> item.get("pk").s(), pk -> !pk.endsWith("1"), 3, null);
+    Page<String> second =
+        DynamoDbPaging.queryPage(
+            dynamoDbClient,
+            QUERY,
+            item -> item.get("pk").s(),
+            pk -> !pk.endsWith("1"),
+            3,
+            first.getNextCursor());
+
+    assertThat(first.getItems()).containsExactly("item-0", "item-2", "item-3");
+    assertThat(second.getItems()).containsExactly("item-4", "item-5", "item-6");
+    // Every request asks for a full page, even when one item is still missing
+    assertThat(requests).extracting(QueryRequest::limit).containsOnly(3);
+  }
+
+  @Test
+  void queryPageAsync_PagesLikeTheBlockingQuery() {
+    List<Map<String, AttributeValue>> table = items(0, 5);
+    when(dynamoDbAsyncClient.query(any(QueryRequest.class)))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(evaluate(table, invocation.getArgument(0))));
+
+    Page<String> first =
+        DynamoDbPaging.queryPageAsync(
+                dynamoDbAsyncClient,
+                QUERY,
+                item -> item.get("pk").s(),
+                pk -> !"item-1".equals(pk),
+                2,
+                null)
+            .join();
+    Page<String> second =
+        DynamoDbPaging.queryPageAsync(
+                dynamoDbAsyncClient,
+                QUERY,
+                item -> item.get("pk").s(),
+                pk -> !"item-1".equals(pk),
+                2,
+                first.getNextCursor())
+            .join();
+    List<Map<String, AttributeValue>> all =
+        DynamoDbPaging.queryItemsAsync(dynamoDbAsyncClient, QUERY.toBuilder().limit(2).build())
+            .join();
+
+    assertThat(first.getItems()).containsExactly("item-0", "item-2");
+    assertThat(second.getItems()).containsExactly("item-3", "item-4");
+    assertThat(all).isEqualTo(table);
+    assertThat(
+            DynamoDbPaging.queryPageAsync(
+                dynamoDbAsyncClient, QUERY, item -> item, item -> true, 2, "not-a-cursor"))
+        .isCompletedExceptionally();
+  }
+
+  /** Serve a fixed table like DynamoDB does: honour ExclusiveStartKey and Limit. */
+  private static QueryResponse evaluate(
+      List<Map<String, AttributeValue>> table, QueryRequest request) {
+    int start = 0;
+    if (request.hasExclusiveStartKey()) {
+      start = table.indexOf(request.exclusiveStartKey()) + 1;
+    }
+    int end =
+        request.limit() == null ? table.size() : Math.min(table.size(), start + request.limit());
+    QueryResponse.Builder response = QueryResponse.builder().items(table.subList(start, end));
+    if (end < table.size()) {
+      response.lastEvaluatedKey(table.get(end - 1));
+    }
+    return response.build();
+  }
+
+  private void stubPages(List<List<Map<String, AttributeValue>>> pages) {
+    List<QueryResponse> responses = new ArrayList<>();
+    for (int i = 0; i < pages.size(); i++) {
+      List<Map<String, AttributeValue>> page = pages.get(i);
+      QueryResponse.Builder response = QueryResponse.builder().items(page);
+      if (i < pages.size() - 1) {
+        response.lastEvaluatedKey(page.get(page.size() - 1));
+      }
+      responses.add(response.build());
+    }
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(
+            responses.get(0), responses.subList(1, responses.size()).toArray(new QueryResponse[0]));
+  }
+
+  private static List<Map<String, AttributeValue>> items(int from, int to) {
+    List<Map<String, AttributeValue>> items = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      items.add(
+          Map.of(
+              "pk", AttributeValue.builder().s("item-" + i).build(),
+              "sk", AttributeValue.builder().s("METADATA").build()));
+    }
+    return items;
+  }
+}
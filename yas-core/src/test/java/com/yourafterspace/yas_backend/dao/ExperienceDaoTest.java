@@ -0,0 +1,222 @@
+package com.yourafterspace.yas_backend.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.yourafterspace.yas_backend.dao.inmemory.InMemoryDynamoDb;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.util.DynamoDbItemSize;
+import com.yourafterspace.yas_backend.util.LruTtlCache;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+@ExtendWith(MockitoExtension.class)
+class ExperienceDaoTest {
+
+  private static final String TABLE = "yas-table";
+
+  @Mock private DynamoDbClient dynamoDbClient;
+
+  private ExperienceDao experienceDao;
+
+  @BeforeEach
+  void setUp() {
+    experienceDao = new ExperienceDao(dynamoDbClient, TABLE);
+  }
+
+  @Test
+  void findByExperienceIds_DedupesAndChunksIntoBatchesOf100() {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 150; i++) {
+      ids.add("exp-" + i);
+    }
+    ids.add("exp-0"); // duplicate
+    ids.add(" "); // blank
+
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              BatchGetItemRequest request = invocation.getArgument(0);
+              List<Map<String, AttributeValue>> items = new ArrayList<>();
+              for (Map<String, AttributeValue> key : request.requestItems().get(TABLE).keys()) {
+                items.add(item(key.get("pk").s().substring("EXPERIENCE#".length())));
+              }
+              return BatchGetItemResponse.builder().responses(Map.of(TABLE, items)).build();
+            });
+
+    Map<String, ?> experiences = experienceDao.findByExperienceIds(ids);
+
+    ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+    verify(dynamoDbClient, times(2)).batchGetItem(captor.capture());
+    assertThat(captor.getAllValues().get(0).requestItems().get(TABLE).keys()).hasSize(100);
+    assertThat(captor.getAllValues().get(1).requestItems().get(TABLE).keys()).hasSize(50);
+    assertThat(experiences).hasSize(150);
+    assertThat(experiences.keySet()).startsWith("exp-0", "exp-1", "exp-2");
+    verify(dynamoDbClient, never()).query(any(QueryRequest.class));
+  }
+
+  @Test
+  void findByExperienceIds_RetriesUnprocessedKeys() {
+    KeysAndAttributes unprocessed = KeysAndAttributes.builder().keys(List.of(key("exp-2"))).build();
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .responses(Map.of(TABLE, List.of(item("exp-1"))))
+                .unprocessedKeys(Map.of(TABLE, unprocessed))
+                .build())
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .responses(Map.of(TABLE, List.of(item("exp-2"))))
+                .build());
+
+    Map<String, ?> experiences = experienceDao.findByExperienceIds(List.of("exp-1", "exp-2"));
+
+    assertThat(experiences).containsOnlyKeys("exp-1", "exp-2");
+    verify(dynamoDbClient, times(2)).batchGetItem(any(BatchGetItemRequest.class));
+  }
+
+  @Test
+  void findByExperienceIds_FallsBackToLegacyKeyForMisses() {
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(BatchGetItemResponse.builder().responses(Map.of(TABLE, List.of())).build());
+    Map<String, AttributeValue> legacy = item("exp-old");
+    legacy.put("sk", AttributeValue.builder().s("2024-01-01T00:00:00Z").build());
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of(legacy)).build());
+
+    Map<String, ?> experiences = experienceDao.findByExperienceIds(List.of("exp-old"));
+
+    assertThat(experiences).containsOnlyKeys("exp-old");
+    verify(dynamoDbClient, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+  }
+
+  @Test
+  void findByExperienceId_ServesRepeatReadsFromTheCacheUntilSaved() {
+    LruTtlCache<String, Map<String, AttributeValue>> cache =
+        new LruTtlCache<>(10, 1_000_000, Duration.ofMinutes(1), DynamoDbItemSize::estimate);
+    ExperienceDao cachedDao = new ExperienceDao(dynamoDbClient, null, TABLE, cache);
+    when(dynamoDbClient.getItem(any(GetItemRequest.class)))
+        .thenReturn(GetItemResponse.builder().item(item("exp-1")).build());
+
+    Experience first = cachedDao.findByExperienceId("exp-1").orElseThrow();
+    first.setTitle("mutated by the caller");
+    Experience second = cachedDao.findByExperienceId("EXPERIENCE#exp-1").orElseThrow();
+
+    verify(dynamoDbClient, times(1)).getItem(any(GetItemRequest.class));
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getTitle()).isNull();
+    assertThat(cachedDao.findByExperienceIds(List.of("exp-1"))).containsOnlyKeys("exp-1");
+    verify(dynamoDbClient, never()).batchGetItem(any(BatchGetItemRequest.class));
+
+    cachedDao.save(second);
+    cachedDao.findByExperienceId("exp-1");
+
+    verify(dynamoDbClient, times(2)).getItem(any(GetItemRequest.class));
+    assertThat(cache.stats().getHitCount()).isEqualTo(2);
+    assertThat(cache.stats().getInvalidationCount()).isEqualTo(1);
+  }
+
+  @Test
+  void findByExperienceId_ReturnsEmptyForANullOrBlankIdWithoutReading() {
+    assertThat(experienceDao.findByExperienceId(null)).isEmpty();
+    assertThat(experienceDao.findByExperienceId(" ")).isEmpty();
+
+    verifyNoInteractions(dynamoDbClient);
+  }
+
+  @Test
+  void save_InitializesCountersWithoutOverwritingThem() {
+    Experience experience = new Experience("creator-1");
+    experience.setExperienceId("exp-1");
+    experience.setTitle("Sunset walk");
+    experience.setMaxCapacity(10);
+
+    experienceDao.save(experience);
+
+    ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+    verify(dynamoDbClient).updateItem(captor.capture());
+    UpdateItemRequest request = captor.getValue();
+    assertThat(request.key()).isEqualTo(key("exp-1"));
+    Map<String, String> names = request.expressionAttributeNames();
+    String bookings = nameOf(names, "currentBookings");
+    String interest = nameOf(names, "interestCount");
+    assertThat(request.updateExpression())
+        .startsWith("SET ")
+        .contains(bookings + " = if_not_exists(" + bookings + ", ")
+        .contains(interest + " = if_not_exists(" + interest + ", ")
+        .contains(" REMOVE ")
+        .contains(nameOf(names, "description"));
+    assertThat(names.values()).doesNotContain("pk", "sk");
+  }
+
+  @Test
+  void findGeoChangedSince_SeesTheSaveThatClearsTheCoordinates() {
+    InMemoryDynamoDb dynamoDb = new InMemoryDynamoDb();
+    dynamoDb.createTable(InMemoryDynamoDb.yasTable(TABLE));
+    ExperienceDao dao = new ExperienceDao(dynamoDb, TABLE);
+    Experience experience = new Experience("creator-1");
+    experience.setExperienceId("exp-1");
+    experience.setLatitude(51.5);
+    experience.setLongitude(-0.12);
+    dao.save(experience);
+    Instant watermark = Instant.now();
+
+    experience.setLatitude(null);
+    experience.setLongitude(null);
+    dao.save(experience);
+
+    assertThat(dao.findGeoIndexed()).isEmpty();
+    assertThat(dao.findGeoChangedSince(watermark))
+        .singleElement()
+        .satisfies(
+            changed -> {
+              assertThat(changed.getExperienceId()).isEqualTo("exp-1");
+              assertThat(changed.getLatitude()).isNull();
+            });
+    assertThat(dao.findGeoChangedSince(Instant.now().plusSeconds(1))).isEmpty();
+  }
+
+  private static String nameOf(Map<String, String> names, String attribute) {
+    return names.entrySet().stream()
+        .filter(entry -> entry.getValue().equals(attribute))
+        .map(Map.Entry::getKey)
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static Map<String, AttributeValue> key(String experienceId) {
+    Map<String, AttributeValue> key = new HashMap<>();
+    key.put("pk", AttributeValue.builder().s("EXPERIENCE#" + experienceId).build());
+    key.put("sk", AttributeValue.builder().s(ExperienceDao.ITEM_SK).build());
+    return key;
+  }
+
+  private static Map<String, AttributeValue> item(String experienceId) {
+    Map<String, AttributeValue> item = key(experienceId);
+    item.put("experienceId", AttributeValue.builder().s(experienceId).build());
+    item.put("createdAt", AttributeValue.builder().s(Instant.EPOCH.toString()).build());
+    return item;
+  }
+}
@@ -0,0 +1,262 @@
+package com.yourafterspace.yas_backend.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.yourafterspace.yas_backend.exception.BadRequestException;
+import com.yourafterspace.yas_backend.model.Group;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+
+@ExtendWith(MockitoExtension.class)
+class GroupDaoTest {
+
+  private static final String TABLE = "yas-table";
+  private static final String CREATED_AT = "2024-05-01T10:00:00Z";
+
+  @Mock private DynamoDbClient dynamoDbClient;
+  @Mock private DynamoDbAsyncClient dynamoDbAsyncClient;
+
+  private GroupDao groupDao;
+
+  @BeforeEach
+  void setUp() {
+    groupDao = new GroupDao(dynamoDbClient, TABLE);
+  }
+
+  @Test
+  void save_PutsANewGroupAndItsMembershipsInOneTransaction() {
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of()).build());
+    Group group = new Group("group-1", "user-1");
+    group.setMemberUserIds(new ArrayList<>(List.of("user-1", " user-2 ")));
+
+    groupDao.save(group);
+
+    List<TransactWriteItem> writes = transactItems();
+    assertThat(writes).hasSize(3);
+    assertThat(writes.get(0).put().item().get("pk").s()).isEqualTo("GROUP#group-1");
+    assertThat(writes.subList(1, 3))
+        .extracting(write -> write.put().item().get("pk").s())
+        .containsExactlyInAnyOrder("USER#user-1", "USER#user-2");
+    Map<String, AttributeValue> membership = writes.get(1).put().item();
+    assertThat(membership.get("sk").s()).isEqualTo("GROUP#group-1");
+    assertThat(membership.get("groupPk").s()).isEqualTo("GROUP#group-1");
+    assertThat(membership.get("groupSk").s()).isEqualTo(group.getCreatedAt().toString());
+  }
+
+  @Test
+  void save_DeletesTheMembershipsOfRemovedMembers() {
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(
+            QueryResponse.builder()
+                .items(List.of(groupItem("group-1", "user-1", "user-2", "user-3")))
+                .build());
+    Group group = new Group("GROUP#group-1", "user-1");
+    group.setCreatedAt(Instant.parse(CREATED_AT));
+    group.setMemberUserIds(new ArrayList<>(List.of("user-1", "user-2")));
+
+    groupDao.save(group);
+
+    List<TransactWriteItem> writes = transactItems();
+    assertThat(writes).hasSize(2);
+    assertThat(writes.get(0).update().key().get("sk").s()).isEqualTo(CREATED_AT);
+    assertThat(writes.get(1).delete().key().get("pk").s()).isEqualTo("USER#user-3");
+  }
+
+  @Test
+  void save_ReappliesTheCallersMemberChangesToAConcurrentlyChangedGroup() {
+    Map<String, AttributeValue> read = groupItem("group-1", "user-1", "user-1", "user-2");
+    read.put("updatedAt", AttributeValue.builder().s("2024-05-02T10:00:00Z").build());
+    Map<String, AttributeValue> changed =
+        groupItem("group-1", "user-1", "user-1", "user-2", "user-4");
+    changed.put("updatedAt", AttributeValue.builder().s("2024-05-03T10:00:00Z").build());
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of(read)).build())
+        .thenReturn(QueryResponse.builder().items(List.of(changed)).build());
+    when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+        .thenThrow(
+            TransactionCanceledException.builder()
+                .cancellationReasons(
+                    CancellationReason.builder().code("ConditionalCheckFailed").build(),
+                    CancellationReason.builder().code("None").build())
+                .build())
+        .thenReturn(TransactWriteItemsResponse.builder().build());
+    Group group = new Group("GROUP#group-1", "user-1");
+    group.setCreatedAt(Instant.parse(CREATED_AT));
+    group.setMemberUserIds(new ArrayList<>(List.of("user-1", "user-3")));
+
+    groupDao.save(group);
+
+    ArgumentCaptor<TransactWriteItemsRequest> captor =
+        ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+    verify(dynamoDbClient, times(2)).transactWriteItems(captor.capture());
+    assertThat(captor.getAllValues().get(0).transactItems().get(0).update())
+        .satisfies(
+            update -> {
+              assertThat(update.conditionExpression()).isEqualTo("updatedAt = :readUpdatedAt");
+              assertThat(update.expressionAttributeValues().get(":readUpdatedAt").s())
+                  .isEqualTo("2024-05-02T10:00:00Z");
+            });
+    List<TransactWriteItem> retry = captor.getAllValues().get(1).transactItems();
+    assertThat(retry.get(0).update().expressionAttributeValues().get(":readUpdatedAt").s())
+        .isEqualTo("2024-05-03T10:00:00Z");
+    assertThat(group.getMemberUserIds()).containsExactly("user-1", "user-4", "user-3");
+    assertThat(retry.subList(1, retry.size()))
+        .extracting(
+            write ->
+                write.put() != null
+                    ? "put " + write.put().item().get("pk").s()
+                    : "delete " + write.delete().key().get("pk").s())
+        .containsExactlyInAnyOrder("put USER#user-3", "delete USER#user-2");
+  }
+
+  @Test
+  void save_RejectsMoreMembershipChangesThanOneTransactionHolds() {
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of()).build());
+    Group group = new Group("group-1", "user-1");
+    List<String> members = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      members.add("user-" + i);
+    }
+    group.setMemberUserIds(members);
+
+    assertThatThrownBy(() -> groupDao.save(group))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("99");
+    verify(dynamoDbClient, never()).transactWriteItems(any(TransactWriteItemsRequest.class));
+  }
+
+  @Test
+  void findByUserId_QueriesTheMembershipsInsteadOfScanning() {
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(
+            QueryResponse.builder()
+                .items(
+                    List.of(
+                        membershipItem("user-2", "group-2"), membershipItem("user-2", "group-1")))
+                .build());
+    when(dynamoDbClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .responses(
+                    Map.of(
+                        TABLE,
+                        List.of(
+                            groupItem("group-1", "user-1", "user-2"),
+                            groupItem("group-2", "user-2"))))
+                .build());
+
+    List<Group> groups = groupDao.findByUserId("user-2");
+
+    assertThat(groups)
+        .extracting(Group::getGroupId)
+        .containsExactly("GROUP#group-2", "GROUP#group-1");
+    ArgumentCaptor<QueryRequest> query = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient).query(query.capture());
+    assertThat(query.getValue().expressionAttributeValues().get(":pk").s())
+        .isEqualTo("USER#user-2");
+    verify(dynamoDbClient, never()).scan(any(ScanRequest.class));
+
+    verify(dynamoDbClient, never()).getItem(any(GetItemRequest.class));
+  }
+
+  @Test
+  void findByUserIdAsync_ReadsTheMembershipsAndGroupsThroughTheAsyncClient() {
+    when(dynamoDbAsyncClient.query(any(QueryRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                QueryResponse.builder()
+                    .items(
+                        List.of(
+                            membershipItem("user-2", "group-2"),
+                            membershipItem("user-2", "group-1")))
+                    .build()));
+    when(dynamoDbAsyncClient.batchGetItem(any(BatchGetItemRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                BatchGetItemResponse.builder()
+                    .responses(
+                        Map.of(
+                            TABLE,
+                            List.of(
+                                groupItem("group-1", "user-1", "user-2"),
+                                groupItem("group-2", "user-2"))))
+                    .build()));
+    GroupDao asyncDao = new GroupDao(dynamoDbClient, dynamoDbAsyncClient, TABLE);
+
+    List<Group> groups = asyncDao.findByUserIdAsync("user-2").join();
+
+    assertThat(groups)
+        .extracting(Group::getGroupId)
+        .containsExactly("GROUP#group-2", "GROUP#group-1");
+    verify(dynamoDbClient, never()).query(any(QueryRequest.class));
+    verify(dynamoDbClient, never()).batchGetItem(any(BatchGetItemRequest.class));
+  }
+
+  @Test
+  void findByGroupIdAsync_RunsTheBlockingLookupWithoutAnAsyncClient() {
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of(groupItem("group-1", "user-1"))).build());
+
+    CompletableFuture<Optional<Group>> group = groupDao.findByGroupIdAsync("group-1");
+
+    assertThat(group).isCompleted();
+    assertThat(group.join()).map(Group::getGroupId).contains("GROUP#group-1");
+  }
+
+  private List<TransactWriteItem> transactItems() {
+    ArgumentCaptor<TransactWriteItemsRequest> captor =
+        ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+    verify(dynamoDbClient).transactWriteItems(captor.capture());
+    return captor.getValue().transactItems();
+  }
+
+  private static Map<String, AttributeValue> groupItem(
+      String groupId, String creator, String... members) {
+    Map<String, AttributeValue> item = new HashMap<>();
+    item.put("pk", AttributeValue.builder().s("GROUP#" + groupId).build());
+    item.put("sk", AttributeValue.builder().s(CREATED_AT).build());
+    item.put("groupId", AttributeValue.builder().s("GROUP#" + groupId).build());
+    item.put("creatorUserId", AttributeValue.builder().s(creator).build());
+    item.put("memberUserIds", AttributeValue.builder().ss(members).build());
+    return item;
+  }
+
+  private static Map<String, AttributeValue> membershipItem(String userId, String groupId) {
+    Map<String, AttributeValue> item = new HashMap<>();
+    item.put("pk", AttributeValue.builder().s("USER#" + userId).build());
+    item.put("sk", AttributeValue.builder().s("GROUP#" + groupId).build());
+    item.put("groupPk", AttributeValue.builder().s("GROUP#" + groupId).build());
+    item.put("groupSk", AttributeValue.builder().s(CREATED_AT).build());
+    return item;
+  }
+}
@@ -0,0 +1,143 @@
+package com.yourafterspace.yas_backend.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+@ExtendWith(MockitoExtension.class)
+class UpcomingInterestDaoTest {
+
+  private static final String TABLE = "yas-table";
+
+  @Mock private DynamoDbClient dynamoDbClient;
+
+  private UpcomingInterestDao upcomingInterestDao;
+
+  @BeforeEach
+  void setUp() {
+    upcomingInterestDao = new UpcomingInterestDao(dynamoDbClient, TABLE);
+  }
+
+  @Test
+  void indexPut_FilesInterestUnderTheMonthOfTheExperienceStart() {
+    Experience experience = experience("exp-1", LocalDate.of(2030, 3, 14));
+    Instant startsAt = UpcomingInterestDao.startsAt(experience);
+
+    Map<String, AttributeValue> item =
+        UpcomingInterestDao.indexPut(TABLE, new UserExperience("user-1", "exp-1"), startsAt).item();
+
+    assertThat(item.get("pk").s()).startsWith("UPCOMING_INTEREST#2030-03");
+    assertThat(item.get("sk").s()).isEqualTo(startsAt + "#exp-1#user-1");
+    assertThat(item).doesNotContainKeys("experienceId", "userId", "exp-interest");
+    assertThat(UpcomingInterestDao.indexDelete(TABLE, "user-1", "exp-1", startsAt).key())
+        .isEqualTo(Map.of("pk", item.get("pk"), "sk", item.get("sk")));
+  }
+
+  @Test
+  void fileExperience_SkipsExperiencesWithoutAStart() {
+    Experience experience = experience("exp-1", null);
+    List<UserExperience> interests = List.of(new UserExperience("user-1", "exp-1"));
+
+    upcomingInterestDao.fileExperience(experience, interests);
+    upcomingInterestDao.unfileExperience(null, "exp-1", interests);
+
+    verifyNoInteractions(dynamoDbClient);
+  }
+
+  @Test
+  void findUpcoming_QueriesOnlyTheHorizonBuckets() {
+    Instant now = Instant.parse("2030-01-15T12:00:00Z");
+    Map<String, AttributeValue> item =
+        Map.of(
+            "interestUserId", AttributeValue.builder().s("user-1").build(),
+            "interestExperienceId", AttributeValue.builder().s("exp-1").build(),
+            "interestedAt", AttributeValue.builder().s("2029-12-01T00:00:00Z").build(),
+            "startsAt", AttributeValue.builder().s("2030-02-01T18:00:00Z").build());
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of()).build()) // No months beyond
+        .thenReturn(QueryResponse.builder().items(List.of(item)).build())
+        .thenReturn(QueryResponse.builder().items(List.of()).build());
+
+    List<UserExperience> upcoming = upcomingInterestDao.findUpcoming(now);
+
+    assertThat(upcoming).hasSize(1);
+    assertThat(upcoming.get(0).getUserId()).isEqualTo("user-1");
+    assertThat(upcoming.get(0).getExperienceId()).isEqualTo("exp-1");
+    assertThat(upcoming.get(0).getExpInterest()).isTrue();
+    assertThat(upcoming.get(0).getExperienceTime()).hasToString("2030-02-01T18:00:00Z");
+
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient, times(UpcomingInterestDao.HORIZON_MONTHS + 1)).query(captor.capture());
+    QueryRequest farMonths = captor.getAllValues().get(0);
+    assertThat(farMonths.expressionAttributeValues().get(":from").s()).isEqualTo("MONTH#2032-01");
+    QueryRequest current = captor.getAllValues().get(1);
+    assertThat(current.keyConditionExpression()).isEqualTo("pk = :pk AND sk >= :notBefore");
+    assertThat(current.expressionAttributeValues().get(":pk").s())
+        .isEqualTo("UPCOMING_INTEREST#2030-01");
+    QueryRequest last = captor.getAllValues().get(UpcomingInterestDao.HORIZON_MONTHS);
+    assertThat(last.keyConditionExpression()).isEqualTo("pk = :pk");
+    assertThat(last.expressionAttributeValues().get(":pk").s())
+        .isEqualTo("UPCOMING_INTEREST#2031-12");
+  }
+
+  @Test
+  void fileAndUnfileExperience_WriteTheItemsInBatches() {
+    when(dynamoDbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+        .thenReturn(BatchWriteItemResponse.builder().build());
+    // Within the read horizon, so no month is listed
+    LocalDate date = LocalDate.now().plusMonths(1).withDayOfMonth(15);
+    Experience experience = experience("exp-1", date);
+    Instant previousStartsAt = Instant.parse("2030-04-01T18:00:00Z");
+    List<UserExperience> interests = new ArrayList<>();
+    for (int i = 1; i <= 26; i++) {
+      interests.add(new UserExperience("user-" + i, "exp-1"));
+    }
+
+    upcomingInterestDao.fileExperience(experience, interests);
+    upcomingInterestDao.unfileExperience(previousStartsAt, "exp-1", interests);
+
+    ArgumentCaptor<BatchWriteItemRequest> captor =
+        ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+    verify(dynamoDbClient, times(4)).batchWriteItem(captor.capture());
+    List<WriteRequest> puts = captor.getAllValues().get(0).requestItems().get(TABLE);
+    assertThat(puts).hasSize(25);
+    assertThat(puts.get(0).putRequest().item().get("pk").s())
+        .isEqualTo("UPCOMING_INTEREST#" + YearMonth.from(date));
+    assertThat(captor.getAllValues().get(1).requestItems().get(TABLE)).hasSize(1);
+    List<WriteRequest> deletes = captor.getAllValues().get(2).requestItems().get(TABLE);
+    assertThat(deletes).hasSize(25);
+    assertThat(deletes.get(0).deleteRequest().key().get("pk").s())
+        .isEqualTo("UPCOMING_INTEREST#2030-04");
+  }
+
+  private static Experience experience(String experienceId, LocalDate date) {
+    Experience experience = new Experience("creator-1");
+    experience.setExperienceId(experienceId);
+    experience.setExperienceDate(date);
+    experience.setStartTime(LocalTime.of(18, 0));
+    return experience;
+  }
+}
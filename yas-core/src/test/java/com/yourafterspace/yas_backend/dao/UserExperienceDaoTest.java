@@ -0,0 +1,295 @@
+package com.yourafterspace.yas_backend.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.yourafterspace.yas_backend.dao.inmemory.InMemoryDynamoDb;
+import com.yourafterspace.yas_backend.exception.ExperienceFullyBookedException;
+import com.yourafterspace.yas_backend.exception.ResourceNotFoundException;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import com.yourafterspace.yas_backend.model.UserExperience.UserExperienceStatus;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+
+class UserExperienceDaoTest {
+
+  private static final String TABLE = "yas-table";
+  private static final String CREATED_AT = "2024-05-01T10:00:00Z";
+
+  private InMemoryDynamoDb dynamoDb;
+  private ExperienceDao experienceDao;
+  private UserExperienceDao userExperienceDao;
+
+  @BeforeEach
+  void setUp() {
+    dynamoDb = new InMemoryDynamoDb();
+    dynamoDb.createTable(InMemoryDynamoDb.yasTable(TABLE));
+    experienceDao = new ExperienceDao(dynamoDb, TABLE);
+    userExperienceDao = new UserExperienceDao(dynamoDb, TABLE);
+    Experience experience = new Experience("host");
+    experience.setExperienceId("exp-1");
+    experience.setMaxCapacity(1);
+    experienceDao.save(experience);
+  }
+
+  @Test
+  void updateInterest_KeysTheRecordByExperienceAndCountsEachFlipOnce() {
+    userExperienceDao.updateInterest("user-1", "exp-1", true, 0.8);
+    userExperienceDao.updateInterest("user-1", "EXPERIENCE#exp-1", true, null);
+    userExperienceDao.updateInterest("user-1", "exp-1", false, null);
+    UserExperience updated = userExperienceDao.updateInterest("user-1", "exp-1", true, null);
+
+    assertThat(updated.getExpInterest()).isTrue();
+    assertThat(updated.getInterestScore()).isEqualTo(0.8);
+    assertThat(records("user-1"))
+        .extracting(item -> item.get("sk").s())
+        .containsExactly("EXPERIENCE#exp-1");
+    assertThat(interestCount()).isEqualTo(1);
+  }
+
+  @Test
+  void updateInterest_IsOneUpdateItemWhenTheInterestDoesNotChange() {
+    userExperienceDao.updatePayment("user-1", "exp-1", UserExperienceStatus.PAID, null);
+    userExperienceDao.updateInterest("user-1", "exp-1", true, null);
+    dynamoDb.resetCallCounts();
+
+    UserExperience updated = userExperienceDao.updateInterest("user-1", "exp-1", true, 0.5);
+
+    assertThat(updated.getPaid()).isTrue(); // payment fields of the record are kept
+    assertThat(updated.getInterestScore()).isEqualTo(0.5);
+    assertThat(dynamoDb.callCounts())
+        .containsOnlyKeys("UpdateItem")
+        .containsEntry("UpdateItem", 1L);
+  }
+
+  @Test
+  void updateInterest_MovesALegacyRecordToTheExperienceKey() {
+    dynamoDb.putItem(PutItemRequest.builder().tableName(TABLE).item(legacyRecord()).build());
+
+    UserExperience updated = userExperienceDao.updateInterest("user-1", "exp-1", true, null);
+
+    assertThat(updated.getPaid()).isTrue();
+    assertThat(updated.getCreatedAt()).hasToString(CREATED_AT);
+    assertThat(records("user-1"))
+        .extracting(item -> item.get("sk").s())
+        .containsExactly("EXPERIENCE#exp-1");
+    assertThat(userExperienceDao.findByUserIdAndExperienceId("user-1", "exp-1"))
+        .get()
+        .extracting(UserExperience::getCreatedAt)
+        .hasToString(CREATED_AT);
+    assertThat(interestCount()).isEqualTo(1);
+  }
+
+  @Test
+  void findByUserIdAndExperienceId_StillReadsLegacyRecords() {
+    dynamoDb.putItem(PutItemRequest.builder().tableName(TABLE).item(legacyRecord()).build());
+
+    assertThat(userExperienceDao.findByUserIdAndExperienceId("user-1", "exp-1"))
+        .get()
+        .extracting(UserExperience::getCreatedAt)
+        .hasToString(CREATED_AT);
+  }
+
+  @Test
+  void updatePayment_CreatesTheRecordAndTakesABooking() {
+    UserExperience created =
+        userExperienceDao.updatePayment(
+            "user-1", "EXPERIENCE#exp-1", UserExperienceStatus.PAID, null);
+
+    assertThat(created.getExperienceId()).isEqualTo("exp-1");
+    assertThat(created.getPaid()).isTrue();
+    assertThat(created.getStatus()).isEqualTo(UserExperienceStatus.PAID);
+    assertThat(experienceDao.findByExperienceId("exp-1").orElseThrow().getCurrentBookings())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void updatePayment_WithoutAStatusKeepsThePaymentAndItsBooking() {
+    userExperienceDao.updatePayment("user-1", "exp-1", UserExperienceStatus.PAID, null);
+    UserExperience.PaymentDetails paymentDetails = new UserExperience.PaymentDetails();
+    paymentDetails.setTransactionId("tx-1");
+
+    UserExperience updated =
+        userExperienceDao.updatePayment("user-1", "exp-1", null, paymentDetails);
+    userExperienceDao.updatePayment("user-1", "exp-1", null, null);
+
+    assertThat(updated.getStatus()).isEqualTo(UserExperienceStatus.PAID);
+    assertThat(updated.getPaid()).isTrue();
+    assertThat(updated.getPaymentDetails().getTransactionId()).isEqualTo("tx-1");
+    assertThat(userExperienceDao.findByUserIdAndExperienceId("user-1", "exp-1"))
+        .get()
+        .extracting(UserExperience::getStatus)
+        .isEqualTo(UserExperienceStatus.PAID);
+    assertThat(experienceDao.findByExperienceId("exp-1").orElseThrow().getCurrentBookings())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void updatePayment_RejectsAPaymentForAFullyBookedExperience() {
+    userExperienceDao.updatePayment("user-1", "exp-1", UserExperienceStatus.PAID, null);
+
+    assertThatThrownBy(
+            () ->
+                userExperienceDao.updatePayment("user-2", "exp-1", UserExperienceStatus.PAID, null))
+        .isInstanceOf(ExperienceFullyBookedException.class);
+    assertThat(experienceDao.findByExperienceId("exp-1").orElseThrow().getCurrentBookings())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void updatePayment_ConcurrentDoubleSubmitsTakeOneBooking() throws Exception {
+    Experience experience = experienceDao.findByExperienceId("exp-1").orElseThrow();
+    experience.setMaxCapacity(5);
+    experienceDao.save(experience);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<UserExperience>> submits = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        submits.add(
+            executor.submit(
+                () ->
+                    userExperienceDao.updatePayment(
+                        "user-1", "exp-1", UserExperienceStatus.PAID, null)));
+      }
+      for (Future<UserExperience> submit : submits) {
+        assertThat(submit.get().getPaid()).isTrue();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(experienceDao.findByExperienceId("exp-1").orElseThrow().getCurrentBookings())
+        .isEqualTo(1);
+    assertThat(records("user-1")).hasSize(1);
+  }
+
+  @Test
+  void updatePayment_ReportsAMissingExperienceAsNotFoundAndWritesNothing() {
+    assertThatThrownBy(
+            () ->
+                userExperienceDao.updatePayment(
+                    "user-1", "exp-missing", UserExperienceStatus.PAID, null))
+        .isInstanceOf(ResourceNotFoundException.class);
+    assertThat(records("user-1")).isEmpty();
+  }
+
+  @Test
+  void recountCounters_CountsLegacyRecordsSoTheyCanBeReleased() {
+    Map<String, AttributeValue> record = legacyRecord();
+    record.put("exp-interest", AttributeValue.builder().bool(true).build());
+    dynamoDb.putItem(PutItemRequest.builder().tableName(TABLE).item(record).build());
+    assertThat(userExperienceDao.isCountersRecounted()).isFalse();
+
+    assertThat(userExperienceDao.recountCounters()).isEqualTo(1);
+
+    assertThat(new UserExperienceDao(dynamoDb, TABLE).isCountersRecounted()).isTrue();
+    assertThat(interestCount()).isEqualTo(1);
+    assertThatThrownBy(
+            () ->
+                userExperienceDao.updatePayment("user-2", "exp-1", UserExperienceStatus.PAID, null))
+        .isInstanceOf(ExperienceFullyBookedException.class);
+    assertThat(userExperienceDao.updateInterest("user-1", "exp-1", false, null).getExpInterest())
+        .isFalse();
+    assertThat(
+            userExperienceDao
+                .updatePayment("user-1", "exp-1", UserExperienceStatus.CANCELLED, null)
+                .getPaid())
+        .isFalse();
+    Experience experience = experienceDao.findByExperienceId("exp-1").orElseThrow();
+    assertThat(experience.getInterestCount()).isZero();
+    assertThat(experience.getCurrentBookings()).isZero();
+  }
+
+  @Test
+  void updateInterest_WritesTheUpcomingInterestIndexItemWithTheFlip() {
+    Instant startsAt = Instant.now().plus(Duration.ofDays(7));
+    UpcomingInterestDao upcomingInterestDao = new UpcomingInterestDao(dynamoDb, TABLE);
+
+    userExperienceDao.updateInterest("user-1", "exp-1", true, 0.8, startsAt);
+    dynamoDb.resetCallCounts();
+    userExperienceDao.updateInterest("user-1", "exp-1", true, null, startsAt);
+
+    assertThat(dynamoDb.callCounts()).containsOnlyKeys("UpdateItem");
+    assertThat(upcomingInterestDao.findUpcoming(Instant.now()))
+        .singleElement()
+        .satisfies(
+            ue -> {
+              assertThat(ue.getUserId()).isEqualTo("user-1");
+              assertThat(ue.getInterestScore()).isEqualTo(0.8);
+              assertThat(ue.getExperienceTime()).isEqualTo(startsAt);
+            });
+
+    userExperienceDao.updateInterest("user-1", "exp-1", false, null, startsAt);
+
+    assertThat(upcomingInterestDao.findUpcoming(Instant.now())).isEmpty();
+    assertThat(interestCount()).isZero();
+  }
+
+  @Test
+  void updateInterest_ListsInterestBeyondTheReadHorizon() {
+    Instant startsAt =
+        Instant.now().plus(Duration.ofDays(31L * (UpcomingInterestDao.HORIZON_MONTHS + 6)));
+
+    userExperienceDao.updateInterest("user-1", "exp-1", true, null, startsAt);
+
+    assertThat(new UpcomingInterestDao(dynamoDb, TABLE).findUpcoming(Instant.now()))
+        .extracting(UserExperience::getExperienceTime)
+        .containsExactly(startsAt);
+  }
+
+  @Test
+  void updateInterest_WritesNoIndexItemWhenTheFlipFails() {
+    Instant startsAt = Instant.now().plus(Duration.ofDays(7));
+
+    assertThatThrownBy(
+            () -> userExperienceDao.updateInterest("user-1", "exp-missing", true, null, startsAt))
+        .isInstanceOf(ResourceNotFoundException.class);
+    assertThat(new UpcomingInterestDao(dynamoDb, TABLE).findUpcoming(Instant.now())).isEmpty();
+  }
+
+  private List<Map<String, AttributeValue>> records(String userId) {
+    return dynamoDb
+        .query(
+            QueryRequest.builder()
+                .tableName(TABLE)
+                .keyConditionExpression("pk = :userId")
+                .expressionAttributeValues(Map.of(":userId", s(userId)))
+                .build())
+        .items();
+  }
+
+  private int interestCount() {
+    return experienceDao.findByExperienceId("exp-1").orElseThrow().getInterestCount();
+  }
+
+  private static Map<String, AttributeValue> legacyRecord() {
+    Map<String, AttributeValue> item = new HashMap<>();
+    item.put("pk", s("user-1"));
+    item.put("sk", s(CREATED_AT));
+    item.put("userId", s("user-1"));
+    item.put("experienceId", s("exp-1"));
+    item.put("GSI1PK", s("exp-1"));
+    item.put("GSI1SK", s("user-1"));
+    item.put("exp-interest", AttributeValue.builder().bool(false).build());
+    item.put("status", s("PAID"));
+    item.put("PAID", AttributeValue.builder().bool(true).build());
+    return item;
+  }
+
+  private static AttributeValue s(String value) {
+    return AttributeValue.builder().s(value).build();
+  }
+}
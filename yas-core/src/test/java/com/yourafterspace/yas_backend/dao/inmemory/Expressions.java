@@ -0,0 +1,888 @@
+package com.yourafterspace.yas_backend.dao.inmemory;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * The DynamoDB expression language of {@link InMemoryDynamoDb}: key conditions, filter and
+ * condition expressions, update expressions and projections.
+ *
+ * <p>Conditions support the comparators, BETWEEN, IN, AND/OR/NOT and the functions
+ * attribute_exists, attribute_not_exists, attribute_type, begins_with, contains and size. Updates
+ * support SET (with +, -, if_not_exists and list_append), REMOVE, ADD and DELETE. Document paths
+ * may be nested when read; writes only go to top-level attributes.
+ */
+final class Expressions {
+
+  private Expressions() {}
+
+  /** Placeholders of one request; records which ones its expressions used. */
+  static final class Placeholders {
+
+    private final Map<String, String> names;
+    private final Map<String, AttributeValue> values;
+    private final Set<String> usedNames = new HashSet<>();
+    private final Set<String> usedValues = new HashSet<>();
+
+    Placeholders(Map<String, String> names, Map<String, AttributeValue> values) {
+      this.names = names != null ? names : Map.of();
+      this.values = values != null ? values : Map.of();
+    }
+
+    String name(String placeholder) {
+      String name = names.get(placeholder);
+      if (name == null) {
+        throw InMemoryDynamoDb.validation(
+            "An expression attribute name used in the document path is not defined; attribute"
+                + " name: "
+                + placeholder);
+      }
+      usedNames.add(placeholder);
+      return name;
+    }
+
+    AttributeValue value(String placeholder) {
+      AttributeValue value = values.get(placeholder);
+      if (value == null) {
+        throw InMemoryDynamoDb.validation(
+            "An expression attribute value used in expression is not defined; attribute value: "
+                + placeholder);
+      }
+      usedValues.add(placeholder);
+      return value;
+    }
+
+    /** Reject placeholders that none of the request's expressions used, as DynamoDB does. */
+    void checkAllUsed() {
+      for (String name : names.keySet()) {
+        if (!usedNames.contains(name)) {
+          throw InMemoryDynamoDb.validation(
+              "Value provided in ExpressionAttributeNames unused in expressions: keys: {"
+                  + name
+                  + "}");
+        }
+      }
+      for (String value : values.keySet()) {
+        if (!usedValues.contains(value)) {
+          throw InMemoryDynamoDb.validation(
+              "Value provided in ExpressionAttributeValues unused in expressions: keys: {"
+                  + value
+                  + "}");
+        }
+      }
+    }
+  }
+
+  /** A filter, condition or key condition. */
+  interface Condition {
+    boolean test(Map<String, AttributeValue> item);
+  }
+
+  /** An operand of a condition or of a SET action; null when it refers to a missing attribute. */
+  interface Operand {
+    AttributeValue value(Map<String, AttributeValue> item);
+  }
+
+  /** A document path such as {@code a}, {@code a.b} or {@code a[2]}. */
+  record Path(List<Object> elements) implements Operand {
+
+    String topLevelName() {
+      return (String) elements.get(0);
+    }
+
+    boolean isTopLevel() {
+      return elements.size() == 1;
+    }
+
+    @Override
+    public AttributeValue value(Map<String, AttributeValue> item) {
+      AttributeValue value = item.get(topLevelName());
+      for (int i = 1; i < elements.size() && value != null; i++) {
+        Object element = elements.get(i);
+        if (element instanceof String) {
+          value = value.hasM() ? value.m().get(element) : null;
+        } else {
+          int index = (Integer) element;
+          value = value.hasL() && index < value.l().size() ? value.l().get(index) : null;
+        }
+      }
+      return value;
+    }
+  }
+
+  record Constant(AttributeValue constant) implements Operand {
+    @Override
+    public AttributeValue value(Map<String, AttributeValue> item) {
+      return constant;
+    }
+  }
+
+  record Size(Path path) implements Operand {
+    @Override
+    public AttributeValue value(Map<String, AttributeValue> item) {
+      AttributeValue value = path.value(item);
+      if (value == null) {
+        return null;
+      }
+      int size;
+      switch (value.type()) {
+        case S:
+          size = value.s().length();
+          break;
+        case B:
+          size = value.b().asByteArray().length;
+          break;
+        case SS:
+          size = value.ss().size();
+          break;
+        case NS:
+          size = value.ns().size();
+          break;
+        case BS:
+          size = value.bs().size();
+          break;
+        case L:
+          size = value.l().size();
+          break;
+        case M:
+          size = value.m().size();
+          break;
+        default:
+          return null;
+      }
+      return AttributeValue.fromN(Integer.toString(size));
+    }
+  }
+
+  record IfNotExists(Path path, Operand fallback) implements Operand {
+    @Override
+    public AttributeValue value(Map<String, AttributeValue> item) {
+      AttributeValue value = path.value(item);
+      return value != null ? value : fallback.value(item);
+    }
+  }
+
+  record ListAppend(Operand first, Operand second) implements Operand {
+    @Override
+    public AttributeValue value(Map<String, AttributeValue> item) {
+      AttributeValue a = required(first.value(item));
+      AttributeValue b = required(second.value(item));
+      if (!a.hasL() || !b.hasL()) {
+        throw InMemoryDynamoDb.validation(
+            "An operand in the update expression has an incorrect data type");
+      }
+      List<AttributeValue> list = new ArrayList<>(a.l());
+      list.addAll(b.l());
+      return AttributeValue.fromL(list);
+    }
+  }
+
+  record Arithmetic(Operand left, boolean plus, Operand right) implements Operand {
+    @Override
+    public AttributeValue value(Map<String, AttributeValue> item) {
+      AttributeValue a = required(left.value(item));
+      AttributeValue b = required(right.value(item));
+      if (a.n() == null || b.n() == null) {
+        throw InMemoryDynamoDb.validation(
+            "An operand in the update expression has an incorrect data type");
+      }
+      BigDecimal x = new BigDecimal(a.n());
+      BigDecimal y = new BigDecimal(b.n());
+      return AttributeValue.fromN((plus ? x.add(y) : x.subtract(y)).toPlainString());
+    }
+  }
+
+  record Compare(String operator, Operand left, Operand right) implements Condition {
+    @Override
+    public boolean test(Map<String, AttributeValue> item) {
+      AttributeValue a = left.value(item);
+      AttributeValue b = right.value(item);
+      if (a == null || b == null) {
+        return "<>".equals(operator) && (a != null || b != null);
+      }
+      switch (operator) {
+        case "=":
+          return valuesEqual(a, b);
+        case "<>":
+          return !valuesEqual(a, b);
+        default:
+          Integer order = compareScalars(a, b);
+          if (order == null) {
+            return false;
+          }
+          switch (operator) {
+            case "<":
+              return order < 0;
+            case "<=":
+              return order <= 0;
+            case ">":
+              return order > 0;
+            default:
+              return order >= 0;
+          }
+      }
+    }
+  }
+
+  record Between(Operand operand, Operand low, Operand high) implements Condition {
+    @Override
+    public boolean test(Map<String, AttributeValue> item) {
+      AttributeValue value = operand.value(item);
+      AttributeValue from = low.value(item);
+      AttributeValue to = high.value(item);
+      if (value == null || from == null || to == null) {
+        return false;
+      }
+      Integer lower = compareScalars(value, from);
+      Integer upper = compareScalars(value, to);
+      return lower != null && upper != null && lower >= 0 && upper <= 0;
+    }
+  }
+
+  record In(Operand operand, List<Operand> candidates) implements Condition {
+    @Override
+    public boolean test(Map<String, AttributeValue> item) {
+      AttributeValue value = operand.value(item);
+      if (value == null) {
+        return false;
+      }
+      for (Operand candidate : candidates) {
+        AttributeValue other = candidate.value(item);
+        if (other != null && valuesEqual(value, other)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  record And(Condition left, Condition right) implements Condition {
+    @Override
+    public boolean test(Map<String, AttributeValue> item) {
+      return left.test(item) && right.test(item);
+    }
+  }
+
+  record Or(Condition left, Condition right) implements Condition {
+    @Override
+    public boolean test(Map<String, AttributeValue> item) {
+      return left.test(item) || right.test(item);
+    }
+  }
+
+  record Not(Condition condition) implements Condition {
+    @Override
+    public boolean test(Map<String, AttributeValue> item) {
+      return !condition.test(item);
+    }
+  }
+
+  record Function(String name, List<Operand> arguments) implements Condition {
+    @Override
+    public boolean test(Map<String, AttributeValue> item) {
+      AttributeValue value = arguments.get(0).value(item);
+      switch (name) {
+        case "attribute_exists":
+          return value != null;
+        case "attribute_not_exists":
+          return value == null;
+        case "attribute_type":
+          AttributeValue type = arguments.get(1).value(item);
+          return value != null && type != null && typeCode(value).equals(type.s());
+        case "begins_with":
+          AttributeValue prefix = arguments.get(1).value(item);
+          if (value == null || prefix == null) {
+            return false;
+          }
+          if (value.s() != null && prefix.s() != null) {
+            return value.s().startsWith(prefix.s());
+          }
+          if (value.b() != null && prefix.b() != null) {
+            ByteBuffer bytes = value.b().asByteBuffer();
+            ByteBuffer start = prefix.b().asByteBuffer();
+            return bytes.remaining() >= start.remaining()
+                && bytes.slice().limit(start.remaining()).equals(start);
+          }
+          return false;
+        default: // contains
+          AttributeValue operand = arguments.get(1).value(item);
+          if (value == null || operand == null) {
+            return false;
+          }
+          if (value.s() != null) {
+            return operand.s() != null && value.s().contains(operand.s());
+          }
+          if (value.hasL()) {
+            return value.l().stream().anyMatch(element -> valuesEqual(element, operand));
+          }
+          if (value.hasSs() || value.hasNs() || value.hasBs()) {
+            return setElements(value).contains(setElement(operand));
+          }
+          return false;
+      }
+    }
+  }
+
+  /** One action of an update expression. */
+  record Action(String clause, Path path, Operand operand) {}
+
+  /**
+   * Parse a filter, condition or key condition expression.
+   *
+   * @throws software.amazon.awssdk.services.dynamodb.model.DynamoDbException ValidationException on
+   *     a syntax error or an undefined placeholder
+   */
+  static Condition parseCondition(String expression, Placeholders placeholders) {
+    Parser parser = new Parser(expression, placeholders);
+    Condition condition = parser.or();
+    parser.expectEnd();
+    return condition;
+  }
+
+  /** Parse an update expression into its actions, in order. */
+  static List<Action> parseUpdate(String expression, Placeholders placeholders) {
+    return new Parser(expression, placeholders).update();
+  }
+
+  /** Parse a projection expression into its paths. */
+  static List<Path> parseProjection(String expression, Placeholders placeholders) {
+    Parser parser = new Parser(expression, placeholders);
+    List<Path> paths = new ArrayList<>();
+    do {
+      paths.add(parser.path());
+    } while (parser.accept(","));
+    parser.expectEnd();
+    return paths;
+  }
+
+  /**
+   * Apply update actions to an item. Every operand is evaluated against the item as it was before
+   * the update, as in DynamoDB.
+   *
+   * @param item Item before the update (its key included)
+   * @param actions Parsed update expression
+   * @return The updated item
+   */
+  static Map<String, AttributeValue> applyUpdate(
+      Map<String, AttributeValue> item, List<Action> actions) {
+    Map<String, AttributeValue> updated = new HashMap<>(item);
+    for (Action action : actions) {
+      if (!action.path().isTopLevel()) {
+        throw InMemoryDynamoDb.validation(
+            "Updating nested document paths is not supported by the in-memory stand-in: "
+                + action.path().elements());
+      }
+      String name = action.path().topLevelName();
+      switch (action.clause()) {
+        case "SET":
+          updated.put(name, required(action.operand().value(item)));
+          break;
+        case "REMOVE":
+          updated.remove(name);
+          break;
+        case "ADD":
+          updated.put(name, add(item.get(name), action.operand().value(item)));
+          break;
+        default: // DELETE
+          AttributeValue remaining = delete(item.get(name), action.operand().value(item));
+          if (remaining == null) {
+            updated.remove(name);
+          } else {
+            updated.put(name, remaining);
+          }
+      }
+    }
+    return updated;
+  }
+
+  private static AttributeValue add(AttributeValue current, AttributeValue delta) {
+    if (delta.n() != null) {
+      if (current == null) {
+        return delta;
+      }
+      if (current.n() == null) {
+        throw InMemoryDynamoDb.validation(
+            "An operand in the update expression has an incorrect data type");
+      }
+      return AttributeValue.fromN(
+          new BigDecimal(current.n()).add(new BigDecimal(delta.n())).toPlainString());
+    }
+    if (!(delta.hasSs() || delta.hasNs() || delta.hasBs())) {
+      throw InMemoryDynamoDb.validation(
+          "Incorrect operand type for operator or function; operator: ADD, operand type: "
+              + typeCode(delta));
+    }
+    if (current == null) {
+      return delta;
+    }
+    if (current.type() != delta.type()) {
+      throw InMemoryDynamoDb.validation(
+          "An operand in the update expression has an incorrect data type");
+    }
+    if (delta.hasSs()) {
+      Set<String> union = new LinkedHashSet<>(current.ss());
+      union.addAll(delta.ss());
+      return AttributeValue.fromSs(new ArrayList<>(union));
+    }
+    if (delta.hasNs()) {
+      Set<Object> seen = setElements(current);
+      List<String> union = new ArrayList<>(current.ns());
+      for (String n : delta.ns()) {
+        if (seen.add(setElement(AttributeValue.fromN(n)))) {
+          union.add(n);
+        }
+      }
+      return AttributeValue.fromNs(union);
+    }
+    Set<SdkBytes> union = new LinkedHashSet<>(current.bs());
+    union.addAll(delta.bs());
+    return AttributeValue.fromBs(new ArrayList<>(union));
+  }
+
+  private static AttributeValue delete(AttributeValue current, AttributeValue removed) {
+    if (!(removed.hasSs() || removed.hasNs() || removed.hasBs())) {
+      throw InMemoryDynamoDb.validation(
+          "Incorrect operand type for operator or function; operator: DELETE, operand type: "
+              + typeCode(removed));
+    }
+    if (current == null) {
+      return null;
+    }
+    if (current.type() != removed.type()) {
+      throw InMemoryDynamoDb.validation(
+          "An operand in the update expression has an incorrect data type");
+    }
+    Set<Object> drop = setElements(removed);
+    if (current.hasSs()) {
+      List<String> left = new ArrayList<>();
+      current.ss().stream().filter(s -> !drop.contains(s)).forEach(left::add);
+      return left.isEmpty() ? null : AttributeValue.fromSs(left);
+    }
+    if (current.hasNs()) {
+      List<String> left = new ArrayList<>();
+      current.ns().stream()
+          .filter(n -> !drop.contains(setElement(AttributeValue.fromN(n))))
+          .forEach(left::add);
+      return left.isEmpty() ? null : AttributeValue.fromNs(left);
+    }
+    List<SdkBytes> left = new ArrayList<>();
+    current.bs().stream().filter(b -> !drop.contains(b)).forEach(left::add);
+    return left.isEmpty() ? null : AttributeValue.fromBs(left);
+  }
+
+  private static AttributeValue required(AttributeValue value) {
+    if (value == null) {
+      throw InMemoryDynamoDb.validation(
+          "The provided expression refers to an attribute that does not exist in the item");
+    }
+    return value;
+  }
+
+  /** DynamoDB's name of the type of a value, as used by attribute_type. */
+  static String typeCode(AttributeValue value) {
+    return value.type() == AttributeValue.Type.NUL ? "NULL" : value.type().name();
+  }
+
+  /** Equality of two values by DynamoDB's rules: numbers by value, sets ignoring order. */
+  static boolean valuesEqual(AttributeValue a, AttributeValue b) {
+    if (a.type() != b.type()) {
+      return false;
+    }
+    switch (a.type()) {
+      case N:
+        return new BigDecimal(a.n()).compareTo(new BigDecimal(b.n())) == 0;
+      case SS:
+      case NS:
+      case BS:
+        return setElements(a).equals(setElements(b));
+      case L:
+        if (a.l().size() != b.l().size()) {
+          return false;
+        }
+        for (int i = 0; i < a.l().size(); i++) {
+          if (!valuesEqual(a.l().get(i), b.l().get(i))) {
+            return false;
+          }
+        }
+        return true;
+      case M:
+        if (!a.m().keySet().equals(b.m().keySet())) {
+          return false;
+        }
+        for (Map.Entry<String, AttributeValue> entry : a.m().entrySet()) {
+          if (!valuesEqual(entry.getValue(), b.m().get(entry.getKey()))) {
+            return false;
+          }
+        }
+        return true;
+      default:
+        return a.equals(b);
+    }
+  }
+
+  /**
+   * Order of two scalars of the same type: strings by code point (DynamoDB's UTF-8 byte order),
+   * numbers by value and binaries as unsigned bytes.
+   *
+   * @return The order, or null if the values are not comparable
+   */
+  static Integer compareScalars(AttributeValue a, AttributeValue b) {
+    if (a.type() != b.type()) {
+      return null;
+    }
+    switch (a.type()) {
+      case S:
+        return compareStrings(a.s(), b.s());
+      case N:
+        return new BigDecimal(a.n()).compareTo(new BigDecimal(b.n()));
+      case B:
+        return compareBytes(a.b().asByteArray(), b.b().asByteArray());
+      default:
+        return null;
+    }
+  }
+
+  static int compareStrings(String a, String b) {
+    int i = 0;
+    int j = 0;
+    while (i < a.length() && j < b.length()) {
+      int x = a.codePointAt(i);
+      int y = b.codePointAt(j);
+      if (x != y) {
+        return Integer.compare(x, y);
+      }
+      i += Character.charCount(x);
+      j += Character.charCount(y);
+    }
+    return Integer.compare(a.length() - i, b.length() - j);
+  }
+
+  static int compareBytes(byte[] a, byte[] b) {
+    int length = Math.min(a.length, b.length);
+    for (int i = 0; i < length; i++) {
+      int order = Integer.compare(a[i] & 0xff, b[i] & 0xff);
+      if (order != 0) {
+        return order;
+      }
+    }
+    return Integer.compare(a.length, b.length);
+  }
+
+  private static Set<Object> setElements(AttributeValue set) {
+    Set<Object> elements = new HashSet<>();
+    if (set.hasSs()) {
+      elements.addAll(set.ss());
+    } else if (set.hasNs()) {
+      set.ns().forEach(n -> elements.add(setElement(AttributeValue.fromN(n))));
+    } else {
+      elements.addAll(set.bs());
+    }
+    return elements;
+  }
+
+  private static Object setElement(AttributeValue scalar) {
+    if (scalar.n() != null) {
+      return new BigDecimal(scalar.n()).stripTrailingZeros();
+    }
+    return scalar.s() != null ? scalar.s() : scalar.b();
+  }
+
+  /** Recursive descent parser over the tokens of one expression. */
+  private static final class Parser {
+
+    private static final Set<String> COMPARATORS = Set.of("=", "<>", "<", "<=", ">", ">=");
+    private static final Set<String> CONDITION_FUNCTIONS =
+        Set.of(
+            "attribute_exists",
+            "attribute_not_exists",
+            "attribute_type",
+            "begins_with",
+            "contains");
+
+    private final String expression;
+    private final Placeholders placeholders;
+    private final List<String> tokens;
+    private int position;
+
+    Parser(String expression, Placeholders placeholders) {
+      this.expression = expression;
+      this.placeholders = placeholders;
+      this.tokens = tokenize(expression);
+    }
+
+    Condition or() {
+      Condition condition = and();
+      while (acceptKeyword("OR")) {
+        condition = new Or(condition, and());
+      }
+      return condition;
+    }
+
+    private Condition and() {
+      Condition condition = not();
+      while (acceptKeyword("AND")) {
+        condition = new And(condition, not());
+      }
+      return condition;
+    }
+
+    private Condition not() {
+      if (acceptKeyword("NOT")) {
+        return new Not(not());
+      }
+      return primary();
+    }
+
+    private Condition primary() {
+      if (accept("(")) {
+        Condition condition = or();
+        expect(")");
+        return condition;
+      }
+      String token = peek(0);
+      if (token != null
+          && CONDITION_FUNCTIONS.contains(token.toLowerCase(Locale.ROOT))
+          && "(".equals(peek(1))) {
+        String function = next().toLowerCase(Locale.ROOT);
+        expect("(");
+        List<Operand> arguments = new ArrayList<>();
+        arguments.add(path());
+        while (accept(",")) {
+          arguments.add(operand());
+        }
+        expect(")");
+        int expected =
+            function.startsWith("attribute_") && !"attribute_type".equals(function) ? 1 : 2;
+        if (arguments.size() != expected) {
+          throw syntaxError("Incorrect number of operands for function " + function);
+        }
+        return new Function(function, arguments);
+      }
+      Operand left = operand();
+      if (acceptKeyword("BETWEEN")) {
+        Operand low = operand();
+        if (!acceptKeyword("AND")) {
+          throw syntaxError("BETWEEN without AND");
+        }
+        return new Between(left, low, operand());
+      }
+      if (acceptKeyword("IN")) {
+        expect("(");
+        List<Operand> candidates = new ArrayList<>();
+        do {
+          candidates.add(operand());
+        } while (accept(","));
+        expect(")");
+        return new In(left, candidates);
+      }
+      String comparator = next();
+      if (comparator == null || !COMPARATORS.contains(comparator)) {
+        throw syntaxError("Syntax error; token: \"" + comparator + "\"");
+      }
+      return new Compare(comparator, left, operand());
+    }
+
+    private Operand operand() {
+      String token = peek(0);
+      if (token != null && token.startsWith(":")) {
+        position++;
+        return new Constant(placeholders.value(token));
+      }
+      if ("size".equalsIgnoreCase(token) && "(".equals(peek(1))) {
+        position += 2;
+        Path path = path();
+        expect(")");
+        return new Size(path);
+      }
+      return path();
+    }
+
+    List<Action> update() {
+      List<Action> actions = new ArrayList<>();
+      Set<String> clauses = new HashSet<>();
+      Set<String> paths = new HashSet<>();
+      while (position < tokens.size()) {
+        String clause = next().toUpperCase(Locale.ROOT);
+        if (!Set.of("SET", "REMOVE", "ADD", "DELETE").contains(clause)) {
+          throw syntaxError("Syntax error; token: \"" + clause + "\"");
+        }
+        if (!clauses.add(clause)) {
+          throw syntaxError(
+              "The \"" + clause + "\" section can only be used once in an update expression");
+        }
+        do {
+          Path path = path();
+          Operand operand = null;
+          if ("SET".equals(clause)) {
+            expect("=");
+            operand = setValue();
+          } else if (!"REMOVE".equals(clause)) {
+            operand = operand();
+          }
+          if (!paths.add(path.topLevelName())) {
+            throw InMemoryDynamoDb.validation(
+                "Invalid UpdateExpression: Two document paths overlap with each other; path: ["
+                    + path.topLevelName()
+                    + "]");
+          }
+          actions.add(new Action(clause, path, operand));
+        } while (accept(","));
+      }
+      if (actions.isEmpty()) {
+        throw syntaxError("The update expression is empty");
+      }
+      return actions;
+    }
+
+    private Operand setValue() {
+      Operand left = setOperand();
+      if (accept("+")) {
+        return new Arithmetic(left, true, setOperand());
+      }
+      if (accept("-")) {
+        return new Arithmetic(left, false, setOperand());
+      }
+      return left;
+    }
+
+    private Operand setOperand() {
+      String token = peek(0);
+      if ("if_not_exists".equalsIgnoreCase(token) && "(".equals(peek(1))) {
+        position += 2;
+        Path path = path();
+        expect(",");
+        Operand fallback = setOperand();
+        expect(")");
+        return new IfNotExists(path, fallback);
+      }
+      if ("list_append".equalsIgnoreCase(token) && "(".equals(peek(1))) {
+        position += 2;
+        Operand first = setOperand();
+        expect(",");
+        Operand second = setOperand();
+        expect(")");
+        return new ListAppend(first, second);
+      }
+      return operand();
+    }
+
+    Path path() {
+      List<Object> elements = new ArrayList<>();
+      elements.add(attributeName(next()));
+      while (true) {
+        if (accept(".")) {
+          elements.add(attributeName(next()));
+        } else if (accept("[")) {
+          String index = next();
+          try {
+            elements.add(Integer.parseInt(index));
+          } catch (NumberFormatException e) {
+            throw syntaxError("Invalid list index: " + index);
+          }
+          expect("]");
+        } else {
+          return new Path(elements);
+        }
+      }
+    }
+
+    private String attributeName(String token) {
+      if (token == null) {
+        throw syntaxError("Syntax error; unexpected end of expression");
+      }
+      if (token.startsWith("#")) {
+        return placeholders.name(token);
+      }
+      if (!isNameChar(token.charAt(0)) || token.startsWith(":")) {
+        throw syntaxError("Syntax error; token: \"" + token + "\"");
+      }
+      return token;
+    }
+
+    boolean accept(String symbol) {
+      if (symbol.equals(peek(0))) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+      if (keyword.equalsIgnoreCase(peek(0))) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(String symbol) {
+      if (!accept(symbol)) {
+        throw syntaxError("Syntax error; expected \"" + symbol + "\", found \"" + peek(0) + "\"");
+      }
+    }
+
+    void expectEnd() {
+      if (position < tokens.size()) {
+        throw syntaxError("Syntax error; token: \"" + tokens.get(position) + "\"");
+      }
+    }
+
+    private String peek(int ahead) {
+      int index = position + ahead;
+      return index < tokens.size() ? tokens.get(index) : null;
+    }
+
+    private String next() {
+      return position < tokens.size() ? tokens.get(position++) : null;
+    }
+
+    private RuntimeException syntaxError(String message) {
+      return InMemoryDynamoDb.validation("Invalid expression: " + message + "; " + expression);
+    }
+
+    private static List<String> tokenize(String expression) {
+      List<String> tokens = new ArrayList<>();
+      int i = 0;
+      while (i < expression.length()) {
+        char c = expression.charAt(i);
+        if (Character.isWhitespace(c)) {
+          i++;
+        } else if (c == '<' || c == '>') {
+          boolean twoChars =
+              i + 1 < expression.length()
+                  && (expression.charAt(i + 1) == '='
+                      || (c == '<' && expression.charAt(i + 1) == '>'));
+          tokens.add(expression.substring(i, twoChars ? i + 2 : i + 1));
+          i += twoChars ? 2 : 1;
+        } else if ("()=,.[]+-".indexOf(c) >= 0) {
+          tokens.add(String.valueOf(c));
+          i++;
+        } else if (c == '#' || c == ':' || isNameChar(c)) {
+          int start = i++;
+          while (i < expression.length() && isNameChar(expression.charAt(i))) {
+            i++;
+          }
+          tokens.add(expression.substring(start, i));
+        } else {
+          throw InMemoryDynamoDb.validation(
+              "Invalid expression: Invalid character '" + c + "'; " + expression);
+        }
+      }
+      return tokens;
+    }
+
+    private static boolean isNameChar(char c) {
+      return Character.isLetterOrDigit(c) || c == '_';
+    }
+  }
+}
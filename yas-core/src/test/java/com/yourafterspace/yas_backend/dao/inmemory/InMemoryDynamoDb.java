@@ -0,0 +1,1181 @@
+package com.yourafterspace.yas_backend.dao.inmemory;
+
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Action;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.And;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Between;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Compare;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Condition;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Constant;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Function;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Operand;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Path;
+import com.yourafterspace.yas_backend.dao.inmemory.Expressions.Placeholders;
+import com.yourafterspace.yas_backend.util.DynamoDbItemSize;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.CreateTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ResourceInUseException;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.Select;
+import software.amazon.awssdk.services.dynamodb.model.TableDescription;
+import software.amazon.awssdk.services.dynamodb.model.TableStatus;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+/**
+ * In-process stand-in for DynamoDB, for tests and load runs that should exercise the real DAOs and
+ * handlers without an AWS account.
+ *
+ * <p>It implements the operations the DAOs use, synchronously and through {@link #asyncClient()}:
+ * CreateTable, DeleteTable, DescribeTable, GetItem, PutItem, UpdateItem, DeleteItem, Query and Scan
+ * (on the table or a secondary index, with Limit, ExclusiveStartKey, Select COUNT and parallel scan
+ * segments), BatchGetItem, BatchWriteItem and TransactWriteItems. Expressions are evaluated as
+ * DynamoDB does (see {@link Expressions}), and requests DynamoDB rejects are rejected with the same
+ * exception types: a ValidationException for unused placeholders, empty sets, duplicate keys in a
+ * batch or oversized batches, ConditionalCheckFailedException and TransactionCanceledException with
+ * per-item reasons. Pages stop at 1 MB as in DynamoDB. Reads are strongly consistent.
+ *
+ * <p>Every call is counted by operation ({@code Query GSI1} for a query of an index), and {@link
+ * #setCallLatency} adds a fixed service time to each call, so that fan-out and call counts show up
+ * in timings. Calls may come from any number of threads.
+ */
+public class InMemoryDynamoDb implements DynamoDbClient {
+
+  /** Size at which DynamoDB ends a query or scan page. */
+  private static final int PAGE_BYTES = 1024 * 1024;
+
+  private static final int MAX_ITEM_BYTES = 400 * 1024;
+  private static final int BATCH_GET_MAX_KEYS = 100;
+  private static final int BATCH_WRITE_MAX_ITEMS = 25;
+  private static final int TRANSACT_MAX_ITEMS = 100;
+
+  private final Map<String, InMemoryTable> tables = new HashMap<>();
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+  private final ExecutorService asyncExecutor;
+  private final DynamoDbAsyncClient asyncClient = new AsyncClient();
+  private volatile long callLatencyNanos;
+
+  public InMemoryDynamoDb() {
+    AtomicInteger threads = new AtomicInteger();
+    asyncExecutor =
+        Executors.newCachedThreadPool(
+            task -> {
+              Thread thread = new Thread(task, "in-memory-dynamodb-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Definition of the single table the DAOs and the Lambda handler share: pk/sk and the indexes
+   * GSI1 (venue and experience lookups), GSI2 (group experiences by experience), GSI3 (venues by
+   * geohash_prefix), GSI4 (geo cells), GSI5 (groups by creator) and GSI6 (experience saves by
+   * hour), all projecting every attribute.
+   *
+   * @param tableName Name of the table
+   * @return Request to pass to {@link #createTable(CreateTableRequest)}
+   */
+  public static CreateTableRequest yasTable(String tableName) {
+    List<AttributeDefinition> attributes = new ArrayList<>();
+    for (String name :
+        List.of(
+            "pk",
+            "sk",
+            "GSI1PK",
+            "GSI1SK",
+            "GSI2PK",
+            "GSI2SK",
+            "geohash_prefix",
+            "GSI4PK",
+            "GSI4SK",
+            "GSI5PK",
+            "GSI5SK",
+            "GSI6PK",
+            "GSI6SK")) {
+      attributes.add(
+          AttributeDefinition.builder()
+              .attributeName(name)
+              .attributeType(ScalarAttributeType.S)
+              .build());
+    }
+    return CreateTableRequest.builder()
+        .tableName(tableName)
+        .billingMode(BillingMode.PAY_PER_REQUEST)
+        .attributeDefinitions(attributes)
+        .keySchema(keySchema("pk", "sk"))
+        .globalSecondaryIndexes(
+            index("GSI1", "GSI1PK", "GSI1SK"),
+            index("GSI2", "GSI2PK", "GSI2SK"),
+            index("GSI3", "geohash_prefix", null),
+            index("GSI4", "GSI4PK", "GSI4SK"),
+            index("GSI5", "GSI5PK", "GSI5SK"),
+            index("GSI6", "GSI6PK", "GSI6SK"))
+        .build();
+  }
+
+  private static GlobalSecondaryIndex index(String name, String hashKey, String rangeKey) {
+    return GlobalSecondaryIndex.builder()
+        .indexName(name)
+        .keySchema(keySchema(hashKey, rangeKey))
+        .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+        .build();
+  }
+
+  private static List<KeySchemaElement> keySchema(String hashKey, String rangeKey) {
+    List<KeySchemaElement> keySchema = new ArrayList<>(2);
+    keySchema.add(KeySchemaElement.builder().attributeName(hashKey).keyType(KeyType.HASH).build());
+    if (rangeKey != null) {
+      keySchema.add(
+          KeySchemaElement.builder().attributeName(rangeKey).keyType(KeyType.RANGE).build());
+    }
+    return keySchema;
+  }
+
+  /** Asynchronous client over the same tables and counters; its calls complete on other threads. */
+  public DynamoDbAsyncClient asyncClient() {
+    return asyncClient;
+  }
+
+  /**
+   * Service time added to every call: synchronous calls sleep for it, asynchronous ones complete
+   * after it without holding a thread.
+   */
+  public void setCallLatency(Duration latency) {
+    callLatencyNanos = latency.toNanos();
+  }
+
+  /** Number of calls so far by operation, e.g. {@code GetItem} or {@code Query GSI1}. */
+  public Map<String, Long> callCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    calls.forEach((operation, count) -> counts.put(operation, count.sum()));
+    return counts;
+  }
+
+  public long totalCalls() {
+    long total = 0;
+    for (LongAdder count : calls.values()) {
+      total += count.sum();
+    }
+    return total;
+  }
+
+  public void resetCallCounts() {
+    calls.clear();
+  }
+
+  /** Number of items in a table, not counting its indexes. */
+  public int itemCount(String tableName) {
+    return read(() -> table(tableName).itemCount());
+  }
+
+  @Override
+  public String serviceName() {
+    return SERVICE_NAME;
+  }
+
+  @Override
+  public void close() {
+    asyncExecutor.shutdown();
+  }
+
+  @Override
+  public CreateTableResponse createTable(CreateTableRequest request) {
+    return call("CreateTable", () -> doCreateTable(request));
+  }
+
+  @Override
+  public DeleteTableResponse deleteTable(DeleteTableRequest request) {
+    return call("DeleteTable", () -> doDeleteTable(request));
+  }
+
+  @Override
+  public DescribeTableResponse describeTable(DescribeTableRequest request) {
+    return call("DescribeTable", () -> doDescribeTable(request));
+  }
+
+  @Override
+  public GetItemResponse getItem(GetItemRequest request) {
+    return call("GetItem", () -> doGetItem(request));
+  }
+
+  @Override
+  public PutItemResponse putItem(PutItemRequest request) {
+    return call("PutItem", () -> doPutItem(request));
+  }
+
+  @Override
+  public UpdateItemResponse updateItem(UpdateItemRequest request) {
+    return call("UpdateItem", () -> doUpdateItem(request));
+  }
+
+  @Override
+  public DeleteItemResponse deleteItem(DeleteItemRequest request) {
+    return call("DeleteItem", () -> doDeleteItem(request));
+  }
+
+  @Override
+  public QueryResponse query(QueryRequest request) {
+    return call(operation("Query", request.indexName()), () -> doQuery(request));
+  }
+
+  @Override
+  public ScanResponse scan(ScanRequest request) {
+    return call(operation("Scan", request.indexName()), () -> doScan(request));
+  }
+
+  @Override
+  public BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+    return call("BatchGetItem", () -> doBatchGetItem(request));
+  }
+
+  @Override
+  public BatchWriteItemResponse batchWriteItem(BatchWriteItemRequest request) {
+    return call("BatchWriteItem", () -> doBatchWriteItem(request));
+  }
+
+  @Override
+  public TransactWriteItemsResponse transactWriteItems(TransactWriteItemsRequest request) {
+    return call("TransactWriteItems", () -> doTransactWriteItems(request));
+  }
+
+  private static String operation(String operation, String indexName) {
+    return indexName != null ? operation + " " + indexName : operation;
+  }
+
+  private <T> T call(String operation, Supplier<T> body) {
+    calls.computeIfAbsent(operation, o -> new LongAdder()).increment();
+    long latency = callLatencyNanos;
+    if (latency > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(latency);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw AbortedException.builder().message("Thread interrupted").cause(e).build();
+      }
+    }
+    return body.get();
+  }
+
+  private <T> CompletableFuture<T> callAsync(String operation, Supplier<T> body) {
+    calls.computeIfAbsent(operation, o -> new LongAdder()).increment();
+    long latency = callLatencyNanos;
+    Executor executor =
+        latency > 0
+            ? CompletableFuture.delayedExecutor(latency, TimeUnit.NANOSECONDS, asyncExecutor)
+            : asyncExecutor;
+    // Completed with the exception itself, as the SDK does, rather than a CompletionException
+    CompletableFuture<T> future = new CompletableFuture<>();
+    executor.execute(
+        () -> {
+          try {
+            future.complete(body.get());
+          } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+          }
+        });
+    return future;
+  }
+
+  private <T> T read(Supplier<T> body) {
+    return locked(lock.readLock(), body);
+  }
+
+  private <T> T write(Supplier<T> body) {
+    return locked(lock.writeLock(), body);
+  }
+
+  private static <T> T locked(Lock lock, Supplier<T> body) {
+    lock.lock();
+    try {
+      return body.get();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private CreateTableResponse doCreateTable(CreateTableRequest request) {
+    return write(
+        () -> {
+          if (tables.containsKey(request.tableName())) {
+            throw ResourceInUseException.builder()
+                .message("Table already exists: " + request.tableName())
+                .awsErrorDetails(errorDetails("ResourceInUseException"))
+                .statusCode(400)
+                .build();
+          }
+          InMemoryTable table = new InMemoryTable(request);
+          tables.put(table.name, table);
+          return CreateTableResponse.builder().tableDescription(describe(table)).build();
+        });
+  }
+
+  private DeleteTableResponse doDeleteTable(DeleteTableRequest request) {
+    return write(
+        () -> {
+          InMemoryTable table = table(request.tableName());
+          tables.remove(table.name);
+          return DeleteTableResponse.builder().tableDescription(describe(table)).build();
+        });
+  }
+
+  private DescribeTableResponse doDescribeTable(DescribeTableRequest request) {
+    return read(
+        () -> DescribeTableResponse.builder().table(describe(table(request.tableName()))).build());
+  }
+
+  private static TableDescription describe(InMemoryTable table) {
+    return TableDescription.builder()
+        .tableName(table.name)
+        .tableStatus(TableStatus.ACTIVE)
+        .itemCount((long) table.itemCount())
+        .build();
+  }
+
+  private GetItemResponse doGetItem(GetItemRequest request) {
+    return read(
+        () -> {
+          InMemoryTable table = table(request.tableName());
+          Placeholders placeholders = new Placeholders(request.expressionAttributeNames(), null);
+          List<Path> projection = projection(request.projectionExpression(), placeholders);
+          placeholders.checkAllUsed();
+          Map<String, AttributeValue> item = table.get(request.key());
+          GetItemResponse.Builder response = GetItemResponse.builder();
+          if (item != null) {
+            response.item(project(item, projection));
+          }
+          return response.build();
+        });
+  }
+
+  private PutItemResponse doPutItem(PutItemRequest request) {
+    return write(
+        () -> {
+          Placeholders placeholders =
+              new Placeholders(
+                  request.expressionAttributeNames(), request.expressionAttributeValues());
+          InMemoryTable table = table(request.tableName());
+          checkItem(request.item());
+          ItemWrite write =
+              new ItemWrite(
+                  table,
+                  table.keyOf(request.item()),
+                  condition(request.conditionExpression(), placeholders),
+                  request.returnValuesOnConditionCheckFailure(),
+                  current -> request.item());
+          placeholders.checkAllUsed();
+          Map<String, AttributeValue> previous = write.checkAndApply();
+          PutItemResponse.Builder response = PutItemResponse.builder();
+          if (request.returnValues() == ReturnValue.ALL_OLD && previous != null) {
+            response.attributes(previous);
+          }
+          return response.build();
+        });
+  }
+
+  private UpdateItemResponse doUpdateItem(UpdateItemRequest request) {
+    return write(
+        () -> {
+          Placeholders placeholders =
+              new Placeholders(
+                  request.expressionAttributeNames(), request.expressionAttributeValues());
+          InMemoryTable table = table(request.tableName());
+          table.checkKey(request.key());
+          List<Action> actions = updateActions(table, request.updateExpression(), placeholders);
+          ItemWrite write =
+              new ItemWrite(
+                  table,
+                  request.key(),
+                  condition(request.conditionExpression(), placeholders),
+                  request.returnValuesOnConditionCheckFailure(),
+                  current -> Expressions.applyUpdate(current, actions));
+          placeholders.checkAllUsed();
+          Map<String, AttributeValue> previous = write.checkAndApply();
+          Map<String, AttributeValue> updated = table.get(request.key());
+          UpdateItemResponse.Builder response = UpdateItemResponse.builder();
+          ReturnValue returnValue =
+              request.returnValues() != null ? request.returnValues() : ReturnValue.NONE;
+          switch (returnValue) {
+            case ALL_NEW:
+              response.attributes(updated);
+              break;
+            case ALL_OLD:
+              if (previous != null) {
+                response.attributes(previous);
+              }
+              break;
+            case UPDATED_NEW:
+              response.attributes(updatedAttributes(updated, actions));
+              break;
+            case UPDATED_OLD:
+              if (previous != null) {
+                response.attributes(updatedAttributes(previous, actions));
+              }
+              break;
+            default:
+              break;
+          }
+          return response.build();
+        });
+  }
+
+  private static Map<String, AttributeValue> updatedAttributes(
+      Map<String, AttributeValue> item, List<Action> actions) {
+    Map<String, AttributeValue> attributes = new HashMap<>();
+    for (Action action : actions) {
+      AttributeValue value = item.get(action.path().topLevelName());
+      if (value != null) {
+        attributes.put(action.path().topLevelName(), value);
+      }
+    }
+    return attributes;
+  }
+
+  private DeleteItemResponse doDeleteItem(DeleteItemRequest request) {
+    return write(
+        () -> {
+          Placeholders placeholders =
+              new Placeholders(
+                  request.expressionAttributeNames(), request.expressionAttributeValues());
+          InMemoryTable table = table(request.tableName());
+          table.checkKey(request.key());
+          ItemWrite write =
+              new ItemWrite(
+                  table,
+                  request.key(),
+                  condition(request.conditionExpression(), placeholders),
+                  request.returnValuesOnConditionCheckFailure(),
+                  current -> null);
+          placeholders.checkAllUsed();
+          Map<String, AttributeValue> previous = write.checkAndApply();
+          DeleteItemResponse.Builder response = DeleteItemResponse.builder();
+          if (request.returnValues() == ReturnValue.ALL_OLD && previous != null) {
+            response.attributes(previous);
+          }
+          return response.build();
+        });
+  }
+
+  private QueryResponse doQuery(QueryRequest request) {
+    return read(
+        () -> {
+          InMemoryTable table = table(request.tableName());
+          InMemoryTable.Index index = table.index(request.indexName());
+          if (!index.isTable() && Boolean.TRUE.equals(request.consistentRead())) {
+            throw validation("Consistent reads are not supported on global secondary indexes");
+          }
+          if (request.keyConditionExpression() == null) {
+            throw validation(
+                "Either the KeyConditions or KeyConditionExpression parameter must be specified"
+                    + " in the request.");
+          }
+          Placeholders placeholders =
+              new Placeholders(
+                  request.expressionAttributeNames(), request.expressionAttributeValues());
+          AttributeValue hashValue = null;
+          List<Condition> rangeConditions = new ArrayList<>();
+          for (Condition part :
+              conjuncts(
+                  Expressions.parseCondition(request.keyConditionExpression(), placeholders))) {
+            if (part instanceof Compare
+                && "=".equals(((Compare) part).operator())
+                && isKeyPath(((Compare) part).left(), index.hashKey)
+                && ((Compare) part).right() instanceof Constant) {
+              hashValue = ((Constant) ((Compare) part).right()).constant();
+            } else if (index.rangeKey != null && isRangeCondition(part, index.rangeKey)) {
+              rangeConditions.add(part);
+            } else {
+              throw validation("Query key condition not supported");
+            }
+          }
+          if (hashValue == null) {
+            throw validation("Query condition missed key schema element: " + index.hashKey);
+          }
+          Condition filter = condition(request.filterExpression(), placeholders);
+          List<Path> projection = projection(request.projectionExpression(), placeholders);
+          placeholders.checkAllUsed();
+
+          Iterator<Map<String, AttributeValue>> items =
+              index.partition(
+                  hashValue,
+                  startKey(request.exclusiveStartKey()),
+                  !Boolean.FALSE.equals(request.scanIndexForward()));
+          Predicate<Map<String, AttributeValue>> inRange =
+              item -> rangeConditions.stream().allMatch(condition -> condition.test(item));
+          Page page =
+              page(
+                  items,
+                  index,
+                  inRange,
+                  filter,
+                  request.limit(),
+                  projection,
+                  request.select() == Select.COUNT);
+          QueryResponse.Builder response =
+              QueryResponse.builder().count(page.count).scannedCount(page.scanned);
+          if (request.select() != Select.COUNT) {
+            response.items(page.items);
+          }
+          if (page.lastEvaluatedKey != null) {
+            response.lastEvaluatedKey(page.lastEvaluatedKey);
+          }
+          return response.build();
+        });
+  }
+
+  private ScanResponse doScan(ScanRequest request) {
+    return read(
+        () -> {
+          InMemoryTable table = table(request.tableName());
+          InMemoryTable.Index index = table.index(request.indexName());
+          Placeholders placeholders =
+              new Placeholders(
+                  request.expressionAttributeNames(), request.expressionAttributeValues());
+          Condition filter = condition(request.filterExpression(), placeholders);
+          List<Path> projection = projection(request.projectionExpression(), placeholders);
+          placeholders.checkAllUsed();
+
+          Predicate<Map<String, AttributeValue>> inSegment = item -> true;
+          if (request.totalSegments() != null) {
+            int totalSegments = request.totalSegments();
+            int segment = request.segment() != null ? request.segment() : 0;
+            if (segment < 0 || segment >= totalSegments) {
+              throw validation("The Segment parameter must be less than TotalSegments");
+            }
+            inSegment =
+                item ->
+                    Math.floorMod(
+                            InMemoryTable.KeyValue.of(item.get(index.hashKey)).hashCode(),
+                            totalSegments)
+                        == segment;
+          }
+          Page page =
+              page(
+                  index.all(startKey(request.exclusiveStartKey())),
+                  index,
+                  inSegment,
+                  filter,
+                  request.limit(),
+                  projection,
+                  request.select() == Select.COUNT);
+          ScanResponse.Builder response =
+              ScanResponse.builder().count(page.count).scannedCount(page.scanned);
+          if (request.select() != Select.COUNT) {
+            response.items(page.items);
+          }
+          if (page.lastEvaluatedKey != null) {
+            response.lastEvaluatedKey(page.lastEvaluatedKey);
+          }
+          return response.build();
+        });
+  }
+
+  private BatchGetItemResponse doBatchGetItem(BatchGetItemRequest request) {
+    return read(
+        () -> {
+          checkBatchSize(
+              request.requestItems().values().stream().mapToInt(keys -> keys.keys().size()).sum(),
+              BATCH_GET_MAX_KEYS,
+              "Too many items requested for the BatchGetItem call");
+          Map<String, List<Map<String, AttributeValue>>> responses = new HashMap<>();
+          for (Map.Entry<String, KeysAndAttributes> entry : request.requestItems().entrySet()) {
+            InMemoryTable table = table(entry.getKey());
+            KeysAndAttributes keys = entry.getValue();
+            Placeholders placeholders = new Placeholders(keys.expressionAttributeNames(), null);
+            List<Path> projection = projection(keys.projectionExpression(), placeholders);
+            placeholders.checkAllUsed();
+            checkNoDuplicateKeys(keys.keys());
+            List<Map<String, AttributeValue>> found = new ArrayList<>();
+            for (Map<String, AttributeValue> key : keys.keys()) {
+              Map<String, AttributeValue> item = table.get(key);
+              if (item != null) {
+                found.add(project(item, projection));
+              }
+            }
+            responses.put(table.name, found);
+          }
+          return BatchGetItemResponse.builder()
+              .responses(responses)
+              .unprocessedKeys(Map.of())
+              .build();
+        });
+  }
+
+  private BatchWriteItemResponse doBatchWriteItem(BatchWriteItemRequest request) {
+    return write(
+        () -> {
+          checkBatchSize(
+              request.requestItems().values().stream().mapToInt(List::size).sum(),
+              BATCH_WRITE_MAX_ITEMS,
+              "Too many items requested for the BatchWriteItem call");
+          List<ItemWrite> writes = new ArrayList<>();
+          for (Map.Entry<String, List<WriteRequest>> entry : request.requestItems().entrySet()) {
+            InMemoryTable table = table(entry.getKey());
+            List<Map<String, AttributeValue>> keys = new ArrayList<>();
+            for (WriteRequest writeRequest : entry.getValue()) {
+              if (writeRequest.putRequest() != null) {
+                Map<String, AttributeValue> item = writeRequest.putRequest().item();
+                checkItem(item);
+                keys.add(table.keyOf(item));
+                writes.add(new ItemWrite(table, table.keyOf(item), null, null, current -> item));
+              } else {
+                Map<String, AttributeValue> key = writeRequest.deleteRequest().key();
+                table.checkKey(key);
+                keys.add(key);
+                writes.add(new ItemWrite(table, key, null, null, current -> null));
+              }
+            }
+            checkNoDuplicateKeys(keys);
+          }
+          for (ItemWrite write : writes) {
+            write.checkAndApply();
+          }
+          return BatchWriteItemResponse.builder().unprocessedItems(Map.of()).build();
+        });
+  }
+
+  private TransactWriteItemsResponse doTransactWriteItems(TransactWriteItemsRequest request) {
+    return write(
+        () -> {
+          checkBatchSize(
+              request.transactItems().size(),
+              TRANSACT_MAX_ITEMS,
+              "Member must have length less than or equal to " + TRANSACT_MAX_ITEMS);
+          List<ItemWrite> writes = new ArrayList<>();
+          Set<List<Object>> targets = new HashSet<>();
+          for (TransactWriteItem item : request.transactItems()) {
+            ItemWrite write = transactWrite(item);
+            if (!targets.add(List.of(write.table.name, keyValues(write.table, write.key)))) {
+              throw validation(
+                  "Transaction request cannot include multiple operations on one item");
+            }
+            writes.add(write);
+          }
+
+          List<CancellationReason> reasons = new ArrayList<>(writes.size());
+          boolean cancelled = false;
+          for (ItemWrite write : writes) {
+            Map<String, AttributeValue> current = write.table.get(write.key);
+            if (write.passes(current)) {
+              reasons.add(CancellationReason.builder().code("None").build());
+            } else {
+              cancelled = true;
+              CancellationReason.Builder reason =
+                  CancellationReason.builder()
+                      .code("ConditionalCheckFailed")
+                      .message("The conditional request failed");
+              if (write.returnOnFailure == ReturnValuesOnConditionCheckFailure.ALL_OLD
+                  && current != null) {
+                reason.item(current);
+              }
+              reasons.add(reason.build());
+            }
+          }
+          if (cancelled) {
+            StringBuilder codes = new StringBuilder();
+            for (CancellationReason reason : reasons) {
+              codes.append(codes.length() > 0 ? ", " : "").append(reason.code());
+            }
+            String message =
+                "Transaction cancelled, please refer cancellation reasons for specific reasons ["
+                    + codes
+                    + "]";
+            throw TransactionCanceledException.builder()
+                .message(message)
+                .cancellationReasons(reasons)
+                .awsErrorDetails(errorDetails("TransactionCanceledException"))
+                .statusCode(400)
+                .build();
+          }
+          for (ItemWrite write : writes) {
+            write.apply(write.table.get(write.key));
+          }
+          return TransactWriteItemsResponse.builder().build();
+        });
+  }
+
+  private ItemWrite transactWrite(TransactWriteItem item) {
+    if (item.put() != null) {
+      Placeholders placeholders =
+          new Placeholders(
+              item.put().expressionAttributeNames(), item.put().expressionAttributeValues());
+      InMemoryTable table = table(item.put().tableName());
+      Map<String, AttributeValue> newItem = item.put().item();
+      checkItem(newItem);
+      ItemWrite write =
+          new ItemWrite(
+              table,
+              table.keyOf(newItem),
+              condition(item.put().conditionExpression(), placeholders),
+              item.put().returnValuesOnConditionCheckFailure(),
+              current -> newItem);
+      placeholders.checkAllUsed();
+      return write;
+    }
+    if (item.update() != null) {
+      Placeholders placeholders =
+          new Placeholders(
+              item.update().expressionAttributeNames(), item.update().expressionAttributeValues());
+      InMemoryTable table = table(item.update().tableName());
+      table.checkKey(item.update().key());
+      List<Action> actions = updateActions(table, item.update().updateExpression(), placeholders);
+      ItemWrite write =
+          new ItemWrite(
+              table,
+              item.update().key(),
+              condition(item.update().conditionExpression(), placeholders),
+              item.update().returnValuesOnConditionCheckFailure(),
+              current -> Expressions.applyUpdate(current, actions));
+      placeholders.checkAllUsed();
+      return write;
+    }
+    if (item.delete() != null) {
+      Placeholders placeholders =
+          new Placeholders(
+              item.delete().expressionAttributeNames(), item.delete().expressionAttributeValues());
+      InMemoryTable table = table(item.delete().tableName());
+      table.checkKey(item.delete().key());
+      ItemWrite write =
+          new ItemWrite(
+              table,
+              item.delete().key(),
+              condition(item.delete().conditionExpression(), placeholders),
+              item.delete().returnValuesOnConditionCheckFailure(),
+              current -> null);
+      placeholders.checkAllUsed();
+      return write;
+    }
+    if (item.conditionCheck() != null) {
+      Placeholders placeholders =
+          new Placeholders(
+              item.conditionCheck().expressionAttributeNames(),
+              item.conditionCheck().expressionAttributeValues());
+      InMemoryTable table = table(item.conditionCheck().tableName());
+      table.checkKey(item.conditionCheck().key());
+      if (item.conditionCheck().conditionExpression() == null) {
+        throw validation("The ConditionCheck of a transaction needs a ConditionExpression");
+      }
+      ItemWrite write =
+          new ItemWrite(
+              table,
+              item.conditionCheck().key(),
+              condition(item.conditionCheck().conditionExpression(), placeholders),
+              item.conditionCheck().returnValuesOnConditionCheckFailure(),
+              null);
+      placeholders.checkAllUsed();
+      return write;
+    }
+    throw validation("A TransactWriteItem needs one of Put, Update, Delete or ConditionCheck");
+  }
+
+  /**
+   * A write to one item: an optional condition on the current item and the change to make, which
+   * maps the current item (its key alone when there is none) to the new one, or to null to delete
+   * it. A condition check has no change.
+   */
+  private final class ItemWrite {
+
+    private final InMemoryTable table;
+    private final Map<String, AttributeValue> key;
+    private final Condition condition;
+    private final ReturnValuesOnConditionCheckFailure returnOnFailure;
+    private final java.util.function.Function<
+            Map<String, AttributeValue>, Map<String, AttributeValue>>
+        change;
+
+    ItemWrite(
+        InMemoryTable table,
+        Map<String, AttributeValue> key,
+        Condition condition,
+        ReturnValuesOnConditionCheckFailure returnOnFailure,
+        java.util.function.Function<Map<String, AttributeValue>, Map<String, AttributeValue>>
+            change) {
+      this.table = table;
+      this.key = key;
+      this.condition = condition;
+      this.returnOnFailure = returnOnFailure;
+      this.change = change;
+    }
+
+    boolean passes(Map<String, AttributeValue> current) {
+      return condition == null || condition.test(current != null ? current : Map.of());
+    }
+
+    /**
+     * Check the condition and make the change.
+     *
+     * @return The item before the change, or null if there was none
+     * @throws ConditionalCheckFailedException If the condition does not hold
+     */
+    Map<String, AttributeValue> checkAndApply() {
+      Map<String, AttributeValue> current = table.get(key);
+      if (!passes(current)) {
+        ConditionalCheckFailedException.Builder failure =
+            ConditionalCheckFailedException.builder()
+                .message("The conditional request failed")
+                .awsErrorDetails(errorDetails("ConditionalCheckFailedException"))
+                .statusCode(400);
+        if (returnOnFailure == ReturnValuesOnConditionCheckFailure.ALL_OLD && current != null) {
+          failure.item(current);
+        }
+        throw failure.build();
+      }
+      apply(current);
+      return current;
+    }
+
+    void apply(Map<String, AttributeValue> current) {
+      if (change == null) {
+        return;
+      }
+      Map<String, AttributeValue> updated = change.apply(current != null ? current : key);
+      if (updated == null) {
+        table.delete(key);
+      } else {
+        checkItem(updated);
+        table.put(updated);
+      }
+    }
+  }
+
+  /** Result of evaluating one query or scan page. */
+  private static final class Page {
+    final List<Map<String, AttributeValue>> items = new ArrayList<>();
+    int count;
+    int scanned;
+    Map<String, AttributeValue> lastEvaluatedKey;
+  }
+
+  /**
+   * Evaluate items into a page as DynamoDB does: Limit counts the items read before the filter, and
+   * a page also ends at 1 MB of items read. Items the key condition or scan segment leaves out are
+   * not read.
+   */
+  private static Page page(
+      Iterator<Map<String, AttributeValue>> items,
+      InMemoryTable.Index index,
+      Predicate<Map<String, AttributeValue>> selected,
+      Condition filter,
+      Integer limit,
+      List<Path> projection,
+      boolean countOnly) {
+    if (limit != null && limit < 1) {
+      throw validation("Limit must be greater than or equal to 1");
+    }
+    Page page = new Page();
+    long bytes = 0;
+    while (items.hasNext()) {
+      Map<String, AttributeValue> item = items.next();
+      if (!selected.test(item)) {
+        continue;
+      }
+      page.scanned++;
+      bytes += DynamoDbItemSize.estimate(item);
+      if (filter == null || filter.test(item)) {
+        page.count++;
+        if (!countOnly) {
+          page.items.add(project(index.project(item), projection));
+        }
+      }
+      if ((limit != null && page.scanned >= limit) || bytes >= PAGE_BYTES) {
+        page.lastEvaluatedKey = index.lastEvaluatedKey(item);
+        break;
+      }
+    }
+    return page;
+  }
+
+  private static Map<String, AttributeValue> project(
+      Map<String, AttributeValue> item, List<Path> projection) {
+    if (projection == null) {
+      return item;
+    }
+    // Nested paths project their whole top-level attribute
+    Map<String, AttributeValue> projected = new HashMap<>();
+    for (Path path : projection) {
+      AttributeValue value = item.get(path.topLevelName());
+      if (value != null) {
+        projected.put(path.topLevelName(), value);
+      }
+    }
+    return projected;
+  }
+
+  private static List<Condition> conjuncts(Condition condition) {
+    List<Condition> parts = new ArrayList<>();
+    if (condition instanceof And) {
+      parts.addAll(conjuncts(((And) condition).left()));
+      parts.addAll(conjuncts(((And) condition).right()));
+    } else {
+      parts.add(condition);
+    }
+    return parts;
+  }
+
+  private static boolean isRangeCondition(Condition condition, String rangeKey) {
+    Operand subject = null;
+    if (condition instanceof Compare && !"<>".equals(((Compare) condition).operator())) {
+      subject = ((Compare) condition).left();
+    } else if (condition instanceof Between) {
+      subject = ((Between) condition).operand();
+    } else if (condition instanceof Function
+        && "begins_with".equals(((Function) condition).name())) {
+      subject = ((Function) condition).arguments().get(0);
+    }
+    return isKeyPath(subject, rangeKey);
+  }
+
+  private static boolean isKeyPath(Operand operand, String keyName) {
+    return operand instanceof Path
+        && ((Path) operand).isTopLevel()
+        && ((Path) operand).topLevelName().equals(keyName);
+  }
+
+  private static List<Action> updateActions(
+      InMemoryTable table, String updateExpression, Placeholders placeholders) {
+    if (updateExpression == null) {
+      throw validation("The in-memory stand-in needs an UpdateExpression");
+    }
+    List<Action> actions = Expressions.parseUpdate(updateExpression, placeholders);
+    for (Action action : actions) {
+      String name = action.path().topLevelName();
+      if (name.equals(table.table.hashKey) || name.equals(table.table.rangeKey)) {
+        throw validation(
+            "One or more parameter values were invalid: Cannot update attribute "
+                + name
+                + ". This attribute is part of the key");
+      }
+    }
+    return actions;
+  }
+
+  private static Condition condition(String expression, Placeholders placeholders) {
+    return expression != null ? Expressions.parseCondition(expression, placeholders) : null;
+  }
+
+  private static List<Path> projection(String expression, Placeholders placeholders) {
+    return expression != null ? Expressions.parseProjection(expression, placeholders) : null;
+  }
+
+  private static Map<String, AttributeValue> startKey(Map<String, AttributeValue> key) {
+    return key != null && !key.isEmpty() ? key : null;
+  }
+
+  private InMemoryTable table(String tableName) {
+    InMemoryTable table = tables.get(tableName);
+    if (table == null) {
+      throw ResourceNotFoundException.builder()
+          .message("Requested resource not found: Table: " + tableName + " not found")
+          .awsErrorDetails(errorDetails("ResourceNotFoundException"))
+          .statusCode(400)
+          .build();
+    }
+    return table;
+  }
+
+  private static List<Object> keyValues(InMemoryTable table, Map<String, AttributeValue> key) {
+    List<Object> values = new ArrayList<>(2);
+    values.add(InMemoryTable.KeyValue.of(key.get(table.table.hashKey)));
+    if (table.table.rangeKey != null) {
+      values.add(InMemoryTable.KeyValue.of(key.get(table.table.rangeKey)));
+    }
+    return values;
+  }
+
+  private static void checkNoDuplicateKeys(Collection<Map<String, AttributeValue>> keys) {
+    Set<Map<String, Object>> seen = new HashSet<>();
+    for (Map<String, AttributeValue> key : keys) {
+      Map<String, Object> normalized = new HashMap<>();
+      key.forEach((name, value) -> normalized.put(name, InMemoryTable.KeyValue.of(value)));
+      if (!seen.add(normalized)) {
+        throw validation("Provided list of item keys contains duplicates");
+      }
+    }
+  }
+
+  private static void checkBatchSize(int size, int max, String message) {
+    if (size == 0) {
+      throw validation("The batch request must contain at least one item");
+    }
+    if (size > max) {
+      throw validation(message);
+    }
+  }
+
+  /** Reject items DynamoDB would: oversized, or holding empty or duplicate sets. */
+  private static void checkItem(Map<String, AttributeValue> item) {
+    if (item == null || item.isEmpty()) {
+      throw validation("One or more parameter values were invalid: Missing the key in the item");
+    }
+    if (DynamoDbItemSize.estimate(item) > MAX_ITEM_BYTES) {
+      throw validation("Item size has exceeded the maximum allowed size");
+    }
+    item.forEach((name, value) -> checkValue(name, value));
+  }
+
+  private static void checkValue(String name, AttributeValue value) {
+    List<?> set = null;
+    if (value.hasSs()) {
+      set = value.ss();
+    } else if (value.hasNs()) {
+      set = value.ns();
+    } else if (value.hasBs()) {
+      set = value.bs();
+    } else if (value.hasL()) {
+      value.l().forEach(element -> checkValue(name, element));
+    } else if (value.hasM()) {
+      value.m().forEach(InMemoryDynamoDb::checkValue);
+    }
+    if (set != null) {
+      if (set.isEmpty()) {
+        throw validation(
+            "One or more parameter values were invalid: An "
+                + Expressions.typeCode(value)
+                + " set may not be empty; attribute: "
+                + name);
+      }
+      if (new HashSet<>(set).size() != set.size()) {
+        throw validation("Input collection " + set + " contains duplicates; attribute: " + name);
+      }
+    }
+  }
+
+  static DynamoDbException validation(String message) {
+    return (DynamoDbException)
+        DynamoDbException.builder()
+            .message(message)
+            .awsErrorDetails(
+                AwsErrorDetails.builder()
+                    .errorCode("ValidationException")
+                    .errorMessage(message)
+                    .serviceName("DynamoDb")
+                    .build())
+            .statusCode(400)
+            .build();
+  }
+
+  private static AwsErrorDetails errorDetails(String errorCode) {
+    return AwsErrorDetails.builder().errorCode(errorCode).serviceName("DynamoDb").build();
+  }
+
+  /** The asynchronous face of the stand-in, sharing its tables, counters and latency. */
+  private final class AsyncClient implements DynamoDbAsyncClient {
+
+    @Override
+    public String serviceName() {
+      return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {}
+
+    @Override
+    public CompletableFuture<GetItemResponse> getItem(GetItemRequest request) {
+      return callAsync("GetItem", () -> doGetItem(request));
+    }
+
+    @Override
+    public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+      return callAsync("PutItem", () -> doPutItem(request));
+    }
+
+    @Override
+    public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+      return callAsync("UpdateItem", () -> doUpdateItem(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteItemResponse> deleteItem(DeleteItemRequest request) {
+      return callAsync("DeleteItem", () -> doDeleteItem(request));
+    }
+
+    @Override
+    public CompletableFuture<QueryResponse> query(QueryRequest request) {
+      return callAsync(operation("Query", request.indexName()), () -> doQuery(request));
+    }
+
+    @Override
+    public CompletableFuture<ScanResponse> scan(ScanRequest request) {
+      return callAsync(operation("Scan", request.indexName()), () -> doScan(request));
+    }
+
+    @Override
+    public CompletableFuture<BatchGetItemResponse> batchGetItem(BatchGetItemRequest request) {
+      return callAsync("BatchGetItem", () -> doBatchGetItem(request));
+    }
+
+    @Override
+    public CompletableFuture<BatchWriteItemResponse> batchWriteItem(BatchWriteItemRequest request) {
+      return callAsync("BatchWriteItem", () -> doBatchWriteItem(request));
+    }
+
+    @Override
+    public CompletableFuture<TransactWriteItemsResponse> transactWriteItems(
+        TransactWriteItemsRequest request) {
+      return callAsync("TransactWriteItems", () -> doTransactWriteItems(request));
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package com.yourafterspace.yas_backend.dao.inmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.yourafterspace.yas_backend.dao.ExperienceDao;
+import com.yourafterspace.yas_backend.dao.GroupDao;
+import com.yourafterspace.yas_backend.dao.UserExperienceDao;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.Group;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+class InMemoryDynamoDbTest {
+
+  private static final String TABLE = "yas-table";
+
+  private InMemoryDynamoDb dynamoDb;
+
+  @BeforeEach
+  void setUp() {
+    dynamoDb = new InMemoryDynamoDb();
+    dynamoDb.createTable(InMemoryDynamoDb.yasTable(TABLE));
+  }
+
+  @Test
+  void conditionalPut_FailsOnceTheItemExists() {
+    PutItemRequest put =
+        PutItemRequest.builder()
+            .tableName(TABLE)
+            .item(Map.of("pk", s("A"), "sk", s("1")))
+            .conditionExpression("attribute_not_exists(pk)")
+            .build();
+
+    dynamoDb.putItem(put);
+
+    assertThatThrownBy(() -> dynamoDb.putItem(put))
+        .isInstanceOf(ConditionalCheckFailedException.class);
+  }
+
+  @Test
+  void updateItem_AppliesSetAddRemoveAndDeleteClauses() {
+    dynamoDb.putItem(
+        PutItemRequest.builder()
+            .tableName(TABLE)
+            .item(
+                Map.of(
+                    "pk", s("A"),
+                    "sk", s("1"),
+                    "note", s("old"),
+                    "members", AttributeValue.builder().ss("u1", "u2").build()))
+            .build());
+
+    Map<String, AttributeValue> updated =
+        dynamoDb
+            .updateItem(
+                UpdateItemRequest.builder()
+                    .tableName(TABLE)
+                    .key(Map.of("pk", s("A"), "sk", s("1")))
+                    .updateExpression(
+                        "SET #title = if_not_exists(#title, :title) ADD #count :one REMOVE note"
+                            + " DELETE members :gone")
+                    .expressionAttributeNames(Map.of("#title", "title", "#count", "count"))
+                    .expressionAttributeValues(
+                        Map.of(
+                            ":title", s("Jazz"),
+                            ":one", AttributeValue.builder().n("1").build(),
+                            ":gone", AttributeValue.builder().ss("u1").build()))
+                    .returnValues(ReturnValue.ALL_NEW)
+                    .build())
+            .attributes();
+
+    assertThat(updated.get("title").s()).isEqualTo("Jazz");
+    assertThat(updated.get("count").n()).isEqualTo("1");
+    assertThat(updated).doesNotContainKey("note");
+    assertThat(updated.get("members").ss()).containsExactly("u2");
+  }
+
+  @Test
+  void rejectsWhatDynamoDbRejects() {
+    assertThatThrownBy(
+            () ->
+                dynamoDb.putItem(
+                    PutItemRequest.builder()
+                        .tableName(TABLE)
+                        .item(Map.of("pk", s("A"), "sk", s("1")))
+                        .conditionExpression("attribute_not_exists(pk)")
+                        .expressionAttributeValues(Map.of(":unused", s("x")))
+                        .build()))
+        .isInstanceOf(DynamoDbException.class)
+        .hasMessageContaining("unused");
+    assertThatThrownBy(
+            () ->
+                dynamoDb.putItem(
+                    PutItemRequest.builder()
+                        .tableName(TABLE)
+                        .item(
+                            Map.of(
+                                "pk",
+                                s("A"),
+                                "sk",
+                                s("1"),
+                                "members",
+                                AttributeValue.builder().ss(List.of()).build()))
+                        .build()))
+        .isInstanceOf(DynamoDbException.class)
+        .hasMessageContaining("may not be empty");
+    assertThat(dynamoDb.totalCalls()).isEqualTo(3);
+  }
+
+  @Test
+  void query_PagesByLimitAndFiltersAfterReading() {
+    for (int i = 0; i < 5; i++) {
+      dynamoDb.putItem(
+          PutItemRequest.builder()
+              .tableName(TABLE)
+              .item(
+                  Map.of(
+                      "pk", s("P"),
+                      "sk", s("ITEM#" + i),
+                      "GSI1PK", s("EVEN#" + (i % 2 == 0)),
+                      "GSI1SK", s(String.valueOf(i))))
+              .build());
+    }
+
+    QueryResponse first =
+        dynamoDb.query(
+            QueryRequest.builder()
+                .tableName(TABLE)
+                .keyConditionExpression("pk = :pk AND begins_with(sk, :prefix)")
+                .filterExpression("GSI1PK = :even")
+                .expressionAttributeValues(
+                    Map.of(":pk", s("P"), ":prefix", s("ITEM#"), ":even", s("EVEN#true")))
+                .limit(3)
+                .scanIndexForward(false)
+                .build());
+    QueryResponse index =
+        dynamoDb.query(
+            QueryRequest.builder()
+                .tableName(TABLE)
+                .indexName("GSI1")
+                .keyConditionExpression("GSI1PK = :even AND GSI1SK >= :from")
+                .expressionAttributeValues(Map.of(":even", s("EVEN#true"), ":from", s("2")))
+                .build());
+
+    assertThat(first.scannedCount()).isEqualTo(3);
+    assertThat(first.items())
+        .extracting(item -> item.get("sk").s())
+        .containsExactly("ITEM#4", "ITEM#2");
+    assertThat(first.lastEvaluatedKey()).containsEntry("sk", s("ITEM#2"));
+    assertThat(index.items())
+        .extracting(item -> item.get("sk").s())
+        .containsExactly("ITEM#2", "ITEM#4");
+    assertThat(index.hasLastEvaluatedKey()).isFalse();
+    assertThat(dynamoDb.callCounts()).containsEntry("Query", 1L).containsEntry("Query GSI1", 1L);
+  }
+
+  @Test
+  void transactWriteItems_CancelsEveryWriteWhenOneConditionFails() {
+    dynamoDb.putItem(
+        PutItemRequest.builder().tableName(TABLE).item(Map.of("pk", s("A"), "sk", s("1"))).build());
+    TransactWriteItemsRequest request =
+        TransactWriteItemsRequest.builder()
+            .transactItems(
+                TransactWriteItem.builder()
+                    .put(
+                        Put.builder()
+                            .tableName(TABLE)
+                            .item(Map.of("pk", s("B"), "sk", s("1")))
+                            .build())
+                    .build(),
+                TransactWriteItem.builder()
+                    .update(
+                        Update.builder()
+                            .tableName(TABLE)
+                            .key(Map.of("pk", s("A"), "sk", s("1")))
+                            .updateExpression("SET done = :yes")
+                            .conditionExpression("attribute_not_exists(done)")
+                            .expressionAttributeValues(Map.of(":yes", s("yes")))
+                            .build())
+                    .build())
+            .build();
+    dynamoDb.transactWriteItems(request);
+
+    assertThatThrownBy(() -> dynamoDb.transactWriteItems(request))
+        .isInstanceOfSatisfying(
+            TransactionCanceledException.class,
+            e ->
+                assertThat(e.cancellationReasons())
+                    .extracting(reason -> reason.code())
+                    .containsExactly("None", "ConditionalCheckFailed"));
+    assertThat(dynamoDb.itemCount(TABLE)).isEqualTo(2);
+  }
+
+  @Test
+  void daos_RoundTripThroughTheStandIn() {
+    ExperienceDao experienceDao = new ExperienceDao(dynamoDb, dynamoDb.asyncClient(), TABLE);
+    UserExperienceDao userExperienceDao =
+        new UserExperienceDao(dynamoDb, dynamoDb.asyncClient(), TABLE);
+    GroupDao groupDao = new GroupDao(dynamoDb, dynamoDb.asyncClient(), TABLE);
+
+    Experience experience = new Experience("user-1");
+    experience.setExperienceId("exp-1");
+    experience.setTitle("Jazz night");
+    experienceDao.save(experience);
+    userExperienceDao.updateInterest("user-2", "exp-1", true, 0.9);
+    userExperienceDao.updateInterestAsync("user-3", "exp-1", true, null).join();
+    Group group = new Group(null, "user-1");
+    group.setGroupName("Friends");
+    group.setMemberUserIds(List.of("user-1", "user-2"));
+    groupDao.save(group);
+
+    assertThat(experienceDao.findByExperienceId("exp-1").orElseThrow().getInterestCount())
+        .isEqualTo(2);
+    assertThat(userExperienceDao.findInterestedUsersByExperienceId("exp-1"))
+        .extracting(UserExperience::getUserId)
+        .containsExactlyInAnyOrder("user-2", "user-3");
+    assertThat(groupDao.findByUserId("user-2"))
+        .extracting(Group::getGroupName)
+        .containsExactly("Friends");
+  }
+
+  @Test
+  void asyncClient_FailsFuturesWithTheServiceException() {
+    PutItemRequest put =
+        PutItemRequest.builder()
+            .tableName("missing")
+            .item(Map.of("pk", s("A"), "sk", s("1")))
+            .build();
+
+    assertThatThrownBy(() -> dynamoDb.asyncClient().putItem(put).join())
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(ResourceNotFoundException.class);
+  }
+
+  private static AttributeValue s(String value) {
+    return AttributeValue.builder().s(value).build();
+  }
+}
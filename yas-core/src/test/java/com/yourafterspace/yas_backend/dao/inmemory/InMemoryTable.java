@@ -0,0 +1,394 @@
+package com.yourafterspace.yas_backend.dao.inmemory;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
+import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.LocalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
+
+/**
+ * One table of {@link InMemoryDynamoDb}: its items by primary key and, for each secondary index,
+ * the items that carry the index key. Partitions are kept sorted by their key, so scans are ordered
+ * by partition and then by sort key. Not thread-safe; the owner locks around it.
+ */
+final class InMemoryTable {
+
+  final String name;
+  final Index table;
+  final Map<String, Index> indexes = new LinkedHashMap<>();
+  private final Map<String, String> attributeTypes = new HashMap<>();
+
+  InMemoryTable(CreateTableRequest request) {
+    this.name = request.tableName();
+    for (AttributeDefinition definition : request.attributeDefinitions()) {
+      attributeTypes.put(definition.attributeName(), definition.attributeTypeAsString());
+    }
+    this.table = new Index(null, request.keySchema(), null, this);
+    for (GlobalSecondaryIndex gsi : request.globalSecondaryIndexes()) {
+      indexes.put(
+          gsi.indexName(), new Index(gsi.indexName(), gsi.keySchema(), gsi.projection(), this));
+    }
+    for (LocalSecondaryIndex lsi : request.localSecondaryIndexes()) {
+      indexes.put(
+          lsi.indexName(), new Index(lsi.indexName(), lsi.keySchema(), lsi.projection(), this));
+    }
+  }
+
+  Index index(String indexName) {
+    if (indexName == null) {
+      return table;
+    }
+    Index index = indexes.get(indexName);
+    if (index == null) {
+      throw InMemoryDynamoDb.validation(
+          "The table does not have the specified index: " + indexName);
+    }
+    return index;
+  }
+
+  int itemCount() {
+    int count = 0;
+    for (NavigableMap<ItemKey, Map<String, AttributeValue>> partition : table.partitions.values()) {
+      count += partition.size();
+    }
+    return count;
+  }
+
+  /**
+   * The item with the given primary key.
+   *
+   * @throws software.amazon.awssdk.services.dynamodb.model.DynamoDbException ValidationException if
+   *     the key does not match the key schema
+   */
+  Map<String, AttributeValue> get(Map<String, AttributeValue> key) {
+    checkKey(key);
+    NavigableMap<ItemKey, Map<String, AttributeValue>> partition =
+        table.partitions.get(KeyValue.of(key.get(table.hashKey)));
+    return partition != null ? partition.get(table.itemKey(key)) : null;
+  }
+
+  /** The primary key attributes of an item. */
+  Map<String, AttributeValue> keyOf(Map<String, AttributeValue> item) {
+    Map<String, AttributeValue> key = new HashMap<>(4);
+    key.put(table.hashKey, item.get(table.hashKey));
+    if (table.rangeKey != null) {
+      key.put(table.rangeKey, item.get(table.rangeKey));
+    }
+    return key;
+  }
+
+  /**
+   * Store an item, replacing the one with the same key, and update the indexes.
+   *
+   * @return The replaced item, or null
+   */
+  Map<String, AttributeValue> put(Map<String, AttributeValue> item) {
+    checkKey(keyOf(item));
+    for (Index index : indexes.values()) {
+      index.checkKeyTypes(item);
+    }
+    Map<String, AttributeValue> stored = Collections.unmodifiableMap(new HashMap<>(item));
+    Map<String, AttributeValue> previous = delete(item);
+    table.add(stored);
+    for (Index index : indexes.values()) {
+      index.add(stored);
+    }
+    return previous;
+  }
+
+  /**
+   * Remove the item with the given key and its index entries.
+   *
+   * @return The removed item, or null
+   */
+  Map<String, AttributeValue> delete(Map<String, AttributeValue> key) {
+    Map<String, AttributeValue> previous = get(keyOf(key));
+    if (previous != null) {
+      table.remove(previous);
+      for (Index index : indexes.values()) {
+        index.remove(previous);
+      }
+    }
+    return previous;
+  }
+
+  /**
+   * Reject a key with missing, extra or mistyped attributes.
+   *
+   * @throws software.amazon.awssdk.services.dynamodb.model.DynamoDbException ValidationException
+   */
+  void checkKey(Map<String, AttributeValue> key) {
+    int expected = table.rangeKey != null ? 2 : 1;
+    if (key == null
+        || key.size() != expected
+        || key.get(table.hashKey) == null
+        || (table.rangeKey != null && key.get(table.rangeKey) == null)) {
+      throw InMemoryDynamoDb.validation("The provided key element does not match the schema");
+    }
+    checkType(table.hashKey, key.get(table.hashKey));
+    if (table.rangeKey != null) {
+      checkType(table.rangeKey, key.get(table.rangeKey));
+    }
+  }
+
+  private void checkType(String attribute, AttributeValue value) {
+    String type = attributeTypes.get(attribute);
+    if (type != null && !type.equals(Expressions.typeCode(value))) {
+      throw InMemoryDynamoDb.validation(
+          "One or more parameter values were invalid: Type mismatch for key "
+              + attribute
+              + " expected: "
+              + type
+              + " actual: "
+              + Expressions.typeCode(value));
+    }
+  }
+
+  /**
+   * The table itself or one of its secondary indexes: entries grouped into partitions by hash key
+   * and sorted by range key, then by the table key (which keeps equal index keys apart).
+   */
+  static final class Index {
+
+    final String name;
+    final String hashKey;
+    final String rangeKey;
+    final NavigableMap<KeyValue, NavigableMap<ItemKey, Map<String, AttributeValue>>> partitions =
+        new TreeMap<>();
+    private final InMemoryTable owner;
+    private final ProjectionType projectionType;
+    private final Set<String> projectedAttributes = new HashSet<>();
+
+    private Index(
+        String name, List<KeySchemaElement> keySchema, Projection projection, InMemoryTable owner) {
+      this.name = name;
+      this.owner = owner;
+      String hash = null;
+      String range = null;
+      for (KeySchemaElement element : keySchema) {
+        if (element.keyType() == KeyType.HASH) {
+          hash = element.attributeName();
+        } else {
+          range = element.attributeName();
+        }
+      }
+      if (hash == null) {
+        throw InMemoryDynamoDb.validation("No hash key in the key schema of " + name);
+      }
+      this.hashKey = hash;
+      this.rangeKey = range;
+      this.projectionType = projection != null ? projection.projectionType() : ProjectionType.ALL;
+      if (projection != null && projection.hasNonKeyAttributes()) {
+        projectedAttributes.addAll(projection.nonKeyAttributes());
+      }
+    }
+
+    boolean isTable() {
+      return name == null;
+    }
+
+    /** Items of one partition in key order, optionally after an exclusive start key. */
+    Iterator<Map<String, AttributeValue>> partition(
+        AttributeValue hashValue, Map<String, AttributeValue> exclusiveStartKey, boolean forward) {
+      NavigableMap<ItemKey, Map<String, AttributeValue>> partition =
+          partitions.get(KeyValue.of(hashValue));
+      if (partition == null) {
+        return Collections.emptyIterator();
+      }
+      NavigableMap<ItemKey, Map<String, AttributeValue>> ordered =
+          forward ? partition : partition.descendingMap();
+      if (exclusiveStartKey != null) {
+        ordered = ordered.tailMap(itemKey(exclusiveStartKey), false);
+      }
+      return ordered.values().iterator();
+    }
+
+    /** Every item of the index in scan order, optionally after an exclusive start key. */
+    Iterator<Map<String, AttributeValue>> all(Map<String, AttributeValue> exclusiveStartKey) {
+      NavigableMap<KeyValue, NavigableMap<ItemKey, Map<String, AttributeValue>>> remaining =
+          partitions;
+      Iterator<Map<String, AttributeValue>> first = Collections.emptyIterator();
+      if (exclusiveStartKey != null) {
+        KeyValue startPartition = KeyValue.of(exclusiveStartKey.get(hashKey));
+        NavigableMap<ItemKey, Map<String, AttributeValue>> partition =
+            partitions.get(startPartition);
+        if (partition != null) {
+          first = partition.tailMap(itemKey(exclusiveStartKey), false).values().iterator();
+        }
+        remaining = partitions.tailMap(startPartition, false);
+      }
+      Iterator<NavigableMap<ItemKey, Map<String, AttributeValue>>> rest =
+          remaining.values().iterator();
+      Iterator<Map<String, AttributeValue>> head = first;
+      return new Iterator<>() {
+        private Iterator<Map<String, AttributeValue>> current = head;
+
+        @Override
+        public boolean hasNext() {
+          while (!current.hasNext() && rest.hasNext()) {
+            current = rest.next().values().iterator();
+          }
+          return current.hasNext();
+        }
+
+        @Override
+        public Map<String, AttributeValue> next() {
+          hasNext();
+          return current.next();
+        }
+      };
+    }
+
+    /** The key DynamoDB returns as LastEvaluatedKey for an item of this index. */
+    Map<String, AttributeValue> lastEvaluatedKey(Map<String, AttributeValue> item) {
+      Map<String, AttributeValue> key = owner.keyOf(item);
+      key.put(hashKey, item.get(hashKey));
+      if (rangeKey != null) {
+        key.put(rangeKey, item.get(rangeKey));
+      }
+      return key;
+    }
+
+    /** The attributes of an item that this index holds. */
+    Map<String, AttributeValue> project(Map<String, AttributeValue> item) {
+      if (projectionType == ProjectionType.ALL) {
+        return item;
+      }
+      Map<String, AttributeValue> projected = lastEvaluatedKey(item);
+      for (String attribute : projectedAttributes) {
+        AttributeValue value = item.get(attribute);
+        if (value != null) {
+          projected.put(attribute, value);
+        }
+      }
+      return projected;
+    }
+
+    private void checkKeyTypes(Map<String, AttributeValue> item) {
+      AttributeValue hash = item.get(hashKey);
+      if (hash != null) {
+        owner.checkType(hashKey, hash);
+      }
+      if (rangeKey != null && item.get(rangeKey) != null) {
+        owner.checkType(rangeKey, item.get(rangeKey));
+      }
+    }
+
+    /** Whether an item carries this index's key; items without it are left out (sparse index). */
+    private boolean holds(Map<String, AttributeValue> item) {
+      return item.get(hashKey) != null && (rangeKey == null || item.get(rangeKey) != null);
+    }
+
+    private void add(Map<String, AttributeValue> item) {
+      if (holds(item)) {
+        partitions
+            .computeIfAbsent(KeyValue.of(item.get(hashKey)), k -> new TreeMap<>())
+            .put(itemKey(item), item);
+      }
+    }
+
+    private void remove(Map<String, AttributeValue> item) {
+      if (!holds(item)) {
+        return;
+      }
+      KeyValue hash = KeyValue.of(item.get(hashKey));
+      NavigableMap<ItemKey, Map<String, AttributeValue>> partition = partitions.get(hash);
+      if (partition != null) {
+        partition.remove(itemKey(item));
+        if (partition.isEmpty()) {
+          partitions.remove(hash);
+        }
+      }
+    }
+
+    private ItemKey itemKey(Map<String, AttributeValue> item) {
+      KeyValue range = rangeKey != null ? KeyValue.of(item.get(rangeKey)) : null;
+      if (isTable()) {
+        return new ItemKey(range, null, null);
+      }
+      Index base = owner.table;
+      return new ItemKey(
+          range,
+          KeyValue.of(item.get(base.hashKey)),
+          base.rangeKey != null ? KeyValue.of(item.get(base.rangeKey)) : null);
+    }
+  }
+
+  /** Position of an entry within a partition. */
+  record ItemKey(KeyValue range, KeyValue tableHash, KeyValue tableRange)
+      implements Comparable<ItemKey> {
+
+    private static final Comparator<KeyValue> NULLS_FIRST =
+        Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<ItemKey> ORDER =
+        Comparator.comparing(ItemKey::range, NULLS_FIRST)
+            .thenComparing(ItemKey::tableHash, NULLS_FIRST)
+            .thenComparing(ItemKey::tableRange, NULLS_FIRST);
+
+    @Override
+    public int compareTo(ItemKey other) {
+      return ORDER.compare(this, other);
+    }
+  }
+
+  /** A key attribute value (S, N or B) with DynamoDB's equality and ordering. */
+  static final class KeyValue implements Comparable<KeyValue> {
+
+    private final AttributeValue value;
+    private final Object normalized;
+
+    private KeyValue(AttributeValue value) {
+      this.value = value;
+      if (value.s() != null) {
+        normalized = value.s();
+      } else if (value.n() != null) {
+        normalized = new BigDecimal(value.n()).stripTrailingZeros();
+      } else if (value.b() != null) {
+        normalized = value.b();
+      } else {
+        throw InMemoryDynamoDb.validation(
+            "One or more parameter values were invalid: key attributes must be of type S, N or B");
+      }
+    }
+
+    static KeyValue of(AttributeValue value) {
+      if (value == null) {
+        throw InMemoryDynamoDb.validation("The provided key element does not match the schema");
+      }
+      return new KeyValue(value);
+    }
+
+    @Override
+    public int compareTo(KeyValue other) {
+      Integer order = Expressions.compareScalars(value, other.value);
+      return order != null ? order : value.type().compareTo(other.value.type());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof KeyValue && normalized.equals(((KeyValue) other).normalized);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(normalized);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class AttributeValuesTest {
+
+  @Test
+  void parseInstant_MatchesTheJdkParser() {
+    for (String text :
+        List.of(
+            "2024-01-15T10:30:00Z",
+            "2024-02-29T23:59:59.9Z",
+            "1970-01-01T00:00:00.123Z",
+            "1969-12-31T23:59:59.999999Z",
+            "2031-07-04T08:05:09.000000001Z",
+            "2024-01-15T10:30:00+01:00",
+            "+12024-01-15T10:30:00Z",
+            "2016-12-31T23:59:60Z",
+            "2024-01-15T24:00:00Z",
+            "2024-01-15T10:30:00.Z")) {
+      assertThat(AttributeValues.parseInstant(text)).as(text).isEqualTo(Instant.parse(text));
+    }
+
+    Instant now = Instant.now();
+    assertThat(AttributeValues.parseInstant(now.toString())).isEqualTo(now);
+  }
+
+  @Test
+  void parseInstant_RejectsWhatTheJdkParserRejects() {
+    for (String text :
+        List.of("2023-02-29T10:30:00Z", "2024-01-15T10:60:00Z", "2024-01-15 10:30:00Z", "x")) {
+      assertThatThrownBy(() -> AttributeValues.parseInstant(text))
+          .as(text)
+          .isInstanceOf(DateTimeParseException.class);
+    }
+  }
+
+  @Test
+  void parseDateAndTime_MatchTheJdkParsers() {
+    assertThat(AttributeValues.parseDate("2024-12-31")).isEqualTo(LocalDate.of(2024, 12, 31));
+    assertThat(AttributeValues.parseTime("09:05")).isEqualTo(LocalTime.of(9, 5));
+    assertThat(AttributeValues.parseTime("19:45:30")).isEqualTo(LocalTime.of(19, 45, 30));
+    assertThat(AttributeValues.parseTime("19:45:30.25")).isEqualTo(LocalTime.parse("19:45:30.25"));
+    assertThatThrownBy(() -> AttributeValues.parseDate("2024-13-01"))
+        .isInstanceOf(DateTimeParseException.class);
+    assertThatThrownBy(() -> AttributeValues.parseTime("25:00"))
+        .isInstanceOf(DateTimeParseException.class);
+  }
+
+  @Test
+  void readersReturnNullForMissingAttributesAndAcceptSetsOrLists() {
+    Map<String, AttributeValue> item = new HashMap<>();
+    AttributeValues.putString(item, "name", null);
+    AttributeValues.putNumber(item, "count", 3);
+    AttributeValues.putStringSet(item, "set", List.of("a", "b"));
+    AttributeValues.putStringList(item, "list", List.of("c", "d"));
+    AttributeValues.putStringSet(item, "empty", List.of());
+
+    assertThat(item).containsOnlyKeys("count", "set", "list");
+    assertThat(AttributeValues.getString(item, "name")).isNull();
+    assertThat(AttributeValues.getInteger(item, "count")).isEqualTo(3);
+    assertThat(AttributeValues.getStringList(item, "set")).containsExactlyInAnyOrder("a", "b");
+    assertThat(AttributeValues.getStringList(item, "list")).containsExactly("c", "d");
+    assertThat(AttributeValues.getStringList(item, "count")).isEmpty();
+    assertThat(AttributeValues.getStringList(item, "empty")).isNull();
+  }
+
+  @Test
+  void setExpression_AssignsEveryAttribute() {
+    Map<String, AttributeValue> attributes = new LinkedHashMap<>();
+    attributes.put("city", AttributeValue.fromS("London"));
+    attributes.put("state", AttributeValue.fromS("LDN"));
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> values = new HashMap<>();
+
+    assertThat(AttributeValues.setExpression(attributes, names, values))
+        .isEqualTo("SET #city = :city, #state = :state");
+    assertThat(names).containsEntry("#state", "state").hasSize(2);
+    assertThat(values).containsEntry(":city", AttributeValue.fromS("London")).hasSize(2);
+  }
+}
@@ -0,0 +1,125 @@
+package com.yourafterspace.yas_backend.dao.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceStatus;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceType;
+import com.yourafterspace.yas_backend.model.Group;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import com.yourafterspace.yas_backend.model.UserExperience.PaymentDetails;
+import com.yourafterspace.yas_backend.model.UserExperience.UserExperienceStatus;
+import com.yourafterspace.yas_backend.model.UserProfile;
+import com.yourafterspace.yas_backend.model.UserProfile.UserStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+class EntityAttributesTest {
+
+  private static final Instant UPDATED_AT = Instant.parse("2024-05-01T12:00:00.250Z");
+
+  @Test
+  void experience_RoundTripsEveryFieldButTheKeys() {
+    Experience experience = new Experience();
+    experience.setExperienceId("exp-1");
+    experience.setTitle("Jazz night");
+    experience.setType(ExperienceType.EVENT);
+    experience.setStatus(ExperienceStatus.PUBLISHED);
+    experience.setLatitude(51.5);
+    experience.setLongitude(-0.12);
+    experience.setVenueId("venue-1");
+    experience.setExperienceDate(LocalDate.of(2024, 6, 1));
+    experience.setStartTime(LocalTime.of(19, 30));
+    experience.setPricePerPerson(new BigDecimal("25.50"));
+    experience.setMaxCapacity(40);
+    experience.setInterestCount(7);
+    experience.setTags(List.of("music", "jazz"));
+    experience.setUpdatedAt(UPDATED_AT);
+    Map<String, AttributeValue> item = new HashMap<>();
+
+    ExperienceAttributes.write(experience, item);
+    Experience read = ExperienceAttributes.read(item);
+
+    assertThat(item).doesNotContainKeys("experienceId", "createdAt").containsKey("venueId");
+    assertThat(item.get("tags").hasSs()).isTrue();
+    assertThat(read)
+        .usingRecursiveComparison()
+        .ignoringFields("experienceId", "createdAt", "tags")
+        .isEqualTo(experience);
+    assertThat(read.getTags()).containsExactlyInAnyOrder("music", "jazz");
+  }
+
+  @Test
+  void experience_ReadsTagsStoredAsAList() {
+    Map<String, AttributeValue> item = new HashMap<>();
+    AttributeValues.putStringList(item, "tags", List.of("b", "a"));
+
+    Experience read = ExperienceAttributes.read(item);
+
+    assertThat(read.getTags()).containsExactly("b", "a");
+    assertThat(read.getStatus()).isEqualTo(ExperienceStatus.DRAFT);
+    assertThat(read.getInterestCount()).isZero();
+  }
+
+  @Test
+  void userExperience_KeepsAStoredPaidFlagAndThePaymentDetails() {
+    UserExperience userExperience = new UserExperience("user-1", "exp-1");
+    userExperience.setStatus(UserExperienceStatus.ATTENDED);
+    userExperience.setPaid(false);
+    PaymentDetails payment = new PaymentDetails();
+    payment.setAmount(new BigDecimal("12.00"));
+    payment.setPaymentDate(UPDATED_AT);
+    userExperience.setPaymentDetails(payment);
+    Map<String, AttributeValue> item = new HashMap<>();
+
+    UserExperienceAttributes.write(userExperience, item);
+    UserExperience read = UserExperienceAttributes.read(item);
+
+    assertThat(read.getStatus()).isEqualTo(UserExperienceStatus.ATTENDED);
+    assertThat(read.getPaid()).isFalse();
+    assertThat(read.getPaymentDetails())
+        .usingRecursiveComparison()
+        .isEqualTo(userExperience.getPaymentDetails());
+  }
+
+  @Test
+  void group_AlwaysHasAMemberList() {
+    Group group = new Group();
+    group.setUserId("user-1");
+    group.setGroupName("Friends");
+    Map<String, AttributeValue> item = new HashMap<>();
+
+    GroupAttributes.write(group, item);
+
+    assertThat(item.get("memberUserIds").hasSs()).isTrue();
+    assertThat(GroupAttributes.read(item).getMemberUserIds()).isEmpty();
+    assertThat(GroupAttributes.read(Map.of()).getMemberUserIds()).isEmpty();
+    assertThat(GroupAttributes.read(item).getUserId()).isEqualTo("user-1");
+  }
+
+  @Test
+  void userProfile_RoundTripsAndDefaultsToActive() {
+    UserProfile profile = new UserProfile("user-1");
+    profile.setDateOfBirth(LocalDate.of(1990, 3, 4));
+    profile.setCity("London");
+    profile.setLatitude(51.5);
+    profile.setStatus(UserStatus.DELETED);
+    profile.setUpdatedAt(UPDATED_AT);
+    Map<String, AttributeValue> item = new HashMap<>();
+
+    UserProfileAttributes.write(profile, item);
+
+    assertThat(UserProfileAttributes.read(item))
+        .usingRecursiveComparison()
+        .ignoringFields("userId", "createdAt")
+        .isEqualTo(profile);
+    assertThat(UserProfileAttributes.read(Map.of()).getStatus()).isEqualTo(UserStatus.ACTIVE);
+  }
+}
@@ -0,0 +1,116 @@
+package com.yourafterspace.yas_backend.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceStatus;
+import com.yourafterspace.yas_backend.model.Experience.ExperienceType;
+import com.yourafterspace.yas_backend.model.UserProfile;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class DtoMappersTest {
+
+  @Test
+  void experienceToResponse_FillsEveryResponseProperty() throws Exception {
+    ExperienceResponse response = ExperienceMapper.toResponse(fullExperience());
+
+    assertEveryPropertySet(response);
+    assertThat(response.getRemainingCapacity()).isEqualTo(37);
+    assertThat(response.getHasAvailableSpots()).isTrue();
+  }
+
+  @Test
+  void experienceApplyRequest_CopiesNullsButKeepsTheKeysAndDefaults() {
+    Experience experience = fullExperience();
+    ExperienceRequest request = new ExperienceRequest();
+    request.setTitle("Renamed");
+
+    ExperienceMapper.applyRequest(request, experience);
+
+    assertThat(experience.getTitle()).isEqualTo("Renamed");
+    assertThat(experience.getDescription()).isNull();
+    assertThat(experience.getTags()).isNull();
+    assertThat(experience.getStatus()).isEqualTo(ExperienceStatus.DRAFT);
+    assertThat(experience.getCurrency()).isEqualTo("USD");
+    assertThat(experience.getExperienceId()).isEqualTo("exp-1");
+    assertThat(experience.getCreatedBy()).isEqualTo("user-1");
+  }
+
+  @Test
+  void userProfileMapper_KeepsUnsetFieldsAndFillsEveryResponseProperty() throws Exception {
+    UserProfile profile = new UserProfile("user-1");
+    profile.setCity("London");
+    UserProfileRequest request = new UserProfileRequest();
+    request.setDateOfBirth(LocalDate.of(1990, 3, 4));
+    request.setAddress("1 High Street");
+    request.setState("LDN");
+    request.setZipCode("N1");
+    request.setCountry("GB");
+    request.setLatitude(51.5);
+    request.setLongitude(-0.12);
+    request.setGender("female");
+    request.setProfession("Engineer");
+    request.setCompany("Acme");
+    request.setBio("Hi");
+    request.setPhoneNumber("+440000000000");
+
+    UserProfileMapper.applyRequest(request, profile);
+    UserProfileResponse response = UserProfileMapper.toResponse(profile);
+
+    assertThat(profile.getCity()).isEqualTo("London");
+    assertEveryPropertySet(response);
+    assertThat(response.getLatitude()).isEqualTo(51.5);
+  }
+
+  private static Experience fullExperience() {
+    Experience experience = new Experience("user-1");
+    experience.setExperienceId("exp-1");
+    experience.setTitle("Jazz night");
+    experience.setDescription("Live quartet");
+    experience.setType(ExperienceType.EVENT);
+    experience.setStatus(ExperienceStatus.PUBLISHED);
+    experience.setLocation("Riverside");
+    experience.setAddress("1 Riverside Walk");
+    experience.setCity("London");
+    experience.setCountry("GB");
+    experience.setLatitude(51.5);
+    experience.setLongitude(-0.12);
+    experience.setExperienceDate(LocalDate.of(2024, 6, 1));
+    experience.setStartTime(LocalTime.of(19, 30));
+    experience.setEndTime(LocalTime.of(22, 0));
+    experience.setPricePerPerson(new BigDecimal("25.50"));
+    experience.setCurrency("GBP");
+    experience.setMaxCapacity(40);
+    experience.setCurrentBookings(3);
+    experience.setTags(List.of("music"));
+    experience.setImages(List.of("https://example.com/a.png"));
+    experience.setContactInfo("hello@example.com");
+    experience.setRequirements("None");
+    experience.setCancellationPolicy("48h");
+    experience.setAverageRating(4.5);
+    experience.setTotalReviews(10);
+    experience.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+    experience.setUpdatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+    return experience;
+  }
+
+  /** Fails when a property is added to a response DTO but not to its mapper. */
+  private static void assertEveryPropertySet(Object bean)
+      throws IntrospectionException, IllegalAccessException, InvocationTargetException {
+    for (PropertyDescriptor property :
+        Introspector.getBeanInfo(bean.getClass(), Object.class).getPropertyDescriptors()) {
+      if (property.getReadMethod() != null) {
+        assertThat(property.getReadMethod().invoke(bean)).as(property.getName()).isNotNull();
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.yourafterspace.yas_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AsyncFanOutTest {
+
+  @Test
+  void run_ReturnsResultsInInputOrder() {
+    AsyncFanOut.Result<String> result =
+        AsyncFanOut.run(
+            List.of(1, 2, 3, 4),
+            i -> CompletableFuture.supplyAsync(() -> "cell-" + i),
+            2,
+            Duration.ofSeconds(1));
+
+    assertThat(result.getResults()).containsExactly("cell-1", "cell-2", "cell-3", "cell-4");
+    assertThat(result.isPartial()).isFalse();
+  }
+
+  @Test
+  void run_FailedAndTimedOutCallsProducePartialResults() {
+    AsyncFanOut.Result<String> result =
+        AsyncFanOut.run(
+            List.of("ok", "fail", "slow"),
+            input -> {
+              if ("fail".equals(input)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("boom"));
+              }
+              if ("slow".equals(input)) {
+                return new CompletableFuture<>(); // never completes
+              }
+              return CompletableFuture.completedFuture(input);
+            },
+            3,
+            Duration.ofMillis(50));
+
+    assertThat(result.getResults()).containsExactly("ok");
+    assertThat(result.isPartial()).isTrue();
+    assertThat(result.getFailures())
+        .hasSize(2)
+        .anyMatch(e -> e instanceof IllegalStateException)
+        .anyMatch(e -> e instanceof TimeoutException);
+  }
+
+  @Test
+  void run_NeverExceedsMaxConcurrency() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxSeen = new AtomicInteger();
+
+    AsyncFanOut.Result<Integer> result =
+        AsyncFanOut.run(
+            List.of(1, 2, 3, 4, 5, 6, 7, 8),
+            i ->
+                CompletableFuture.supplyAsync(
+                    () -> {
+                      maxSeen.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                      try {
+                        Thread.sleep(10);
+                      } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                      }
+                      inFlight.decrementAndGet();
+                      return i;
+                    }),
+            3,
+            Duration.ofSeconds(2));
+
+    assertThat(result.getResults()).hasSize(8);
+    assertThat(maxSeen.get()).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  void run_WorksThroughCompletedCallsWithoutGrowingTheStack() {
+    List<Integer> inputs = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      inputs.add(i);
+    }
+
+    AsyncFanOut.Result<Integer> result =
+        AsyncFanOut.run(inputs, CompletableFuture::completedFuture, 1, Duration.ofSeconds(1));
+
+    assertThat(result.getResults()).hasSize(100_000);
+    assertThat(result.isPartial()).isFalse();
+  }
+}
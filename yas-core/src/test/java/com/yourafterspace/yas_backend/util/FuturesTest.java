@@ -0,0 +1,63 @@
+package com.yourafterspace.yas_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class FuturesTest {
+
+  @Test
+  void allOf_CollectsResultsInOrderOnceAllComplete() {
+    CompletableFuture<String> first = new CompletableFuture<>();
+    CompletableFuture<String> second = CompletableFuture.completedFuture("b");
+
+    CompletableFuture<List<String>> all = Futures.allOf(List.of(first, second));
+    assertThat(all).isNotDone();
+    first.complete("a");
+
+    assertThat(all.join()).containsExactly("a", "b");
+  }
+
+  @Test
+  void allOf_KeepsTheKeysOfAMap() {
+    Map<String, CompletableFuture<Integer>> futures = new LinkedHashMap<>();
+    futures.put("z", CompletableFuture.completedFuture(1));
+    futures.put("a", CompletableFuture.supplyAsync(() -> 2));
+
+    assertThat(Futures.allOf(futures).join()).containsExactly(Map.entry("z", 1), Map.entry("a", 2));
+  }
+
+  @Test
+  void join_RethrowsTheOriginalException() {
+    CompletableFuture<String> failed =
+        CompletableFuture.supplyAsync(
+            () -> {
+              throw new IllegalStateException("boom");
+            });
+
+    assertThatThrownBy(() -> Futures.join(failed))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("boom");
+    assertThatThrownBy(() -> Futures.join(Futures.allOf(List.of(failed))))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void completed_CapturesTheOutcomeOfABlockingCall() {
+    assertThat(Futures.completed(() -> "done").join()).isEqualTo("done");
+    CompletableFuture<String> failed =
+        Futures.completed(
+            () -> {
+              throw new IllegalArgumentException("bad");
+            });
+
+    assertThat(failed).isCompletedExceptionally();
+    assertThat(Futures.unwrap(failed.handle((result, error) -> error).join()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,56 @@
+package com.yourafterspace.yas_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class GeohashUtilTest {
+
+  private static final double LONDON_LAT = 51.5074;
+  private static final double LONDON_LON = -0.1278;
+
+  @Test
+  void coverCircle_SmallRadiusUsesFewStoragePrecisionCells() {
+    List<String> cells = GeohashUtil.coverCircle(LONDON_LAT, LONDON_LON, 0.2);
+
+    assertThat(cells).isNotEmpty().hasSizeLessThanOrEqualTo(4);
+    assertThat(cells).allMatch(cell -> cell.length() == GeohashUtil.getGeohashPrecision());
+    assertThat(cells).contains(GeohashUtil.getGeohashPrefix(LONDON_LAT, LONDON_LON));
+  }
+
+  @Test
+  void coverCircle_LargeRadiusSwitchesToCoarserCellsWithinCap() {
+    List<String> cells = GeohashUtil.coverCircle(LONDON_LAT, LONDON_LON, 20.0);
+
+    assertThat(cells).hasSizeLessThanOrEqualTo(GeohashUtil.MAX_COVER_CELLS);
+    assertThat(cells.get(0).length()).isLessThan(GeohashUtil.getGeohashPrecision());
+    assertThat(cells).allMatch(cell -> cell.length() == cells.get(0).length());
+  }
+
+  @Test
+  void coverCircle_MaxRadiusStaysWithinCap() {
+    List<String> cells =
+        GeohashUtil.coverCircle(LONDON_LAT, LONDON_LON, GeohashUtil.MAX_SEARCH_RADIUS_KM);
+
+    assertThat(cells).hasSizeLessThanOrEqualTo(GeohashUtil.MAX_COVER_CELLS);
+  }
+
+  @Test
+  void coverCircle_CoversEveryPointInsideTheCircle() {
+    Random random = new Random(42);
+    for (double radiusKm : new double[] {0.2, 1.5, 7.0, 25.0}) {
+      List<String> cells = GeohashUtil.coverCircle(LONDON_LAT, LONDON_LON, radiusKm);
+      for (int i = 0; i < 500; i++) {
+        double lat = LONDON_LAT + (random.nextDouble() * 2 - 1) * radiusKm / 111.0;
+        double lon = LONDON_LON + (random.nextDouble() * 2 - 1) * radiusKm / 69.0;
+        if (GeohashUtil.calculateDistance(LONDON_LAT, LONDON_LON, lat, lon) > radiusKm) {
+          continue;
+        }
+        String pointHash = GeohashUtil.calculateGeohash(lat, lon, 9);
+        assertThat(cells).anyMatch(pointHash::startsWith);
+      }
+    }
+  }
+}
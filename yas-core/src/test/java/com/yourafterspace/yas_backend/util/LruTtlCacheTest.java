@@ -0,0 +1,80 @@
+package com.yourafterspace.yas_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class LruTtlCacheTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void evictsLeastRecentlyUsedEntryWhenFull() {
+    LruTtlCache<String, String> cache = newCache(2, 1_000);
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.getIfPresent("a"); // "b" is now least recently used
+    cache.put("c", "3");
+
+    assertThat(cache.getIfPresent("a")).isEqualTo("1");
+    assertThat(cache.getIfPresent("b")).isNull();
+    assertThat(cache.getIfPresent("c")).isEqualTo("3");
+    assertThat(cache.stats().getEvictionCount()).isEqualTo(1);
+  }
+
+  @Test
+  void evictsByWeightAndSkipsValuesHeavierThanTheCache() {
+    LruTtlCache<String, String> cache = newCache(100, 10);
+    cache.put("a", "aaaa");
+    cache.put("b", "bbbb");
+    cache.put("c", "cccc");
+    cache.put("huge", "xxxxxxxxxxxx");
+
+    assertThat(cache.getIfPresent("a")).isNull();
+    assertThat(cache.getIfPresent("huge")).isNull();
+    assertThat(cache.stats().getSize()).isEqualTo(2);
+    assertThat(cache.stats().getWeight()).isEqualTo(8);
+  }
+
+  @Test
+  void expiredEntriesCanBeRevalidated() {
+    LruTtlCache<String, String> cache = newCache(10, 1_000);
+    cache.put("a", "1");
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+    assertThat(cache.getIfPresent("a")).isNull();
+    String expired = cache.getExpired("a");
+    assertThat(expired).isEqualTo("1");
+    assertThat(cache.renew("a", expired)).isTrue();
+    assertThat(cache.getIfPresent("a")).isEqualTo("1");
+
+    LruTtlCache.Stats stats = cache.stats();
+    assertThat(stats.getHitCount()).isEqualTo(1);
+    assertThat(stats.getMissCount()).isEqualTo(1);
+    assertThat(stats.getRevalidationCount()).isEqualTo(1);
+  }
+
+  @Test
+  void renewFailsAfterTheEntryWasReplacedOrInvalidated() {
+    LruTtlCache<String, String> cache = newCache(10, 1_000);
+    cache.put("a", "1");
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+    String expired = cache.getExpired("a");
+
+    cache.put("a", "2");
+    assertThat(cache.renew("a", expired)).isFalse();
+
+    cache.invalidate("a");
+    assertThat(cache.getIfPresent("a")).isNull();
+    assertThat(cache.getExpired("a")).isNull();
+    assertThat(cache.stats().getInvalidationCount()).isEqualTo(1);
+    assertThat(cache.stats().getWeight()).isZero();
+  }
+
+  private LruTtlCache<String, String> newCache(int maxEntries, long maxWeight) {
+    return new LruTtlCache<>(
+        maxEntries, maxWeight, Duration.ofSeconds(30), String::length, now::get);
+  }
+}
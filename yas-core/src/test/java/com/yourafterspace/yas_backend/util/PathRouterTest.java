@@ -0,0 +1,69 @@
+package com.yourafterspace.yas_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class PathRouterTest {
+
+  private final PathRouter<String> router =
+      PathRouter.<String>builder()
+          .route("GET", "/health", "health")
+          .route("GET", "/groups", "listGroups")
+          .route("GET", "/groups/{groupId}", "getGroup")
+          .route("PUT", "/groups/{groupId}", "putGroup")
+          .route("GET", "/users/profile/{userId}", "getProfile")
+          .route("PUT", "/users/{userId}/experiences/{experienceId}/interest", "markInterest")
+          .build();
+
+  @Test
+  void matchesLiteralAndVariableSegmentsByMethod() {
+    PathRouter.Match match = router.newMatch();
+
+    assertThat(router.match("GET", "/health", match)).isEqualTo("health");
+    assertThat(router.match("GET", "/groups", match)).isEqualTo("listGroups");
+    assertThat(router.match("PUT", "/groups/group-1", match)).isEqualTo("putGroup");
+    assertThat(match.variable("groupId")).isEqualTo("group-1");
+    assertThat(match.variable("userId")).isNull();
+
+    assertThat(router.match("DELETE", "/groups/group-1", match)).isNull();
+    assertThat(router.match("GET", "/groups/group-1/members", match)).isNull();
+    assertThat(router.match("GET", "/groups//", match)).isNull();
+    assertThat(router.match("GET", "/healthz", match)).isNull();
+    assertThat(match.variable("groupId")).isNull();
+  }
+
+  @Test
+  void backtracksFromALiteralToAVariableSegment() {
+    PathRouter.Match match = router.newMatch();
+
+    assertThat(router.match("GET", "/users/profile/user-1", match)).isEqualTo("getProfile");
+    assertThat(match.variable("userId")).isEqualTo("user-1");
+
+    assertThat(router.match("PUT", "/users/profile/experiences/exp-1/interest", match))
+        .isEqualTo("markInterest");
+    assertThat(match.variable("userId")).isEqualTo("profile");
+    assertThat(match.variable("experienceId")).isEqualTo("exp-1");
+  }
+
+  @Test
+  void ignoresOneTrailingSlash() {
+    PathRouter.Match match = router.newMatch();
+
+    assertThat(router.match("GET", "/groups/group-1/", match)).isEqualTo("getGroup");
+    assertThat(match.variable("groupId")).isEqualTo("group-1");
+    assertThat(router.match("GET", "/groups/", match)).isEqualTo("listGroups");
+  }
+
+  @Test
+  void rejectsDuplicateAndMalformedRoutes() {
+    assertThatThrownBy(
+            () -> PathRouter.<String>builder().route("GET", "/a", "1").route("GET", "/a", "2"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PathRouter.<String>builder().route("GET", "a/b", "1"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PathRouter.<String>builder().route("TRACE", "/a", "1"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,89 @@
+package com.yourafterspace.yas_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RequestLogTest {
+
+  private final List<String> lines = new ArrayList<>();
+
+  @Test
+  void dropsBufferedDebugLinesOfASuccessfulInvocation() {
+    AtomicInteger built = new AtomicInteger();
+
+    RequestLog.Invocation log = RequestLog.begin(lines::add, 8, false);
+    try (log) {
+      RequestLog.debug(() -> "expensive " + built.incrementAndGet());
+      RequestLog.info("handled");
+    }
+
+    assertThat(lines).containsExactly("INFO handled");
+    assertThat(built).hasValue(0);
+  }
+
+  @Test
+  void writesBufferedDebugLinesWhenTheInvocationFails() {
+    RequestLog.Invocation log = RequestLog.begin(lines::add, 8, false);
+    try (log) {
+      RequestLog.debug("first");
+      RequestLog.debug(() -> "second");
+      RequestLog.error("boom");
+    }
+
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0)).isEqualTo("ERROR boom");
+    assertThat(lines.get(1)).startsWith("DEBUG +").endsWith("ms first");
+    assertThat(lines.get(2)).startsWith("DEBUG +").endsWith("ms second");
+  }
+
+  @Test
+  void writesBufferedDebugLinesOfASampledInvocation() {
+    RequestLog.Invocation log = RequestLog.begin(lines::add, 8, true);
+    try (log) {
+      RequestLog.debug("kept");
+    }
+
+    assertThat(lines).singleElement().asString().endsWith("ms kept");
+  }
+
+  @Test
+  void keepsOnlyTheMostRecentLinesWhenTheBufferOverflows() {
+    try (RequestLog.Invocation log = RequestLog.begin(lines::add, 2, false)) {
+      for (int i = 1; i <= 5; i++) {
+        RequestLog.debug("line " + i);
+      }
+      log.markFailed();
+    }
+
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0)).isEqualTo("DEBUG (3 earlier debug lines dropped)");
+    assertThat(lines.get(1)).endsWith("ms line 4");
+    assertThat(lines.get(2)).endsWith("ms line 5");
+  }
+
+  @Test
+  void enablesGuardedDebugWorkOnlyForSampledInvocations() {
+    RequestLog.Invocation unsampled = RequestLog.begin(lines::add, 8, false);
+    assertThat(RequestLog.isDebugEnabled()).isFalse();
+    unsampled.close();
+
+    RequestLog.Invocation sampled = RequestLog.begin(lines::add, 8, true);
+    assertThat(RequestLog.isDebugEnabled()).isTrue();
+    sampled.close();
+  }
+
+  @Test
+  void disablesDebugLinesWithoutABuffer() {
+    try (RequestLog.Invocation log = RequestLog.begin(lines::add, 0, false)) {
+      assertThat(RequestLog.isDebugEnabled()).isFalse();
+      RequestLog.debug("ignored");
+      log.markFailed();
+    }
+
+    assertThat(lines).isEmpty();
+  }
+}
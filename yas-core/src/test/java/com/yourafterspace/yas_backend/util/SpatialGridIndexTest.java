@@ -0,0 +1,78 @@
+package com.yourafterspace.yas_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SpatialGridIndexTest {
+
+  private static final double CENTER_LAT = 51.5074;
+  private static final double CENTER_LON = -0.1278;
+
+  private final List<double[]> points = new ArrayList<>();
+  private SpatialGridIndex<double[]> index;
+
+  @BeforeEach
+  void setUp() {
+    Random random = new Random(7);
+    for (int i = 0; i < 2000; i++) {
+      points.add(
+          new double[] {
+            CENTER_LAT + (random.nextDouble() - 0.5), CENTER_LON + (random.nextDouble() - 0.5)
+          });
+    }
+    index = SpatialGridIndex.build(points, p -> p[0], p -> p[1]);
+  }
+
+  @Test
+  void withinRadius_MatchesBruteForce() {
+    for (double radiusKm : new double[] {0.5, 3.0, 12.0}) {
+      List<double[]> expected =
+          points.stream()
+              .filter(p -> distance(p) <= radiusKm)
+              .sorted(Comparator.comparingDouble(this::distance))
+              .collect(Collectors.toList());
+
+      List<double[]> actual =
+          index.withinRadius(CENTER_LAT, CENTER_LON, radiusKm).stream()
+              .map(SpatialGridIndex.Hit::getItem)
+              .collect(Collectors.toList());
+
+      assertThat(actual).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  void nearest_ReturnsTheKClosestPoints() {
+    List<double[]> expected =
+        points.stream()
+            .sorted(Comparator.comparingDouble(this::distance))
+            .limit(10)
+            .collect(Collectors.toList());
+
+    List<SpatialGridIndex.Hit<double[]>> hits = index.nearest(CENTER_LAT, CENTER_LON, 10, 40.0);
+
+    assertThat(hits.stream().map(SpatialGridIndex.Hit::getItem).collect(Collectors.toList()))
+        .containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void nearest_StopsAtMaxRadius() {
+    SpatialGridIndex<double[]> sparse =
+        SpatialGridIndex.build(
+            List.of(new double[] {CENTER_LAT + 1.0, CENTER_LON}), p -> p[0], p -> p[1]);
+
+    assertThat(sparse.nearest(CENTER_LAT, CENTER_LON, 1, 40.0)).isEmpty();
+    assertThat(sparse.nearest(CENTER_LAT, CENTER_LON, 1, 200.0)).hasSize(1);
+  }
+
+  private double distance(double[] point) {
+    return GeohashUtil.calculateDistance(CENTER_LAT, CENTER_LON, point[0], point[1]);
+  }
+}
@@ -0,0 +1,112 @@
+package com.yourafterspace.yas_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class StructuredFanOutTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void map_ReturnsResultsInInputOrderWithinTheConcurrencyLimit() {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxSeen = new AtomicInteger();
+
+    List<String> results =
+        StructuredFanOut.map(
+            List.of(5, 1, 4, 2, 3, 0),
+            i -> {
+              maxSeen.accumulateAndGet(running.incrementAndGet(), Math::max);
+              sleep(i * 5L);
+              running.decrementAndGet();
+              return "item-" + i;
+            },
+            executor,
+            2,
+            Duration.ofSeconds(5));
+
+    assertThat(results).containsExactly("item-5", "item-1", "item-4", "item-2", "item-3", "item-0");
+    assertThat(maxSeen.get()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  void map_FirstFailureCancelsTheOtherCalls() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+
+    assertThatThrownBy(
+            () ->
+                StructuredFanOut.map(
+                    List.of("slow", "fail"),
+                    input -> {
+                      if ("fail".equals(input)) {
+                        // Fail only once the slow call runs, so it is interrupted, not skipped
+                        awaitQuietly(started);
+                        throw new IllegalStateException("boom");
+                      }
+                      try {
+                        started.countDown();
+                        Thread.sleep(10_000);
+                      } catch (InterruptedException e) {
+                        interrupted.countDown();
+                      }
+                      return input;
+                    },
+                    executor,
+                    2,
+                    Duration.ofSeconds(5)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("boom");
+    assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void map_FailsOnceTheDeadlinePasses() {
+    assertThatThrownBy(
+            () ->
+                StructuredFanOut.map(
+                    List.of(1, 2),
+                    i -> {
+                      sleep(10_000);
+                      return i;
+                    },
+                    executor,
+                    2,
+                    Duration.ofMillis(50)))
+        .isInstanceOf(CompletionException.class)
+        .hasCauseInstanceOf(TimeoutException.class);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -1,43 +1,80 @@
 package com.yourafterspace.lambda;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yourafterspace.yas_backend.dao.ConnectionPoolMetrics;
+import com.yourafterspace.yas_backend.dao.DynamoDbClientFactory;
 import com.yourafterspace.yas_backend.dao.ExperienceDao;
 import com.yourafterspace.yas_backend.dao.GroupDao;
 import com.yourafterspace.yas_backend.dao.GroupExperienceDao;
+import com.yourafterspace.yas_backend.dao.NearbyExperienceIndex;
+import com.yourafterspace.yas_backend.dao.Page;
+import com.yourafterspace.yas_backend.dao.UpcomingInterestDao;
 import com.yourafterspace.yas_backend.dao.UserExperienceDao;
 import com.yourafterspace.yas_backend.dao.VenueLocationDao;
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.dao.mapping.UserProfileAttributes;
+import com.yourafterspace.yas_backend.dto.UserProfileMapper;
 import com.yourafterspace.yas_backend.dto.UserProfileRequest;
 import com.yourafterspace.yas_backend.dto.UserProfileResponse;
+import com.yourafterspace.yas_backend.exception.BadRequestException;
+import com.yourafterspace.yas_backend.exception.ExperienceFullyBookedException;
+import com.yourafterspace.yas_backend.exception.ResourceNotFoundException;
 import com.yourafterspace.yas_backend.model.Experience;
 import com.yourafterspace.yas_backend.model.Group;
 import com.yourafterspace.yas_backend.model.GroupExperience;
 import com.yourafterspace.yas_backend.model.UserExperience;
 import com.yourafterspace.yas_backend.model.UserExperience.UserExperienceStatus;
 import com.yourafterspace.yas_backend.model.UserProfile;
-import com.yourafterspace.yas_backend.model.UserProfile.UserStatus;
 import com.yourafterspace.yas_backend.model.VenueLocation;
+import com.yourafterspace.yas_backend.util.AsyncFanOut;
+import com.yourafterspace.yas_backend.util.DynamoDbItemSize;
+import com.yourafterspace.yas_backend.util.Futures;
 import com.yourafterspace.yas_backend.util.GeohashUtil;
+import com.yourafterspace.yas_backend.util.LruTtlCache;
+import com.yourafterspace.yas_backend.util.PathRouter;
+import com.yourafterspace.yas_backend.util.RequestLog;
+import com.yourafterspace.yas_backend.util.SpatialGridIndex;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
@@ -58,7 +95,11 @@ public class ApiGatewayHandler
 
   private static final ObjectMapper objectMapper;
   private static final ObjectWriter objectWriter;
+  private static final ResponseJsonWriter responseWriter;
   private static final DynamoDbClient dynamoDbClient;
+  private static final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private static final ConnectionPoolMetrics dynamoDbPoolMetrics;
+  private static final ConnectionPoolMetrics dynamoDbAsyncPoolMetrics;
   private static final String TABLE_NAME;
 
   // DAO instances (reused across invocations for better performance)
@@ -67,6 +108,13 @@ public class ApiGatewayHandler
   private static final GroupExperienceDao groupExperienceDao;
   private static final UserExperienceDao userExperienceDao;
   private static final ExperienceDao experienceDao;
+  private static final UpcomingInterestDao upcomingInterestDao;
+
+  /** Read-through cache of experience items for this container (null when disabled) */
+  private static final LruTtlCache<String, Map<String, AttributeValue>> experienceCache;
+
+  /** In-memory spatial index for nearby search (null when disabled) */
+  private static final NearbyExperienceIndex nearbyExperienceIndex;
 
   /** Header name set by API Gateway when using Cognito authorizer */
   private static final String HEADER_COGNITO_IDENTITY = "x-amzn-oidc-identity";
@@ -77,22 +125,95 @@ public class ApiGatewayHandler
   /** Default DynamoDB table name */
   private static final String DEFAULT_TABLE_NAME = "YAS-DB";
 
+  /** Upper bound for a single async DynamoDB call (fan-out queries for nearby search) */
+  private static final Duration ASYNC_API_CALL_TIMEOUT = Duration.ofSeconds(3);
+
+  /** Page size of the paginated list endpoints when no limit is given */
+  private static final int DEFAULT_PAGE_LIMIT = 100;
+
+  /** Largest page size a client may ask for with ?limit= */
+  private static final int MAX_PAGE_LIMIT = 500;
+
+  /** Maximum number of latest-profile queries in flight when loading many profiles */
+  private static final int MAX_CONCURRENT_PROFILE_QUERIES = 16;
+
+  /** Maximum number of group/experience lookups in flight when expanding a user's groups */
+  private static final int MAX_CONCURRENT_GROUP_QUERIES = 16;
+
+  /**
+   * Threads for the blocking lookups of the group expansion; daemon threads, so a frozen or
+   * shutting down container is never held up by them.
+   */
+  private static final ExecutorService groupFanOutExecutor =
+      Executors.newFixedThreadPool(
+          MAX_CONCURRENT_GROUP_QUERIES,
+          runnable -> {
+            Thread thread = new Thread(runnable, "group-fan-out");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** Radius that contains the 3x3 geohash neighbourhood used when no radius is given */
+  private static final double NEIGHBOURHOOD_RADIUS_KM = 3.0;
+
   static {
     // Initialize ObjectMapper with JavaTimeModule for LocalDate support
     objectMapper = new ObjectMapper();
     objectMapper.registerModule(new JavaTimeModule());
     objectWriter = objectMapper.writer();
+    responseWriter = new ResponseJsonWriter(objectMapper);
 
     // Initialize DynamoDB client (reused across invocations)
     String region = System.getenv("AWS_REGION");
     if (region == null || region.isEmpty()) {
       region = "eu-west-2"; // Default region
     }
-    dynamoDbClient =
-        DynamoDbClient.builder()
+    // DYNAMODB_* settings shared by both clients; unset ones keep the SDK defaults
+    DynamoDbClientFactory.Builder clients =
+        DynamoDbClientFactory.builder()
             .region(Region.of(region))
             .credentialsProvider(DefaultCredentialsProvider.create())
-            .build();
+            .maxConnections(getEnvInteger("DYNAMODB_MAX_CONNECTIONS"))
+            .connectionTimeout(getEnvMillis("DYNAMODB_CONNECTION_TIMEOUT_MILLIS"))
+            .connectionAcquisitionTimeout(
+                getEnvMillis("DYNAMODB_CONNECTION_ACQUISITION_TIMEOUT_MILLIS"))
+            .connectionTimeToLive(getEnvMillis("DYNAMODB_CONNECTION_TTL_MILLIS"))
+            .apiCallTimeout(getEnvMillis("DYNAMODB_API_CALL_TIMEOUT_MILLIS"))
+            .apiCallAttemptTimeout(getEnvMillis("DYNAMODB_API_CALL_ATTEMPT_TIMEOUT_MILLIS"));
+    String httpClient = System.getenv("DYNAMODB_HTTP_CLIENT");
+    String retryMode = System.getenv("DYNAMODB_RETRY_MODE");
+    String endpoint = System.getenv("DYNAMODB_ENDPOINT");
+    try {
+      if (httpClient != null && !httpClient.isBlank()) {
+        clients.httpClientType(DynamoDbClientFactory.HttpClientType.parse(httpClient));
+      }
+      if (retryMode != null && !retryMode.isBlank()) {
+        clients.retryMode(RetryMode.valueOf(retryMode.trim().toUpperCase(Locale.ROOT)));
+      }
+      if (endpoint != null && !endpoint.isBlank()) {
+        clients.endpointOverride(URI.create(endpoint.trim()));
+      }
+    } catch (IllegalArgumentException e) {
+      RequestLog.warn("Ignoring invalid DynamoDB client setting: " + e.getMessage());
+    }
+
+    // Initialize DynamoDB client (reused across invocations), unless a stand-in was installed
+    dynamoDbPoolMetrics = new ConnectionPoolMetrics();
+    DynamoDbClient standInClient = DynamoDbStandIn.client();
+    dynamoDbClient =
+        standInClient != null ? standInClient : clients.build().createClient(dynamoDbPoolMetrics);
+
+    // Async client for concurrent fan-out queries (geohash cells, venues); its calls keep a short
+    // time limit unless one is configured
+    if (getEnvMillis("DYNAMODB_API_CALL_TIMEOUT_MILLIS") == null) {
+      clients.apiCallTimeout(ASYNC_API_CALL_TIMEOUT);
+    }
+    dynamoDbAsyncPoolMetrics = new ConnectionPoolMetrics();
+    DynamoDbAsyncClient standInAsyncClient = DynamoDbStandIn.asyncClient();
+    dynamoDbAsyncClient =
+        standInAsyncClient != null
+            ? standInAsyncClient
+            : clients.build().createAsyncClient(dynamoDbAsyncPoolMetrics);
 
     // Get table name from environment variable or use default
     String envTableName = System.getenv("AWS_DYNAMODB_USER_PROFILE_TABLE");
@@ -104,21 +225,147 @@ public class ApiGatewayHandler
         (envTableName != null && !envTableName.isEmpty()) ? envTableName : DEFAULT_TABLE_NAME;
 
     // Initialize DAOs (reused across invocations)
-    groupDao = new GroupDao(dynamoDbClient, TABLE_NAME);
-    venueLocationDao = new VenueLocationDao(dynamoDbClient, TABLE_NAME);
-    groupExperienceDao = new GroupExperienceDao(dynamoDbClient, TABLE_NAME);
-    userExperienceDao = new UserExperienceDao(dynamoDbClient, TABLE_NAME);
-    experienceDao = new ExperienceDao(dynamoDbClient, TABLE_NAME);
+    groupDao = new GroupDao(dynamoDbClient, dynamoDbAsyncClient, TABLE_NAME);
+    venueLocationDao = new VenueLocationDao(dynamoDbClient, dynamoDbAsyncClient, TABLE_NAME);
+    groupExperienceDao = new GroupExperienceDao(dynamoDbClient, dynamoDbAsyncClient, TABLE_NAME);
+    userExperienceDao = new UserExperienceDao(dynamoDbClient, dynamoDbAsyncClient, TABLE_NAME);
+    // Experience cache (warm containers only; EXPERIENCE_CACHE_MAX_ENTRIES=0 disables it). The
+    // TTL bounds how long an update made through another container can go unnoticed.
+    long experienceCacheMaxEntries = getEnvLong("EXPERIENCE_CACHE_MAX_ENTRIES", 1000);
+    if (experienceCacheMaxEntries > 0) {
+      experienceCache =
+          new LruTtlCache<>(
+              (int) Math.min(Integer.MAX_VALUE, experienceCacheMaxEntries),
+              getEnvLong("EXPERIENCE_CACHE_MAX_BYTES", 16L * 1024 * 1024),
+              Duration.ofSeconds(getEnvLong("EXPERIENCE_CACHE_TTL_SECONDS", 30)),
+              DynamoDbItemSize::estimate);
+    } else {
+      experienceCache = null;
+    }
+    experienceDao =
+        new ExperienceDao(dynamoDbClient, dynamoDbAsyncClient, TABLE_NAME, experienceCache);
+    upcomingInterestDao = new UpcomingInterestDao(dynamoDbClient, dynamoDbAsyncClient, TABLE_NAME);
+
+    // In-memory spatial index for nearby search (loaded lazily on the first nearby request)
+    if ("false".equalsIgnoreCase(System.getenv("NEARBY_INDEX_ENABLED"))) {
+      nearbyExperienceIndex = null;
+    } else {
+      nearbyExperienceIndex =
+          new NearbyExperienceIndex(
+              experienceDao,
+              Duration.ofSeconds(getEnvLong("NEARBY_INDEX_REFRESH_SECONDS", 60)),
+              Duration.ofSeconds(getEnvLong("NEARBY_INDEX_MAX_STALENESS_SECONDS", 300)));
+    }
 
     // Log table name for debugging (will appear in CloudWatch logs)
-    System.out.println("DynamoDB Table Name: " + TABLE_NAME);
-    System.out.println("DynamoDB Region: " + region);
-    System.out.println("DAOs initialized successfully");
+    RequestLog.info("DynamoDB Table Name: " + TABLE_NAME);
+    RequestLog.info("DynamoDB Region: " + region);
+    RequestLog.info("DAOs initialized successfully");
+  }
+
+  /**
+   * DynamoDB clients the handler uses instead of building its own, for in-process load and
+   * integration runs against a stand-in such as an in-memory DynamoDB. They must be installed
+   * before the handler class initializes; using this class does not initialize the handler.
+   */
+  static final class DynamoDbStandIn {
+
+    private static DynamoDbClient client;
+    private static DynamoDbAsyncClient asyncClient;
+    private static boolean consumed;
+
+    private DynamoDbStandIn() {}
+
+    /**
+     * Install the clients the handler should use.
+     *
+     * @param client Sync client
+     * @param asyncClient Async client
+     * @throws IllegalStateException If the handler already created its clients
+     */
+    static synchronized void install(DynamoDbClient client, DynamoDbAsyncClient asyncClient) {
+      if (consumed) {
+        throw new IllegalStateException("The handler already created its DynamoDB clients");
+      }
+      DynamoDbStandIn.client = Objects.requireNonNull(client, "client");
+      DynamoDbStandIn.asyncClient = Objects.requireNonNull(asyncClient, "asyncClient");
+    }
+
+    private static synchronized DynamoDbClient client() {
+      consumed = true;
+      return client;
+    }
+
+    private static synchronized DynamoDbAsyncClient asyncClient() {
+      consumed = true;
+      return asyncClient;
+    }
+  }
+
+  /**
+   * Parse the ?limit= page size of a list endpoint.
+   *
+   * @param limit Raw query parameter (null or blank for the default)
+   * @return Page size between 1 and {@value #MAX_PAGE_LIMIT}
+   * @throws IllegalArgumentException If the limit is not a number in that range
+   */
+  private static int parsePageLimit(String limit) {
+    if (limit == null || limit.isBlank()) {
+      return DEFAULT_PAGE_LIMIT;
+    }
+    int pageLimit;
+    try {
+      pageLimit = Integer.parseInt(limit.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("limit must be a number");
+    }
+    if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+      throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_LIMIT);
+    }
+    return pageLimit;
+  }
+
+  /** Read a numeric environment variable, falling back to a default when unset or invalid. */
+  private static long getEnvLong(String name, long defaultValue) {
+    String value = System.getenv(name);
+    if (value == null || value.isBlank()) {
+      return defaultValue;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  /** Read a positive integer environment variable, or null when unset or invalid. */
+  private static Integer getEnvInteger(String name) {
+    long value = getEnvLong(name, 0);
+    return value > 0 && value <= Integer.MAX_VALUE ? (int) value : null;
+  }
+
+  /** Read a positive duration in milliseconds from the environment, or null when unset. */
+  private static Duration getEnvMillis(String name) {
+    long millis = getEnvLong(name, 0);
+    return millis > 0 ? Duration.ofMillis(millis) : null;
   }
 
   @Override
   public APIGatewayProxyResponseEvent handleRequest(
       APIGatewayProxyRequestEvent input, Context context) {
+    LambdaLogger logger = context != null ? context.getLogger() : null;
+    try (RequestLog.Invocation log = RequestLog.begin(logger != null ? logger::log : null)) {
+      APIGatewayProxyResponseEvent response = processRequest(input, context);
+      if (response.getStatusCode() == null || response.getStatusCode() >= 500) {
+        // Keep the buffered debug lines of failed requests
+        log.markFailed();
+      }
+      return response;
+    }
+  }
+
+  private APIGatewayProxyResponseEvent processRequest(
+      APIGatewayProxyRequestEvent input, Context context) {
     try {
       String path = input.getPath();
       String httpMethod = input.getHttpMethod();
@@ -140,48 +387,19 @@ public class ApiGatewayHandler
       }
 
       // Log request for debugging
-      if (context != null && context.getLogger() != null) {
-        context
-            .getLogger()
-            .log(
-                String.format(
-                    "Request: %s %s, User: %s",
-                    httpMethod, path, userId != null ? userId : "anonymous"));
-        context.getLogger().log("DEBUG: Raw path from API Gateway: [" + path + "]");
-        // Debug: Log header extraction
-        context.getLogger().log("DEBUG: Looking for header: " + HEADER_COGNITO_IDENTITY);
-        context
-            .getLogger()
-            .log("DEBUG: Headers map keys: " + (headers != null ? headers.keySet() : "null"));
-        context.getLogger().log("DEBUG: Extracted userId: " + (userId != null ? userId : "null"));
-        // Check if header exists with different case
-        if (headers != null) {
-          for (Map.Entry<String, String> entry : headers.entrySet()) {
-            if (entry.getKey().toLowerCase().contains("oidc")
-                || entry.getKey().toLowerCase().contains("identity")) {
-              context
-                  .getLogger()
-                  .log(
-                      "DEBUG: Found OIDC-related header: "
-                          + entry.getKey()
-                          + " = "
-                          + entry.getValue());
-            }
-          }
-        }
-        context.getLogger().log("DEBUG: Raw userId from header: [" + userId + "]");
-        if (userId != null) {
-          context.getLogger().log("DEBUG: userId length: " + userId.length());
-          context
-              .getLogger()
-              .log("DEBUG: userId bytes: " + java.util.Arrays.toString(userId.getBytes()));
-        }
-        // Log all headers for debugging (useful for API Gateway test console)
-        if (headers != null && !headers.isEmpty()) {
-          context.getLogger().log("DEBUG: All headers: " + headers.keySet());
-        }
+      RequestLog.info(
+          String.format(
+              "Request: %s %s, User: %s", httpMethod, path, userId != null ? userId : "anonymous"));
+      if (experienceCache != null) {
+        RequestLog.debug(() -> "ExperienceCache: " + experienceCache.stats());
       }
-
+      RequestLog.debug(
+          () ->
+              "DynamoDB pools: sync ["
+                  + dynamoDbPoolMetrics
+                  + "], async ["
+                  + dynamoDbAsyncPoolMetrics
+                  + "]");
       // Route requests based on path
       Map<String, String> queryParams =
           input.getQueryStringParameters() != null
@@ -189,46 +407,41 @@ public class ApiGatewayHandler
               : new HashMap<>();
 
       // Debug: Log parsed query parameters
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("DEBUG: Parsed queryParams map: " + queryParams);
-        context.getLogger().log("DEBUG: queryParams keys: " + queryParams.keySet());
-        if (queryParams.containsKey("lat")) {
-          String latValue = queryParams.get("lat");
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: queryParams.get('lat') = ["
-                      + latValue
-                      + "], length="
-                      + (latValue != null ? latValue.length() : "null"));
-        }
-        if (queryParams.containsKey("lon")) {
-          String lonValue = queryParams.get("lon");
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: queryParams.get('lon') = ["
-                      + lonValue
-                      + "], length="
-                      + (lonValue != null ? lonValue.length() : "null"));
-        }
-        if (queryParams.containsKey("radius")) {
-          String radiusValue = queryParams.get("radius");
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: queryParams.get('radius') = ["
-                      + radiusValue
-                      + "], length="
-                      + (radiusValue != null ? radiusValue.length() : "null"));
-        }
+      RequestLog.debug(() -> "Parsed queryParams map: " + queryParams);
+      RequestLog.debug(() -> "queryParams keys: " + queryParams.keySet());
+      if (queryParams.containsKey("lat")) {
+        String latValue = queryParams.get("lat");
+        RequestLog.debug(
+            () ->
+                "queryParams.get('lat') = ["
+                    + latValue
+                    + "], length="
+                    + (latValue != null ? latValue.length() : "null"));
+      }
+      if (queryParams.containsKey("lon")) {
+        String lonValue = queryParams.get("lon");
+        RequestLog.debug(
+            () ->
+                "queryParams.get('lon') = ["
+                    + lonValue
+                    + "], length="
+                    + (lonValue != null ? lonValue.length() : "null"));
+      }
+      if (queryParams.containsKey("radius")) {
+        String radiusValue = queryParams.get("radius");
+        RequestLog.debug(
+            () ->
+                "queryParams.get('radius') = ["
+                    + radiusValue
+                    + "], length="
+                    + (radiusValue != null ? radiusValue.length() : "null"));
       }
 
       // Also get path parameters if available (from API Gateway resource configuration)
       Map<String, String> pathParameters =
           input.getPathParameters() != null ? input.getPathParameters() : new HashMap<>();
-      if (context != null && context.getLogger() != null && !pathParameters.isEmpty()) {
-        context.getLogger().log("DEBUG: Path parameters from API Gateway: " + pathParameters);
+      if (!pathParameters.isEmpty()) {
+        RequestLog.debug(() -> "Path parameters from API Gateway: " + pathParameters);
       }
 
       // Get multi-value query string parameters for fallback parsing
@@ -251,13 +464,233 @@ public class ApiGatewayHandler
 
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
 
+  /**
+   * Route table of the handler, compiled once into a segment trie. Supports both /v1 and
+   * non-versioned paths (the /v1 prefix is stripped before matching).
+   */
+  private static final PathRouter<RouteHandler> ROUTES =
+      PathRouter.<RouteHandler>builder()
+          // Health check endpoint (public, no auth required)
+          .route(
+              "GET",
+              "/health",
+              (h, r) -> h.createSuccessResponse(200, Map.of("status", "OK"), "application/json"))
+          // API endpoints (require authentication)
+          .route(
+              "GET",
+              "/api/auth/me",
+              authenticated((h, r) -> h.handleGetMe(r.userId, r.cognitoData)))
+          .route(
+              "GET", "/api/auth/status", authenticated((h, r) -> h.handleGetAuthStatus(r.userId)))
+          // User endpoints - /users/profile accepts the UserId header or the Cognito identity
+          .route("GET", "/users/profile", (h, r) -> h.routeOwnProfile(r, false))
+          .route("PUT", "/users/profile", (h, r) -> h.routeOwnProfile(r, true))
+          .route(
+              "GET",
+              "/users/profile/{userId}",
+              (h, r) -> h.handleGetUserProfile(r.variable("userId"), r.context))
+          // GET /users?interested={true|false}&paid={true|false}&cursor={cursor}&limit={limit}
+          .route(
+              "GET",
+              "/users",
+              authenticated(
+                  (h, r) ->
+                      h.handleGetUsers(
+                          r.query("interested"),
+                          r.query("paid"),
+                          r.query("cursor"),
+                          r.query("limit"),
+                          r.context)))
+          // Group endpoints (require authentication)
+          // GET
+          // /groups?userId={userId}&experienceId={experienceId}&includeUsers={true|false}&notPaid={true|false}&cursor={cursor}&limit={limit}
+          .route(
+              "GET",
+              "/groups",
+              authenticated(
+                  (h, r) ->
+                      h.handleGetGroups(
+                          r.query("userId"),
+                          r.query("experienceId"),
+                          r.query("includeUsers"),
+                          r.query("notPaid"),
+                          r.query("cursor"),
+                          r.query("limit"),
+                          r.context)))
+          .route(
+              "GET",
+              "/groups/{groupId}",
+              authenticated((h, r) -> h.handleGetGroup(r.variable("groupId"), r.context)))
+          .route(
+              "PUT",
+              "/groups/{groupId}",
+              authenticated(
+                  (h, r) ->
+                      h.handleCreateOrUpdateGroup(
+                          r.variable("groupId"), r.body, r.userId, r.context)))
+          // Experience endpoints (require authentication)
+          .route("GET", "/experiences", authenticated(ApiGatewayHandler::routeGetExperiences))
+          .route("PUT", "/experiences", authenticated(ApiGatewayHandler::routePutExperience))
+          .route(
+              "GET",
+              "/experiences/{experienceId}",
+              authenticated(
+                  (h, r) -> h.handleGetExperience(r.pathParameter("experienceId"), r.context)))
+          .route(
+              "PUT",
+              "/experiences/{experienceId}",
+              authenticated(ApiGatewayHandler::routePutExperience))
+          .route(
+              "GET",
+              "/experiences/{experienceId}/interested-users",
+              authenticated(
+                  (h, r) ->
+                      h.handleGetInterestedUsers(
+                          r.pathParameter("experienceId"),
+                          r.query("cursor"),
+                          r.query("limit"),
+                          r.context)))
+          .route(
+              "GET",
+              "/experiences/{experienceId}/attended-users",
+              authenticated(
+                  (h, r) ->
+                      h.handleGetAttendedUsers(
+                          r.pathParameter("experienceId"),
+                          r.query("cursor"),
+                          r.query("limit"),
+                          r.context)))
+          // User-Experience endpoints (require authentication, own account only)
+          .route(
+              "PUT",
+              "/users/{userId}/experiences/{experienceId}/interest",
+              authenticated(ApiGatewayHandler::routeMarkUserInterest))
+          .route(
+              "PUT",
+              "/users/{userId}/experiences/{experienceId}/payment",
+              authenticated(ApiGatewayHandler::routeMarkUserPayment))
+          .build();
+
+  /**
+   * Match holder of each thread, so routing a request does not allocate one. A request's route
+   * reads its path variables before the thread routes another request.
+   */
+  private static final ThreadLocal<PathRouter.Match> ROUTE_MATCH =
+      ThreadLocal.withInitial(ROUTES::newMatch);
+
+  /** Path prefixes whose unmatched requests answer 401 rather than 404 when unauthenticated */
+  private static final String[] AUTHENTICATED_PREFIXES = {
+    "/api", "/users", "/groups", "/experiences"
+  };
+
+  /** Key of the item read while priming; it never exists, the read only opens a connection */
+  private static final Map<String, AttributeValue> PRIMING_KEY =
+      Map.of(
+          "pk", AttributeValue.builder().s("PRIMING#init").build(),
+          "sk", AttributeValue.builder().s("PRIMING#init").build());
+
+  static {
+    // After the route table, so that priming can exercise it
+    if (isPrimingEnabled()) {
+      prime();
+    }
+  }
+
+  /**
+   * Whether the init phase primes the handler. On by default inside Lambda and off elsewhere
+   * (tests, local runs); PRIME_ON_INIT=true or false overrides it.
+   */
+  private static boolean isPrimingEnabled() {
+    String primeOnInit = System.getenv("PRIME_ON_INIT");
+    if (primeOnInit != null && !primeOnInit.isBlank()) {
+      return Boolean.parseBoolean(primeOnInit.trim());
+    }
+    return System.getenv("AWS_LAMBDA_FUNCTION_NAME") != null;
+  }
+
+  /**
+   * Do the one-off work of the first request during the init phase instead: build the Jackson
+   * serializers of the response envelope and the entities, open the DynamoDB connections (TLS
+   * handshake, credentials, SDK marshallers) and load the routing classes. Failures are logged and
+   * otherwise ignored; the first request then pays for what is left.
+   */
+  private static void prime() {
+    long start = System.nanoTime();
+    try {
+      primeSerializers();
+    } catch (IOException | RuntimeException e) {
+      RequestLog.warn("Priming serializers failed: " + e.getMessage());
+    }
+    try {
+      dynamoDbClient.getItem(
+          GetItemRequest.builder().tableName(TABLE_NAME).key(PRIMING_KEY).build());
+      dynamoDbAsyncClient
+          .getItem(GetItemRequest.builder().tableName(TABLE_NAME).key(PRIMING_KEY).build())
+          .get(ASYNC_API_CALL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      RequestLog.warn("Priming DynamoDB connections failed: " + e.getMessage());
+    }
+    PathRouter.Match match = ROUTES.newMatch();
+    ROUTES.match("GET", "/experiences/priming/interested-users", match);
+    ROUTES.match("PUT", "/users/priming/experiences/priming/payment", match);
+    RequestLog.info("Primed in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+  }
+
+  private static void primeSerializers() throws IOException {
+    Experience experience = new Experience();
+    experience.setExperienceId("priming");
+    experience.setType(Experience.ExperienceType.values()[0]);
+    experience.setExperienceDate(LocalDate.now());
+    experience.setStartTime(LocalTime.NOON);
+    experience.setPricePerPerson(BigDecimal.ONE);
+    experience.setCreatedAt(Instant.now());
+    UserProfile profile = new UserProfile("priming");
+    UserExperience userExperience = new UserExperience("priming", "priming");
+    userExperience.setPaymentDetails(new UserExperience.PaymentDetails());
+
+    Map<String, Object> envelope = new HashMap<>();
+    envelope.put("success", true);
+    envelope.put("message", "priming");
+    envelope.put(
+        "data",
+        List.of(
+            experience,
+            profile,
+            userExperience,
+            new Group(),
+            new GroupExperience(),
+            new VenueLocation(),
+            new UserProfileResponse()));
+    envelope.put("timestamp", Instant.now().toString());
+    objectWriter.writeValueAsString(envelope);
+
+    responseWriter.writeEnvelope(
+        "priming",
+        gen -> {
+          gen.writeStartArray();
+          ResponseJsonWriter.writeExperience(gen, experience);
+          gen.writeStartObject();
+          ResponseJsonWriter.writeUserProfileFields(gen, profile);
+          ResponseJsonWriter.writeInterestFields(gen, userExperience);
+          ResponseJsonWriter.writeAttendanceFields(gen, userExperience);
+          gen.writeEndObject();
+          gen.writeEndArray();
+        },
+        null);
+
+    objectMapper.readValue("{}", UserProfileRequest.class);
+    objectMapper.readValue(
+        "{\"priming\":[1,\"a\",true]}", new TypeReference<Map<String, Object>>() {});
+  }
+
   /**
    * Routes requests to appropriate handlers based on path and method. Supports both /v1 and
    * non-versioned paths.
@@ -281,614 +714,341 @@ public class ApiGatewayHandler
     // Normalize path (handle both /v1 and non-versioned paths)
     String normalizedPath = normalizePath(path);
 
-    // Health check endpoint (public, no auth required)
-    // Supports: /health, /v1/health
-    if (normalizedPath.equals("/health") && "GET".equals(httpMethod)) {
-      return createSuccessResponse(200, Map.of("status", "OK"), "application/json");
-    }
-
-    // API endpoints (require authentication)
-    // Supports: /api/*, /v1/api/*
-    if (normalizedPath.startsWith("/api")) {
-      if (userId == null || userId.isBlank()) {
-        return createErrorResponse(401, "Unauthorized", "Authentication required");
-      }
-
-      // /api/auth/me endpoint
-      if ("/api/auth/me".equals(normalizedPath) && "GET".equals(httpMethod)) {
-        return handleGetMe(userId, cognitoData);
-      }
-
-      // /api/auth/status endpoint
-      if ("/api/auth/status".equals(normalizedPath) && "GET".equals(httpMethod)) {
-        return handleGetAuthStatus(userId);
-      }
-
-      // Add more endpoints here as needed
+    // The match is reused by the next request on this thread; the RouteRequest wrapping it is the
+    // one allocation routing makes per request
+    PathRouter.Match match = ROUTE_MATCH.get();
+    RouteHandler route = ROUTES.match(httpMethod, normalizedPath, match);
+    if (route != null) {
+      return route.handle(
+          this,
+          new RouteRequest(
+              match,
+              body,
+              userId,
+              cognitoData,
+              headers,
+              queryParams,
+              pathParameters,
+              multiValueQueryParams,
+              context));
     }
 
-    // User endpoints (require authentication)
-    // Supports: /users/*, /v1/users/*
-    if (normalizedPath.startsWith("/users")) {
-      // /users/profile endpoint - accepts UserId header or Cognito identity
-      if ("/users/profile".equals(normalizedPath)) {
-        // Check for UserId header first, then fall back to Cognito identity
-        String headerUserId = headers.get("UserId");
-        String effectiveUserId =
-            (headerUserId != null && !headerUserId.isBlank()) ? headerUserId : userId;
-        if (effectiveUserId == null || effectiveUserId.isBlank()) {
-          return createErrorResponse(401, "Unauthorized", "Authentication required");
-        }
-
-        if ("GET".equals(httpMethod)) {
-          return handleGetUserProfile(effectiveUserId, context);
-        } else if ("PUT".equals(httpMethod)) {
-          return handleUserProfile(effectiveUserId, body, headers, context);
-        }
-      }
-
-      // GET /users/profile/{userId}
-      if (normalizedPath.startsWith("/users/profile/") && "GET".equals(httpMethod)) {
-        String pathUserId = normalizedPath.substring("/users/profile/".length());
-        if (pathUserId == null || pathUserId.isBlank()) {
-          return createErrorResponse(400, "Bad Request", "userId is required in path");
-        }
-        return handleGetUserProfile(pathUserId, context);
-      }
-
-      // GET /users?interested={true|false}&paid={true|false}
-      if ("/users".equals(normalizedPath) && "GET".equals(httpMethod)) {
-        if (userId == null || userId.isBlank()) {
+    // Unknown endpoints below an authenticated prefix still require authentication
+    if (userId == null || userId.isBlank()) {
+      for (String prefix : AUTHENTICATED_PREFIXES) {
+        if (normalizedPath.startsWith(prefix)) {
           return createErrorResponse(401, "Unauthorized", "Authentication required");
         }
-        String interested = queryParams.get("interested");
-        String paid = queryParams.get("paid");
-        return handleGetUsers(interested, paid, context);
-      }
-
-      // Other user endpoints require Cognito identity
-      if (userId == null || userId.isBlank()) {
-        return createErrorResponse(401, "Unauthorized", "Authentication required");
       }
-
-      // Add more user endpoints here as needed
     }
 
-    // Group endpoints (require authentication)
-    // Supports: /groups/*, /v1/groups/*
-    if (normalizedPath.startsWith("/groups")) {
-      if (userId == null || userId.isBlank()) {
-        return createErrorResponse(401, "Unauthorized", "Authentication required");
-      }
-
-      // GET /groups/{groupId}
-      if (normalizedPath.matches("/groups/[^/]+") && "GET".equals(httpMethod)) {
-        String groupId = normalizedPath.substring("/groups/".length());
-        return handleGetGroup(groupId, context);
-      }
+    // 404 for unknown paths
+    return createErrorResponse(404, "Not Found", "Endpoint not found: " + path);
+  }
 
-      // GET
-      // /groups?userId={userId}&experienceId={experienceId}&includeUsers={true|false}&notPaid={true|false}
-      if ("/groups".equals(normalizedPath) && "GET".equals(httpMethod)) {
-        String queryUserId = queryParams.get("userId");
-        String experienceId = queryParams.get("experienceId");
-        String includeUsers = queryParams.get("includeUsers");
-        String notPaid = queryParams.get("notPaid");
-        return handleGetGroups(queryUserId, experienceId, includeUsers, notPaid, context);
+  /** Wrap a route so it answers 401 when the request has no Cognito identity. */
+  private static RouteHandler authenticated(RouteHandler route) {
+    return (h, r) -> {
+      if (r.userId == null || r.userId.isBlank()) {
+        return h.createErrorResponse(401, "Unauthorized", "Authentication required");
       }
+      return route.handle(h, r);
+    };
+  }
 
-      // PUT /groups/{groupId}
-      if (normalizedPath.matches("/groups/[^/]+") && "PUT".equals(httpMethod)) {
-        String groupId = normalizedPath.substring("/groups/".length());
-        return handleCreateOrUpdateGroup(groupId, body, userId, context);
-      }
+  /** GET/PUT /users/profile - the UserId header takes precedence over the Cognito identity. */
+  private APIGatewayProxyResponseEvent routeOwnProfile(RouteRequest r, boolean update) {
+    String headerUserId = r.headers.get("UserId");
+    String effectiveUserId =
+        (headerUserId != null && !headerUserId.isBlank()) ? headerUserId : r.userId;
+    if (effectiveUserId == null || effectiveUserId.isBlank()) {
+      return createErrorResponse(401, "Unauthorized", "Authentication required");
     }
+    return update
+        ? handleUserProfile(effectiveUserId, r.body, r.headers, r.context)
+        : handleGetUserProfile(effectiveUserId, r.context);
+  }
 
-    // Experience endpoints (require authentication)
-    // Supports: /experiences/*, /v1/experiences/*
-    if (normalizedPath.startsWith("/experiences")) {
-      if (userId == null || userId.isBlank()) {
-        return createErrorResponse(401, "Unauthorized", "Authentication required");
+  // GET
+  // /experiences?userId={userId}&groupId={groupId}&lat={lat}&lon={lon}&radius={radius}&interested={true}&past={true}&upcoming={true}
+  // GET /experiences - Returns all users interested in upcoming experiences (when no userId
+  // provided)
+  private APIGatewayProxyResponseEvent routeGetExperiences(RouteRequest r) {
+    Map<String, String> queryParams = r.queryParams;
+    Map<String, List<String>> multiValueQueryParams = r.multiValueQueryParams;
+    String userId = r.userId;
+    Context context = r.context;
+
+    String queryExperienceId = queryParams.get("experienceId");
+
+    // If experienceId is provided as query parameter, get that specific experience
+    if (queryExperienceId != null && !queryExperienceId.isBlank()) {
+      // Remove quotes if present (from query string parsing)
+      String cleanedExperienceId = queryExperienceId.trim();
+      if ((cleanedExperienceId.startsWith("\"") && cleanedExperienceId.endsWith("\""))
+          || (cleanedExperienceId.startsWith("'") && cleanedExperienceId.endsWith("'"))) {
+        cleanedExperienceId = cleanedExperienceId.substring(1, cleanedExperienceId.length() - 1);
       }
+      // Remove EXPERIENCE# prefix if present
+      String normalizedExperienceId =
+          cleanedExperienceId.startsWith("EXPERIENCE#")
+              ? cleanedExperienceId.replace("EXPERIENCE#", "")
+              : cleanedExperienceId;
+
+      RequestLog.debug(
+          () ->
+              "GET /experiences with experienceId query param: "
+                  + queryExperienceId
+                  + " (normalized: "
+                  + normalizedExperienceId
+                  + ")");
+
+      return handleGetExperience(normalizedExperienceId, context);
+    }
 
-      // GET /experiences/{experienceId}/interested-users - Get users interested in an experience
-      if (normalizedPath.contains("/interested-users") && "GET".equals(httpMethod)) {
-        String experienceId = null;
-        // Try path parameters first
-        if (pathParameters != null && pathParameters.containsKey("experienceId")) {
-          experienceId = pathParameters.get("experienceId");
+    String queryUserId = queryParams.get("userId");
+    String queryGroupId = queryParams.get("groupId");
+    String lat = queryParams.get("lat");
+    String lon = queryParams.get("lon");
+    String radius = queryParams.get("radius");
+    String interested = queryParams.get("interested");
+    String past = queryParams.get("past");
+    String upcoming = queryParams.get("upcoming");
+    String nearest = queryParams.get("nearest");
+
+    // Fix: If query parameters are malformed (e.g., userId contains "$past=true"), extract them
+    if (queryUserId != null && queryUserId.contains("$")) {
+      // Extract parameters from malformed userId string
+      // Format: "userId"$past=true or userId$past=true
+      String[] parts = queryUserId.split("\\$");
+      if (parts.length > 0) {
+        // Clean the userId part
+        String cleanedUserId = parts[0].trim();
+        // Remove quotes if present
+        if ((cleanedUserId.startsWith("\"") && cleanedUserId.endsWith("\""))
+            || (cleanedUserId.startsWith("'") && cleanedUserId.endsWith("'"))) {
+          cleanedUserId = cleanedUserId.substring(1, cleanedUserId.length() - 1);
         }
-
-        // If not in path parameters, extract from path
-        if (experienceId == null || experienceId.isBlank()) {
-          String pathWithSuffix = normalizedPath.substring("/experiences/".length());
-          int interestedUsersIndex = pathWithSuffix.indexOf("/interested-users");
-          if (interestedUsersIndex > 0) {
-            experienceId = pathWithSuffix.substring(0, interestedUsersIndex);
+        queryUserId = cleanedUserId;
+
+        // Extract past/upcoming/interested from the malformed string
+        for (int i = 1; i < parts.length; i++) {
+          String paramPart = parts[i];
+          if (paramPart.startsWith("past=")) {
+            past = paramPart.substring(5); // Remove "past=" prefix
+          } else if (paramPart.startsWith("upcoming=")) {
+            upcoming = paramPart.substring(9); // Remove "upcoming=" prefix
+          } else if (paramPart.startsWith("interested=")) {
+            interested = paramPart.substring(11); // Remove "interested=" prefix
           }
         }
 
-        if (experienceId != null && !experienceId.isBlank()) {
-          return handleGetInterestedUsers(experienceId, context);
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug(
+              "Extracted from malformed userId - userId=["
+                  + queryUserId
+                  + "], past=["
+                  + past
+                  + "], upcoming=["
+                  + upcoming
+                  + "], interested=["
+                  + interested
+                  + "]");
         }
       }
+    }
 
-      // GET /experiences/{experienceId}/attended-users - Get users who attended (paid) for an
-      // experience
-      if (normalizedPath.contains("/attended-users") && "GET".equals(httpMethod)) {
-        String experienceId = null;
-        // Try path parameters first
-        if (pathParameters != null && pathParameters.containsKey("experienceId")) {
-          experienceId = pathParameters.get("experienceId");
-        }
-
-        // If not in path parameters, extract from path
-        if (experienceId == null || experienceId.isBlank()) {
-          String pathWithSuffix = normalizedPath.substring("/experiences/".length());
-          int attendedUsersIndex = pathWithSuffix.indexOf("/attended-users");
-          if (attendedUsersIndex > 0) {
-            experienceId = pathWithSuffix.substring(0, attendedUsersIndex);
-          }
-        }
-
-        if (experienceId != null && !experienceId.isBlank()) {
-          return handleGetAttendedUsers(experienceId, context);
+    // Also try multiValueQueryStringParameters as fallback (API Gateway sometimes uses this)
+    if (multiValueQueryParams != null && !multiValueQueryParams.isEmpty()) {
+      Map<String, List<String>> multiParams = multiValueQueryParams;
+      if (past == null && multiParams.containsKey("past") && !multiParams.get("past").isEmpty()) {
+        past = multiParams.get("past").get(0);
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug("Extracted past from multiValueQueryStringParameters: [" + past + "]");
         }
       }
-
-      // GET /experiences/{experienceId}
-      if (normalizedPath.startsWith("/experiences/") && "GET".equals(httpMethod)) {
-        // Try to get experienceId from path parameters first (from API Gateway)
-        String experienceId = null;
-        if (pathParameters != null && pathParameters.containsKey("experienceId")) {
-          experienceId = pathParameters.get("experienceId");
-        }
-
-        // If not in path parameters, extract from path
-        if (experienceId == null || experienceId.isBlank()) {
-          String pathAfterExperiences = normalizedPath.substring("/experiences/".length());
-          if (pathAfterExperiences != null && !pathAfterExperiences.isBlank()) {
-            // Remove trailing slash if present and check if it's not the interested-users endpoint
-            if (pathAfterExperiences.endsWith("/interested-users")) {
-              // This is handled by the interested-users endpoint below
-              // Skip here
-            } else {
-              experienceId =
-                  pathAfterExperiences.endsWith("/")
-                      ? pathAfterExperiences.substring(0, pathAfterExperiences.length() - 1)
-                      : pathAfterExperiences;
-            }
-          }
-        }
-
-        // Only handle if we have a valid experienceId (not interested-users endpoint)
-        if (experienceId != null && !experienceId.isBlank() && !experienceId.contains("/")) {
-          return handleGetExperience(experienceId, context);
-        }
+      if (upcoming == null
+          && multiParams.containsKey("upcoming")
+          && !multiParams.get("upcoming").isEmpty()) {
+        upcoming = multiParams.get("upcoming").get(0);
       }
-
-      // GET
-      // /experiences?userId={userId}&groupId={groupId}&lat={lat}&lon={lon}&radius={radius}&interested={true}&past={true}&upcoming={true}
-      // GET /experiences - Returns all users interested in upcoming experiences (when no userId
-      // provided)
-      if ("/experiences".equals(normalizedPath) && "GET".equals(httpMethod)) {
-        String queryExperienceId = queryParams.get("experienceId");
-
-        // If experienceId is provided as query parameter, get that specific experience
-        if (queryExperienceId != null && !queryExperienceId.isBlank()) {
-          // Remove quotes if present (from query string parsing)
-          String cleanedExperienceId = queryExperienceId.trim();
-          if ((cleanedExperienceId.startsWith("\"") && cleanedExperienceId.endsWith("\""))
-              || (cleanedExperienceId.startsWith("'") && cleanedExperienceId.endsWith("'"))) {
-            cleanedExperienceId =
-                cleanedExperienceId.substring(1, cleanedExperienceId.length() - 1);
-          }
-          // Remove EXPERIENCE# prefix if present
-          String normalizedExperienceId =
-              cleanedExperienceId.startsWith("EXPERIENCE#")
-                  ? cleanedExperienceId.replace("EXPERIENCE#", "")
-                  : cleanedExperienceId;
-
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: GET /experiences with experienceId query param: "
-                        + queryExperienceId
-                        + " (normalized: "
-                        + normalizedExperienceId
-                        + ")");
-          }
-
-          return handleGetExperience(normalizedExperienceId, context);
-        }
-
-        String queryUserId = queryParams.get("userId");
-        String queryGroupId = queryParams.get("groupId");
-        String lat = queryParams.get("lat");
-        String lon = queryParams.get("lon");
-        String radius = queryParams.get("radius");
-        String interested = queryParams.get("interested");
-        String past = queryParams.get("past");
-        String upcoming = queryParams.get("upcoming");
-
-        // Fix: If query parameters are malformed (e.g., userId contains "$past=true"), extract them
-        if (queryUserId != null && queryUserId.contains("$")) {
-          // Extract parameters from malformed userId string
-          // Format: "userId"$past=true or userId$past=true
-          String[] parts = queryUserId.split("\\$");
-          if (parts.length > 0) {
-            // Clean the userId part
-            String cleanedUserId = parts[0].trim();
-            // Remove quotes if present
-            if ((cleanedUserId.startsWith("\"") && cleanedUserId.endsWith("\""))
-                || (cleanedUserId.startsWith("'") && cleanedUserId.endsWith("'"))) {
-              cleanedUserId = cleanedUserId.substring(1, cleanedUserId.length() - 1);
-            }
-            queryUserId = cleanedUserId;
-
-            // Extract past/upcoming/interested from the malformed string
-            for (int i = 1; i < parts.length; i++) {
-              String paramPart = parts[i];
-              if (paramPart.startsWith("past=")) {
-                past = paramPart.substring(5); // Remove "past=" prefix
-              } else if (paramPart.startsWith("upcoming=")) {
-                upcoming = paramPart.substring(9); // Remove "upcoming=" prefix
-              } else if (paramPart.startsWith("interested=")) {
-                interested = paramPart.substring(11); // Remove "interested=" prefix
-              }
-            }
-
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log(
-                      "DEBUG: Extracted from malformed userId - userId=["
-                          + queryUserId
-                          + "], past=["
-                          + past
-                          + "], upcoming=["
-                          + upcoming
-                          + "], interested=["
-                          + interested
-                          + "]");
-            }
-          }
-        }
-
-        // Also try multiValueQueryStringParameters as fallback (API Gateway sometimes uses this)
-        if (multiValueQueryParams != null && !multiValueQueryParams.isEmpty()) {
-          Map<String, List<String>> multiParams = multiValueQueryParams;
-          if (past == null
-              && multiParams.containsKey("past")
-              && !multiParams.get("past").isEmpty()) {
-            past = multiParams.get("past").get(0);
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log(
-                      "DEBUG: Extracted past from multiValueQueryStringParameters: [" + past + "]");
-            }
-          }
-          if (upcoming == null
-              && multiParams.containsKey("upcoming")
-              && !multiParams.get("upcoming").isEmpty()) {
-            upcoming = multiParams.get("upcoming").get(0);
-          }
-          if (interested == null
-              && multiParams.containsKey("interested")
-              && !multiParams.get("interested").isEmpty()) {
-            interested = multiParams.get("interested").get(0);
-          }
-          if (queryUserId == null
-              && multiParams.containsKey("userId")
-              && !multiParams.get("userId").isEmpty()) {
-            queryUserId = multiParams.get("userId").get(0);
-          }
-        }
-
-        // Clean up userId - remove quotes if present
-        if (queryUserId != null) {
-          queryUserId = queryUserId.trim();
-          if ((queryUserId.startsWith("\"") && queryUserId.endsWith("\""))
-              || (queryUserId.startsWith("'") && queryUserId.endsWith("'"))) {
-            queryUserId = queryUserId.substring(1, queryUserId.length() - 1);
-          }
-        }
-
-        // Debug: Log all query parameters for troubleshooting
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Query parameters - userId=["
-                      + queryUserId
-                      + "], past=["
-                      + past
-                      + "], interested=["
-                      + interested
-                      + "], upcoming=["
-                      + upcoming
-                      + "]");
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Location params - lat=["
-                      + lat
-                      + "], lon=["
-                      + lon
-                      + "], radius=["
-                      + radius
-                      + "]");
-        }
-
-        // If past=true or upcoming=true or interested=true, use authenticated userId if queryUserId
-        // not provided
-        boolean needsUserId =
-            (past != null && ("true".equalsIgnoreCase(past) || "1".equals(past)))
-                || (upcoming != null && ("true".equalsIgnoreCase(upcoming) || "1".equals(upcoming)))
-                || (interested != null
-                    && ("true".equalsIgnoreCase(interested) || "1".equals(interested)));
-
-        if (needsUserId && queryUserId == null && userId != null && !userId.isBlank()) {
-          queryUserId = userId; // Use authenticated user's ID
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: Using authenticated userId for past/interested/upcoming filter: "
-                        + queryUserId);
-          }
-        }
-
-        // If no userId and no location params, return all users interested in upcoming experiences
-        if (queryUserId == null && lat == null && lon == null && queryGroupId == null) {
-          return handleGetAllInterestedUsers(context);
-        }
-
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: GET /experiences - lat="
-                      + lat
-                      + ", lon="
-                      + lon
-                      + ", radius="
-                      + radius
-                      + ", userId="
-                      + queryUserId);
-        }
-
-        return handleGetExperiences(
-            queryUserId, queryGroupId, lat, lon, radius, interested, past, upcoming, context);
+      if (interested == null
+          && multiParams.containsKey("interested")
+          && !multiParams.get("interested").isEmpty()) {
+        interested = multiParams.get("interested").get(0);
       }
+      if (queryUserId == null
+          && multiParams.containsKey("userId")
+          && !multiParams.get("userId").isEmpty()) {
+        queryUserId = multiParams.get("userId").get(0);
+      }
+    }
 
-      // PUT /experiences/{experienceId}
-      if (normalizedPath.startsWith("/experiences") && "PUT".equals(httpMethod)) {
-        // Try to get experienceId from path parameters first (from API Gateway)
-        String experienceId = null;
-        if (pathParameters != null && pathParameters.containsKey("experienceId")) {
-          experienceId = pathParameters.get("experienceId");
-        }
-
-        // If not in path parameters, extract from path
-        if (experienceId == null || experienceId.isBlank()) {
-          // Handle both /experiences/{id} and /experiences/{id}/
-          if (normalizedPath.equals("/experiences") || normalizedPath.equals("/experiences/")) {
-            // Path is just /experiences or /experiences/ - missing experienceId
-            return createErrorResponse(
-                400,
-                "Bad Request",
-                "experienceId is required in the path. Use /v1/experiences/{experienceId}");
-          }
+    // Clean up userId - remove quotes if present
+    if (queryUserId != null) {
+      queryUserId = queryUserId.trim();
+      if ((queryUserId.startsWith("\"") && queryUserId.endsWith("\""))
+          || (queryUserId.startsWith("'") && queryUserId.endsWith("'"))) {
+        queryUserId = queryUserId.substring(1, queryUserId.length() - 1);
+      }
+    }
 
-          // Extract experienceId from path
-          String pathAfterExperiences = normalizedPath.substring("/experiences/".length());
-          if (pathAfterExperiences != null && !pathAfterExperiences.isBlank()) {
-            // Remove trailing slash if present
-            experienceId =
-                pathAfterExperiences.endsWith("/")
-                    ? pathAfterExperiences.substring(0, pathAfterExperiences.length() - 1)
-                    : pathAfterExperiences;
-          }
-        }
+    // Debug: Log all query parameters for troubleshooting
+    if (RequestLog.isDebugEnabled()) {
+      RequestLog.debug(
+          "Query parameters - userId=["
+              + queryUserId
+              + "], past=["
+              + past
+              + "], interested=["
+              + interested
+              + "], upcoming=["
+              + upcoming
+              + "]");
+    }
+    RequestLog.debug(
+        () -> "Location params - lat=[" + lat + "], lon=[" + lon + "], radius=[" + radius + "]");
+
+    // If past=true or upcoming=true or interested=true, use authenticated userId if queryUserId
+    // not provided
+    boolean needsUserId =
+        (past != null && ("true".equalsIgnoreCase(past) || "1".equals(past)))
+            || (upcoming != null && ("true".equalsIgnoreCase(upcoming) || "1".equals(upcoming)))
+            || (interested != null
+                && ("true".equalsIgnoreCase(interested) || "1".equals(interested)));
+
+    if (needsUserId && queryUserId == null && userId != null && !userId.isBlank()) {
+      queryUserId = userId; // Use authenticated user's ID
+      if (RequestLog.isDebugEnabled()) {
+        RequestLog.debug(
+            "Using authenticated userId for past/interested/upcoming filter: " + queryUserId);
+      }
+    }
 
-        // Validate experienceId is present
-        if (experienceId == null || experienceId.isBlank()) {
-          return createErrorResponse(
-              400,
-              "Bad Request",
-              "experienceId is required in the path. Use /v1/experiences/{experienceId}");
-        }
+    // If no userId and no location params, return all users interested in upcoming experiences
+    if (queryUserId == null && lat == null && lon == null && queryGroupId == null) {
+      return handleGetAllInterestedUsers(context);
+    }
 
-        return handleCreateOrUpdateExperience(experienceId, body, userId, context);
-      }
+    if (RequestLog.isDebugEnabled()) {
+      RequestLog.debug(
+          "GET /experiences - lat="
+              + lat
+              + ", lon="
+              + lon
+              + ", radius="
+              + radius
+              + ", userId="
+              + queryUserId);
     }
 
-    // User-Experience endpoints (require authentication)
-    // Supports: /users/{userId}/experiences/{experienceId}/interest,
-    // /v1/users/{userId}/experiences/{experienceId}/interest
-    if (normalizedPath.startsWith("/users/")
-        && normalizedPath.contains("/experiences/")
-        && normalizedPath.endsWith("/interest")) {
-      if (userId == null || userId.isBlank()) {
-        return createErrorResponse(401, "Unauthorized", "Authentication required");
-      }
+    return handleGetExperiences(
+        queryUserId, queryGroupId, lat, lon, radius, nearest, interested, past, upcoming, context);
+  }
 
-      // PUT /users/{userId}/experiences/{experienceId}/interest - Mark user as interested in
-      // experience
-      if ("PUT".equals(httpMethod)) {
-        // Extract userId and experienceId from path like
-        // /users/{userId}/experiences/{experienceId}/interest
-        String[] pathParts = normalizedPath.split("/");
-        if (context != null && context.getLogger() != null) {
-          context.getLogger().log("DEBUG: normalizedPath=" + normalizedPath);
-          context.getLogger().log("DEBUG: pathParts.length=" + pathParts.length);
-          for (int i = 0; i < pathParts.length; i++) {
-            context.getLogger().log("DEBUG: pathParts[" + i + "]=" + pathParts[i]);
-          }
-          context.getLogger().log("DEBUG: authenticated userId=" + userId);
-        }
-        // Try to get userId and experienceId from path parameters first (if API Gateway provides
-        // them)
-        String pathUserId = pathParameters.get("userId");
-        String experienceId = pathParameters.get("experienceId");
-
-        // If not in path parameters, parse from path
-        if (pathUserId == null || experienceId == null) {
-          if (pathParts.length >= 5
-              && "users".equals(pathParts[1])
-              && "experiences".equals(pathParts[3])) {
-            pathUserId = pathParts[2];
-            experienceId = pathParts[4];
-          } else {
-            return createErrorResponse(
-                400,
-                "Bad Request",
-                "Invalid path format. Expected /users/{userId}/experiences/{experienceId}/interest");
-          }
-        }
+  /** PUT /experiences/{experienceId} */
+  private APIGatewayProxyResponseEvent routePutExperience(RouteRequest r) {
+    // API Gateway path parameters take precedence over the path
+    String experienceId = r.pathParameter("experienceId");
+    if (experienceId == null || experienceId.isBlank()) {
+      return createErrorResponse(
+          400,
+          "Bad Request",
+          "experienceId is required in the path. Use /v1/experiences/{experienceId}");
+    }
+    return handleCreateOrUpdateExperience(experienceId, r.body, r.userId, r.context);
+  }
 
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: pathUserId=["
-                      + pathUserId
-                      + "], length="
-                      + (pathUserId != null ? pathUserId.length() : "null"));
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: authenticated userId=["
-                      + userId
-                      + "], length="
-                      + (userId != null ? userId.length() : "null"));
-          context.getLogger().log("DEBUG: experienceId=" + experienceId);
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: pathUserId.equals(userId)="
-                      + (pathUserId != null && userId != null
-                          ? pathUserId.equals(userId)
-                          : "null check"));
-          if (pathUserId != null && userId != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: pathUserId.trim().equals(userId.trim())="
-                        + pathUserId.trim().equals(userId.trim()));
-          }
-        }
+  /** PUT /users/{userId}/experiences/{experienceId}/interest - Mark user as interested */
+  private APIGatewayProxyResponseEvent routeMarkUserInterest(RouteRequest r) {
+    if (!isOwnAccount(r)) {
+      return createErrorResponse(
+          403, "Forbidden", "You can only mark interest for your own account");
+    }
+    return handleMarkUserInterest(r.userId, r.pathParameter("experienceId"), r.body, r.context);
+  }
 
-        // Verify the userId in path matches authenticated user (trim whitespace for safety)
-        String trimmedPathUserId = pathUserId != null ? pathUserId.trim() : "";
-        String trimmedUserId = userId != null ? userId.trim() : "";
-        if (!trimmedPathUserId.equals(trimmedUserId)) {
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: UserId mismatch after trim - pathUserId=['"
-                        + trimmedPathUserId
-                        + "'], authenticated userId=['"
-                        + trimmedUserId
-                        + "']");
-          }
-          return createErrorResponse(
-              403, "Forbidden", "You can only mark interest for your own account");
-        }
+  /** PUT /users/{userId}/experiences/{experienceId}/payment - Mark user as paid */
+  private APIGatewayProxyResponseEvent routeMarkUserPayment(RouteRequest r) {
+    if (!isOwnAccount(r)) {
+      return createErrorResponse(
+          403, "Forbidden", "You can only mark payment for your own account");
+    }
+    return handleMarkUserPayment(r.userId, r.pathParameter("experienceId"), r.body, r.context);
+  }
 
-        return handleMarkUserInterest(userId, experienceId, body, context);
-      }
+  /** Whether the {userId} of the path is the authenticated user (ignoring surrounding spaces). */
+  private static boolean isOwnAccount(RouteRequest r) {
+    String pathUserId = r.pathParameter("userId");
+    String trimmedPathUserId = pathUserId != null ? pathUserId.trim() : "";
+    String trimmedUserId = r.userId != null ? r.userId.trim() : "";
+    if (trimmedPathUserId.equals(trimmedUserId)) {
+      return true;
     }
+    RequestLog.debug(
+        () ->
+            "UserId mismatch after trim - pathUserId=['"
+                + trimmedPathUserId
+                + "'], authenticated userId=['"
+                + trimmedUserId
+                + "']");
 
-    // User-Experience payment endpoints (require authentication)
-    // Supports: /users/{userId}/experiences/{experienceId}/payment,
-    // /v1/users/{userId}/experiences/{experienceId}/payment
-    if (normalizedPath.startsWith("/users/")
-        && normalizedPath.contains("/experiences/")
-        && normalizedPath.endsWith("/payment")) {
-      if (userId == null || userId.isBlank()) {
-        return createErrorResponse(401, "Unauthorized", "Authentication required");
-      }
+    return false;
+  }
 
-      // PUT /users/{userId}/experiences/{experienceId}/payment - Mark user as paid for experience
-      if ("PUT".equals(httpMethod)) {
-        // Extract userId and experienceId from path like
-        // /users/{userId}/experiences/{experienceId}/payment
-        String[] pathParts = normalizedPath.split("/");
-        if (context != null && context.getLogger() != null) {
-          context.getLogger().log("DEBUG: normalizedPath=" + normalizedPath);
-          context.getLogger().log("DEBUG: pathParts.length=" + pathParts.length);
-          for (int i = 0; i < pathParts.length; i++) {
-            context.getLogger().log("DEBUG: pathParts[" + i + "]=" + pathParts[i]);
-          }
-          context.getLogger().log("DEBUG: authenticated userId=" + userId);
-        }
-        // Try to get userId and experienceId from path parameters first (if API Gateway provides
-        // them)
-        String pathUserId = pathParameters.get("userId");
-        String experienceId = pathParameters.get("experienceId");
-
-        // If not in path parameters, parse from path
-        if (pathUserId == null || experienceId == null) {
-          if (pathParts.length >= 5
-              && "users".equals(pathParts[1])
-              && "experiences".equals(pathParts[3])) {
-            pathUserId = pathParts[2];
-            experienceId = pathParts[4];
-          } else {
-            return createErrorResponse(
-                400,
-                "Bad Request",
-                "Invalid path format. Expected /users/{userId}/experiences/{experienceId}/payment");
-          }
-        }
+  /** Handler of one entry of {@link #ROUTES}. */
+  @FunctionalInterface
+  private interface RouteHandler {
+    APIGatewayProxyResponseEvent handle(ApiGatewayHandler handler, RouteRequest request);
+  }
 
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: pathUserId=["
-                      + pathUserId
-                      + "], length="
-                      + (pathUserId != null ? pathUserId.length() : "null"));
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: authenticated userId=["
-                      + userId
-                      + "], length="
-                      + (userId != null ? userId.length() : "null"));
-          context.getLogger().log("DEBUG: experienceId=" + experienceId);
-        }
+  /** Request data handed to a route, including the path variables it matched. */
+  private static final class RouteRequest {
+
+    private final PathRouter.Match match;
+    private final String body;
+    private final String userId;
+    private final String cognitoData;
+    private final Map<String, String> headers;
+    private final Map<String, String> queryParams;
+    private final Map<String, String> pathParameters;
+    private final Map<String, List<String>> multiValueQueryParams;
+    private final Context context;
+
+    RouteRequest(
+        PathRouter.Match match,
+        String body,
+        String userId,
+        String cognitoData,
+        Map<String, String> headers,
+        Map<String, String> queryParams,
+        Map<String, String> pathParameters,
+        Map<String, List<String>> multiValueQueryParams,
+        Context context) {
+      this.match = match;
+      this.body = body;
+      this.userId = userId;
+      this.cognitoData = cognitoData;
+      this.headers = headers;
+      this.queryParams = queryParams;
+      this.pathParameters = pathParameters;
+      this.multiValueQueryParams = multiValueQueryParams;
+      this.context = context;
+    }
 
-        // Verify the userId in path matches authenticated user (trim whitespace for safety)
-        String trimmedPathUserId = pathUserId != null ? pathUserId.trim() : "";
-        String trimmedUserId = userId != null ? userId.trim() : "";
-        if (!trimmedPathUserId.equals(trimmedUserId)) {
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: UserId mismatch after trim - pathUserId=['"
-                        + trimmedPathUserId
-                        + "'], authenticated userId=['"
-                        + trimmedUserId
-                        + "']");
-          }
-          return createErrorResponse(
-              403, "Forbidden", "You can only mark payment for your own account");
-        }
+    String variable(String name) {
+      return match.variable(name);
+    }
 
-        return handleMarkUserPayment(userId, experienceId, body, context);
-      }
+    /** Path variable, preferring the value API Gateway resolved from its resource path. */
+    String pathParameter(String name) {
+      String value = pathParameters.get(name);
+      return value != null && !value.isBlank() ? value : match.variable(name);
     }
 
-    // 404 for unknown paths
-    return createErrorResponse(404, "Not Found", "Endpoint not found: " + path);
+    String query(String name) {
+      return queryParams.get(name);
+    }
   }
 
   /**
@@ -970,7 +1130,7 @@ public class ApiGatewayHandler
       UserProfile profile = profileOpt.get();
 
       // Convert to response
-      UserProfileResponse response = toResponse(profile);
+      UserProfileResponse response = UserProfileMapper.toResponse(profile);
 
       Map<String, Object> responseData = new HashMap<>();
       responseData.put("success", true);
@@ -981,10 +1141,8 @@ public class ApiGatewayHandler
       return createSuccessResponse(200, responseData, "application/json");
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-        e.printStackTrace();
-      }
+      RequestLog.error(errorMessage, e);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -1024,13 +1182,13 @@ public class ApiGatewayHandler
         profile = new UserProfile(effectiveUserId);
       }
 
-      // Ensure userId is set (in case updateProfileFromRequest clears it)
+      // Ensure userId is set (in case the stored item had none)
       if (profile.getUserId() == null || profile.getUserId().isBlank()) {
         profile.setUserId(effectiveUserId);
       }
 
       // Update profile fields from request
-      updateProfileFromRequest(profile, request);
+      UserProfileMapper.applyRequest(request, profile);
 
       // Ensure userId is still set after update (safety check)
       if (profile.getUserId() == null || profile.getUserId().isBlank()) {
@@ -1041,7 +1199,7 @@ public class ApiGatewayHandler
       saveProfile(profile, context);
 
       // Convert to response
-      UserProfileResponse response = toResponse(profile);
+      UserProfileResponse response = UserProfileMapper.toResponse(profile);
 
       Map<String, Object> responseData = new HashMap<>();
       responseData.put("success", true);
@@ -1052,10 +1210,8 @@ public class ApiGatewayHandler
       return createSuccessResponse(200, responseData, "application/json");
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-        e.printStackTrace();
-      }
+      RequestLog.error(errorMessage, e);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -1088,13 +1244,84 @@ public class ApiGatewayHandler
       }
       return Optional.of(profile);
     } catch (Exception e) {
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("Error finding user profile: " + e.getMessage());
-      }
+      RequestLog.error("Error finding user profile: " + e.getMessage());
+
       return Optional.empty();
     }
   }
 
+  /**
+   * Find the active profiles of many users at once.
+   *
+   * <p>Profiles are keyed by (userId, createdAt) and the latest one wins, so there is no key to
+   * BatchGetItem on. Instead the same latest-profile Query as {@link #findByUserId} is issued for
+   * every distinct userId on the async client, {@value #MAX_CONCURRENT_PROFILE_QUERIES} at a time.
+   * Users whose query failed or timed out are retried one by one with {@link #findByUserId}.
+   *
+   * @param userIds User IDs (null/blank ids and duplicates are ignored)
+   * @param context Lambda context
+   * @return Active profiles keyed by userId; users without one are absent
+   */
+  private Map<String, UserProfile> findByUserIds(Collection<String> userIds, Context context) {
+    Set<String> uniqueUserIds = new LinkedHashSet<>();
+    for (String userId : userIds) {
+      if (userId != null && !userId.isBlank()) {
+        uniqueUserIds.add(userId);
+      }
+    }
+
+    AsyncFanOut.Result<UserProfile> result =
+        AsyncFanOut.run(
+            new ArrayList<>(uniqueUserIds),
+            this::findLatestProfileAsync,
+            MAX_CONCURRENT_PROFILE_QUERIES,
+            ASYNC_API_CALL_TIMEOUT);
+
+    Map<String, UserProfile> profiles = new HashMap<>();
+    for (UserProfile profile : result.getResults()) {
+      profiles.put(profile.getUserId(), profile);
+    }
+
+    if (result.isPartial()) {
+      RequestLog.warn(
+          "Warning: "
+              + result.getFailures().size()
+              + " profile queries failed, retrying sequentially: "
+              + result.getFailures().get(0).getMessage());
+
+      for (String userId : uniqueUserIds) {
+        if (!profiles.containsKey(userId)) {
+          findByUserId(userId, context).ifPresent(profile -> profiles.put(userId, profile));
+        }
+      }
+    }
+    return profiles;
+  }
+
+  /** Async latest-profile query; completes with null when the user has no active profile. */
+  private CompletableFuture<UserProfile> findLatestProfileAsync(String userId) {
+    QueryRequest queryRequest =
+        QueryRequest.builder()
+            .tableName(TABLE_NAME)
+            .keyConditionExpression("pk = :userId")
+            .expressionAttributeValues(
+                Map.of(":userId", AttributeValue.builder().s(userId).build()))
+            .scanIndexForward(false) // Sort descending (latest first)
+            .limit(1) // Get only the latest profile
+            .build();
+
+    return dynamoDbAsyncClient
+        .query(queryRequest)
+        .thenApply(
+            response -> {
+              if (response.items().isEmpty()) {
+                return null;
+              }
+              UserProfile profile = fromAttributeMap(response.items().get(0));
+              return profile.isDeleted() ? null : profile;
+            });
+  }
+
   /** Save or update a user profile in DynamoDB. */
   private void saveProfile(UserProfile profile, Context context) {
     // Validate userId is set
@@ -1126,13 +1353,11 @@ public class ApiGatewayHandler
       Map<String, AttributeValue> item = toAttributeMap(profile);
       PutItemRequest putRequest = PutItemRequest.builder().tableName(TABLE_NAME).item(item).build();
       dynamoDbClient.putItem(putRequest);
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("Created new user profile for userId: " + profile.getUserId());
-      }
+      RequestLog.info("Created new user profile for userId: " + profile.getUserId());
+
     } catch (Exception e) {
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("Error creating user profile: " + e.getMessage());
-      }
+      RequestLog.error("Error creating user profile: " + e.getMessage());
+
       throw e;
     }
   }
@@ -1142,91 +1367,21 @@ public class ApiGatewayHandler
     Map<String, AttributeValue> key =
         buildCompositeKey(profile.getUserId(), profile.getCreatedAt());
 
+    // SET every attribute a put would write, except the key
+    Map<String, AttributeValue> attributes =
+        AttributeValues.newItem(UserProfileAttributes.ATTRIBUTE_COUNT);
+    UserProfileAttributes.write(profile, attributes);
     Map<String, String> expressionAttributeNames = new HashMap<>();
     Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-
-    StringBuilder updateExpression = new StringBuilder("SET #updatedAt = :updatedAt");
-    expressionAttributeNames.put("#updatedAt", "updatedAt");
-    expressionAttributeValues.put(
-        ":updatedAt", AttributeValue.builder().s(profile.getUpdatedAt().toString()).build());
-
-    // Add optional fields to update
-    if (profile.getDateOfBirth() != null) {
-      updateExpression.append(", #dateOfBirth = :dateOfBirth");
-      expressionAttributeNames.put("#dateOfBirth", "dateOfBirth");
-      expressionAttributeValues.put(
-          ":dateOfBirth", AttributeValue.builder().s(profile.getDateOfBirth().toString()).build());
-    }
-    if (profile.getAddress() != null) {
-      updateExpression.append(", #address = :address");
-      expressionAttributeNames.put("#address", "address");
-      expressionAttributeValues.put(
-          ":address", AttributeValue.builder().s(profile.getAddress()).build());
-    }
-    if (profile.getCity() != null) {
-      updateExpression.append(", #city = :city");
-      expressionAttributeNames.put("#city", "city");
-      expressionAttributeValues.put(":city", AttributeValue.builder().s(profile.getCity()).build());
-    }
-    if (profile.getState() != null) {
-      updateExpression.append(", #state = :state");
-      expressionAttributeNames.put("#state", "state");
-      expressionAttributeValues.put(
-          ":state", AttributeValue.builder().s(profile.getState()).build());
-    }
-    if (profile.getZipCode() != null) {
-      updateExpression.append(", #zipCode = :zipCode");
-      expressionAttributeNames.put("#zipCode", "zipCode");
-      expressionAttributeValues.put(
-          ":zipCode", AttributeValue.builder().s(profile.getZipCode()).build());
-    }
-    if (profile.getCountry() != null) {
-      updateExpression.append(", #country = :country");
-      expressionAttributeNames.put("#country", "country");
-      expressionAttributeValues.put(
-          ":country", AttributeValue.builder().s(profile.getCountry()).build());
-    }
-    if (profile.getGender() != null) {
-      updateExpression.append(", #gender = :gender");
-      expressionAttributeNames.put("#gender", "gender");
-      expressionAttributeValues.put(
-          ":gender", AttributeValue.builder().s(profile.getGender()).build());
-    }
-    if (profile.getProfession() != null) {
-      updateExpression.append(", #profession = :profession");
-      expressionAttributeNames.put("#profession", "profession");
-      expressionAttributeValues.put(
-          ":profession", AttributeValue.builder().s(profile.getProfession()).build());
-    }
-    if (profile.getCompany() != null) {
-      updateExpression.append(", #company = :company");
-      expressionAttributeNames.put("#company", "company");
-      expressionAttributeValues.put(
-          ":company", AttributeValue.builder().s(profile.getCompany()).build());
-    }
-    if (profile.getBio() != null) {
-      updateExpression.append(", #bio = :bio");
-      expressionAttributeNames.put("#bio", "bio");
-      expressionAttributeValues.put(":bio", AttributeValue.builder().s(profile.getBio()).build());
-    }
-    if (profile.getPhoneNumber() != null) {
-      updateExpression.append(", #phoneNumber = :phoneNumber");
-      expressionAttributeNames.put("#phoneNumber", "phoneNumber");
-      expressionAttributeValues.put(
-          ":phoneNumber", AttributeValue.builder().s(profile.getPhoneNumber()).build());
-    }
-    if (profile.getStatus() != null) {
-      updateExpression.append(", #status = :status");
-      expressionAttributeNames.put("#status", "status");
-      expressionAttributeValues.put(
-          ":status", AttributeValue.builder().s(profile.getStatus().getValue()).build());
-    }
+    String updateExpression =
+        AttributeValues.setExpression(
+            attributes, expressionAttributeNames, expressionAttributeValues);
 
     UpdateItemRequest.Builder updateRequestBuilder =
         UpdateItemRequest.builder()
             .tableName(TABLE_NAME)
             .key(key)
-            .updateExpression(updateExpression.toString())
+            .updateExpression(updateExpression)
             .expressionAttributeValues(expressionAttributeValues);
 
     if (!expressionAttributeNames.isEmpty()) {
@@ -1235,13 +1390,11 @@ public class ApiGatewayHandler
 
     try {
       dynamoDbClient.updateItem(updateRequestBuilder.build());
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("Updated user profile for userId: " + profile.getUserId());
-      }
+      RequestLog.info("Updated user profile for userId: " + profile.getUserId());
+
     } catch (Exception e) {
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("Error updating user profile: " + e.getMessage());
-      }
+      RequestLog.error("Error updating user profile: " + e.getMessage());
+
       throw e;
     }
   }
@@ -1256,8 +1409,6 @@ public class ApiGatewayHandler
 
   /** Convert UserProfile to DynamoDB AttributeValue map. */
   private Map<String, AttributeValue> toAttributeMap(UserProfile profile) {
-    Map<String, AttributeValue> item = new HashMap<>();
-
     // Validate required fields
     if (profile.getUserId() == null || profile.getUserId().isBlank()) {
       throw new IllegalArgumentException("UserProfile userId cannot be null or blank");
@@ -1266,211 +1417,69 @@ public class ApiGatewayHandler
       throw new IllegalArgumentException("UserProfile createdAt cannot be null");
     }
 
+    Map<String, AttributeValue> item =
+        AttributeValues.newItem(UserProfileAttributes.ATTRIBUTE_COUNT + 3);
     // Composite key: pk (partition) = userId, sk (sort) = createdAt
     item.put("pk", AttributeValue.builder().s(profile.getUserId()).build());
     item.put("sk", AttributeValue.builder().s(profile.getCreatedAt().toString()).build());
     // Also store userId as regular attribute for reference
     item.put("userId", AttributeValue.builder().s(profile.getUserId()).build());
-
-    if (profile.getDateOfBirth() != null) {
-      item.put(
-          "dateOfBirth", AttributeValue.builder().s(profile.getDateOfBirth().toString()).build());
-    }
-    if (profile.getAddress() != null) {
-      item.put("address", AttributeValue.builder().s(profile.getAddress()).build());
-    }
-    if (profile.getCity() != null) {
-      item.put("city", AttributeValue.builder().s(profile.getCity()).build());
-    }
-    if (profile.getState() != null) {
-      item.put("state", AttributeValue.builder().s(profile.getState()).build());
-    }
-    if (profile.getZipCode() != null) {
-      item.put("zipCode", AttributeValue.builder().s(profile.getZipCode()).build());
-    }
-    if (profile.getCountry() != null) {
-      item.put("country", AttributeValue.builder().s(profile.getCountry()).build());
-    }
-    if (profile.getLatitude() != null) {
-      item.put("latitude", AttributeValue.builder().n(profile.getLatitude().toString()).build());
-    }
-    if (profile.getLongitude() != null) {
-      item.put("longitude", AttributeValue.builder().n(profile.getLongitude().toString()).build());
-    }
-    if (profile.getGender() != null) {
-      item.put("gender", AttributeValue.builder().s(profile.getGender()).build());
-    }
-    if (profile.getProfession() != null) {
-      item.put("profession", AttributeValue.builder().s(profile.getProfession()).build());
-    }
-    if (profile.getCompany() != null) {
-      item.put("company", AttributeValue.builder().s(profile.getCompany()).build());
-    }
-    if (profile.getBio() != null) {
-      item.put("bio", AttributeValue.builder().s(profile.getBio()).build());
-    }
-    if (profile.getPhoneNumber() != null) {
-      item.put("phoneNumber", AttributeValue.builder().s(profile.getPhoneNumber()).build());
-    }
-    if (profile.getStatus() != null) {
-      item.put("status", AttributeValue.builder().s(profile.getStatus().getValue()).build());
-    }
-    if (profile.getUpdatedAt() != null) {
-      item.put("updatedAt", AttributeValue.builder().s(profile.getUpdatedAt().toString()).build());
-    }
+    UserProfileAttributes.write(profile, item);
 
     return item;
   }
 
   /** Convert DynamoDB AttributeValue map to UserProfile. */
   private UserProfile fromAttributeMap(Map<String, AttributeValue> item) {
-    UserProfile profile = new UserProfile();
+    UserProfile profile = UserProfileAttributes.read(item);
 
-    if (item.containsKey("userId")) {
-      profile.setUserId(item.get("userId").s());
-    }
-    if (item.containsKey("dateOfBirth")) {
-      profile.setDateOfBirth(LocalDate.parse(item.get("dateOfBirth").s()));
-    }
-    if (item.containsKey("address")) {
-      profile.setAddress(item.get("address").s());
-    }
-    if (item.containsKey("city")) {
-      profile.setCity(item.get("city").s());
-    }
-    if (item.containsKey("state")) {
-      profile.setState(item.get("state").s());
-    }
-    if (item.containsKey("zipCode")) {
-      profile.setZipCode(item.get("zipCode").s());
-    }
-    if (item.containsKey("country")) {
-      profile.setCountry(item.get("country").s());
-    }
-    if (item.containsKey("latitude")) {
-      profile.setLatitude(Double.parseDouble(item.get("latitude").n()));
-    }
-    if (item.containsKey("longitude")) {
-      profile.setLongitude(Double.parseDouble(item.get("longitude").n()));
-    }
-    if (item.containsKey("gender")) {
-      profile.setGender(item.get("gender").s());
-    }
-    if (item.containsKey("profession")) {
-      profile.setProfession(item.get("profession").s());
-    }
-    if (item.containsKey("company")) {
-      profile.setCompany(item.get("company").s());
-    }
-    if (item.containsKey("bio")) {
-      profile.setBio(item.get("bio").s());
-    }
-    if (item.containsKey("phoneNumber")) {
-      profile.setPhoneNumber(item.get("phoneNumber").s());
-    }
-    if (item.containsKey("status")) {
-      profile.setStatus(UserStatus.fromValue(item.get("status").s()));
-    } else {
-      profile.setStatus(UserStatus.ACTIVE);
+    String userId = AttributeValues.getString(item, "userId");
+    if (userId != null) {
+      profile.setUserId(userId);
     }
     // Read createdAt from sk (sort key) or createdAt (for backward compatibility)
-    if (item.containsKey("sk")) {
-      profile.setCreatedAt(Instant.parse(item.get("sk").s()));
-    } else if (item.containsKey("createdAt")) {
-      profile.setCreatedAt(Instant.parse(item.get("createdAt").s()));
+    String createdAt = AttributeValues.getString(item, "sk");
+    if (createdAt == null) {
+      createdAt = AttributeValues.getString(item, "createdAt");
     }
-    if (item.containsKey("updatedAt")) {
-      profile.setUpdatedAt(Instant.parse(item.get("updatedAt").s()));
+    if (createdAt != null) {
+      profile.setCreatedAt(AttributeValues.parseInstant(createdAt));
     }
 
     return profile;
   }
 
-  /** Update UserProfile entity from request DTO. */
-  private void updateProfileFromRequest(UserProfile profile, UserProfileRequest request) {
-    if (request.getDateOfBirth() != null) {
-      profile.setDateOfBirth(request.getDateOfBirth());
-    }
-    if (request.getAddress() != null) {
-      profile.setAddress(request.getAddress());
-    }
-    if (request.getCity() != null) {
-      profile.setCity(request.getCity());
-    }
-    if (request.getState() != null) {
-      profile.setState(request.getState());
-    }
-    if (request.getZipCode() != null) {
-      profile.setZipCode(request.getZipCode());
-    }
-    if (request.getCountry() != null) {
-      profile.setCountry(request.getCountry());
-    }
-    if (request.getLatitude() != null) {
-      profile.setLatitude(request.getLatitude());
-    }
-    if (request.getLongitude() != null) {
-      profile.setLongitude(request.getLongitude());
-    }
-    if (request.getGender() != null) {
-      profile.setGender(request.getGender());
-    }
-    if (request.getProfession() != null) {
-      profile.setProfession(request.getProfession());
-    }
-    if (request.getCompany() != null) {
-      profile.setCompany(request.getCompany());
-    }
-    if (request.getBio() != null) {
-      profile.setBio(request.getBio());
-    }
-    if (request.getPhoneNumber() != null) {
-      profile.setPhoneNumber(request.getPhoneNumber());
-    }
-  }
-
-  /** Convert UserProfile entity to response DTO. */
-  private UserProfileResponse toResponse(UserProfile profile) {
-    UserProfileResponse response = new UserProfileResponse();
-    response.setUserId(profile.getUserId());
-    response.setDateOfBirth(profile.getDateOfBirth());
-    response.setAddress(profile.getAddress());
-    response.setCity(profile.getCity());
-    response.setState(profile.getState());
-    response.setZipCode(profile.getZipCode());
-    response.setCountry(profile.getCountry());
-    response.setLatitude(profile.getLatitude());
-    response.setLongitude(profile.getLongitude());
-    response.setGender(profile.getGender());
-    response.setProfession(profile.getProfession());
-    response.setCompany(profile.getCompany());
-    response.setBio(profile.getBio());
-    response.setPhoneNumber(profile.getPhoneNumber());
-    response.setStatus(profile.getStatus());
-    response.setCreatedAt(profile.getCreatedAt());
-    response.setUpdatedAt(profile.getUpdatedAt());
-    return response;
-  }
-
   /**
-   * Handle GET /users?interested={true|false}&paid={true|false} - Get users with experiences
-   * filtered by interest and payment status.
+   * Handle GET /users?interested={true|false}&paid={true|false}&cursor={cursor}&limit={limit} - Get
+   * users with experiences filtered by interest and payment status, one page at a time.
    */
   private APIGatewayProxyResponseEvent handleGetUsers(
-      String interested, String paid, Context context) {
+      String interested, String paid, String cursor, String limit, Context context) {
     try {
+      int pageLimit;
+      try {
+        pageLimit = parsePageLimit(limit);
+      } catch (IllegalArgumentException e) {
+        return createErrorResponse(400, "Bad Request", e.getMessage());
+      }
+
       List<Map<String, Object>> users = new ArrayList<>();
+      String nextCursor = null;
 
       // Query UserExperience table filtered by status
       if ("true".equalsIgnoreCase(interested)) {
-        // Get all users with INTERESTED status experiences
+        // Get all user/experience pairs with exp-interest = true
         // Note: This is a simplified implementation - in production, you might want to aggregate
         // by userId
-        List<UserExperience> userExperiences =
-            userExperienceDao.findByUserIdAndStatus(
-                "USER#", UserExperienceStatus.INTERESTED); // Placeholder - needs proper userId
+        Page<UserExperience> page;
+        try {
+          page = userExperienceDao.findAllInterestedUsers(pageLimit, cursor);
+        } catch (IllegalArgumentException e) {
+          return createErrorResponse(400, "Bad Request", "Invalid cursor");
+        }
+        nextCursor = page.getNextCursor();
         // Convert to response format
-        for (UserExperience ue : userExperiences) {
+        for (UserExperience ue : page.getItems()) {
           Map<String, Object> userData = new HashMap<>();
           userData.put("userId", ue.getUserId());
           userData.put("experienceId", ue.getExperienceId());
@@ -1478,11 +1487,15 @@ public class ApiGatewayHandler
           users.add(userData);
         }
       } else if ("true".equalsIgnoreCase(paid)) {
-        // Get all users with PAID status experiences
-        List<UserExperience> userExperiences =
-            userExperienceDao.findByUserIdAndStatus(
-                "USER#", UserExperienceStatus.PAID); // Placeholder - needs proper userId
-        for (UserExperience ue : userExperiences) {
+        // Get all user/experience pairs with PAID status
+        Page<UserExperience> page;
+        try {
+          page = userExperienceDao.findAllByStatus(UserExperienceStatus.PAID, pageLimit, cursor);
+        } catch (IllegalArgumentException e) {
+          return createErrorResponse(400, "Bad Request", "Invalid cursor");
+        }
+        nextCursor = page.getNextCursor();
+        for (UserExperience ue : page.getItems()) {
           Map<String, Object> userData = new HashMap<>();
           userData.put("userId", ue.getUserId());
           userData.put("experienceId", ue.getExperienceId());
@@ -1495,13 +1508,13 @@ public class ApiGatewayHandler
       responseData.put("success", true);
       responseData.put("message", "Users retrieved successfully");
       responseData.put("data", users);
+      responseData.put("nextCursor", nextCursor);
       responseData.put("timestamp", Instant.now().toString());
       return createSuccessResponse(200, responseData, "application/json");
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -1509,16 +1522,19 @@ public class ApiGatewayHandler
   /** Handle GET /groups/{groupId} - Get group details with users and optional experience. */
   private APIGatewayProxyResponseEvent handleGetGroup(String groupId, Context context) {
     try {
-      Optional<Group> groupOpt = groupDao.findByGroupId(groupId);
+      // The group and its experiences are read concurrently; both DAOs key by the same
+      // normalized group id, so the experiences need not wait for the group
+      CompletableFuture<Optional<Group>> groupFuture = groupDao.findByGroupIdAsync(groupId);
+      CompletableFuture<List<GroupExperience>> experiencesFuture =
+          groupExperienceDao.findByGroupIdAsync(groupId);
+      Optional<Group> groupOpt = Futures.join(groupFuture);
 
       if (groupOpt.isEmpty()) {
         return createErrorResponse(404, "Not Found", "Group not found: " + groupId);
       }
 
       Group group = groupOpt.get();
-
-      // Get related experiences for this group
-      List<GroupExperience> groupExperiences = groupExperienceDao.findByGroupId(group.getGroupId());
+      List<GroupExperience> groupExperiences = Futures.join(experiencesFuture);
       List<String> experienceIds =
           groupExperiences.stream()
               .map(GroupExperience::getExperienceId)
@@ -1543,9 +1559,8 @@ public class ApiGatewayHandler
       return createSuccessResponse(200, responseData, "application/json");
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -1563,15 +1578,45 @@ public class ApiGatewayHandler
    *
    * <p>If notPaid=true and experienceId is provided, returns users in the group who have NOT paid
    * for the experience.
+   *
+   * <p>Groups are returned one page at a time ({@code cursor}/{@code limit}); the includeUsers
+   * summary is an aggregate over all of the user's groups and is not paginated.
    */
   private APIGatewayProxyResponseEvent handleGetGroups(
-      String userId, String experienceId, String includeUsers, String notPaid, Context context) {
+      String userId,
+      String experienceId,
+      String includeUsers,
+      String notPaid,
+      String cursor,
+      String limit,
+      Context context) {
     try {
+      int pageLimit;
+      try {
+        pageLimit = parsePageLimit(limit);
+      } catch (IllegalArgumentException e) {
+        return createErrorResponse(400, "Bad Request", e.getMessage());
+      }
+
+      boolean includeAllUsers =
+          includeUsers != null
+              && ("true".equalsIgnoreCase(includeUsers) || "1".equals(includeUsers));
       List<Group> groups = new ArrayList<>();
+      String nextCursor = null;
 
       if (userId != null && !userId.isBlank()) {
-        // Query groups by userId using GSI1
-        groups = groupDao.findByUserId(userId);
+        if (includeAllUsers) {
+          groups = groupDao.findByUserId(userId);
+        } else {
+          Page<Group> page;
+          try {
+            page = groupDao.findByUserId(userId, pageLimit, cursor);
+          } catch (IllegalArgumentException e) {
+            return createErrorResponse(400, "Bad Request", "Invalid cursor");
+          }
+          groups = new ArrayList<>(page.getItems());
+          nextCursor = page.getNextCursor();
+        }
       } else if (experienceId != null && !experienceId.isBlank()) {
         // Normalize experienceId - remove EXPERIENCE# prefix if present
         // Also remove surrounding quotes if present (from query string parsing)
@@ -1585,48 +1630,46 @@ public class ApiGatewayHandler
                 ? cleanedExperienceId.replace("EXPERIENCE#", "")
                 : cleanedExperienceId;
 
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Querying groups for experienceId: "
-                      + experienceId
-                      + " (normalized: "
-                      + normalizedExperienceId
-                      + ")");
-        }
+        RequestLog.debug(
+            () ->
+                "Querying groups for experienceId: "
+                    + experienceId
+                    + " (normalized: "
+                    + normalizedExperienceId
+                    + ")");
 
         // Query groups by experienceId using GroupExperience (now uses scan, not GSI1)
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: About to call groupExperienceDao.findByExperienceId with: "
-                      + normalizedExperienceId);
-        }
-        List<GroupExperience> groupExperiences =
-            groupExperienceDao.findByExperienceId(normalizedExperienceId);
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: groupExperienceDao.findByExperienceId returned "
-                      + groupExperiences.size()
-                      + " relationships");
+        RequestLog.debug(
+            () ->
+                "About to call groupExperienceDao.findByExperienceId with: "
+                    + normalizedExperienceId);
+
+        Page<GroupExperience> groupExperiencePage;
+        try {
+          groupExperiencePage =
+              groupExperienceDao.findByExperienceId(normalizedExperienceId, pageLimit, cursor);
+        } catch (IllegalArgumentException e) {
+          return createErrorResponse(400, "Bad Request", "Invalid cursor");
         }
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Found "
+        List<GroupExperience> groupExperiences = groupExperiencePage.getItems();
+        nextCursor = groupExperiencePage.getNextCursor();
+        RequestLog.debug(
+            () ->
+                "groupExperienceDao.findByExperienceId returned "
+                    + groupExperiences.size()
+                    + " relationships");
+
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug(
+              () ->
+                  "Found "
                       + groupExperiences.size()
                       + " GroupExperience relationships for experienceId: "
                       + normalizedExperienceId);
           for (GroupExperience ge : groupExperiences) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: GroupExperience - groupId: "
+            RequestLog.debug(
+                () ->
+                    "GroupExperience - groupId: "
                         + ge.getGroupId()
                         + ", experienceId: "
                         + ge.getExperienceId());
@@ -1637,32 +1680,25 @@ public class ApiGatewayHandler
           if (groupOpt.isPresent()) {
             Group group = groupOpt.get();
             groups.add(group);
-            if (context != null && context.getLogger() != null) {
-              List<String> memberIds = group.getMemberUserIds();
-              context
-                  .getLogger()
-                  .log(
-                      "DEBUG: Added group: "
-                          + group.getGroupId()
-                          + ", memberUserIds: "
-                          + (memberIds != null ? memberIds.toString() : "null")
-                          + " (size: "
-                          + (memberIds != null ? memberIds.size() : 0)
-                          + ")");
-            }
+            List<String> memberIds = group.getMemberUserIds();
+            RequestLog.debug(
+                () ->
+                    "Added group: "
+                        + group.getGroupId()
+                        + ", memberUserIds: "
+                        + (memberIds != null ? memberIds.toString() : "null")
+                        + " (size: "
+                        + (memberIds != null ? memberIds.size() : 0)
+                        + ")");
+
           } else {
-            if (context != null && context.getLogger() != null) {
-              context.getLogger().log("DEBUG: Group not found for groupId: " + ge.getGroupId());
-            }
+            RequestLog.debug(() -> "Group not found for groupId: " + ge.getGroupId());
           }
         }
       }
 
       // If includeUsers=true and userId is provided, return all unique users from all groups
-      if (includeUsers != null
-          && ("true".equalsIgnoreCase(includeUsers) || "1".equals(includeUsers))
-          && userId != null
-          && !userId.isBlank()) {
+      if (includeAllUsers && userId != null && !userId.isBlank()) {
 
         // Collect all unique user IDs from all groups the user belongs to
         java.util.Set<String> allUserIds = new java.util.HashSet<>();
@@ -1698,16 +1734,14 @@ public class ApiGatewayHandler
         List<String> allUsersList = new ArrayList<>(allUserIds);
         java.util.Collections.sort(allUsersList);
 
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Found "
-                      + allUsersList.size()
-                      + " unique users across "
-                      + groups.size()
-                      + " groups for user: "
-                      + userId);
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug(
+              "Found "
+                  + allUsersList.size()
+                  + " unique users across "
+                  + groups.size()
+                  + " groups for user: "
+                  + userId);
         }
 
         Map<String, Object> responseData = new HashMap<>();
@@ -1725,6 +1759,41 @@ public class ApiGatewayHandler
         return createSuccessResponse(200, responseData, "application/json");
       }
 
+      // Expand the groups in two concurrent waves: the experiences of every group, then the
+      // attendees of every distinct experience (shared by all groups that include it)
+      boolean filterNotPaid =
+          notPaid != null && ("true".equalsIgnoreCase(notPaid) || "1".equals(notPaid));
+      Set<String> groupIds = new LinkedHashSet<>();
+      for (Group group : groups) {
+        groupIds.add(group.getGroupId());
+      }
+      Map<String, List<GroupExperience>> experiencesByGroupId =
+          fanOutLookups(groupIds, groupExperienceDao::findByGroupId, context);
+
+      Set<String> experienceIds = new LinkedHashSet<>();
+      for (List<GroupExperience> groupExperiences : experiencesByGroupId.values()) {
+        for (GroupExperience ge : groupExperiences) {
+          experienceIds.add(normalizeGroupExperienceId(ge.getExperienceId()));
+        }
+      }
+      Map<String, List<String>> paidUserIdsByExperienceId =
+          fanOutLookups(
+              experienceIds,
+              expId -> paidUserIds(userExperienceDao.findByExperienceId(expId)),
+              context);
+      Map<String, Set<String>> paidUserKeysByExperienceId = new HashMap<>();
+      for (Map.Entry<String, List<String>> entry : paidUserIdsByExperienceId.entrySet()) {
+        paidUserKeysByExperienceId.put(entry.getKey(), userKeys(entry.getValue()));
+      }
+      if (RequestLog.isDebugEnabled()) {
+        RequestLog.debug(
+            "Expanded "
+                + groups.size()
+                + " groups with "
+                + experienceIds.size()
+                + " distinct experiences");
+      }
+
       // Convert to response format with experience-attending users mapping
       List<Map<String, Object>> groupList = new ArrayList<>();
       for (Group group : groups) {
@@ -1734,200 +1803,45 @@ public class ApiGatewayHandler
         groupData.put("description", group.getDescription());
         groupData.put("status", group.getStatus());
         // Ensure memberUserIds is never null - use empty list if null
-        List<String> memberUserIds = group.getMemberUserIds();
-        if (memberUserIds == null) {
-          memberUserIds = new ArrayList<>();
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "WARNING: Group "
-                        + group.getGroupId()
-                        + " has null memberUserIds, initializing as empty list");
-          }
-        }
-        groupData.put("memberUserIds", memberUserIds);
-
-        // Get experiences associated with this group
-        List<GroupExperience> groupExperiences =
-            groupExperienceDao.findByGroupId(group.getGroupId());
         List<String> groupMemberIds =
             group.getMemberUserIds() != null ? group.getMemberUserIds() : new ArrayList<>();
+        groupData.put("memberUserIds", groupMemberIds);
+        Set<String> memberKeys = userKeys(groupMemberIds);
 
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Group "
-                      + group.getGroupId()
-                      + " has "
-                      + groupMemberIds.size()
-                      + " members: "
-                      + groupMemberIds);
-        }
-
-        // Build experience-attending users mapping
+        // Build experience-attending users mapping; members and payers are matched on
+        // trimmed, lower-cased user IDs
         List<Map<String, Object>> experiencesList = new ArrayList<>();
-        for (GroupExperience ge : groupExperiences) {
+        for (GroupExperience ge :
+            experiencesByGroupId.getOrDefault(group.getGroupId(), List.of())) {
           String expId = ge.getExperienceId();
-          // Remove EXPERIENCE# prefix if present for querying
-          String normalizedExpId =
-              expId.startsWith("EXPERIENCE#") ? expId.replace("EXPERIENCE#", "") : expId;
-
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log("DEBUG: Querying UserExperience for experienceId: " + normalizedExpId);
-          }
-
-          // Get all users for this experience
-          List<UserExperience> userExperiences =
-              userExperienceDao.findByExperienceId(normalizedExpId);
-
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: Found "
-                        + userExperiences.size()
-                        + " UserExperience records for experienceId: "
-                        + normalizedExpId);
-            if (!userExperiences.isEmpty()) {
-              List<String> userIds =
-                  userExperiences.stream()
-                      .map(UserExperience::getUserId)
-                      .filter(u -> u != null)
-                      .collect(Collectors.toList());
-              context.getLogger().log("DEBUG: User IDs from UserExperience: " + userIds);
-            }
-          }
-
-          // Check if we need to filter for unpaid users
-          boolean filterNotPaid =
-              notPaid != null && ("true".equalsIgnoreCase(notPaid) || "1".equals(notPaid));
+          String normalizedExpId = normalizeGroupExperienceId(expId);
+          List<String> paidUserIds =
+              paidUserIdsByExperienceId.getOrDefault(normalizedExpId, List.of());
 
+          Map<String, Object> experienceData = new HashMap<>();
+          experienceData.put("experienceId", expId);
           if (filterNotPaid) {
-            // Filter to get users who HAVE paid (to calculate who hasn't paid)
-            List<String> paidUserIds =
-                userExperiences.stream()
-                    .filter(
-                        ue -> {
-                          // Check if user has paid - prioritize paid=true, then paymentDetails,
-                          // then status
-                          if (ue.getPaid() != null && ue.getPaid()) {
-                            return true;
-                          }
-                          if (ue.getPaymentDetails() != null) {
-                            return true;
-                          }
-                          if (ue.getStatus() == UserExperience.UserExperienceStatus.PAID
-                              || ue.getStatus() == UserExperience.UserExperienceStatus.ATTENDED) {
-                            return true;
-                          }
-                          return false;
-                        })
-                    .map(UserExperience::getUserId)
-                    .filter(u -> u != null)
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log(
-                      "DEBUG: Found "
-                          + paidUserIds.size()
-                          + " users who have paid for experience ["
-                          + normalizedExpId
-                          + "]");
-            }
-
-            // Calculate unpaid users: group members - paid users
+            // Unpaid users: group members - paid users
+            Set<String> paidKeys =
+                paidUserKeysByExperienceId.getOrDefault(normalizedExpId, Set.of());
             List<String> unpaidUserIds =
                 groupMemberIds.stream()
-                    .filter(
-                        memberId -> {
-                          if (memberId == null || memberId.isBlank()) {
-                            return false;
-                          }
-                          String trimmedMemberId = memberId.trim();
-                          // User hasn't paid if they're in the group but not in the paid list
-                          return !paidUserIds.stream()
-                              .anyMatch(
-                                  paidUserId ->
-                                      paidUserId != null
-                                          && paidUserId.trim().equalsIgnoreCase(trimmedMemberId));
-                        })
+                    .filter(memberId -> memberId != null && !memberId.isBlank())
+                    .filter(memberId -> !paidKeys.contains(userKey(memberId)))
                     .distinct()
                     .collect(Collectors.toList());
-
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log(
-                      "DEBUG: Found "
-                          + unpaidUserIds.size()
-                          + " users in group who have NOT paid for experience ["
-                          + normalizedExpId
-                          + "]");
-            }
-
-            Map<String, Object> experienceData = new HashMap<>();
-            experienceData.put("experienceId", expId);
             experienceData.put("unpaidUserIds", unpaidUserIds);
             experienceData.put("paidUserIds", paidUserIds);
             experienceData.put("totalGroupMembers", groupMemberIds.size());
-            experiencesList.add(experienceData);
           } else {
-            // Original logic: filter to only include users who are members of this group AND have
-            // paid
-            // Use case-insensitive comparison and trim whitespace
+            // Users who are members of this group AND have paid
             List<String> attendingUserIds =
-                userExperiences.stream()
-                    .filter(
-                        ue -> {
-                          // Check if user has paid - prioritize paid=true, then paymentDetails,
-                          // then status
-                          boolean hasPaid = false;
-                          if (ue.getPaid() != null && ue.getPaid()) {
-                            hasPaid = true;
-                          } else if (ue.getPaymentDetails() != null) {
-                            hasPaid = true;
-                          } else if (ue.getStatus() == UserExperience.UserExperienceStatus.PAID
-                              || ue.getStatus() == UserExperience.UserExperienceStatus.ATTENDED) {
-                            hasPaid = true;
-                          }
-                          return hasPaid;
-                        })
-                    .map(UserExperience::getUserId)
-                    .filter(
-                        ueUserId -> {
-                          if (ueUserId == null) {
-                            return false;
-                          }
-                          String trimmedUeUserId = ueUserId.trim();
-                          return groupMemberIds.stream()
-                              .anyMatch(
-                                  memberId ->
-                                      memberId != null
-                                          && memberId.trim().equalsIgnoreCase(trimmedUeUserId));
-                        })
-                    .distinct()
+                paidUserIds.stream()
+                    .filter(paidUserId -> memberKeys.contains(userKey(paidUserId)))
                     .collect(Collectors.toList());
-
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log(
-                      "DEBUG: After filtering by group members and payment status, attendingUserIds: "
-                          + attendingUserIds);
-            }
-
-            Map<String, Object> experienceData = new HashMap<>();
-            experienceData.put("experienceId", expId);
             experienceData.put("attendingUserIds", attendingUserIds);
-            experiencesList.add(experienceData);
           }
+          experiencesList.add(experienceData);
         }
 
         groupData.put("experiences", experiencesList);
@@ -1938,17 +1852,95 @@ public class ApiGatewayHandler
       responseData.put("success", true);
       responseData.put("message", "Groups retrieved successfully");
       responseData.put("data", groupList);
+      responseData.put("nextCursor", nextCursor);
       responseData.put("timestamp", Instant.now().toString());
       return createSuccessResponse(200, responseData, "application/json");
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
 
+  /**
+   * Run a blocking DAO lookup for every key on the group fan-out executor, {@value
+   * #MAX_CONCURRENT_GROUP_QUERIES} at a time. Keys whose lookup failed or timed out are retried one
+   * by one, so the result is complete unless the retry fails too.
+   *
+   * @param keys Keys to look up (each is looked up once)
+   * @param lookup Blocking lookup of one key
+   * @param context Lambda context
+   * @return Lookup results keyed by key, in key order
+   */
+  private static <V> Map<String, V> fanOutLookups(
+      Collection<String> keys, Function<String, V> lookup, Context context) {
+    AsyncFanOut.Result<Map.Entry<String, V>> result =
+        AsyncFanOut.run(
+            new ArrayList<>(keys),
+            key ->
+                CompletableFuture.supplyAsync(
+                    () -> Map.entry(key, lookup.apply(key)), groupFanOutExecutor),
+            MAX_CONCURRENT_GROUP_QUERIES,
+            ASYNC_API_CALL_TIMEOUT);
+
+    Map<String, V> values = new HashMap<>();
+    for (Map.Entry<String, V> entry : result.getResults()) {
+      values.put(entry.getKey(), entry.getValue());
+    }
+    if (result.isPartial()) {
+      RequestLog.warn(
+          "Warning: "
+              + result.getFailures().size()
+              + " group lookups failed, retrying sequentially: "
+              + result.getFailures().get(0).getMessage());
+    }
+
+    Map<String, V> ordered = new LinkedHashMap<>();
+    for (String key : keys) {
+      ordered.put(key, values.containsKey(key) ? values.get(key) : lookup.apply(key));
+    }
+    return ordered;
+  }
+
+  /** Distinct IDs of the users who paid, in record order. */
+  private static List<String> paidUserIds(List<UserExperience> userExperiences) {
+    return userExperiences.stream()
+        .filter(
+            ue ->
+                // Paid if paid=true, or payment details exist, or the status says so
+                (ue.getPaid() != null && ue.getPaid())
+                    || ue.getPaymentDetails() != null
+                    || ue.getStatus() == UserExperience.UserExperienceStatus.PAID
+                    || ue.getStatus() == UserExperience.UserExperienceStatus.ATTENDED)
+        .map(UserExperience::getUserId)
+        .filter(Objects::nonNull)
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  /** Experience ID of a group-experience link without its EXPERIENCE# prefix. */
+  private static String normalizeGroupExperienceId(String experienceId) {
+    return experienceId.startsWith("EXPERIENCE#")
+        ? experienceId.replace("EXPERIENCE#", "")
+        : experienceId;
+  }
+
+  /** Form of a user ID used to match members against payers: trimmed and lower-cased. */
+  private static String userKey(String userId) {
+    return userId.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static Set<String> userKeys(Collection<String> userIds) {
+    Set<String> keys = new HashSet<>();
+    for (String userId : userIds) {
+      if (userId != null) {
+        keys.add(userKey(userId));
+      }
+    }
+    return keys;
+  }
+
   /**
    * Handle PUT /groups/{groupId} - Create, update group, add/remove users, add/remove experiences,
    * or delete group.
@@ -2072,43 +2064,35 @@ public class ApiGatewayHandler
         Group group = existingGroupOpt.get();
 
         // Log group details immediately after retrieval
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Retrieved group - groupId: "
-                      + group.getGroupId()
-                      + ", creator (getUserId): "
-                      + group.getUserId()
-                      + ", memberUserIds: "
-                      + group.getMemberUserIds()
-                      + ", status: "
-                      + group.getStatus());
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug(
+              "Retrieved group - groupId: "
+                  + group.getGroupId()
+                  + ", creator (getUserId): "
+                  + group.getUserId()
+                  + ", memberUserIds: "
+                  + group.getMemberUserIds()
+                  + ", status: "
+                  + group.getStatus());
         }
 
         // Fix: If creatorUserId is missing (legacy group), try to infer it from memberUserIds
         if (group.getUserId() == null || group.getUserId().isBlank()) {
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: Group missing creatorUserId - attempting to fix. memberUserIds: "
-                        + group.getMemberUserIds());
+          if (RequestLog.isDebugEnabled()) {
+            RequestLog.debug(
+                "Group missing creatorUserId - attempting to fix. memberUserIds: "
+                    + group.getMemberUserIds());
           }
+
           // If memberUserIds exists and is not empty, use the first member as creator
           if (group.getMemberUserIds() != null && !group.getMemberUserIds().isEmpty()) {
             String inferredCreator = group.getMemberUserIds().get(0).trim();
             group.setUserId(inferredCreator);
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log("DEBUG: Inferred creator from memberUserIds: " + inferredCreator);
-            }
+            RequestLog.debug(() -> "Inferred creator from memberUserIds: " + inferredCreator);
+
             // Save the fix to DynamoDB
             group = groupDao.save(group);
-            if (context != null && context.getLogger() != null) {
-              context.getLogger().log("DEBUG: Updated group with creatorUserId");
-            }
+            RequestLog.debug("Updated group with creatorUserId");
           }
         }
 
@@ -2118,18 +2102,16 @@ public class ApiGatewayHandler
         }
 
         // Verify user is a member or creator
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Permission check - userId: "
-                      + userId
-                      + ", group creator: "
-                      + group.getUserId()
-                      + ", groupId: "
-                      + group.getGroupId()
-                      + ", memberUserIds: "
-                      + group.getMemberUserIds());
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug(
+              "Permission check - userId: "
+                  + userId
+                  + ", group creator: "
+                  + group.getUserId()
+                  + ", groupId: "
+                  + group.getGroupId()
+                  + ", memberUserIds: "
+                  + group.getMemberUserIds());
         }
 
         // For "add" action, skip permission check if:
@@ -2161,27 +2143,26 @@ public class ApiGatewayHandler
                 || (hasNoMembers && hasNoCreator);
 
         if (!shouldSkipPermissionCheck && !isGroupMemberOrCreator(group, userId)) {
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: Permission check FAILED - userId: "
-                        + userId
-                        + ", group creator: "
-                        + group.getUserId()
-                        + ", groupId: "
-                        + group.getGroupId()
-                        + ", memberUserIds: "
-                        + group.getMemberUserIds()
-                        + ", userId.equals(creator): "
-                        + (userId != null && group.getUserId() != null
-                            ? userId.equals(group.getUserId())
-                            : "null check")
-                        + ", userId in members: "
-                        + (group.getMemberUserIds() != null
-                            ? group.getMemberUserIds().contains(userId)
-                            : "null"));
+          if (RequestLog.isDebugEnabled()) {
+            RequestLog.debug(
+                "Permission check FAILED - userId: "
+                    + userId
+                    + ", group creator: "
+                    + group.getUserId()
+                    + ", groupId: "
+                    + group.getGroupId()
+                    + ", memberUserIds: "
+                    + group.getMemberUserIds()
+                    + ", userId.equals(creator): "
+                    + (userId != null && group.getUserId() != null
+                        ? userId.equals(group.getUserId())
+                        : "null check")
+                    + ", userId in members: "
+                    + (group.getMemberUserIds() != null
+                        ? group.getMemberUserIds().contains(userId)
+                        : "null"));
           }
+
           return createErrorResponse(
               403, "Forbidden", "You don't have permission to modify this group");
         }
@@ -2195,9 +2176,11 @@ public class ApiGatewayHandler
               group.getMemberUserIds() != null
                   ? new ArrayList<>(group.getMemberUserIds())
                   : new ArrayList<>();
+          List<String> addedMembers = new ArrayList<>();
           for (String newUserId : userIds) {
             if (newUserId != null && !currentMembers.contains(newUserId.trim())) {
               currentMembers.add(newUserId.trim());
+              addedMembers.add(newUserId.trim());
             }
           }
 
@@ -2205,17 +2188,13 @@ public class ApiGatewayHandler
           if (group.getUserId() == null || group.getUserId().isBlank()) {
             if (!currentMembers.isEmpty()) {
               group.setUserId(currentMembers.get(0));
-              if (context != null && context.getLogger() != null) {
-                context
-                    .getLogger()
-                    .log("DEBUG: Setting first member as creator: " + currentMembers.get(0));
-              }
+              RequestLog.debug(() -> "Setting first member as creator: " + currentMembers.get(0));
             }
           }
 
+          // Atomic set ADD plus membership items, so concurrent joins don't overwrite each other
           group.setMemberUserIds(currentMembers);
-          group.setUpdatedAt(Instant.now());
-          group = groupDao.save(group);
+          group = groupDao.addMembers(group, addedMembers);
 
           Map<String, Object> responseData = new HashMap<>();
           responseData.put("success", true);
@@ -2231,10 +2210,8 @@ public class ApiGatewayHandler
                   ? new ArrayList<>(group.getMemberUserIds())
                   : new ArrayList<>();
 
-          if (context != null && context.getLogger() != null) {
-            context.getLogger().log("Before removal - currentMembers: " + currentMembers);
-            context.getLogger().log("User IDs to remove: " + userIds);
-          }
+          RequestLog.info("Before removal - currentMembers: " + currentMembers);
+          RequestLog.info("User IDs to remove: " + userIds);
 
           // Normalize user IDs for comparison (trim and handle case sensitivity)
           List<String> normalizedUserIdsToRemove = new ArrayList<>();
@@ -2253,30 +2230,23 @@ public class ApiGatewayHandler
             }
           }
 
-          if (context != null && context.getLogger() != null) {
-            context.getLogger().log("After removal - updatedMembers: " + updatedMembers);
-            context
-                .getLogger()
-                .log("Removed count: " + (currentMembers.size() - updatedMembers.size()));
-          }
+          RequestLog.info("After removal - updatedMembers: " + updatedMembers);
+          RequestLog.info("Removed count: " + (currentMembers.size() - updatedMembers.size()));
 
           // Ensure at least one member remains (the creator)
           if (updatedMembers.isEmpty()) {
             return createErrorResponse(400, "Bad Request", "Cannot remove all members from group");
           }
+          List<String> removedMembers = new ArrayList<>(currentMembers);
+          removedMembers.removeAll(updatedMembers);
           group.setMemberUserIds(updatedMembers);
-          group.setUpdatedAt(Instant.now());
-          group = groupDao.save(group);
+          group = groupDao.removeMembers(group, removedMembers);
 
           // Re-read group from DB to ensure we return the actual saved state
           Optional<Group> savedGroupOpt = groupDao.findByGroupId(group.getGroupId());
           if (savedGroupOpt.isPresent()) {
             group = savedGroupOpt.get();
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log("After save - group memberUserIds: " + group.getMemberUserIds());
-            }
+            RequestLog.info("After save - group memberUserIds: " + group.getMemberUserIds());
           }
 
           Map<String, Object> responseData = new HashMap<>();
@@ -2459,19 +2429,12 @@ public class ApiGatewayHandler
               if (group.getUserId() == null || group.getUserId().isBlank()) {
                 if (!normalizedUserIds.isEmpty()) {
                   group.setUserId(normalizedUserIds.get(0));
-                  if (context != null && context.getLogger() != null) {
-                    context
-                        .getLogger()
-                        .log("DEBUG: Setting first userId as creator: " + normalizedUserIds.get(0));
-                  }
+                  RequestLog.debug(
+                      () -> "Setting first userId as creator: " + normalizedUserIds.get(0));
                 }
               }
 
-              if (context != null && context.getLogger() != null) {
-                context
-                    .getLogger()
-                    .log("DEBUG: Updated memberUserIds from request: " + normalizedUserIds);
-              }
+              RequestLog.debug(() -> "Updated memberUserIds from request: " + normalizedUserIds);
             }
           }
 
@@ -2518,15 +2481,12 @@ public class ApiGatewayHandler
                 }
               }
 
-              if (context != null && context.getLogger() != null) {
-                context
-                    .getLogger()
-                    .log(
-                        "DEBUG: Added "
-                            + addedExperiences.size()
-                            + " experiences, invalid: "
-                            + invalidExperiences.size());
-              }
+              RequestLog.debug(
+                  () ->
+                      "Added "
+                          + addedExperiences.size()
+                          + " experiences, invalid: "
+                          + invalidExperiences.size());
             }
           }
 
@@ -2588,11 +2548,12 @@ public class ApiGatewayHandler
         responseData.put("timestamp", Instant.now().toString());
         return createSuccessResponse(201, responseData, "application/json");
       }
+    } catch (BadRequestException e) {
+      return createErrorResponse(400, "Bad request", e.getMessage());
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -2648,127 +2609,67 @@ public class ApiGatewayHandler
    * an experience.
    */
   private APIGatewayProxyResponseEvent handleGetInterestedUsers(
-      String experienceId, Context context) {
+      String experienceId, String cursor, String limit, Context context) {
     try {
+      int pageLimit;
+      try {
+        pageLimit = parsePageLimit(limit);
+      } catch (IllegalArgumentException e) {
+        return createErrorResponse(400, "Bad Request", e.getMessage());
+      }
+
       // Verify experience exists
       Optional<Experience> experienceOpt = experienceDao.findByExperienceId(experienceId);
       if (experienceOpt.isEmpty()) {
         return createErrorResponse(404, "Not Found", "Experience not found: " + experienceId);
       }
 
-      // Get all users interested in this experience
-      List<UserExperience> interestedUserExperiences =
-          userExperienceDao.findInterestedUsersByExperienceId(experienceId);
-
-      if (context != null && context.getLogger() != null) {
-        context
-            .getLogger()
-            .log(
-                "DEBUG: Found "
-                    + interestedUserExperiences.size()
-                    + " users interested in experience "
-                    + experienceId);
+      // Get one page of the users interested in this experience
+      Page<UserExperience> page;
+      try {
+        page = userExperienceDao.findInterestedUsersByExperienceId(experienceId, pageLimit, cursor);
+      } catch (IllegalArgumentException e) {
+        return createErrorResponse(400, "Bad Request", "Invalid cursor");
       }
+      List<UserExperience> interestedUserExperiences = page.getItems();
 
-      // Fetch user profiles for each interested user
-      List<Map<String, Object>> interestedUsers = new ArrayList<>();
-      for (UserExperience ue : interestedUserExperiences) {
-        String userId = ue.getUserId();
-        if (userId != null && !userId.isBlank()) {
-          Optional<UserProfile> userProfileOpt = findByUserId(userId, context);
-          if (userProfileOpt.isPresent()) {
-            UserProfile profile = userProfileOpt.get();
-            Map<String, Object> userData = new HashMap<>();
-
-            // Add user profile data
-            userData.put("userId", profile.getUserId());
-            if (profile.getDateOfBirth() != null) {
-              userData.put("dateOfBirth", profile.getDateOfBirth().toString());
-            }
-            if (profile.getAddress() != null) {
-              userData.put("address", profile.getAddress());
-            }
-            if (profile.getCity() != null) {
-              userData.put("city", profile.getCity());
-            }
-            if (profile.getState() != null) {
-              userData.put("state", profile.getState());
-            }
-            if (profile.getZipCode() != null) {
-              userData.put("zipCode", profile.getZipCode());
-            }
-            if (profile.getCountry() != null) {
-              userData.put("country", profile.getCountry());
-            }
-            if (profile.getLatitude() != null) {
-              userData.put("latitude", profile.getLatitude());
-            }
-            if (profile.getLongitude() != null) {
-              userData.put("longitude", profile.getLongitude());
-            }
-            if (profile.getGender() != null) {
-              userData.put("gender", profile.getGender());
-            }
-            if (profile.getProfession() != null) {
-              userData.put("profession", profile.getProfession());
-            }
-            if (profile.getCompany() != null) {
-              userData.put("company", profile.getCompany());
-            }
-            if (profile.getBio() != null) {
-              userData.put("bio", profile.getBio());
-            }
-            if (profile.getPhoneNumber() != null) {
-              userData.put("phoneNumber", profile.getPhoneNumber());
-            }
-            if (profile.getStatus() != null) {
-              userData.put("status", profile.getStatus().getValue());
-            }
-
-            // Add interest metadata
-            userData.put("exp-interest", ue.getExpInterest());
-            if (ue.getInterestScore() != null) {
-              userData.put("interestScore", ue.getInterestScore());
-            }
-            if (ue.getCreatedAt() != null) {
-              userData.put("interestedAt", ue.getCreatedAt().toString());
-            }
+      RequestLog.debug(
+          () ->
+              "Found "
+                  + interestedUserExperiences.size()
+                  + " users interested in experience "
+                  + experienceId);
 
-            interestedUsers.add(userData);
-          } else {
-            // User profile not found, but still include basic info
-            if (context != null && context.getLogger() != null) {
-              context.getLogger().log("Warning: User profile not found for userId: " + userId);
-            }
-            Map<String, Object> userData = new HashMap<>();
-            userData.put("userId", userId);
-            userData.put("exp-interest", ue.getExpInterest());
-            if (ue.getInterestScore() != null) {
-              userData.put("interestScore", ue.getInterestScore());
-            }
-            if (ue.getCreatedAt() != null) {
-              userData.put("interestedAt", ue.getCreatedAt().toString());
-            }
-            interestedUsers.add(userData);
-          }
-        }
+      // Fetch user profiles for all interested users in one batch
+      List<String> interestedUserIds = new ArrayList<>();
+      for (UserExperience ue : interestedUserExperiences) {
+        interestedUserIds.add(ue.getUserId());
       }
-
-      // Build response
-      Map<String, Object> responseData = new HashMap<>();
-      responseData.put("success", true);
-      responseData.put("message", "Interested users retrieved successfully");
-      responseData.put("data", interestedUsers);
-      responseData.put("count", interestedUsers.size());
-      responseData.put("timestamp", Instant.now().toString());
-
-      return createSuccessResponse(200, responseData, "application/json");
+      Map<String, UserProfile> profilesByUserId = findByUserIds(interestedUserIds, context);
+
+      List<UserExperience> interestedUsers =
+          listedUsers(interestedUserExperiences, profilesByUserId, context);
+      String nextCursor = page.getNextCursor();
+
+      // Stream the page straight into the response
+      return createStreamingResponse(
+          200,
+          "Interested users retrieved successfully",
+          gen -> {
+            gen.writeStartArray();
+            for (UserExperience ue : interestedUsers) {
+              gen.writeStartObject();
+              writeUserFields(gen, ue.getUserId(), profilesByUserId);
+              ResponseJsonWriter.writeInterestFields(gen, ue);
+              gen.writeEndObject();
+            }
+            gen.writeEndArray();
+          },
+          gen -> writePageFields(gen, interestedUsers.size(), nextCursor));
     } catch (Exception e) {
       String errorMessage = "Error retrieving interested users: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-        e.printStackTrace();
-      }
+      RequestLog.error(errorMessage, e);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -2778,356 +2679,231 @@ public class ApiGatewayHandler
    * an experience.
    */
   private APIGatewayProxyResponseEvent handleGetAttendedUsers(
-      String experienceId, Context context) {
+      String experienceId, String cursor, String limit, Context context) {
     try {
+      int pageLimit;
+      try {
+        pageLimit = parsePageLimit(limit);
+      } catch (IllegalArgumentException e) {
+        return createErrorResponse(400, "Bad Request", e.getMessage());
+      }
+
       // Verify experience exists
       Optional<Experience> experienceOpt = experienceDao.findByExperienceId(experienceId);
       if (experienceOpt.isEmpty()) {
         return createErrorResponse(404, "Not Found", "Experience not found: " + experienceId);
       }
 
-      // Get all users for this experience
-      List<UserExperience> allUserExperiences = userExperienceDao.findByExperienceId(experienceId);
-
-      // Filter to only include users who attended (status = PAID or ATTENDED, or paid = true)
-      List<UserExperience> attendedUserExperiences =
-          allUserExperiences.stream()
-              .filter(
-                  ue -> {
-                    // Check if status is PAID or ATTENDED
-                    if (ue.getStatus() == UserExperience.UserExperienceStatus.PAID
-                        || ue.getStatus() == UserExperience.UserExperienceStatus.ATTENDED) {
-                      return true;
-                    }
-                    // Check if paid field is true
-                    if (ue.getPaid() != null && ue.getPaid()) {
-                      return true;
-                    }
-                    // Check if paymentDetails exists (backward compatibility)
-                    if (ue.getPaymentDetails() != null) {
-                      return true;
-                    }
-                    return false;
-                  })
-              .collect(Collectors.toList());
-
-      if (context != null && context.getLogger() != null) {
-        context
-            .getLogger()
-            .log(
-                "DEBUG: Found "
-                    + attendedUserExperiences.size()
-                    + " users who attended experience "
-                    + experienceId
-                    + " (out of "
-                    + allUserExperiences.size()
-                    + " total users)");
+      // Get one page of the users who attended (status = PAID or ATTENDED, or paid = true)
+      Page<UserExperience> page;
+      try {
+        page =
+            userExperienceDao.findByExperienceId(
+                experienceId,
+                ue -> {
+                  // Check if status is PAID or ATTENDED
+                  if (ue.getStatus() == UserExperience.UserExperienceStatus.PAID
+                      || ue.getStatus() == UserExperience.UserExperienceStatus.ATTENDED) {
+                    return true;
+                  }
+                  // Check if paid field is true
+                  if (ue.getPaid() != null && ue.getPaid()) {
+                    return true;
+                  }
+                  // Check if paymentDetails exists (backward compatibility)
+                  if (ue.getPaymentDetails() != null) {
+                    return true;
+                  }
+                  return false;
+                },
+                pageLimit,
+                cursor);
+      } catch (IllegalArgumentException e) {
+        return createErrorResponse(400, "Bad Request", "Invalid cursor");
       }
-
-      // Fetch user profiles for each attended user
-      List<Map<String, Object>> attendedUsers = new ArrayList<>();
+      List<UserExperience> attendedUserExperiences = page.getItems();
+
+      RequestLog.debug(
+          () ->
+              "Found "
+                  + attendedUserExperiences.size()
+                  + " users who attended experience "
+                  + experienceId
+                  + " on this page");
+
+      // Fetch user profiles for all attended users in one batch
+      List<String> attendedUserIds = new ArrayList<>();
       for (UserExperience ue : attendedUserExperiences) {
-        String userId = ue.getUserId();
-        if (userId != null && !userId.isBlank()) {
-          Optional<UserProfile> userProfileOpt = findByUserId(userId, context);
-          if (userProfileOpt.isPresent()) {
-            UserProfile profile = userProfileOpt.get();
-            Map<String, Object> userData = new HashMap<>();
-
-            // Add user profile data
-            userData.put("userId", profile.getUserId());
-            if (profile.getDateOfBirth() != null) {
-              userData.put("dateOfBirth", profile.getDateOfBirth().toString());
-            }
-            if (profile.getAddress() != null) {
-              userData.put("address", profile.getAddress());
-            }
-            if (profile.getCity() != null) {
-              userData.put("city", profile.getCity());
-            }
-            if (profile.getState() != null) {
-              userData.put("state", profile.getState());
-            }
-            if (profile.getZipCode() != null) {
-              userData.put("zipCode", profile.getZipCode());
-            }
-            if (profile.getCountry() != null) {
-              userData.put("country", profile.getCountry());
-            }
-            if (profile.getLatitude() != null) {
-              userData.put("latitude", profile.getLatitude());
-            }
-            if (profile.getLongitude() != null) {
-              userData.put("longitude", profile.getLongitude());
-            }
-            if (profile.getGender() != null) {
-              userData.put("gender", profile.getGender());
-            }
-            if (profile.getProfession() != null) {
-              userData.put("profession", profile.getProfession());
-            }
-            if (profile.getCompany() != null) {
-              userData.put("company", profile.getCompany());
-            }
-            if (profile.getBio() != null) {
-              userData.put("bio", profile.getBio());
-            }
-            if (profile.getPhoneNumber() != null) {
-              userData.put("phoneNumber", profile.getPhoneNumber());
-            }
-            if (profile.getStatus() != null) {
-              userData.put("status", profile.getStatus().getValue());
+        attendedUserIds.add(ue.getUserId());
+      }
+      Map<String, UserProfile> profilesByUserId = findByUserIds(attendedUserIds, context);
+
+      List<UserExperience> attendedUsers =
+          listedUsers(attendedUserExperiences, profilesByUserId, context);
+      String nextCursor = page.getNextCursor();
+
+      // Stream the page straight into the response
+      return createStreamingResponse(
+          200,
+          "Attended users retrieved successfully",
+          gen -> {
+            gen.writeStartArray();
+            for (UserExperience ue : attendedUsers) {
+              gen.writeStartObject();
+              writeUserFields(gen, ue.getUserId(), profilesByUserId);
+              ResponseJsonWriter.writeAttendanceFields(gen, ue);
+              gen.writeEndObject();
             }
+            gen.writeEndArray();
+          },
+          gen -> writePageFields(gen, attendedUsers.size(), nextCursor));
+    } catch (Exception e) {
+      String errorMessage = "Error retrieving attended users: " + e.getMessage();
+      RequestLog.error(errorMessage, e);
 
-            // Add payment/attendance metadata
-            if (ue.getStatus() != null) {
-              userData.put("userStatus", ue.getStatus().getValue());
-            }
-            if (ue.getPaid() != null) {
-              userData.put("paid", ue.getPaid());
-            }
-            if (ue.getPaymentDetails() != null) {
-              Map<String, Object> paymentDetails = new HashMap<>();
-              if (ue.getPaymentDetails().getAmount() != null) {
-                paymentDetails.put("amount", ue.getPaymentDetails().getAmount());
-              }
-              if (ue.getPaymentDetails().getCurrency() != null) {
-                paymentDetails.put("currency", ue.getPaymentDetails().getCurrency());
-              }
-              if (ue.getPaymentDetails().getPaymentMethod() != null) {
-                paymentDetails.put("paymentMethod", ue.getPaymentDetails().getPaymentMethod());
-              }
-              if (ue.getPaymentDetails().getPaymentDate() != null) {
-                paymentDetails.put(
-                    "paymentDate", ue.getPaymentDetails().getPaymentDate().toString());
-              }
-              if (ue.getPaymentDetails().getTransactionId() != null) {
-                paymentDetails.put("transactionId", ue.getPaymentDetails().getTransactionId());
-              }
-              if (!paymentDetails.isEmpty()) {
-                userData.put("paymentDetails", paymentDetails);
-              }
-            }
-            if (ue.getCreatedAt() != null) {
-              userData.put("paidAt", ue.getCreatedAt().toString());
-            }
-            if (ue.getUpdatedAt() != null) {
-              userData.put("updatedAt", ue.getUpdatedAt().toString());
-            }
+      return createErrorResponse(500, "Internal server error", errorMessage);
+    }
+  }
 
-            attendedUsers.add(userData);
-          } else {
-            // User profile not found, but still include basic info
-            if (context != null && context.getLogger() != null) {
-              context.getLogger().log("Warning: User profile not found for userId: " + userId);
-            }
-            Map<String, Object> userData = new HashMap<>();
-            userData.put("userId", userId);
-            if (ue.getStatus() != null) {
-              userData.put("userStatus", ue.getStatus().getValue());
-            }
-            if (ue.getPaid() != null) {
-              userData.put("paid", ue.getPaid());
-            }
-            if (ue.getPaymentDetails() != null) {
-              Map<String, Object> paymentDetails = new HashMap<>();
-              if (ue.getPaymentDetails().getAmount() != null) {
-                paymentDetails.put("amount", ue.getPaymentDetails().getAmount());
-              }
-              if (ue.getPaymentDetails().getCurrency() != null) {
-                paymentDetails.put("currency", ue.getPaymentDetails().getCurrency());
-              }
-              if (ue.getPaymentDetails().getPaymentMethod() != null) {
-                paymentDetails.put("paymentMethod", ue.getPaymentDetails().getPaymentMethod());
-              }
-              if (ue.getPaymentDetails().getPaymentDate() != null) {
-                paymentDetails.put(
-                    "paymentDate", ue.getPaymentDetails().getPaymentDate().toString());
-              }
-              if (ue.getPaymentDetails().getTransactionId() != null) {
-                paymentDetails.put("transactionId", ue.getPaymentDetails().getTransactionId());
-              }
-              if (!paymentDetails.isEmpty()) {
-                userData.put("paymentDetails", paymentDetails);
-              }
-            }
-            if (ue.getCreatedAt() != null) {
-              userData.put("paidAt", ue.getCreatedAt().toString());
-            }
-            attendedUsers.add(userData);
-          }
-        }
+  /**
+   * Users of a page that can be listed (those with a userId), logging the ones without a profile.
+   */
+  private static List<UserExperience> listedUsers(
+      List<UserExperience> userExperiences,
+      Map<String, UserProfile> profilesByUserId,
+      Context context) {
+    List<UserExperience> listed = new ArrayList<>(userExperiences.size());
+    for (UserExperience ue : userExperiences) {
+      String userId = ue.getUserId();
+      if (userId == null || userId.isBlank()) {
+        continue;
       }
-
-      // Build response
-      Map<String, Object> responseData = new HashMap<>();
-      responseData.put("success", true);
-      responseData.put("message", "Attended users retrieved successfully");
-      responseData.put("data", attendedUsers);
-      responseData.put("count", attendedUsers.size());
-      responseData.put("timestamp", Instant.now().toString());
-
-      return createSuccessResponse(200, responseData, "application/json");
-    } catch (Exception e) {
-      String errorMessage = "Error retrieving attended users: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-        e.printStackTrace();
+      if (!profilesByUserId.containsKey(userId)) {
+        // User profile not found, but still include basic info
+        RequestLog.warn("Warning: User profile not found for userId: " + userId);
       }
-      return createErrorResponse(500, "Internal server error", errorMessage);
+      listed.add(ue);
+    }
+    return listed;
+  }
+
+  /** Write the profile fields of a user, or just the userId if the user has no profile. */
+  private static void writeUserFields(
+      JsonGenerator gen, String userId, Map<String, UserProfile> profilesByUserId)
+      throws IOException {
+    UserProfile profile = profilesByUserId.get(userId);
+    if (profile != null) {
+      ResponseJsonWriter.writeUserProfileFields(gen, profile);
+    } else {
+      ResponseJsonWriter.writeString(gen, ResponseJsonWriter.USER_ID, userId);
     }
   }
 
+  /** Write the count and nextCursor fields of a paged listing. */
+  private static void writePageFields(JsonGenerator gen, int count, String nextCursor)
+      throws IOException {
+    gen.writeFieldName(ResponseJsonWriter.COUNT);
+    gen.writeNumber(count);
+    ResponseJsonWriter.writeString(gen, ResponseJsonWriter.NEXT_CURSOR, nextCursor);
+  }
+
   /**
    * Handle GET /experiences - Get all users who are interested in upcoming experiences (where
    * current_time <= experience_time).
    */
   private APIGatewayProxyResponseEvent handleGetAllInterestedUsers(Context context) {
     try {
-      if (context != null && context.getLogger() != null) {
-        context
-            .getLogger()
-            .log(
-                "DEBUG: handleGetAllInterestedUsers called - getting all users interested in upcoming experiences");
-      }
-
-      // Get all UserExperience records where exp-interest = true
-      List<UserExperience> allInterestedUserExperiences =
-          userExperienceDao.findAllInterestedUsers();
-
-      if (context != null && context.getLogger() != null) {
-        context
-            .getLogger()
-            .log(
-                "DEBUG: Found "
-                    + allInterestedUserExperiences.size()
-                    + " UserExperience records with exp-interest = true");
-      }
+      RequestLog.debug(
+          "handleGetAllInterestedUsers called - getting all users interested in upcoming experiences");
 
       // Get current time
-      java.time.LocalDateTime now = java.time.LocalDateTime.now();
-      java.time.Instant nowInstant = now.atZone(java.time.ZoneId.systemDefault()).toInstant();
-
-      // Filter by experience date/time >= current time and fetch user/experience details
-      List<Map<String, Object>> result = new ArrayList<>();
-      for (UserExperience ue : allInterestedUserExperiences) {
-        String experienceId = ue.getExperienceId();
-        String userId = ue.getUserId();
+      java.time.Instant nowInstant = Instant.now();
 
-        if (experienceId == null || experienceId.isBlank() || userId == null || userId.isBlank()) {
-          continue;
-        }
-
-        // Get experience details
-        Optional<Experience> experienceOpt = experienceDao.findByExperienceId(experienceId);
-        if (experienceOpt.isEmpty()) {
-          continue; // Experience not found, skip
-        }
-
-        Experience experience = experienceOpt.get();
+      // Interest written before the index existed is copied in by the upcoming-interest table
+      // migration, never here; until it has run, only indexed interest is listed
+      if (!upcomingInterestDao.isBackfilled()) {
+        RequestLog.warn(
+            "Upcoming interest index is not backfilled; run TableMigrations upcoming-interest");
+      }
 
-        // Check if experience date/time >= current time
-        if (experience.getExperienceDate() != null && experience.getStartTime() != null) {
-          java.time.LocalDateTime experienceStartDateTime =
-              experience.getExperienceDate().atTime(experience.getStartTime());
-          java.time.Instant experienceStartInstant =
-              experienceStartDateTime.atZone(java.time.ZoneId.systemDefault()).toInstant();
+      // Read only the upcoming month buckets of the interest index instead of scanning the table
+      List<UserExperience> allInterestedUserExperiences =
+          upcomingInterestDao.findUpcoming(nowInstant);
 
-          // Filter: only include if experience start time >= current time
-          if (experienceStartInstant.isBefore(nowInstant)) {
-            continue; // Experience has already started or passed, skip
-          }
-        } else {
-          // No date/time, skip
-          continue;
-        }
+      RequestLog.debug(
+          () ->
+              "Found "
+                  + allInterestedUserExperiences.size()
+                  + " upcoming interest records with exp-interest = true");
 
-        // Get user profile
-        Optional<UserProfile> userProfileOpt = findByUserId(userId, context);
-        Map<String, Object> userData = new HashMap<>();
+      // Load all referenced experiences in batches instead of one lookup per record
+      List<String> interestedExperienceIds = new ArrayList<>();
+      for (UserExperience ue : allInterestedUserExperiences) {
+        interestedExperienceIds.add(ue.getExperienceId());
+      }
+      Map<String, Experience> experiencesById =
+          experienceDao.findByExperienceIds(interestedExperienceIds);
 
-        if (userProfileOpt.isPresent()) {
-          UserProfile profile = userProfileOpt.get();
-          userData.put("userId", profile.getUserId());
-          if (profile.getDateOfBirth() != null) {
-            userData.put("dateOfBirth", profile.getDateOfBirth().toString());
-          }
-          if (profile.getAddress() != null) {
-            userData.put("address", profile.getAddress());
-          }
-          if (profile.getCity() != null) {
-            userData.put("city", profile.getCity());
-          }
-          if (profile.getState() != null) {
-            userData.put("state", profile.getState());
-          }
-          if (profile.getZipCode() != null) {
-            userData.put("zipCode", profile.getZipCode());
-          }
-          if (profile.getCountry() != null) {
-            userData.put("country", profile.getCountry());
-          }
-          if (profile.getLatitude() != null) {
-            userData.put("latitude", profile.getLatitude());
-          }
-          if (profile.getLongitude() != null) {
-            userData.put("longitude", profile.getLongitude());
-          }
-          if (profile.getGender() != null) {
-            userData.put("gender", profile.getGender());
-          }
-          if (profile.getProfession() != null) {
-            userData.put("profession", profile.getProfession());
-          }
-          if (profile.getCompany() != null) {
-            userData.put("company", profile.getCompany());
-          }
-          if (profile.getBio() != null) {
-            userData.put("bio", profile.getBio());
-          }
-          if (profile.getPhoneNumber() != null) {
-            userData.put("phoneNumber", profile.getPhoneNumber());
-          }
-          if (profile.getStatus() != null) {
-            userData.put("status", profile.getStatus().getValue());
-          }
-        } else {
-          // User profile not found, include basic info
-          userData.put("userId", userId);
+      // Filter by experience date/time >= current time
+      List<UserExperience> upcomingInterests = new ArrayList<>();
+      for (UserExperience ue : allInterestedUserExperiences) {
+        String experienceId = ue.getExperienceId();
+        String userId = ue.getUserId();
+
+        if (experienceId == null || experienceId.isBlank() || userId == null || userId.isBlank()) {
+          continue;
         }
 
-        // Add experience details
-        Map<String, Object> experienceData = experienceToMap(experience);
-        userData.put("experience", experienceData);
+        // Get experience details
+        Experience experience = experiencesById.get(experienceId);
+        if (experience == null) {
+          continue; // Experience not found, skip
+        }
 
-        // Add interest metadata
-        userData.put("exp-interest", ue.getExpInterest());
-        if (ue.getInterestScore() != null) {
-          userData.put("interestScore", ue.getInterestScore());
+        // Re-check experience date/time >= current time against the experience itself, and skip
+        // index items filed under a start the experience no longer has (left by a date change)
+        java.time.Instant experienceStartInstant = UpcomingInterestDao.startsAt(experience);
+        if (experienceStartInstant == null || experienceStartInstant.isBefore(nowInstant)) {
+          continue; // No date/time, or the experience has already started or passed, skip
         }
-        if (ue.getCreatedAt() != null) {
-          userData.put("interestedAt", ue.getCreatedAt().toString());
+        if (!experienceStartInstant.equals(ue.getExperienceTime())) {
+          continue; // Stale index item, skip
         }
 
-        result.add(userData);
+        upcomingInterests.add(ue);
       }
 
-      // Build response
-      Map<String, Object> responseData = new HashMap<>();
-      responseData.put("success", true);
-      responseData.put(
-          "message", "All users interested in upcoming experiences retrieved successfully");
-      responseData.put("data", result);
-      responseData.put("count", result.size());
-      responseData.put("timestamp", Instant.now().toString());
-
-      return createSuccessResponse(200, responseData, "application/json");
+      // Fetch user profiles for the remaining interests in one batch
+      List<String> upcomingUserIds = new ArrayList<>();
+      for (UserExperience ue : upcomingInterests) {
+        upcomingUserIds.add(ue.getUserId());
+      }
+      Map<String, UserProfile> profilesByUserId = findByUserIds(upcomingUserIds, context);
+
+      // Stream the user/experience details straight into the response
+      return createStreamingResponse(
+          200,
+          "All users interested in upcoming experiences retrieved successfully",
+          gen -> {
+            gen.writeStartArray();
+            for (UserExperience ue : upcomingInterests) {
+              gen.writeStartObject();
+              writeUserFields(gen, ue.getUserId(), profilesByUserId);
+              gen.writeFieldName(ResponseJsonWriter.EXPERIENCE);
+              ResponseJsonWriter.writeExperience(gen, experiencesById.get(ue.getExperienceId()));
+              ResponseJsonWriter.writeInterestFields(gen, ue);
+              gen.writeEndObject();
+            }
+            gen.writeEndArray();
+          },
+          gen -> {
+            gen.writeFieldName(ResponseJsonWriter.COUNT);
+            gen.writeNumber(upcomingInterests.size());
+          });
     } catch (Exception e) {
       String errorMessage = "Error retrieving all interested users: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-        e.printStackTrace();
-      }
+      RequestLog.error(errorMessage, e);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -3181,9 +2957,8 @@ public class ApiGatewayHandler
       return createSuccessResponse(200, responseData, "application/json");
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -3197,7 +2972,10 @@ public class ApiGatewayHandler
    *
    * <ul>
    *   <li>lat, lon: Get nearby experiences (requires both)
-   *   <li>radius: Filter nearby experiences by radius in kilometers (optional, default: no limit)
+   *   <li>radius: Filter nearby experiences by radius in kilometers (optional, at most 40 km;
+   *       default: the 9 neighboring geohash cells)
+   *   <li>nearest: Return only the k nearest experiences (optional, searched within radius or 40
+   *       km)
    *   <li>userId: Get user's experiences
    *   <li>interested: If true, get experiences user has shown interest in (requires userId)
    *   <li>past: If true, get past experiences user attended (requires userId)
@@ -3211,36 +2989,35 @@ public class ApiGatewayHandler
       String lat,
       String lon,
       String radius,
+      String nearest,
       String interested,
       String past,
       String upcoming,
       Context context) {
     try {
-      if (context != null && context.getLogger() != null) {
-        context
-            .getLogger()
-            .log(
-                "DEBUG: handleGetExperiences called - lat=["
-                    + lat
-                    + "], lon=["
-                    + lon
-                    + "], radius=["
-                    + radius
-                    + "], userId=["
-                    + userId
-                    + "]");
-        context
-            .getLogger()
-            .log("DEBUG: lat != null: " + (lat != null) + ", lon != null: " + (lon != null));
-        if (lat != null) {
-          context
-              .getLogger()
-              .log("DEBUG: lat.isBlank(): " + lat.isBlank() + ", lat.length(): " + lat.length());
+      if (RequestLog.isDebugEnabled()) {
+        RequestLog.debug(
+            "handleGetExperiences called - lat=["
+                + lat
+                + "], lon=["
+                + lon
+                + "], radius=["
+                + radius
+                + "], userId=["
+                + userId
+                + "]");
+      }
+      if (RequestLog.isDebugEnabled()) {
+        RequestLog.debug("lat != null: " + (lat != null) + ", lon != null: " + (lon != null));
+      }
+      if (lat != null) {
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug("lat.isBlank(): " + lat.isBlank() + ", lat.length(): " + lat.length());
         }
-        if (lon != null) {
-          context
-              .getLogger()
-              .log("DEBUG: lon.isBlank(): " + lon.isBlank() + ", lon.length(): " + lon.length());
+      }
+      if (lon != null) {
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug("lon.isBlank(): " + lon.isBlank() + ", lon.length(): " + lon.length());
         }
       }
 
@@ -3258,18 +3035,16 @@ public class ApiGatewayHandler
       // If user-specific query (past/upcoming/interested), skip location-based filtering
       // and go directly to UserExperience query path
       if (isUserSpecificQuery && userId != null && !userId.isBlank()) {
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: User-specific query detected (past="
-                      + past
-                      + ", upcoming="
-                      + upcoming
-                      + ", interested="
-                      + interested
-                      + ") - skipping location filtering");
-        }
+        RequestLog.debug(
+            () ->
+                "User-specific query detected (past="
+                    + past
+                    + ", upcoming="
+                    + upcoming
+                    + ", interested="
+                    + interested
+                    + ") - skipping location filtering");
+
         // Force lat/lon to null to ensure we use UserExperience query path
         lat = null;
         lon = null;
@@ -3277,12 +3052,12 @@ public class ApiGatewayHandler
 
       // If lat/lon provided AND not a user-specific query, get nearby experiences using geohashing
       if (lat != null && lon != null && !lat.isBlank() && !lon.isBlank() && !isUserSpecificQuery) {
-        if (context != null && context.getLogger() != null) {
-          context.getLogger().log("DEBUG: Entering nearby experiences path");
-        }
-        if (context != null && context.getLogger() != null) {
-          context.getLogger().log("DEBUG: lat=" + lat + ", lon=" + lon + ", radius=" + radius);
+        RequestLog.debug("Entering nearby experiences path");
+
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug("lat=" + lat + ", lon=" + lon + ", radius=" + radius);
         }
+
         try {
           double latitude = Double.parseDouble(lat);
           double longitude = Double.parseDouble(lon);
@@ -3293,67 +3068,76 @@ public class ApiGatewayHandler
               if (radiusKm < 0) {
                 return createErrorResponse(400, "Bad Request", "Radius must be non-negative");
               }
+              if (radiusKm > GeohashUtil.MAX_SEARCH_RADIUS_KM) {
+                return createErrorResponse(
+                    400,
+                    "Bad Request",
+                    "Radius must not exceed " + GeohashUtil.MAX_SEARCH_RADIUS_KM + " km");
+              }
             } catch (NumberFormatException e) {
               return createErrorResponse(400, "Bad Request", "Invalid radius format");
             }
           }
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: Calling getNearbyExperiences with lat="
-                        + latitude
-                        + ", lon="
-                        + longitude
-                        + ", radiusKm="
-                        + radiusKm);
+          Integer nearestK = null;
+          if (nearest != null && !nearest.isBlank()) {
+            try {
+              nearestK = Integer.parseInt(nearest.trim());
+            } catch (NumberFormatException e) {
+              return createErrorResponse(400, "Bad Request", "Invalid nearest format");
+            }
+            if (nearestK <= 0) {
+              return createErrorResponse(400, "Bad Request", "Nearest must be positive");
+            }
           }
-          experiences = getNearbyExperiences(latitude, longitude, radiusKm, context);
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log("DEBUG: getNearbyExperiences returned " + experiences.size() + " experiences");
+          if (RequestLog.isDebugEnabled()) {
+            RequestLog.debug(
+                "Calling getNearbyExperiences with lat="
+                    + latitude
+                    + ", lon="
+                    + longitude
+                    + ", radiusKm="
+                    + radiusKm);
           }
-        } catch (NumberFormatException e) {
-          if (context != null && context.getLogger() != null) {
-            context
-                .getLogger()
-                .log("DEBUG: NumberFormatException parsing lat/lon: " + e.getMessage());
+
+          experiences = getNearbyExperiences(latitude, longitude, radiusKm, nearestK, context);
+          if (RequestLog.isDebugEnabled()) {
+            RequestLog.debug(
+                "getNearbyExperiences returned " + experiences.size() + " experiences");
           }
+
+        } catch (NumberFormatException e) {
+          RequestLog.debug(() -> "NumberFormatException parsing lat/lon: " + e.getMessage());
+
           return createErrorResponse(400, "Bad Request", "Invalid lat/lon format");
         }
       } else if (userId != null && !userId.isBlank()) {
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: NOT entering nearby experiences path - lat="
-                      + lat
-                      + ", lon="
-                      + lon
-                      + ", userId="
-                      + userId);
-          context.getLogger().log("DEBUG: Querying UserExperience for userId=[" + userId + "]");
-          context
-              .getLogger()
-              .log("DEBUG: interested=" + interested + ", past=" + past + ", upcoming=" + upcoming);
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug(
+              "NOT entering nearby experiences path - lat="
+                  + lat
+                  + ", lon="
+                  + lon
+                  + ", userId="
+                  + userId);
         }
+        RequestLog.debug(() -> "Querying UserExperience for userId=[" + userId + "]");
+        RequestLog.debug(
+            () -> "interested=" + interested + ", past=" + past + ", upcoming=" + upcoming);
+
         // Query UserExperience table for userId
         List<UserExperience> userExperiences = userExperienceDao.findByUserId(userId);
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Found "
+        if (RequestLog.isDebugEnabled()) {
+          RequestLog.debug(
+              () ->
+                  "Found "
                       + userExperiences.size()
                       + " UserExperience records for userId=["
                       + userId
                       + "]");
           for (UserExperience ue : userExperiences) {
-            context
-                .getLogger()
-                .log(
-                    "DEBUG: UserExperience - experienceId=["
+            RequestLog.debug(
+                () ->
+                    "UserExperience - experienceId=["
                         + ue.getExperienceId()
                         + "], status=["
                         + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
@@ -3368,30 +3152,34 @@ public class ApiGatewayHandler
         }
         List<Map<String, Object>> filteredExperiences = new ArrayList<>();
 
+        // Load all referenced experiences in batches instead of one lookup per record
+        List<String> userExperienceIds = new ArrayList<>();
+        for (UserExperience ue : userExperiences) {
+          userExperienceIds.add(ue.getExperienceId());
+        }
+        Map<String, Experience> experiencesById =
+            experienceDao.findByExperienceIds(userExperienceIds);
+
         for (UserExperience ue : userExperiences) {
           String experienceId = ue.getExperienceId();
           if (experienceId == null || experienceId.isBlank()) {
             // ExperienceId is missing - this is a data issue
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log(
-                      "WARNING: UserExperience record found with null/blank experienceId for userId=["
-                          + userId
-                          + "], status=["
-                          + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
-                          + "], paid=["
-                          + (ue.getPaid() != null ? ue.getPaid() : "null")
-                          + "]. This record cannot be linked to an Experience. "
-                          + "To fix: Create a proper UserExperience record by calling PUT /users/{userId}/experiences/{experienceId}/payment");
-            }
+            RequestLog.warn(
+                "WARNING: UserExperience record found with null/blank experienceId for userId=["
+                    + userId
+                    + "], status=["
+                    + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
+                    + "], paid=["
+                    + (ue.getPaid() != null ? ue.getPaid() : "null")
+                    + "]. This record cannot be linked to an Experience. "
+                    + "To fix: Create a proper UserExperience record by calling PUT /users/{userId}/experiences/{experienceId}/payment");
+
             continue; // Skip records without experienceId
           }
 
           // ExperienceId is present, proceed with filtering
-          Optional<Experience> expOpt = experienceDao.findByExperienceId(experienceId);
-          if (expOpt.isPresent()) {
-            Experience experience = expOpt.get();
+          Experience experience = experiencesById.get(experienceId);
+          if (experience != null) {
 
             // Filter by interested status (using exp-interest field)
             // Also filter by upcoming experiences only (current_time <= experience_time)
@@ -3410,42 +3198,34 @@ public class ApiGatewayHandler
                   && ue.getStatus() == UserExperience.UserExperienceStatus.INTERESTED) {
                 // Backward compatibility: treat old status=INTERESTED as interested=true
                 isInterested = true;
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: Using status=INTERESTED as fallback for expInterest (backward compatibility)");
-                }
+                RequestLog.debug(
+                    "Using status=INTERESTED as fallback for expInterest (backward compatibility)");
+              }
+
+              if (RequestLog.isDebugEnabled()) {
+                RequestLog.debug(
+                    "Filtering by interested=true - experienceId=["
+                        + experienceId
+                        + "], expInterest=["
+                        + expInterest
+                        + "], status=["
+                        + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
+                        + "], isInterested=["
+                        + isInterested
+                        + "]");
               }
 
-              if (context != null && context.getLogger() != null) {
-                context
-                    .getLogger()
-                    .log(
-                        "DEBUG: Filtering by interested=true - experienceId=["
+              if (!isInterested) {
+                RequestLog.debug(
+                    () ->
+                        "Skipping experience ["
                             + experienceId
-                            + "], expInterest=["
+                            + "] - not interested (expInterest="
                             + expInterest
-                            + "], status=["
+                            + ", status="
                             + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
-                            + "], isInterested=["
-                            + isInterested
-                            + "]");
-              }
+                            + ")");
 
-              if (!isInterested) {
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: Skipping experience ["
-                              + experienceId
-                              + "] - not interested (expInterest="
-                              + expInterest
-                              + ", status="
-                              + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
-                              + ")");
-                }
                 continue; // Skip if not interested
               }
 
@@ -3467,31 +3247,11 @@ public class ApiGatewayHandler
                   // experience_time)
                   if (experienceStartInstant.isBefore(now)) {
                     // Experience has already started (experience_time < current_time), skip
-                    if (context != null && context.getLogger() != null) {
-                      context
-                          .getLogger()
-                          .log(
-                              "DEBUG: Skipping experience ["
-                                  + experienceId
-                                  + "] - experience has already started (experienceDate="
-                                  + experience.getExperienceDate()
-                                  + ", startTime="
-                                  + experience.getStartTime()
-                                  + ", experienceStart="
-                                  + experienceStartInstant
-                                  + ", now="
-                                  + now
-                                  + ")");
-                    }
-                    continue;
-                  }
-                  if (context != null && context.getLogger() != null) {
-                    context
-                        .getLogger()
-                        .log(
-                            "DEBUG: Experience ["
+                    RequestLog.debug(
+                        () ->
+                            "Skipping experience ["
                                 + experienceId
-                                + "] is upcoming or current - including (experienceDate="
+                                + "] - experience has already started (experienceDate="
                                 + experience.getExperienceDate()
                                 + ", startTime="
                                 + experience.getStartTime()
@@ -3500,57 +3260,63 @@ public class ApiGatewayHandler
                                 + ", now="
                                 + now
                                 + ")");
+
+                    continue;
                   }
+                  RequestLog.debug(
+                      () ->
+                          "Experience ["
+                              + experienceId
+                              + "] is upcoming or current - including (experienceDate="
+                              + experience.getExperienceDate()
+                              + ", startTime="
+                              + experience.getStartTime()
+                              + ", experienceStart="
+                              + experienceStartInstant
+                              + ", now="
+                              + now
+                              + ")");
+
                 } else {
                   // Only date provided, no time - check if date >= today
                   java.time.LocalDate today = java.time.LocalDate.now(utc);
                   if (experience.getExperienceDate().isBefore(today)) {
                     // Experience date is in the past, skip
-                    if (context != null && context.getLogger() != null) {
-                      context
-                          .getLogger()
-                          .log(
-                              "DEBUG: Skipping experience ["
-                                  + experienceId
-                                  + "] - experience date is in the past (experienceDate="
-                                  + experience.getExperienceDate()
-                                  + ", today="
-                                  + today
-                                  + ")");
-                    }
-                    continue;
-                  }
-                  if (context != null && context.getLogger() != null) {
-                    context
-                        .getLogger()
-                        .log(
-                            "DEBUG: Experience ["
+                    RequestLog.debug(
+                        () ->
+                            "Skipping experience ["
                                 + experienceId
-                                + "] date is today or future - including (experienceDate="
+                                + "] - experience date is in the past (experienceDate="
                                 + experience.getExperienceDate()
                                 + ", today="
                                 + today
                                 + ")");
+
+                    continue;
                   }
+                  RequestLog.debug(
+                      () ->
+                          "Experience ["
+                              + experienceId
+                              + "] date is today or future - including (experienceDate="
+                              + experience.getExperienceDate()
+                              + ", today="
+                              + today
+                              + ")");
                 }
               } else {
                 // No date, skip (can't determine if upcoming)
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log("DEBUG: Skipping experience [" + experienceId + "] - no experienceDate");
-                }
+                RequestLog.debug(
+                    () -> "Skipping experience [" + experienceId + "] - no experienceDate");
+
                 continue;
               }
 
-              if (context != null && context.getLogger() != null) {
-                context
-                    .getLogger()
-                    .log(
-                        "DEBUG: Including experience ["
-                            + experienceId
-                            + "] - expInterest is true and experience is upcoming");
-              }
+              RequestLog.debug(
+                  () ->
+                      "Including experience ["
+                          + experienceId
+                          + "] - expInterest is true and experience is upcoming");
             }
 
             // Filter by past experiences (ATTENDED and experienceDate + startTime < now)
@@ -3576,54 +3342,45 @@ public class ApiGatewayHandler
               if (ue.getPaid() != null && ue.getPaid()) {
                 // Primary check: paid boolean field
                 hasAttended = true;
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: User has paid=true for experience ["
-                              + experienceId
-                              + "] - considering as attended");
-                }
+                RequestLog.debug(
+                    () ->
+                        "User has paid=true for experience ["
+                            + experienceId
+                            + "] - considering as attended");
+
               } else if (ue.getPaymentDetails() != null) {
                 // Secondary check: paymentDetails exists
                 hasAttended = true;
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: User has paymentDetails for experience ["
-                              + experienceId
-                              + "] - considering as attended");
-                }
+                RequestLog.debug(
+                    () ->
+                        "User has paymentDetails for experience ["
+                            + experienceId
+                            + "] - considering as attended");
+
               } else if (ue.getStatus() == UserExperience.UserExperienceStatus.PAID
                   || ue.getStatus() == UserExperience.UserExperienceStatus.ATTENDED) {
                 // Tertiary check: status is PAID or ATTENDED (ignore invalid statuses like ACTIVE)
                 hasAttended = true;
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: User has PAID/ATTENDED status for experience ["
-                              + experienceId
-                              + "] - considering as attended");
-                }
+                RequestLog.debug(
+                    () ->
+                        "User has PAID/ATTENDED status for experience ["
+                            + experienceId
+                            + "] - considering as attended");
               }
 
               if (!hasAttended) {
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: Skipping experience ["
-                              + experienceId
-                              + "] - user has not attended (status="
-                              + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
-                              + ", paid="
-                              + (ue.getPaid() != null ? ue.getPaid() : "null")
-                              + ", hasPaymentDetails="
-                              + (ue.getPaymentDetails() != null)
-                              + ")");
-                }
+                RequestLog.debug(
+                    () ->
+                        "Skipping experience ["
+                            + experienceId
+                            + "] - user has not attended (status="
+                            + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
+                            + ", paid="
+                            + (ue.getPaid() != null ? ue.getPaid() : "null")
+                            + ", hasPaymentDetails="
+                            + (ue.getPaymentDetails() != null)
+                            + ")");
+
                 continue;
               }
 
@@ -3643,31 +3400,11 @@ public class ApiGatewayHandler
                   // Include if experience start time < current time (experience is in the past)
                   if (!experienceStartInstant.isBefore(now)) {
                     // Experience hasn't started yet or is currently happening, skip
-                    if (context != null && context.getLogger() != null) {
-                      context
-                          .getLogger()
-                          .log(
-                              "DEBUG: Skipping experience ["
-                                  + experienceId
-                                  + "] - experience hasn't started yet (experienceDate="
-                                  + experience.getExperienceDate()
-                                  + ", startTime="
-                                  + experience.getStartTime()
-                                  + ", experienceStart="
-                                  + experienceStartInstant
-                                  + ", now="
-                                  + now
-                                  + ")");
-                    }
-                    continue;
-                  }
-                  if (context != null && context.getLogger() != null) {
-                    context
-                        .getLogger()
-                        .log(
-                            "DEBUG: Experience ["
+                    RequestLog.debug(
+                        () ->
+                            "Skipping experience ["
                                 + experienceId
-                                + "] is in the past - including (experienceDate="
+                                + "] - experience hasn't started yet (experienceDate="
                                 + experience.getExperienceDate()
                                 + ", startTime="
                                 + experience.getStartTime()
@@ -3676,59 +3413,65 @@ public class ApiGatewayHandler
                                 + ", now="
                                 + now
                                 + ")");
+
+                    continue;
                   }
+                  RequestLog.debug(
+                      () ->
+                          "Experience ["
+                              + experienceId
+                              + "] is in the past - including (experienceDate="
+                              + experience.getExperienceDate()
+                              + ", startTime="
+                              + experience.getStartTime()
+                              + ", experienceStart="
+                              + experienceStartInstant
+                              + ", now="
+                              + now
+                              + ")");
+
                 } else {
                   // Only date provided, no time - check if date < today
                   java.time.LocalDate today = java.time.LocalDate.now(utc);
                   if (!experience.getExperienceDate().isBefore(today)) {
                     // Experience date is today or in the future, skip
-                    if (context != null && context.getLogger() != null) {
-                      context
-                          .getLogger()
-                          .log(
-                              "DEBUG: Skipping experience ["
-                                  + experienceId
-                                  + "] - experience date is not in the past (experienceDate="
-                                  + experience.getExperienceDate()
-                                  + ", today="
-                                  + today
-                                  + ")");
-                    }
-                    continue;
-                  }
-                  if (context != null && context.getLogger() != null) {
-                    context
-                        .getLogger()
-                        .log(
-                            "DEBUG: Experience ["
+                    RequestLog.debug(
+                        () ->
+                            "Skipping experience ["
                                 + experienceId
-                                + "] date is in the past - including (experienceDate="
+                                + "] - experience date is not in the past (experienceDate="
                                 + experience.getExperienceDate()
                                 + ", today="
                                 + today
                                 + ")");
+
+                    continue;
                   }
+                  RequestLog.debug(
+                      () ->
+                          "Experience ["
+                              + experienceId
+                              + "] date is in the past - including (experienceDate="
+                              + experience.getExperienceDate()
+                              + ", today="
+                              + today
+                              + ")");
                 }
               } else {
                 // No date, can't determine if past
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log("DEBUG: Skipping experience [" + experienceId + "] - no experienceDate");
-                }
+                RequestLog.debug(
+                    () -> "Skipping experience [" + experienceId + "] - no experienceDate");
+
                 continue;
               }
 
-              if (context != null && context.getLogger() != null) {
-                context
-                    .getLogger()
-                    .log(
-                        "DEBUG: Including experience ["
-                            + experienceId
-                            + "] - user has attended (status="
-                            + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
-                            + ") and experience is in the past");
-              }
+              RequestLog.debug(
+                  () ->
+                      "Including experience ["
+                          + experienceId
+                          + "] - user has attended (status="
+                          + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
+                          + ") and experience is in the past");
             }
 
             // Filter by upcoming paid experiences:
@@ -3743,48 +3486,35 @@ public class ApiGatewayHandler
               if (ue.getPaid() != null && ue.getPaid()) {
                 // Primary check: paid boolean field
                 hasPaid = true;
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log("DEBUG: User has paid=true for experience [" + experienceId + "]");
-                }
+                RequestLog.debug(() -> "User has paid=true for experience [" + experienceId + "]");
+
               } else if (ue.getPaymentDetails() != null) {
                 // Secondary check: paymentDetails exists
                 hasPaid = true;
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log("DEBUG: User has paymentDetails for experience [" + experienceId + "]");
-                }
+                RequestLog.debug(
+                    () -> "User has paymentDetails for experience [" + experienceId + "]");
+
               } else if (ue.getStatus() == UserExperience.UserExperienceStatus.PAID
                   || ue.getStatus() == UserExperience.UserExperienceStatus.ATTENDED) {
                 // Tertiary check: status is PAID or ATTENDED (ignore invalid statuses like ACTIVE)
                 hasPaid = true;
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: User has PAID/ATTENDED status for experience ["
-                              + experienceId
-                              + "]");
-                }
+                RequestLog.debug(
+                    () -> "User has PAID/ATTENDED status for experience [" + experienceId + "]");
               }
 
               if (!hasPaid) {
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: Skipping experience ["
-                              + experienceId
-                              + "] - user has not paid (status="
-                              + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
-                              + ", paid="
-                              + (ue.getPaid() != null ? ue.getPaid() : "null")
-                              + ", paymentDetails="
-                              + (ue.getPaymentDetails() != null ? "exists" : "null")
-                              + ")");
-                }
+                RequestLog.debug(
+                    () ->
+                        "Skipping experience ["
+                            + experienceId
+                            + "] - user has not paid (status="
+                            + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
+                            + ", paid="
+                            + (ue.getPaid() != null ? ue.getPaid() : "null")
+                            + ", paymentDetails="
+                            + (ue.getPaymentDetails() != null ? "exists" : "null")
+                            + ")");
+
                 continue; // User hasn't paid, skip
               }
 
@@ -3803,31 +3533,11 @@ public class ApiGatewayHandler
 
                   // Include only if experience start time is in the future (now < experienceStart)
                   if (!now.isBefore(experienceStartInstant)) {
-                    if (context != null && context.getLogger() != null) {
-                      context
-                          .getLogger()
-                          .log(
-                              "DEBUG: Skipping experience ["
-                                  + experienceId
-                                  + "] - experience has already started or passed (experienceDate="
-                                  + experience.getExperienceDate()
-                                  + ", startTime="
-                                  + experience.getStartTime()
-                                  + ", experienceStart="
-                                  + experienceStartInstant
-                                  + ", now="
-                                  + now
-                                  + ")");
-                    }
-                    continue; // Experience has already started or passed
-                  }
-                  if (context != null && context.getLogger() != null) {
-                    context
-                        .getLogger()
-                        .log(
-                            "DEBUG: Experience ["
+                    RequestLog.debug(
+                        () ->
+                            "Skipping experience ["
                                 + experienceId
-                                + "] is upcoming and user has paid - including (experienceDate="
+                                + "] - experience has already started or passed (experienceDate="
                                 + experience.getExperienceDate()
                                 + ", startTime="
                                 + experience.getStartTime()
@@ -3836,49 +3546,58 @@ public class ApiGatewayHandler
                                 + ", now="
                                 + now
                                 + ")");
+
+                    continue; // Experience has already started or passed
                   }
+                  RequestLog.debug(
+                      () ->
+                          "Experience ["
+                              + experienceId
+                              + "] is upcoming and user has paid - including (experienceDate="
+                              + experience.getExperienceDate()
+                              + ", startTime="
+                              + experience.getStartTime()
+                              + ", experienceStart="
+                              + experienceStartInstant
+                              + ", now="
+                              + now
+                              + ")");
+
                 } else {
                   // Only date provided, no time - check if date >= today
                   java.time.LocalDate today = java.time.LocalDate.now(utc);
                   if (experience.getExperienceDate().isBefore(today)) {
                     // Experience date is in the past, skip
-                    if (context != null && context.getLogger() != null) {
-                      context
-                          .getLogger()
-                          .log(
-                              "DEBUG: Skipping experience ["
-                                  + experienceId
-                                  + "] - experience date is in the past (experienceDate="
-                                  + experience.getExperienceDate()
-                                  + ", today="
-                                  + today
-                                  + ")");
-                    }
-                    continue;
-                  }
-                  if (context != null && context.getLogger() != null) {
-                    context
-                        .getLogger()
-                        .log(
-                            "DEBUG: Experience ["
+                    RequestLog.debug(
+                        () ->
+                            "Skipping experience ["
                                 + experienceId
-                                + "] date is today or future and user has paid - including (experienceDate="
+                                + "] - experience date is in the past (experienceDate="
                                 + experience.getExperienceDate()
                                 + ", today="
                                 + today
                                 + ")");
+
+                    continue;
                   }
+                  RequestLog.debug(
+                      () ->
+                          "Experience ["
+                              + experienceId
+                              + "] date is today or future and user has paid - including (experienceDate="
+                              + experience.getExperienceDate()
+                              + ", today="
+                              + today
+                              + ")");
                 }
               } else {
                 // No date, can't determine if upcoming
-                if (context != null && context.getLogger() != null) {
-                  context
-                      .getLogger()
-                      .log(
-                          "DEBUG: Skipping experience ["
-                              + experienceId
-                              + "] - no experienceDate (cannot determine if upcoming)");
-                }
+                RequestLog.debug(
+                    () ->
+                        "Skipping experience ["
+                            + experienceId
+                            + "] - no experienceDate (cannot determine if upcoming)");
+
                 continue;
               }
             }
@@ -3895,50 +3614,42 @@ public class ApiGatewayHandler
             }
             expData.put("paymentDetails", ue.getPaymentDetails());
             filteredExperiences.add(expData);
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log(
-                      "DEBUG: Added experience ["
-                          + experienceId
-                          + "] to filtered results - status=["
-                          + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
-                          + "], paid=["
-                          + (ue.getPaid() != null ? ue.getPaid() : "null")
-                          + "], hasPaymentDetails=["
-                          + (ue.getPaymentDetails() != null)
-                          + "]");
-            }
+            RequestLog.debug(
+                () ->
+                    "Added experience ["
+                        + experienceId
+                        + "] to filtered results - status=["
+                        + (ue.getStatus() != null ? ue.getStatus().getValue() : "null")
+                        + "], paid=["
+                        + (ue.getPaid() != null ? ue.getPaid() : "null")
+                        + "], hasPaymentDetails=["
+                        + (ue.getPaymentDetails() != null)
+                        + "]");
+
           } else {
-            if (context != null && context.getLogger() != null) {
-              context
-                  .getLogger()
-                  .log("DEBUG: Experience [" + experienceId + "] not found in Experience table");
-            }
+            RequestLog.debug(
+                () -> "Experience [" + experienceId + "] not found in Experience table");
           }
         }
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log(
-                  "DEBUG: Final filtered experiences count: "
-                      + filteredExperiences.size()
-                      + " out of "
-                      + userExperiences.size()
-                      + " UserExperience records");
-        }
+        RequestLog.debug(
+            () ->
+                "Final filtered experiences count: "
+                    + filteredExperiences.size()
+                    + " out of "
+                    + userExperiences.size()
+                    + " UserExperience records");
+
         experiences = filteredExperiences;
       } else if (groupId != null && !groupId.isBlank()) {
         // Query GroupExperience table for groupId
         List<GroupExperience> groupExperiences = groupExperienceDao.findByGroupId(groupId);
+        List<String> groupExperienceIds = new ArrayList<>();
         for (GroupExperience ge : groupExperiences) {
-          String experienceId = ge.getExperienceId();
-          if (experienceId != null && !experienceId.isBlank()) {
-            Optional<Experience> expOpt = experienceDao.findByExperienceId(experienceId);
-            if (expOpt.isPresent()) {
-              experiences.add(experienceToMap(expOpt.get()));
-            }
-          }
+          groupExperienceIds.add(ge.getExperienceId());
+        }
+        for (Experience experience :
+            experienceDao.findByExperienceIds(groupExperienceIds).values()) {
+          experiences.add(experienceToMap(experience));
         }
       } else {
         // Return empty list - querying all experiences would be expensive
@@ -3954,101 +3665,138 @@ public class ApiGatewayHandler
       return createSuccessResponse(200, responseData, "application/json");
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
 
   /**
-   * Get nearby experiences using geohashing. Queries 9 neighboring geohash cells and filters by
-   * distance. Optionally filters by radius in kilometers.
+   * Get nearby experiences. With a radius, returns the experiences within it; without one, the
+   * experiences in the 9 neighboring geohash cells. With {@code nearestK}, only the k closest.
+   *
+   * <p>Answered from the in-memory {@link NearbyExperienceIndex} when it is enabled; DynamoDB is
+   * then only read on a cold miss or when the index is stale. Otherwise (or if the index fails) the
+   * geohash cells covering the circle (see {@link GeohashUtil#coverCircle}) are queried on the
+   * experience geo index, concurrently, and partial results are returned if some cells fail.
    *
    * @param latitude User's latitude
    * @param longitude User's longitude
-   * @param radiusKm Optional radius in kilometers. If null, no radius filtering is applied.
+   * @param radiusKm Optional radius in kilometers. If null, the 9 neighboring cells are searched.
+   * @param nearestK Optional number of closest experiences to return
    * @param context Lambda context
-   * @return List of nearby experiences with distance information
+   * @return List of nearby experiences with distance information, closest first
    */
   private List<Map<String, Object>> getNearbyExperiences(
-      double latitude, double longitude, Double radiusKm, Context context) {
+      double latitude, double longitude, Double radiusKm, Integer nearestK, Context context) {
     List<Map<String, Object>> nearbyExperiences = new ArrayList<>();
     try {
-      // Get 9 neighboring geohash cells
-      List<String> geohashes = GeohashUtil.getNeighboringGeohashes(latitude, longitude);
+      List<SpatialGridIndex.Hit<Experience>> hits = null;
+      if (nearbyExperienceIndex != null) {
+        try {
+          hits = findNearbyInIndex(latitude, longitude, radiusKm, nearestK);
+        } catch (RuntimeException e) {
+          RequestLog.info("Nearby index unavailable, querying DynamoDB: " + e.getMessage());
+        }
+      }
+      if (hits == null) {
+        hits = findNearbyInDynamoDb(latitude, longitude, radiusKm, nearestK, context);
+      }
 
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("Querying geohashes: " + geohashes);
+      for (SpatialGridIndex.Hit<Experience> hit : hits) {
+        Experience experience = hit.getItem();
+        Map<String, Object> expData = new HashMap<>();
+        expData.put("experienceId", experience.getExperienceId());
+        expData.put("title", experience.getTitle());
+        expData.put("type", experience.getType());
+        expData.put("latitude", experience.getLatitude());
+        expData.put("longitude", experience.getLongitude());
+        expData.put("experienceDate", experience.getExperienceDate());
+        expData.put("startTime", experience.getStartTime());
+        expData.put("address", experience.getAddress());
+        expData.put("city", experience.getCity());
+        expData.put(
+            "distanceKm", Math.round(hit.getDistanceKm() * 100.0) / 100.0); // Round to 2 decimals
+        expData.put("venueId", experience.getVenueId());
+        expData.put("venueName", experience.getVenueName());
+        nearbyExperiences.add(expData);
       }
+    } catch (Exception e) {
+      RequestLog.error("Error getting nearby experiences: " + e.getMessage());
+    }
+    return nearbyExperiences;
+  }
 
-      // Query venues in all 9 geohash cells (using DAO)
-      List<VenueLocation> venues = venueLocationDao.findByGeohashPrefixes(geohashes);
+  /** Nearby search against the in-memory spatial index. */
+  private List<SpatialGridIndex.Hit<Experience>> findNearbyInIndex(
+      double latitude, double longitude, Double radiusKm, Integer nearestK) {
+    if (nearestK != null) {
+      double maxRadiusKm = radiusKm != null ? radiusKm : GeohashUtil.MAX_SEARCH_RADIUS_KM;
+      return nearbyExperienceIndex.findNearest(latitude, longitude, nearestK, maxRadiusKm);
+    }
+    if (radiusKm != null) {
+      return nearbyExperienceIndex.findWithinRadius(latitude, longitude, radiusKm);
+    }
 
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("Found " + venues.size() + " venues in geohash cells");
+    // No radius: keep the 3x3 geohash neighbourhood semantics
+    Set<String> cells = new HashSet<>(GeohashUtil.getNeighboringGeohashes(latitude, longitude));
+    List<SpatialGridIndex.Hit<Experience>> hits = new ArrayList<>();
+    for (SpatialGridIndex.Hit<Experience> hit :
+        nearbyExperienceIndex.findWithinRadius(latitude, longitude, NEIGHBOURHOOD_RADIUS_KM)) {
+      Experience experience = hit.getItem();
+      if (cells.contains(
+          GeohashUtil.getGeohashPrefix(experience.getLatitude(), experience.getLongitude()))) {
+        hits.add(hit);
       }
+    }
+    return hits;
+  }
 
-      // Get experiences for each venue
-      Map<String, List<Experience>> venueExperiencesMap = new HashMap<>();
-      for (VenueLocation venue : venues) {
-        List<Experience> experiences = experienceDao.findByVenueId(venue.getVenueId());
-        if (context != null && context.getLogger() != null) {
-          context
-              .getLogger()
-              .log("Venue " + venue.getVenueId() + " has " + experiences.size() + " experiences");
-        }
-        venueExperiencesMap.put(venue.getVenueId(), experiences);
-      }
+  /** Nearby search against the DynamoDB experience geo index, one query per geohash cell. */
+  private List<SpatialGridIndex.Hit<Experience>> findNearbyInDynamoDb(
+      double latitude, double longitude, Double radiusKm, Integer nearestK, Context context) {
+    // Cells covering the search circle, or the 9 neighboring cells when no radius is given
+    List<String> geohashes;
+    if (radiusKm != null) {
+      geohashes = GeohashUtil.coverCircle(latitude, longitude, radiusKm);
+    } else if (nearestK != null) {
+      geohashes = GeohashUtil.coverCircle(latitude, longitude, GeohashUtil.MAX_SEARCH_RADIUS_KM);
+    } else {
+      geohashes = GeohashUtil.getNeighboringGeohashes(latitude, longitude);
+    }
 
-      // Build response with distance calculation
-      for (VenueLocation venue : venues) {
-        List<Experience> experiences = venueExperiencesMap.get(venue.getVenueId());
-        for (Experience experience : experiences) {
-          if (experience.getLatitude() != null && experience.getLongitude() != null) {
-            double distance =
-                GeohashUtil.calculateDistance(
-                    latitude, longitude, experience.getLatitude(), experience.getLongitude());
-
-            // Filter by radius if specified
-            if (radiusKm != null && distance > radiusKm) {
-              continue; // Skip experiences outside the radius
-            }
+    RequestLog.info("Querying geohashes: " + geohashes);
 
-            Map<String, Object> expData = new HashMap<>();
-            expData.put("experienceId", experience.getExperienceId());
-            expData.put("title", experience.getTitle());
-            expData.put("description", experience.getDescription());
-            expData.put("type", experience.getType());
-            expData.put("latitude", experience.getLatitude());
-            expData.put("longitude", experience.getLongitude());
-            expData.put("address", experience.getAddress());
-            expData.put("city", experience.getCity());
-            expData.put("distanceKm", Math.round(distance * 100.0) / 100.0); // Round to 2 decimals
-            expData.put("venueId", venue.getVenueId());
-            expData.put("venueName", venue.getName());
-            nearbyExperiences.add(expData);
-          }
-        }
-      }
+    // One geo index query per cell returns the (compact) experiences directly
+    List<Experience> experiences = experienceDao.findByGeohashCells(geohashes);
 
-      // Sort by distance (closest first)
-      nearbyExperiences.sort(
-          (e1, e2) -> {
-            Double dist1 = (Double) e1.get("distanceKm");
-            Double dist2 = (Double) e2.get("distanceKm");
-            if (dist1 == null || dist2 == null) {
-              return 0;
-            }
-            return Double.compare(dist1, dist2);
-          });
+    RequestLog.info("Found " + experiences.size() + " experiences in geohash cells");
 
-    } catch (Exception e) {
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log("Error getting nearby experiences: " + e.getMessage());
+    double maxDistanceKm =
+        radiusKm != null
+            ? radiusKm
+            : nearestK != null ? GeohashUtil.MAX_SEARCH_RADIUS_KM : Double.MAX_VALUE;
+    List<SpatialGridIndex.Hit<Experience>> hits = new ArrayList<>();
+    for (Experience experience : experiences) {
+      if (experience.getLatitude() == null
+          || experience.getLongitude() == null
+          || experience.getStatus() == Experience.ExperienceStatus.DELETED) {
+        continue;
+      }
+      double distance =
+          GeohashUtil.calculateDistance(
+              latitude, longitude, experience.getLatitude(), experience.getLongitude());
+      if (distance <= maxDistanceKm) {
+        hits.add(new SpatialGridIndex.Hit<>(experience, distance));
       }
     }
-    return nearbyExperiences;
+
+    // Sort by distance (closest first)
+    hits.sort((h1, h2) -> Double.compare(h1.getDistanceKm(), h2.getDistanceKm()));
+    if (nearestK != null && hits.size() > nearestK) {
+      return new ArrayList<>(hits.subList(0, nearestK));
+    }
+    return hits;
   }
 
   /** Handle PUT /experiences/{experienceId} - Create, update, or delete experience. */
@@ -4119,6 +3867,10 @@ public class ApiGatewayHandler
 
       Experience experience;
 
+      // Start the upcoming interest index items of this experience are filed under
+      java.time.Instant previousStartsAt =
+          existingOpt.map(UpcomingInterestDao::startsAt).orElse(null);
+
       if (existingOpt.isPresent()) {
         // Update existing
         experience = existingOpt.get();
@@ -4207,21 +3959,46 @@ public class ApiGatewayHandler
       }
       // Add more field mappings as needed
 
+      // Link the experience to its VenueLocation before saving, so the GSI1 (venue) and GSI4
+      // (geo) keys and the denormalized venue name are written with the experience itself
+      boolean hasCoordinates =
+          experience.getLatitude() != null && experience.getLongitude() != null;
+      if (hasCoordinates) {
+        if (requestMap.containsKey("venueId") && requestMap.get("venueId") != null) {
+          experience.setVenueId((String) requestMap.get("venueId"));
+        } else if (experience.getVenueId() == null) {
+          // Generate venueId from experienceId (or use experienceId as venueId)
+          experience.setVenueId("venue-" + experienceId);
+        }
+        if (experience.getLocation() != null) {
+          experience.setVenueName(experience.getLocation());
+        } else if (experience.getTitle() != null) {
+          experience.setVenueName(experience.getTitle());
+        }
+      }
+
+      // Re-file the experience's upcoming interest index items when its start moves: under the
+      // new start before saving, so a failure fails the update and a retry files them again, and
+      // off the old start after. Readers skip items whose start is not the experience's, so items
+      // left behind by a failure are never listed
+      boolean startMoved =
+          existingOpt.isPresent()
+              && !Objects.equals(previousStartsAt, UpcomingInterestDao.startsAt(experience));
+      List<UserExperience> interests =
+          startMoved
+              ? userExperienceDao.findInterestedUsersByExperienceId(experienceId)
+              : List.of();
+      upcomingInterestDao.fileExperience(experience, interests);
+
       // Save experience
       experience = experienceDao.save(experience);
 
+      upcomingInterestDao.unfileExperience(previousStartsAt, experienceId, interests);
+
       // Automatically create/update VenueLocation if experience has coordinates
-      if (experience.getLatitude() != null && experience.getLongitude() != null) {
+      if (hasCoordinates) {
+        String venueId = experience.getVenueId();
         try {
-          // Generate or use provided venueId
-          String venueId;
-          if (requestMap.containsKey("venueId") && requestMap.get("venueId") != null) {
-            venueId = (String) requestMap.get("venueId");
-          } else {
-            // Generate venueId from experienceId (or use experienceId as venueId)
-            venueId = "venue-" + experienceId;
-          }
-
           // Check if venue already exists
           Optional<VenueLocation> existingVenueOpt = venueLocationDao.findByVenueId(venueId);
           VenueLocation venue;
@@ -4235,10 +4012,8 @@ public class ApiGatewayHandler
           }
 
           // Update venue details from experience
-          if (experience.getLocation() != null) {
-            venue.setName(experience.getLocation());
-          } else if (experience.getTitle() != null) {
-            venue.setName(experience.getTitle());
+          if (experience.getVenueName() != null) {
+            venue.setName(experience.getVenueName());
           }
           venue.setLatitude(experience.getLatitude());
           venue.setLongitude(experience.getLongitude());
@@ -4255,49 +4030,11 @@ public class ApiGatewayHandler
           // Save venue location (geohash will be calculated automatically by DAO)
           venueLocationDao.save(venue);
 
-          // Update experience with venueId for GSI1 queries
-          // We need to save the experience again with venueId
-          // Since Experience model doesn't have venueId, we'll save it directly to DynamoDB
-          // Use entity type prefix for single-table design
-          String experiencePk = "EXPERIENCE#" + experience.getExperienceId();
-          Map<String, AttributeValue> experienceKey = new HashMap<>();
-          experienceKey.put(
-              "userId", AttributeValue.builder().s(experiencePk).build()); // userId is the PK field
-          experienceKey.put(
-              "createdAt",
-              AttributeValue.builder().s(experience.getCreatedAt().toString()).build());
-
-          Map<String, AttributeValue> updateValues = new HashMap<>();
-          updateValues.put(":venueId", AttributeValue.builder().s(venueId).build());
-          updateValues.put(
-              ":experienceId", AttributeValue.builder().s(experience.getExperienceId()).build());
-
-          Map<String, String> expressionNames = new HashMap<>();
-          expressionNames.put("#venueId", "venueId");
-          expressionNames.put("#GSI1PK", "GSI1PK");
-          expressionNames.put("#GSI1SK", "GSI1SK");
-
-          software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest updateRequest =
-              software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest.builder()
-                  .tableName(TABLE_NAME)
-                  .key(experienceKey)
-                  .updateExpression(
-                      "SET #venueId = :venueId, #GSI1PK = :venueId, #GSI1SK = :experienceId")
-                  .expressionAttributeNames(expressionNames)
-                  .expressionAttributeValues(updateValues)
-                  .build();
-
-          dynamoDbClient.updateItem(updateRequest);
-
-          if (context != null && context.getLogger() != null) {
-            context.getLogger().log("VenueLocation created/updated: " + venueId);
-          }
+          RequestLog.info("VenueLocation created/updated: " + venueId);
+
         } catch (Exception e) {
           // Log error but don't fail the experience creation
-          if (context != null && context.getLogger() != null) {
-            context.getLogger().log("Warning: Failed to create VenueLocation: " + e.getMessage());
-            e.printStackTrace();
-          }
+          RequestLog.warn("Warning: Failed to create VenueLocation: " + e.getMessage());
         }
       }
 
@@ -4314,9 +4051,8 @@ public class ApiGatewayHandler
       return createSuccessResponse(200, responseData, "application/json");
     } catch (Exception e) {
       String errorMessage = "Error processing request: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -4328,26 +4064,24 @@ public class ApiGatewayHandler
   private APIGatewayProxyResponseEvent handleMarkUserInterest(
       String userId, String experienceId, String body, Context context) {
     try {
+      // The change moves a counter of the experience, which is only right once the
+      // experience-counters table migration has recounted it
+      if (!userExperienceDao.isCountersRecounted()) {
+        RequestLog.warn(
+            "Experience counters are not recounted; run TableMigrations experience-counters");
+        return createErrorResponse(
+            503, "Service Unavailable", "Experience counters are being recounted, retry later");
+      }
+
       // Verify experience exists
       Optional<Experience> experienceOpt = experienceDao.findByExperienceId(experienceId);
       if (experienceOpt.isEmpty()) {
         return createErrorResponse(404, "Not Found", "Experience not found: " + experienceId);
       }
 
-      // Check if UserExperience already exists
-      List<UserExperience> existingUserExperiences = userExperienceDao.findByUserId(userId);
-      UserExperience userExperience = null;
-      for (UserExperience ue : existingUserExperiences) {
-        if (experienceId.equals(ue.getExperienceId())) {
-          userExperience = ue;
-          break;
-        }
-      }
-
-      // Create new or update existing
-      if (userExperience == null) {
-        userExperience = new UserExperience(userId, experienceId);
-      }
+      // Collect the requested changes; the DAO writes only these fields (creating the record if
+      // the user has none for this experience yet)
+      UserExperience userExperience = new UserExperience(userId, experienceId);
 
       // Parse interested boolean from body (1/true = interested, 0/false = not interested)
       boolean isInterested = true; // Default to interested if not specified
@@ -4386,17 +4120,19 @@ public class ApiGatewayHandler
           }
         } catch (Exception e) {
           // If body parsing fails, continue with default values
-          if (context != null && context.getLogger() != null) {
-            context.getLogger().log("Warning: Could not parse request body: " + e.getMessage());
-          }
+          RequestLog.warn("Warning: Could not parse request body: " + e.getMessage());
         }
       }
 
-      // Set exp-interest field (not status)
-      userExperience.setExpInterest(isInterested);
-
-      // Save UserExperience
-      userExperienceDao.save(userExperience);
+      // Set exp-interest field (not status) in one partial upsert; a flip writes the upcoming
+      // interest index item in the same transaction
+      userExperience =
+          userExperienceDao.updateInterest(
+              userId,
+              experienceId,
+              isInterested,
+              userExperience.getInterestScore(),
+              UpcomingInterestDao.startsAt(experienceOpt.get()));
 
       // Build response
       Map<String, Object> responseData = new HashMap<>();
@@ -4419,11 +4155,13 @@ public class ApiGatewayHandler
       responseData.put("timestamp", Instant.now().toString());
 
       return createSuccessResponse(200, responseData, "application/json");
+    } catch (ResourceNotFoundException e) {
+      // The experience was deleted after it was read
+      return createErrorResponse(404, "Not Found", e.getMessage());
     } catch (Exception e) {
       String errorMessage = "Error marking user interest: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-      }
+      RequestLog.error(errorMessage);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
@@ -4435,26 +4173,26 @@ public class ApiGatewayHandler
   private APIGatewayProxyResponseEvent handleMarkUserPayment(
       String userId, String experienceId, String body, Context context) {
     try {
+      // The change moves a counter of the experience, which is only right once the
+      // experience-counters table migration has recounted it
+      if (!userExperienceDao.isCountersRecounted()) {
+        RequestLog.warn(
+            "Experience counters are not recounted; run TableMigrations experience-counters");
+        return createErrorResponse(
+            503, "Service Unavailable", "Experience counters are being recounted, retry later");
+      }
+
       // Verify experience exists
       Optional<Experience> experienceOpt = experienceDao.findByExperienceId(experienceId);
       if (experienceOpt.isEmpty()) {
         return createErrorResponse(404, "Not Found", "Experience not found: " + experienceId);
       }
 
-      // Check if UserExperience already exists
-      List<UserExperience> existingUserExperiences = userExperienceDao.findByUserId(userId);
-      UserExperience userExperience = null;
-      for (UserExperience ue : existingUserExperiences) {
-        if (experienceId.equals(ue.getExperienceId())) {
-          userExperience = ue;
-          break;
-        }
-      }
-
-      // Create new or update existing
-      if (userExperience == null) {
-        userExperience = new UserExperience(userId, experienceId);
-      }
+      // Collect the requested changes; the DAO writes only these fields (creating the record if
+      // the user has none for this experience yet)
+      UserExperience userExperience = new UserExperience(userId, experienceId);
+      // No status unless the request sets one, so status, PAID and the booking stay as they are
+      userExperience.setStatus(null);
 
       // Parse request body
       if (body != null && !body.isBlank()) {
@@ -4525,9 +4263,8 @@ public class ApiGatewayHandler
             }
           }
         } catch (Exception e) {
-          if (context != null && context.getLogger() != null) {
-            context.getLogger().log("Warning: Could not parse request body: " + e.getMessage());
-          }
+          RequestLog.warn("Warning: Could not parse request body: " + e.getMessage());
+
           // If body parsing fails, at least set status to PAID
           userExperience.setStatus(UserExperience.UserExperienceStatus.PAID);
         }
@@ -4536,8 +4273,11 @@ public class ApiGatewayHandler
         userExperience.setStatus(UserExperience.UserExperienceStatus.PAID);
       }
 
-      // Save UserExperience
-      userExperienceDao.save(userExperience);
+      // Write status and payment details in one partial upsert; a new payment also takes a
+      // booking on the experience in the same transaction
+      userExperience =
+          userExperienceDao.updatePayment(
+              userId, experienceId, userExperience.getStatus(), userExperience.getPaymentDetails());
 
       // Build response
       Map<String, Object> responseData = new HashMap<>();
@@ -4556,17 +4296,23 @@ public class ApiGatewayHandler
       responseData.put("timestamp", Instant.now().toString());
 
       return createSuccessResponse(200, responseData, "application/json");
+    } catch (ExperienceFullyBookedException e) {
+      return createErrorResponse(409, "Conflict", e.getMessage());
+    } catch (ResourceNotFoundException e) {
+      // The experience was deleted after it was read
+      return createErrorResponse(404, "Not Found", e.getMessage());
     } catch (Exception e) {
       String errorMessage = "Error marking user payment: " + e.getMessage();
-      if (context != null && context.getLogger() != null) {
-        context.getLogger().log(errorMessage);
-        e.printStackTrace();
-      }
+      RequestLog.error(errorMessage, e);
+
       return createErrorResponse(500, "Internal server error", errorMessage);
     }
   }
 
-  /** Convert Experience to Map for JSON response. */
+  /**
+   * Convert Experience to Map for JSON response. Keep the fields in sync with {@link
+   * ResponseJsonWriter#writeExperience}, which streams the same object for the listings.
+   */
   private Map<String, Object> experienceToMap(Experience experience) {
     Map<String, Object> map = new HashMap<>();
     map.put("experienceId", experience.getExperienceId());
@@ -4580,6 +4326,8 @@ public class ApiGatewayHandler
     map.put("country", experience.getCountry());
     map.put("latitude", experience.getLatitude());
     map.put("longitude", experience.getLongitude());
+    map.put("venueId", experience.getVenueId());
+    map.put("venueName", experience.getVenueName());
     map.put("experienceDate", experience.getExperienceDate());
     map.put("startTime", experience.getStartTime());
     map.put("endTime", experience.getEndTime());
@@ -4587,6 +4335,7 @@ public class ApiGatewayHandler
     map.put("currency", experience.getCurrency());
     map.put("maxCapacity", experience.getMaxCapacity());
     map.put("currentBookings", experience.getCurrentBookings());
+    map.put("interestCount", experience.getInterestCount());
     map.put("createdAt", experience.getCreatedAt());
     map.put("updatedAt", experience.getUpdatedAt());
     return map;
@@ -4596,32 +4345,61 @@ public class ApiGatewayHandler
   private APIGatewayProxyResponseEvent createSuccessResponse(
       int statusCode, Object body, String contentType) {
     try {
-      APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
-      response.setStatusCode(statusCode);
-
-      Map<String, String> headers = new HashMap<>();
-      headers.put("Content-Type", contentType);
-      headers.put("X-Request-Id", java.util.UUID.randomUUID().toString());
-      response.setHeaders(headers);
-
       String bodyString;
       if (body instanceof String) {
         bodyString = (String) body;
       } else {
         bodyString = objectWriter.writeValueAsString(body);
       }
-      response.setBody(bodyString);
+      return createResponse(statusCode, bodyString, contentType);
+    } catch (Exception e) {
+      return createSerializationErrorResponse(statusCode);
+    }
+  }
 
-      return response;
+  /**
+   * Creates a JSON success response whose envelope and data are streamed by {@link
+   * ResponseJsonWriter} rather than built as maps first. Used for the large listings.
+   *
+   * @param statusCode HTTP status code
+   * @param message Message of the envelope
+   * @param data Writes the value of the data field
+   * @param extraFields Writes additional envelope fields (e.g. count, nextCursor), or null
+   */
+  private APIGatewayProxyResponseEvent createStreamingResponse(
+      int statusCode,
+      String message,
+      ResponseJsonWriter.JsonBody data,
+      ResponseJsonWriter.JsonBody extraFields) {
+    try {
+      return createResponse(
+          statusCode, responseWriter.writeEnvelope(message, data, extraFields), "application/json");
     } catch (Exception e) {
-      // Fallback if JSON serialization fails
-      APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
-      response.setStatusCode(statusCode);
-      response.setBody("{\"success\":false,\"message\":\"Error serializing response\"}");
-      return response;
+      return createSerializationErrorResponse(statusCode);
     }
   }
 
+  private APIGatewayProxyResponseEvent createResponse(
+      int statusCode, String body, String contentType) {
+    APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
+    response.setStatusCode(statusCode);
+
+    Map<String, String> headers = new HashMap<>();
+    headers.put("Content-Type", contentType);
+    headers.put("X-Request-Id", java.util.UUID.randomUUID().toString());
+    response.setHeaders(headers);
+    response.setBody(body);
+    return response;
+  }
+
+  /** Fallback if JSON serialization fails */
+  private APIGatewayProxyResponseEvent createSerializationErrorResponse(int statusCode) {
+    APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
+    response.setStatusCode(statusCode);
+    response.setBody("{\"success\":false,\"message\":\"Error serializing response\"}");
+    return response;
+  }
+
   /** Creates an error HTTP response. */
   private APIGatewayProxyResponseEvent createErrorResponse(
       int statusCode, String message, String details) {
@@ -0,0 +1,63 @@
+package com.yourafterspace.lambda;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Training run for the AppCDS archive of the Lambda artifact ({@code mvn -Pappcds -DskipTests
+ * package}). It initializes the handler, which primes itself, and sends it one request per kind of
+ * route, so that the classes of a typical invocation are loaded when the JVM dumps the archive at
+ * exit. The requests only read, and their DynamoDB calls fail on the dummy credentials the profile
+ * sets, which still loads the SDK classes on their path.
+ *
+ * <p>The init and first-request times it prints are the cold-start figures to compare with and
+ * without {@code -XX:SharedArchiveFile}.
+ */
+final class AppCdsTraining {
+
+  private AppCdsTraining() {}
+
+  public static void main(String[] args) {
+    long start = System.nanoTime();
+    ApiGatewayHandler handler = new ApiGatewayHandler();
+    System.out.println("Init: " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+    send(handler, "GET", "/health", null, null);
+    send(handler, "GET", "/api/auth/me", "training-user", null);
+    send(handler, "GET", "/users/profile", "training-user", null);
+    send(handler, "GET", "/users/profile/training-user", "training-user", null);
+    send(handler, "GET", "/groups", "training-user", null);
+    send(handler, "GET", "/experiences", "training-user", null);
+    send(handler, "GET", "/experiences/training-experience", "training-user", null);
+    send(
+        handler, "GET", "/experiences/training-experience/interested-users", "training-user", null);
+    send(handler, "GET", "/unknown", null, null);
+  }
+
+  private static void send(
+      ApiGatewayHandler handler, String method, String path, String userId, String body) {
+    APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+    event.setHttpMethod(method);
+    event.setPath(path);
+    Map<String, String> headers = new HashMap<>();
+    if (userId != null) {
+      headers.put("x-amzn-oidc-identity", userId);
+    }
+    event.setHeaders(headers);
+    event.setBody(body);
+
+    long start = System.nanoTime();
+    APIGatewayProxyResponseEvent response = handler.handleRequest(event, null);
+    System.out.println(
+        method
+            + " "
+            + path
+            + ": "
+            + response.getStatusCode()
+            + " in "
+            + (System.nanoTime() - start) / 1_000_000
+            + " ms");
+  }
+}
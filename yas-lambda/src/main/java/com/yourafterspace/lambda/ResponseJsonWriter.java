@@ -0,0 +1,312 @@
+package com.yourafterspace.lambda;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import com.yourafterspace.yas_backend.model.UserProfile;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Writes response bodies straight into a Jackson {@link JsonGenerator} instead of building a tree
+ * of HashMaps and serializing that.
+ *
+ * <p>Field names are pre-encoded {@link SerializedString}s and each thread reuses its character
+ * buffer between responses, so a large listing costs one pass over the entities plus the final body
+ * string. Values that are not plain strings, numbers or booleans (dates, enums, BigDecimal) go
+ * through the {@link ObjectMapper}, so they serialize exactly as they do in a map.
+ */
+final class ResponseJsonWriter {
+
+  /** Buffers larger than this are dropped after use rather than kept for the next response */
+  private static final int MAX_RETAINED_BUFFER_CHARS = 1024 * 1024;
+
+  private static final int INITIAL_BUFFER_CHARS = 8 * 1024;
+
+  // Envelope
+  static final SerializableString SUCCESS = new SerializedString("success");
+  static final SerializableString MESSAGE = new SerializedString("message");
+  static final SerializableString DATA = new SerializedString("data");
+  static final SerializableString COUNT = new SerializedString("count");
+  static final SerializableString NEXT_CURSOR = new SerializedString("nextCursor");
+  static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+
+  // User profile
+  static final SerializableString USER_ID = new SerializedString("userId");
+  private static final SerializableString DATE_OF_BIRTH = new SerializedString("dateOfBirth");
+  private static final SerializableString ADDRESS = new SerializedString("address");
+  private static final SerializableString CITY = new SerializedString("city");
+  private static final SerializableString STATE = new SerializedString("state");
+  private static final SerializableString ZIP_CODE = new SerializedString("zipCode");
+  private static final SerializableString COUNTRY = new SerializedString("country");
+  private static final SerializableString LATITUDE = new SerializedString("latitude");
+  private static final SerializableString LONGITUDE = new SerializedString("longitude");
+  private static final SerializableString GENDER = new SerializedString("gender");
+  private static final SerializableString PROFESSION = new SerializedString("profession");
+  private static final SerializableString COMPANY = new SerializedString("company");
+  private static final SerializableString BIO = new SerializedString("bio");
+  private static final SerializableString PHONE_NUMBER = new SerializedString("phoneNumber");
+  private static final SerializableString STATUS = new SerializedString("status");
+
+  // User experience
+  static final SerializableString EXPERIENCE = new SerializedString("experience");
+  private static final SerializableString EXP_INTEREST = new SerializedString("exp-interest");
+  private static final SerializableString INTEREST_SCORE = new SerializedString("interestScore");
+  private static final SerializableString INTERESTED_AT = new SerializedString("interestedAt");
+  private static final SerializableString USER_STATUS = new SerializedString("userStatus");
+  private static final SerializableString PAID = new SerializedString("paid");
+  private static final SerializableString PAID_AT = new SerializedString("paidAt");
+  private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+  private static final SerializableString PAYMENT_DETAILS = new SerializedString("paymentDetails");
+  private static final SerializableString AMOUNT = new SerializedString("amount");
+  private static final SerializableString CURRENCY = new SerializedString("currency");
+  private static final SerializableString PAYMENT_METHOD = new SerializedString("paymentMethod");
+  private static final SerializableString PAYMENT_DATE = new SerializedString("paymentDate");
+  private static final SerializableString TRANSACTION_ID = new SerializedString("transactionId");
+
+  // Experience
+  private static final SerializableString EXPERIENCE_ID = new SerializedString("experienceId");
+  private static final SerializableString TITLE = new SerializedString("title");
+  private static final SerializableString DESCRIPTION = new SerializedString("description");
+  private static final SerializableString TYPE = new SerializedString("type");
+  private static final SerializableString LOCATION = new SerializedString("location");
+  private static final SerializableString VENUE_ID = new SerializedString("venueId");
+  private static final SerializableString VENUE_NAME = new SerializedString("venueName");
+  private static final SerializableString EXPERIENCE_DATE = new SerializedString("experienceDate");
+  private static final SerializableString START_TIME = new SerializedString("startTime");
+  private static final SerializableString END_TIME = new SerializedString("endTime");
+  private static final SerializableString PRICE_PER_PERSON = new SerializedString("pricePerPerson");
+  private static final SerializableString MAX_CAPACITY = new SerializedString("maxCapacity");
+  private static final SerializableString CURRENT_BOOKINGS =
+      new SerializedString("currentBookings");
+  private static final SerializableString INTEREST_COUNT = new SerializedString("interestCount");
+  private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+
+  /** Writes part of a JSON document. */
+  @FunctionalInterface
+  interface JsonBody {
+    void write(JsonGenerator gen) throws IOException;
+  }
+
+  private final ObjectMapper objectMapper;
+  private final ThreadLocal<CharArrayWriter> buffers =
+      ThreadLocal.withInitial(() -> new CharArrayWriter(INITIAL_BUFFER_CHARS));
+
+  ResponseJsonWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Write a JSON document.
+   *
+   * @param body Writes one root value
+   * @return The JSON text
+   * @throws IOException If a value cannot be serialized
+   */
+  String write(JsonBody body) throws IOException {
+    CharArrayWriter buffer = buffers.get();
+    buffer.reset();
+    try (JsonGenerator gen = objectMapper.getFactory().createGenerator(buffer)) {
+      body.write(gen);
+    }
+    String json = buffer.toString();
+    if (buffer.size() > MAX_RETAINED_BUFFER_CHARS) {
+      buffers.remove();
+    }
+    return json;
+  }
+
+  /**
+   * Write the standard success envelope: {@code success}, {@code message}, {@code data}, any extra
+   * fields and {@code timestamp}.
+   *
+   * @param message Message of the envelope
+   * @param data Writes the value of {@code data}
+   * @param extraFields Writes additional fields of the envelope (e.g. count), or null
+   * @return The JSON text
+   * @throws IOException If a value cannot be serialized
+   */
+  String writeEnvelope(String message, JsonBody data, JsonBody extraFields) throws IOException {
+    return write(
+        gen -> {
+          gen.writeStartObject();
+          gen.writeFieldName(SUCCESS);
+          gen.writeBoolean(true);
+          writeString(gen, MESSAGE, message);
+          gen.writeFieldName(DATA);
+          data.write(gen);
+          if (extraFields != null) {
+            extraFields.write(gen);
+          }
+          writeString(gen, TIMESTAMP, Instant.now().toString());
+          gen.writeEndObject();
+        });
+  }
+
+  /**
+   * Write the fields of a user profile that are set (no enclosing object).
+   *
+   * @param gen Generator positioned inside an object
+   * @param profile User profile
+   */
+  static void writeUserProfileFields(JsonGenerator gen, UserProfile profile) throws IOException {
+    writeString(gen, USER_ID, profile.getUserId());
+    if (profile.getDateOfBirth() != null) {
+      writeString(gen, DATE_OF_BIRTH, profile.getDateOfBirth().toString());
+    }
+    writeOptionalString(gen, ADDRESS, profile.getAddress());
+    writeOptionalString(gen, CITY, profile.getCity());
+    writeOptionalString(gen, STATE, profile.getState());
+    writeOptionalString(gen, ZIP_CODE, profile.getZipCode());
+    writeOptionalString(gen, COUNTRY, profile.getCountry());
+    if (profile.getLatitude() != null) {
+      gen.writeFieldName(LATITUDE);
+      gen.writeNumber(profile.getLatitude());
+    }
+    if (profile.getLongitude() != null) {
+      gen.writeFieldName(LONGITUDE);
+      gen.writeNumber(profile.getLongitude());
+    }
+    writeOptionalString(gen, GENDER, profile.getGender());
+    writeOptionalString(gen, PROFESSION, profile.getProfession());
+    writeOptionalString(gen, COMPANY, profile.getCompany());
+    writeOptionalString(gen, BIO, profile.getBio());
+    writeOptionalString(gen, PHONE_NUMBER, profile.getPhoneNumber());
+    if (profile.getStatus() != null) {
+      writeString(gen, STATUS, profile.getStatus().getValue());
+    }
+  }
+
+  /**
+   * Write the interest metadata of a user experience (no enclosing object).
+   *
+   * @param gen Generator positioned inside an object
+   * @param userExperience Interest record
+   */
+  static void writeInterestFields(JsonGenerator gen, UserExperience userExperience)
+      throws IOException {
+    writeObject(gen, EXP_INTEREST, userExperience.getExpInterest());
+    if (userExperience.getInterestScore() != null) {
+      gen.writeFieldName(INTEREST_SCORE);
+      gen.writeNumber(userExperience.getInterestScore());
+    }
+    if (userExperience.getCreatedAt() != null) {
+      writeString(gen, INTERESTED_AT, userExperience.getCreatedAt().toString());
+    }
+  }
+
+  /**
+   * Write the payment/attendance metadata of a user experience (no enclosing object).
+   *
+   * @param gen Generator positioned inside an object
+   * @param userExperience Payment record
+   */
+  static void writeAttendanceFields(JsonGenerator gen, UserExperience userExperience)
+      throws IOException {
+    if (userExperience.getStatus() != null) {
+      writeString(gen, USER_STATUS, userExperience.getStatus().getValue());
+    }
+    if (userExperience.getPaid() != null) {
+      gen.writeFieldName(PAID);
+      gen.writeBoolean(userExperience.getPaid());
+    }
+    writePaymentDetails(gen, userExperience.getPaymentDetails());
+    if (userExperience.getCreatedAt() != null) {
+      writeString(gen, PAID_AT, userExperience.getCreatedAt().toString());
+    }
+    if (userExperience.getUpdatedAt() != null) {
+      writeString(gen, UPDATED_AT, userExperience.getUpdatedAt().toString());
+    }
+  }
+
+  /**
+   * Write the payment details of a user experience as a {@code paymentDetails} object, if any of
+   * them is set.
+   *
+   * @param gen Generator positioned inside an object
+   * @param details Payment details, or null
+   */
+  private static void writePaymentDetails(JsonGenerator gen, UserExperience.PaymentDetails details)
+      throws IOException {
+    if (details == null
+        || (details.getAmount() == null
+            && details.getCurrency() == null
+            && details.getPaymentMethod() == null
+            && details.getPaymentDate() == null
+            && details.getTransactionId() == null)) {
+      return;
+    }
+    gen.writeFieldName(PAYMENT_DETAILS);
+    gen.writeStartObject();
+    if (details.getAmount() != null) {
+      writeObject(gen, AMOUNT, details.getAmount());
+    }
+    writeOptionalString(gen, CURRENCY, details.getCurrency());
+    writeOptionalString(gen, PAYMENT_METHOD, details.getPaymentMethod());
+    if (details.getPaymentDate() != null) {
+      writeString(gen, PAYMENT_DATE, details.getPaymentDate().toString());
+    }
+    writeOptionalString(gen, TRANSACTION_ID, details.getTransactionId());
+    gen.writeEndObject();
+  }
+
+  /**
+   * Write an experience object with the fields of {@code ApiGatewayHandler.experienceToMap}.
+   *
+   * @param gen Generator positioned where a value is expected
+   * @param experience Experience
+   */
+  static void writeExperience(JsonGenerator gen, Experience experience) throws IOException {
+    gen.writeStartObject();
+    writeString(gen, EXPERIENCE_ID, experience.getExperienceId());
+    writeString(gen, TITLE, experience.getTitle());
+    writeString(gen, DESCRIPTION, experience.getDescription());
+    writeObject(gen, TYPE, experience.getType());
+    writeObject(gen, STATUS, experience.getStatus());
+    writeString(gen, LOCATION, experience.getLocation());
+    writeString(gen, ADDRESS, experience.getAddress());
+    writeString(gen, CITY, experience.getCity());
+    writeString(gen, COUNTRY, experience.getCountry());
+    writeObject(gen, LATITUDE, experience.getLatitude());
+    writeObject(gen, LONGITUDE, experience.getLongitude());
+    writeString(gen, VENUE_ID, experience.getVenueId());
+    writeString(gen, VENUE_NAME, experience.getVenueName());
+    writeObject(gen, EXPERIENCE_DATE, experience.getExperienceDate());
+    writeObject(gen, START_TIME, experience.getStartTime());
+    writeObject(gen, END_TIME, experience.getEndTime());
+    writeObject(gen, PRICE_PER_PERSON, experience.getPricePerPerson());
+    writeString(gen, CURRENCY, experience.getCurrency());
+    writeObject(gen, MAX_CAPACITY, experience.getMaxCapacity());
+    writeObject(gen, CURRENT_BOOKINGS, experience.getCurrentBookings());
+    writeObject(gen, INTEREST_COUNT, experience.getInterestCount());
+    writeObject(gen, CREATED_AT, experience.getCreatedAt());
+    writeObject(gen, UPDATED_AT, experience.getUpdatedAt());
+    gen.writeEndObject();
+  }
+
+  /** Write a string field, writing null values as JSON null. */
+  static void writeString(JsonGenerator gen, SerializableString name, String value)
+      throws IOException {
+    gen.writeFieldName(name);
+    gen.writeString(value);
+  }
+
+  /** Write a string field only if the value is not null. */
+  static void writeOptionalString(JsonGenerator gen, SerializableString name, String value)
+      throws IOException {
+    if (value != null) {
+      writeString(gen, name, value);
+    }
+  }
+
+  /** Write a field whose value is serialized by the ObjectMapper (null as JSON null). */
+  static void writeObject(JsonGenerator gen, SerializableString name, Object value)
+      throws IOException {
+    gen.writeFieldName(name);
+    gen.writeObject(value);
+  }
+}
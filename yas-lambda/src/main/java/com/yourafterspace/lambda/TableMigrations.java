@@ -0,0 +1,111 @@
+package com.yourafterspace.lambda;
+
+import com.yourafterspace.yas_backend.dao.DynamoDbClientFactory;
+import com.yourafterspace.yas_backend.dao.ExperienceDao;
+import com.yourafterspace.yas_backend.dao.GroupDao;
+import com.yourafterspace.yas_backend.dao.UpcomingInterestDao;
+import com.yourafterspace.yas_backend.dao.UserExperienceDao;
+import java.net.URI;
+import java.util.List;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+/**
+ * One-off migrations of the table the Lambda serves. They scan the whole table, so they run offline
+ * from the Lambda artifact, never inside a request:
+ *
+ * <pre>
+ * java -cp lambda-function.jar com.yourafterspace.lambda.TableMigrations upcoming-interest
+ * </pre>
+ *
+ * <p>The table, region and endpoint come from the same environment variables as the handler's
+ * (AWS_DYNAMODB_USER_PROFILE_TABLE, AWS_REGION, DYNAMODB_ENDPOINT). Every migration is idempotent,
+ * so an interrupted run is started again.
+ *
+ * <ul>
+ *   <li>{@code upcoming-interest}: copy the interest written before the upcoming interest index
+ *       existed into it; GET /experiences lists only indexed interest until this has run.
+ *   <li>{@code group-memberships}: create the membership items of groups written before they
+ *       existed; a user's group list misses those groups until this has run.
+ *   <li>{@code legacy-experiences}: move experiences still keyed by their creation time to the
+ *       fixed key; until this has run, each of them costs extra queries on every read.
+ *   <li>{@code experience-counters}: recompute every experience's interestCount and currentBookings
+ *       from the user records, after {@code legacy-experiences}; interest and payment changes are
+ *       refused until this has run, including on a new table.
+ * </ul>
+ */
+final class TableMigrations {
+
+  static final List<String> NAMES =
+      List.of(
+          "upcoming-interest", "group-memberships", "legacy-experiences", "experience-counters");
+
+  private final UserExperienceDao userExperienceDao;
+  private final ExperienceDao experienceDao;
+  private final UpcomingInterestDao upcomingInterestDao;
+  private final GroupDao groupDao;
+
+  TableMigrations(DynamoDbClient dynamoDbClient, String tableName) {
+    this.userExperienceDao = new UserExperienceDao(dynamoDbClient, tableName);
+    this.experienceDao = new ExperienceDao(dynamoDbClient, tableName);
+    this.upcomingInterestDao = new UpcomingInterestDao(dynamoDbClient, tableName);
+    this.groupDao = new GroupDao(dynamoDbClient, tableName);
+  }
+
+  public static void main(String[] args) {
+    if (args.length == 0) {
+      System.err.println("Usage: TableMigrations <migration>... (one of " + NAMES + ")");
+      System.exit(2);
+    }
+    String region = System.getenv("AWS_REGION");
+    DynamoDbClientFactory.Builder clients =
+        DynamoDbClientFactory.builder()
+            .region(Region.of(region != null && !region.isEmpty() ? region : "eu-west-2"))
+            .credentialsProvider(DefaultCredentialsProvider.create());
+    String endpoint = System.getenv("DYNAMODB_ENDPOINT");
+    if (endpoint != null && !endpoint.isBlank()) {
+      clients.endpointOverride(URI.create(endpoint.trim()));
+    }
+    String tableName = System.getenv("AWS_DYNAMODB_USER_PROFILE_TABLE");
+    if (tableName == null || tableName.isEmpty()) {
+      tableName = System.getenv("DYNAMODB_USER_PROFILE_TABLE");
+    }
+
+    try (DynamoDbClient dynamoDbClient = clients.build().createClient()) {
+      TableMigrations migrations =
+          new TableMigrations(
+              dynamoDbClient, tableName != null && !tableName.isEmpty() ? tableName : "YAS-DB");
+      for (String name : args) {
+        long start = System.nanoTime();
+        String outcome = migrations.run(name);
+        System.out.println(
+            name + ": " + outcome + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+      }
+    }
+  }
+
+  /**
+   * Run one migration.
+   *
+   * @param name Migration name (see {@link #NAMES})
+   * @return What the migration did
+   * @throws IllegalArgumentException If there is no migration with that name
+   */
+  String run(String name) {
+    switch (name) {
+      case "upcoming-interest":
+        return upcomingInterestDao.backfill(userExperienceDao, experienceDao)
+            + " index items written";
+      case "group-memberships":
+        return groupDao.backfillMemberships() + " membership items written";
+      case "legacy-experiences":
+        return experienceDao.migrateLegacyExperiences() + " experiences migrated";
+      case "experience-counters":
+        return userExperienceDao.recountCounters() + " experiences recounted";
+      default:
+        throw new IllegalArgumentException(
+            "Unknown migration: " + name + " (one of " + NAMES + ")");
+    }
+  }
+}
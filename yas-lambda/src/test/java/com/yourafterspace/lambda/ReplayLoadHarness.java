@@ -0,0 +1,703 @@
+package com.yourafterspace.lambda;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourafterspace.yas_backend.dao.inmemory.InMemoryDynamoDb;
+import com.yourafterspace.yas_backend.util.PathRouter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Load harness for {@link ApiGatewayHandler}: replays API Gateway events against the handler at a
+ * set rate and concurrency, in process and on an {@link InMemoryDynamoDb}, and reports per route
+ * the p50/p99 latency, the DynamoDB calls and the bytes allocated per request.
+ *
+ * <p>Run it with {@code mvn -pl yas-lambda -am -Ploadtest -DskipTests integration-test
+ * -Dloadtest.args="--rate=500 --concurrency=16"}. The flags are:
+ *
+ * <ul>
+ *   <li>{@code --events=FILE} recorded events to replay, one APIGatewayProxyRequestEvent JSON per
+ *       line; without it a synthetic mix of the read and interest routes is generated
+ *   <li>{@code --rate=N} requests per second to start, or 0 (default) to send them as fast as the
+ *       workers take them
+ *   <li>{@code --concurrency=N} requests in flight at most (default 8)
+ *   <li>{@code --requests=N} measured requests (default 10000), after {@code --warmup=N} (default
+ *       1000) unmeasured ones
+ *   <li>{@code --db-latency-ms=N} service time added to each DynamoDB call (default 0)
+ *   <li>{@code --users=N}, {@code --experiences=N}, {@code --random-seed=N} shape of the synthetic
+ *       data, which is loaded through PUT requests first unless {@code --seed-data=false}
+ *   <li>{@code --profile-samples=N} requests per route in the profiling pass (default 20)
+ * </ul>
+ *
+ * <p>With a rate, request i is due at start + i/rate whether or not earlier ones are done, and its
+ * latency counts from then, so a stalled handler shows up in the percentiles instead of slowing the
+ * load down (no coordinated omission). DynamoDB calls and allocation cannot be told apart between
+ * concurrent requests, so they come from a separate pass that sends a few requests per route one at
+ * a time; allocation is summed over all threads, including the fan-out ones.
+ *
+ * <p>Unlike Lambda, the concurrent requests share one handler and one JVM, so the per-invocation
+ * log buffer of {@code RequestLog} is shared between them; the handler's log lines are dropped.
+ */
+final class ReplayLoadHarness {
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  /** Route templates of the handler, to group requests whose resource is a proxy or unset. */
+  private static final PathRouter<String> ROUTES =
+      routes(
+          "GET /health",
+          "GET /api/auth/me",
+          "GET /api/auth/status",
+          "GET /users/profile",
+          "PUT /users/profile",
+          "GET /users/profile/{userId}",
+          "GET /users",
+          "GET /groups",
+          "GET /groups/{groupId}",
+          "PUT /groups/{groupId}",
+          "GET /experiences",
+          "PUT /experiences",
+          "GET /experiences/{experienceId}",
+          "PUT /experiences/{experienceId}",
+          "GET /experiences/{experienceId}/interested-users",
+          "GET /experiences/{experienceId}/attended-users",
+          "PUT /users/{userId}/experiences/{experienceId}/interest",
+          "PUT /users/{userId}/experiences/{experienceId}/payment");
+
+  private ReplayLoadHarness() {}
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    Settings settings = Settings.parse(args);
+
+    InMemoryDynamoDb dynamoDb = new InMemoryDynamoDb();
+    dynamoDb.createTable(InMemoryDynamoDb.yasTable(tableName()));
+    // Nothing to recount on a new table, but interest and payments are refused until it is
+    new TableMigrations(dynamoDb, tableName()).run("experience-counters");
+    ApiGatewayHandler.DynamoDbStandIn.install(dynamoDb, dynamoDb.asyncClient());
+    ApiGatewayHandler handler = new ApiGatewayHandler();
+    Context context = new QuietContext();
+    Function<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> invoke =
+        event -> handler.handleRequest(event, context);
+
+    if (settings.seedData) {
+      List<APIGatewayProxyRequestEvent> seed = SyntheticTraffic.seed(settings);
+      int failed = 0;
+      for (APIGatewayProxyRequestEvent event : seed) {
+        if (status(invoke, event) >= 300) {
+          failed++;
+        }
+      }
+      System.out.println(
+          "Seeded " + (seed.size() - failed) + " of " + seed.size() + " requests successfully");
+    }
+    List<APIGatewayProxyRequestEvent> events =
+        settings.events != null ? readEvents(settings.events) : SyntheticTraffic.mix(settings);
+
+    dynamoDb.setCallLatency(settings.dbLatency);
+    dynamoDb.resetCallCounts();
+    Report report = load(invoke, events, settings);
+    Map<String, Long> loadCalls = dynamoDb.callCounts();
+    profile(report, invoke, events, settings, dynamoDb::totalCalls);
+
+    report.print(System.out);
+    System.out.println("DynamoDB calls during the load: " + loadCalls);
+    dynamoDb.close();
+  }
+
+  /** Same lookup as the handler, which creates its table under this name. */
+  private static String tableName() {
+    for (String variable :
+        List.of("AWS_DYNAMODB_USER_PROFILE_TABLE", "DYNAMODB_USER_PROFILE_TABLE")) {
+      String tableName = System.getenv(variable);
+      if (tableName != null && !tableName.isEmpty()) {
+        return tableName;
+      }
+    }
+    return "YAS-DB";
+  }
+
+  /**
+   * Read recorded events, one JSON object per line as API Gateway sends them to the function.
+   *
+   * @param file JSON lines file
+   * @return Events in file order
+   */
+  static List<APIGatewayProxyRequestEvent> readEvents(Path file) throws IOException {
+    List<APIGatewayProxyRequestEvent> events = new ArrayList<>();
+    for (String line : Files.readAllLines(file)) {
+      if (!line.isBlank()) {
+        events.add(MAPPER.readValue(line, APIGatewayProxyRequestEvent.class));
+      }
+    }
+    if (events.isEmpty()) {
+      throw new IllegalArgumentException("No events in " + file);
+    }
+    return events;
+  }
+
+  /**
+   * Send the warmup and then the measured requests, cycling through the events.
+   *
+   * @param invoke Handler under load
+   * @param events Events to replay
+   * @param settings Rate, concurrency and request counts
+   * @return Latencies and statuses per route
+   */
+  static Report load(
+      Function<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> invoke,
+      List<APIGatewayProxyRequestEvent> events,
+      Settings settings)
+      throws InterruptedException {
+    for (int i = 0; i < settings.warmup; i++) {
+      status(invoke, events.get(i % events.size()));
+    }
+
+    Report report = new Report(settings);
+    AtomicInteger threads = new AtomicInteger();
+    ExecutorService workers =
+        Executors.newFixedThreadPool(
+            settings.concurrency,
+            task -> {
+              Thread thread = new Thread(task, "load-worker-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    CountDownLatch done = new CountDownLatch(settings.requests);
+    long start = System.nanoTime();
+    for (int i = 0; i < settings.requests; i++) {
+      APIGatewayProxyRequestEvent event = events.get((settings.warmup + i) % events.size());
+      long due = settings.rate > 0 ? start + (long) (i * 1_000_000_000.0 / settings.rate) : 0;
+      if (settings.rate > 0) {
+        for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+          LockSupport.parkNanos(wait);
+        }
+      }
+      workers.execute(
+          () -> {
+            long begin = settings.rate > 0 ? due : System.nanoTime();
+            int status = status(invoke, event);
+            report.route(routeOf(event)).record(System.nanoTime() - begin, status);
+            done.countDown();
+          });
+    }
+    done.await();
+    report.elapsedNanos = System.nanoTime() - start;
+    workers.shutdown();
+    return report;
+  }
+
+  /**
+   * Send up to {@link Settings#profileSamples} requests per route one at a time, and record the
+   * DynamoDB calls and the bytes allocated per request.
+   *
+   * @param report Report of the load, whose routes are profiled
+   * @param invoke Handler under load
+   * @param events Events to take the samples from
+   * @param settings Number of samples per route
+   * @param dynamoDbCalls Running count of DynamoDB calls
+   */
+  static void profile(
+      Report report,
+      Function<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> invoke,
+      List<APIGatewayProxyRequestEvent> events,
+      Settings settings,
+      LongSupplier dynamoDbCalls) {
+    Map<String, List<APIGatewayProxyRequestEvent>> samples = new HashMap<>();
+    for (APIGatewayProxyRequestEvent event : events) {
+      List<APIGatewayProxyRequestEvent> routeSamples =
+          samples.computeIfAbsent(routeOf(event), route -> new ArrayList<>());
+      if (routeSamples.size() < settings.profileSamples) {
+        routeSamples.add(event);
+      }
+    }
+    // What reading the counters allocates itself
+    long probe = allocatedBytes();
+    long overhead = allocatedBytes() - probe;
+    samples.forEach(
+        (route, routeEvents) -> {
+          long calls = 0;
+          long bytes = 0;
+          for (APIGatewayProxyRequestEvent event : routeEvents) {
+            long callsBefore = dynamoDbCalls.getAsLong();
+            long bytesBefore = allocatedBytes();
+            status(invoke, event);
+            bytes += Math.max(0, allocatedBytes() - bytesBefore - overhead);
+            calls += dynamoDbCalls.getAsLong() - callsBefore;
+          }
+          RouteStats stats = report.route(route);
+          stats.dynamoDbCallsPerRequest = (double) calls / routeEvents.size();
+          stats.bytesPerRequest = (double) bytes / routeEvents.size();
+        });
+  }
+
+  /** Bytes allocated so far by all live threads, or 0 where the JVM does not tell. */
+  private static long allocatedBytes() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+      return 0;
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long total = 0;
+    for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+      total += Math.max(0, bytes);
+    }
+    return total;
+  }
+
+  private static int status(
+      Function<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> invoke,
+      APIGatewayProxyRequestEvent event) {
+    try {
+      Integer status = invoke.apply(event).getStatusCode();
+      return status != null ? status : 500;
+    } catch (RuntimeException e) {
+      return 500;
+    }
+  }
+
+  /**
+   * Route of an event for the report: its method and resource template, matched against the
+   * handler's routes when API Gateway sent a proxy resource or none.
+   */
+  static String routeOf(APIGatewayProxyRequestEvent event) {
+    String method = event.getHttpMethod() != null ? event.getHttpMethod() : "GET";
+    String resource = event.getResource();
+    if (resource != null && !resource.isBlank() && !resource.contains("{proxy+}")) {
+      return method + " " + resource;
+    }
+    String path = event.getPath() != null ? event.getPath() : "/";
+    if (path.startsWith("/v1/")) {
+      path = path.substring(3);
+    }
+    String route = ROUTES.match(method, path, ROUTES.newMatch());
+    return route != null ? route : method + " (unmatched)";
+  }
+
+  private static PathRouter<String> routes(String... routes) {
+    PathRouter.Builder<String> builder = PathRouter.builder();
+    for (String route : routes) {
+      int space = route.indexOf(' ');
+      builder.route(route.substring(0, space), route.substring(space + 1), route);
+    }
+    return builder.build();
+  }
+
+  /** Harness settings, parsed from {@code --name=value} flags. */
+  static final class Settings {
+    double rate;
+    int concurrency = 8;
+    int requests = 10_000;
+    int warmup = 1_000;
+    int profileSamples = 20;
+    Duration dbLatency = Duration.ZERO;
+    Path events;
+    boolean seedData = true;
+    int users = 200;
+    int experiences = 100;
+    long randomSeed = 1;
+
+    static Settings parse(String... args) {
+      Settings settings = new Settings();
+      for (String arg : args) {
+        int equals = arg.indexOf('=');
+        if (!arg.startsWith("--") || equals < 0) {
+          throw new IllegalArgumentException("Expected --name=value but got " + arg);
+        }
+        String value = arg.substring(equals + 1);
+        switch (arg.substring(2, equals)) {
+          case "rate":
+            settings.rate = Double.parseDouble(value);
+            break;
+          case "concurrency":
+            settings.concurrency = Integer.parseInt(value);
+            break;
+          case "requests":
+            settings.requests = Integer.parseInt(value);
+            break;
+          case "warmup":
+            settings.warmup = Integer.parseInt(value);
+            break;
+          case "profile-samples":
+            settings.profileSamples = Integer.parseInt(value);
+            break;
+          case "db-latency-ms":
+            settings.dbLatency = Duration.ofMillis(Long.parseLong(value));
+            break;
+          case "events":
+            settings.events = Path.of(value);
+            break;
+          case "seed-data":
+            settings.seedData = Boolean.parseBoolean(value);
+            break;
+          case "users":
+            settings.users = Integer.parseInt(value);
+            break;
+          case "experiences":
+            settings.experiences = Integer.parseInt(value);
+            break;
+          case "random-seed":
+            settings.randomSeed = Long.parseLong(value);
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown flag " + arg);
+        }
+      }
+      if (settings.concurrency < 1 || settings.requests < 1 || settings.users < 2) {
+        throw new IllegalArgumentException(
+            "concurrency and requests must be at least 1, users at least 2");
+      }
+      return settings;
+    }
+  }
+
+  /** Measured results of a run, per route. */
+  static final class Report {
+    private final Settings settings;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private long elapsedNanos;
+
+    private Report(Settings settings) {
+      this.settings = settings;
+    }
+
+    RouteStats route(String route) {
+      return routes.computeIfAbsent(route, r -> new RouteStats());
+    }
+
+    Map<String, RouteStats> routes() {
+      return new TreeMap<>(routes);
+    }
+
+    void print(PrintStream out) {
+      double seconds = elapsedNanos / 1e9;
+      out.printf(
+          Locale.ROOT,
+          "%d requests in %.2f s (%.0f/s), concurrency %d, rate %s, DynamoDB latency %d ms%n",
+          settings.requests,
+          seconds,
+          settings.requests / seconds,
+          settings.concurrency,
+          settings.rate > 0 ? String.format(Locale.ROOT, "%.0f/s", settings.rate) : "unbounded",
+          settings.dbLatency.toMillis());
+      out.printf(
+          Locale.ROOT,
+          "%-56s %7s %5s %5s %9s %9s %9s %8s %10s%n",
+          "route",
+          "count",
+          "4xx",
+          "5xx",
+          "p50 ms",
+          "p99 ms",
+          "max ms",
+          "db calls",
+          "KB alloc");
+      routes()
+          .forEach(
+              (route, stats) ->
+                  out.printf(
+                      Locale.ROOT,
+                      "%-56s %7d %5d %5d %9.2f %9.2f %9.2f %8.1f %10.1f%n",
+                      route,
+                      stats.count(),
+                      stats.clientErrors,
+                      stats.serverErrors,
+                      stats.percentile(0.50) / 1e6,
+                      stats.percentile(0.99) / 1e6,
+                      stats.percentile(1.0) / 1e6,
+                      stats.dynamoDbCallsPerRequest,
+                      stats.bytesPerRequest / 1024));
+    }
+  }
+
+  /** Latencies and statuses of one route, and its profile. */
+  static final class RouteStats {
+    private long[] latencies = new long[256];
+    private int count;
+    private int clientErrors;
+    private int serverErrors;
+    private double dynamoDbCallsPerRequest = Double.NaN;
+    private double bytesPerRequest = Double.NaN;
+
+    synchronized void record(long latencyNanos, int status) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latencyNanos;
+      if (status >= 500) {
+        serverErrors++;
+      } else if (status >= 400) {
+        clientErrors++;
+      }
+    }
+
+    synchronized int count() {
+      return count;
+    }
+
+    synchronized int serverErrors() {
+      return serverErrors;
+    }
+
+    double dynamoDbCallsPerRequest() {
+      return dynamoDbCallsPerRequest;
+    }
+
+    /** Latency at a quantile (nearest rank), in nanoseconds; 0 without requests. */
+    synchronized long percentile(double quantile) {
+      if (count == 0) {
+        return 0;
+      }
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      return sorted[Math.max(0, (int) Math.ceil(quantile * count) - 1)];
+    }
+  }
+
+  /**
+   * Synthetic traffic: the requests that load profiles, experiences around central London, groups
+   * and interest, and a weighted mix of reads and interest changes over them.
+   */
+  static final class SyntheticTraffic {
+
+    private SyntheticTraffic() {}
+
+    static List<APIGatewayProxyRequestEvent> seed(Settings settings) {
+      Random random = new Random(settings.randomSeed);
+      List<APIGatewayProxyRequestEvent> events = new ArrayList<>();
+      for (int u = 0; u < settings.users; u++) {
+        events.add(
+            event(
+                "PUT",
+                "/users/profile",
+                user(u),
+                Map.of(
+                    "city", "London",
+                    "latitude", latitude(random),
+                    "longitude", longitude(random))));
+      }
+      LocalDate today = LocalDate.now();
+      for (int e = 0; e < settings.experiences; e++) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("title", "Experience " + e);
+        body.put("type", "EVENT");
+        body.put("status", "PUBLISHED");
+        body.put("latitude", latitude(random));
+        body.put("longitude", longitude(random));
+        body.put("experienceDate", today.plusDays(e % 30).toString());
+        body.put("startTime", "19:00");
+        body.put("pricePerPerson", 20);
+        body.put("currency", "GBP");
+        body.put("maxCapacity", 50);
+        body.put("city", "London");
+        events.add(event("PUT", "/experiences/" + experience(e), user(e % settings.users), body));
+      }
+      // Groups get a second member: the group DAO cannot write an empty member set
+      for (int u = 0; u < settings.users; u += 4) {
+        events.add(
+            event(
+                "PUT",
+                "/groups/" + group(u),
+                user(u),
+                Map.of(
+                    "groupName",
+                    "Group " + u,
+                    "userIds",
+                    List.of(user(u), user((u + 1) % settings.users)))));
+      }
+      for (int u = 0; u < settings.users; u++) {
+        for (int i = 0; i < 3; i++) {
+          events.add(interest(u, random.nextInt(settings.experiences), true));
+        }
+      }
+      return events;
+    }
+
+    static List<APIGatewayProxyRequestEvent> mix(Settings settings) {
+      Random random = new Random(settings.randomSeed + 1);
+      int count = settings.warmup + settings.requests;
+      List<APIGatewayProxyRequestEvent> events = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        int u = random.nextInt(settings.users);
+        String experience = experience(random.nextInt(settings.experiences));
+        int pick = random.nextInt(100);
+        APIGatewayProxyRequestEvent event;
+        if (pick < 25) {
+          event = event("GET", "/experiences/" + experience, user(u), null);
+        } else if (pick < 45) {
+          event = event("GET", "/experiences", user(u), null);
+          event.setQueryStringParameters(
+              Map.of(
+                  "lat", String.valueOf(latitude(random)),
+                  "lon", String.valueOf(longitude(random)),
+                  "radius", "5"));
+        } else if (pick < 55) {
+          event = event("GET", "/users/profile", user(u), null);
+        } else if (pick < 65) {
+          event = event("GET", "/groups", user(u), null);
+          event.setQueryStringParameters(Map.of("userId", user(u)));
+        } else if (pick < 70) {
+          int g = random.nextInt((settings.users + 3) / 4) * 4;
+          event = event("GET", "/groups/" + group(g), user(g), null);
+        } else if (pick < 80) {
+          event = event("GET", "/experiences/" + experience + "/interested-users", user(u), null);
+        } else if (pick < 85) {
+          event = event("GET", "/users", user(u), null);
+          event.setQueryStringParameters(Map.of("interested", "true", "limit", "50"));
+        } else if (pick < 95) {
+          event = interest(u, random.nextInt(settings.experiences), random.nextBoolean());
+        } else {
+          event = event("GET", "/health", null, null);
+        }
+        events.add(event);
+      }
+      return events;
+    }
+
+    private static APIGatewayProxyRequestEvent interest(int u, int e, boolean interested) {
+      return event(
+          "PUT",
+          "/users/" + user(u) + "/experiences/" + experience(e) + "/interest",
+          user(u),
+          Map.of("interested", interested, "interestScore", 0.5));
+    }
+
+    private static APIGatewayProxyRequestEvent event(
+        String method, String path, String userId, Map<String, Object> body) {
+      APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+      event.setHttpMethod(method);
+      event.setPath(path);
+      Map<String, String> headers = new HashMap<>();
+      if (userId != null) {
+        headers.put("x-amzn-oidc-identity", userId);
+      }
+      event.setHeaders(headers);
+      if (body != null) {
+        try {
+          event.setBody(MAPPER.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return event;
+    }
+
+    private static String user(int u) {
+      return "load-user-" + u;
+    }
+
+    private static String experience(int e) {
+      return "load-experience-" + e;
+    }
+
+    private static String group(int u) {
+      return "load-group-" + u;
+    }
+
+    private static double latitude(Random random) {
+      return 51.48 + random.nextDouble() * 0.06;
+    }
+
+    private static double longitude(Random random) {
+      return -0.16 + random.nextDouble() * 0.1;
+    }
+  }
+
+  /** Lambda context whose logger drops the handler's lines. */
+  private static final class QuietContext implements Context {
+
+    private static final LambdaLogger DISCARD =
+        new LambdaLogger() {
+          @Override
+          public void log(String message) {}
+
+          @Override
+          public void log(byte[] message) {}
+        };
+
+    @Override
+    public String getAwsRequestId() {
+      return "load-test";
+    }
+
+    @Override
+    public String getLogGroupName() {
+      return null;
+    }
+
+    @Override
+    public String getLogStreamName() {
+      return null;
+    }
+
+    @Override
+    public String getFunctionName() {
+      return "load-test";
+    }
+
+    @Override
+    public String getFunctionVersion() {
+      return null;
+    }
+
+    @Override
+    public String getInvokedFunctionArn() {
+      return null;
+    }
+
+    @Override
+    public CognitoIdentity getIdentity() {
+      return null;
+    }
+
+    @Override
+    public ClientContext getClientContext() {
+      return null;
+    }
+
+    @Override
+    public int getRemainingTimeInMillis() {
+      return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getMemoryLimitInMB() {
+      return 0;
+    }
+
+    @Override
+    public LambdaLogger getLogger() {
+      return DISCARD;
+    }
+  }
+}
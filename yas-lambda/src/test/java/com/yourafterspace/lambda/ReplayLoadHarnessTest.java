@@ -0,0 +1,81 @@
+package com.yourafterspace.lambda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReplayLoadHarnessTest {
+
+  @Test
+  void routeOf_UsesTheResourceOrMatchesThePath() {
+    assertThat(ReplayLoadHarness.routeOf(event("GET", "/v1/experiences/abc", null)))
+        .isEqualTo("GET /experiences/{experienceId}");
+    assertThat(ReplayLoadHarness.routeOf(event("PUT", "/users/u1/experiences/e1/interest", null)))
+        .isEqualTo("PUT /users/{userId}/experiences/{experienceId}/interest");
+    assertThat(ReplayLoadHarness.routeOf(event("GET", "/x", "/v1/{proxy+}")))
+        .isEqualTo("GET (unmatched)");
+    assertThat(ReplayLoadHarness.routeOf(event("GET", "/x", "/v1/things/{id}")))
+        .isEqualTo("GET /v1/things/{id}");
+  }
+
+  @Test
+  void loadAndProfile_ReportEveryRequestAndTheCallsPerRoute() throws Exception {
+    AtomicLong dynamoDbCalls = new AtomicLong();
+    Function<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> handler =
+        event -> {
+          boolean health = event.getPath().equals("/health");
+          dynamoDbCalls.addAndGet(health ? 0 : 2);
+          return new APIGatewayProxyResponseEvent().withStatusCode(health ? 200 : 404);
+        };
+    List<APIGatewayProxyRequestEvent> events =
+        List.of(event("GET", "/health", null), event("GET", "/groups/g1", null));
+    ReplayLoadHarness.Settings settings =
+        ReplayLoadHarness.Settings.parse(
+            "--concurrency=4", "--requests=100", "--warmup=10", "--profile-samples=3");
+
+    ReplayLoadHarness.Report report = ReplayLoadHarness.load(handler, events, settings);
+    ReplayLoadHarness.profile(report, handler, events, settings, dynamoDbCalls::get);
+
+    Map<String, ReplayLoadHarness.RouteStats> routes = report.routes();
+    assertThat(routes).containsOnlyKeys("GET /health", "GET /groups/{groupId}");
+    assertThat(routes.get("GET /health").count()).isEqualTo(50);
+    assertThat(routes.get("GET /groups/{groupId}").count()).isEqualTo(50);
+    assertThat(routes.get("GET /groups/{groupId}").dynamoDbCallsPerRequest()).isEqualTo(2.0);
+    assertThat(routes.get("GET /health").percentile(0.99))
+        .isGreaterThanOrEqualTo(routes.get("GET /health").percentile(0.5));
+  }
+
+  @Test
+  void readEvents_ParsesOneEventPerLine(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("events.jsonl");
+    Files.writeString(
+        file,
+        "{\"httpMethod\":\"GET\",\"path\":\"/health\",\"requestContext\":{\"stage\":\"v1\"}}\n"
+            + "\n"
+            + "{\"httpMethod\":\"PUT\",\"path\":\"/users/profile\",\"body\":\"{}\","
+            + "\"headers\":{\"x-amzn-oidc-identity\":\"u1\"}}\n");
+
+    List<APIGatewayProxyRequestEvent> events = ReplayLoadHarness.readEvents(file);
+
+    assertThat(events)
+        .extracting(APIGatewayProxyRequestEvent::getPath)
+        .containsExactly("/health", "/users/profile");
+    assertThat(events.get(1).getHeaders()).containsEntry("x-amzn-oidc-identity", "u1");
+  }
+
+  private static APIGatewayProxyRequestEvent event(String method, String path, String resource) {
+    return new APIGatewayProxyRequestEvent()
+        .withHttpMethod(method)
+        .withPath(path)
+        .withResource(resource);
+  }
+}
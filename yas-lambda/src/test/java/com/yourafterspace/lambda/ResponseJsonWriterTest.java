@@ -0,0 +1,113 @@
+package com.yourafterspace.lambda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import com.yourafterspace.yas_backend.model.UserProfile;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ResponseJsonWriterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+  private final ResponseJsonWriter writer = new ResponseJsonWriter(objectMapper);
+
+  @Test
+  void writesTheStandardEnvelope() throws Exception {
+    UserProfile profile = new UserProfile("user-1");
+    profile.setCity("London");
+    profile.setLatitude(51.5);
+    UserExperience interest = new UserExperience("user-1", "exp-1");
+    interest.setExpInterest(true);
+
+    String json =
+        writer.writeEnvelope(
+            "Interested users retrieved successfully",
+            gen -> {
+              gen.writeStartArray();
+              gen.writeStartObject();
+              ResponseJsonWriter.writeUserProfileFields(gen, profile);
+              ResponseJsonWriter.writeInterestFields(gen, interest);
+              gen.writeEndObject();
+              gen.writeEndArray();
+            },
+            gen -> {
+              gen.writeFieldName(ResponseJsonWriter.COUNT);
+              gen.writeNumber(1);
+            });
+
+    JsonNode body = objectMapper.readTree(json);
+    assertThat(body.get("success").asBoolean()).isTrue();
+    assertThat(body.get("message").asText()).isEqualTo("Interested users retrieved successfully");
+    assertThat(body.get("count").asInt()).isEqualTo(1);
+    assertThat(body.get("timestamp").asText()).isNotBlank();
+    JsonNode user = body.get("data").get(0);
+    assertThat(user.get("userId").asText()).isEqualTo("user-1");
+    assertThat(user.get("city").asText()).isEqualTo("London");
+    assertThat(user.get("latitude").asDouble()).isEqualTo(51.5);
+    assertThat(user.get("exp-interest").asBoolean()).isTrue();
+    assertThat(user.has("address")).isFalse();
+  }
+
+  @Test
+  void writesAnExperienceLikeTheMapItReplaces() throws Exception {
+    Experience experience = new Experience();
+    experience.setExperienceId("exp-1");
+    experience.setTitle("Supper club");
+    experience.setType(Experience.ExperienceType.values()[0]);
+    experience.setExperienceDate(LocalDate.of(2026, 5, 1));
+    experience.setStartTime(LocalTime.of(19, 30));
+    experience.setPricePerPerson(new BigDecimal("25.50"));
+    experience.setMaxCapacity(12);
+    experience.setCreatedAt(Instant.parse("2026-04-01T10:00:00Z"));
+
+    Map<String, Object> map = new HashMap<>();
+    map.put("experienceId", experience.getExperienceId());
+    map.put("title", experience.getTitle());
+    map.put("description", experience.getDescription());
+    map.put("type", experience.getType());
+    map.put("status", experience.getStatus());
+    map.put("location", experience.getLocation());
+    map.put("address", experience.getAddress());
+    map.put("city", experience.getCity());
+    map.put("country", experience.getCountry());
+    map.put("latitude", experience.getLatitude());
+    map.put("longitude", experience.getLongitude());
+    map.put("venueId", experience.getVenueId());
+    map.put("venueName", experience.getVenueName());
+    map.put("experienceDate", experience.getExperienceDate());
+    map.put("startTime", experience.getStartTime());
+    map.put("endTime", experience.getEndTime());
+    map.put("pricePerPerson", experience.getPricePerPerson());
+    map.put("currency", experience.getCurrency());
+    map.put("maxCapacity", experience.getMaxCapacity());
+    map.put("currentBookings", experience.getCurrentBookings());
+    map.put("interestCount", experience.getInterestCount());
+    map.put("createdAt", experience.getCreatedAt());
+    map.put("updatedAt", experience.getUpdatedAt());
+
+    String streamed = writer.write(gen -> ResponseJsonWriter.writeExperience(gen, experience));
+
+    assertThat(objectMapper.readTree(streamed))
+        .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(map)));
+  }
+
+  @Test
+  void reusesTheBufferBetweenDocuments() throws Exception {
+    String first = writer.write(gen -> gen.writeObject(List.of("a", "b")));
+    String second = writer.write(gen -> gen.writeObject(List.of("c")));
+
+    assertThat(first).isEqualTo("[\"a\",\"b\"]");
+    assertThat(second).isEqualTo("[\"c\"]");
+  }
+}
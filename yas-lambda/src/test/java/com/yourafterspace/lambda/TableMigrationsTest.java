@@ -0,0 +1,134 @@
+package com.yourafterspace.lambda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.yourafterspace.yas_backend.dao.ExperienceDao;
+import com.yourafterspace.yas_backend.dao.GroupDao;
+import com.yourafterspace.yas_backend.dao.UpcomingInterestDao;
+import com.yourafterspace.yas_backend.dao.UserExperienceDao;
+import com.yourafterspace.yas_backend.dao.inmemory.InMemoryDynamoDb;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.model.Group;
+import com.yourafterspace.yas_backend.model.UserExperience;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+class TableMigrationsTest {
+
+  private static final String TABLE = "yas-table";
+
+  private InMemoryDynamoDb dynamoDb;
+  private TableMigrations migrations;
+
+  @BeforeEach
+  void setUp() {
+    dynamoDb = new InMemoryDynamoDb();
+    dynamoDb.createTable(InMemoryDynamoDb.yasTable(TABLE));
+    migrations = new TableMigrations(dynamoDb, TABLE);
+  }
+
+  @Test
+  void upcomingInterest_IndexesExistingInterestAndMarksTheIndexBackfilled() {
+    Experience experience = new Experience("host");
+    experience.setExperienceId("exp-1");
+    experience.setExperienceDate(LocalDate.now().plusDays(7));
+    experience.setStartTime(LocalTime.NOON);
+    new ExperienceDao(dynamoDb, TABLE).save(experience);
+    UserExperienceDao userExperienceDao = new UserExperienceDao(dynamoDb, TABLE);
+    userExperienceDao.updateInterest("user-1", "exp-1", true, null);
+    userExperienceDao.updateInterest("user-2", "exp-1", false, null);
+    UpcomingInterestDao upcomingInterestDao = new UpcomingInterestDao(dynamoDb, TABLE);
+
+    assertThat(migrations.run("upcoming-interest")).isEqualTo("1 index items written");
+
+    assertThat(upcomingInterestDao.isBackfilled()).isTrue();
+    assertThat(upcomingInterestDao.findUpcoming(Instant.now()))
+        .extracting(UserExperience::getUserId)
+        .containsExactly("user-1");
+  }
+
+  @Test
+  void groupMemberships_ListsGroupsWrittenWithoutMembershipItems() {
+    Map<String, AttributeValue> group = new HashMap<>();
+    group.put("pk", s("GROUP#group-1"));
+    group.put("sk", s("2024-05-01T10:00:00Z"));
+    group.put("groupId", s("GROUP#group-1"));
+    group.put("creatorUserId", s("user-1"));
+    group.put("memberUserIds", AttributeValue.builder().ss("user-2").build());
+    dynamoDb.putItem(PutItemRequest.builder().tableName(TABLE).item(group).build());
+    GroupDao groupDao = new GroupDao(dynamoDb, TABLE);
+
+    assertThat(groupDao.findByUserId("user-2")).isEmpty();
+    assertThat(migrations.run("group-memberships")).isEqualTo("2 membership items written");
+
+    assertThat(groupDao.isMembershipsBackfilled()).isTrue();
+    assertThat(groupDao.findByUserId("user-2"))
+        .extracting(Group::getGroupId)
+        .containsExactly("GROUP#group-1");
+  }
+
+  @Test
+  void legacyExperiences_MovesTheLatestLegacyItemToTheFixedKey() {
+    Map<String, AttributeValue> legacy = new HashMap<>();
+    legacy.put("pk", s("EXPERIENCE#exp-old"));
+    legacy.put("sk", s("2024-01-01T00:00:00Z"));
+    legacy.put("experienceId", s("exp-old"));
+    legacy.put("title", s("Old"));
+    dynamoDb.putItem(PutItemRequest.builder().tableName(TABLE).item(legacy).build());
+    Map<String, AttributeValue> older = new HashMap<>(legacy);
+    older.put("sk", s("2023-01-01T00:00:00Z"));
+    older.put("title", s("Older"));
+    dynamoDb.putItem(PutItemRequest.builder().tableName(TABLE).item(older).build());
+
+    assertThat(migrations.run("legacy-experiences")).isEqualTo("1 experiences migrated");
+    assertThat(migrations.run("legacy-experiences")).isEqualTo("0 experiences migrated");
+
+    dynamoDb.resetCallCounts();
+    assertThat(new ExperienceDao(dynamoDb, TABLE).findByExperienceId("exp-old"))
+        .map(Experience::getTitle)
+        .contains("Old");
+    assertThat(dynamoDb.callCounts()).containsOnlyKeys("GetItem");
+  }
+
+  @Test
+  void experienceCounters_RecountsTheCountersOfRecordsWrittenWithoutThem() {
+    Experience experience = new Experience("host");
+    experience.setExperienceId("exp-1");
+    new ExperienceDao(dynamoDb, TABLE).save(experience);
+    Map<String, AttributeValue> record = new HashMap<>();
+    record.put("pk", s("user-1"));
+    record.put("sk", s("EXPERIENCE#exp-1"));
+    record.put("experienceId", s("exp-1"));
+    record.put("GSI1PK", s("exp-1"));
+    record.put("GSI1SK", s("user-1"));
+    record.put("exp-interest", AttributeValue.builder().bool(true).build());
+    record.put("PAID", AttributeValue.builder().bool(true).build());
+    dynamoDb.putItem(PutItemRequest.builder().tableName(TABLE).item(record).build());
+
+    assertThat(migrations.run("experience-counters")).isEqualTo("1 experiences recounted");
+
+    assertThat(new UserExperienceDao(dynamoDb, TABLE).isCountersRecounted()).isTrue();
+    Experience recounted = new ExperienceDao(dynamoDb, TABLE).findByExperienceId("exp-1").get();
+    assertThat(recounted.getInterestCount()).isEqualTo(1);
+    assertThat(recounted.getCurrentBookings()).isEqualTo(1);
+  }
+
+  @Test
+  void run_RejectsUnknownMigrations() {
+    assertThatThrownBy(() -> migrations.run("everything"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("upcoming-interest");
+  }
+
+  private static AttributeValue s(String value) {
+    return AttributeValue.builder().s(value).build();
+  }
+}
@@ -0,0 +1,146 @@
+package com.yourafterspace.yas_backend.config;
+
+import com.yourafterspace.yas_backend.dao.ConnectionPoolMetrics;
+import com.yourafterspace.yas_backend.dao.DynamoDbClientFactory;
+import com.yourafterspace.yas_backend.dao.ExperienceDao;
+import com.yourafterspace.yas_backend.dao.UserExperienceDao;
+import com.yourafterspace.yas_backend.util.LruTtlCache;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * AWS configuration for Cognito and other AWS services.
+ *
+ * <p>This configuration uses environment variables for sensitive data: - AWS_COGNITO_USER_POOL_ID -
+ * AWS_COGNITO_CLIENT_ID - AWS_COGNITO_CLIENT_SECRET (optional, for confidential clients) -
+ * AWS_REGION
+ *
+ * <p>For local development, these can be set in application-dev.properties. For AWS Lambda, these
+ * should be set as environment variables.
+ */
+@Configuration
+@EnableConfigurationProperties(DynamoDbProperties.class)
+public class AwsConfig {
+
+  @Bean
+  public CognitoIdentityProviderClient cognitoIdentityProviderClient(
+      @Value("${aws.region:us-east-1}") String region) {
+    // Explicit HTTP client: yas-core puts several implementations on the classpath
+    return CognitoIdentityProviderClient.builder()
+        .region(Region.of(region))
+        .credentialsProvider(DefaultCredentialsProvider.create())
+        .httpClientBuilder(ApacheHttpClient.builder())
+        .build();
+  }
+
+  @Bean
+  public ConnectionPoolMetrics dynamoDbPoolMetrics() {
+    return new ConnectionPoolMetrics();
+  }
+
+  @Bean
+  public DynamoDbClient dynamoDbClient(
+      @Value("${aws.region:us-east-1}") String region,
+      DynamoDbProperties properties,
+      ConnectionPoolMetrics dynamoDbPoolMetrics) {
+    return dynamoDbClientFactory(region, properties).createClient(dynamoDbPoolMetrics);
+  }
+
+  /**
+   * Async client of the {@code Async} DAO and repository methods, on the same settings as the sync
+   * client. Its calls share no connections with the sync client, and the pool meters follow the
+   * sync client only.
+   */
+  @Bean
+  public DynamoDbAsyncClient dynamoDbAsyncClient(
+      @Value("${aws.region:us-east-1}") String region, DynamoDbProperties properties) {
+    return dynamoDbClientFactory(region, properties).createAsyncClient();
+  }
+
+  private static DynamoDbClientFactory dynamoDbClientFactory(
+      String region, DynamoDbProperties properties) {
+    return DynamoDbClientFactory.builder()
+        .region(Region.of(region))
+        .credentialsProvider(DefaultCredentialsProvider.create())
+        .httpClientType(properties.getHttpClient())
+        .maxConnections(properties.getMaxConnections())
+        .connectionTimeout(properties.getConnectionTimeout())
+        .connectionAcquisitionTimeout(properties.getConnectionAcquisitionTimeout())
+        .connectionTimeToLive(properties.getConnectionTimeToLive())
+        .apiCallTimeout(properties.getApiCallTimeout())
+        .apiCallAttemptTimeout(properties.getApiCallAttemptTimeout())
+        .retryMode(properties.getRetryMode())
+        .endpointOverride(properties.getEndpoint())
+        .build();
+  }
+
+  /**
+   * Exports the connection pool of the DynamoDB client to Micrometer as {@code
+   * dynamodb.pool.connections} (tagged leased/available/max), {@code dynamodb.pool.pending}, their
+   * peaks and the {@code dynamodb.pool.acquire} timer.
+   */
+  @Bean
+  public MeterBinder dynamoDbPoolMeters(ConnectionPoolMetrics dynamoDbPoolMetrics) {
+    return registry -> {
+      Gauge.builder("dynamodb.pool.connections", dynamoDbPoolMetrics, m -> m.getLeased())
+          .tag("state", "leased")
+          .register(registry);
+      Gauge.builder("dynamodb.pool.connections", dynamoDbPoolMetrics, m -> m.getAvailable())
+          .tag("state", "available")
+          .register(registry);
+      Gauge.builder("dynamodb.pool.connections", dynamoDbPoolMetrics, m -> m.getMaxConnections())
+          .tag("state", "max")
+          .register(registry);
+      Gauge.builder("dynamodb.pool.pending", dynamoDbPoolMetrics, m -> m.getPending())
+          .description("Requests waiting for a connection")
+          .register(registry);
+      Gauge.builder("dynamodb.pool.peak.leased", dynamoDbPoolMetrics, m -> m.getPeakLeased())
+          .register(registry);
+      Gauge.builder("dynamodb.pool.peak.pending", dynamoDbPoolMetrics, m -> m.getPeakPending())
+          .register(registry);
+      FunctionTimer.builder(
+              "dynamodb.pool.acquire",
+              dynamoDbPoolMetrics,
+              ConnectionPoolMetrics::getAcquireCount,
+              ConnectionPoolMetrics::getAcquireNanos,
+              TimeUnit.NANOSECONDS)
+          .description("Time spent acquiring a connection from the pool")
+          .register(registry);
+    };
+  }
+
+  @Bean
+  public UserExperienceDao userExperienceDao(
+      DynamoDbClient dynamoDbClient,
+      DynamoDbAsyncClient dynamoDbAsyncClient,
+      @Value("${aws.dynamodb.user-profile-table:YourAfterSpace}") String tableName) {
+    return new UserExperienceDao(dynamoDbClient, dynamoDbAsyncClient, tableName);
+  }
+
+  @Bean
+  public ExperienceDao experienceDao(
+      DynamoDbClient dynamoDbClient,
+      DynamoDbAsyncClient dynamoDbAsyncClient,
+      @Value("${aws.dynamodb.user-profile-table:YourAfterSpace}") String tableName,
+      @Qualifier("experienceDaoCache")
+          Optional<LruTtlCache<String, Map<String, AttributeValue>>> experienceDaoCache) {
+    return new ExperienceDao(
+        dynamoDbClient, dynamoDbAsyncClient, tableName, experienceDaoCache.orElse(null));
+  }
+}
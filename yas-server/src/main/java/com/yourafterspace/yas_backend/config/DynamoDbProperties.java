@@ -0,0 +1,111 @@
+package com.yourafterspace.yas_backend.config;
+
+import com.yourafterspace.yas_backend.dao.DynamoDbClientFactory.HttpClientType;
+import java.net.URI;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import software.amazon.awssdk.core.retry.RetryMode;
+
+/**
+ * Configuration properties of the DynamoDB client of the Spring application.
+ *
+ * <p>Size the pool for the request threads of the instance that call DynamoDB at once; the {@code
+ * dynamodb.pool.*} metrics show how close to it the instance runs. The timeouts bound the latency
+ * of a call, retries included. Override per profile in application-{profile}.properties. The Lambda
+ * handler reads the equivalent DYNAMODB_* environment variables instead.
+ */
+@ConfigurationProperties(prefix = "yas.dynamodb")
+public class DynamoDbProperties {
+
+  private HttpClientType httpClient = HttpClientType.APACHE;
+
+  private int maxConnections = 50;
+
+  private Duration connectionTimeout = Duration.ofSeconds(2);
+
+  /** How long a request waits for a connection when all are leased. */
+  private Duration connectionAcquisitionTimeout = Duration.ofSeconds(1);
+
+  private Duration connectionTimeToLive = Duration.ofSeconds(60);
+
+  private Duration apiCallTimeout = Duration.ofSeconds(10);
+
+  private Duration apiCallAttemptTimeout = Duration.ofSeconds(2);
+
+  private RetryMode retryMode = RetryMode.STANDARD;
+
+  /** Endpoint of a local stand-in such as DynamoDB Local; unset for the regional endpoint. */
+  private URI endpoint;
+
+  public HttpClientType getHttpClient() {
+    return httpClient;
+  }
+
+  public void setHttpClient(HttpClientType httpClient) {
+    this.httpClient = httpClient;
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  public Duration getConnectionTimeout() {
+    return connectionTimeout;
+  }
+
+  public void setConnectionTimeout(Duration connectionTimeout) {
+    this.connectionTimeout = connectionTimeout;
+  }
+
+  public Duration getConnectionAcquisitionTimeout() {
+    return connectionAcquisitionTimeout;
+  }
+
+  public void setConnectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+    this.connectionAcquisitionTimeout = connectionAcquisitionTimeout;
+  }
+
+  public Duration getConnectionTimeToLive() {
+    return connectionTimeToLive;
+  }
+
+  public void setConnectionTimeToLive(Duration connectionTimeToLive) {
+    this.connectionTimeToLive = connectionTimeToLive;
+  }
+
+  public Duration getApiCallTimeout() {
+    return apiCallTimeout;
+  }
+
+  public void setApiCallTimeout(Duration apiCallTimeout) {
+    this.apiCallTimeout = apiCallTimeout;
+  }
+
+  public Duration getApiCallAttemptTimeout() {
+    return apiCallAttemptTimeout;
+  }
+
+  public void setApiCallAttemptTimeout(Duration apiCallAttemptTimeout) {
+    this.apiCallAttemptTimeout = apiCallAttemptTimeout;
+  }
+
+  public RetryMode getRetryMode() {
+    return retryMode;
+  }
+
+  public void setRetryMode(RetryMode retryMode) {
+    this.retryMode = retryMode;
+  }
+
+  public URI getEndpoint() {
+    return endpoint;
+  }
+
+  public void setEndpoint(URI endpoint) {
+    this.endpoint = endpoint;
+  }
+}
@@ -0,0 +1,91 @@
+package com.yourafterspace.yas_backend.config;
+
+import com.yourafterspace.yas_backend.util.DynamoDbItemSize;
+import com.yourafterspace.yas_backend.util.LruTtlCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * In-memory Experience caches for the Spring application.
+ *
+ * <p>{@code ExperienceRepository} and {@code ExperienceDao} read experiences stored under different
+ * keys, so each gets its own cache. Both are exported to Micrometer as {@code cache.gets} (tagged
+ * hit/miss), {@code cache.revalidations}, {@code cache.evictions}, {@code cache.size} and {@code
+ * cache.weight}, tagged with the cache name.
+ */
+@Configuration
+@EnableConfigurationProperties(ExperienceCacheProperties.class)
+@ConditionalOnProperty(
+    prefix = "yas.cache.experience",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class ExperienceCacheConfig {
+
+  @Bean
+  public LruTtlCache<String, Map<String, AttributeValue>> experienceRepositoryCache(
+      ExperienceCacheProperties properties) {
+    return newCache(properties);
+  }
+
+  @Bean
+  public LruTtlCache<String, Map<String, AttributeValue>> experienceDaoCache(
+      ExperienceCacheProperties properties) {
+    return newCache(properties);
+  }
+
+  @Bean
+  public MeterBinder experienceCacheMetrics(
+      @Qualifier("experienceRepositoryCache")
+          LruTtlCache<String, Map<String, AttributeValue>> experienceRepositoryCache,
+      @Qualifier("experienceDaoCache")
+          LruTtlCache<String, Map<String, AttributeValue>> experienceDaoCache) {
+    return registry -> {
+      bind(registry, "experienceRepository", experienceRepositoryCache);
+      bind(registry, "experienceDao", experienceDaoCache);
+    };
+  }
+
+  private static LruTtlCache<String, Map<String, AttributeValue>> newCache(
+      ExperienceCacheProperties properties) {
+    return new LruTtlCache<>(
+        properties.getMaxEntries(),
+        properties.getMaxWeightBytes(),
+        properties.getTtl(),
+        DynamoDbItemSize::estimate);
+  }
+
+  private static void bind(MeterRegistry registry, String name, LruTtlCache<?, ?> cache) {
+    FunctionCounter.builder("cache.gets", cache, c -> c.stats().getHitCount())
+        .tag("cache", name)
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("cache.gets", cache, c -> c.stats().getMissCount())
+        .tag("cache", name)
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder("cache.revalidations", cache, c -> c.stats().getRevalidationCount())
+        .tag("cache", name)
+        .description("Expired entries found unchanged and kept")
+        .register(registry);
+    FunctionCounter.builder("cache.evictions", cache, c -> c.stats().getEvictionCount())
+        .tag("cache", name)
+        .register(registry);
+    Gauge.builder("cache.size", cache, c -> c.stats().getSize())
+        .tag("cache", name)
+        .register(registry);
+    Gauge.builder("cache.weight", cache, c -> c.stats().getWeight())
+        .tag("cache", name)
+        .baseUnit("bytes")
+        .register(registry);
+  }
+}
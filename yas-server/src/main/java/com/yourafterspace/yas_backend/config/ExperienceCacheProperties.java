@@ -0,0 +1,56 @@
+package com.yourafterspace.yas_backend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the in-memory Experience cache of the Spring application.
+ *
+ * <p>Each application instance has its own cache, so the time to live bounds how long another
+ * instance's update can go unnoticed. Override per profile in application-{profile}.properties. The
+ * Lambda handler reads the equivalent EXPERIENCE_CACHE_* environment variables instead.
+ */
+@ConfigurationProperties(prefix = "yas.cache.experience")
+public class ExperienceCacheProperties {
+
+  private boolean enabled = true;
+
+  private int maxEntries = 10_000;
+
+  /** Upper bound of the estimated size of all cached items. */
+  private long maxWeightBytes = 64L * 1024 * 1024;
+
+  private Duration ttl = Duration.ofSeconds(60);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public void setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  public long getMaxWeightBytes() {
+    return maxWeightBytes;
+  }
+
+  public void setMaxWeightBytes(long maxWeightBytes) {
+    this.maxWeightBytes = maxWeightBytes;
+  }
+
+  public Duration getTtl() {
+    return ttl;
+  }
+
+  public void setTtl(Duration ttl) {
+    this.ttl = ttl;
+  }
+}
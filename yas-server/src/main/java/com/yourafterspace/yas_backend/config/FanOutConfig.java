@@ -0,0 +1,42 @@
+package com.yourafterspace.yas_backend.config;
+
+import com.yourafterspace.yas_backend.service.ServiceFanOut;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor of the service fan-outs, following the threading mode of the request handling.
+ *
+ * <p>{@code spring.threads.virtual.enabled=true} makes Tomcat handle each request on a virtual
+ * thread, so a request blocked on DynamoDB or Cognito holds no platform thread; it only takes
+ * effect on a Java 21+ runtime (the Docker image), the build itself targets Java 17. The fan-outs
+ * then start a virtual thread per lookup as well. With virtual threads the limit on in-flight calls
+ * moves from the Tomcat thread pool to the HTTP connection pools, see {@code
+ * yas.dynamodb.max-connections}.
+ */
+@Configuration
+@EnableConfigurationProperties(FanOutProperties.class)
+public class FanOutConfig {
+
+  @Bean(destroyMethod = "close")
+  public ServiceFanOut serviceFanOut(FanOutProperties properties, Environment environment) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("fan-out-");
+      executor.setVirtualThreads(true);
+      return new ServiceFanOut(
+          executor, properties.getMaxConcurrency(), properties.getTimeout(), executor::close);
+    }
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("fan-out-");
+    executor.setCorePoolSize(properties.getPlatformThreads());
+    executor.setMaxPoolSize(properties.getPlatformThreads());
+    executor.initialize();
+    return new ServiceFanOut(
+        executor, properties.getMaxConcurrency(), properties.getTimeout(), executor::shutdown);
+  }
+}
@@ -0,0 +1,48 @@
+package com.yourafterspace.yas_backend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the fan-out of per-item lookups in the services (see {@code
+ * ServiceFanOut}).
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} on Java 21+ the lookups run on virtual
+ * threads and {@code platform-threads} is unused; otherwise they share a pool of that many platform
+ * threads. Either way a fan-out runs at most {@code max-concurrency} lookups at once and fails once
+ * {@code timeout} has passed.
+ */
+@ConfigurationProperties(prefix = "yas.fan-out")
+public class FanOutProperties {
+
+  private int maxConcurrency = 8;
+
+  private Duration timeout = Duration.ofSeconds(5);
+
+  /** Size of the shared pool when virtual threads are off. */
+  private int platformThreads = 16;
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public Duration getTimeout() {
+    return timeout;
+  }
+
+  public void setTimeout(Duration timeout) {
+    this.timeout = timeout;
+  }
+
+  public int getPlatformThreads() {
+    return platformThreads;
+  }
+
+  public void setPlatformThreads(int platformThreads) {
+    this.platformThreads = platformThreads;
+  }
+}
@@ -59,6 +59,14 @@ public class GlobalExceptionHandler {
         .body(ApiResponse.error("UNAUTHORIZED", ex.getMessage(), null, requestId));
   }
 
+  @ExceptionHandler(ExperienceFullyBookedException.class)
+  public ResponseEntity<ApiResponse<Object>> handleExperienceFullyBookedException(
+      ExperienceFullyBookedException ex) {
+    String requestId = MDC.get(MDC_REQUEST_ID_KEY);
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .body(ApiResponse.error("FULLY_BOOKED", ex.getMessage(), null, requestId));
+  }
+
   @ExceptionHandler(IllegalStateException.class)
   public ResponseEntity<ApiResponse<Object>> handleIllegalStateException(IllegalStateException ex) {
     String requestId = MDC.get(MDC_REQUEST_ID_KEY);
@@ -0,0 +1,379 @@
+package com.yourafterspace.yas_backend.repository;
+
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.dao.mapping.ExperienceAttributes;
+import com.yourafterspace.yas_backend.model.Experience;
+import com.yourafterspace.yas_backend.util.Futures;
+import com.yourafterspace.yas_backend.util.LruTtlCache;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+
+/**
+ * Repository for DynamoDB operations on experiences.
+ *
+ * <p>This repository handles all DynamoDB interactions for experience data. The table uses: -
+ * Primary Key: experienceId (partition key, stored as userId), createdAt (sort key) - GSI:
+ * createdBy-createdAt-index for querying experiences by creator - GSI: type-experienceDate-index
+ * for querying experiences by type and date
+ *
+ * <p>Experiences found by id can be kept in an optional {@link LruTtlCache} of raw items, keyed by
+ * the trimmed id. {@link #save(Experience)} invalidates the entry, and an expired entry is
+ * revalidated with a GetItem on its now known key that reads back only updatedAt.
+ *
+ * <p>The public methods have {@code Async} twins, as in {@link UserProfileRepository}.
+ */
+@Repository
+public class ExperienceRepository {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExperienceRepository.class);
+  private static final String TABLE_NAME_PROPERTY = "aws.dynamodb.user-profile-table";
+  private static final String DEFAULT_TABLE_NAME = "YourAfterSpace";
+
+  private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
+  private final String tableName;
+  private final LruTtlCache<String, Map<String, AttributeValue>> itemCache;
+
+  public ExperienceRepository(DynamoDbClient dynamoDbClient, String tableName) {
+    this(dynamoDbClient, Optional.empty(), tableName, Optional.empty());
+  }
+
+  /**
+   * Create a repository, serving lookups by id from a read-through cache when one is configured.
+   *
+   * @param dynamoDbClient Sync client used by the blocking methods
+   * @param dynamoDbAsyncClient Async client used by the {@code Async} methods, if configured
+   * @param tableName DynamoDB table name
+   * @param itemCache Cache of experience items keyed by trimmed experienceId
+   */
+  @Autowired
+  public ExperienceRepository(
+      DynamoDbClient dynamoDbClient,
+      Optional<DynamoDbAsyncClient> dynamoDbAsyncClient,
+      @Value("${" + TABLE_NAME_PROPERTY + ":" + DEFAULT_TABLE_NAME + "}") String tableName,
+      @Qualifier("experienceRepositoryCache")
+          Optional<LruTtlCache<String, Map<String, AttributeValue>>> itemCache) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient.orElse(null);
+    this.tableName = tableName;
+    this.itemCache = itemCache.orElse(null);
+    logger.info(
+        "ExperienceRepository initialized with table name: {}, cache {}",
+        this.tableName,
+        this.itemCache != null ? "enabled" : "disabled");
+  }
+
+  /**
+   * Save or update an experience.
+   *
+   * @param experience Experience to save
+   * @return Saved experience
+   */
+  public Experience save(Experience experience) {
+    experience.setUpdatedAt(Instant.now());
+
+    dynamoDbClient.putItem(putRequest(experience));
+    return saved(experience);
+  }
+
+  /**
+   * Async twin of {@link #save(Experience)}.
+   *
+   * @param experience Experience to save
+   * @return Future of the saved experience
+   */
+  public CompletableFuture<Experience> saveAsync(Experience experience) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> save(experience));
+    }
+    experience.setUpdatedAt(Instant.now());
+    return dynamoDbAsyncClient
+        .putItem(putRequest(experience))
+        .thenApply(response -> saved(experience));
+  }
+
+  private PutItemRequest putRequest(Experience experience) {
+    // Generate ID if new experience
+    if (experience.getExperienceId() == null) {
+      // Use "exp-" prefix to avoid conflicts with user profiles in the same table
+      experience.setExperienceId("exp-" + UUID.randomUUID().toString());
+      experience.setCreatedAt(Instant.now());
+    }
+
+    Map<String, AttributeValue> item = toAttributeMap(experience);
+    return PutItemRequest.builder().tableName(tableName).item(item).build();
+  }
+
+  private Experience saved(Experience experience) {
+    if (itemCache != null) {
+      itemCache.invalidate(experience.getExperienceId().trim());
+    }
+    logger.debug("Saved experience with ID: {}", experience.getExperienceId());
+    return experience;
+  }
+
+  /**
+   * Find an experience by ID.
+   *
+   * @param experienceId Experience ID
+   * @return Optional containing the experience if found
+   */
+  public Optional<Experience> findById(String experienceId) {
+    // The cache key and the partition queried are the same trimmed id
+    String id = experienceId.trim();
+    try {
+      logger.debug("Searching for experience with ID: {}", experienceId);
+
+      if (itemCache != null) {
+        Map<String, AttributeValue> cached = itemCache.getIfPresent(id);
+        if (cached == null) {
+          cached = revalidate(id);
+        }
+        if (cached != null) {
+          logger.debug("Found experience for ID {} in cache", experienceId);
+          return Optional.of(fromAttributeMap(cached));
+        }
+      }
+
+      Map<String, AttributeValue> exclusiveStartKey = null;
+      do {
+        QueryResponse response = dynamoDbClient.query(partitionQuery(id, exclusiveStartKey));
+        Optional<Experience> experience = firstExperience(id, response);
+        if (experience.isPresent()) {
+          return experience;
+        }
+        exclusiveStartKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+      } while (exclusiveStartKey != null);
+
+      logger.debug("Experience not found for ID: {}", experienceId);
+      return Optional.empty();
+
+    } catch (Exception e) {
+      throw findFailed(experienceId, e);
+    }
+  }
+
+  /**
+   * Async twin of {@link #findById(String)}, served from the same cache.
+   *
+   * @param experienceId Experience ID
+   * @return Future of the experience, empty if not found
+   */
+  public CompletableFuture<Optional<Experience>> findByIdAsync(String experienceId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findById(experienceId));
+    }
+    logger.debug("Searching for experience with ID: {}", experienceId);
+    String id = experienceId.trim();
+    CompletableFuture<Map<String, AttributeValue>> cached = CompletableFuture.completedFuture(null);
+    if (itemCache != null) {
+      Map<String, AttributeValue> fresh = itemCache.getIfPresent(id);
+      cached = fresh != null ? CompletableFuture.completedFuture(fresh) : revalidateAsync(id);
+    }
+    return cached
+        .thenCompose(
+            item -> {
+              if (item != null) {
+                logger.debug("Found experience for ID {} in cache", experienceId);
+                return CompletableFuture.completedFuture(Optional.of(fromAttributeMap(item)));
+              }
+              return findInPartitionAsync(id, null);
+            })
+        .exceptionally(
+            e -> {
+              throw findFailed(experienceId, Futures.unwrap(e));
+            });
+  }
+
+  private CompletableFuture<Optional<Experience>> findInPartitionAsync(
+      String experienceId, Map<String, AttributeValue> exclusiveStartKey) {
+    return dynamoDbAsyncClient
+        .query(partitionQuery(experienceId, exclusiveStartKey))
+        .thenCompose(
+            response -> {
+              Optional<Experience> experience = firstExperience(experienceId, response);
+              if (experience.isPresent() || !response.hasLastEvaluatedKey()) {
+                if (experience.isEmpty()) {
+                  logger.debug("Experience not found for ID: {}", experienceId);
+                }
+                return CompletableFuture.completedFuture(experience);
+              }
+              return findInPartitionAsync(experienceId, response.lastEvaluatedKey());
+            });
+  }
+
+  /**
+   * The experience ID is the partition key, so query just that partition (latest first) instead of
+   * scanning the table; the createdAt sort key is not known up front.
+   */
+  private QueryRequest partitionQuery(
+      String experienceId, Map<String, AttributeValue> exclusiveStartKey) {
+    QueryRequest.Builder queryBuilder =
+        QueryRequest.builder()
+            .tableName(tableName)
+            .keyConditionExpression("userId = :experienceId")
+            .expressionAttributeValues(
+                Map.of(":experienceId", AttributeValue.builder().s(experienceId).build()))
+            .scanIndexForward(false);
+    if (exclusiveStartKey != null) {
+      queryBuilder.exclusiveStartKey(exclusiveStartKey);
+    }
+    return queryBuilder.build();
+  }
+
+  /** The first experience item of a page of the partition, cached under the id queried. */
+  private Optional<Experience> firstExperience(String experienceId, QueryResponse response) {
+    for (Map<String, AttributeValue> item : response.items()) {
+      // Check if it's a user profile vs experience
+      if (item.containsKey("email")
+          || item.containsKey("firstName")
+          || item.containsKey("lastName")) {
+        logger.debug("Skipping user profile record for userId: {}", experienceId);
+        continue;
+      }
+
+      // If recordType exists and is not EXPERIENCE, skip it
+      if (item.containsKey("recordType") && !"EXPERIENCE".equals(item.get("recordType").s())) {
+        logger.debug("Skipping record with recordType: {}", item.get("recordType").s());
+        continue;
+      }
+
+      // Convert to Experience and return
+      if (itemCache != null) {
+        itemCache.put(experienceId, item);
+      }
+      Experience experience = fromAttributeMap(item);
+      logger.debug("Found experience for ID: {}", experienceId);
+      return Optional.of(experience);
+    }
+    return Optional.empty();
+  }
+
+  private static RuntimeException findFailed(String experienceId, Throwable e) {
+    logger.error("Error finding experience by ID {}: {}", experienceId, e.getMessage(), e);
+    return new RuntimeException("Failed to find experience: " + e.getMessage(), e);
+  }
+
+  /**
+   * Keep an expired cached item if its updatedAt is unchanged. The cached item carries the full
+   * key, so this is a GetItem reading back only updatedAt instead of a partition query.
+   *
+   * @return The revalidated item, or null if there was none or it changed
+   */
+  private Map<String, AttributeValue> revalidate(String experienceId) {
+    Map<String, AttributeValue> expired = itemCache.getExpired(experienceId);
+    if (expired == null || !expired.containsKey("updatedAt") || !expired.containsKey("createdAt")) {
+      return null;
+    }
+    return renewIfUnchanged(
+        experienceId, expired, dynamoDbClient.getItem(revalidateRequest(expired)));
+  }
+
+  private CompletableFuture<Map<String, AttributeValue>> revalidateAsync(String experienceId) {
+    Map<String, AttributeValue> expired = itemCache.getExpired(experienceId);
+    if (expired == null || !expired.containsKey("updatedAt") || !expired.containsKey("createdAt")) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return dynamoDbAsyncClient
+        .getItem(revalidateRequest(expired))
+        .thenApply(response -> renewIfUnchanged(experienceId, expired, response));
+  }
+
+  private GetItemRequest revalidateRequest(Map<String, AttributeValue> expired) {
+    return GetItemRequest.builder()
+        .tableName(tableName)
+        .key(Map.of("userId", expired.get("userId"), "createdAt", expired.get("createdAt")))
+        .projectionExpression("updatedAt")
+        .build();
+  }
+
+  private Map<String, AttributeValue> renewIfUnchanged(
+      String experienceId, Map<String, AttributeValue> expired, GetItemResponse response) {
+    if (response.hasItem() && expired.get("updatedAt").equals(response.item().get("updatedAt"))) {
+      itemCache.renew(experienceId, expired);
+      return expired;
+    }
+    return null;
+  }
+
+  /**
+   * Check if an experience exists.
+   *
+   * @param experienceId Experience ID
+   * @return true if experience exists, false otherwise
+   */
+  public boolean existsById(String experienceId) {
+    return findById(experienceId).isPresent();
+  }
+
+  /**
+   * Async twin of {@link #existsById(String)}.
+   *
+   * @param experienceId Experience ID
+   * @return Future of true if experience exists
+   */
+  public CompletableFuture<Boolean> existsByIdAsync(String experienceId) {
+    return findByIdAsync(experienceId).thenApply(Optional::isPresent);
+  }
+
+  /** Convert Experience to DynamoDB AttributeValue map. */
+  private Map<String, AttributeValue> toAttributeMap(Experience experience) {
+    Map<String, AttributeValue> item =
+        AttributeValues.newItem(ExperienceAttributes.ATTRIBUTE_COUNT + 3);
+
+    // Composite key - use experienceId as userId in shared table
+    item.put("userId", AttributeValue.builder().s(experience.getExperienceId()).build());
+    // Use the experience's createdAt as sort key
+    item.put("createdAt", AttributeValue.builder().s(experience.getCreatedAt().toString()).build());
+
+    // Add type indicator to distinguish from user profiles
+    item.put("recordType", AttributeValue.builder().s("EXPERIENCE").build());
+
+    if (experience.getStatus() != null) {
+      logger.debug("Including status in save: {}", experience.getStatus().getValue());
+    } else {
+      logger.warn(
+          "Status is null for experience {}, not saving status field",
+          experience.getExperienceId());
+    }
+    ExperienceAttributes.write(experience, item);
+    // This table stores tags and images as lists rather than string sets
+    AttributeValues.putStringList(item, "tags", experience.getTags());
+    AttributeValues.putStringList(item, "images", experience.getImages());
+
+    return item;
+  }
+
+  /** Convert DynamoDB AttributeValue map to Experience. */
+  private Experience fromAttributeMap(Map<String, AttributeValue> item) {
+    Experience experience = ExperienceAttributes.read(item);
+
+    String experienceId = AttributeValues.getString(item, "userId");
+    if (experienceId != null) {
+      experience.setExperienceId(experienceId);
+    }
+    Instant createdAt = AttributeValues.getInstant(item, "createdAt");
+    if (createdAt != null) {
+      experience.setCreatedAt(createdAt);
+    }
+
+    return experience;
+  }
+}
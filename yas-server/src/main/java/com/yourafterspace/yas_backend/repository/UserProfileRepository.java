@@ -1,16 +1,20 @@
 package com.yourafterspace.yas_backend.repository;
 
+import com.yourafterspace.yas_backend.dao.mapping.AttributeValues;
+import com.yourafterspace.yas_backend.dao.mapping.UserProfileAttributes;
 import com.yourafterspace.yas_backend.model.UserProfile;
-import com.yourafterspace.yas_backend.model.UserProfile.UserStatus;
+import com.yourafterspace.yas_backend.util.Futures;
 import java.time.Instant;
-import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
@@ -23,6 +27,10 @@ import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
  *
  * <p>This repository handles all DynamoDB interactions for user profile data. The table uses a
  * composite key: userId (partition key) and createdAt (sort key).
+ *
+ * <p>Every public method has an {@code Async} twin returning a {@code CompletableFuture}, so that a
+ * service can overlap independent lookups (see {@link Futures}). They use the async client when one
+ * is configured, and otherwise run the blocking method on the caller's thread.
  */
 @Repository
 public class UserProfileRepository {
@@ -32,12 +40,27 @@ public class UserProfileRepository {
   private static final String DEFAULT_TABLE_NAME = "user-profiles";
 
   private final DynamoDbClient dynamoDbClient;
+  private final DynamoDbAsyncClient dynamoDbAsyncClient;
   private final String tableName;
 
+  public UserProfileRepository(DynamoDbClient dynamoDbClient, String tableName) {
+    this(dynamoDbClient, Optional.empty(), tableName);
+  }
+
+  /**
+   * Create a repository.
+   *
+   * @param dynamoDbClient Sync client used by the blocking methods
+   * @param dynamoDbAsyncClient Async client used by the {@code Async} methods, if configured
+   * @param tableName DynamoDB table name
+   */
+  @Autowired
   public UserProfileRepository(
       DynamoDbClient dynamoDbClient,
+      Optional<DynamoDbAsyncClient> dynamoDbAsyncClient,
       @Value("${" + TABLE_NAME_PROPERTY + ":" + DEFAULT_TABLE_NAME + "}") String tableName) {
     this.dynamoDbClient = dynamoDbClient;
+    this.dynamoDbAsyncClient = dynamoDbAsyncClient.orElse(null);
     this.tableName = tableName;
     logger.info("UserProfileRepository initialized with table name: {}", this.tableName);
   }
@@ -73,115 +96,81 @@ public class UserProfileRepository {
     return profile;
   }
 
+  /**
+   * Async twin of {@link #save(UserProfile)}.
+   *
+   * @param profile User profile to save
+   * @return Future of the saved user profile
+   */
+  public CompletableFuture<UserProfile> saveAsync(UserProfile profile) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> save(profile));
+    }
+    profile.setUpdatedAt(Instant.now());
+    if (profile.getCreatedAt() == null) {
+      profile.setCreatedAt(Instant.now());
+    }
+
+    return findByUserIdAsync(profile.getUserId())
+        .thenCompose(
+            existing -> {
+              if (existing.isPresent()) {
+                profile.setCreatedAt(existing.get().getCreatedAt());
+                return dynamoDbAsyncClient.updateItem(updateRequest(profile)).thenApply(r -> null);
+              }
+              return dynamoDbAsyncClient.putItem(createRequest(profile)).thenApply(r -> null);
+            })
+        .thenApply(
+            saved -> {
+              logger.debug("Saved user profile for userId: {}", profile.getUserId());
+              return profile;
+            });
+  }
+
   /**
    * Create a new user profile.
    *
    * @param profile User profile to create
    */
   private void createProfile(UserProfile profile) {
-    Map<String, AttributeValue> item = toAttributeMap(profile);
-    PutItemRequest putRequest = PutItemRequest.builder().tableName(tableName).item(item).build();
-    dynamoDbClient.putItem(putRequest);
+    dynamoDbClient.putItem(createRequest(profile));
     logger.debug("Created new user profile for userId: {}", profile.getUserId());
   }
 
+  private PutItemRequest createRequest(UserProfile profile) {
+    return PutItemRequest.builder().tableName(tableName).item(toAttributeMap(profile)).build();
+  }
+
   /**
    * Update an existing user profile.
    *
    * @param profile User profile to update (must have userId and createdAt)
    */
   private void updateProfile(UserProfile profile) {
+    dynamoDbClient.updateItem(updateRequest(profile));
+    logger.debug("Updated user profile for userId: {}", profile.getUserId());
+  }
+
+  private UpdateItemRequest updateRequest(UserProfile profile) {
     Map<String, AttributeValue> key =
         buildCompositeKey(profile.getUserId(), profile.getCreatedAt());
 
-    // Build update expression using expression attribute names to avoid reserved keyword conflicts
-    // Expression attribute names (e.g., #state) are used for attribute names
-    // Expression attribute values (e.g., :state) are used for attribute values
+    // SET every attribute a put would write, except the key. Expression attribute names (e.g.,
+    // #state) avoid reserved keyword conflicts
+    Map<String, AttributeValue> attributes =
+        AttributeValues.newItem(UserProfileAttributes.ATTRIBUTE_COUNT);
+    UserProfileAttributes.write(profile, attributes);
     Map<String, String> expressionAttributeNames = new HashMap<>();
     Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
-
-    StringBuilder updateExpression = new StringBuilder("SET #updatedAt = :updatedAt");
-    expressionAttributeNames.put("#updatedAt", "updatedAt");
-    expressionAttributeValues.put(
-        ":updatedAt", AttributeValue.builder().s(profile.getUpdatedAt().toString()).build());
-
-    // Add optional fields to update
-    if (profile.getDateOfBirth() != null) {
-      updateExpression.append(", #dateOfBirth = :dateOfBirth");
-      expressionAttributeNames.put("#dateOfBirth", "dateOfBirth");
-      expressionAttributeValues.put(
-          ":dateOfBirth", AttributeValue.builder().s(profile.getDateOfBirth().toString()).build());
-    }
-    if (profile.getAddress() != null) {
-      updateExpression.append(", #address = :address");
-      expressionAttributeNames.put("#address", "address");
-      expressionAttributeValues.put(
-          ":address", AttributeValue.builder().s(profile.getAddress()).build());
-    }
-    if (profile.getCity() != null) {
-      updateExpression.append(", #city = :city");
-      expressionAttributeNames.put("#city", "city");
-      expressionAttributeValues.put(":city", AttributeValue.builder().s(profile.getCity()).build());
-    }
-    if (profile.getState() != null) {
-      updateExpression.append(", #state = :state");
-      expressionAttributeNames.put("#state", "state");
-      expressionAttributeValues.put(
-          ":state", AttributeValue.builder().s(profile.getState()).build());
-    }
-    if (profile.getZipCode() != null) {
-      updateExpression.append(", #zipCode = :zipCode");
-      expressionAttributeNames.put("#zipCode", "zipCode");
-      expressionAttributeValues.put(
-          ":zipCode", AttributeValue.builder().s(profile.getZipCode()).build());
-    }
-    if (profile.getCountry() != null) {
-      updateExpression.append(", #country = :country");
-      expressionAttributeNames.put("#country", "country");
-      expressionAttributeValues.put(
-          ":country", AttributeValue.builder().s(profile.getCountry()).build());
-    }
-    if (profile.getGender() != null) {
-      updateExpression.append(", #gender = :gender");
-      expressionAttributeNames.put("#gender", "gender");
-      expressionAttributeValues.put(
-          ":gender", AttributeValue.builder().s(profile.getGender()).build());
-    }
-    if (profile.getProfession() != null) {
-      updateExpression.append(", #profession = :profession");
-      expressionAttributeNames.put("#profession", "profession");
-      expressionAttributeValues.put(
-          ":profession", AttributeValue.builder().s(profile.getProfession()).build());
-    }
-    if (profile.getCompany() != null) {
-      updateExpression.append(", #company = :company");
-      expressionAttributeNames.put("#company", "company");
-      expressionAttributeValues.put(
-          ":company", AttributeValue.builder().s(profile.getCompany()).build());
-    }
-    if (profile.getBio() != null) {
-      updateExpression.append(", #bio = :bio");
-      expressionAttributeNames.put("#bio", "bio");
-      expressionAttributeValues.put(":bio", AttributeValue.builder().s(profile.getBio()).build());
-    }
-    if (profile.getPhoneNumber() != null) {
-      updateExpression.append(", #phoneNumber = :phoneNumber");
-      expressionAttributeNames.put("#phoneNumber", "phoneNumber");
-      expressionAttributeValues.put(
-          ":phoneNumber", AttributeValue.builder().s(profile.getPhoneNumber()).build());
-    }
-    if (profile.getStatus() != null) {
-      updateExpression.append(", #status = :status");
-      expressionAttributeNames.put("#status", "status");
-      expressionAttributeValues.put(
-          ":status", AttributeValue.builder().s(profile.getStatus().getValue()).build());
-    }
+    String updateExpression =
+        AttributeValues.setExpression(
+            attributes, expressionAttributeNames, expressionAttributeValues);
 
     UpdateItemRequest.Builder updateRequestBuilder =
         UpdateItemRequest.builder()
             .tableName(tableName)
             .key(key)
-            .updateExpression(updateExpression.toString())
+            .updateExpression(updateExpression)
             .expressionAttributeValues(expressionAttributeValues);
 
     // Only add expressionAttributeNames if we have any (required when using #attributeName syntax)
@@ -189,8 +178,7 @@ public class UserProfileRepository {
       updateRequestBuilder.expressionAttributeNames(expressionAttributeNames);
     }
 
-    dynamoDbClient.updateItem(updateRequestBuilder.build());
-    logger.debug("Updated user profile for userId: {}", profile.getUserId());
+    return updateRequestBuilder.build();
   }
 
   /**
@@ -205,6 +193,17 @@ public class UserProfileRepository {
     return profile.filter(UserProfile::isActive);
   }
 
+  /**
+   * Async twin of {@link #findByUserId(String)}.
+   *
+   * @param userId Cognito user ID
+   * @return Future of the user profile, empty if not found or not active
+   */
+  public CompletableFuture<Optional<UserProfile>> findByUserIdAsync(String userId) {
+    return findByUserIdIncludingDeletedAsync(userId)
+        .thenApply(profile -> profile.filter(UserProfile::isActive));
+  }
+
   /**
    * Find a user profile by userId including soft-deleted users. Returns the latest profile (most
    * recent createdAt).
@@ -213,21 +212,39 @@ public class UserProfileRepository {
    * @return Optional containing the user profile if found (including deleted)
    */
   public Optional<UserProfile> findByUserIdIncludingDeleted(String userId) {
+    return latestProfile(userId, dynamoDbClient.query(latestProfileQuery(userId)));
+  }
+
+  /**
+   * Async twin of {@link #findByUserIdIncludingDeleted(String)}.
+   *
+   * @param userId Cognito user ID
+   * @return Future of the user profile, empty if not found
+   */
+  public CompletableFuture<Optional<UserProfile>> findByUserIdIncludingDeletedAsync(String userId) {
+    if (dynamoDbAsyncClient == null) {
+      return Futures.completed(() -> findByUserIdIncludingDeleted(userId));
+    }
+    return dynamoDbAsyncClient
+        .query(latestProfileQuery(userId))
+        .thenApply(response -> latestProfile(userId, response));
+  }
+
+  private QueryRequest latestProfileQuery(String userId) {
     // Query by userId (partition key) and get the latest item (highest createdAt)
     Map<String, AttributeValue> expressionAttributeValues = new HashMap<>();
     expressionAttributeValues.put(":userId", AttributeValue.builder().s(userId).build());
 
-    QueryRequest queryRequest =
-        QueryRequest.builder()
-            .tableName(tableName)
-            .keyConditionExpression("userId = :userId")
-            .expressionAttributeValues(expressionAttributeValues)
-            .scanIndexForward(false) // Sort descending (latest first)
-            .limit(1) // Get only the latest profile
-            .build();
-
-    QueryResponse response = dynamoDbClient.query(queryRequest);
+    return QueryRequest.builder()
+        .tableName(tableName)
+        .keyConditionExpression("userId = :userId")
+        .expressionAttributeValues(expressionAttributeValues)
+        .scanIndexForward(false) // Sort descending (latest first)
+        .limit(1) // Get only the latest profile
+        .build();
+  }
 
+  private Optional<UserProfile> latestProfile(String userId, QueryResponse response) {
     if (response.items().isEmpty()) {
       logger.debug("User profile not found for userId: {}", userId);
       return Optional.empty();
@@ -271,6 +288,31 @@ public class UserProfileRepository {
     return false;
   }
 
+  /**
+   * Async twin of {@link #softDeleteByUserId(String)}.
+   *
+   * @param userId Cognito user ID
+   * @return Future of true if user was found and soft deleted, false if not found
+   */
+  public CompletableFuture<Boolean> softDeleteByUserIdAsync(String userId) {
+    return findByUserIdIncludingDeletedAsync(userId)
+        .thenCompose(
+            existingProfile -> {
+              if (existingProfile.isEmpty()) {
+                logger.warn("Cannot soft delete - user profile not found for userId: {}", userId);
+                return CompletableFuture.completedFuture(false);
+              }
+              UserProfile profile = existingProfile.get();
+              profile.delete(); // Sets status to DELETED and updates timestamp
+              return saveAsync(profile)
+                  .thenApply(
+                      saved -> {
+                        logger.info("Soft deleted user profile for userId: {}", userId);
+                        return true;
+                      });
+            });
+  }
+
   /**
    * Reactivate a soft-deleted user profile.
    *
@@ -290,6 +332,31 @@ public class UserProfileRepository {
     return false;
   }
 
+  /**
+   * Async twin of {@link #reactivateByUserId(String)}.
+   *
+   * @param userId Cognito user ID
+   * @return Future of true if user was found and reactivated, false if not found
+   */
+  public CompletableFuture<Boolean> reactivateByUserIdAsync(String userId) {
+    return findByUserIdIncludingDeletedAsync(userId)
+        .thenCompose(
+            existingProfile -> {
+              if (existingProfile.isEmpty()) {
+                logger.warn("Cannot reactivate - user profile not found for userId: {}", userId);
+                return CompletableFuture.completedFuture(false);
+              }
+              UserProfile profile = existingProfile.get();
+              profile.activate(); // Sets status to ACTIVE and updates timestamp
+              return saveAsync(profile)
+                  .thenApply(
+                      saved -> {
+                        logger.info("Reactivated user profile for userId: {}", userId);
+                        return true;
+                      });
+            });
+  }
+
   /**
    * Check if an active user profile exists.
    *
@@ -300,6 +367,16 @@ public class UserProfileRepository {
     return findByUserId(userId).isPresent();
   }
 
+  /**
+   * Async twin of {@link #existsByUserId(String)}.
+   *
+   * @param userId Cognito user ID
+   * @return Future of true if profile exists and is active
+   */
+  public CompletableFuture<Boolean> existsByUserIdAsync(String userId) {
+    return findByUserIdAsync(userId).thenApply(Optional::isPresent);
+  }
+
   /**
    * Check if a user profile exists (including soft-deleted ones).
    *
@@ -310,6 +387,16 @@ public class UserProfileRepository {
     return findByUserIdIncludingDeleted(userId).isPresent();
   }
 
+  /**
+   * Async twin of {@link #existsByUserIdIncludingDeleted(String)}.
+   *
+   * @param userId Cognito user ID
+   * @return Future of true if profile exists (including deleted)
+   */
+  public CompletableFuture<Boolean> existsByUserIdIncludingDeletedAsync(String userId) {
+    return findByUserIdIncludingDeletedAsync(userId).thenApply(Optional::isPresent);
+  }
+
   /**
    * Convert UserProfile to DynamoDB AttributeValue map.
    *
@@ -317,66 +404,13 @@ public class UserProfileRepository {
    * @return Map of attribute values
    */
   private Map<String, AttributeValue> toAttributeMap(UserProfile profile) {
-    Map<String, AttributeValue> item = new HashMap<>();
+    Map<String, AttributeValue> item =
+        AttributeValues.newItem(UserProfileAttributes.ATTRIBUTE_COUNT + 2);
 
     // Composite key: userId (partition) + createdAt (sort)
     item.put("userId", AttributeValue.builder().s(profile.getUserId()).build());
     item.put("createdAt", AttributeValue.builder().s(profile.getCreatedAt().toString()).build());
-
-    if (profile.getDateOfBirth() != null) {
-      item.put(
-          "dateOfBirth", AttributeValue.builder().s(profile.getDateOfBirth().toString()).build());
-    }
-
-    if (profile.getAddress() != null) {
-      item.put("address", AttributeValue.builder().s(profile.getAddress()).build());
-    }
-
-    if (profile.getCity() != null) {
-      item.put("city", AttributeValue.builder().s(profile.getCity()).build());
-    }
-
-    if (profile.getState() != null) {
-      item.put("state", AttributeValue.builder().s(profile.getState()).build());
-    }
-
-    if (profile.getZipCode() != null) {
-      item.put("zipCode", AttributeValue.builder().s(profile.getZipCode()).build());
-    }
-
-    if (profile.getCountry() != null) {
-      item.put("country", AttributeValue.builder().s(profile.getCountry()).build());
-    }
-
-    if (profile.getGender() != null) {
-      item.put("gender", AttributeValue.builder().s(profile.getGender()).build());
-    }
-
-    if (profile.getProfession() != null) {
-      item.put("profession", AttributeValue.builder().s(profile.getProfession()).build());
-    }
-
-    if (profile.getCompany() != null) {
-      item.put("company", AttributeValue.builder().s(profile.getCompany()).build());
-    }
-
-    if (profile.getBio() != null) {
-      item.put("bio", AttributeValue.builder().s(profile.getBio()).build());
-    }
-
-    if (profile.getPhoneNumber() != null) {
-      item.put("phoneNumber", AttributeValue.builder().s(profile.getPhoneNumber()).build());
-    }
-
-    if (profile.getStatus() != null) {
-      item.put("status", AttributeValue.builder().s(profile.getStatus().getValue()).build());
-    }
-
-    // createdAt is already added as part of the composite key above
-    // updatedAt is a regular attribute
-    if (profile.getUpdatedAt() != null) {
-      item.put("updatedAt", AttributeValue.builder().s(profile.getUpdatedAt().toString()).build());
-    }
+    UserProfileAttributes.write(profile, item);
 
     return item;
   }
@@ -388,69 +422,15 @@ public class UserProfileRepository {
    * @return User profile
    */
   private UserProfile fromAttributeMap(Map<String, AttributeValue> item) {
-    UserProfile profile = new UserProfile();
-
-    if (item.containsKey("userId")) {
-      profile.setUserId(item.get("userId").s());
-    }
-
-    if (item.containsKey("dateOfBirth")) {
-      profile.setDateOfBirth(LocalDate.parse(item.get("dateOfBirth").s()));
-    }
-
-    if (item.containsKey("address")) {
-      profile.setAddress(item.get("address").s());
-    }
-
-    if (item.containsKey("city")) {
-      profile.setCity(item.get("city").s());
-    }
-
-    if (item.containsKey("state")) {
-      profile.setState(item.get("state").s());
-    }
-
-    if (item.containsKey("zipCode")) {
-      profile.setZipCode(item.get("zipCode").s());
-    }
+    UserProfile profile = UserProfileAttributes.read(item);
 
-    if (item.containsKey("country")) {
-      profile.setCountry(item.get("country").s());
+    String userId = AttributeValues.getString(item, "userId");
+    if (userId != null) {
+      profile.setUserId(userId);
     }
-
-    if (item.containsKey("gender")) {
-      profile.setGender(item.get("gender").s());
-    }
-
-    if (item.containsKey("profession")) {
-      profile.setProfession(item.get("profession").s());
-    }
-
-    if (item.containsKey("company")) {
-      profile.setCompany(item.get("company").s());
-    }
-
-    if (item.containsKey("bio")) {
-      profile.setBio(item.get("bio").s());
-    }
-
-    if (item.containsKey("phoneNumber")) {
-      profile.setPhoneNumber(item.get("phoneNumber").s());
-    }
-
-    if (item.containsKey("status")) {
-      profile.setStatus(UserStatus.fromValue(item.get("status").s()));
-    } else {
-      // Default to ACTIVE for existing records without status
-      profile.setStatus(UserStatus.ACTIVE);
-    }
-
-    if (item.containsKey("createdAt")) {
-      profile.setCreatedAt(Instant.parse(item.get("createdAt").s()));
-    }
-
-    if (item.containsKey("updatedAt")) {
-      profile.setUpdatedAt(Instant.parse(item.get("updatedAt").s()));
+    Instant createdAt = AttributeValues.getInstant(item, "createdAt");
+    if (createdAt != null) {
+      profile.setCreatedAt(createdAt);
     }
 
     return profile;
@@ -2,13 +2,13 @@ package com.yourafterspace.yas_backend.service;
 
 import com.yourafterspace.yas_backend.dao.ExperienceDao;
 import com.yourafterspace.yas_backend.dao.UserExperienceDao;
+import com.yourafterspace.yas_backend.dto.ExperienceMapper;
 import com.yourafterspace.yas_backend.dto.ExperienceRequest;
 import com.yourafterspace.yas_backend.dto.ExperienceResponse;
 import com.yourafterspace.yas_backend.exception.AuthenticationException;
 import com.yourafterspace.yas_backend.exception.BadRequestException;
 import com.yourafterspace.yas_backend.exception.ResourceNotFoundException;
 import com.yourafterspace.yas_backend.model.Experience;
-import com.yourafterspace.yas_backend.model.Experience.ExperienceStatus;
 import com.yourafterspace.yas_backend.model.UserExperience;
 import com.yourafterspace.yas_backend.model.UserExperience.UserExperienceStatus;
 import com.yourafterspace.yas_backend.repository.ExperienceRepository;
@@ -17,10 +17,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /** Implementation of ExperienceService for managing experiences. */
@@ -32,14 +35,23 @@ public class ExperienceServiceImpl implements ExperienceService {
   private final ExperienceRepository experienceRepository;
   private final ExperienceDao experienceDao;
   private final UserExperienceDao userExperienceDao;
-
+  private final ServiceFanOut fanOut;
+
+  /**
+   * Create the service.
+   *
+   * @param fanOut Runs the batch lookups of long experience lists concurrently
+   */
+  @Autowired
   public ExperienceServiceImpl(
       ExperienceRepository experienceRepository,
       ExperienceDao experienceDao,
-      UserExperienceDao userExperienceDao) {
+      UserExperienceDao userExperienceDao,
+      ServiceFanOut fanOut) {
     this.experienceRepository = experienceRepository;
     this.experienceDao = experienceDao;
     this.userExperienceDao = userExperienceDao;
+    this.fanOut = fanOut;
   }
 
   @Override
@@ -49,12 +61,12 @@ public class ExperienceServiceImpl implements ExperienceService {
     validateExperienceRequest(request, true);
 
     Experience experience = new Experience(createdBy);
-    mapRequestToExperience(request, experience);
+    ExperienceMapper.applyRequest(request, experience);
 
     Experience savedExperience = experienceRepository.save(experience);
     logger.info("Created experience {} for user {}", savedExperience.getExperienceId(), createdBy);
 
-    return mapExperienceToResponse(savedExperience);
+    return ExperienceMapper.toResponse(savedExperience);
   }
 
   @Override
@@ -62,7 +74,7 @@ public class ExperienceServiceImpl implements ExperienceService {
     logger.debug("Getting experience: {}", experienceId);
 
     Experience experience = findExperienceById(experienceId);
-    return mapExperienceToResponse(experience);
+    return ExperienceMapper.toResponse(experience);
   }
 
   @Override
@@ -80,12 +92,12 @@ public class ExperienceServiceImpl implements ExperienceService {
     validateExperienceRequest(request, false);
 
     // Update fields from request
-    mapRequestToExperience(request, existingExperience);
+    ExperienceMapper.applyRequest(request, existingExperience);
 
     Experience updatedExperience = experienceRepository.save(existingExperience);
     logger.info("Updated experience {} by user {}", experienceId, userId);
 
-    return mapExperienceToResponse(updatedExperience);
+    return ExperienceMapper.toResponse(updatedExperience);
   }
 
   /** Find experience by ID or throw exception if not found. */
@@ -122,22 +134,6 @@ public class ExperienceServiceImpl implements ExperienceService {
     }
   }
 
-  /** Map ExperienceRequest to Experience entity. */
-  private void mapRequestToExperience(ExperienceRequest request, Experience experience) {
-    // Copy properties that exist in both
-    BeanUtils.copyProperties(request, experience, "createdBy", "experienceId");
-
-    // Set default status if not provided
-    if (request.getStatus() == null) {
-      experience.setStatus(ExperienceStatus.DRAFT);
-    }
-
-    // Set default currency if not provided
-    if (request.getCurrency() == null) {
-      experience.setCurrency("USD");
-    }
-  }
-
   @Override
   public List<ExperienceResponse> getPastAttendedExperiences(String userId) {
     logger.debug("Getting past attended experiences for user: {}", userId);
@@ -147,6 +143,7 @@ public class ExperienceServiceImpl implements ExperienceService {
         userExperienceDao.findByUserIdAndStatus(userId, UserExperienceStatus.ATTENDED);
 
     List<ExperienceResponse> pastExperiences = new ArrayList<>();
+    Map<String, Experience> experiencesById = findExperiences(userExperiences);
     Instant now = Instant.now();
     ZoneId utc = ZoneId.of("UTC");
 
@@ -160,14 +157,12 @@ public class ExperienceServiceImpl implements ExperienceService {
       }
 
       // Get experience details
-      var experienceOpt = experienceDao.findByExperienceId(experienceId);
-      if (experienceOpt.isEmpty()) {
+      Experience experience = experiencesById.get(experienceId);
+      if (experience == null) {
         logger.debug("Experience not found for experienceId: {}", experienceId);
         continue;
       }
 
-      Experience experience = experienceOpt.get();
-
       // Check if experience is in the past
       if (experience.getExperienceDate() != null) {
         boolean isPast = false;
@@ -191,7 +186,7 @@ public class ExperienceServiceImpl implements ExperienceService {
         }
 
         if (isPast) {
-          pastExperiences.add(mapExperienceToResponse(experience));
+          pastExperiences.add(ExperienceMapper.toResponse(experience));
         }
       } else {
         // No date, can't determine if past - skip
@@ -203,16 +198,31 @@ public class ExperienceServiceImpl implements ExperienceService {
     return pastExperiences;
   }
 
-  /** Map Experience entity to ExperienceResponse DTO. */
-  private ExperienceResponse mapExperienceToResponse(Experience experience) {
-    ExperienceResponse response = new ExperienceResponse();
-    BeanUtils.copyProperties(experience, response);
-
-    // Calculate derived fields
-    response.setRemainingCapacity(experience.getRemainingCapacity());
-    response.setHasAvailableSpots(experience.hasAvailableSpots());
+  /**
+   * Batch-load the experiences referenced by the given user experiences. Lists longer than one
+   * BatchGetItem are split into batches that are looked up concurrently.
+   */
+  private Map<String, Experience> findExperiences(List<UserExperience> userExperiences) {
+    List<String> experienceIds = new ArrayList<>(userExperiences.size());
+    for (UserExperience userExperience : userExperiences) {
+      experienceIds.add(userExperience.getExperienceId());
+    }
+    if (experienceIds.size() <= ExperienceDao.BATCH_GET_MAX_KEYS) {
+      return experienceDao.findByExperienceIds(experienceIds);
+    }
 
-    return response;
+    List<String> uniqueIds = new ArrayList<>(new LinkedHashSet<>(experienceIds));
+    List<List<String>> batches = new ArrayList<>();
+    for (int start = 0; start < uniqueIds.size(); start += ExperienceDao.BATCH_GET_MAX_KEYS) {
+      batches.add(
+          uniqueIds.subList(
+              start, Math.min(start + ExperienceDao.BATCH_GET_MAX_KEYS, uniqueIds.size())));
+    }
+    Map<String, Experience> experiences = new LinkedHashMap<>();
+    for (Map<String, Experience> batch : fanOut.map(batches, experienceDao::findByExperienceIds)) {
+      experiences.putAll(batch);
+    }
+    return experiences;
   }
 
   @Override
@@ -224,6 +234,7 @@ public class ExperienceServiceImpl implements ExperienceService {
         userExperienceDao.findByUserIdAndStatus(userId, UserExperienceStatus.PAID);
 
     List<ExperienceResponse> upcomingExperiences = new ArrayList<>();
+    Map<String, Experience> experiencesById = findExperiences(userExperiences);
     Instant now = Instant.now();
     ZoneId utc = ZoneId.of("UTC");
 
@@ -237,14 +248,12 @@ public class ExperienceServiceImpl implements ExperienceService {
       }
 
       // Get experience details
-      var experienceOpt = experienceDao.findByExperienceId(experienceId);
-      if (experienceOpt.isEmpty()) {
+      Experience experience = experiencesById.get(experienceId);
+      if (experience == null) {
         logger.debug("Experience not found for experienceId: {}", experienceId);
         continue;
       }
 
-      Experience experience = experienceOpt.get();
-
       // Check if experience is in the future
       if (experience.getExperienceDate() != null) {
         boolean isUpcoming = false;
@@ -270,7 +279,7 @@ public class ExperienceServiceImpl implements ExperienceService {
         }
 
         if (isUpcoming) {
-          upcomingExperiences.add(mapExperienceToResponse(experience));
+          upcomingExperiences.add(ExperienceMapper.toResponse(experience));
         }
       } else {
         // No date, can't determine if upcoming - skip
@@ -0,0 +1,52 @@
+package com.yourafterspace.yas_backend.service;
+
+import com.yourafterspace.yas_backend.util.StructuredFanOut;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Runs the per-item lookups of a service concurrently on the fan-out executor configured by {@code
+ * FanOutConfig}, with the configured concurrency limit and deadline (see {@link StructuredFanOut}).
+ */
+public class ServiceFanOut implements AutoCloseable {
+
+  private final Executor executor;
+  private final int maxConcurrency;
+  private final Duration timeout;
+  private final Runnable shutdown;
+
+  /**
+   * @param executor Executor running the lookups
+   * @param maxConcurrency Maximum number of lookups of one fan-out running at once
+   * @param timeout Deadline of a fan-out
+   * @param shutdown Releases the executor when the application stops
+   */
+  public ServiceFanOut(Executor executor, int maxConcurrency, Duration timeout, Runnable shutdown) {
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+    this.timeout = timeout;
+    this.shutdown = shutdown;
+  }
+
+  /**
+   * Apply a blocking lookup to every input. A single input is looked up on the calling thread.
+   *
+   * @return The results, in input order
+   */
+  public <T, R> List<R> map(List<T> inputs, Function<? super T, ? extends R> lookup) {
+    if (inputs.size() == 1) {
+      List<R> results = new ArrayList<>(1);
+      results.add(lookup.apply(inputs.get(0)));
+      return results;
+    }
+    return StructuredFanOut.map(inputs, lookup, executor, maxConcurrency, timeout);
+  }
+
+  @Override
+  public void close() {
+    shutdown.run();
+  }
+}
@@ -1,5 +1,6 @@
 package com.yourafterspace.yas_backend.service;
 
+import com.yourafterspace.yas_backend.dto.UserProfileMapper;
 import com.yourafterspace.yas_backend.dto.UserProfileRequest;
 import com.yourafterspace.yas_backend.dto.UserProfileResponse;
 import com.yourafterspace.yas_backend.dto.UserStatusUpdateRequest;
@@ -39,13 +40,14 @@ public class UserProfileServiceImpl implements UserProfileService {
         userProfileRepository.findByUserId(userId).orElse(new UserProfile(userId));
 
     // Update profile fields from request
-    updateProfileFromRequest(profile, request);
+    UserProfileMapper.applyRequest(request, profile);
+    profile.setUpdatedAt(Instant.now());
 
     // Save to DynamoDB
     UserProfile savedProfile = userProfileRepository.save(profile);
 
     logger.info("Profile saved successfully for userId: {}", userId);
-    return toResponse(savedProfile);
+    return UserProfileMapper.toResponse(savedProfile);
   }
 
   @Override
@@ -60,87 +62,7 @@ public class UserProfileServiceImpl implements UserProfileService {
                     new ResourceNotFoundException("User profile not found for userId: " + userId));
 
     logger.info("Profile found for userId: {}", userId);
-    return toResponse(profile);
-  }
-
-  /**
-   * Update UserProfile entity from request DTO.
-   *
-   * @param profile User profile entity to update
-   * @param request Request DTO with new values
-   */
-  private void updateProfileFromRequest(UserProfile profile, UserProfileRequest request) {
-    if (request.getDateOfBirth() != null) {
-      profile.setDateOfBirth(request.getDateOfBirth());
-    }
-
-    if (request.getAddress() != null) {
-      profile.setAddress(request.getAddress());
-    }
-
-    if (request.getCity() != null) {
-      profile.setCity(request.getCity());
-    }
-
-    if (request.getState() != null) {
-      profile.setState(request.getState());
-    }
-
-    if (request.getZipCode() != null) {
-      profile.setZipCode(request.getZipCode());
-    }
-
-    if (request.getCountry() != null) {
-      profile.setCountry(request.getCountry());
-    }
-
-    if (request.getGender() != null) {
-      profile.setGender(request.getGender());
-    }
-
-    if (request.getProfession() != null) {
-      profile.setProfession(request.getProfession());
-    }
-
-    if (request.getCompany() != null) {
-      profile.setCompany(request.getCompany());
-    }
-
-    if (request.getBio() != null) {
-      profile.setBio(request.getBio());
-    }
-
-    if (request.getPhoneNumber() != null) {
-      profile.setPhoneNumber(request.getPhoneNumber());
-    }
-
-    profile.setUpdatedAt(Instant.now());
-  }
-
-  /**
-   * Convert UserProfile entity to response DTO.
-   *
-   * @param profile User profile entity
-   * @return User profile response DTO
-   */
-  private UserProfileResponse toResponse(UserProfile profile) {
-    UserProfileResponse response = new UserProfileResponse();
-    response.setUserId(profile.getUserId());
-    response.setDateOfBirth(profile.getDateOfBirth());
-    response.setAddress(profile.getAddress());
-    response.setCity(profile.getCity());
-    response.setState(profile.getState());
-    response.setZipCode(profile.getZipCode());
-    response.setCountry(profile.getCountry());
-    response.setGender(profile.getGender());
-    response.setProfession(profile.getProfession());
-    response.setCompany(profile.getCompany());
-    response.setBio(profile.getBio());
-    response.setPhoneNumber(profile.getPhoneNumber());
-    response.setStatus(profile.getStatus());
-    response.setCreatedAt(profile.getCreatedAt());
-    response.setUpdatedAt(profile.getUpdatedAt());
-    return response;
+    return UserProfileMapper.toResponse(profile);
   }
 
   @Override
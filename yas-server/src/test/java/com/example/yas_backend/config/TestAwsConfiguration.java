@@ -7,6 +7,7 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 /**
@@ -24,6 +25,12 @@ public class TestAwsConfiguration {
     return Mockito.mock(DynamoDbClient.class);
   }
 
+  @Bean
+  @Primary
+  public DynamoDbAsyncClient dynamoDbAsyncClient() {
+    return Mockito.mock(DynamoDbAsyncClient.class);
+  }
+
   @Bean
   @Primary
   public CognitoIdentityProviderClient cognitoIdentityProviderClient() {
@@ -0,0 +1,83 @@
+package com.yourafterspace.yas_backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.yourafterspace.yas_backend.model.Experience;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+
+@ExtendWith(MockitoExtension.class)
+class ExperienceRepositoryTest {
+
+  @Mock private DynamoDbClient dynamoDbClient;
+
+  private ExperienceRepository experienceRepository;
+
+  @BeforeEach
+  void setUp() {
+    experienceRepository = new ExperienceRepository(dynamoDbClient, "YourAfterSpace");
+  }
+
+  @Test
+  void findById_QueriesTheExperiencePartitionInsteadOfScanning() {
+    Map<String, AttributeValue> profile =
+        Map.of(
+            "userId", AttributeValue.builder().s("exp-1").build(),
+            "email", AttributeValue.builder().s("user@example.com").build());
+    Map<String, AttributeValue> experience =
+        Map.of(
+            "userId", AttributeValue.builder().s("exp-1").build(),
+            "recordType", AttributeValue.builder().s("EXPERIENCE").build(),
+            "title", AttributeValue.builder().s("Rooftop jazz").build());
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(
+            QueryResponse.builder().items(List.of(profile)).lastEvaluatedKey(profile).build())
+        .thenReturn(QueryResponse.builder().items(List.of(experience)).build());
+
+    Optional<Experience> result = experienceRepository.findById("exp-1");
+
+    assertThat(result).isPresent();
+    assertThat(result.get().getTitle()).isEqualTo("Rooftop jazz");
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient, times(2)).query(captor.capture());
+    assertThat(captor.getAllValues().get(0).keyConditionExpression())
+        .isEqualTo("userId = :experienceId");
+    assertThat(captor.getAllValues().get(1).exclusiveStartKey()).isEqualTo(profile);
+    verify(dynamoDbClient, never()).scan(any(ScanRequest.class));
+  }
+
+  @Test
+  void findById_ReturnsEmptyWhenPartitionHasNoExperience() {
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of()).build());
+
+    assertThat(experienceRepository.findById("exp-missing")).isEmpty();
+  }
+
+  @Test
+  void findById_QueriesTheTrimmedIdItCachesUnder() {
+    when(dynamoDbClient.query(any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of()).build());
+
+    experienceRepository.findById(" exp-1 ");
+
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient).query(captor.capture());
+    assertThat(captor.getValue().expressionAttributeValues().get(":experienceId").s())
+        .isEqualTo("exp-1");
+  }
+}
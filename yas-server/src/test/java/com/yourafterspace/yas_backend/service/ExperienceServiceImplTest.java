@@ -10,13 +10,17 @@ import com.yourafterspace.yas_backend.model.Experience;
 import com.yourafterspace.yas_backend.model.UserExperience;
 import com.yourafterspace.yas_backend.model.UserExperience.UserExperienceStatus;
 import com.yourafterspace.yas_backend.repository.ExperienceRepository;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -31,8 +35,9 @@ class ExperienceServiceImplTest {
 
   @BeforeEach
   void setUp() {
+    ServiceFanOut fanOut = new ServiceFanOut(Runnable::run, 4, Duration.ofSeconds(5), () -> {});
     experienceService =
-        new ExperienceServiceImpl(experienceRepository, experienceDao, userExperienceDao);
+        new ExperienceServiceImpl(experienceRepository, experienceDao, userExperienceDao, fanOut);
   }
 
   @Test
@@ -55,7 +60,7 @@ class ExperienceServiceImplTest {
     experience.setExperienceDate(LocalDate.now().plusDays(1)); // Future
     experience.setStartTime(LocalTime.of(10, 0));
 
-    when(experienceDao.findByExperienceId(expId)).thenReturn(Optional.of(experience));
+    when(experienceDao.findByExperienceIds(List.of(expId))).thenReturn(Map.of(expId, experience));
 
     // Execute
     List<ExperienceResponse> result = experienceService.getUpcomingPaidExperiences(userId);
@@ -85,7 +90,7 @@ class ExperienceServiceImplTest {
     experience.setExperienceDate(LocalDate.now().minusDays(1)); // Past
     experience.setStartTime(LocalTime.of(10, 0));
 
-    when(experienceDao.findByExperienceId(expId)).thenReturn(Optional.of(experience));
+    when(experienceDao.findByExperienceIds(List.of(expId))).thenReturn(Map.of(expId, experience));
 
     // Execute
     List<ExperienceResponse> result = experienceService.getUpcomingPaidExperiences(userId);
@@ -93,4 +98,38 @@ class ExperienceServiceImplTest {
     // Verify
     assertThat(result).isEmpty();
   }
+
+  @Test
+  void getUpcomingPaidExperiences_LooksUpLongListsInConcurrentBatches() {
+    String userId = "user-123";
+    List<UserExperience> userExperiences = new ArrayList<>();
+    Map<String, Experience> experiences = new HashMap<>();
+    for (int i = 0; i < 150; i++) {
+      UserExperience userExp = new UserExperience();
+      userExp.setUserId(userId);
+      userExp.setExperienceId("exp-" + i);
+      userExp.setStatus(UserExperienceStatus.PAID);
+      userExperiences.add(userExp);
+
+      Experience experience = new Experience();
+      experience.setExperienceId("exp-" + i);
+      experience.setExperienceDate(LocalDate.now().plusDays(1));
+      experiences.put("exp-" + i, experience);
+    }
+    when(userExperienceDao.findByUserIdAndStatus(userId, UserExperienceStatus.PAID))
+        .thenReturn(userExperiences);
+    when(experienceDao.findByExperienceIds(ArgumentMatchers.<List<String>>any()))
+        .thenAnswer(
+            invocation -> {
+              Map<String, Experience> found = new HashMap<>();
+              for (String id : invocation.<List<String>>getArgument(0)) {
+                found.put(id, experiences.get(id));
+              }
+              return found;
+            });
+    List<ExperienceResponse> result = experienceService.getUpcomingPaidExperiences(userId);
+
+    assertThat(result).hasSize(150);
+    verify(experienceDao, times(2)).findByExperienceIds(ArgumentMatchers.<List<String>>any());
+  }
 }